@@ -29,10 +29,13 @@ import com.badlogic.gdx.Net;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.backends.headless.mock.audio.MockAudio;
 import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.backends.headless.mock.graphics.RecordingGL30;
 import com.badlogic.gdx.backends.headless.mock.input.MockInput;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.AtomicRingBuffer;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Null;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.TimeUtils;
 
@@ -49,6 +52,10 @@ public class HeadlessApplication implements Application {
 	protected boolean running = true;
 	protected final Array<Runnable> runnables = new Array<Runnable>();
 	protected final Array<Runnable> executedRunnables = new Array<Runnable>();
+	protected final @Null AtomicRingBuffer<Runnable> runnableQueue;
+	/** True while runnables posted when the queue was full are in {@link #runnables}. Later runnables go there too, so they
+	 * can't run before them. */
+	protected volatile boolean runnablesOverflowed;
 	protected final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	protected int logLevel = LOG_INFO;
 	protected ApplicationLogger applicationLogger;
@@ -70,10 +77,16 @@ public class HeadlessApplication implements Application {
 		// they are only implemented as mock objects
 		this.graphics = new MockGraphics();
 		this.graphics.setForegroundFPS(config.updatesPerSecond);
+		if (config.useRecordingGL) {
+			RecordingGL30 gl = new RecordingGL30();
+			graphics.setGL20(gl);
+			graphics.setGL30(gl);
+		}
 		this.audio = new MockAudio();
 		this.input = new MockInput();
 
 		this.preferencesdir = config.preferencesDirectory;
+		runnableQueue = config.runnableQueueCapacity > 0 ? new AtomicRingBuffer<Runnable>(config.runnableQueueCapacity) : null;
 
 		Gdx.app = this;
 		Gdx.files = files;
@@ -81,6 +94,11 @@ public class HeadlessApplication implements Application {
 		Gdx.audio = audio;
 		Gdx.graphics = graphics;
 		Gdx.input = input;
+		if (config.useRecordingGL) {
+			Gdx.gl = graphics.getGL20();
+			Gdx.gl20 = graphics.getGL20();
+			Gdx.gl30 = graphics.getGL30();
+		}
 
 		initialize();
 	}
@@ -144,12 +162,16 @@ public class HeadlessApplication implements Application {
 	}
 
 	public boolean executeRunnables () {
+		// Runnables from the queue run first, then runnables added to the array when the queue was full. They are reversed so
+		// each can be removed from the end as it runs.
+		if (runnableQueue != null) runnableQueue.drainTo(executedRunnables);
 		synchronized (runnables) {
-			for (int i = runnables.size - 1; i >= 0; i--)
-				executedRunnables.add(runnables.get(i));
+			executedRunnables.addAll(runnables);
 			runnables.clear();
+			runnablesOverflowed = false;
 		}
 		if (executedRunnables.size == 0) return false;
+		executedRunnables.reverse();
 		for (int i = executedRunnables.size - 1; i >= 0; i--)
 			executedRunnables.removeIndex(i).run();
 		return true;
@@ -226,8 +248,11 @@ public class HeadlessApplication implements Application {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
+		// When the queue is full the array is used, rather than waiting for the main loop thread which may be waiting for this one.
+		if (runnableQueue != null && !runnablesOverflowed && runnableQueue.offer(runnable)) return;
 		synchronized (runnables) {
 			runnables.add(runnable);
+			if (runnableQueue != null) runnablesOverflowed = true;
 		}
 	}
 
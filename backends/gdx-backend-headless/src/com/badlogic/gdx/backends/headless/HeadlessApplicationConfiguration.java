@@ -25,4 +25,14 @@ public class HeadlessApplicationConfiguration {
 
 	/** The maximum number of threads to use for network requests. Default is {@link Integer#MAX_VALUE}. */
 	public int maxNetThreads = Integer.MAX_VALUE;
+
+	/** When > 0, {@link HeadlessApplication#postRunnable(Runnable)} uses a lock-free {@link com.badlogic.gdx.utils.AtomicRingBuffer}
+	 * with this capacity instead of a synchronized array. When it is full, runnables are posted to the synchronized array until
+	 * the next frame, so posting never waits. Runnables from the queue run before those in the array. Default is 0. */
+	public int runnableQueueCapacity = 0;
+
+	/** When true, {@link com.badlogic.gdx.Gdx#gl}, {@link com.badlogic.gdx.Gdx#gl20} and {@link com.badlogic.gdx.Gdx#gl30} are set
+	 * to a {@link com.badlogic.gdx.backends.headless.mock.graphics.RecordingGL30}, so rendering code can run and be benchmarked
+	 * without a GPU. Default is false, which leaves them unset. */
+	public boolean useRecordingGL = false;
 }
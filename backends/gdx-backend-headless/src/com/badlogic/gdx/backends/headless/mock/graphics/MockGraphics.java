@@ -38,10 +38,12 @@ public class MockGraphics extends AbstractGraphics {
 	long lastTime = System.nanoTime();
 	long targetRenderInterval;
 	GLVersion glVersion = new GLVersion(Application.ApplicationType.HeadlessDesktop, "", "", "");
+	GL20 gl20;
+	GL30 gl30;
 
 	@Override
 	public boolean isGL30Available () {
-		return false;
+		return gl30 != null;
 	}
 
 	@Override
@@ -56,22 +58,22 @@ public class MockGraphics extends AbstractGraphics {
 
 	@Override
 	public GL20 getGL20 () {
-		return null;
+		return gl20;
 	}
 
 	@Override
 	public void setGL20 (GL20 gl20) {
-
+		this.gl20 = gl20;
 	}
 
 	@Override
 	public GL30 getGL30 () {
-		return null;
+		return gl30;
 	}
 
 	@Override
 	public void setGL30 (GL30 gl30) {
-
+		this.gl30 = gl30;
 	}
 
 	@Override
@@ -0,0 +1,2653 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.headless.mock.graphics;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
+import com.badlogic.gdx.graphics.profiling.GLInterceptor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** A {@link GL30} that renders nothing but keeps buffers, textures, shaders, programs and uniform values in memory, so
+ * {@link com.badlogic.gdx.graphics.g2d.SpriteBatch}, {@link com.badlogic.gdx.graphics.glutils.ShapeRenderer}, model and map
+ * renderers can run, be tested and be benchmarked without a GPU. Results are deterministic: names are generated in order,
+ * shaders always compile and programs always link.
+ * <p>
+ * Like the {@link GLInterceptor} used by {@link com.badlogic.gdx.graphics.profiling.GLProfiler} it counts calls, draw calls,
+ * texture bindings, shader switches and vertices. It also counts state changes (and how many of them set the state it already
+ * had), uniform updates and the bytes uploaded to buffers and textures. {@link #reset()} clears the counters. When logging is
+ * enabled, each call is appended to {@link #getLog()} as a line with the function name without "gl" and its arguments. Buffers
+ * and arrays are logged as their size.
+ * <p>
+ * Shader sources are scanned for <code>attribute</code>/<code>in</code> and <code>uniform</code> declarations when compiled,
+ * so a {@link com.badlogic.gdx.graphics.glutils.ShaderProgram} finds its attributes and uniforms as it would on a GPU. Set
+ * {@link com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration#useRecordingGL} to use it with
+ * {@link com.badlogic.gdx.backends.headless.HeadlessApplication}. */
+public class RecordingGL30 extends GLInterceptor implements GL30 {
+	static private final Pattern attributePattern = Pattern
+		.compile("\\b(?:attribute|in)\\s+(?:(?:lowp|mediump|highp)\\s+)?(\\w+)\\s+(\\w+)\\s*(?:\\[\\s*(\\w+)\\s*\\])?\\s*;");
+	static private final Pattern uniformPattern = Pattern
+		.compile("\\buniform\\s+(?:(?:lowp|mediump|highp)\\s+)?(\\w+)\\s+(\\w+)\\s*(?:\\[\\s*(\\w+)\\s*\\])?\\s*;");
+	static private final Pattern definePattern = Pattern.compile("#define\\s+(\\w+)\\s+(\\d+)");
+	static private final Pattern commentPattern = Pattern.compile("//[^\\n]*|/\\*.*?\\*/", Pattern.DOTALL);
+
+	protected int stateChanges;
+	protected int redundantStateChanges;
+	protected int uniformUpdates;
+	protected long bufferBytes;
+	protected long textureBytes;
+
+	private @Null StringBuilder log;
+	private int error = GL_NO_ERROR;
+	private int nextName = 1;
+
+	private final IntSet textures = new IntSet(), framebuffers = new IntSet(), renderbuffers = new IntSet(),
+		vertexArrays = new IntSet(), queries = new IntSet(), samplers = new IntSet(), transformFeedbacks = new IntSet();
+	private final IntIntMap bufferSizes = new IntIntMap(), textureUploads = new IntIntMap();
+	private final IntMap<Shader> shaders = new IntMap();
+	private final IntMap<Program> programs = new IntMap();
+
+	private final IntSet enabled = new IntSet();
+	private final IntIntMap boundBuffers = new IntIntMap(), boundTextures = new IntIntMap(), mappedBuffers = new IntIntMap();
+	private int activeTexture, program, framebuffer, renderbuffer, vertexArray;
+	private int blendSrcRGB = GL_ONE, blendDstRGB = GL_ZERO, blendSrcAlpha = GL_ONE, blendDstAlpha = GL_ZERO;
+	private int depthFunc = GL_LESS;
+	private boolean depthMask = true;
+	private final int[] viewport = new int[4];
+	/** Returned by glMapBufferRange for every mapping, since the mapped contents are never read. */
+	private @Null ByteBuffer mapped;
+
+	public RecordingGL30 () {
+		super(null);
+	}
+
+	/** Number of calls since the last {@link #reset()} that set pipeline, texture, buffer or vertex attribute state. */
+	public int getStateChanges () {
+		return stateChanges;
+	}
+
+	/** Number of the {@link #getStateChanges() state changes} that set enabled caps, bindings, the program, blending, depth or the
+	 * viewport to the value they already had. */
+	public int getRedundantStateChanges () {
+		return redundantStateChanges;
+	}
+
+	/** Number of glUniform calls since the last {@link #reset()}. */
+	public int getUniformUpdates () {
+		return uniformUpdates;
+	}
+
+	/** Bytes uploaded with glBufferData, glBufferSubData, mapped buffer ranges and client side index data since the last
+	 * {@link #reset()}. */
+	public long getBufferBytes () {
+		return bufferBytes;
+	}
+
+	/** Bytes uploaded with glTexImage, glTexSubImage and their compressed variants since the last {@link #reset()}. */
+	public long getTextureBytes () {
+		return textureBytes;
+	}
+
+	public long getUploadedBytes () {
+		return bufferBytes + textureBytes;
+	}
+
+	@Override
+	public void reset () {
+		super.reset();
+		stateChanges = 0;
+		redundantStateChanges = 0;
+		uniformUpdates = 0;
+		bufferBytes = 0;
+		textureBytes = 0;
+	}
+
+	/** When true, each call is appended to {@link #getLog()}. Default is false. */
+	public void setLogging (boolean logging) {
+		if (!logging)
+			log = null;
+		else if (log == null) //
+			log = new StringBuilder(1024);
+	}
+
+	/** Returns the command log, or null if logging is disabled. The log can be cleared with {@link StringBuilder#setLength(int)}. */
+	public @Null StringBuilder getLog () {
+		return log;
+	}
+
+	/** Returns the size of the buffer store set by glBufferData, or -1 if the buffer doesn't exist. */
+	public int getBufferSize (int buffer) {
+		return bufferSizes.get(buffer, -1);
+	}
+
+	/** Returns the total number of bytes uploaded to the texture, or -1 if the texture doesn't exist. */
+	public int getTextureUploads (int texture) {
+		return textureUploads.get(texture, -1);
+	}
+
+	/** Returns the number of buffers, textures, framebuffers, renderbuffers, shaders and programs that have been generated and not
+	 * deleted. */
+	public int getObjectCount () {
+		return bufferSizes.size + textures.size + framebuffers.size + renderbuffers.size + shaders.size + programs.size
+			+ vertexArrays.size + queries.size + samplers.size + transformFeedbacks.size;
+	}
+
+	/** Returns the last value set for the uniform of a linked program, or null if the uniform doesn't exist or wasn't set. Int
+	 * values are stored as floats. Each element of an array uniform has its own value, eg "u_bones[3]" returns the fourth
+	 * matrix. */
+	public @Null float[] getUniform (int program, String name) {
+		Program p = programs.get(program);
+		if (p == null) return null;
+		int location = p.uniformLocation(name);
+		return location == -1 ? null : p.values[location];
+	}
+
+	private void state (boolean changed) {
+		stateChanges++;
+		if (!changed) redundantStateChanges++;
+	}
+
+	private int textureTarget (int target) {
+		if (target >= GL_TEXTURE_CUBE_MAP_POSITIVE_X && target <= GL_TEXTURE_CUBE_MAP_NEGATIVE_Z) return GL_TEXTURE_CUBE_MAP;
+		return target;
+	}
+
+	private void textureUpload (int target, int bytes) {
+		textureBytes += bytes;
+		int texture = boundTextures.get(activeTexture << 16 | textureTarget(target), 0);
+		if (texture != 0) textureUploads.getAndIncrement(texture, 0, bytes);
+	}
+
+	private int generate (IntSet names) {
+		int name = nextName++;
+		names.add(name);
+		return name;
+	}
+
+	private void generate (IntSet names, int n, IntBuffer buffer) {
+		for (int i = 0, position = buffer.position(); i < n; i++)
+			buffer.put(position + i, generate(names));
+	}
+
+	private void generate (IntSet names, int n, int[] array, int offset) {
+		for (int i = 0; i < n; i++)
+			array[offset + i] = generate(names);
+	}
+
+	private void delete (IntSet names, int n, IntBuffer buffer) {
+		for (int i = 0, position = buffer.position(); i < n; i++)
+			names.remove(buffer.get(position + i));
+	}
+
+	private void delete (IntSet names, int n, int[] array, int offset) {
+		for (int i = 0; i < n; i++)
+			names.remove(array[offset + i]);
+	}
+
+	private int generateBuffer () {
+		int name = nextName++;
+		bufferSizes.put(name, 0);
+		return name;
+	}
+
+	private void deleteBuffer (int buffer) {
+		bufferSizes.remove(buffer, 0);
+	}
+
+	private void deleteTexture (int texture) {
+		textures.remove(texture);
+		textureUploads.remove(texture, 0);
+	}
+
+	/** Returns the program to set the uniform at the location in, or null if it can't be set. */
+	private @Null Program uniformProgram (int location) {
+		uniformUpdates++;
+		Program p = programs.get(program);
+		if (p == null) {
+			error = GL_INVALID_OPERATION;
+			return null;
+		}
+		if (location == -1) return null;
+		if (location < 0 || location >= p.values.length) {
+			error = GL_INVALID_OPERATION;
+			return null;
+		}
+		return p;
+	}
+
+	private float[] values (Program p, int location, int length) {
+		float[] values = p.values[location];
+		if (values == null || values.length != length) p.values[location] = values = new float[length];
+		return values;
+	}
+
+	private void uniform (int location, int components, float x, float y, float z, float w) {
+		Program p = uniformProgram(location);
+		if (p == null) return;
+		float[] values = values(p, location, components);
+		values[0] = x;
+		if (components > 1) values[1] = y;
+		if (components > 2) values[2] = z;
+		if (components > 3) values[3] = w;
+	}
+
+	/** Each element of an array uniform has its own location, so count elements are set at consecutive locations. */
+	private void uniform (int location, int count, int components, FloatBuffer value) {
+		Program p = uniformProgram(location);
+		if (p == null) return;
+		for (int i = 0, n = p.elements(location, count), position = value.position(); i < n; i++) {
+			float[] values = values(p, location + i, components);
+			for (int ii = 0; ii < components; ii++)
+				values[ii] = value.get(position++);
+		}
+	}
+
+	private void uniform (int location, int count, int components, float[] value, int offset) {
+		Program p = uniformProgram(location);
+		if (p == null) return;
+		for (int i = 0, n = p.elements(location, count); i < n; i++, offset += components)
+			System.arraycopy(value, offset, values(p, location + i, components), 0, components);
+	}
+
+	private void uniform (int location, int count, int components, IntBuffer value) {
+		Program p = uniformProgram(location);
+		if (p == null) return;
+		for (int i = 0, n = p.elements(location, count), position = value.position(); i < n; i++) {
+			float[] values = values(p, location + i, components);
+			for (int ii = 0; ii < components; ii++)
+				values[ii] = value.get(position++);
+		}
+	}
+
+	private void uniform (int location, int count, int components, int[] value, int offset) {
+		Program p = uniformProgram(location);
+		if (p == null) return;
+		for (int i = 0, n = p.elements(location, count); i < n; i++) {
+			float[] values = values(p, location + i, components);
+			for (int ii = 0; ii < components; ii++)
+				values[ii] = value[offset++];
+		}
+	}
+
+	static private int indexSize (int type) {
+		if (type == GL_UNSIGNED_BYTE) return 1;
+		if (type == GL_UNSIGNED_SHORT) return 2;
+		return 4;
+	}
+
+	private void put (@Null IntBuffer params, int value) {
+		if (params != null) params.put(params.position(), value);
+	}
+
+	static int bytes (@Null Buffer buffer) {
+		if (buffer == null) return 0;
+		int remaining = buffer.remaining();
+		if (buffer instanceof ByteBuffer) return remaining;
+		if (buffer instanceof ShortBuffer || buffer instanceof CharBuffer) return remaining * 2;
+		if (buffer instanceof LongBuffer || buffer instanceof DoubleBuffer) return remaining * 8;
+		return remaining * 4;
+	}
+
+	static private int typeOf (String type) {
+		switch (type) {
+		case "float":
+			return GL_FLOAT;
+		case "vec2":
+			return GL_FLOAT_VEC2;
+		case "vec3":
+			return GL_FLOAT_VEC3;
+		case "vec4":
+			return GL_FLOAT_VEC4;
+		case "int":
+			return GL_INT;
+		case "ivec2":
+			return GL_INT_VEC2;
+		case "ivec3":
+			return GL_INT_VEC3;
+		case "ivec4":
+			return GL_INT_VEC4;
+		case "uint":
+			return GL_UNSIGNED_INT;
+		case "bool":
+			return GL_BOOL;
+		case "mat2":
+			return GL_FLOAT_MAT2;
+		case "mat3":
+			return GL_FLOAT_MAT3;
+		case "mat4":
+			return GL_FLOAT_MAT4;
+		case "sampler2D":
+			return GL_SAMPLER_2D;
+		case "samplerCube":
+			return GL_SAMPLER_CUBE;
+		case "sampler3D":
+			return GL_SAMPLER_3D;
+		case "sampler2DShadow":
+			return GL_SAMPLER_2D_SHADOW;
+		case "sampler2DArray":
+			return GL_SAMPLER_2D_ARRAY;
+		}
+		return GL_FLOAT;
+	}
+
+	static private class Variable {
+		final String name;
+		final int type, size;
+
+		Variable (String name, int type, int size) {
+			this.name = name;
+			this.type = type;
+			this.size = size;
+		}
+	}
+
+	static private class Shader {
+		final int type;
+		String source = "";
+		final Array<Variable> attributes = new Array(), uniforms = new Array();
+
+		Shader (int type) {
+			this.type = type;
+		}
+
+		void compile () {
+			attributes.clear();
+			uniforms.clear();
+			String source = commentPattern.matcher(this.source).replaceAll(" ");
+			ObjectIntMap<String> defines = new ObjectIntMap();
+			Matcher matcher = definePattern.matcher(source);
+			while (matcher.find())
+				defines.put(matcher.group(1), Integer.parseInt(matcher.group(2)));
+			if (type == GL_VERTEX_SHADER) parse(attributePattern.matcher(source), attributes, defines);
+			parse(uniformPattern.matcher(source), uniforms, defines);
+		}
+
+		private void parse (Matcher matcher, Array<Variable> variables, ObjectIntMap<String> defines) {
+			outer:
+			while (matcher.find()) {
+				String name = matcher.group(2);
+				for (Variable variable : variables)
+					if (variable.name.equals(name)) continue outer;
+				int size = 1;
+				String length = matcher.group(3);
+				if (length != null) {
+					try {
+						size = Integer.parseInt(length);
+					} catch (NumberFormatException ex) {
+						size = defines.get(length, 1);
+					}
+				}
+				variables.add(new Variable(name, typeOf(matcher.group(1)), size));
+			}
+		}
+	}
+
+	static private class Program {
+		final IntArray shaders = new IntArray();
+		final ObjectIntMap<String> boundAttributes = new ObjectIntMap();
+		final Array<Variable> attributes = new Array(), uniforms = new Array();
+		final ObjectIntMap<String> attributeLocations = new ObjectIntMap(), uniformLocations = new ObjectIntMap();
+		float[][] values = new float[0][];
+		boolean linked;
+
+		void link (IntMap<Shader> shaderObjects) {
+			attributes.clear();
+			uniforms.clear();
+			attributeLocations.clear();
+			uniformLocations.clear();
+			ObjectMap<String, Variable> seen = new ObjectMap();
+			for (int i = 0; i < shaders.size; i++) {
+				Shader shader = shaderObjects.get(shaders.get(i));
+				if (shader == null) continue;
+				for (Variable variable : shader.attributes)
+					if (seen.put("a " + variable.name, variable) == null) attributes.add(variable);
+				for (Variable variable : shader.uniforms)
+					if (seen.put("u " + variable.name, variable) == null) uniforms.add(variable);
+			}
+
+			IntSet used = new IntSet();
+			for (Variable attribute : attributes) {
+				int location = boundAttributes.get(attribute.name, -1);
+				if (location != -1) {
+					attributeLocations.put(attribute.name, location);
+					used.add(location);
+				}
+			}
+			int next = 0;
+			for (Variable attribute : attributes) {
+				if (attributeLocations.containsKey(attribute.name)) continue;
+				while (used.contains(next))
+					next++;
+				attributeLocations.put(attribute.name, next);
+				used.add(next);
+			}
+
+			int locations = 0;
+			for (Variable uniform : uniforms) {
+				uniformLocations.put(uniform.name, locations);
+				locations += uniform.size;
+			}
+			values = new float[locations][];
+			linked = true;
+		}
+
+		/** Returns how many of count array elements starting at the location belong to the same uniform. */
+		int elements (int location, int count) {
+			for (Variable uniform : uniforms) {
+				int start = uniformLocations.get(uniform.name, -1);
+				if (location >= start && location < start + uniform.size) return Math.min(count, start + uniform.size - location);
+			}
+			return 0;
+		}
+
+		int uniformLocation (String name) {
+			int location = uniformLocations.get(name, -1);
+			if (location != -1 || !name.endsWith("]")) return location;
+			// Array elements, eg "u_bones[3]".
+			int bracket = name.lastIndexOf('[');
+			if (bracket == -1) return -1;
+			location = uniformLocations.get(name.substring(0, bracket), -1);
+			if (location == -1) return -1;
+			try {
+				int index = Integer.parseInt(name.substring(bracket + 1, name.length() - 1));
+				for (Variable uniform : uniforms)
+					if (uniformLocations.get(uniform.name, -1) == location) return index >= 0 && index < uniform.size ? location + index : -1;
+			} catch (NumberFormatException ignored) {
+			}
+			return -1;
+		}
+	}
+
+	@Override
+	public void glActiveTexture (int texture) {
+		calls++;
+		if (log != null) log.append("ActiveTexture ").append(texture).append('\n');
+		int unit = texture - GL_TEXTURE0;
+		state(unit != activeTexture);
+		activeTexture = unit;
+	}
+
+	@Override
+	public void glBindTexture (int target, int texture) {
+		calls++;
+		if (log != null) log.append("BindTexture ").append(target).append(' ').append(texture).append('\n');
+		textureBindings++;
+		int previous = boundTextures.put(activeTexture << 16 | target, texture, 0);
+		state(previous != texture);
+		if (texture != 0) textures.add(texture);
+	}
+
+	@Override
+	public void glBlendFunc (int sfactor, int dfactor) {
+		calls++;
+		if (log != null) log.append("BlendFunc ").append(sfactor).append(' ').append(dfactor).append('\n');
+		state(blendSrcRGB != sfactor || blendDstRGB != dfactor || blendSrcAlpha != sfactor || blendDstAlpha != dfactor);
+		blendSrcRGB = blendSrcAlpha = sfactor;
+		blendDstRGB = blendDstAlpha = dfactor;
+	}
+
+	@Override
+	public void glClear (int mask) {
+		calls++;
+		if (log != null) log.append("Clear ").append(mask).append('\n');
+	}
+
+	@Override
+	public void glClearColor (float red, float green, float blue, float alpha) {
+		calls++;
+		if (log != null) log.append("ClearColor ").append(red).append(' ').append(green).append(' ').append(blue)
+			.append(' ').append(alpha).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glClearDepthf (float depth) {
+		calls++;
+		if (log != null) log.append("ClearDepthf ").append(depth).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glClearStencil (int s) {
+		calls++;
+		if (log != null) log.append("ClearStencil ").append(s).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glColorMask (boolean red, boolean green, boolean blue, boolean alpha) {
+		calls++;
+		if (log != null) log.append("ColorMask ").append(red).append(' ').append(green).append(' ').append(blue)
+			.append(' ').append(alpha).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glCompressedTexImage2D (int target, int level, int internalformat, int width, int height, int border,
+		int imageSize, Buffer data) {
+		calls++;
+		if (log != null) log.append("CompressedTexImage2D ").append(target).append(' ').append(level)
+			.append(' ').append(internalformat).append(' ').append(width).append(' ').append(height).append(' ').append(border)
+			.append(' ').append(imageSize).append(' ').append(bytes(data)).append('\n');
+		textureUpload(target, imageSize);
+	}
+
+	@Override
+	public void glCompressedTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format,
+		int imageSize, Buffer data) {
+		calls++;
+		if (log != null) log.append("CompressedTexSubImage2D ").append(target).append(' ').append(level).append(' ').append(xoffset)
+			.append(' ').append(yoffset).append(' ').append(width).append(' ').append(height).append(' ').append(format)
+			.append(' ').append(imageSize).append(' ').append(bytes(data)).append('\n');
+		textureUpload(target, imageSize);
+	}
+
+	@Override
+	public void glCopyTexImage2D (int target, int level, int internalformat, int x, int y, int width, int height, int border) {
+		calls++;
+		if (log != null) log.append("CopyTexImage2D ").append(target).append(' ').append(level).append(' ').append(internalformat)
+			.append(' ').append(x).append(' ').append(y).append(' ').append(width).append(' ').append(height).append(' ').append(border)
+			.append('\n');
+	}
+
+	@Override
+	public void glCopyTexSubImage2D (int target, int level, int xoffset, int yoffset, int x, int y, int width, int height) {
+		calls++;
+		if (log != null) log.append("CopyTexSubImage2D ").append(target).append(' ').append(level).append(' ').append(xoffset)
+			.append(' ').append(yoffset).append(' ').append(x).append(' ').append(y).append(' ').append(width).append(' ').append(height)
+			.append('\n');
+	}
+
+	@Override
+	public void glCullFace (int mode) {
+		calls++;
+		if (log != null) log.append("CullFace ").append(mode).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glDeleteTextures (int n, IntBuffer textures) {
+		calls++;
+		if (log != null) log.append("DeleteTextures ").append(n).append(' ').append(bytes(textures)).append('\n');
+		for (int i = 0, position = textures.position(); i < n; i++)
+			deleteTexture(textures.get(position + i));
+	}
+
+	@Override
+	public void glDeleteTexture (int texture) {
+		calls++;
+		if (log != null) log.append("DeleteTexture ").append(texture).append('\n');
+		deleteTexture(texture);
+	}
+
+	@Override
+	public void glDepthFunc (int func) {
+		calls++;
+		if (log != null) log.append("DepthFunc ").append(func).append('\n');
+		state(depthFunc != func);
+		depthFunc = func;
+	}
+
+	@Override
+	public void glDepthMask (boolean flag) {
+		calls++;
+		if (log != null) log.append("DepthMask ").append(flag).append('\n');
+		state(depthMask != flag);
+		depthMask = flag;
+	}
+
+	@Override
+	public void glDepthRangef (float zNear, float zFar) {
+		calls++;
+		if (log != null) log.append("DepthRangef ").append(zNear).append(' ').append(zFar).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glDisable (int cap) {
+		calls++;
+		if (log != null) log.append("Disable ").append(cap).append('\n');
+		state(enabled.remove(cap));
+	}
+
+	@Override
+	public void glDrawArrays (int mode, int first, int count) {
+		calls++;
+		if (log != null) log.append("DrawArrays ").append(mode).append(' ').append(first).append(' ').append(count).append('\n');
+		vertexCount.put(count);
+		drawCalls++;
+	}
+
+	@Override
+	public void glDrawElements (int mode, int count, int type, Buffer indices) {
+		calls++;
+		if (log != null) log.append("DrawElements ").append(mode).append(' ').append(count).append(' ').append(type)
+			.append(' ').append(bytes(indices)).append('\n');
+		vertexCount.put(count);
+		drawCalls++;
+		if (boundBuffers.get(GL_ELEMENT_ARRAY_BUFFER, 0) == 0) bufferBytes += count * indexSize(type);
+	}
+
+	@Override
+	public void glEnable (int cap) {
+		calls++;
+		if (log != null) log.append("Enable ").append(cap).append('\n');
+		state(enabled.add(cap));
+	}
+
+	@Override
+	public void glFinish () {
+		calls++;
+		if (log != null) log.append("Finish\n");
+	}
+
+	@Override
+	public void glFlush () {
+		calls++;
+		if (log != null) log.append("Flush\n");
+	}
+
+	@Override
+	public void glFrontFace (int mode) {
+		calls++;
+		if (log != null) log.append("FrontFace ").append(mode).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glGenTextures (int n, IntBuffer textures) {
+		calls++;
+		if (log != null) log.append("GenTextures ").append(n).append(' ').append(bytes(textures)).append('\n');
+		generate(this.textures, n, textures);
+	}
+
+	@Override
+	public int glGenTexture () {
+		calls++;
+		if (log != null) log.append("GenTexture\n");
+		return generate(textures);
+	}
+
+	@Override
+	public int glGetError () {
+		calls++;
+		if (log != null) log.append("GetError\n");
+		int error = this.error;
+		this.error = GL_NO_ERROR;
+		return error;
+	}
+
+	@Override
+	public void glGetIntegerv (int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetIntegerv ").append(pname).append(' ').append(bytes(params)).append('\n');
+		switch (pname) {
+		case GL_MAX_TEXTURE_IMAGE_UNITS:
+		case GL_MAX_VERTEX_TEXTURE_IMAGE_UNITS:
+		case GL_MAX_VERTEX_ATTRIBS:
+			put(params, 16);
+			break;
+		case GL_MAX_COMBINED_TEXTURE_IMAGE_UNITS:
+			put(params, 32);
+			break;
+		case GL_MAX_TEXTURE_SIZE:
+		case GL_MAX_CUBE_MAP_TEXTURE_SIZE:
+		case GL_MAX_RENDERBUFFER_SIZE:
+			put(params, 8192);
+			break;
+		case GL_MAX_VIEWPORT_DIMS:
+			put(params, 8192);
+			params.put(params.position() + 1, 8192);
+			break;
+		case GL_MAX_VERTEX_UNIFORM_VECTORS:
+		case GL_MAX_FRAGMENT_UNIFORM_VECTORS:
+			put(params, 256);
+			break;
+		case GL_MAX_VARYING_VECTORS:
+			put(params, 16);
+			break;
+		case GL_MAX_SAMPLES:
+			put(params, 4);
+			break;
+		case GL_MAX_DRAW_BUFFERS:
+		case GL_MAX_COLOR_ATTACHMENTS:
+			put(params, 8);
+			break;
+		case GL_MAJOR_VERSION:
+			put(params, 3);
+			break;
+		case GL_ACTIVE_TEXTURE:
+			put(params, GL_TEXTURE0 + activeTexture);
+			break;
+		case GL_CURRENT_PROGRAM:
+			put(params, program);
+			break;
+		case GL_FRAMEBUFFER_BINDING:
+			put(params, framebuffer);
+			break;
+		case GL_RENDERBUFFER_BINDING:
+			put(params, renderbuffer);
+			break;
+		case GL_VERTEX_ARRAY_BINDING:
+			put(params, vertexArray);
+			break;
+		case GL_ARRAY_BUFFER_BINDING:
+			put(params, boundBuffers.get(GL_ARRAY_BUFFER, 0));
+			break;
+		case GL_ELEMENT_ARRAY_BUFFER_BINDING:
+			put(params, boundBuffers.get(GL_ELEMENT_ARRAY_BUFFER, 0));
+			break;
+		case GL_TEXTURE_BINDING_2D:
+			put(params, boundTextures.get(activeTexture << 16 | GL_TEXTURE_2D, 0));
+			break;
+		case GL_TEXTURE_BINDING_CUBE_MAP:
+			put(params, boundTextures.get(activeTexture << 16 | GL_TEXTURE_CUBE_MAP, 0));
+			break;
+		case GL_DEPTH_FUNC:
+			put(params, depthFunc);
+			break;
+		case GL_BLEND_SRC_RGB:
+			put(params, blendSrcRGB);
+			break;
+		case GL_BLEND_DST_RGB:
+			put(params, blendDstRGB);
+			break;
+		case GL_BLEND_SRC_ALPHA:
+			put(params, blendSrcAlpha);
+			break;
+		case GL_BLEND_DST_ALPHA:
+			put(params, blendDstAlpha);
+			break;
+		case GL_VIEWPORT:
+			for (int i = 0, position = params.position(); i < 4; i++)
+				params.put(position + i, viewport[i]);
+			break;
+		default:
+			put(params, 0);
+		}
+	}
+
+	@Override
+	public String glGetString (int name) {
+		calls++;
+		if (log != null) log.append("GetString ").append(name).append('\n');
+		switch (name) {
+		case GL_VENDOR:
+			return "libGDX";
+		case GL_RENDERER:
+			return "RecordingGL30";
+		case GL_VERSION:
+			return "OpenGL ES 3.0 RecordingGL30";
+		case GL_SHADING_LANGUAGE_VERSION:
+			return "OpenGL ES GLSL ES 3.00";
+		}
+		return "";
+	}
+
+	@Override
+	public void glHint (int target, int mode) {
+		calls++;
+		if (log != null) log.append("Hint ").append(target).append(' ').append(mode).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glLineWidth (float width) {
+		calls++;
+		if (log != null) log.append("LineWidth ").append(width).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glPixelStorei (int pname, int param) {
+		calls++;
+		if (log != null) log.append("PixelStorei ").append(pname).append(' ').append(param).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glPolygonOffset (float factor, float units) {
+		calls++;
+		if (log != null) log.append("PolygonOffset ").append(factor).append(' ').append(units).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glReadPixels (int x, int y, int width, int height, int format, int type, Buffer pixels) {
+		calls++;
+		if (log != null) log.append("ReadPixels ").append(x).append(' ').append(y).append(' ').append(width)
+			.append(' ').append(height).append(' ').append(format).append(' ').append(type).append(' ').append(bytes(pixels))
+			.append('\n');
+	}
+
+	@Override
+	public void glScissor (int x, int y, int width, int height) {
+		calls++;
+		if (log != null) log.append("Scissor ").append(x).append(' ').append(y).append(' ').append(width).append(' ').append(height)
+			.append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glStencilFunc (int func, int ref, int mask) {
+		calls++;
+		if (log != null) log.append("StencilFunc ").append(func).append(' ').append(ref).append(' ').append(mask).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glStencilMask (int mask) {
+		calls++;
+		if (log != null) log.append("StencilMask ").append(mask).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glStencilOp (int fail, int zfail, int zpass) {
+		calls++;
+		if (log != null) log.append("StencilOp ").append(fail).append(' ').append(zfail).append(' ').append(zpass).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glTexImage2D (int target, int level, int internalformat, int width, int height, int border, int format, int type,
+		Buffer pixels) {
+		calls++;
+		if (log != null) log.append("TexImage2D ").append(target).append(' ').append(level).append(' ').append(internalformat)
+			.append(' ').append(width).append(' ').append(height).append(' ').append(border).append(' ').append(format)
+			.append(' ').append(type).append(' ').append(bytes(pixels)).append('\n');
+		textureUpload(target, bytes(pixels));
+	}
+
+	@Override
+	public void glTexImage2D (int target, int level, int internalformat, int width, int height, int border, int format, int type,
+		int offset) {
+		calls++;
+		if (log != null) log.append("TexImage2D ").append(target).append(' ').append(level).append(' ').append(internalformat)
+			.append(' ').append(width).append(' ').append(height).append(' ').append(border).append(' ').append(format)
+			.append(' ').append(type).append(' ').append(offset).append('\n');
+	}
+
+	@Override
+	public void glTexParameterf (int target, int pname, float param) {
+		calls++;
+		if (log != null) log.append("TexParameterf ").append(target).append(' ').append(pname).append(' ').append(param).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format, int type,
+		Buffer pixels) {
+		calls++;
+		if (log != null) log.append("TexSubImage2D ").append(target).append(' ').append(level).append(' ').append(xoffset)
+			.append(' ').append(yoffset).append(' ').append(width).append(' ').append(height).append(' ').append(format)
+			.append(' ').append(type).append(' ').append(bytes(pixels)).append('\n');
+		textureUpload(target, bytes(pixels));
+	}
+
+	@Override
+	public void glTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format, int type,
+		int offset) {
+		calls++;
+		if (log != null) log.append("TexSubImage2D ").append(target).append(' ').append(level).append(' ').append(xoffset)
+			.append(' ').append(yoffset).append(' ').append(width).append(' ').append(height).append(' ').append(format)
+			.append(' ').append(type).append(' ').append(offset).append('\n');
+	}
+
+	@Override
+	public void glViewport (int x, int y, int width, int height) {
+		calls++;
+		if (log != null) log.append("Viewport ").append(x).append(' ').append(y).append(' ').append(width).append(' ').append(height)
+			.append('\n');
+		int[] viewport = this.viewport;
+		state(viewport[0] != x || viewport[1] != y || viewport[2] != width || viewport[3] != height);
+		viewport[0] = x;
+		viewport[1] = y;
+		viewport[2] = width;
+		viewport[3] = height;
+	}
+
+	@Override
+	public void glAttachShader (int program, int shader) {
+		calls++;
+		if (log != null) log.append("AttachShader ").append(program).append(' ').append(shader).append('\n');
+		Program p = programs.get(program);
+		if (p != null) p.shaders.add(shader);
+	}
+
+	@Override
+	public void glBindAttribLocation (int program, int index, String name) {
+		calls++;
+		if (log != null) log.append("BindAttribLocation ").append(program).append(' ').append(index).append(' ').append(name)
+			.append('\n');
+		Program p = programs.get(program);
+		if (p != null) p.boundAttributes.put(name, index);
+	}
+
+	@Override
+	public void glBindBuffer (int target, int buffer) {
+		calls++;
+		if (log != null) log.append("BindBuffer ").append(target).append(' ').append(buffer).append('\n');
+		int previous = boundBuffers.put(target, buffer, 0);
+		state(previous != buffer);
+		if (buffer != 0 && !bufferSizes.containsKey(buffer)) bufferSizes.put(buffer, 0);
+	}
+
+	@Override
+	public void glBindFramebuffer (int target, int framebuffer) {
+		calls++;
+		if (log != null) log.append("BindFramebuffer ").append(target).append(' ').append(framebuffer).append('\n');
+		state(this.framebuffer != framebuffer);
+		this.framebuffer = framebuffer;
+		if (framebuffer != 0) framebuffers.add(framebuffer);
+	}
+
+	@Override
+	public void glBindRenderbuffer (int target, int renderbuffer) {
+		calls++;
+		if (log != null) log.append("BindRenderbuffer ").append(target).append(' ').append(renderbuffer).append('\n');
+		state(this.renderbuffer != renderbuffer);
+		this.renderbuffer = renderbuffer;
+		if (renderbuffer != 0) renderbuffers.add(renderbuffer);
+	}
+
+	@Override
+	public void glBlendColor (float red, float green, float blue, float alpha) {
+		calls++;
+		if (log != null) log.append("BlendColor ").append(red).append(' ').append(green).append(' ').append(blue)
+			.append(' ').append(alpha).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glBlendEquation (int mode) {
+		calls++;
+		if (log != null) log.append("BlendEquation ").append(mode).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glBlendEquationSeparate (int modeRGB, int modeAlpha) {
+		calls++;
+		if (log != null) log.append("BlendEquationSeparate ").append(modeRGB).append(' ').append(modeAlpha).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glBlendFuncSeparate (int srcRGB, int dstRGB, int srcAlpha, int dstAlpha) {
+		calls++;
+		if (log != null) log.append("BlendFuncSeparate ").append(srcRGB).append(' ').append(dstRGB).append(' ').append(srcAlpha)
+			.append(' ').append(dstAlpha).append('\n');
+		state(blendSrcRGB != srcRGB || blendDstRGB != dstRGB || blendSrcAlpha != srcAlpha || blendDstAlpha != dstAlpha);
+		blendSrcRGB = srcRGB;
+		blendDstRGB = dstRGB;
+		blendSrcAlpha = srcAlpha;
+		blendDstAlpha = dstAlpha;
+	}
+
+	@Override
+	public void glBufferData (int target, int size, Buffer data, int usage) {
+		calls++;
+		if (log != null) log.append("BufferData ").append(target).append(' ').append(size).append(' ').append(bytes(data))
+			.append(' ').append(usage).append('\n');
+		int buffer = boundBuffers.get(target, 0);
+		if (buffer != 0) bufferSizes.put(buffer, size);
+		if (data != null) bufferBytes += size;
+	}
+
+	@Override
+	public void glBufferSubData (int target, int offset, int size, Buffer data) {
+		calls++;
+		if (log != null) log.append("BufferSubData ").append(target).append(' ').append(offset).append(' ').append(size)
+			.append(' ').append(bytes(data)).append('\n');
+		bufferBytes += size;
+	}
+
+	@Override
+	public int glCheckFramebufferStatus (int target) {
+		calls++;
+		if (log != null) log.append("CheckFramebufferStatus ").append(target).append('\n');
+		return GL_FRAMEBUFFER_COMPLETE;
+	}
+
+	@Override
+	public void glCompileShader (int shader) {
+		calls++;
+		if (log != null) log.append("CompileShader ").append(shader).append('\n');
+		Shader s = shaders.get(shader);
+		if (s != null) s.compile();
+	}
+
+	@Override
+	public int glCreateProgram () {
+		calls++;
+		if (log != null) log.append("CreateProgram\n");
+		int program = nextName++;
+		programs.put(program, new Program());
+		return program;
+	}
+
+	@Override
+	public int glCreateShader (int type) {
+		calls++;
+		if (log != null) log.append("CreateShader ").append(type).append('\n');
+		int shader = nextName++;
+		shaders.put(shader, new Shader(type));
+		return shader;
+	}
+
+	@Override
+	public void glDeleteBuffer (int buffer) {
+		calls++;
+		if (log != null) log.append("DeleteBuffer ").append(buffer).append('\n');
+		deleteBuffer(buffer);
+	}
+
+	@Override
+	public void glDeleteBuffers (int n, IntBuffer buffers) {
+		calls++;
+		if (log != null) log.append("DeleteBuffers ").append(n).append(' ').append(bytes(buffers)).append('\n');
+		for (int i = 0, position = buffers.position(); i < n; i++)
+			deleteBuffer(buffers.get(position + i));
+	}
+
+	@Override
+	public void glDeleteFramebuffer (int framebuffer) {
+		calls++;
+		if (log != null) log.append("DeleteFramebuffer ").append(framebuffer).append('\n');
+		framebuffers.remove(framebuffer);
+	}
+
+	@Override
+	public void glDeleteFramebuffers (int n, IntBuffer framebuffers) {
+		calls++;
+		if (log != null) log.append("DeleteFramebuffers ").append(n).append(' ').append(bytes(framebuffers)).append('\n');
+		delete(this.framebuffers, n, framebuffers);
+	}
+
+	@Override
+	public void glDeleteProgram (int program) {
+		calls++;
+		if (log != null) log.append("DeleteProgram ").append(program).append('\n');
+		programs.remove(program);
+	}
+
+	@Override
+	public void glDeleteRenderbuffer (int renderbuffer) {
+		calls++;
+		if (log != null) log.append("DeleteRenderbuffer ").append(renderbuffer).append('\n');
+		renderbuffers.remove(renderbuffer);
+	}
+
+	@Override
+	public void glDeleteRenderbuffers (int n, IntBuffer renderbuffers) {
+		calls++;
+		if (log != null) log.append("DeleteRenderbuffers ").append(n).append(' ').append(bytes(renderbuffers)).append('\n');
+		delete(this.renderbuffers, n, renderbuffers);
+	}
+
+	@Override
+	public void glDeleteShader (int shader) {
+		calls++;
+		if (log != null) log.append("DeleteShader ").append(shader).append('\n');
+		shaders.remove(shader);
+	}
+
+	@Override
+	public void glDetachShader (int program, int shader) {
+		calls++;
+		if (log != null) log.append("DetachShader ").append(program).append(' ').append(shader).append('\n');
+		Program p = programs.get(program);
+		if (p != null) p.shaders.removeValue(shader);
+	}
+
+	@Override
+	public void glDisableVertexAttribArray (int index) {
+		calls++;
+		if (log != null) log.append("DisableVertexAttribArray ").append(index).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glDrawElements (int mode, int count, int type, int indices) {
+		calls++;
+		if (log != null) log.append("DrawElements ").append(mode).append(' ').append(count).append(' ').append(type)
+			.append(' ').append(indices).append('\n');
+		vertexCount.put(count);
+		drawCalls++;
+	}
+
+	@Override
+	public void glEnableVertexAttribArray (int index) {
+		calls++;
+		if (log != null) log.append("EnableVertexAttribArray ").append(index).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glFramebufferRenderbuffer (int target, int attachment, int renderbuffertarget, int renderbuffer) {
+		calls++;
+		if (log != null) log.append("FramebufferRenderbuffer ").append(target).append(' ').append(attachment)
+			.append(' ').append(renderbuffertarget).append(' ').append(renderbuffer).append('\n');
+	}
+
+	@Override
+	public void glFramebufferTexture2D (int target, int attachment, int textarget, int texture, int level) {
+		calls++;
+		if (log != null) log.append("FramebufferTexture2D ").append(target).append(' ').append(attachment)
+			.append(' ').append(textarget).append(' ').append(texture).append(' ').append(level).append('\n');
+	}
+
+	@Override
+	public int glGenBuffer () {
+		calls++;
+		if (log != null) log.append("GenBuffer\n");
+		return generateBuffer();
+	}
+
+	@Override
+	public void glGenBuffers (int n, IntBuffer buffers) {
+		calls++;
+		if (log != null) log.append("GenBuffers ").append(n).append(' ').append(bytes(buffers)).append('\n');
+		for (int i = 0, position = buffers.position(); i < n; i++)
+			buffers.put(position + i, generateBuffer());
+	}
+
+	@Override
+	public void glGenerateMipmap (int target) {
+		calls++;
+		if (log != null) log.append("GenerateMipmap ").append(target).append('\n');
+	}
+
+	@Override
+	public int glGenFramebuffer () {
+		calls++;
+		if (log != null) log.append("GenFramebuffer\n");
+		return generate(framebuffers);
+	}
+
+	@Override
+	public void glGenFramebuffers (int n, IntBuffer framebuffers) {
+		calls++;
+		if (log != null) log.append("GenFramebuffers ").append(n).append(' ').append(bytes(framebuffers)).append('\n');
+		generate(this.framebuffers, n, framebuffers);
+	}
+
+	@Override
+	public int glGenRenderbuffer () {
+		calls++;
+		if (log != null) log.append("GenRenderbuffer\n");
+		return generate(renderbuffers);
+	}
+
+	@Override
+	public void glGenRenderbuffers (int n, IntBuffer renderbuffers) {
+		calls++;
+		if (log != null) log.append("GenRenderbuffers ").append(n).append(' ').append(bytes(renderbuffers)).append('\n');
+		generate(this.renderbuffers, n, renderbuffers);
+	}
+
+	@Override
+	public String glGetActiveAttrib (int program, int index, IntBuffer size, IntBuffer type) {
+		calls++;
+		if (log != null) log.append("GetActiveAttrib ").append(program).append(' ').append(index).append(' ').append(bytes(size))
+			.append(' ').append(bytes(type)).append('\n');
+		Program p = programs.get(program);
+		if (p == null || index < 0 || index >= p.attributes.size) {
+			error = GL_INVALID_VALUE;
+			return "";
+		}
+		Variable attribute = p.attributes.get(index);
+		put(size, attribute.size);
+		put(type, attribute.type);
+		return attribute.name;
+	}
+
+	@Override
+	public String glGetActiveUniform (int program, int index, IntBuffer size, IntBuffer type) {
+		calls++;
+		if (log != null) log.append("GetActiveUniform ").append(program).append(' ').append(index).append(' ').append(bytes(size))
+			.append(' ').append(bytes(type)).append('\n');
+		Program p = programs.get(program);
+		if (p == null || index < 0 || index >= p.uniforms.size) {
+			error = GL_INVALID_VALUE;
+			return "";
+		}
+		Variable uniform = p.uniforms.get(index);
+		put(size, uniform.size);
+		put(type, uniform.type);
+		return uniform.name;
+	}
+
+	@Override
+	public void glGetAttachedShaders (int program, int maxcount, Buffer count, IntBuffer shaders) {
+		calls++;
+		if (log != null) log.append("GetAttachedShaders ").append(program).append(' ').append(maxcount)
+			.append(' ').append(bytes(count)).append(' ').append(bytes(shaders)).append('\n');
+		Program p = programs.get(program);
+		int n = p != null ? Math.min(maxcount, p.shaders.size) : 0;
+		for (int i = 0, position = shaders.position(); i < n; i++)
+			shaders.put(position + i, p.shaders.get(i));
+		if (count instanceof IntBuffer) put((IntBuffer)count, n);
+	}
+
+	@Override
+	public int glGetAttribLocation (int program, String name) {
+		calls++;
+		if (log != null) log.append("GetAttribLocation ").append(program).append(' ').append(name).append('\n');
+		Program p = programs.get(program);
+		return p != null ? p.attributeLocations.get(name, -1) : -1;
+	}
+
+	@Override
+	public void glGetBooleanv (int pname, Buffer params) {
+		calls++;
+		if (log != null) log.append("GetBooleanv ").append(pname).append(' ').append(bytes(params)).append('\n');
+		if (params instanceof ByteBuffer) {
+			ByteBuffer buffer = (ByteBuffer)params;
+			boolean value = pname == GL_DEPTH_WRITEMASK ? depthMask : enabled.contains(pname);
+			buffer.put(buffer.position(), (byte)(value ? 1 : 0));
+		}
+	}
+
+	@Override
+	public void glGetBufferParameteriv (int target, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetBufferParameteriv ").append(target).append(' ').append(pname)
+			.append(' ').append(bytes(params)).append('\n');
+		put(params, pname == GL_BUFFER_SIZE ? bufferSizes.get(boundBuffers.get(target, 0), 0) : 0);
+	}
+
+	@Override
+	public void glGetFloatv (int pname, FloatBuffer params) {
+		calls++;
+		if (log != null) log.append("GetFloatv ").append(pname).append(' ').append(bytes(params)).append('\n');
+		params.put(params.position(), 0);
+	}
+
+	@Override
+	public void glGetFramebufferAttachmentParameteriv (int target, int attachment, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetFramebufferAttachmentParameteriv ").append(target).append(' ').append(attachment)
+			.append(' ').append(pname).append(' ').append(bytes(params)).append('\n');
+		put(params, 0);
+	}
+
+	@Override
+	public void glGetProgramiv (int program, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetProgramiv ").append(program).append(' ').append(pname).append(' ').append(bytes(params))
+			.append('\n');
+		Program p = programs.get(program);
+		switch (pname) {
+		case GL_LINK_STATUS:
+		case GL_VALIDATE_STATUS:
+			put(params, p != null && p.linked ? GL_TRUE : GL_FALSE);
+			break;
+		case GL_ACTIVE_ATTRIBUTES:
+			put(params, p != null ? p.attributes.size : 0);
+			break;
+		case GL_ACTIVE_UNIFORMS:
+			put(params, p != null ? p.uniforms.size : 0);
+			break;
+		case GL_ATTACHED_SHADERS:
+			put(params, p != null ? p.shaders.size : 0);
+			break;
+		default:
+			put(params, 0);
+		}
+	}
+
+	@Override
+	public String glGetProgramInfoLog (int program) {
+		calls++;
+		if (log != null) log.append("GetProgramInfoLog ").append(program).append('\n');
+		return "";
+	}
+
+	@Override
+	public void glGetRenderbufferParameteriv (int target, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetRenderbufferParameteriv ").append(target).append(' ').append(pname)
+			.append(' ').append(bytes(params)).append('\n');
+		put(params, 0);
+	}
+
+	@Override
+	public void glGetShaderiv (int shader, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetShaderiv ").append(shader).append(' ').append(pname).append(' ').append(bytes(params))
+			.append('\n');
+		Shader s = shaders.get(shader);
+		switch (pname) {
+		case GL_COMPILE_STATUS:
+			put(params, s != null ? GL_TRUE : GL_FALSE);
+			break;
+		case GL_SHADER_TYPE:
+			put(params, s != null ? s.type : 0);
+			break;
+		case GL_SHADER_SOURCE_LENGTH:
+			put(params, s != null ? s.source.length() + 1 : 0);
+			break;
+		default:
+			put(params, 0);
+		}
+	}
+
+	@Override
+	public String glGetShaderInfoLog (int shader) {
+		calls++;
+		if (log != null) log.append("GetShaderInfoLog ").append(shader).append('\n');
+		return "";
+	}
+
+	@Override
+	public void glGetShaderPrecisionFormat (int shadertype, int precisiontype, IntBuffer range, IntBuffer precision) {
+		calls++;
+		if (log != null) log.append("GetShaderPrecisionFormat ").append(shadertype).append(' ').append(precisiontype)
+			.append(' ').append(bytes(range)).append(' ').append(bytes(precision)).append('\n');
+		if (range != null) {
+			range.put(range.position(), 127);
+			range.put(range.position() + 1, 127);
+		}
+		put(precision, 23);
+	}
+
+	@Override
+	public void glGetTexParameterfv (int target, int pname, FloatBuffer params) {
+		calls++;
+		if (log != null) log.append("GetTexParameterfv ").append(target).append(' ').append(pname).append(' ').append(bytes(params))
+			.append('\n');
+		params.put(params.position(), 0);
+	}
+
+	@Override
+	public void glGetTexParameteriv (int target, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetTexParameteriv ").append(target).append(' ').append(pname).append(' ').append(bytes(params))
+			.append('\n');
+		put(params, 0);
+	}
+
+	@Override
+	public void glGetUniformfv (int program, int location, FloatBuffer params) {
+		calls++;
+		if (log != null) log.append("GetUniformfv ").append(program).append(' ').append(location).append(' ').append(bytes(params))
+			.append('\n');
+		Program p = programs.get(program);
+		if (p == null || location < 0 || location >= p.values.length || p.values[location] == null) return;
+		float[] values = p.values[location];
+		for (int i = 0, position = params.position(), n = Math.min(values.length, params.remaining()); i < n; i++)
+			params.put(position + i, values[i]);
+	}
+
+	@Override
+	public void glGetUniformiv (int program, int location, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetUniformiv ").append(program).append(' ').append(location).append(' ').append(bytes(params))
+			.append('\n');
+		Program p = programs.get(program);
+		if (p == null || location < 0 || location >= p.values.length || p.values[location] == null) return;
+		float[] values = p.values[location];
+		for (int i = 0, position = params.position(), n = Math.min(values.length, params.remaining()); i < n; i++)
+			params.put(position + i, (int)values[i]);
+	}
+
+	@Override
+	public int glGetUniformLocation (int program, String name) {
+		calls++;
+		if (log != null) log.append("GetUniformLocation ").append(program).append(' ').append(name).append('\n');
+		Program p = programs.get(program);
+		return p != null ? p.uniformLocation(name) : -1;
+	}
+
+	@Override
+	public void glGetVertexAttribfv (int index, int pname, FloatBuffer params) {
+		calls++;
+		if (log != null) log.append("GetVertexAttribfv ").append(index).append(' ').append(pname).append(' ').append(bytes(params))
+			.append('\n');
+		params.put(params.position(), 0);
+	}
+
+	@Override
+	public void glGetVertexAttribiv (int index, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetVertexAttribiv ").append(index).append(' ').append(pname).append(' ').append(bytes(params))
+			.append('\n');
+		put(params, 0);
+	}
+
+	@Override
+	public void glGetVertexAttribPointerv (int index, int pname, Buffer pointer) {
+		calls++;
+		if (log != null) log.append("GetVertexAttribPointerv ").append(index).append(' ').append(pname)
+			.append(' ').append(bytes(pointer)).append('\n');
+	}
+
+	@Override
+	public boolean glIsBuffer (int buffer) {
+		calls++;
+		if (log != null) log.append("IsBuffer ").append(buffer).append('\n');
+		return bufferSizes.containsKey(buffer);
+	}
+
+	@Override
+	public boolean glIsEnabled (int cap) {
+		calls++;
+		if (log != null) log.append("IsEnabled ").append(cap).append('\n');
+		return enabled.contains(cap);
+	}
+
+	@Override
+	public boolean glIsFramebuffer (int framebuffer) {
+		calls++;
+		if (log != null) log.append("IsFramebuffer ").append(framebuffer).append('\n');
+		return framebuffers.contains(framebuffer);
+	}
+
+	@Override
+	public boolean glIsProgram (int program) {
+		calls++;
+		if (log != null) log.append("IsProgram ").append(program).append('\n');
+		return programs.containsKey(program);
+	}
+
+	@Override
+	public boolean glIsRenderbuffer (int renderbuffer) {
+		calls++;
+		if (log != null) log.append("IsRenderbuffer ").append(renderbuffer).append('\n');
+		return renderbuffers.contains(renderbuffer);
+	}
+
+	@Override
+	public boolean glIsShader (int shader) {
+		calls++;
+		if (log != null) log.append("IsShader ").append(shader).append('\n');
+		return shaders.containsKey(shader);
+	}
+
+	@Override
+	public boolean glIsTexture (int texture) {
+		calls++;
+		if (log != null) log.append("IsTexture ").append(texture).append('\n');
+		return textures.contains(texture);
+	}
+
+	@Override
+	public void glLinkProgram (int program) {
+		calls++;
+		if (log != null) log.append("LinkProgram ").append(program).append('\n');
+		Program p = programs.get(program);
+		if (p != null) p.link(shaders);
+	}
+
+	@Override
+	public void glReleaseShaderCompiler () {
+		calls++;
+		if (log != null) log.append("ReleaseShaderCompiler\n");
+	}
+
+	@Override
+	public void glRenderbufferStorage (int target, int internalformat, int width, int height) {
+		calls++;
+		if (log != null) log.append("RenderbufferStorage ").append(target).append(' ').append(internalformat)
+			.append(' ').append(width).append(' ').append(height).append('\n');
+	}
+
+	@Override
+	public void glSampleCoverage (float value, boolean invert) {
+		calls++;
+		if (log != null) log.append("SampleCoverage ").append(value).append(' ').append(invert).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glShaderBinary (int n, IntBuffer shaders, int binaryformat, Buffer binary, int length) {
+		calls++;
+		if (log != null) log.append("ShaderBinary ").append(n).append(' ').append(bytes(shaders)).append(' ').append(binaryformat)
+			.append(' ').append(bytes(binary)).append(' ').append(length).append('\n');
+	}
+
+	@Override
+	public void glShaderSource (int shader, String string) {
+		calls++;
+		if (log != null) log.append("ShaderSource ").append(shader).append(' ').append(string.length()).append('\n');
+		Shader s = shaders.get(shader);
+		if (s != null) s.source = string;
+	}
+
+	@Override
+	public void glStencilFuncSeparate (int face, int func, int ref, int mask) {
+		calls++;
+		if (log != null) log.append("StencilFuncSeparate ").append(face).append(' ').append(func).append(' ').append(ref)
+			.append(' ').append(mask).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glStencilMaskSeparate (int face, int mask) {
+		calls++;
+		if (log != null) log.append("StencilMaskSeparate ").append(face).append(' ').append(mask).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glStencilOpSeparate (int face, int fail, int zfail, int zpass) {
+		calls++;
+		if (log != null) log.append("StencilOpSeparate ").append(face).append(' ').append(fail).append(' ').append(zfail)
+			.append(' ').append(zpass).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glTexParameterfv (int target, int pname, FloatBuffer params) {
+		calls++;
+		if (log != null) log.append("TexParameterfv ").append(target).append(' ').append(pname).append(' ').append(bytes(params))
+			.append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glTexParameteri (int target, int pname, int param) {
+		calls++;
+		if (log != null) log.append("TexParameteri ").append(target).append(' ').append(pname).append(' ').append(param).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glTexParameteriv (int target, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("TexParameteriv ").append(target).append(' ').append(pname).append(' ').append(bytes(params))
+			.append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glUniform1f (int location, float x) {
+		calls++;
+		if (log != null) log.append("Uniform1f ").append(location).append(' ').append(x).append('\n');
+		uniform(location, 1, x, 0, 0, 0);
+	}
+
+	@Override
+	public void glUniform1fv (int location, int count, FloatBuffer v) {
+		calls++;
+		if (log != null) log.append("Uniform1fv ").append(location).append(' ').append(count).append(' ').append(bytes(v))
+			.append('\n');
+		uniform(location, count, 1, v);
+	}
+
+	@Override
+	public void glUniform1fv (int location, int count, float[] v, int offset) {
+		calls++;
+		if (log != null) log.append("Uniform1fv ").append(location).append(' ').append(count).append(' ').append(v.length)
+			.append(' ').append(offset).append('\n');
+		uniform(location, count, 1, v, offset);
+	}
+
+	@Override
+	public void glUniform1i (int location, int x) {
+		calls++;
+		if (log != null) log.append("Uniform1i ").append(location).append(' ').append(x).append('\n');
+		uniform(location, 1, x, 0, 0, 0);
+	}
+
+	@Override
+	public void glUniform1iv (int location, int count, IntBuffer v) {
+		calls++;
+		if (log != null) log.append("Uniform1iv ").append(location).append(' ').append(count).append(' ').append(bytes(v))
+			.append('\n');
+		uniform(location, count, 1, v);
+	}
+
+	@Override
+	public void glUniform1iv (int location, int count, int[] v, int offset) {
+		calls++;
+		if (log != null) log.append("Uniform1iv ").append(location).append(' ').append(count).append(' ').append(v.length)
+			.append(' ').append(offset).append('\n');
+		uniform(location, count, 1, v, offset);
+	}
+
+	@Override
+	public void glUniform2f (int location, float x, float y) {
+		calls++;
+		if (log != null) log.append("Uniform2f ").append(location).append(' ').append(x).append(' ').append(y).append('\n');
+		uniform(location, 2, x, y, 0, 0);
+	}
+
+	@Override
+	public void glUniform2fv (int location, int count, FloatBuffer v) {
+		calls++;
+		if (log != null) log.append("Uniform2fv ").append(location).append(' ').append(count).append(' ').append(bytes(v))
+			.append('\n');
+		uniform(location, count, 2, v);
+	}
+
+	@Override
+	public void glUniform2fv (int location, int count, float[] v, int offset) {
+		calls++;
+		if (log != null) log.append("Uniform2fv ").append(location).append(' ').append(count).append(' ').append(v.length)
+			.append(' ').append(offset).append('\n');
+		uniform(location, count, 2, v, offset);
+	}
+
+	@Override
+	public void glUniform2i (int location, int x, int y) {
+		calls++;
+		if (log != null) log.append("Uniform2i ").append(location).append(' ').append(x).append(' ').append(y).append('\n');
+		uniform(location, 2, x, y, 0, 0);
+	}
+
+	@Override
+	public void glUniform2iv (int location, int count, IntBuffer v) {
+		calls++;
+		if (log != null) log.append("Uniform2iv ").append(location).append(' ').append(count).append(' ').append(bytes(v))
+			.append('\n');
+		uniform(location, count, 2, v);
+	}
+
+	@Override
+	public void glUniform2iv (int location, int count, int[] v, int offset) {
+		calls++;
+		if (log != null) log.append("Uniform2iv ").append(location).append(' ').append(count).append(' ').append(v.length)
+			.append(' ').append(offset).append('\n');
+		uniform(location, count, 2, v, offset);
+	}
+
+	@Override
+	public void glUniform3f (int location, float x, float y, float z) {
+		calls++;
+		if (log != null) log.append("Uniform3f ").append(location).append(' ').append(x).append(' ').append(y).append(' ').append(z)
+			.append('\n');
+		uniform(location, 3, x, y, z, 0);
+	}
+
+	@Override
+	public void glUniform3fv (int location, int count, FloatBuffer v) {
+		calls++;
+		if (log != null) log.append("Uniform3fv ").append(location).append(' ').append(count).append(' ').append(bytes(v))
+			.append('\n');
+		uniform(location, count, 3, v);
+	}
+
+	@Override
+	public void glUniform3fv (int location, int count, float[] v, int offset) {
+		calls++;
+		if (log != null) log.append("Uniform3fv ").append(location).append(' ').append(count).append(' ').append(v.length)
+			.append(' ').append(offset).append('\n');
+		uniform(location, count, 3, v, offset);
+	}
+
+	@Override
+	public void glUniform3i (int location, int x, int y, int z) {
+		calls++;
+		if (log != null) log.append("Uniform3i ").append(location).append(' ').append(x).append(' ').append(y).append(' ').append(z)
+			.append('\n');
+		uniform(location, 3, x, y, z, 0);
+	}
+
+	@Override
+	public void glUniform3iv (int location, int count, IntBuffer v) {
+		calls++;
+		if (log != null) log.append("Uniform3iv ").append(location).append(' ').append(count).append(' ').append(bytes(v))
+			.append('\n');
+		uniform(location, count, 3, v);
+	}
+
+	@Override
+	public void glUniform3iv (int location, int count, int[] v, int offset) {
+		calls++;
+		if (log != null) log.append("Uniform3iv ").append(location).append(' ').append(count).append(' ').append(v.length)
+			.append(' ').append(offset).append('\n');
+		uniform(location, count, 3, v, offset);
+	}
+
+	@Override
+	public void glUniform4f (int location, float x, float y, float z, float w) {
+		calls++;
+		if (log != null) log.append("Uniform4f ").append(location).append(' ').append(x).append(' ').append(y).append(' ').append(z)
+			.append(' ').append(w).append('\n');
+		uniform(location, 4, x, y, z, w);
+	}
+
+	@Override
+	public void glUniform4fv (int location, int count, FloatBuffer v) {
+		calls++;
+		if (log != null) log.append("Uniform4fv ").append(location).append(' ').append(count).append(' ').append(bytes(v))
+			.append('\n');
+		uniform(location, count, 4, v);
+	}
+
+	@Override
+	public void glUniform4fv (int location, int count, float[] v, int offset) {
+		calls++;
+		if (log != null) log.append("Uniform4fv ").append(location).append(' ').append(count).append(' ').append(v.length)
+			.append(' ').append(offset).append('\n');
+		uniform(location, count, 4, v, offset);
+	}
+
+	@Override
+	public void glUniform4i (int location, int x, int y, int z, int w) {
+		calls++;
+		if (log != null) log.append("Uniform4i ").append(location).append(' ').append(x).append(' ').append(y).append(' ').append(z)
+			.append(' ').append(w).append('\n');
+		uniform(location, 4, x, y, z, w);
+	}
+
+	@Override
+	public void glUniform4iv (int location, int count, IntBuffer v) {
+		calls++;
+		if (log != null) log.append("Uniform4iv ").append(location).append(' ').append(count).append(' ').append(bytes(v))
+			.append('\n');
+		uniform(location, count, 4, v);
+	}
+
+	@Override
+	public void glUniform4iv (int location, int count, int[] v, int offset) {
+		calls++;
+		if (log != null) log.append("Uniform4iv ").append(location).append(' ').append(count).append(' ').append(v.length)
+			.append(' ').append(offset).append('\n');
+		uniform(location, count, 4, v, offset);
+	}
+
+	@Override
+	public void glUniformMatrix2fv (int location, int count, boolean transpose, FloatBuffer value) {
+		calls++;
+		if (log != null) log.append("UniformMatrix2fv ").append(location).append(' ').append(count).append(' ').append(transpose)
+			.append(' ').append(bytes(value)).append('\n');
+		uniform(location, count, 4, value);
+	}
+
+	@Override
+	public void glUniformMatrix2fv (int location, int count, boolean transpose, float[] value, int offset) {
+		calls++;
+		if (log != null) log.append("UniformMatrix2fv ").append(location).append(' ').append(count).append(' ').append(transpose)
+			.append(' ').append(value.length).append(' ').append(offset).append('\n');
+		uniform(location, count, 4, value, offset);
+	}
+
+	@Override
+	public void glUniformMatrix3fv (int location, int count, boolean transpose, FloatBuffer value) {
+		calls++;
+		if (log != null) log.append("UniformMatrix3fv ").append(location).append(' ').append(count).append(' ').append(transpose)
+			.append(' ').append(bytes(value)).append('\n');
+		uniform(location, count, 9, value);
+	}
+
+	@Override
+	public void glUniformMatrix3fv (int location, int count, boolean transpose, float[] value, int offset) {
+		calls++;
+		if (log != null) log.append("UniformMatrix3fv ").append(location).append(' ').append(count).append(' ').append(transpose)
+			.append(' ').append(value.length).append(' ').append(offset).append('\n');
+		uniform(location, count, 9, value, offset);
+	}
+
+	@Override
+	public void glUniformMatrix4fv (int location, int count, boolean transpose, FloatBuffer value) {
+		calls++;
+		if (log != null) log.append("UniformMatrix4fv ").append(location).append(' ').append(count).append(' ').append(transpose)
+			.append(' ').append(bytes(value)).append('\n');
+		uniform(location, count, 16, value);
+	}
+
+	@Override
+	public void glUniformMatrix4fv (int location, int count, boolean transpose, float[] value, int offset) {
+		calls++;
+		if (log != null) log.append("UniformMatrix4fv ").append(location).append(' ').append(count).append(' ').append(transpose)
+			.append(' ').append(value.length).append(' ').append(offset).append('\n');
+		uniform(location, count, 16, value, offset);
+	}
+
+	@Override
+	public void glUseProgram (int program) {
+		calls++;
+		if (log != null) log.append("UseProgram ").append(program).append('\n');
+		shaderSwitches++;
+		state(this.program != program);
+		this.program = program;
+	}
+
+	@Override
+	public void glValidateProgram (int program) {
+		calls++;
+		if (log != null) log.append("ValidateProgram ").append(program).append('\n');
+	}
+
+	@Override
+	public void glVertexAttrib1f (int indx, float x) {
+		calls++;
+		if (log != null) log.append("VertexAttrib1f ").append(indx).append(' ').append(x).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glVertexAttrib1fv (int indx, FloatBuffer values) {
+		calls++;
+		if (log != null) log.append("VertexAttrib1fv ").append(indx).append(' ').append(bytes(values)).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glVertexAttrib2f (int indx, float x, float y) {
+		calls++;
+		if (log != null) log.append("VertexAttrib2f ").append(indx).append(' ').append(x).append(' ').append(y).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glVertexAttrib2fv (int indx, FloatBuffer values) {
+		calls++;
+		if (log != null) log.append("VertexAttrib2fv ").append(indx).append(' ').append(bytes(values)).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glVertexAttrib3f (int indx, float x, float y, float z) {
+		calls++;
+		if (log != null) log.append("VertexAttrib3f ").append(indx).append(' ').append(x).append(' ').append(y).append(' ').append(z)
+			.append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glVertexAttrib3fv (int indx, FloatBuffer values) {
+		calls++;
+		if (log != null) log.append("VertexAttrib3fv ").append(indx).append(' ').append(bytes(values)).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glVertexAttrib4f (int indx, float x, float y, float z, float w) {
+		calls++;
+		if (log != null) log.append("VertexAttrib4f ").append(indx).append(' ').append(x).append(' ').append(y).append(' ').append(z)
+			.append(' ').append(w).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glVertexAttrib4fv (int indx, FloatBuffer values) {
+		calls++;
+		if (log != null) log.append("VertexAttrib4fv ").append(indx).append(' ').append(bytes(values)).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glVertexAttribPointer (int indx, int size, int type, boolean normalized, int stride, Buffer ptr) {
+		calls++;
+		if (log != null) log.append("VertexAttribPointer ").append(indx).append(' ').append(size).append(' ').append(type)
+			.append(' ').append(normalized).append(' ').append(stride).append(' ').append(bytes(ptr)).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glVertexAttribPointer (int indx, int size, int type, boolean normalized, int stride, int ptr) {
+		calls++;
+		if (log != null) log.append("VertexAttribPointer ").append(indx).append(' ').append(size).append(' ').append(type)
+			.append(' ').append(normalized).append(' ').append(stride).append(' ').append(ptr).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glReadBuffer (int mode) {
+		calls++;
+		if (log != null) log.append("ReadBuffer ").append(mode).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glDrawRangeElements (int mode, int start, int end, int count, int type, Buffer indices) {
+		calls++;
+		if (log != null) log.append("DrawRangeElements ").append(mode).append(' ').append(start).append(' ').append(end)
+			.append(' ').append(count).append(' ').append(type).append(' ').append(bytes(indices)).append('\n');
+		vertexCount.put(count);
+		drawCalls++;
+		if (boundBuffers.get(GL_ELEMENT_ARRAY_BUFFER, 0) == 0) bufferBytes += count * indexSize(type);
+	}
+
+	@Override
+	public void glDrawRangeElements (int mode, int start, int end, int count, int type, int offset) {
+		calls++;
+		if (log != null) log.append("DrawRangeElements ").append(mode).append(' ').append(start).append(' ').append(end)
+			.append(' ').append(count).append(' ').append(type).append(' ').append(offset).append('\n');
+		vertexCount.put(count);
+		drawCalls++;
+	}
+
+	@Override
+	public void glTexImage3D (int target, int level, int internalformat, int width, int height, int depth, int border, int format,
+		int type, Buffer pixels) {
+		calls++;
+		if (log != null) log.append("TexImage3D ").append(target).append(' ').append(level).append(' ').append(internalformat)
+			.append(' ').append(width).append(' ').append(height).append(' ').append(depth).append(' ').append(border)
+			.append(' ').append(format).append(' ').append(type).append(' ').append(bytes(pixels)).append('\n');
+		textureUpload(target, bytes(pixels));
+	}
+
+	@Override
+	public void glTexImage3D (int target, int level, int internalformat, int width, int height, int depth, int border, int format,
+		int type, int offset) {
+		calls++;
+		if (log != null) log.append("TexImage3D ").append(target).append(' ').append(level).append(' ').append(internalformat)
+			.append(' ').append(width).append(' ').append(height).append(' ').append(depth).append(' ').append(border)
+			.append(' ').append(format).append(' ').append(type).append(' ').append(offset).append('\n');
+	}
+
+	@Override
+	public void glTexSubImage3D (int target, int level, int xoffset, int yoffset, int zoffset, int width, int height, int depth,
+		int format, int type, Buffer pixels) {
+		calls++;
+		if (log != null) log.append("TexSubImage3D ").append(target).append(' ').append(level).append(' ').append(xoffset)
+			.append(' ').append(yoffset).append(' ').append(zoffset).append(' ').append(width).append(' ').append(height)
+			.append(' ').append(depth).append(' ').append(format).append(' ').append(type).append(' ').append(bytes(pixels)).append('\n');
+		textureUpload(target, bytes(pixels));
+	}
+
+	@Override
+	public void glTexSubImage3D (int target, int level, int xoffset, int yoffset, int zoffset, int width, int height, int depth,
+		int format, int type, int offset) {
+		calls++;
+		if (log != null) log.append("TexSubImage3D ").append(target).append(' ').append(level).append(' ').append(xoffset)
+			.append(' ').append(yoffset).append(' ').append(zoffset).append(' ').append(width).append(' ').append(height)
+			.append(' ').append(depth).append(' ').append(format).append(' ').append(type).append(' ').append(offset).append('\n');
+	}
+
+	@Override
+	public void glCopyTexSubImage3D (int target, int level, int xoffset, int yoffset, int zoffset, int x, int y, int width,
+		int height) {
+		calls++;
+		if (log != null) log.append("CopyTexSubImage3D ").append(target).append(' ').append(level).append(' ').append(xoffset)
+			.append(' ').append(yoffset).append(' ').append(zoffset).append(' ').append(x).append(' ').append(y)
+			.append(' ').append(width).append(' ').append(height).append('\n');
+	}
+
+	@Override
+	public void glGenQueries (int n, int[] ids, int offset) {
+		calls++;
+		if (log != null) log.append("GenQueries ").append(n).append(' ').append(ids.length).append(' ').append(offset).append('\n');
+		generate(queries, n, ids, offset);
+	}
+
+	@Override
+	public void glGenQueries (int n, IntBuffer ids) {
+		calls++;
+		if (log != null) log.append("GenQueries ").append(n).append(' ').append(bytes(ids)).append('\n');
+		generate(queries, n, ids);
+	}
+
+	@Override
+	public void glDeleteQueries (int n, int[] ids, int offset) {
+		calls++;
+		if (log != null) log.append("DeleteQueries ").append(n).append(' ').append(ids.length).append(' ').append(offset).append('\n');
+		delete(queries, n, ids, offset);
+	}
+
+	@Override
+	public void glDeleteQueries (int n, IntBuffer ids) {
+		calls++;
+		if (log != null) log.append("DeleteQueries ").append(n).append(' ').append(bytes(ids)).append('\n');
+		delete(queries, n, ids);
+	}
+
+	@Override
+	public boolean glIsQuery (int id) {
+		calls++;
+		if (log != null) log.append("IsQuery ").append(id).append('\n');
+		return queries.contains(id);
+	}
+
+	@Override
+	public void glBeginQuery (int target, int id) {
+		calls++;
+		if (log != null) log.append("BeginQuery ").append(target).append(' ').append(id).append('\n');
+	}
+
+	@Override
+	public void glEndQuery (int target) {
+		calls++;
+		if (log != null) log.append("EndQuery ").append(target).append('\n');
+	}
+
+	@Override
+	public void glGetQueryiv (int target, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetQueryiv ").append(target).append(' ').append(pname).append(' ').append(bytes(params))
+			.append('\n');
+		put(params, 0);
+	}
+
+	@Override
+	public void glGetQueryObjectuiv (int id, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetQueryObjectuiv ").append(id).append(' ').append(pname).append(' ').append(bytes(params))
+			.append('\n');
+		put(params, 0);
+	}
+
+	@Override
+	public boolean glUnmapBuffer (int target) {
+		calls++;
+		if (log != null) log.append("UnmapBuffer ").append(target).append('\n');
+		bufferBytes += mappedBuffers.remove(target, 0);
+		return true;
+	}
+
+	@Override
+	public Buffer glGetBufferPointerv (int target, int pname) {
+		calls++;
+		if (log != null) log.append("GetBufferPointerv ").append(target).append(' ').append(pname).append('\n');
+		return null;
+	}
+
+	@Override
+	public void glDrawBuffers (int n, IntBuffer bufs) {
+		calls++;
+		if (log != null) log.append("DrawBuffers ").append(n).append(' ').append(bytes(bufs)).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glUniformMatrix2x3fv (int location, int count, boolean transpose, FloatBuffer value) {
+		calls++;
+		if (log != null) log.append("UniformMatrix2x3fv ").append(location).append(' ').append(count).append(' ').append(transpose)
+			.append(' ').append(bytes(value)).append('\n');
+		uniform(location, count, 6, value);
+	}
+
+	@Override
+	public void glUniformMatrix3x2fv (int location, int count, boolean transpose, FloatBuffer value) {
+		calls++;
+		if (log != null) log.append("UniformMatrix3x2fv ").append(location).append(' ').append(count).append(' ').append(transpose)
+			.append(' ').append(bytes(value)).append('\n');
+		uniform(location, count, 6, value);
+	}
+
+	@Override
+	public void glUniformMatrix2x4fv (int location, int count, boolean transpose, FloatBuffer value) {
+		calls++;
+		if (log != null) log.append("UniformMatrix2x4fv ").append(location).append(' ').append(count).append(' ').append(transpose)
+			.append(' ').append(bytes(value)).append('\n');
+		uniform(location, count, 8, value);
+	}
+
+	@Override
+	public void glUniformMatrix4x2fv (int location, int count, boolean transpose, FloatBuffer value) {
+		calls++;
+		if (log != null) log.append("UniformMatrix4x2fv ").append(location).append(' ').append(count).append(' ').append(transpose)
+			.append(' ').append(bytes(value)).append('\n');
+		uniform(location, count, 8, value);
+	}
+
+	@Override
+	public void glUniformMatrix3x4fv (int location, int count, boolean transpose, FloatBuffer value) {
+		calls++;
+		if (log != null) log.append("UniformMatrix3x4fv ").append(location).append(' ').append(count).append(' ').append(transpose)
+			.append(' ').append(bytes(value)).append('\n');
+		uniform(location, count, 12, value);
+	}
+
+	@Override
+	public void glUniformMatrix4x3fv (int location, int count, boolean transpose, FloatBuffer value) {
+		calls++;
+		if (log != null) log.append("UniformMatrix4x3fv ").append(location).append(' ').append(count).append(' ').append(transpose)
+			.append(' ').append(bytes(value)).append('\n');
+		uniform(location, count, 12, value);
+	}
+
+	@Override
+	public void glBlitFramebuffer (int srcX0, int srcY0, int srcX1, int srcY1, int dstX0, int dstY0, int dstX1, int dstY1,
+		int mask, int filter) {
+		calls++;
+		if (log != null) log.append("BlitFramebuffer ").append(srcX0).append(' ').append(srcY0).append(' ').append(srcX1)
+			.append(' ').append(srcY1).append(' ').append(dstX0).append(' ').append(dstY0).append(' ').append(dstX1)
+			.append(' ').append(dstY1).append(' ').append(mask).append(' ').append(filter).append('\n');
+	}
+
+	@Override
+	public void glRenderbufferStorageMultisample (int target, int samples, int internalformat, int width, int height) {
+		calls++;
+		if (log != null) log.append("RenderbufferStorageMultisample ").append(target).append(' ').append(samples)
+			.append(' ').append(internalformat).append(' ').append(width).append(' ').append(height).append('\n');
+	}
+
+	@Override
+	public void glFramebufferTextureLayer (int target, int attachment, int texture, int level, int layer) {
+		calls++;
+		if (log != null) log.append("FramebufferTextureLayer ").append(target).append(' ').append(attachment)
+			.append(' ').append(texture).append(' ').append(level).append(' ').append(layer).append('\n');
+	}
+
+	@Override
+	public Buffer glMapBufferRange (int target, int offset, int length, int access) {
+		calls++;
+		if (log != null) log.append("MapBufferRange ").append(target).append(' ').append(offset).append(' ').append(length)
+			.append(' ').append(access).append('\n');
+		mappedBuffers.put(target, length);
+		ByteBuffer mapped = this.mapped;
+		if (mapped == null || mapped.capacity() < length)
+			this.mapped = mapped = BufferUtils.newByteBuffer(Math.max(length, mapped == null ? 0 : mapped.capacity() << 1));
+		mapped.clear();
+		mapped.limit(length);
+		return mapped;
+	}
+
+	@Override
+	public void glFlushMappedBufferRange (int target, int offset, int length) {
+		calls++;
+		if (log != null) log.append("FlushMappedBufferRange ").append(target).append(' ').append(offset).append(' ').append(length)
+			.append('\n');
+	}
+
+	@Override
+	public void glBindVertexArray (int array) {
+		calls++;
+		if (log != null) log.append("BindVertexArray ").append(array).append('\n');
+		state(vertexArray != array);
+		vertexArray = array;
+	}
+
+	@Override
+	public void glDeleteVertexArrays (int n, int[] arrays, int offset) {
+		calls++;
+		if (log != null) log.append("DeleteVertexArrays ").append(n).append(' ').append(arrays.length).append(' ').append(offset)
+			.append('\n');
+		delete(vertexArrays, n, arrays, offset);
+	}
+
+	@Override
+	public void glDeleteVertexArrays (int n, IntBuffer arrays) {
+		calls++;
+		if (log != null) log.append("DeleteVertexArrays ").append(n).append(' ').append(bytes(arrays)).append('\n');
+		delete(vertexArrays, n, arrays);
+	}
+
+	@Override
+	public void glGenVertexArrays (int n, int[] arrays, int offset) {
+		calls++;
+		if (log != null) log.append("GenVertexArrays ").append(n).append(' ').append(arrays.length).append(' ').append(offset)
+			.append('\n');
+		generate(vertexArrays, n, arrays, offset);
+	}
+
+	@Override
+	public void glGenVertexArrays (int n, IntBuffer arrays) {
+		calls++;
+		if (log != null) log.append("GenVertexArrays ").append(n).append(' ').append(bytes(arrays)).append('\n');
+		generate(vertexArrays, n, arrays);
+	}
+
+	@Override
+	public boolean glIsVertexArray (int array) {
+		calls++;
+		if (log != null) log.append("IsVertexArray ").append(array).append('\n');
+		return vertexArrays.contains(array);
+	}
+
+	@Override
+	public void glBeginTransformFeedback (int primitiveMode) {
+		calls++;
+		if (log != null) log.append("BeginTransformFeedback ").append(primitiveMode).append('\n');
+	}
+
+	@Override
+	public void glEndTransformFeedback () {
+		calls++;
+		if (log != null) log.append("EndTransformFeedback\n");
+	}
+
+	@Override
+	public void glBindBufferRange (int target, int index, int buffer, int offset, int size) {
+		calls++;
+		if (log != null) log.append("BindBufferRange ").append(target).append(' ').append(index).append(' ').append(buffer)
+			.append(' ').append(offset).append(' ').append(size).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glBindBufferBase (int target, int index, int buffer) {
+		calls++;
+		if (log != null) log.append("BindBufferBase ").append(target).append(' ').append(index).append(' ').append(buffer)
+			.append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glTransformFeedbackVaryings (int program, String[] varyings, int bufferMode) {
+		calls++;
+		if (log != null) log.append("TransformFeedbackVaryings ").append(program).append(' ').append(varyings.length)
+			.append(' ').append(bufferMode).append('\n');
+	}
+
+	@Override
+	public void glVertexAttribIPointer (int index, int size, int type, int stride, int offset) {
+		calls++;
+		if (log != null) log.append("VertexAttribIPointer ").append(index).append(' ').append(size).append(' ').append(type)
+			.append(' ').append(stride).append(' ').append(offset).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glGetVertexAttribIiv (int index, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetVertexAttribIiv ").append(index).append(' ').append(pname).append(' ').append(bytes(params))
+			.append('\n');
+		put(params, 0);
+	}
+
+	@Override
+	public void glGetVertexAttribIuiv (int index, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetVertexAttribIuiv ").append(index).append(' ').append(pname).append(' ').append(bytes(params))
+			.append('\n');
+		put(params, 0);
+	}
+
+	@Override
+	public void glVertexAttribI4i (int index, int x, int y, int z, int w) {
+		calls++;
+		if (log != null) log.append("VertexAttribI4i ").append(index).append(' ').append(x).append(' ').append(y)
+			.append(' ').append(z).append(' ').append(w).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glVertexAttribI4ui (int index, int x, int y, int z, int w) {
+		calls++;
+		if (log != null) log.append("VertexAttribI4ui ").append(index).append(' ').append(x).append(' ').append(y)
+			.append(' ').append(z).append(' ').append(w).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glGetUniformuiv (int program, int location, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetUniformuiv ").append(program).append(' ').append(location).append(' ').append(bytes(params))
+			.append('\n');
+		Program p = programs.get(program);
+		if (p == null || location < 0 || location >= p.values.length || p.values[location] == null) return;
+		float[] values = p.values[location];
+		for (int i = 0, position = params.position(), n = Math.min(values.length, params.remaining()); i < n; i++)
+			params.put(position + i, (int)values[i]);
+	}
+
+	@Override
+	public int glGetFragDataLocation (int program, String name) {
+		calls++;
+		if (log != null) log.append("GetFragDataLocation ").append(program).append(' ').append(name).append('\n');
+		return 0;
+	}
+
+	@Override
+	public void glUniform1uiv (int location, int count, IntBuffer value) {
+		calls++;
+		if (log != null) log.append("Uniform1uiv ").append(location).append(' ').append(count).append(' ').append(bytes(value))
+			.append('\n');
+		uniform(location, count, 1, value);
+	}
+
+	@Override
+	public void glUniform3uiv (int location, int count, IntBuffer value) {
+		calls++;
+		if (log != null) log.append("Uniform3uiv ").append(location).append(' ').append(count).append(' ').append(bytes(value))
+			.append('\n');
+		uniform(location, count, 3, value);
+	}
+
+	@Override
+	public void glUniform4uiv (int location, int count, IntBuffer value) {
+		calls++;
+		if (log != null) log.append("Uniform4uiv ").append(location).append(' ').append(count).append(' ').append(bytes(value))
+			.append('\n');
+		uniform(location, count, 4, value);
+	}
+
+	@Override
+	public void glClearBufferiv (int buffer, int drawbuffer, IntBuffer value) {
+		calls++;
+		if (log != null) log.append("ClearBufferiv ").append(buffer).append(' ').append(drawbuffer).append(' ').append(bytes(value))
+			.append('\n');
+	}
+
+	@Override
+	public void glClearBufferuiv (int buffer, int drawbuffer, IntBuffer value) {
+		calls++;
+		if (log != null) log.append("ClearBufferuiv ").append(buffer).append(' ').append(drawbuffer).append(' ').append(bytes(value))
+			.append('\n');
+	}
+
+	@Override
+	public void glClearBufferfv (int buffer, int drawbuffer, FloatBuffer value) {
+		calls++;
+		if (log != null) log.append("ClearBufferfv ").append(buffer).append(' ').append(drawbuffer).append(' ').append(bytes(value))
+			.append('\n');
+	}
+
+	@Override
+	public void glClearBufferfi (int buffer, int drawbuffer, float depth, int stencil) {
+		calls++;
+		if (log != null) log.append("ClearBufferfi ").append(buffer).append(' ').append(drawbuffer).append(' ').append(depth)
+			.append(' ').append(stencil).append('\n');
+	}
+
+	@Override
+	public String glGetStringi (int name, int index) {
+		calls++;
+		if (log != null) log.append("GetStringi ").append(name).append(' ').append(index).append('\n');
+		return "";
+	}
+
+	@Override
+	public void glCopyBufferSubData (int readTarget, int writeTarget, int readOffset, int writeOffset, int size) {
+		calls++;
+		if (log != null) log.append("CopyBufferSubData ").append(readTarget).append(' ').append(writeTarget)
+			.append(' ').append(readOffset).append(' ').append(writeOffset).append(' ').append(size).append('\n');
+	}
+
+	@Override
+	public void glGetUniformIndices (int program, String[] uniformNames, IntBuffer uniformIndices) {
+		calls++;
+		if (log != null) log.append("GetUniformIndices ").append(program).append(' ').append(uniformNames.length)
+			.append(' ').append(bytes(uniformIndices)).append('\n');
+		Program p = programs.get(program);
+		for (int i = 0, position = uniformIndices.position(); i < uniformNames.length; i++) {
+			int index = GL_INVALID_INDEX;
+			if (p != null) {
+				for (int ii = 0; ii < p.uniforms.size; ii++) {
+					if (p.uniforms.get(ii).name.equals(uniformNames[i])) {
+						index = ii;
+						break;
+					}
+				}
+			}
+			uniformIndices.put(position + i, index);
+		}
+	}
+
+	@Override
+	public void glGetActiveUniformsiv (int program, int uniformCount, IntBuffer uniformIndices, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetActiveUniformsiv ").append(program).append(' ').append(uniformCount)
+			.append(' ').append(bytes(uniformIndices)).append(' ').append(pname).append(' ').append(bytes(params)).append('\n');
+		put(params, 0);
+	}
+
+	@Override
+	public int glGetUniformBlockIndex (int program, String uniformBlockName) {
+		calls++;
+		if (log != null) log.append("GetUniformBlockIndex ").append(program).append(' ').append(uniformBlockName).append('\n');
+		return GL_INVALID_INDEX;
+	}
+
+	@Override
+	public void glGetActiveUniformBlockiv (int program, int uniformBlockIndex, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetActiveUniformBlockiv ").append(program).append(' ').append(uniformBlockIndex)
+			.append(' ').append(pname).append(' ').append(bytes(params)).append('\n');
+		put(params, 0);
+	}
+
+	@Override
+	public void glGetActiveUniformBlockName (int program, int uniformBlockIndex, Buffer length, Buffer uniformBlockName) {
+		calls++;
+		if (log != null) log.append("GetActiveUniformBlockName ").append(program).append(' ').append(uniformBlockIndex)
+			.append(' ').append(bytes(length)).append(' ').append(bytes(uniformBlockName)).append('\n');
+	}
+
+	@Override
+	public String glGetActiveUniformBlockName (int program, int uniformBlockIndex) {
+		calls++;
+		if (log != null) log.append("GetActiveUniformBlockName ").append(program).append(' ').append(uniformBlockIndex).append('\n');
+		return "";
+	}
+
+	@Override
+	public void glUniformBlockBinding (int program, int uniformBlockIndex, int uniformBlockBinding) {
+		calls++;
+		if (log != null) log.append("UniformBlockBinding ").append(program).append(' ').append(uniformBlockIndex)
+			.append(' ').append(uniformBlockBinding).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glDrawArraysInstanced (int mode, int first, int count, int instanceCount) {
+		calls++;
+		if (log != null) log.append("DrawArraysInstanced ").append(mode).append(' ').append(first).append(' ').append(count)
+			.append(' ').append(instanceCount).append('\n');
+		vertexCount.put(count);
+		drawCalls++;
+	}
+
+	@Override
+	public void glDrawElementsInstanced (int mode, int count, int type, int indicesOffset, int instanceCount) {
+		calls++;
+		if (log != null) log.append("DrawElementsInstanced ").append(mode).append(' ').append(count).append(' ').append(type)
+			.append(' ').append(indicesOffset).append(' ').append(instanceCount).append('\n');
+		vertexCount.put(count);
+		drawCalls++;
+	}
+
+	@Override
+	public void glGetInteger64v (int pname, LongBuffer params) {
+		calls++;
+		if (log != null) log.append("GetInteger64v ").append(pname).append(' ').append(bytes(params)).append('\n');
+		params.put(params.position(), 0);
+	}
+
+	@Override
+	public void glGetBufferParameteri64v (int target, int pname, LongBuffer params) {
+		calls++;
+		if (log != null) log.append("GetBufferParameteri64v ").append(target).append(' ').append(pname)
+			.append(' ').append(bytes(params)).append('\n');
+		params.put(params.position(), pname == GL_BUFFER_SIZE ? bufferSizes.get(boundBuffers.get(target, 0), 0) : 0);
+	}
+
+	@Override
+	public void glGenSamplers (int count, int[] samplers, int offset) {
+		calls++;
+		if (log != null) log.append("GenSamplers ").append(count).append(' ').append(samplers.length).append(' ').append(offset)
+			.append('\n');
+		generate(this.samplers, count, samplers, offset);
+	}
+
+	@Override
+	public void glGenSamplers (int count, IntBuffer samplers) {
+		calls++;
+		if (log != null) log.append("GenSamplers ").append(count).append(' ').append(bytes(samplers)).append('\n');
+		generate(this.samplers, count, samplers);
+	}
+
+	@Override
+	public void glDeleteSamplers (int count, int[] samplers, int offset) {
+		calls++;
+		if (log != null) log.append("DeleteSamplers ").append(count).append(' ').append(samplers.length).append(' ').append(offset)
+			.append('\n');
+		delete(this.samplers, count, samplers, offset);
+	}
+
+	@Override
+	public void glDeleteSamplers (int count, IntBuffer samplers) {
+		calls++;
+		if (log != null) log.append("DeleteSamplers ").append(count).append(' ').append(bytes(samplers)).append('\n');
+		delete(this.samplers, count, samplers);
+	}
+
+	@Override
+	public boolean glIsSampler (int sampler) {
+		calls++;
+		if (log != null) log.append("IsSampler ").append(sampler).append('\n');
+		return samplers.contains(sampler);
+	}
+
+	@Override
+	public void glBindSampler (int unit, int sampler) {
+		calls++;
+		if (log != null) log.append("BindSampler ").append(unit).append(' ').append(sampler).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glSamplerParameteri (int sampler, int pname, int param) {
+		calls++;
+		if (log != null) log.append("SamplerParameteri ").append(sampler).append(' ').append(pname).append(' ').append(param)
+			.append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glSamplerParameteriv (int sampler, int pname, IntBuffer param) {
+		calls++;
+		if (log != null) log.append("SamplerParameteriv ").append(sampler).append(' ').append(pname).append(' ').append(bytes(param))
+			.append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glSamplerParameterf (int sampler, int pname, float param) {
+		calls++;
+		if (log != null) log.append("SamplerParameterf ").append(sampler).append(' ').append(pname).append(' ').append(param)
+			.append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glSamplerParameterfv (int sampler, int pname, FloatBuffer param) {
+		calls++;
+		if (log != null) log.append("SamplerParameterfv ").append(sampler).append(' ').append(pname).append(' ').append(bytes(param))
+			.append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glGetSamplerParameteriv (int sampler, int pname, IntBuffer params) {
+		calls++;
+		if (log != null) log.append("GetSamplerParameteriv ").append(sampler).append(' ').append(pname)
+			.append(' ').append(bytes(params)).append('\n');
+		put(params, 0);
+	}
+
+	@Override
+	public void glGetSamplerParameterfv (int sampler, int pname, FloatBuffer params) {
+		calls++;
+		if (log != null) log.append("GetSamplerParameterfv ").append(sampler).append(' ').append(pname)
+			.append(' ').append(bytes(params)).append('\n');
+		params.put(params.position(), 0);
+	}
+
+	@Override
+	public void glVertexAttribDivisor (int index, int divisor) {
+		calls++;
+		if (log != null) log.append("VertexAttribDivisor ").append(index).append(' ').append(divisor).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glBindTransformFeedback (int target, int id) {
+		calls++;
+		if (log != null) log.append("BindTransformFeedback ").append(target).append(' ').append(id).append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glDeleteTransformFeedbacks (int n, int[] ids, int offset) {
+		calls++;
+		if (log != null) log.append("DeleteTransformFeedbacks ").append(n).append(' ').append(ids.length).append(' ').append(offset)
+			.append('\n');
+		delete(transformFeedbacks, n, ids, offset);
+	}
+
+	@Override
+	public void glDeleteTransformFeedbacks (int n, IntBuffer ids) {
+		calls++;
+		if (log != null) log.append("DeleteTransformFeedbacks ").append(n).append(' ').append(bytes(ids)).append('\n');
+		delete(transformFeedbacks, n, ids);
+	}
+
+	@Override
+	public void glGenTransformFeedbacks (int n, int[] ids, int offset) {
+		calls++;
+		if (log != null) log.append("GenTransformFeedbacks ").append(n).append(' ').append(ids.length).append(' ').append(offset)
+			.append('\n');
+		generate(transformFeedbacks, n, ids, offset);
+	}
+
+	@Override
+	public void glGenTransformFeedbacks (int n, IntBuffer ids) {
+		calls++;
+		if (log != null) log.append("GenTransformFeedbacks ").append(n).append(' ').append(bytes(ids)).append('\n');
+		generate(transformFeedbacks, n, ids);
+	}
+
+	@Override
+	public boolean glIsTransformFeedback (int id) {
+		calls++;
+		if (log != null) log.append("IsTransformFeedback ").append(id).append('\n');
+		return transformFeedbacks.contains(id);
+	}
+
+	@Override
+	public void glPauseTransformFeedback () {
+		calls++;
+		if (log != null) log.append("PauseTransformFeedback\n");
+	}
+
+	@Override
+	public void glResumeTransformFeedback () {
+		calls++;
+		if (log != null) log.append("ResumeTransformFeedback\n");
+	}
+
+	@Override
+	public void glProgramParameteri (int program, int pname, int value) {
+		calls++;
+		if (log != null) log.append("ProgramParameteri ").append(program).append(' ').append(pname).append(' ').append(value)
+			.append('\n');
+		state(true);
+	}
+
+	@Override
+	public void glInvalidateFramebuffer (int target, int numAttachments, IntBuffer attachments) {
+		calls++;
+		if (log != null) log.append("InvalidateFramebuffer ").append(target).append(' ').append(numAttachments)
+			.append(' ').append(bytes(attachments)).append('\n');
+	}
+
+	@Override
+	public void glInvalidateSubFramebuffer (int target, int numAttachments, IntBuffer attachments, int x, int y, int width,
+		int height) {
+		calls++;
+		if (log != null) log.append("InvalidateSubFramebuffer ").append(target).append(' ').append(numAttachments)
+			.append(' ').append(bytes(attachments)).append(' ').append(x).append(' ').append(y).append(' ').append(width)
+			.append(' ').append(height).append('\n');
+	}
+}
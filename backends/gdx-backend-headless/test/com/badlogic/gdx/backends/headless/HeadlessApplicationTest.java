@@ -0,0 +1,54 @@
+package com.badlogic.gdx.backends.headless;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.utils.IntArray;
+
+public class HeadlessApplicationTest {
+	@Test(timeout = 10000)
+	public void testRunnableQueueFull () throws InterruptedException {
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.runnableQueueCapacity = 2;
+		HeadlessApplication app = new HeadlessApplication(new ApplicationAdapter() {}, config);
+		try {
+			final CountDownLatch blocked = new CountDownLatch(1), release = new CountDownLatch(1), done = new CountDownLatch(1);
+			app.postRunnable(new Runnable() {
+				public void run () {
+					blocked.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException ignored) {
+					}
+				}
+			});
+			assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+			// The main loop thread is busy, so the queue fills. Posting must not wait for it.
+			final IntArray order = new IntArray();
+			for (int i = 0; i < 10; i++) {
+				final int value = i;
+				app.postRunnable(new Runnable() {
+					public void run () {
+						order.add(value);
+					}
+				});
+			}
+			release.countDown();
+			app.postRunnable(new Runnable() {
+				public void run () {
+					done.countDown();
+				}
+			});
+			assertTrue(done.await(5, TimeUnit.SECONDS));
+			assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, order.toArray());
+		} finally {
+			app.exit();
+		}
+	}
+}
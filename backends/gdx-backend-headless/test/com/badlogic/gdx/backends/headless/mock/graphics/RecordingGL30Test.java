@@ -0,0 +1,177 @@
+package com.badlogic.gdx.backends.headless.mock.graphics;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+public class RecordingGL30Test {
+	static HeadlessApplication app;
+	RecordingGL30 gl;
+
+	@BeforeClass
+	static public void beforeClass () {
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.useRecordingGL = true;
+		app = new HeadlessApplication(new ApplicationAdapter() {}, config);
+	}
+
+	@AfterClass
+	static public void afterClass () {
+		app.exit();
+	}
+
+	@Before
+	public void before () {
+		gl = (RecordingGL30)Gdx.gl30;
+		gl.reset();
+		gl.setLogging(false);
+		gl.glGetError();
+	}
+
+	@Test
+	public void testCounters () {
+		int buffer = gl.glGenBuffer();
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, buffer);
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, buffer);
+		gl.glBufferData(GL20.GL_ARRAY_BUFFER, 64, null, GL20.GL_STREAM_DRAW);
+		assertEquals(64, gl.getBufferSize(buffer));
+		assertEquals(0, gl.getBufferBytes()); // No data was given.
+		gl.glBufferSubData(GL20.GL_ARRAY_BUFFER, 16, 32, ByteBuffer.allocate(32));
+		assertEquals(32, gl.getBufferBytes());
+
+		int texture = gl.glGenTexture();
+		gl.glBindTexture(GL20.GL_TEXTURE_2D, texture);
+		gl.glTexImage2D(GL20.GL_TEXTURE_2D, 0, GL20.GL_RGBA, 4, 4, 0, GL20.GL_RGBA, GL20.GL_UNSIGNED_BYTE, ByteBuffer.allocate(64));
+		assertEquals(64, gl.getTextureBytes());
+		assertEquals(64, gl.getTextureUploads(texture));
+		assertEquals(96, gl.getUploadedBytes());
+
+		gl.glEnable(GL20.GL_BLEND);
+		gl.glEnable(GL20.GL_BLEND);
+		gl.glDisable(GL20.GL_BLEND);
+		gl.glDrawArrays(GL20.GL_TRIANGLES, 0, 6);
+		gl.glDrawElements(GL20.GL_TRIANGLES, 12, GL20.GL_UNSIGNED_SHORT, 0);
+		assertEquals(2, gl.getDrawCalls());
+		assertEquals(18, (int)gl.getVertexCount().total);
+		assertEquals(1, gl.getTextureBindings());
+
+		// Two buffer binds, a texture bind and three blend changes, of which the second bind and enable had no effect.
+		assertEquals(6, gl.getStateChanges());
+		assertEquals(2, gl.getRedundantStateChanges());
+
+		gl.glDeleteBuffer(buffer);
+		gl.glDeleteTexture(texture);
+		assertEquals(-1, gl.getBufferSize(buffer));
+		assertEquals(-1, gl.getTextureUploads(texture));
+	}
+
+	@Test
+	public void testShaderProgram () {
+		ShaderProgram shader = new ShaderProgram("attribute vec4 a_position;\n" //
+			+ "in vec2 a_texCoord0; // in is scanned like attribute\n" //
+			+ "uniform mat4 u_projTrans;\n" //
+			+ "#define COUNT 3\n" //
+			+ "uniform lowp vec4 u_colors[COUNT];\n" //
+			+ "/* uniform float u_commented; */\n" //
+			+ "void main () {}", //
+			"uniform sampler2D u_texture;\n" //
+				+ "uniform mat4 u_projTrans;\n" //
+				+ "void main () {}");
+		assertTrue(shader.isCompiled());
+		assertTrue(shader.hasAttribute("a_position"));
+		assertTrue(shader.hasAttribute("a_texCoord0"));
+		assertEquals(2, shader.getAttributes().length);
+		assertTrue(shader.hasUniform("u_projTrans"));
+		assertTrue(shader.hasUniform("u_colors"));
+		assertTrue(shader.hasUniform("u_texture"));
+		assertFalse(shader.hasUniform("u_commented"));
+		assertEquals(3, shader.getUniforms().length);
+		int program = shader.getHandle();
+
+		shader.bind();
+		shader.setUniformi("u_texture", 2);
+		float[] colors = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11};
+		shader.setUniform4fv("u_colors", colors, 0, 12);
+		assertEquals(2, gl.getUniformUpdates());
+		assertArrayEquals(new float[] {2}, gl.getUniform(program, "u_texture"), 0);
+
+		// Each array element has its own location.
+		assertArrayEquals(new float[] {0, 1, 2, 3}, gl.getUniform(program, "u_colors"), 0);
+		assertArrayEquals(new float[] {0, 1, 2, 3}, gl.getUniform(program, "u_colors[0]"), 0);
+		assertArrayEquals(new float[] {8, 9, 10, 11}, gl.getUniform(program, "u_colors[2]"), 0);
+		int location = gl.glGetUniformLocation(program, "u_colors[1]");
+		assertEquals(gl.glGetUniformLocation(program, "u_colors") + 1, location);
+		assertEquals(-1, gl.glGetUniformLocation(program, "u_colors[3]"));
+		assertNull(gl.getUniform(program, "u_colors[3]"));
+
+		// Elements past the end of the array are ignored rather than setting the next uniform.
+		gl.glUniform4fv(location, 3, new float[] {-1, -1, -1, -1, -2, -2, -2, -2, -3, -3, -3, -3}, 0);
+		assertArrayEquals(new float[] {-1, -1, -1, -1}, gl.getUniform(program, "u_colors[1]"), 0);
+		assertArrayEquals(new float[] {-2, -2, -2, -2}, gl.getUniform(program, "u_colors[2]"), 0);
+		assertArrayEquals(new float[] {2}, gl.getUniform(program, "u_texture"), 0);
+		assertNull(gl.getUniform(program, "u_projTrans"));
+		assertEquals(GL20.GL_NO_ERROR, gl.glGetError());
+
+		gl.glUniform1i(1000, 0);
+		assertEquals(GL20.GL_INVALID_OPERATION, gl.glGetError());
+		assertEquals(GL20.GL_NO_ERROR, gl.glGetError());
+		shader.dispose();
+	}
+
+	@Test
+	public void testLog () {
+		assertNull(gl.getLog());
+		gl.setLogging(true);
+		gl.glViewport(0, 0, 10, 20);
+		gl.glBufferData(GL20.GL_ARRAY_BUFFER, 16, ByteBuffer.allocate(16), GL20.GL_STATIC_DRAW);
+		gl.glDrawArrays(GL20.GL_TRIANGLES, 0, 3);
+		assertEquals("Viewport 0 0 10 20\n" //
+			+ "BufferData " + GL20.GL_ARRAY_BUFFER + " 16 16 " + GL20.GL_STATIC_DRAW + "\n" //
+			+ "DrawArrays " + GL20.GL_TRIANGLES + " 0 3\n", gl.getLog().toString());
+
+		gl.getLog().setLength(0);
+		gl.glFlush();
+		assertEquals("Flush\n", gl.getLog().toString());
+
+		gl.setLogging(false);
+		assertNull(gl.getLog());
+	}
+
+	@Test
+	public void testReset () {
+		int objects = gl.getObjectCount();
+		int buffer = gl.glGenBuffer();
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, buffer);
+		gl.glBufferData(GL20.GL_ARRAY_BUFFER, 8, ByteBuffer.allocate(8), GL20.GL_STATIC_DRAW);
+		gl.glUseProgram(0);
+		gl.glDrawArrays(GL20.GL_POINTS, 0, 1);
+		assertTrue(gl.getCalls() > 0);
+
+		gl.reset();
+		assertEquals(0, gl.getCalls());
+		assertEquals(0, gl.getDrawCalls());
+		assertEquals(0, gl.getStateChanges());
+		assertEquals(0, gl.getRedundantStateChanges());
+		assertEquals(0, gl.getUniformUpdates());
+		assertEquals(0, gl.getUploadedBytes());
+		assertEquals(0, (int)gl.getVertexCount().total);
+
+		// Objects are kept.
+		assertEquals(objects + 1, gl.getObjectCount());
+		assertEquals(8, gl.getBufferSize(buffer));
+		gl.glDeleteBuffer(buffer);
+		assertEquals(objects, gl.getObjectCount());
+	}
+}
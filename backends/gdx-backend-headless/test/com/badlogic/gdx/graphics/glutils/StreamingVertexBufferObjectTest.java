@@ -0,0 +1,161 @@
+package com.badlogic.gdx.graphics.glutils;
+
+import static org.junit.Assert.*;
+
+import java.nio.FloatBuffer;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.graphics.RecordingGL30;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+
+public class StreamingVertexBufferObjectTest {
+	static HeadlessApplication app;
+	RecordingGL30 gl;
+	ShaderProgram shader;
+
+	@BeforeClass
+	static public void beforeClass () {
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.useRecordingGL = true;
+		app = new HeadlessApplication(new ApplicationAdapter() {}, config);
+	}
+
+	@AfterClass
+	static public void afterClass () {
+		app.exit();
+	}
+
+	@Before
+	public void before () {
+		gl = (RecordingGL30)Gdx.gl30;
+		shader = new ShaderProgram("attribute vec4 a_position;\nattribute vec4 a_color;\nvoid main () {}", "void main () {}");
+		gl.reset();
+		gl.setLogging(true);
+	}
+
+	@After
+	public void after () {
+		Gdx.gl30 = gl;
+		shader.dispose();
+		gl.setLogging(false);
+	}
+
+	/** 16 byte vertices, 4 per region and 3 regions. */
+	private StreamingVertexBufferObject create () {
+		VertexAttributes attributes = new VertexAttributes(VertexAttribute.Position(), VertexAttribute.ColorPacked());
+		StreamingVertexBufferObject vbo = new StreamingVertexBufferObject(4, 3, attributes);
+		assertEquals(4, vbo.getNumMaxVertices());
+		assertEquals(192, vbo.capacity);
+		return vbo;
+	}
+
+	@Test
+	public void testMappedRegions () {
+		StreamingVertexBufferObject vbo = create();
+		vbo.bind(shader);
+		int color = shader.getAttributeLocation("a_color");
+		float[] vertices = new float[16];
+		for (int i = 0; i < 3; i++) {
+			gl.getLog().setLength(0);
+			vbo.setVertices(vertices, 0, 16);
+			assertEquals(i * 64, vbo.drawOffset);
+			assertEquals(4, vbo.getNumVertices());
+			String log = gl.getLog().toString();
+			assertTrue(log, log.contains("MapBufferRange " + GL20.GL_ARRAY_BUFFER + " " + i * 64 + " 64 " + (GL30.GL_MAP_WRITE_BIT
+				| GL30.GL_MAP_UNSYNCHRONIZED_BIT | GL30.GL_MAP_INVALIDATE_RANGE_BIT) + "\n"));
+			assertFalse(log, log.contains("BufferData"));
+			// Attributes of the bound VertexData point at the new vertices.
+			assertTrue(log, log.contains("VertexAttribPointer " + color + " 4 " + GL20.GL_UNSIGNED_BYTE + " true 16 " + (i * 64 + 12)));
+		}
+
+		// The buffer is full, so it is orphaned before the vertices are mapped at the start.
+		gl.getLog().setLength(0);
+		vbo.setVertices(vertices, 0, 8);
+		assertEquals(0, vbo.drawOffset);
+		assertEquals(32, vbo.writeOffset);
+		assertEquals(2, vbo.getNumVertices());
+		String log = gl.getLog().toString();
+		int orphan = log.indexOf("BufferData " + GL20.GL_ARRAY_BUFFER + " 192 0 " + GL20.GL_STREAM_DRAW + "\n");
+		int map = log.indexOf("MapBufferRange " + GL20.GL_ARRAY_BUFFER + " 0 32 ");
+		assertTrue(log, orphan != -1 && map > orphan);
+		assertEquals(3 * 64 + 32, gl.getBufferBytes());
+
+		vbo.unbind(shader);
+		vbo.dispose();
+	}
+
+	@Test
+	public void testMapVertices () {
+		StreamingVertexBufferObject vbo = create();
+		vbo.setVertices(new float[4], 0, 4);
+
+		FloatBuffer buffer = vbo.mapVertices(16);
+		assertEquals(0, buffer.position());
+		assertTrue(buffer.remaining() >= 16);
+		buffer.put(new float[8]);
+		gl.getLog().setLength(0);
+		vbo.unmapVertices(8);
+		assertEquals(16, vbo.drawOffset);
+		assertEquals(48, vbo.writeOffset);
+		assertEquals(2, vbo.getNumVertices());
+		String log = gl.getLog().toString();
+		assertTrue(log, log.contains("FlushMappedBufferRange " + GL20.GL_ARRAY_BUFFER + " 0 32\n"));
+		assertTrue(log, log.contains("UnmapBuffer " + GL20.GL_ARRAY_BUFFER + "\n"));
+
+		vbo.bind(shader);
+		assertTrue(gl.getLog().toString().contains(
+			"VertexAttribPointer " + shader.getAttributeLocation("a_position") + " 3 " + GL20.GL_FLOAT + " false 16 16\n"));
+		vbo.unbind(shader);
+		vbo.dispose();
+	}
+
+	@Test
+	public void testGL20Regions () {
+		Gdx.gl30 = null;
+		StreamingVertexBufferObject vbo = create();
+		float[] vertices = new float[16];
+		for (int i = 0; i < 3; i++) {
+			gl.getLog().setLength(0);
+			vbo.setVertices(vertices, 0, 16);
+			assertEquals(i * 64, vbo.drawOffset);
+			String log = gl.getLog().toString();
+			assertTrue(log, log.contains("BufferSubData " + GL20.GL_ARRAY_BUFFER + " " + i * 64 + " 64 "));
+			assertFalse(log, log.contains("BufferData"));
+		}
+
+		gl.getLog().setLength(0);
+		vbo.setVertices(vertices, 0, 16);
+		assertEquals(0, vbo.drawOffset);
+		String log = gl.getLog().toString();
+		int orphan = log.indexOf("BufferData " + GL20.GL_ARRAY_BUFFER + " 192 0 " + GL20.GL_STREAM_DRAW + "\n");
+		int upload = log.indexOf("BufferSubData " + GL20.GL_ARRAY_BUFFER + " 0 64 ");
+		assertTrue(log, orphan != -1 && upload > orphan);
+		assertFalse(log, log.contains("MapBufferRange"));
+
+		// The staging buffer is uploaded on bind, which sets the attributes at its offset.
+		FloatBuffer buffer = vbo.getBuffer(true);
+		buffer.clear();
+		buffer.put(vertices, 0, 8);
+		buffer.flip();
+		gl.getLog().setLength(0);
+		vbo.bind(shader);
+		assertEquals(64, vbo.drawOffset);
+		assertEquals(2, vbo.getNumVertices());
+		assertTrue(gl.getLog().toString().contains(
+			"VertexAttribPointer " + shader.getAttributeLocation("a_position") + " 3 " + GL20.GL_FLOAT + " false 16 64\n"));
+		vbo.unbind(shader);
+		vbo.dispose();
+	}
+}
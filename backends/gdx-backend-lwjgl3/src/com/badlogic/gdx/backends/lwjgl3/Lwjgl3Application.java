@@ -72,6 +72,10 @@ public class Lwjgl3Application implements Lwjgl3ApplicationBase {
 	private volatile boolean running = true;
 	private final Array<Runnable> runnables = new Array<Runnable>();
 	private final Array<Runnable> executedRunnables = new Array<Runnable>();
+	private final @Null AtomicRingBuffer<Runnable> runnableQueue;
+	/** True while runnables posted when the queue was full are in {@link #runnables}. Later runnables go there too, so they
+	 * can't run before them. */
+	private volatile boolean runnablesOverflowed;
 	private final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	private static GLFWErrorCallback errorCallback;
 	private static GLVersion glVersion;
@@ -127,6 +131,7 @@ public class Lwjgl3Application implements Lwjgl3ApplicationBase {
 
 		this.config = config = Lwjgl3ApplicationConfiguration.copy(config);
 		if (config.title == null) config.title = listener.getClass().getSimpleName();
+		runnableQueue = config.runnableQueueCapacity > 0 ? new AtomicRingBuffer<Runnable>(config.runnableQueueCapacity) : null;
 
 		Gdx.app = this;
 		if (!config.disableAudio) {
@@ -187,12 +192,15 @@ public class Lwjgl3Application implements Lwjgl3ApplicationBase {
 			GLFW.glfwPollEvents();
 
 			boolean shouldRequestRendering;
+			executedRunnables.clear();
+			// Runnables from the queue run first, then runnables added to the array when the queue was full.
+			if (runnableQueue != null) runnableQueue.drainTo(executedRunnables);
 			synchronized (runnables) {
-				shouldRequestRendering = runnables.size > 0;
-				executedRunnables.clear();
 				executedRunnables.addAll(runnables);
 				runnables.clear();
+				runnablesOverflowed = false;
 			}
+			shouldRequestRendering = executedRunnables.size > 0;
 			for (Runnable runnable : executedRunnables) {
 				runnable.run();
 			}
@@ -379,8 +387,11 @@ public class Lwjgl3Application implements Lwjgl3ApplicationBase {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
+		// When the queue is full the array is used, rather than waiting for the main thread which may be waiting for this one.
+		if (runnableQueue != null && !runnablesOverflowed && runnableQueue.offer(runnable)) return;
 		synchronized (runnables) {
 			runnables.add(runnable);
+			if (runnableQueue != null) runnablesOverflowed = true;
 		}
 	}
 
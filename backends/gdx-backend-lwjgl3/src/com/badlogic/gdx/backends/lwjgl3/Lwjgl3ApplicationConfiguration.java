@@ -51,6 +51,8 @@ public class Lwjgl3ApplicationConfiguration extends Lwjgl3WindowConfiguration {
 	/** The maximum number of threads to use for network requests. Default is {@link Integer#MAX_VALUE}. */
 	int maxNetThreads = Integer.MAX_VALUE;
 
+	int runnableQueueCapacity = 0;
+
 	int audioDeviceSimultaneousSources = 16;
 	int audioDeviceBufferSize = 512;
 	int audioDeviceBufferCount = 9;
@@ -114,6 +116,7 @@ public class Lwjgl3ApplicationConfiguration extends Lwjgl3WindowConfiguration {
 		hdpiMode = config.hdpiMode;
 		debug = config.debug;
 		debugStream = config.debugStream;
+		runnableQueueCapacity = config.runnableQueueCapacity;
 	}
 
 	/** @param visibility whether the window will be visible on creation. (default true) */
@@ -132,6 +135,14 @@ public class Lwjgl3ApplicationConfiguration extends Lwjgl3WindowConfiguration {
 		this.maxNetThreads = maxNetThreads;
 	}
 
+	/** Sets the capacity of a lock-free {@link com.badlogic.gdx.utils.AtomicRingBuffer} used by
+	 * {@link Lwjgl3Application#postRunnable(Runnable)} instead of a synchronized array. This reduces contention when many threads
+	 * post runnables. When it is full, runnables are posted to the synchronized array until the next frame, so posting never
+	 * waits. Runnables from the queue run before those in the array. Use 0 to use the synchronized array. Default is 0. */
+	public void setRunnableQueueCapacity (int runnableQueueCapacity) {
+		this.runnableQueueCapacity = runnableQueueCapacity;
+	}
+
 	/** Sets the audio device configuration.
 	 * 
 	 * @param simultaneousSources the maximum number of sources that can be played simultaniously (default 16)
@@ -20,35 +20,37 @@ import com.google.gwt.corp.compatibility.Numbers;
 
 public class DataOutputStream extends OutputStream implements DataOutput {
 
-	OutputStream os;
+	protected OutputStream out;
+	protected int written;
 
-	public DataOutputStream (OutputStream os) {
-		this.os = os;
+	public DataOutputStream (OutputStream out) {
+		this.out = out;
 	}
 
 	@Override
 	public void write (int b) throws IOException {
-		os.write(b);
+		out.write(b);
+		if (written < Integer.MAX_VALUE) written++;
 	}
 
 	public void writeBoolean (boolean v) throws IOException {
-		os.write(v ? 1 : 0);
+		out.write(v ? 1 : 0);
 	}
 
 	public void writeByte (int v) throws IOException {
-		os.write(v);
+		out.write(v);
 	}
 
 	public void writeBytes (String s) throws IOException {
 		int len = s.length();
 		for (int i = 0; i < len; i++) {
-			os.write(s.charAt(i));
+			out.write(s.charAt(i));
 		}
 	}
 
 	public void writeChar (int v) throws IOException {
-		os.write(v >> 8);
-		os.write(v);
+		out.write(v >> 8);
+		out.write(v);
 	}
 
 	public void writeChars (String s) throws IOException {
@@ -64,10 +66,10 @@ public class DataOutputStream extends OutputStream implements DataOutput {
 	}
 
 	public void writeInt (int v) throws IOException {
-		os.write(v >> 24);
-		os.write(v >> 16);
-		os.write(v >> 8);
-		os.write(v);
+		out.write(v >> 24);
+		out.write(v >> 16);
+		out.write(v >> 8);
+		out.write(v);
 	}
 
 	public void writeLong (long v) throws IOException {
@@ -76,8 +78,8 @@ public class DataOutputStream extends OutputStream implements DataOutput {
 	}
 
 	public void writeShort (int v) throws IOException {
-		os.write(v >> 8);
-		os.write(v);
+		out.write(v >> 8);
+		out.write(v);
 	}
 
 	public void writeUTF (String s) throws IOException {
@@ -96,6 +98,6 @@ public class DataOutputStream extends OutputStream implements DataOutput {
 			}
 		}
 		writeShort(baos.count);
-		os.write(baos.buf, 0, baos.count);
+		out.write(baos.buf, 0, baos.count);
 	}
 }
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import com.badlogic.gdx.files.FileHandle;
@@ -109,7 +110,7 @@ public class JsonReader implements BaseJsonReader {
 				stringIsName = true;
 			}
 			action string {
-				String value = new String(data, s, p - s);
+				String value = stringIsName ? name(data, s, p - s) : new String(data, s, p - s);
 				if (needsUnescape) value = unescape(value);
 				outer:
 				if (stringIsName) {
@@ -346,9 +347,286 @@ public class JsonReader implements BaseJsonReader {
 
 	%% write data;
 
+	/** Parses UTF-8 JSON from the bytes, see {@link #parse(ByteBuffer)}. */
+	public JsonValue parse (byte[] data, int offset, int length) {
+		return parse(ByteBuffer.wrap(data, offset, length));
+	}
+
+	/** Parses UTF-8 JSON from the buffer's position to its limit, without changing the position. The bytes are scanned without
+	 * first decoding them to chars, so only names and values are decoded. A byte order mark is skipped. The buffer can be a
+	 * memory mapped file, see {@link FileHandle#map()}. */
+	@SuppressWarnings("fallthrough")
+	public JsonValue parse (ByteBuffer data) {
+		stop = false;
+		int cs, p = data.position(), pe = data.limit(), eof = pe, top = 0;
+		if (pe - p >= 3 && data.get(p) == (byte)0xef && data.get(p + 1) == (byte)0xbb && data.get(p + 2) == (byte)0xbf)
+			p += 3; // Skip the byte order mark.
+		int[] stack = new int[4];
+
+		int s = 0;
+		String name = null;
+		boolean needsUnescape = false, stringIsName = false, stringIsUnquoted = false;
+		RuntimeException parseRuntimeEx = null;
+
+		boolean debug = false;
+		if (debug) System.out.println();
+
+		try {
+		%%{
+			machine json_bytes;
+			getkey (data.get(p) & 0xff);
+
+			prepush {
+				if (top == stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+			}
+
+			action name {
+				stringIsName = true;
+			}
+			action string {
+				String value = stringIsName ? name(data, s, p) : utf8(data, s, p);
+				if (needsUnescape) value = unescape(value);
+				outer:
+				if (stringIsName) {
+					stringIsName = false;
+					if (debug) System.out.println("name: " + value);
+					name = value;
+				} else {
+					String valueName = name;
+					name = null;
+					if (stringIsUnquoted) {
+						if (value.equals("true")) {
+							if (debug) System.out.println("boolean: " + valueName + "=true");
+							bool(valueName, true);
+							break outer;
+						} else if (value.equals("false")) {
+							if (debug) System.out.println("boolean: " + valueName + "=false");
+							bool(valueName, false);
+							break outer;
+						} else if (value.equals("null")) {
+							string(valueName, null);
+							break outer;
+						}
+						boolean couldBeDouble = false, couldBeLong = true;
+						outer2:
+						for (int i = s; i < p; i++) {
+							switch (data.get(i)) {
+							case '0':
+							case '1':
+							case '2':
+							case '3':
+							case '4':
+							case '5':
+							case '6':
+							case '7':
+							case '8':
+							case '9':
+							case '-':
+							case '+':
+								break;
+							case '.':
+							case 'e':
+							case 'E':
+								couldBeDouble = true;
+								couldBeLong = false;
+								break;
+							default:
+								couldBeDouble = false;
+								couldBeLong = false;
+								break outer2;
+							}
+						}
+						if (couldBeDouble) {
+							try {
+								if (debug) System.out.println("double: " + valueName + "=" + Double.parseDouble(value));
+								number(valueName, Double.parseDouble(value), value);
+								break outer;
+							} catch (NumberFormatException ignored) {
+							}
+						} else if (couldBeLong) {
+							if (debug) System.out.println("double: " + valueName + "=" + Double.parseDouble(value));
+							try {
+								number(valueName, Long.parseLong(value), value);
+								break outer;
+							} catch (NumberFormatException ignored) {
+							}
+						}
+					}
+					if (debug) System.out.println("string: " + valueName + "=" + value);
+					string(valueName, value);
+				}
+				if (stop) break _goto;
+				stringIsUnquoted = false;
+				s = p;
+			}
+			action startObject {
+				if (debug) System.out.println("startObject: " + name);
+				startObject(name);
+				if (stop) break _goto;
+				name = null;
+				fcall object;
+			}
+			action endObject {
+				if (debug) System.out.println("endObject");
+				pop();
+				if (stop) break _goto;
+				fret;
+			}
+			action startArray {
+				if (debug) System.out.println("startArray: " + name);
+				startArray(name);
+				if (stop) break _goto;
+				name = null;
+				fcall array;
+			}
+			action endArray {
+				if (debug) System.out.println("endArray");
+				pop();
+				if (stop) break _goto;
+				fret;
+			}
+			action comment {
+				int start = p - 1;
+				if (data.get(p++) == '/') {
+					while (p != eof && data.get(p) != '\n')
+						p++;
+					p--;
+				} else {
+					while (p + 1 < eof && (data.get(p) != '*' || data.get(p + 1) != '/'))
+						p++;
+					p++;
+				}
+				if (debug) System.out.println("comment " + utf8(data, start, p));
+			}
+			action unquotedChars {
+				if (debug) System.out.println("unquotedChars");
+				s = p;
+				needsUnescape = false;
+				stringIsUnquoted = true;
+				if (stringIsName) {
+					outer:
+					while (true) {
+						switch (data.get(p)) {
+						case '\\':
+							needsUnescape = true;
+							break;
+						case '/':
+							if (p + 1 == eof) break;
+							byte c = data.get(p + 1);
+							if (c == '/' || c == '*') break outer;
+							break;
+						case ':':
+						case '\r':
+						case '\n':
+							break outer;
+						}
+						if (debug) System.out.println("unquotedChar (name): '" + (char)data.get(p) + "'");
+						p++;
+						if (p == eof) break;
+					}
+				} else {
+					outer:
+					while (true) {
+						switch (data.get(p)) {
+						case '\\':
+							needsUnescape = true;
+							break;
+						case '/':
+							if (p + 1 == eof) break;
+							byte c = data.get(p + 1);
+							if (c == '/' || c == '*') break outer;
+							break;
+						case '}':
+						case ']':
+						case ',':
+						case '\r':
+						case '\n':
+							break outer;
+						}
+						if (debug) System.out.println("unquotedChar (value): '" + (char)data.get(p) + "'");
+						p++;
+						if (p == eof) break;
+					}
+				}
+				p--;
+				while (isSpace(data.get(p)))
+					p--;
+			}
+			action quotedChars {
+				if (debug) System.out.println("quotedChars");
+				s = ++p;
+				needsUnescape = false;
+				outer:
+				while (true) {
+					switch (data.get(p)) {
+					case '\\':
+						needsUnescape = true;
+						p++;
+						break;
+					case '"':
+						break outer;
+					}
+					if (debug) System.out.println("quotedChar: '" + (char)data.get(p) + "'");
+					p++;
+					if (p == eof) break;
+				}
+				p--;
+			}
+
+			comment = ('//' | '/*') @comment;
+			ws = [\r\n\t ] | comment;
+			ws2 = [\t ] | comment;
+			comma = ',' | ([\r\n] ws* ','?);
+			quotedString = '"' @quotedChars %string '"';
+			nameString = quotedString | ^[":,}/\r\n\t ] >unquotedChars %string;
+			valueString = quotedString | ^[":,{[\]/\r\n\t ] >unquotedChars %string;
+			value = '{' @startObject | '[' @startArray | valueString;
+			nameValue = nameString >name ws* ':' ws* value;
+			object := ws* nameValue? ws2* <: (comma ws* nameValue ws2*)** :>> (','? ws* '}' @endObject);
+			array := ws* value? ws2* <: (comma ws* value ws2*)** :>> (','? ws* ']' @endArray);
+			main := ws* value ws*;
+
+			write init;
+			write exec;
+		}%%
+		} catch (RuntimeException ex) {
+			parseRuntimeEx = ex;
+		}
+
+		JsonValue root = this.root;
+		this.root = null;
+		current = null;
+
+		if (!stop) {
+			if (p < pe) {
+				int lineNumber = 1;
+				for (int i = data.position(); i < p; i++)
+					if (data.get(i) == '\n') lineNumber++;
+				int start = Math.max(data.position(), p - 32);
+				throw new SerializationException("Error parsing JSON on line " + lineNumber + " near: "
+					+ utf8(data, start, p) + "*ERROR*" + utf8(data, p, Math.min(p + 64, pe)), parseRuntimeEx);
+			}
+			if (elements.size != 0) {
+				JsonValue element = elements.peek();
+				elements.clear();
+				if (element != null && element.isObject())
+					throw new SerializationException("Error parsing JSON, unmatched brace.");
+				else
+					throw new SerializationException("Error parsing JSON, unmatched bracket.");
+			}
+			if (parseRuntimeEx != null)
+				throw new SerializationException("Error parsing JSON: " + utf8(data, data.position(), pe), parseRuntimeEx);
+		}
+		return root;
+	}
+
+	%% write data;
+
 	private final Array<JsonValue> elements = new Array(8);
 	private JsonValue root, current;
 	private boolean stop;
+	private final CharArray buffer = new CharArray(32);
+	private @Null NameCache nameCache;
 
 	/** Causes parsing to stop after the current or next object, array, or value. */
 	public void stop () {
@@ -359,6 +637,16 @@ public class JsonReader implements BaseJsonReader {
 		return stop;
 	}
 
+	static private boolean isSpace (byte b) {
+		return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f';
+	}
+
+	/** Sets a cache that is used to return the same string instance for equal names, or null to create a new string for every
+	 * name (the default). */
+	public void setNameCache (@Null NameCache nameCache) {
+		this.nameCache = nameCache;
+	}
+
 	private void addChild (@Null String name, JsonValue child) {
 		child.setName(name);
 		if (current == null) {
@@ -412,6 +700,55 @@ public class JsonReader implements BaseJsonReader {
 		addChild(name, new JsonValue(value));
 	}
 
+	private String name (char[] data, int offset, int length) {
+		return nameCache != null ? nameCache.get(data, offset, length) : new String(data, offset, length);
+	}
+
+	private String name (ByteBuffer data, int start, int end) {
+		return nameCache != null ? nameCache.get(data, start, end) : utf8(data, start, end, buffer);
+	}
+
+	private String utf8 (ByteBuffer data, int start, int end) {
+		return utf8(data, start, end, buffer);
+	}
+
+	/** Returns the UTF-8 bytes from start to end as a string, using the buffer as scratch space when the data is not backed by an
+	 * array. */
+	static String utf8 (ByteBuffer data, int start, int end, CharArray buffer) {
+		if (data.hasArray()) {
+			try {
+				return new String(data.array(), data.arrayOffset() + start, end - start, "UTF-8");
+			} catch (IOException ignored) { // UTF-8 is always supported.
+			}
+		}
+		buffer.size = 0;
+		decodeUtf8(data, start, end, buffer);
+		return buffer.toString();
+	}
+
+	/** Appends the UTF-8 bytes from start to end to the buffer as chars. Malformed bytes are decoded as U+FFFD. */
+	static void decodeUtf8 (ByteBuffer data, int start, int end, CharArray buffer) {
+		char[] chars = buffer.ensureCapacity(end - start); // UTF-8 never has fewer bytes than UTF-16 has chars.
+		int n = buffer.size;
+		for (int i = start; i < end;) {
+			int b = data.get(i++), c;
+			if (b >= 0)
+				c = b;
+			else if ((b & 0xe0) == 0xc0 && i < end)
+				c = (b & 0x1f) << 6 | data.get(i++) & 0x3f;
+			else if ((b & 0xf0) == 0xe0 && i + 1 < end)
+				c = (b & 0x0f) << 12 | (data.get(i++) & 0x3f) << 6 | data.get(i++) & 0x3f;
+			else if ((b & 0xf8) == 0xf0 && i + 2 < end) {
+				c = ((b & 0x07) << 18 | (data.get(i++) & 0x3f) << 12 | (data.get(i++) & 0x3f) << 6 | data.get(i++) & 0x3f) - 0x10000;
+				chars[n++] = (char)(0xd800 | c >>> 10); // Surrogate pair.
+				c = 0xdc00 | c & 0x3ff;
+			} else
+				c = 0xfffd;
+			chars[n++] = (char)c;
+		}
+		buffer.size = n;
+	}
+
 	/** Called to unescape string values. The default implementation does standard JSON unescaping. */
 	protected String unescape (String value) {
 		int length = value.length();
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import com.badlogic.gdx.files.FileHandle;
@@ -98,7 +99,9 @@ public class JsonSkimmer {
 
 		JsonToken nameString = this.nameString, value = this.value, string = value, name = null;
 		nameString.chars = data;
+		nameString.bytes = null;
 		value.chars = data;
+		value.bytes = null;
 		RuntimeException parseRuntimeEx = null;
 
 		boolean debug = false;
@@ -321,6 +324,252 @@ public class JsonSkimmer {
 
 	%% write data;
 
+	/** Parses UTF-8 JSON from the bytes, see {@link #parse(ByteBuffer)}. */
+	public void parse (byte[] data, int offset, int length) {
+		parse(ByteBuffer.wrap(data, offset, length));
+	}
+
+	/** Parses UTF-8 JSON from the buffer's position to its limit, without changing the position. The bytes are scanned without
+	 * first decoding them to chars. {@link JsonToken#bytes} is set instead of {@link JsonToken#chars} and tokens are only decoded
+	 * when they are converted to strings or compared to strings with non-ASCII characters. A byte order mark is skipped. The
+	 * buffer can be a memory mapped file, see {@link FileHandle#map()}. */
+	@SuppressWarnings("fallthrough")
+	public void parse (ByteBuffer data) {
+		stop = false;
+		int cs, p = data.position(), pe = data.limit(), eof = pe, top = 0;
+		if (pe - p >= 3 && data.get(p) == (byte)0xef && data.get(p + 1) == (byte)0xbb && data.get(p + 2) == (byte)0xbf)
+			p += 3; // Skip the byte order mark.
+		int[] stack = this.stack;
+
+		JsonToken nameString = this.nameString, value = this.value, string = value, name = null;
+		nameString.chars = null;
+		nameString.bytes = data;
+		value.chars = null;
+		value.bytes = data;
+		RuntimeException parseRuntimeEx = null;
+
+		boolean debug = false;
+		if (debug) System.out.println();
+
+		try {
+		%%{
+			machine json_bytes;
+			getkey (data.get(p) & 0xff);
+
+			prepush {
+				if (top == stack.length) stack = this.stack = Arrays.copyOf(stack, stack.length << 1);
+			}
+
+			action startObject {
+				if (debug) System.out.println("startObject: " + name);
+				push(name, true);
+				if (stop) return;
+				name = null;
+				fcall object;
+			}
+			action endObject {
+				if (debug) System.out.println("endObject");
+				pop();
+				if (stop) return;
+				fret;
+			}
+			action startArray {
+				if (debug) System.out.println("startArray: " + name);
+				push(name, false);
+				if (stop) return;
+				name = null;
+				fcall array;
+			}
+			action endArray {
+				if (debug) System.out.println("endArray");
+				pop();
+				if (stop) return;
+				fret;
+			}
+			action comment {
+				int start = p;
+				if (data.get(p++) == '/') {
+					while (p != eof && data.get(p) != '\n')
+						p++;
+					p--;
+				} else {
+					while (p + 1 < eof && (data.get(p) != '*' || data.get(p + 1) != '/'))
+						p++;
+					p++;
+				}
+				if (debug) System.out.println("comment " + utf8(data, start - 1, p + 1));
+			}
+			action unquotedName {
+				if (debug) System.out.println("unquotedName");
+				int start = p;
+				string.start = start;
+				boolean ws = false;
+				outer:
+				while (true) {
+					switch (data.get(p)) {
+					case '\\':
+						string.unescape = true;
+						break;
+					case '/':
+						if (p + 1 == eof) break;
+						byte c = data.get(p + 1);
+						if (c == '/' || c == '*') break outer;
+						break;
+					case ' ':
+					case '\t':
+						ws = true;
+						break;
+					case ':':
+					case '\r':
+					case '\n':
+						break outer;
+					}
+					if (debug) System.out.println("name char: '" + (char)data.get(p) + "'");
+					p++;
+					if (p == eof) break;
+				}
+				p--;
+				if (ws) {
+					while (true) {
+						switch (data.get(p)) {
+						case ' ':
+						case '\t':
+							p--;
+							continue;
+						}
+						break;
+					}
+				}
+				string.length = p - start + 1;
+			}
+			action unquotedValue {
+				if (debug) System.out.println("unquotedValue");
+				int start = p;
+				string.start = start;
+				boolean ws = false;
+				outer:
+				while (true) {
+					switch (data.get(p)) {
+					case '\\':
+						string.unescape = true;
+						break;
+					case '/':
+						if (p + 1 == eof) break;
+						byte c = data.get(p + 1);
+						if (c == '/' || c == '*') break outer;
+						break;
+					case ' ':
+					case '\t':
+						ws = true;
+						break;
+					case '\r':
+					case '\n':
+					case '}':
+					case ']':
+					case ',':
+						break outer;
+					}
+					if (debug) System.out.println("value char: '" + (char)data.get(p) + "'");
+					p++;
+					if (p == eof) break;
+				}
+				p--;
+				if (ws) {
+					while (true) {
+						switch (data.get(p)) {
+						case ' ':
+						case '\t':
+							p--;
+							continue;
+						}
+						break;
+					}
+				}
+				string.length = p - start + 1;
+				string.type = TokenType.other;
+				if (string.length == 4) {
+					if (data.get(start) == 't' && data.get(start + 1) == 'r' && data.get(start + 2) == 'u' && data.get(start + 3) == 'e')
+						string.type = TokenType.trueValue;
+					else if (data.get(start) == 'n' && data.get(start + 1) == 'u' && data.get(start + 2) == 'l' && data.get(start + 3) == 'l')
+						string.type = TokenType.nullValue;
+				} else if (string.length == 5) {
+					if (data.get(start) == 'f' && data.get(start + 1) == 'a' && data.get(start + 2) == 'l' && data.get(start + 3) == 's'
+						&& data.get(start + 4) == 'e') string.type = TokenType.falseValue;
+				}
+			}
+			action quotedString {
+				if (debug) System.out.println("quotedString");
+				string.start = ++p;
+				outer:
+				while (true) {
+					switch (data.get(p)) {
+					case '\\':
+						string.unescape = true;
+						p++;
+						break;
+					case '"':
+						break outer;
+					}
+					if (debug) System.out.println("quoted char: '" + (char)data.get(p) + "'");
+					p++;
+					if (p == eof) break;
+				}
+				string.length = p - string.start;
+			}
+			action startName {
+				name = nameString; // Next element has a name.
+				string = nameString; // Parse next string to nameString.
+				if (debug) System.out.println("name start " + p);
+			}
+			action endName {
+				if (debug) System.out.println("name: " + p + ", " + name);
+				nameString.unescape = false;
+				string = value;
+			}
+			action endValue {
+				if (debug) System.out.println("value: " + name + "=" + value);
+				value(name, value);
+				if (stop) return;
+				value.unescape = false;
+				value.type = TokenType.other;
+				name = null;
+				string = value;
+			}
+
+			comment = ("//" | "/*") @comment;
+			ws = [\t \r\n] | comment;
+			ws2 = [\t ] | comment;
+			comma = "," | ([\r\n] ws* ","?);
+			quotedString = '"' @quotedString;
+			nameString  = quotedString | (^[":,/\r\n\t }] >unquotedName);
+			valueString = quotedString | (^[":,/\r\n\t {[\]] >unquotedValue);
+			value = "{" @startObject | "[" @startArray | valueString %endValue;
+			nameValue = nameString >startName %endName ws* ":" ws* value;
+			object := ws* nameValue? ws2* <: (comma ws* nameValue ws2*)** :>> (","? ws* "}" @endObject);
+			array := ws* value? ws2* <: (comma ws* value ws2*)** :>> (","? ws* "]" @endArray);
+			main := ws* value ws*;
+
+			write init;
+			write exec;
+		}%%
+		} catch (RuntimeException ex) {
+			parseRuntimeEx = ex;
+		}
+
+		if (p < pe) {
+			int lineNumber = 1;
+			for (int i = data.position(); i < p; i++)
+				if (data.get(i) == '\n') lineNumber++;
+			int start = Math.max(data.position(), p - 32);
+			throw new SerializationException("Error parsing JSON on line " + lineNumber + " near: "
+				+ utf8(data, start, p) + "*ERROR*" + utf8(data, p, Math.min(p + 64, pe)), parseRuntimeEx);
+		}
+		if (parseRuntimeEx != null)
+			throw new SerializationException("Error parsing JSON: " + utf8(data, data.position(), pe), parseRuntimeEx);
+	}
+
+	%% write data;
+
 	protected boolean stop;
 
 	/** Causes parsing to stop after the current or next object, array, or value. */
@@ -332,6 +581,16 @@ public class JsonSkimmer {
 		return stop;
 	}
 
+	/** Sets a cache that is used when a name token is converted to a string, to return the same string instance for equal names,
+	 * or null to create a new string each time (the default). */
+	public void setNameCache (@Null NameCache nameCache) {
+		nameString.nameCache = nameCache;
+	}
+
+	String utf8 (ByteBuffer data, int start, int end) {
+		return JsonReader.utf8(data, start, end, buffer);
+	}
+
 	/** Called when an object or array is encountered in the JSON.
 	 * @param name Reused after this method returns.
 	 * @param object True when an object was encountered, else it was an array. */
@@ -350,7 +609,12 @@ public class JsonSkimmer {
 
 	static public class JsonToken {
 		final CharArray buffer;
-		public char[] chars;
+		/** The JSON when parsing chars, else null. */
+		public @Null char[] chars;
+		/** The UTF-8 JSON when parsing bytes, else null. */
+		public @Null ByteBuffer bytes;
+		@Null CharArray decoded;
+		@Null NameCache nameCache;
 
 		public int start, length;
 		public boolean unescape;
@@ -364,6 +628,7 @@ public class JsonSkimmer {
 		public boolean equalsString (String string) {
 			if (string == null) return false;
 			if (unescape) return toString().equals(string);
+			if (bytes != null) return equalsBytes(string);
 			int n = length;
 			if (string.length() != n) return false;
 			char[] chars = this.chars;
@@ -376,7 +641,24 @@ public class JsonSkimmer {
 		 * @return "null" if this token represents null. */
 		public String toString () {
 			if (type == TokenType.nullValue) return "null";
-			return unescape ? unescape() : new String(chars, start, length);
+			if (nameCache != null && !unescape)
+				return bytes != null ? nameCache.get(bytes, start, start + length) : nameCache.get(chars, start, length);
+			if (bytes != null) {
+				CharArray decoded = this.decoded;
+				if (decoded == null) this.decoded = decoded = new CharArray(32);
+				if (!unescape) return JsonReader.utf8(bytes, start, start + length, decoded);
+				decoded.size = 0;
+				JsonReader.decodeUtf8(bytes, start, start + length, decoded);
+				return unescape(decoded.items, 0, decoded.size);
+			}
+			return unescape ? unescape(chars, start, length) : new String(chars, start, length);
+		}
+
+		/** Returns true if the token was a quoted string, else it was unquoted and may be a number, boolean, null or string. */
+		public boolean isQuoted () {
+			int before = start - 1;
+			if (chars != null) return before >= 0 && chars[before] == '"';
+			return before >= bytes.position() && bytes.get(before) == '"';
 		}
 
 		/** Returns a new JsonValue with {@link ValueType} of null, boolean, or string. */
@@ -401,8 +683,19 @@ public class JsonSkimmer {
 			return true;
 		}
 
-		private String unescape () {
-			char[] chars = this.chars;
+		/** Compares the bytes to the string. Only strings with non-ASCII characters are decoded. */
+		private boolean equalsBytes (String string) {
+			ByteBuffer bytes = this.bytes;
+			int n = length, sn = string.length();
+			for (int b = start, s = 0; s < sn; b++, s++) {
+				char c = string.charAt(s);
+				if (c >= 0x80) return toString().equals(string);
+				if (s == n || bytes.get(b) != c) return false;
+			}
+			return sn == n;
+		}
+
+		private String unescape (char[] chars, int start, int length) {
 			buffer.size = 0;
 			buffer.ensureCapacity(length + 16);
 			outer:
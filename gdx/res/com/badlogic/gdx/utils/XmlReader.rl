@@ -38,6 +38,7 @@ public class XmlReader {
 	private Element root, current;
 	private final StringBuilder textBuffer = new StringBuilder(64);
 	private String entitiesText;
+	private @Null NameCache nameCache;
 
 	public Element parse (String xml) {
 		char[] data = xml.toCharArray();
@@ -122,7 +123,7 @@ public class XmlReader {
 				fgoto elementBody;
 			}
 			hasBody = true;
-			open(new String(data, s, p - s));
+			open(name(data, s, p - s));
 		}
 		action elementEndSingle {
 			hasBody = false;
@@ -137,7 +138,7 @@ public class XmlReader {
 			if (hasBody) fgoto elementBody;
 		}
 		action attributeName {
-			attributeName = new String(data, s, p - s);
+			attributeName = name(data, s, p - s);
 		}
 		action entities {
 			int end = p;
@@ -213,6 +214,16 @@ public class XmlReader {
 
 	%% write data;
 
+	/** Sets a cache that is used to return the same string instance for equal element and attribute names, or null to create a
+	 * new string for every name (the default). */
+	public void setNameCache (@Null NameCache nameCache) {
+		this.nameCache = nameCache;
+	}
+
+	private String name (char[] data, int offset, int length) {
+		return nameCache != null ? nameCache.get(data, offset, length) : new String(data, offset, length);
+	}
+
 	protected void open (String name) {
 		Element child = new Element(name, current);
 		Element parent = current;
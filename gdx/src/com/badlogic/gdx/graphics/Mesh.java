@@ -32,6 +32,7 @@ import com.badlogic.gdx.graphics.glutils.IndexData;
 import com.badlogic.gdx.graphics.glutils.InstanceBufferObject;
 import com.badlogic.gdx.graphics.glutils.InstanceData;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.graphics.glutils.StreamingVertexBufferObject;
 import com.badlogic.gdx.graphics.glutils.VertexArray;
 import com.badlogic.gdx.graphics.glutils.VertexBufferObject;
 import com.badlogic.gdx.graphics.glutils.VertexBufferObjectSubData;
@@ -70,7 +71,7 @@ import com.badlogic.gdx.utils.GdxRuntimeException;
  * @author mzechner, Dave Clayton <contact@redskyforge.com>, Xoppa */
 public class Mesh implements Disposable {
 	public enum VertexDataType {
-		VertexArray, VertexBufferObject, VertexBufferObjectSubData, VertexBufferObjectWithVAO
+		VertexArray, VertexBufferObject, VertexBufferObjectSubData, VertexBufferObjectWithVAO, VertexBufferObjectStreaming
 	}
 
 	/** list of all meshes **/
@@ -184,6 +185,11 @@ public class Mesh implements Disposable {
 			indices = new IndexBufferObjectSubData(isStatic, maxIndices);
 			isVertexArray = false;
 			break;
+		case VertexBufferObjectStreaming:
+			vertices = new StreamingVertexBufferObject(maxVertices, attributes);
+			indices = new IndexBufferObjectSubData(isStatic, maxIndices);
+			isVertexArray = false;
+			break;
 		case VertexArray:
 		default:
 			vertices = new VertexArray(maxVertices, attributes);
@@ -491,6 +497,10 @@ public class Mesh implements Disposable {
 		return indices;
 	}
 
+	public VertexData getVertexData () {
+		return vertices;
+	}
+
 	/** Sets whether to bind the underlying {@link VertexArray} or {@link VertexBufferObject} automatically on a call to one of the
 	 * render methods. Usually you want to use autobind. Manual binding is an expert functionality. There is a driver bug on the
 	 * MSM720xa chips that will fuck up memory if you manipulate the vertices and indices of a Mesh multiple times while it is
@@ -0,0 +1,725 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.graphics.g2d;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Mesh.VertexDataType;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Null;
+
+/** A {@link Batch} that draws each sprite as an instance of a single quad, using instanced rendering. A sprite is
+ * {@link #INSTANCE_SIZE} floats instead of the 20 floats and 6 indices of {@link SpriteBatch}, and the vertex shader computes
+ * the corners. Draw order and blending are the same as {@link SpriteBatch}. Requires OpenGL ES 3.0.
+ * <p>
+ * An instance is the position of the first corner, the two edges from that corner, the texture region and the packed color:
+ * x, y, edge1 x, edge1 y, edge2 x, edge2 y, u, v, u2, v2, color. Corner (s, t) of the quad is at position + s * edge1 + t *
+ * edge2 and has texture coordinates (u, v) + (s, t) * (u2 - u, v2 - v). The edges also describe rotated, scaled and sheared
+ * sprites, so every draw method results in the same corners as {@link SpriteBatch}. Vertices passed to
+ * {@link #draw(Texture, float[], int, int)} are converted with {@link #toInstance(float[], int, float[], int)}, which uses the
+ * color of the first vertex and treats the quad as a parallelogram.
+ * <p>
+ * A shader set with {@link #setShader(ShaderProgram)} must declare the attributes of {@link #createDefaultShader()}.
+ * @see Batch
+ * @see SpriteBatch */
+public class InstancedSpriteBatch implements Batch {
+	/** The name of the vec2 vertex attribute holding the corner of the quad, (0, 0) to (1, 1). */
+	static public final String CORNER_ATTRIBUTE = "a_corner";
+	/** The name of the vec4 instance attribute holding the two edges. */
+	static public final String EDGES_ATTRIBUTE = "a_edges";
+	/** The name of the vec4 instance attribute holding u, v, u2 and v2. */
+	static public final String REGION_ATTRIBUTE = "a_region";
+	static public final int INSTANCE_SIZE = 2 + 4 + 4 + 1;
+
+	private Mesh mesh;
+
+	final float[] instances;
+	int idx = 0;
+	Texture lastTexture = null;
+	float invTexWidth = 0, invTexHeight = 0;
+
+	boolean drawing = false;
+
+	private final Matrix4 transformMatrix = new Matrix4();
+	private final Matrix4 projectionMatrix = new Matrix4();
+	private final Matrix4 combinedMatrix = new Matrix4();
+
+	private boolean blendingDisabled = false;
+	private int blendSrcFunc = GL20.GL_SRC_ALPHA;
+	private int blendDstFunc = GL20.GL_ONE_MINUS_SRC_ALPHA;
+	private int blendSrcFuncAlpha = GL20.GL_SRC_ALPHA;
+	private int blendDstFuncAlpha = GL20.GL_ONE_MINUS_SRC_ALPHA;
+
+	private final ShaderProgram shader;
+	private ShaderProgram customShader = null;
+	private boolean ownsShader;
+
+	private final Color color = new Color(1, 1, 1, 1);
+	float colorPacked = Color.WHITE_FLOAT_BITS;
+
+	/** Number of render calls since the last {@link #begin()}. **/
+	public int renderCalls = 0;
+
+	/** Number of rendering calls, ever. Will not be reset unless set manually. **/
+	public int totalRenderCalls = 0;
+
+	/** The maximum number of sprites rendered in one batch so far. **/
+	public int maxSpritesInBatch = 0;
+
+	/** Constructs a new InstancedSpriteBatch with a size of 1000 and the default shader.
+	 * @see InstancedSpriteBatch#InstancedSpriteBatch(int, ShaderProgram) */
+	public InstancedSpriteBatch () {
+		this(1000, null);
+	}
+
+	/** Constructs an InstancedSpriteBatch with the default shader.
+	 * @see InstancedSpriteBatch#InstancedSpriteBatch(int, ShaderProgram) */
+	public InstancedSpriteBatch (int size) {
+		this(size, null);
+	}
+
+	/** Constructs a new InstancedSpriteBatch. Sets the projection matrix to an orthographic projection with y-axis point upwards,
+	 * x-axis point to the right and the origin being in the bottom left corner of the screen.
+	 * @param size The max number of sprites in a single batch. Unlike {@link SpriteBatch} this is not limited by the vertex
+	 *           indices.
+	 * @param defaultShader The default shader to use. This is not owned by the InstancedSpriteBatch and must be disposed
+	 *           separately. */
+	public InstancedSpriteBatch (int size, @Null ShaderProgram defaultShader) {
+		if (Gdx.gl30 == null) throw new GdxRuntimeException("InstancedSpriteBatch requires GLES 3.0.");
+		if (size < 1) throw new IllegalArgumentException("size must be > 0: " + size);
+
+		mesh = new Mesh(VertexDataType.VertexBufferObject, true, 4, 6, new VertexAttribute(Usage.Generic, 2, CORNER_ATTRIBUTE));
+		// Same corner order as the sprite vertices of SpriteBatch.
+		mesh.setVertices(new float[] {0, 0, 0, 1, 1, 1, 1, 0});
+		mesh.setIndices(new short[] {0, 1, 2, 2, 3, 0});
+		mesh.enableInstancedRendering(false, size, new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+			new VertexAttribute(Usage.Generic, 4, EDGES_ATTRIBUTE),
+			new VertexAttribute(Usage.TextureCoordinates, 4, REGION_ATTRIBUTE),
+			new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE));
+
+		projectionMatrix.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+
+		instances = new float[size * INSTANCE_SIZE];
+
+		if (defaultShader == null) {
+			shader = createDefaultShader();
+			ownsShader = true;
+		} else
+			shader = defaultShader;
+	}
+
+	/** Returns a new instance of the default shader used by InstancedSpriteBatch when no shader is specified. */
+	static public ShaderProgram createDefaultShader () {
+		String vertexShader = "attribute vec2 " + CORNER_ATTRIBUTE + ";\n" //
+			+ "attribute vec2 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" //
+			+ "attribute vec4 " + EDGES_ATTRIBUTE + ";\n" //
+			+ "attribute vec4 " + REGION_ATTRIBUTE + ";\n" //
+			+ "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" //
+			+ "uniform mat4 u_projTrans;\n" //
+			+ "varying vec4 v_color;\n" //
+			+ "varying vec2 v_texCoords;\n" //
+			+ "\n" //
+			+ "void main()\n" //
+			+ "{\n" //
+			+ "   v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" //
+			+ "   v_color.a = v_color.a * (255.0/254.0);\n" //
+			+ "   v_texCoords = mix(" + REGION_ATTRIBUTE + ".xy, " + REGION_ATTRIBUTE + ".zw, " + CORNER_ATTRIBUTE + ");\n" //
+			+ "   vec2 position = " + ShaderProgram.POSITION_ATTRIBUTE + " + " + CORNER_ATTRIBUTE + ".x * " + EDGES_ATTRIBUTE
+			+ ".xy + " + CORNER_ATTRIBUTE + ".y * " + EDGES_ATTRIBUTE + ".zw;\n" //
+			+ "   gl_Position =  u_projTrans * vec4(position, 0.0, 1.0);\n" //
+			+ "}\n";
+		String fragmentShader = "#ifdef GL_ES\n" //
+			+ "#define LOWP lowp\n" //
+			+ "precision mediump float;\n" //
+			+ "#else\n" //
+			+ "#define LOWP \n" //
+			+ "#endif\n" //
+			+ "varying LOWP vec4 v_color;\n" //
+			+ "varying vec2 v_texCoords;\n" //
+			+ "uniform sampler2D u_texture;\n" //
+			+ "void main()\n"//
+			+ "{\n" //
+			+ "  gl_FragColor = v_color * texture2D(u_texture, v_texCoords);\n" //
+			+ "}";
+
+		ShaderProgram shader = new ShaderProgram(vertexShader, fragmentShader);
+		if (!shader.isCompiled()) throw new IllegalArgumentException("Error compiling shader: " + shader.getLog());
+		return shader;
+	}
+
+	@Override
+	public void begin () {
+		if (drawing) throw new IllegalStateException("InstancedSpriteBatch.end must be called before begin.");
+		renderCalls = 0;
+
+		Gdx.gl.glDepthMask(false);
+		if (customShader != null)
+			customShader.bind();
+		else
+			shader.bind();
+		setupMatrices();
+
+		drawing = true;
+	}
+
+	@Override
+	public void end () {
+		if (!drawing) throw new IllegalStateException("InstancedSpriteBatch.begin must be called before end.");
+		if (idx > 0) flush();
+		lastTexture = null;
+		drawing = false;
+
+		GL20 gl = Gdx.gl;
+		gl.glDepthMask(true);
+		if (isBlendingEnabled()) gl.glDisable(GL20.GL_BLEND);
+	}
+
+	@Override
+	public void setColor (Color tint) {
+		color.set(tint);
+		colorPacked = tint.toFloatBits();
+	}
+
+	@Override
+	public void setColor (float r, float g, float b, float a) {
+		color.set(r, g, b, a);
+		colorPacked = color.toFloatBits();
+	}
+
+	@Override
+	public Color getColor () {
+		return color;
+	}
+
+	@Override
+	public void setPackedColor (float packedColor) {
+		Color.abgr8888ToColor(color, packedColor);
+		this.colorPacked = packedColor;
+	}
+
+	@Override
+	public float getPackedColor () {
+		return colorPacked;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float originX, float originY, float width, float height, float scaleX,
+		float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+		if (!drawing) throw new IllegalStateException("InstancedSpriteBatch.begin must be called before draw.");
+
+		float[] instances = this.instances;
+
+		if (texture != lastTexture)
+			switchTexture(texture);
+		else if (idx == instances.length) //
+			flush();
+
+		float u = srcX * invTexWidth;
+		float v = (srcY + srcHeight) * invTexHeight;
+		float u2 = (srcX + srcWidth) * invTexWidth;
+		float v2 = srcY * invTexHeight;
+
+		if (flipX) {
+			float tmp = u;
+			u = u2;
+			u2 = tmp;
+		}
+
+		if (flipY) {
+			float tmp = v;
+			v = v2;
+			v2 = tmp;
+		}
+
+		int idx = this.idx;
+		setTransform(instances, idx, x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+		instances[idx + 6] = u;
+		instances[idx + 7] = v;
+		instances[idx + 8] = u2;
+		instances[idx + 9] = v2;
+		instances[idx + 10] = colorPacked;
+		this.idx = idx + INSTANCE_SIZE;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth,
+		int srcHeight, boolean flipX, boolean flipY) {
+		if (!drawing) throw new IllegalStateException("InstancedSpriteBatch.begin must be called before draw.");
+
+		float[] instances = this.instances;
+
+		if (texture != lastTexture)
+			switchTexture(texture);
+		else if (idx == instances.length) //
+			flush();
+
+		float u = srcX * invTexWidth;
+		float v = (srcY + srcHeight) * invTexHeight;
+		float u2 = (srcX + srcWidth) * invTexWidth;
+		float v2 = srcY * invTexHeight;
+
+		if (flipX) {
+			float tmp = u;
+			u = u2;
+			u2 = tmp;
+		}
+
+		if (flipY) {
+			float tmp = v;
+			v = v2;
+			v2 = tmp;
+		}
+
+		add(x, y, width, height, u, v, u2, v2);
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+		if (!drawing) throw new IllegalStateException("InstancedSpriteBatch.begin must be called before draw.");
+
+		float[] instances = this.instances;
+
+		if (texture != lastTexture)
+			switchTexture(texture);
+		else if (idx == instances.length) //
+			flush();
+
+		final float u = srcX * invTexWidth;
+		final float v = (srcY + srcHeight) * invTexHeight;
+		final float u2 = (srcX + srcWidth) * invTexWidth;
+		final float v2 = srcY * invTexHeight;
+		add(x, y, srcWidth, srcHeight, u, v, u2, v2);
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+		if (!drawing) throw new IllegalStateException("InstancedSpriteBatch.begin must be called before draw.");
+
+		float[] instances = this.instances;
+
+		if (texture != lastTexture)
+			switchTexture(texture);
+		else if (idx == instances.length) //
+			flush();
+
+		add(x, y, width, height, u, v, u2, v2);
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y) {
+		draw(texture, x, y, texture.getWidth(), texture.getHeight());
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height) {
+		if (!drawing) throw new IllegalStateException("InstancedSpriteBatch.begin must be called before draw.");
+
+		float[] instances = this.instances;
+
+		if (texture != lastTexture)
+			switchTexture(texture);
+		else if (idx == instances.length) //
+			flush();
+
+		add(x, y, width, height, 0, 1, 1, 0);
+	}
+
+	@Override
+	public void draw (Texture texture, float[] spriteVertices, int offset, int count) {
+		if (!drawing) throw new IllegalStateException("InstancedSpriteBatch.begin must be called before draw.");
+
+		float[] instances = this.instances;
+
+		if (texture != lastTexture) switchTexture(texture);
+
+		for (int end = offset + count; offset < end; offset += Sprite.SPRITE_SIZE) {
+			if (idx == instances.length) flush();
+			toInstance(spriteVertices, offset, instances, idx);
+			idx += INSTANCE_SIZE;
+		}
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y) {
+		draw(region, x, y, region.getRegionWidth(), region.getRegionHeight());
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float width, float height) {
+		if (!drawing) throw new IllegalStateException("InstancedSpriteBatch.begin must be called before draw.");
+
+		float[] instances = this.instances;
+
+		Texture texture = region.texture;
+		if (texture != lastTexture)
+			switchTexture(texture);
+		else if (idx == instances.length) //
+			flush();
+
+		add(x, y, width, height, region.u, region.v2, region.u2, region.v);
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+		float scaleX, float scaleY, float rotation) {
+		if (!drawing) throw new IllegalStateException("InstancedSpriteBatch.begin must be called before draw.");
+
+		float[] instances = this.instances;
+
+		Texture texture = region.texture;
+		if (texture != lastTexture)
+			switchTexture(texture);
+		else if (idx == instances.length) //
+			flush();
+
+		int idx = this.idx;
+		setTransform(instances, idx, x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+		instances[idx + 6] = region.u;
+		instances[idx + 7] = region.v2;
+		instances[idx + 8] = region.u2;
+		instances[idx + 9] = region.v;
+		instances[idx + 10] = colorPacked;
+		this.idx = idx + INSTANCE_SIZE;
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+		float scaleX, float scaleY, float rotation, boolean clockwise) {
+		if (!drawing) throw new IllegalStateException("InstancedSpriteBatch.begin must be called before draw.");
+
+		float[] instances = this.instances;
+
+		Texture texture = region.texture;
+		if (texture != lastTexture)
+			switchTexture(texture);
+		else if (idx == instances.length) //
+			flush();
+
+		int idx = this.idx;
+		setTransform(instances, idx, x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+
+		// The region is rotated, so u changes along the second edge. Swap the edges so it changes along the first.
+		float tmp = instances[idx + 2];
+		instances[idx + 2] = instances[idx + 4];
+		instances[idx + 4] = tmp;
+		tmp = instances[idx + 3];
+		instances[idx + 3] = instances[idx + 5];
+		instances[idx + 5] = tmp;
+
+		if (clockwise) {
+			instances[idx + 6] = region.u2;
+			instances[idx + 7] = region.v2;
+			instances[idx + 8] = region.u;
+			instances[idx + 9] = region.v;
+		} else {
+			instances[idx + 6] = region.u;
+			instances[idx + 7] = region.v;
+			instances[idx + 8] = region.u2;
+			instances[idx + 9] = region.v2;
+		}
+		instances[idx + 10] = colorPacked;
+		this.idx = idx + INSTANCE_SIZE;
+	}
+
+	@Override
+	public void draw (TextureRegion region, float width, float height, Affine2 transform) {
+		if (!drawing) throw new IllegalStateException("InstancedSpriteBatch.begin must be called before draw.");
+
+		float[] instances = this.instances;
+
+		Texture texture = region.texture;
+		if (texture != lastTexture)
+			switchTexture(texture);
+		else if (idx == instances.length) //
+			flush();
+
+		int idx = this.idx;
+		instances[idx] = transform.m02;
+		instances[idx + 1] = transform.m12;
+		instances[idx + 2] = transform.m00 * width;
+		instances[idx + 3] = transform.m10 * width;
+		instances[idx + 4] = transform.m01 * height;
+		instances[idx + 5] = transform.m11 * height;
+		instances[idx + 6] = region.u;
+		instances[idx + 7] = region.v2;
+		instances[idx + 8] = region.u2;
+		instances[idx + 9] = region.v;
+		instances[idx + 10] = colorPacked;
+		this.idx = idx + INSTANCE_SIZE;
+	}
+
+	/** Adds an unrotated instance with the current color. */
+	private void add (float x, float y, float width, float height, float u, float v, float u2, float v2) {
+		float[] instances = this.instances;
+		int idx = this.idx;
+		instances[idx] = x;
+		instances[idx + 1] = y;
+		instances[idx + 2] = width;
+		instances[idx + 3] = 0;
+		instances[idx + 4] = 0;
+		instances[idx + 5] = height;
+		instances[idx + 6] = u;
+		instances[idx + 7] = v;
+		instances[idx + 8] = u2;
+		instances[idx + 9] = v2;
+		instances[idx + 10] = colorPacked;
+		this.idx = idx + INSTANCE_SIZE;
+	}
+
+	/** Sets the position and edges of the instance at the specified index, with the same math as {@link SpriteBatch}. */
+	static void setTransform (float[] instances, int idx, float x, float y, float originX, float originY, float width,
+		float height, float scaleX, float scaleY, float rotation) {
+		final float worldOriginX = x + originX;
+		final float worldOriginY = y + originY;
+		final float fx = -originX * scaleX;
+		final float fy = -originY * scaleY;
+		width *= scaleX;
+		height *= scaleY;
+		if (rotation != 0) {
+			final float cos = MathUtils.cosDeg(rotation);
+			final float sin = MathUtils.sinDeg(rotation);
+			instances[idx] = cos * fx - sin * fy + worldOriginX;
+			instances[idx + 1] = sin * fx + cos * fy + worldOriginY;
+			instances[idx + 2] = cos * width;
+			instances[idx + 3] = sin * width;
+			instances[idx + 4] = -sin * height;
+			instances[idx + 5] = cos * height;
+		} else {
+			instances[idx] = fx + worldOriginX;
+			instances[idx + 1] = fy + worldOriginY;
+			instances[idx + 2] = width;
+			instances[idx + 3] = 0;
+			instances[idx + 4] = 0;
+			instances[idx + 5] = height;
+		}
+	}
+
+	/** Converts the 4 vertices of a sprite in the layout of {@link SpriteBatch} to an instance. The quad is treated as a
+	 * parallelogram with the first, second and fourth corners, and the instance uses the color of the first vertex.
+	 * @param spriteVertices 20 floats, see {@link Sprite#getVertices()}.
+	 * @param instances receives {@link #INSTANCE_SIZE} floats. */
+	static public void toInstance (float[] spriteVertices, int offset, float[] instances, int instanceOffset) {
+		final float x1 = spriteVertices[offset], y1 = spriteVertices[offset + 1];
+		final float u1 = spriteVertices[offset + 3], v1 = spriteVertices[offset + 4];
+		final float x2 = spriteVertices[offset + 5], y2 = spriteVertices[offset + 6];
+		final float x4 = spriteVertices[offset + 15], y4 = spriteVertices[offset + 16];
+		instances[instanceOffset] = x1;
+		instances[instanceOffset + 1] = y1;
+		if (spriteVertices[offset + 8] == u1) {
+			instances[instanceOffset + 2] = x4 - x1;
+			instances[instanceOffset + 3] = y4 - y1;
+			instances[instanceOffset + 4] = x2 - x1;
+			instances[instanceOffset + 5] = y2 - y1;
+		} else {
+			// The region is rotated, u changes from the first to the second corner.
+			instances[instanceOffset + 2] = x2 - x1;
+			instances[instanceOffset + 3] = y2 - y1;
+			instances[instanceOffset + 4] = x4 - x1;
+			instances[instanceOffset + 5] = y4 - y1;
+		}
+		instances[instanceOffset + 6] = u1;
+		instances[instanceOffset + 7] = v1;
+		instances[instanceOffset + 8] = spriteVertices[offset + 13];
+		instances[instanceOffset + 9] = spriteVertices[offset + 14];
+		instances[instanceOffset + 10] = spriteVertices[offset + 2];
+	}
+
+	/** Computes the 4 vertices of an instance in the layout of {@link SpriteBatch}, the same as the default shader does.
+	 * @param instances {@link #INSTANCE_SIZE} floats.
+	 * @param spriteVertices receives 20 floats. */
+	static public void toVertices (float[] instances, int offset, float[] spriteVertices, int vertexOffset) {
+		final float x = instances[offset], y = instances[offset + 1];
+		final float edge1X = instances[offset + 2], edge1Y = instances[offset + 3];
+		final float edge2X = instances[offset + 4], edge2Y = instances[offset + 5];
+		final float u = instances[offset + 6], v = instances[offset + 7];
+		final float u2 = instances[offset + 8], v2 = instances[offset + 9];
+		final float color = instances[offset + 10];
+		for (int corner = 0; corner < 4; corner++) {
+			// Corners (0, 0), (0, 1), (1, 1), (1, 0).
+			int s = corner >> 1, t = (corner + 1) >> 1 & 1;
+			int i = vertexOffset + corner * 5;
+			spriteVertices[i] = x + s * edge1X + t * edge2X;
+			spriteVertices[i + 1] = y + s * edge1Y + t * edge2Y;
+			spriteVertices[i + 2] = color;
+			spriteVertices[i + 3] = s == 0 ? u : u2;
+			spriteVertices[i + 4] = t == 0 ? v : v2;
+		}
+	}
+
+	@Override
+	public void flush () {
+		if (idx == 0) return;
+
+		renderCalls++;
+		totalRenderCalls++;
+		int spritesInBatch = idx / INSTANCE_SIZE;
+		if (spritesInBatch > maxSpritesInBatch) maxSpritesInBatch = spritesInBatch;
+
+		lastTexture.bind();
+		Mesh mesh = this.mesh;
+		mesh.setInstanceData(instances, 0, idx);
+
+		if (blendingDisabled) {
+			Gdx.gl.glDisable(GL20.GL_BLEND);
+		} else {
+			Gdx.gl.glEnable(GL20.GL_BLEND);
+			if (blendSrcFunc != -1) Gdx.gl.glBlendFuncSeparate(blendSrcFunc, blendDstFunc, blendSrcFuncAlpha, blendDstFuncAlpha);
+		}
+
+		mesh.render(customShader != null ? customShader : shader, GL20.GL_TRIANGLES, 0, 6);
+
+		idx = 0;
+	}
+
+	@Override
+	public void disableBlending () {
+		if (blendingDisabled) return;
+		flush();
+		blendingDisabled = true;
+	}
+
+	@Override
+	public void enableBlending () {
+		if (!blendingDisabled) return;
+		flush();
+		blendingDisabled = false;
+	}
+
+	@Override
+	public void setBlendFunction (int srcFunc, int dstFunc) {
+		setBlendFunctionSeparate(srcFunc, dstFunc, srcFunc, dstFunc);
+	}
+
+	@Override
+	public void setBlendFunctionSeparate (int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {
+		if (blendSrcFunc == srcFuncColor && blendDstFunc == dstFuncColor && blendSrcFuncAlpha == srcFuncAlpha
+			&& blendDstFuncAlpha == dstFuncAlpha) return;
+		flush();
+		blendSrcFunc = srcFuncColor;
+		blendDstFunc = dstFuncColor;
+		blendSrcFuncAlpha = srcFuncAlpha;
+		blendDstFuncAlpha = dstFuncAlpha;
+	}
+
+	@Override
+	public int getBlendSrcFunc () {
+		return blendSrcFunc;
+	}
+
+	@Override
+	public int getBlendDstFunc () {
+		return blendDstFunc;
+	}
+
+	@Override
+	public int getBlendSrcFuncAlpha () {
+		return blendSrcFuncAlpha;
+	}
+
+	@Override
+	public int getBlendDstFuncAlpha () {
+		return blendDstFuncAlpha;
+	}
+
+	@Override
+	public void dispose () {
+		mesh.dispose();
+		if (ownsShader && shader != null) shader.dispose();
+	}
+
+	@Override
+	public Matrix4 getProjectionMatrix () {
+		return projectionMatrix;
+	}
+
+	@Override
+	public Matrix4 getTransformMatrix () {
+		return transformMatrix;
+	}
+
+	@Override
+	public void setProjectionMatrix (Matrix4 projection) {
+		if (drawing) flush();
+		projectionMatrix.set(projection);
+		if (drawing) setupMatrices();
+	}
+
+	@Override
+	public void setTransformMatrix (Matrix4 transform) {
+		if (drawing) flush();
+		transformMatrix.set(transform);
+		if (drawing) setupMatrices();
+	}
+
+	protected void setupMatrices () {
+		combinedMatrix.set(projectionMatrix).mul(transformMatrix);
+		ShaderProgram shader = customShader != null ? customShader : this.shader;
+		shader.setUniformMatrix("u_projTrans", combinedMatrix);
+		shader.setUniformi("u_texture", 0);
+	}
+
+	protected void switchTexture (Texture texture) {
+		flush();
+		lastTexture = texture;
+		invTexWidth = 1.0f / texture.getWidth();
+		invTexHeight = 1.0f / texture.getHeight();
+	}
+
+	@Override
+	public void setShader (ShaderProgram shader) {
+		if (shader == customShader) // avoid unnecessary flushing in case we are drawing
+			return;
+		if (drawing) {
+			flush();
+		}
+		customShader = shader;
+		if (drawing) {
+			if (customShader != null)
+				customShader.bind();
+			else
+				this.shader.bind();
+			setupMatrices();
+		}
+	}
+
+	@Override
+	public ShaderProgram getShader () {
+		if (customShader == null) {
+			return shader;
+		}
+		return customShader;
+	}
+
+	@Override
+	public boolean isBlendingEnabled () {
+		return !blendingDisabled;
+	}
+
+	public boolean isDrawing () {
+		return drawing;
+	}
+}
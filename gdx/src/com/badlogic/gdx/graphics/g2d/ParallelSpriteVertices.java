@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.graphics.g2d;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.badlogic.gdx.graphics.Texture;
+
+/** Computes the vertices of many sprites using multiple threads. The sprites of {@link SpriteArrays} are split into ranges and
+ * each range writes its own part of the vertices. Fewer than {@link #threshold} sprites are computed on the calling thread, as
+ * are all sprites when the pool has a parallelism of 1.
+ * <p>
+ * The {@link #add(SpriteCache, Texture, SpriteArrays, int, int)} and {@link #draw(Batch, Texture, SpriteArrays, int, int)}
+ * methods compute the vertices in parallel, then give them to the cache or batch on the calling thread, which must be the
+ * thread the cache or batch is used on. The vertices are kept in an array that is reused, so multiple threads must not use the
+ * same instance at the same time. */
+public class ParallelSpriteVertices {
+	private final ForkJoinPool pool;
+	private float[] vertices;
+
+	/** Fewer sprites than this are computed on the calling thread. Default is 4096. */
+	public int threshold = 4096;
+
+	/** Creates an instance that uses the common fork-join pool. */
+	public ParallelSpriteVertices () {
+		this(ForkJoinPool.commonPool());
+	}
+
+	public ParallelSpriteVertices (ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/** Computes the vertices of a range of sprites.
+	 * @see SpriteArrays#getVertices(int, int, float[], int, boolean) */
+	public void getVertices (SpriteArrays sprites, int start, int count, float[] vertices, int offset, boolean indexed) {
+		if (start < 0 || count < 0 || start + count > sprites.size)
+			throw new IndexOutOfBoundsException("start + count must be <= size: " + start + " + " + count + " <= " + sprites.size);
+		if (count < threshold || pool.getParallelism() < 2) {
+			sprites.getVertices(start, count, vertices, offset, indexed);
+			return;
+		}
+		// A few tasks per thread balances the work when some threads are busy.
+		int grain = Math.max(count / (pool.getParallelism() << 2), 256);
+		pool.invoke(new VerticesTask(sprites, start, start + count, vertices, offset, indexed, grain));
+	}
+
+	/** Adds a range of sprites that use the specified texture to the cache, computing the vertices in parallel.
+	 * @see SpriteCache#add(Texture, SpriteArrays, int, int) */
+	public void add (SpriteCache cache, Texture texture, SpriteArrays sprites, int start, int count) {
+		boolean indexed = cache.isIndexed();
+		int length = count * SpriteArrays.getVertexFloats(indexed);
+		float[] vertices = vertices(length);
+		getVertices(sprites, start, count, vertices, 0, indexed);
+		cache.add(texture, vertices, 0, length);
+	}
+
+	/** Draws a range of sprites that use the specified texture, computing the vertices in parallel. This works with any
+	 * {@link Batch} that accepts 4 vertices per sprite, such as {@link SpriteBatch} and {@link CpuSpriteBatch}.
+	 * @see Batch#draw(Texture, float[], int, int) */
+	public void draw (Batch batch, Texture texture, SpriteArrays sprites, int start, int count) {
+		int length = count * Sprite.SPRITE_SIZE;
+		float[] vertices = vertices(length);
+		getVertices(sprites, start, count, vertices, 0, true);
+		batch.draw(texture, vertices, 0, length);
+	}
+
+	private float[] vertices (int length) {
+		if (vertices == null || vertices.length < length) vertices = new float[length];
+		return vertices;
+	}
+
+	/** Computes the vertices of a range of sprites, splitting large ranges in half. */
+	static private class VerticesTask extends RecursiveAction {
+		private static final long serialVersionUID = -291201485027689341L;
+
+		final SpriteArrays sprites;
+		final int start, end, offset, grain;
+		final float[] vertices;
+		final boolean indexed;
+
+		VerticesTask (SpriteArrays sprites, int start, int end, float[] vertices, int offset, boolean indexed, int grain) {
+			this.sprites = sprites;
+			this.start = start;
+			this.end = end;
+			this.vertices = vertices;
+			this.offset = offset;
+			this.indexed = indexed;
+			this.grain = grain;
+		}
+
+		protected void compute () {
+			if (end - start <= grain) {
+				sprites.getVertices(start, end - start, vertices, offset, indexed);
+				return;
+			}
+			int mid = (start + end) >>> 1;
+			int midOffset = offset + (mid - start) * SpriteArrays.getVertexFloats(indexed);
+			invokeAll(new VerticesTask(sprites, start, mid, vertices, offset, indexed, grain),
+				new VerticesTask(sprites, mid, end, vertices, midOffset, indexed, grain));
+		}
+	}
+}
@@ -122,14 +122,19 @@ public class PolygonSpriteBatch implements PolygonBatch {
 	 * @param defaultShader The default shader to use. This is not owned by the PolygonSpriteBatch and must be disposed separately.
 	 *           May be null to use the default shader. */
 	public PolygonSpriteBatch (int maxVertices, int maxTriangles, ShaderProgram defaultShader) {
+		this(maxVertices, maxTriangles, defaultShader,
+			Gdx.gl30 != null ? VertexDataType.VertexBufferObjectWithVAO : VertexDataType.VertexArray);
+	}
+
+	/** Constructs a new PolygonSpriteBatch that stores its vertices using the specified {@link VertexDataType}.
+	 * {@link VertexDataType#VertexBufferObjectStreaming} writes the vertices of each flush to a new region of the vertex buffer,
+	 * so the flush doesn't wait for the GPU to finish drawing the previous vertices.
+	 * @see PolygonSpriteBatch#PolygonSpriteBatch(int, int, ShaderProgram) */
+	public PolygonSpriteBatch (int maxVertices, int maxTriangles, ShaderProgram defaultShader, VertexDataType vertexDataType) {
 		// 32767 is max vertex index.
 		if (maxVertices > 32767)
 			throw new IllegalArgumentException("Can't have more than 32767 vertices per batch: " + maxVertices);
 
-		Mesh.VertexDataType vertexDataType = Mesh.VertexDataType.VertexArray;
-		if (Gdx.gl30 != null) {
-			vertexDataType = VertexDataType.VertexBufferObjectWithVAO;
-		}
 		mesh = new Mesh(vertexDataType, false, maxVertices, maxTriangles * 3,
 			new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
 			new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.graphics.g2d;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.MathUtils;
+
+/** Describes many sprites that use the same texture, with one array per property. The vertices of a range of sprites can be
+ * computed with {@link #getVertices(int, int, float[], int, boolean)}, on any thread or in parallel with
+ * {@link ParallelSpriteVertices}, and given to {@link SpriteCache#add(com.badlogic.gdx.graphics.Texture, float[], int, int)} or
+ * {@link Batch#draw(com.badlogic.gdx.graphics.Texture, float[], int, int)}.
+ * <p>
+ * The arrays can be modified directly. Sprites are at indices 0 to {@link #size} - 1. */
+public class SpriteArrays {
+	public float[] x, y, width, height, originX, originY, scaleX, scaleY, rotation;
+	/** The texture region of each sprite, as in {@link TextureRegion}. */
+	public float[] u, v, u2, v2;
+	/** The packed color of each sprite, see {@link Color#toFloatBits()}. */
+	public float[] color;
+	public int size;
+
+	/** Creates SpriteArrays with a capacity of 16 sprites. */
+	public SpriteArrays () {
+		this(16);
+	}
+
+	public SpriteArrays (int capacity) {
+		resize(Math.max(1, capacity));
+	}
+
+	/** Adds an unrotated sprite with the specified region and color.
+	 * @return the index of the sprite. */
+	public int add (TextureRegion region, float x, float y, float width, float height, float color) {
+		return add(region, x, y, 0, 0, width, height, 1, 1, 0, color);
+	}
+
+	/** Adds a sprite with the specified region, transformation and color, as in
+	 * {@link Batch#draw(TextureRegion, float, float, float, float, float, float, float, float, float)}.
+	 * @return the index of the sprite. */
+	public int add (TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX,
+		float scaleY, float rotation, float color) {
+		if (size == this.x.length) resize(Math.max(8, (int)(size * 1.75f)));
+		int i = size++;
+		this.x[i] = x;
+		this.y[i] = y;
+		this.width[i] = width;
+		this.height[i] = height;
+		this.originX[i] = originX;
+		this.originY[i] = originY;
+		this.scaleX[i] = scaleX;
+		this.scaleY[i] = scaleY;
+		this.rotation[i] = rotation;
+		u[i] = region.u;
+		v[i] = region.v;
+		u2[i] = region.u2;
+		v2[i] = region.v2;
+		this.color[i] = color;
+		return i;
+	}
+
+	/** Increases the size of the arrays if necessary to hold the additional number of sprites. Useful before adding many sprites
+	 * to avoid multiple resizes. */
+	public void ensureCapacity (int additionalCapacity) {
+		if (additionalCapacity < 0) throw new IllegalArgumentException("additionalCapacity must be >= 0: " + additionalCapacity);
+		int sizeNeeded = size + additionalCapacity;
+		if (sizeNeeded > x.length) resize(Math.max(Math.max(8, sizeNeeded), (int)(size * 1.75f)));
+	}
+
+	private void resize (int newSize) {
+		x = resize(x, newSize);
+		y = resize(y, newSize);
+		width = resize(width, newSize);
+		height = resize(height, newSize);
+		originX = resize(originX, newSize);
+		originY = resize(originY, newSize);
+		scaleX = resize(scaleX, newSize);
+		scaleY = resize(scaleY, newSize);
+		rotation = resize(rotation, newSize);
+		u = resize(u, newSize);
+		v = resize(v, newSize);
+		u2 = resize(u2, newSize);
+		v2 = resize(v2, newSize);
+		color = resize(color, newSize);
+	}
+
+	private float[] resize (float[] items, int newSize) {
+		float[] newItems = new float[newSize];
+		if (items != null) System.arraycopy(items, 0, newItems, 0, Math.min(size, newSize));
+		return newItems;
+	}
+
+	public void clear () {
+		size = 0;
+	}
+
+	/** Returns the number of floats {@link #getVertices(int, int, float[], int, boolean)} writes for each sprite. */
+	static public int getVertexFloats (boolean indexed) {
+		return indexed ? Sprite.SPRITE_SIZE : 6 * Sprite.VERTEX_SIZE;
+	}
+
+	/** Computes the vertices of a range of sprites, the same as
+	 * {@link SpriteCache#add(TextureRegion, float, float, float, float, float, float, float, float, float)}. Each vertex is x,
+	 * y, color, u and v. This only reads the arrays, so different ranges can be computed on different threads.
+	 * @param start the index of the first sprite.
+	 * @param count the number of sprites.
+	 * @param vertices receives count * {@link #getVertexFloats(boolean)} floats.
+	 * @param indexed if true, 4 vertices are written per sprite for indexed geometry, such as {@link SpriteBatch} and a
+	 *           {@link SpriteCache} that uses indices. Otherwise 6 vertices are written, as 2 triangles. */
+	public void getVertices (int start, int count, float[] vertices, int offset, boolean indexed) {
+		if (start < 0 || count < 0 || start + count > size)
+			throw new IndexOutOfBoundsException("start + count must be <= size: " + start + " + " + count + " <= " + size);
+		final float[] xs = this.x, ys = this.y, widths = this.width, heights = this.height;
+		final float[] originXs = this.originX, originYs = this.originY, scaleXs = this.scaleX, scaleYs = this.scaleY;
+		final float[] rotations = this.rotation, us = this.u, vs = this.v, u2s = this.u2, v2s = this.v2, colors = this.color;
+		for (int i = start, n = start + count; i < n; i++) {
+			final float originX = originXs[i], originY = originYs[i], scaleX = scaleXs[i], scaleY = scaleYs[i];
+			final float rotation = rotations[i];
+
+			// bottom left and top right corner points relative to origin
+			final float worldOriginX = xs[i] + originX;
+			final float worldOriginY = ys[i] + originY;
+			float fx = -originX;
+			float fy = -originY;
+			float fx2 = widths[i] - originX;
+			float fy2 = heights[i] - originY;
+
+			// scale
+			if (scaleX != 1 || scaleY != 1) {
+				fx *= scaleX;
+				fy *= scaleY;
+				fx2 *= scaleX;
+				fy2 *= scaleY;
+			}
+
+			float x1, y1, x2, y2, x3, y3, x4, y4;
+
+			// rotate
+			if (rotation != 0) {
+				final float cos = MathUtils.cosDeg(rotation);
+				final float sin = MathUtils.sinDeg(rotation);
+
+				x1 = cos * fx - sin * fy;
+				y1 = sin * fx + cos * fy;
+
+				x2 = cos * fx - sin * fy2;
+				y2 = sin * fx + cos * fy2;
+
+				x3 = cos * fx2 - sin * fy2;
+				y3 = sin * fx2 + cos * fy2;
+
+				x4 = x1 + (x3 - x2);
+				y4 = y3 - (y2 - y1);
+			} else {
+				x1 = fx;
+				y1 = fy;
+
+				x2 = fx;
+				y2 = fy2;
+
+				x3 = fx2;
+				y3 = fy2;
+
+				x4 = fx2;
+				y4 = fy;
+			}
+
+			x1 += worldOriginX;
+			y1 += worldOriginY;
+			x2 += worldOriginX;
+			y2 += worldOriginY;
+			x3 += worldOriginX;
+			y3 += worldOriginY;
+			x4 += worldOriginX;
+			y4 += worldOriginY;
+
+			final float u = us[i];
+			final float v = v2s[i];
+			final float u2 = u2s[i];
+			final float v2 = vs[i];
+			final float color = colors[i];
+
+			vertices[offset] = x1;
+			vertices[offset + 1] = y1;
+			vertices[offset + 2] = color;
+			vertices[offset + 3] = u;
+			vertices[offset + 4] = v;
+
+			vertices[offset + 5] = x2;
+			vertices[offset + 6] = y2;
+			vertices[offset + 7] = color;
+			vertices[offset + 8] = u;
+			vertices[offset + 9] = v2;
+
+			vertices[offset + 10] = x3;
+			vertices[offset + 11] = y3;
+			vertices[offset + 12] = color;
+			vertices[offset + 13] = u2;
+			vertices[offset + 14] = v2;
+
+			if (indexed) {
+				vertices[offset + 15] = x4;
+				vertices[offset + 16] = y4;
+				vertices[offset + 17] = color;
+				vertices[offset + 18] = u2;
+				vertices[offset + 19] = v;
+				offset += 20;
+			} else {
+				vertices[offset + 15] = x3;
+				vertices[offset + 16] = y3;
+				vertices[offset + 17] = color;
+				vertices[offset + 18] = u2;
+				vertices[offset + 19] = v2;
+
+				vertices[offset + 20] = x4;
+				vertices[offset + 21] = y4;
+				vertices[offset + 22] = color;
+				vertices[offset + 23] = u2;
+				vertices[offset + 24] = v;
+
+				vertices[offset + 25] = x1;
+				vertices[offset + 26] = y1;
+				vertices[offset + 27] = color;
+				vertices[offset + 28] = u;
+				vertices[offset + 29] = v;
+				offset += 30;
+			}
+		}
+	}
+}
@@ -103,15 +103,20 @@ public class SpriteBatch implements Batch {
 	 * @param size The max number of sprites in a single batch. Max of 8191.
 	 * @param defaultShader The default shader to use. This is not owned by the SpriteBatch and must be disposed separately. */
 	public SpriteBatch (int size, ShaderProgram defaultShader) {
+		this(size, defaultShader, overrideVertexType != null ? overrideVertexType
+			: (Gdx.gl30 != null) ? VertexDataType.VertexBufferObjectWithVAO : defaultVertexDataType);
+	}
+
+	/** Constructs a new SpriteBatch that stores its vertices using the specified {@link VertexDataType}.
+	 * {@link VertexDataType#VertexBufferObjectStreaming} writes the vertices of each flush to a new region of the vertex buffer,
+	 * so the flush doesn't wait for the GPU to finish drawing the previous vertices.
+	 * @param size The max number of sprites in a single batch. Max of 8191.
+	 * @param defaultShader The default shader to use. This is not owned by the SpriteBatch and must be disposed separately.
+	 * @see SpriteBatch#SpriteBatch(int, ShaderProgram) */
+	public SpriteBatch (int size, ShaderProgram defaultShader, VertexDataType vertexDataType) {
 		// 32767 is max vertex index, so 32767 / 4 vertices per sprite = 8191 sprites max.
 		if (size > 8191) throw new IllegalArgumentException("Can't have more than 8191 sprites per batch: " + size);
 
-		VertexDataType vertexDataType = (Gdx.gl30 != null) ? VertexDataType.VertexBufferObjectWithVAO : defaultVertexDataType;
-
-		if (overrideVertexType != null) {
-			vertexDataType = overrideVertexType;
-		}
-
 		currentDataType = vertexDataType;
 
 		mesh = new Mesh(currentDataType, false, size * 4, size * 6,
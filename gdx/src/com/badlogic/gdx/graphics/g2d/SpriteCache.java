@@ -67,7 +67,7 @@ import com.badlogic.gdx.utils.IntArray;
  * SpriteCache must be disposed once it is no longer needed.
  * @author Nathan Sweet */
 public class SpriteCache implements Disposable {
-	static private final float[] tempVertices = new float[VERTEX_SIZE * 6];
+	static private final float[] tempVertices = new float[VERTEX_SIZE * 6 * 64];
 
 	private final Mesh mesh;
 	private boolean drawing;
@@ -833,6 +833,21 @@ public class SpriteCache implements Disposable {
 		}
 	}
 
+	/** Adds a range of sprites that use the specified texture to the cache. To compute the vertices of many sprites on multiple
+	 * threads, use {@link ParallelSpriteVertices#add(SpriteCache, Texture, SpriteArrays, int, int)}.
+	 * @param start the index of the first sprite.
+	 * @param count the number of sprites. */
+	public void add (Texture texture, SpriteArrays sprites, int start, int count) {
+		boolean indexed = isIndexed();
+		int vertexFloats = SpriteArrays.getVertexFloats(indexed);
+		int chunk = tempVertices.length / vertexFloats;
+		for (int end = start + count; start < end; start += chunk) {
+			int n = Math.min(chunk, end - start);
+			sprites.getVertices(start, n, tempVertices, 0, indexed);
+			add(texture, tempVertices, 0, n * vertexFloats);
+		}
+	}
+
 	/** Adds the specified sprite to the cache. */
 	public void add (Sprite sprite) {
 		if (mesh.getNumIndices() > 0) {
@@ -848,6 +863,11 @@ public class SpriteCache implements Disposable {
 		add(sprite.getTexture(), tempVertices, 0, 30);
 	}
 
+	/** Returns true if each image is 4 vertices using indices, false if it is 6 vertices. */
+	boolean isIndexed () {
+		return mesh.getNumIndices() > 0;
+	}
+
 	/** Prepares the OpenGL state for SpriteCache rendering. */
 	public void begin () {
 		if (drawing) throw new IllegalStateException("end must be called before begin.");
@@ -39,8 +39,20 @@ import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ArrayMap;
 import com.badlogic.gdx.utils.BaseJsonReader;
+import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonCursor;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonTextCursor;
 import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.SerializationException;
+import com.badlogic.gdx.utils.ShortArray;
+import com.badlogic.gdx.utils.UBJsonCursor;
+import com.badlogic.gdx.utils.UBJsonReader;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
 
 public class G3dModelLoader extends ModelLoader<ModelLoader.ModelParameters> {
 	public static final short VERSION_HI = 0;
@@ -62,22 +74,54 @@ public class G3dModelLoader extends ModelLoader<ModelLoader.ModelParameters> {
 	}
 
 	public ModelData parseModel (FileHandle handle) {
-		JsonValue json = reader.parse(handle);
 		ModelData model = new ModelData();
-		JsonValue version = json.require("version");
-		model.version[0] = version.getShort(0);
-		model.version[1] = version.getShort(1);
-		if (model.version[0] != VERSION_HI || model.version[1] != VERSION_LO)
-			throw new GdxRuntimeException("Model version not supported");
+		JsonValue json;
+		JsonCursor cursor = cursor(handle);
+		if (cursor != null) {
+			// Stream the meshes and build a DOM only for the rest of the model. Meshes that come before the version are kept in the
+			// DOM so an unsupported file fails before any mesh is parsed.
+			json = new JsonValue(ValueType.object);
+			boolean versionChecked = false;
+			try {
+				cursor.beginObject();
+				while (cursor.hasNext()) {
+					String name = cursor.nextName();
+					if (name.equals("meshes") && versionChecked)
+						parseMeshes(model, cursor);
+					else {
+						JsonValue value = cursor.nextValue();
+						json.addChild(name, value);
+						if (name.equals("version")) {
+							parseVersion(model, value);
+							versionChecked = true;
+						}
+					}
+				}
+				cursor.endObject();
+			} catch (SerializationException ex) {
+				throw new SerializationException("Error parsing file: " + handle, ex);
+			} finally {
+				cursor.close();
+			}
+		} else
+			json = reader.parse(handle);
+		parseVersion(model, json.require("version"));
+		parseMeshes(model, json);
 
 		model.id = json.getString("id", "");
-		parseMeshes(model, json);
 		parseMaterials(model, json, handle.parent().path());
 		parseNodes(model, json);
 		parseAnimations(model, json);
 		return model;
 	}
 
+	private void parseVersion (ModelData model, JsonValue version) {
+		model.version[0] = version.getShort(0);
+		model.version[1] = version.getShort(1);
+		if (model.version[0] != VERSION_HI || model.version[1] != VERSION_LO)
+			throw new GdxRuntimeException("Model version not supported");
+	}
+
 	protected void parseMeshes (ModelData model, JsonValue json) {
 		JsonValue meshes = json.get("meshes");
 		if (meshes != null) {
@@ -123,6 +167,102 @@ public class G3dModelLoader extends ModelLoader<ModelLoader.ModelParameters> {
 		}
 	}
 
+	/** Returns a cursor to stream the model from, or null to parse the whole model into a DOM using the {@link #reader}. The
+	 * default implementation returns a cursor for {@link JsonReader} and {@link UBJsonReader}, unless a subclass overrides
+	 * {@link #parseMeshes(ModelData, JsonValue)}. When a cursor is returned, meshes are read by
+	 * {@link #parseMeshes(ModelData, JsonCursor)} instead of {@link #parseMeshes(ModelData, JsonValue)}. */
+	protected @Null JsonCursor cursor (FileHandle handle) {
+		if (overridesParseMeshes()) return null;
+		Class<?> type = reader.getClass();
+		if (type == JsonReader.class) return new JsonTextCursor(handle);
+		if (type == UBJsonReader.class) {
+			UBJsonCursor cursor = new UBJsonCursor(handle);
+			cursor.oldFormat = ((UBJsonReader)reader).oldFormat;
+			return cursor;
+		}
+		return null;
+	}
+
+	private boolean overridesParseMeshes () {
+		for (Class<?> type = getClass(); type != G3dModelLoader.class; type = type.getSuperclass()) {
+			try {
+				ClassReflection.getDeclaredMethod(type, "parseMeshes", ModelData.class, JsonValue.class);
+				return true;
+			} catch (ReflectionException ignored) {
+			}
+		}
+		return false;
+	}
+
+	/** Reads the meshes array, streaming the vertices and indices into primitive arrays without creating a {@link JsonValue} for
+	 * each number. */
+	protected void parseMeshes (ModelData model, JsonCursor cursor) {
+		cursor.beginArray();
+		while (cursor.hasNext()) {
+			ModelMesh jsonMesh = new ModelMesh();
+			jsonMesh.id = "";
+			cursor.beginObject();
+			while (cursor.hasNext()) {
+				String name = cursor.nextName();
+				if (name.equals("id"))
+					jsonMesh.id = cursor.nextString();
+				else if (name.equals("attributes"))
+					jsonMesh.attributes = parseAttributes(cursor.nextValue());
+				else if (name.equals("vertices"))
+					jsonMesh.vertices = cursor.nextFloats(new FloatArray()).shrink();
+				else if (name.equals("parts"))
+					jsonMesh.parts = parseMeshParts(cursor);
+				else
+					cursor.skipValue();
+			}
+			cursor.endObject();
+			if (jsonMesh.attributes == null) throw new IllegalArgumentException("Child not found with name: attributes");
+			if (jsonMesh.vertices == null) throw new IllegalArgumentException("Child not found with name: vertices");
+			if (jsonMesh.parts == null) throw new IllegalArgumentException("Child not found with name: parts");
+			model.meshes.add(jsonMesh);
+		}
+		cursor.endArray();
+	}
+
+	private ModelMeshPart[] parseMeshParts (JsonCursor cursor) {
+		Array<ModelMeshPart> parts = new Array<ModelMeshPart>();
+		cursor.beginArray();
+		while (cursor.hasNext()) {
+			ModelMeshPart jsonPart = new ModelMeshPart();
+			String type = null;
+			cursor.beginObject();
+			while (cursor.hasNext()) {
+				String name = cursor.nextName();
+				if (name.equals("id"))
+					jsonPart.id = cursor.nextString();
+				else if (name.equals("type"))
+					type = cursor.nextString();
+				else if (name.equals("indices"))
+					jsonPart.indices = cursor.nextShorts(new ShortArray()).shrink();
+				else
+					cursor.skipValue();
+			}
+			cursor.endObject();
+			String partId = jsonPart.id;
+			if (partId == null) {
+				throw new GdxRuntimeException("Not id given for mesh part");
+			}
+			for (ModelMeshPart other : parts) {
+				if (other.id.equals(partId)) {
+					throw new GdxRuntimeException("Mesh part with id '" + partId + "' already in defined");
+				}
+			}
+			if (type == null) {
+				throw new GdxRuntimeException("No primitive type given for mesh part '" + partId + "'");
+			}
+			jsonPart.primitiveType = parseType(type);
+			if (jsonPart.indices == null) throw new IllegalArgumentException("Child not found with name: indices");
+			parts.add(jsonPart);
+		}
+		cursor.endArray();
+		return parts.toArray(ModelMeshPart[]::new);
+	}
+
 	protected int parseType (String type) {
 		if (type.equals("TRIANGLES")) {
 			return GL20.GL_TRIANGLES;
@@ -145,8 +285,7 @@ public class G3dModelLoader extends ModelLoader<ModelLoader.ModelParameters> {
 		int unit = 0;
 		int blendWeightCount = 0;
 		for (JsonValue value = attributes.child; value != null; value = value.next) {
-			String attribute = value.asString();
-			String attr = (String)attribute;
+			String attr = value.asString();
 			if (attr.equals("POSITION")) {
 				vertexAttributes.add(VertexAttribute.Position());
 			} else if (attr.equals("NORMAL")) {
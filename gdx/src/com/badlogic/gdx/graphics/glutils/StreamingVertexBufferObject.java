@@ -0,0 +1,367 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.graphics.glutils;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.Application.ApplicationType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+/** A {@link VertexData} for vertices that are replaced each time they are drawn, such as the vertices of a batch. The OpenGL
+ * buffer holds a number of regions of {@link #getNumMaxVertices()} vertices. New vertices are written after the previous ones
+ * and {@link #bind(ShaderProgram)} points the vertex attributes at them, so writing never has to wait for the GPU to finish
+ * reading vertices that were drawn before.
+ * <p>
+ * With GL30 the vertices are written to memory mapped with glMapBufferRange and GL_MAP_UNSYNCHRONIZED_BIT. When the buffer is
+ * full, it is orphaned with glBufferData before the next mapping. The driver provides new storage while queued draws still use
+ * the old storage, so no fences are needed. With GL20, and on WebGL which can't map buffers, vertices are uploaded with
+ * glBufferSubData instead of mapped.
+ * <p>
+ * {@link #mapVertices(int)} and {@link #unmapVertices(int)} write vertices directly to the mapped memory. {@link #getBuffer(boolean)}
+ * returns a staging buffer that is only uploaded when it is written to.
+ * <p>
+ * If the OpenGL ES context was lost you can call {@link #invalidate()} to recreate the buffer. StreamingVertexBufferObjects must
+ * be disposed via the {@link #dispose()} method when no longer needed. */
+public class StreamingVertexBufferObject implements VertexData {
+	final static IntBuffer tmpHandle = BufferUtils.newIntBuffer(1);
+
+	final VertexAttributes attributes;
+	final ByteBuffer byteBuffer;
+	final FloatBuffer buffer;
+	final int capacity;
+	final boolean useMapping;
+	int bufferHandle;
+	int vaoHandle = -1;
+	/** Byte offsets in the OpenGL buffer of the current vertices and of where the next vertices are written. */
+	int drawOffset, writeOffset;
+	int numVertices;
+	int mappedBytes = -1;
+	boolean isDirty = false;
+	boolean isBound = false;
+	ShaderProgram boundShader;
+	int[] boundLocations;
+	final IntArray enabledLocations = new IntArray();
+
+	/** Constructs a StreamingVertexBufferObject with 3 regions.
+	 * @param numVertices the maximum number of vertices drawn at once
+	 * @param attributes the {@link VertexAttribute}s. */
+	public StreamingVertexBufferObject (int numVertices, VertexAttribute... attributes) {
+		this(numVertices, 3, new VertexAttributes(attributes));
+	}
+
+	/** Constructs a StreamingVertexBufferObject with 3 regions.
+	 * @param numVertices the maximum number of vertices drawn at once
+	 * @param attributes the {@link VertexAttributes}. */
+	public StreamingVertexBufferObject (int numVertices, VertexAttributes attributes) {
+		this(numVertices, 3, attributes);
+	}
+
+	/** @param numVertices the maximum number of vertices drawn at once
+	 * @param regions the OpenGL buffer holds regions * numVertices vertices. When it is full it is orphaned, so more regions
+	 *           orphan less often and use more memory.
+	 * @param attributes the {@link VertexAttributes}. */
+	public StreamingVertexBufferObject (int numVertices, int regions, VertexAttributes attributes) {
+		if (regions < 1) throw new IllegalArgumentException("regions must be > 0: " + regions);
+		this.attributes = attributes;
+		byteBuffer = BufferUtils.newByteBuffer(attributes.vertexSize * numVertices);
+		buffer = byteBuffer.asFloatBuffer();
+		((Buffer)buffer).flip();
+		((Buffer)byteBuffer).flip();
+		capacity = attributes.vertexSize * numVertices * regions;
+		useMapping = Gdx.gl30 != null && Gdx.app.getType() != ApplicationType.WebGL;
+		createBuffer();
+	}
+
+	private void createBuffer () {
+		GL20 gl = Gdx.gl20;
+		bufferHandle = gl.glGenBuffer();
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		gl.glBufferData(GL20.GL_ARRAY_BUFFER, capacity, null, GL20.GL_STREAM_DRAW);
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		if (Gdx.gl30 != null) {
+			((Buffer)tmpHandle).clear();
+			Gdx.gl30.glGenVertexArrays(1, tmpHandle);
+			vaoHandle = tmpHandle.get();
+		}
+		enabledLocations.clear();
+		drawOffset = 0;
+		writeOffset = 0;
+	}
+
+	@Override
+	public VertexAttributes getAttributes () {
+		return attributes;
+	}
+
+	@Override
+	public int getNumVertices () {
+		return isDirty ? buffer.limit() * 4 / attributes.vertexSize : numVertices;
+	}
+
+	@Override
+	public int getNumMaxVertices () {
+		return byteBuffer.capacity() / attributes.vertexSize;
+	}
+
+	/** @deprecated use {@link #getBuffer(boolean)} instead */
+	@Override
+	@Deprecated
+	public FloatBuffer getBuffer () {
+		isDirty = true;
+		return buffer;
+	}
+
+	/** Returns the staging buffer. Vertices set with {@link #setVertices(float[], int, int)} or {@link #mapVertices(int)} are not
+	 * copied to it. When forWriting is true, its contents from position 0 to its limit are uploaded as new vertices on the next
+	 * bind. */
+	@Override
+	public FloatBuffer getBuffer (boolean forWriting) {
+		isDirty |= forWriting;
+		return buffer;
+	}
+
+	@Override
+	public void setVertices (float[] vertices, int offset, int count) {
+		if (mappedBytes != -1) throw new GdxRuntimeException("unmapVertices must be called first.");
+		isDirty = false;
+		int bytes = count * 4;
+		if (useMapping && bytes > 0) {
+			BufferUtils.copy(vertices, map(bytes, 0), count, offset);
+			Gdx.gl30.glUnmapBuffer(GL20.GL_ARRAY_BUFFER);
+			written(bytes);
+		} else {
+			BufferUtils.copy(vertices, byteBuffer, count, offset);
+			upload(bytes);
+		}
+	}
+
+	/** Updates the current vertices with glBufferSubData, which waits if queued draws are still reading them. */
+	@Override
+	public void updateVertices (int targetOffset, float[] vertices, int sourceOffset, int count) {
+		if (isDirty) {
+			final int pos = byteBuffer.position();
+			((Buffer)byteBuffer).position(targetOffset * 4);
+			BufferUtils.copy(vertices, sourceOffset, count, byteBuffer);
+			((Buffer)byteBuffer).position(pos);
+			((Buffer)buffer).position(0);
+			return;
+		}
+		BufferUtils.copy(vertices, byteBuffer, count, sourceOffset);
+		GL20 gl = Gdx.gl20;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		gl.glBufferSubData(GL20.GL_ARRAY_BUFFER, drawOffset + targetOffset * 4, count * 4, byteBuffer);
+	}
+
+	/** Returns a buffer to write up to count floats of new vertices to, starting at position 0. With GL30 this is mapped
+	 * OpenGL buffer memory, so the vertices are not copied again. {@link #unmapVertices(int)} must be called before the vertices
+	 * are drawn or this VertexData is used otherwise.
+	 * @param count the maximum number of floats that will be written, at most {@link #getNumMaxVertices()} vertices. */
+	public FloatBuffer mapVertices (int count) {
+		if (mappedBytes != -1) throw new GdxRuntimeException("unmapVertices must be called first.");
+		int bytes = count * 4;
+		if (bytes > byteBuffer.capacity())
+			throw new IllegalArgumentException("count must be <= " + byteBuffer.capacity() / 4 + ": " + count);
+		mappedBytes = bytes;
+		if (useMapping && bytes > 0) return map(bytes, GL30.GL_MAP_FLUSH_EXPLICIT_BIT).asFloatBuffer();
+		((Buffer)buffer).clear();
+		return buffer;
+	}
+
+	/** Makes the vertices written to the buffer returned by {@link #mapVertices(int)} the current vertices.
+	 * @param count the number of floats that were written. */
+	public void unmapVertices (int count) {
+		if (mappedBytes == -1) throw new GdxRuntimeException("mapVertices must be called first.");
+		int bytes = count * 4;
+		if (bytes > mappedBytes) throw new IllegalArgumentException("count must be <= " + mappedBytes / 4 + ": " + count);
+		isDirty = false;
+		if (useMapping && mappedBytes > 0) {
+			GL30 gl = Gdx.gl30;
+			gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+			if (bytes > 0) gl.glFlushMappedBufferRange(GL20.GL_ARRAY_BUFFER, 0, bytes);
+			gl.glUnmapBuffer(GL20.GL_ARRAY_BUFFER);
+			written(bytes);
+		} else {
+			((Buffer)byteBuffer).position(0);
+			((Buffer)byteBuffer).limit(bytes);
+			upload(bytes);
+		}
+		mappedBytes = -1;
+	}
+
+	/** Maps bytes after the previously written vertices, or at the start of the orphaned buffer if they don't fit. */
+	private ByteBuffer map (int bytes, int access) {
+		GL30 gl = Gdx.gl30;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		if (writeOffset + bytes > capacity) {
+			// Drivers need not orphan for GL_MAP_INVALIDATE_BUFFER_BIT with GL_MAP_UNSYNCHRONIZED_BIT, so orphan explicitly.
+			gl.glBufferData(GL20.GL_ARRAY_BUFFER, capacity, null, GL20.GL_STREAM_DRAW);
+			writeOffset = 0;
+		}
+		access |= GL30.GL_MAP_WRITE_BIT | GL30.GL_MAP_UNSYNCHRONIZED_BIT | GL30.GL_MAP_INVALIDATE_RANGE_BIT;
+		ByteBuffer mapped = (ByteBuffer)gl.glMapBufferRange(GL20.GL_ARRAY_BUFFER, writeOffset, bytes, access);
+		if (mapped == null) throw new GdxRuntimeException("Unable to map the vertex buffer: " + gl.glGetError());
+		return mapped.order(ByteOrder.nativeOrder());
+	}
+
+	/** Uploads the staging buffer after the previously written vertices, or at the start of the orphaned buffer if it doesn't
+	 * fit. */
+	private void upload (int bytes) {
+		if (bytes > 0) {
+			GL20 gl = Gdx.gl20;
+			gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+			if (writeOffset + bytes > capacity) {
+				gl.glBufferData(GL20.GL_ARRAY_BUFFER, capacity, null, GL20.GL_STREAM_DRAW);
+				writeOffset = 0;
+			}
+			gl.glBufferSubData(GL20.GL_ARRAY_BUFFER, writeOffset, bytes, byteBuffer);
+		}
+		written(bytes);
+	}
+
+	private void written (int bytes) {
+		drawOffset = writeOffset;
+		writeOffset += bytes;
+		numVertices = bytes / attributes.vertexSize;
+		// Keep bound attributes pointing at the current vertices, as VertexData allows setting vertices while bound.
+		if (isBound) setAttributes(boundShader, boundLocations);
+	}
+
+	@Override
+	public void bind (ShaderProgram shader) {
+		bind(shader, null);
+	}
+
+	@Override
+	public void bind (ShaderProgram shader, int[] locations) {
+		if (vaoHandle != -1) Gdx.gl30.glBindVertexArray(vaoHandle);
+		boundShader = shader;
+		boundLocations = locations;
+		isBound = true;
+		if (isDirty) {
+			// Upload the staging buffer, which also sets the attributes.
+			int count = buffer.limit();
+			if (useMapping && count > 0) {
+				((Buffer)byteBuffer).position(0);
+				((Buffer)byteBuffer).limit(count * 4);
+				BufferUtils.copy(byteBuffer, map(count * 4, 0), count * 4);
+				Gdx.gl30.glUnmapBuffer(GL20.GL_ARRAY_BUFFER);
+				isDirty = false;
+				written(count * 4);
+			} else {
+				isDirty = false;
+				((Buffer)byteBuffer).position(0);
+				((Buffer)byteBuffer).limit(count * 4);
+				upload(count * 4);
+			}
+		} else
+			setAttributes(shader, locations);
+	}
+
+	/** Points the vertex attributes at the current vertices. */
+	private void setAttributes (ShaderProgram shader, int[] locations) {
+		Gdx.gl20.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		VertexAttributes attributes = this.attributes;
+		int numAttributes = attributes.size();
+		if (vaoHandle != -1) {
+			// The VAO keeps attributes enabled, disable those of a previous shader.
+			boolean changed = enabledLocations.size != numAttributes;
+			for (int i = 0; !changed && i < numAttributes; i++)
+				changed = enabledLocations.get(i) != location(shader, locations, i);
+			if (changed) {
+				for (int i = 0; i < enabledLocations.size; i++) {
+					int location = enabledLocations.get(i);
+					if (location >= 0) shader.disableVertexAttribute(location);
+				}
+				enabledLocations.clear();
+				for (int i = 0; i < numAttributes; i++) {
+					int location = location(shader, locations, i);
+					enabledLocations.add(location);
+					if (location >= 0) shader.enableVertexAttribute(location);
+				}
+			}
+		}
+		for (int i = 0; i < numAttributes; i++) {
+			VertexAttribute attribute = attributes.get(i);
+			int location = location(shader, locations, i);
+			if (location < 0) continue;
+			if (vaoHandle == -1) shader.enableVertexAttribute(location);
+			shader.setVertexAttribute(location, attribute.numComponents, attribute.type, attribute.normalized,
+				attributes.vertexSize, drawOffset + attribute.offset);
+		}
+	}
+
+	private int location (ShaderProgram shader, int[] locations, int index) {
+		return locations == null ? shader.getAttributeLocation(attributes.get(index).alias) : locations[index];
+	}
+
+	@Override
+	public void unbind (ShaderProgram shader) {
+		unbind(shader, null);
+	}
+
+	@Override
+	public void unbind (ShaderProgram shader, int[] locations) {
+		if (vaoHandle != -1)
+			Gdx.gl30.glBindVertexArray(0);
+		else {
+			for (int i = 0, n = attributes.size(); i < n; i++) {
+				int location = location(shader, locations, i);
+				if (location >= 0) shader.disableVertexAttribute(location);
+			}
+			Gdx.gl20.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		}
+		boundShader = null;
+		boundLocations = null;
+		isBound = false;
+	}
+
+	/** Invalidates the StreamingVertexBufferObject so a new OpenGL buffer is created. Use this in case of a context loss. The
+	 * current vertices are lost. */
+	@Override
+	public void invalidate () {
+		createBuffer();
+		numVertices = 0;
+	}
+
+	/** Disposes of all resources this StreamingVertexBufferObject uses. */
+	@Override
+	public void dispose () {
+		GL20 gl = Gdx.gl20;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		gl.glDeleteBuffer(bufferHandle);
+		bufferHandle = 0;
+		if (vaoHandle != -1) {
+			((Buffer)tmpHandle).clear();
+			tmpHandle.put(vaoHandle);
+			((Buffer)tmpHandle).flip();
+			Gdx.gl30.glDeleteVertexArrays(1, tmpHandle);
+			vaoHandle = -1;
+		}
+	}
+}
@@ -108,7 +108,7 @@ public class AtlasTmxMapLoader extends BaseTmxMapLoader<BaseTiledMapLoader.Param
 	public TiledMap load (String fileName, Parameters parameter) {
 		FileHandle tmxFile = resolve(fileName);
 
-		this.root = xml.parse(tmxFile);
+		this.root = readMap(tmxFile);
 
 		final FileHandle atlasFileHandle = getAtlasFileHandle(tmxFile);
 		TextureAtlas atlas = new TextureAtlas(atlasFileHandle);
@@ -36,6 +36,7 @@ import com.badlogic.gdx.maps.objects.PolylineMapObject;
 import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.maps.objects.TextMapObject;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.TmxMapReader.LayerData;
 import com.badlogic.gdx.maps.tiled.objects.TiledMapTileMapObject;
 import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
 import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
@@ -53,7 +54,13 @@ import java.util.zip.InflaterInputStream;
 
 public abstract class BaseTmxMapLoader<P extends BaseTiledMapLoader.Parameters> extends BaseTiledMapLoader<P> {
 
+	/** Reads template and tileset files. A subclass of XmlReader set here also reads the map file, see
+	 * {@link #readMap(FileHandle)}. */
 	protected XmlReader xml = new XmlReader();
+	/** When set, reads the map file, decoding tile layer data while the file is streamed. The layer data elements are then
+	 * {@link LayerData} without text, so code that reads the layer text must use {@link #getTileIds(Element, int, int)} instead.
+	 * Default is null, the map is read with {@link #xml}. */
+	public @Null TmxMapReader mapReader;
 	protected Element root;
 
 	protected ObjectMap<String, Element> templateCache;
@@ -64,7 +71,7 @@ public abstract class BaseTmxMapLoader<P extends BaseTiledMapLoader.Parameters>
 
 	@Override
 	public Array<AssetDescriptor> getDependencies (String fileName, FileHandle tmxFile, P parameter) {
-		this.root = xml.parse(tmxFile);
+		this.root = readMap(tmxFile);
 
 		TextureLoader.TextureParameter textureParameter = new TextureLoader.TextureParameter();
 		if (parameter != null) {
@@ -76,6 +83,13 @@ public abstract class BaseTmxMapLoader<P extends BaseTiledMapLoader.Parameters>
 		return getDependencyAssetDescriptors(tmxFile, textureParameter);
 	}
 
+	/** Reads the root element of the map file. {@link #mapReader} is used if it is set, unless {@link #xml} has been set to a
+	 * subclass of XmlReader. Otherwise the map is read with {@link #xml} and the layer data elements keep their text. */
+	protected Element readMap (FileHandle tmxFile) {
+		if (mapReader != null && xml.getClass() == XmlReader.class) return mapReader.read(tmxFile);
+		return xml.parse(tmxFile);
+	}
+
 	/** Loads the map data, given the XML root element
 	 *
 	 * @param tmxFile the Filehandle of the tmx file
@@ -682,6 +696,21 @@ public abstract class BaseTmxMapLoader<P extends BaseTiledMapLoader.Parameters>
 
 	static public int[] getTileIds (Element element, int width, int height) {
 		Element data = element.getChildByName("data");
+		if (data instanceof LayerData) {
+			int[] ids = ((LayerData)data).getTileIds();
+			if (ids != null) {
+				// The data has no text, so ids for a size other than the layer's are copied as the text would have been decoded.
+				int size = width * height;
+				if (ids.length == size) return ids;
+				boolean csv = "csv".equals(data.getAttribute("encoding", null));
+				if (csv && ids.length > size) throw new GdxRuntimeException("Error Reading TMX Layer Data: Too many tiles");
+				if (!csv && ids.length < size)
+					throw new GdxRuntimeException("Error Reading TMX Layer Data: Premature end of tile data");
+				int[] copy = new int[size];
+				System.arraycopy(ids, 0, copy, 0, Math.min(ids.length, size));
+				return copy;
+			}
+		}
 		String encoding = data.getAttribute("encoding", null);
 		if (encoding == null) { // no 'encoding' attribute means that the encoding is XML
 			throw new GdxRuntimeException("Unsupported encoding (XML) for TMX Layer Data");
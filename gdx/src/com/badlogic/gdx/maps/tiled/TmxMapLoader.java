@@ -63,7 +63,7 @@ public class TmxMapLoader extends BaseTmxMapLoader<BaseTiledMapLoader.Parameters
 	public TiledMap load (String fileName, Parameters parameter) {
 		FileHandle tmxFile = resolve(fileName);
 
-		this.root = xml.parse(tmxFile);
+		this.root = readMap(tmxFile);
 
 		ObjectMap<String, Texture> textures = new ObjectMap<String, Texture>();
 
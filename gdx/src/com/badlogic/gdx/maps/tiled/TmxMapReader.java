@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Base64Coder;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.NameCache;
+import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+import com.badlogic.gdx.utils.XmlSkimmer;
+
+/** Reads a TMX file into {@link Element}s like {@link XmlReader}, but streams the file and decodes the CSV or base64 text of each
+ * tile layer's data element into tile ids as it is read. The layer text is never in memory at once, which for large maps is much
+ * larger than the ids. The data element is a {@link LayerData} and has no text,
+ * {@link BaseTmxMapLoader#getTileIds(Element, int, int)} returns its ids. Data that can't be decoded while streaming, such as for
+ * infinite maps, is kept as text. Set {@link BaseTmxMapLoader#mapReader} to read maps with this reader. */
+public class TmxMapReader extends XmlSkimmer {
+	private final Array<Element> elements = new Array(8);
+	private @Null Element root, current;
+	private @Null LayerData data;
+	private @Null Element textElement;
+	private final StringBuilder textBuffer = new StringBuilder(64);
+
+	public TmxMapReader () {
+		setNameCache(new NameCache(256, 32));
+	}
+
+	/** @return The root element. */
+	public Element read (FileHandle file) {
+		parse(file);
+		return root();
+	}
+
+	/** @return The root element. */
+	public Element read (String xml) {
+		parse(xml);
+		return root();
+	}
+
+	private Element root () {
+		Element root = this.root;
+		if (root == null) throw new GdxRuntimeException("TMX has no root element.");
+		this.root = null;
+		current = null;
+		data = null;
+		elements.clear();
+		return root;
+	}
+
+	protected void open (XmlToken name) {
+		flushText();
+		Element parent = current, child;
+		if (parent != null && name.equalsString("data") && parent.getName().equals("layer"))
+			child = data = new LayerData(parent);
+		else
+			child = new Element(name.toString(), parent);
+		if (parent != null)
+			parent.addChild(child);
+		else
+			root = child;
+		elements.add(child);
+		current = child;
+	}
+
+	protected void attribute (XmlToken name, XmlToken value) {
+		current.setAttribute(name.toString(), value.toString());
+	}
+
+	protected void text (XmlToken text) {
+		if (current == data && data.decode(text)) return;
+		if (textElement != current) {
+			flushText();
+			textElement = current;
+		}
+		textBuffer.append(text.chars, text.start, text.length);
+	}
+
+	protected void close (XmlToken name) {
+		flushText();
+		if (current == data) {
+			data.finish();
+			data = null;
+		}
+		elements.pop();
+		current = elements.size > 0 ? elements.peek() : null;
+	}
+
+	private void flushText () {
+		Element element = textElement;
+		if (element == null) return;
+		String existing = element.getText();
+		element.setText(existing != null ? existing + textBuffer : textBuffer.toString());
+		textBuffer.setLength(0);
+		textElement = null;
+	}
+
+	/** A tile layer's data element, with the tile ids decoded while reading. */
+	static public class LayerData extends Element {
+		static private final int none = 0, csv = 1, base64 = 2, base64Compressed = 3;
+		static private final byte[] base64Map = Base64Coder.regularMap.getDecodingMap();
+
+		private @Null int[] ids;
+		private int count, mode = -1;
+		/** The CSV value or the base64 bits not yet output. */
+		private long value;
+		private int bitCount, id, byteCount;
+		private boolean digits;
+		private @Null ByteArray compressed;
+
+		public LayerData (Element parent) {
+			super("data", parent);
+		}
+
+		/** @return The tile ids, or null if the data was kept as text. */
+		public @Null int[] getTileIds () {
+			return ids;
+		}
+
+		/** @return False if the text should be kept as text. */
+		boolean decode (XmlToken text) {
+			if (mode == -1) start();
+			switch (mode) {
+			case csv:
+				csv(text);
+				return true;
+			case base64:
+			case base64Compressed:
+				base64(text);
+				return true;
+			}
+			return false;
+		}
+
+		private void start () {
+			mode = none;
+			Element layer = getParent();
+			int size = layer.getIntAttribute("width", 0) * layer.getIntAttribute("height", 0);
+			if (size <= 0) return;
+			String encoding = getAttribute("encoding", null), compression = getAttribute("compression", null);
+			if ("csv".equals(encoding)) {
+				if (compression != null) return;
+				mode = csv;
+			} else if ("base64".equals(encoding)) {
+				if (compression == null)
+					mode = base64;
+				else if (compression.equals("gzip") || compression.equals("zlib")) {
+					mode = base64Compressed;
+					compressed = new ByteArray(1024);
+				} else
+					return;
+			} else
+				return;
+			ids = new int[size];
+		}
+
+		private void csv (XmlToken text) {
+			char[] chars = text.chars;
+			int[] ids = this.ids;
+			long value = this.value;
+			boolean digits = this.digits;
+			for (int i = text.start, n = i + text.length; i < n; i++) {
+				char c = chars[i];
+				if (c >= '0' && c <= '9') {
+					value = value * 10 + (c - '0');
+					digits = true;
+				} else if (c == ',') {
+					if (count == ids.length) throw new GdxRuntimeException("Error Reading TMX Layer Data: Too many tiles");
+					ids[count++] = (int)value;
+					value = 0;
+					digits = false;
+				} else if (c > ' ') //
+					throw new GdxRuntimeException("Error Reading TMX Layer Data: Invalid CSV character: " + c);
+			}
+			this.value = value;
+			this.digits = digits;
+		}
+
+		private void base64 (XmlToken text) {
+			char[] chars = text.chars;
+			long value = this.value;
+			int bitCount = this.bitCount;
+			for (int i = text.start, n = i + text.length; i < n; i++) {
+				char c = chars[i];
+				if (c == '=') break;
+				int bits = c < 128 ? base64Map[c] : -1;
+				if (bits == -1) {
+					if (c <= ' ') continue;
+					throw new GdxRuntimeException("Error Reading TMX Layer Data: Invalid base64 character: " + c);
+				}
+				value = value << 6 | bits;
+				bitCount += 6;
+				if (bitCount >= 8) {
+					bitCount -= 8;
+					add((int)(value >>> bitCount) & 0xff);
+					value &= (1 << bitCount) - 1; // Keep only the bits not yet output.
+				}
+			}
+			this.value = value;
+			this.bitCount = bitCount;
+		}
+
+		private void add (int b) {
+			if (mode == base64Compressed) {
+				compressed.add((byte)b);
+				return;
+			}
+			id |= b << (byteCount << 3);
+			if (++byteCount == 4) {
+				if (count == ids.length) throw new GdxRuntimeException("Error Reading TMX Layer Data: Too many tiles");
+				ids[count++] = id;
+				id = 0;
+				byteCount = 0;
+			}
+		}
+
+		void finish () {
+			switch (mode) {
+			case csv:
+				if (digits) {
+					if (count == ids.length) throw new GdxRuntimeException("Error Reading TMX Layer Data: Too many tiles");
+					ids[count++] = (int)value;
+				}
+				break;
+			case base64:
+				if (count < ids.length) throw new GdxRuntimeException("Error Reading TMX Layer Data: Premature end of tile data");
+				break;
+			case base64Compressed:
+				decompress();
+				break;
+			}
+			compressed = null;
+		}
+
+		private void decompress () {
+			String compression = getAttribute("compression");
+			InputStream input = null;
+			try {
+				input = new ByteArrayInputStream(compressed.items, 0, compressed.size);
+				if (compression.equals("gzip"))
+					input = new BufferedInputStream(new GZIPInputStream(input, compressed.size));
+				else
+					input = new BufferedInputStream(new InflaterInputStream(input));
+				int[] ids = this.ids;
+				byte[] temp = new byte[4];
+				for (int i = 0, n = ids.length; i < n; i++) {
+					int read = 0;
+					while (read < 4) {
+						int count = input.read(temp, read, 4 - read);
+						if (count == -1) throw new GdxRuntimeException("Error Reading TMX Layer Data: Premature end of tile data");
+						read += count;
+					}
+					ids[i] = (temp[0] & 0xff) | (temp[1] & 0xff) << 8 | (temp[2] & 0xff) << 16 | (temp[3] & 0xff) << 24;
+				}
+				count = ids.length;
+			} catch (IOException ex) {
+				throw new GdxRuntimeException("Error Reading TMX Layer Data - IOException: " + ex.getMessage());
+			} finally {
+				StreamUtils.closeQuietly(input);
+			}
+		}
+	}
+}
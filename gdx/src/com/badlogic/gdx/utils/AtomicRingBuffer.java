@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** A bounded queue that allows any number of threads to add and remove items without locking or allocation. Unlike
+ * {@link AtomicQueue}, multiple producers and consumers are supported, and consumers can remove many items at once with
+ * {@link #drainTo(Array)}.
+ * <p>
+ * Each slot has a sequence number that tells producers and consumers whether the slot is free or holds an item for the current
+ * lap around the buffer. The head and tail counters are padded so producers and consumers don't contend on the same cache line.
+ * <p>
+ * The non-blocking methods {@link #offer(Object)} and {@link #poll()} return immediately. The blocking methods
+ * {@link #put(Object)} and {@link #take()} wait using the {@link WaitStrategy} until there is room or an item. */
+public class AtomicRingBuffer<T> {
+	private final Object[] items;
+	private final AtomicLongArray sequences;
+	private final int mask;
+	private final PaddedCounter head = new PaddedCounter(), tail = new PaddedCounter();
+	private final WaitStrategy waitStrategy;
+
+	/** Creates a ring buffer that parks threads that wait.
+	 * @param capacity Rounded up to the next power of two. */
+	public AtomicRingBuffer (int capacity) {
+		this(capacity, WaitStrategy.parking);
+	}
+
+	/** @param capacity Rounded up to the next power of two. */
+	public AtomicRingBuffer (int capacity, WaitStrategy waitStrategy) {
+		if (capacity < 1) throw new IllegalArgumentException("capacity must be > 0: " + capacity);
+		if (capacity > 1 << 30) throw new IllegalArgumentException("capacity is too large: " + capacity);
+		if (waitStrategy == null) throw new IllegalArgumentException("waitStrategy cannot be null.");
+		capacity = MathUtils.nextPowerOfTwo(capacity);
+		items = new Object[capacity];
+		sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++)
+			sequences.lazySet(i, i);
+		mask = capacity - 1;
+		this.waitStrategy = waitStrategy;
+	}
+
+	/** Adds the item if there is room.
+	 * @return false if the buffer is full. */
+	public boolean offer (T value) {
+		if (value == null) throw new IllegalArgumentException("value cannot be null.");
+		AtomicLongArray sequences = this.sequences;
+		long position;
+		int index;
+		while (true) {
+			position = tail.value;
+			index = (int)position & mask;
+			long difference = sequences.get(index) - position;
+			if (difference == 0) {
+				if (tail.compareAndSet(position, position + 1)) break;
+			} else if (difference < 0) {
+				return false; // The slot still holds an item from the previous lap.
+			}
+		}
+		items[index] = value;
+		sequences.lazySet(index, position + 1); // Publishes the item to consumers.
+		return true;
+	}
+
+	/** Adds the item, waiting for room if the buffer is full. */
+	public void put (T value) {
+		for (int attempt = 0; !offer(value); attempt++)
+			waitStrategy.idle(attempt);
+	}
+
+	/** Removes the oldest item.
+	 * @return null if the buffer is empty. */
+	public @Null T poll () {
+		AtomicLongArray sequences = this.sequences;
+		long position;
+		int index;
+		while (true) {
+			position = head.value;
+			index = (int)position & mask;
+			long difference = sequences.get(index) - (position + 1);
+			if (difference == 0) {
+				if (head.compareAndSet(position, position + 1)) break;
+			} else if (difference < 0) {
+				return null; // The slot hasn't been written for this lap.
+			}
+		}
+		Object[] items = this.items;
+		T value = (T)items[index];
+		items[index] = null;
+		sequences.lazySet(index, position + mask + 1); // Frees the slot for the next lap.
+		return value;
+	}
+
+	/** Removes the oldest item, waiting for one if the buffer is empty. */
+	public T take () {
+		T value;
+		for (int attempt = 0; (value = poll()) == null; attempt++)
+			waitStrategy.idle(attempt);
+		return value;
+	}
+
+	/** Removes all available items and adds them to the array, in order.
+	 * @return The number of items added. */
+	public int drainTo (Array<? super T> array) {
+		return drainTo(array, Integer.MAX_VALUE);
+	}
+
+	/** Removes up to max available items and adds them to the array, in order. The items are claimed with a single atomic
+	 * operation, so this is faster than calling {@link #poll()} repeatedly.
+	 * @return The number of items added. */
+	public int drainTo (Array<? super T> array, int max) {
+		AtomicLongArray sequences = this.sequences;
+		int mask = this.mask;
+		long position;
+		int count;
+		while (true) {
+			position = head.value;
+			count = 0;
+			while (count < max && sequences.get((int)(position + count) & mask) == position + count + 1)
+				count++;
+			if (count == 0) return 0;
+			if (head.compareAndSet(position, position + count)) break;
+		}
+		Object[] items = this.items;
+		array.ensureCapacity(count);
+		for (int i = 0; i < count; i++) {
+			long p = position + i;
+			int index = (int)p & mask;
+			array.add((T)items[index]);
+			items[index] = null;
+			sequences.lazySet(index, p + mask + 1);
+		}
+		return count;
+	}
+
+	/** Returns the number of items in the buffer. The result is approximate if other threads are adding or removing items. */
+	public int size () {
+		while (true) {
+			long head = this.head.value, tail = this.tail.value;
+			if (head == this.head.value) return (int)Math.max(0, Math.min(tail - head, items.length));
+		}
+	}
+
+	public boolean isEmpty () {
+		return size() == 0;
+	}
+
+	/** Returns the maximum number of items the buffer can hold, which is a power of two. */
+	public int capacity () {
+		return items.length;
+	}
+
+	/** Determines how {@link AtomicRingBuffer#put(Object)} and {@link AtomicRingBuffer#take()} wait when the buffer is full or
+	 * empty. */
+	static public enum WaitStrategy {
+		/** Retries immediately. Lowest latency, but uses a whole CPU core while waiting. */
+		busySpin {
+			public void idle (int attempt) {
+			}
+		},
+		/** Yields to other threads between retries. */
+		yielding {
+			public void idle (int attempt) {
+				Thread.yield();
+			}
+		},
+		/** Yields for the first retries, then parks the thread for 50 microseconds between retries. Uses the least CPU. */
+		parking {
+			public void idle (int attempt) {
+				if (attempt < 100)
+					Thread.yield();
+				else
+					LockSupport.parkNanos(50000);
+			}
+		};
+
+		/** Called each time an operation could not complete.
+		 * @param attempt The number of times this method has been called for the current operation. */
+		abstract public void idle (int attempt);
+	}
+
+	/** Pads a counter so it is on its own cache line. The fields before and after are never used. */
+	static class PaddedCounterLeft {
+		long p01, p02, p03, p04, p05, p06, p07;
+	}
+
+	static class PaddedCounterValue extends PaddedCounterLeft {
+		volatile long value;
+	}
+
+	static final class PaddedCounter extends PaddedCounterValue {
+		static private final AtomicLongFieldUpdater<PaddedCounterValue> updater = AtomicLongFieldUpdater
+			.newUpdater(PaddedCounterValue.class, "value");
+
+		long p11, p12, p13, p14, p15, p16, p17;
+
+		boolean compareAndSet (long expected, long value) {
+			return updater.compareAndSet(this, expected, value);
+		}
+	}
+}
@@ -0,0 +1,928 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Json.FieldAccessor;
+import com.badlogic.gdx.utils.Json.FieldMetadata;
+import com.badlogic.gdx.utils.Json.Serializer;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+import com.badlogic.gdx.utils.reflect.ArrayReflection;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+
+/** Writes and reads object graphs in a compact binary format using the varints of {@link DataOutput} and {@link DataInput}. It is
+ * an alternative to {@link Json} when size and speed matter more than readability, such as for save games and network state
+ * snapshots. The fields, class tags, field accessors and {@link Json.Serializer serializers} of a {@link Json} instance are used,
+ * so classes that can be written as JSON can be written as binary without changes.
+ * <p>
+ * Each value is written as a tag byte followed by its data: ints and longs as zigzag varints, floats and doubles as 4 and 8 bytes,
+ * strings as UTF8 with a varint length, and primitive arrays without a tag for each element. The first time a class is written in
+ * a stream, its class tag (or name) and field names are written, after that only a varint id. Because field names are written,
+ * fields can be added, removed or reordered between writing and reading. Unknown fields are handled as specified by
+ * {@link Json#setIgnoreUnknownFields(boolean)}.
+ * <p>
+ * When references are enabled, an object written more than once is written once and after that as a reference, so shared objects
+ * and cycles are preserved. Strings, boxed primitives and enums are never written as references.
+ * <p>
+ * Objects with a {@link Json.Serializer} or implementing {@link Json.Serializable} are written as JSON by the Json instance, then
+ * the resulting {@link JsonValue} is stored in the binary format. Objects written by them are not written as references.
+ * <p>
+ * Objects are created with {@link Json#newInstance(Class)}, or obtained from a pool set with {@link #setPool(Class, Pool)}.
+ * {@link #readFields(Object, DataInput)} reads into an existing object. */
+public class BinarySerializer {
+	static private final byte nullValue = 0, trueValue = 1, falseValue = 2, intValue = 3, longValue = 4, floatValue = 5,
+		doubleValue = 6, stringValue = 7, reference = 8, objectValue = 9, arrayValue = 10, mapValue = 11, enumValue = 12,
+		jsonValue = 13;
+
+	private final Json json;
+	private final JsonReader jsonReader = new JsonReader();
+	private boolean references = true;
+	private final ObjectMap<Class, Pool> classToPool = new ObjectMap();
+	private final ObjectMap<Class, FieldMetadata[]> classToFields = new ObjectMap();
+
+	private DataOutput output;
+	private final ByteOutput bytes = new ByteOutput();
+	private final ObjectIntMap<Class> classToId = new ObjectIntMap();
+	private final IdentityIntMap objectToId = new IdentityIntMap();
+
+	private DataInput input;
+	private final Array<ReadClass> readClasses = new Array();
+	private int readClassCount;
+	private final Array objects = new Array();
+
+	public BinarySerializer () {
+		this(new Json());
+	}
+
+	/** @param json Provides the fields, class tags and serializers. */
+	public BinarySerializer (Json json) {
+		this.json = json;
+	}
+
+	public Json getJson () {
+		return json;
+	}
+
+	/** When true, an object written more than once is written only once and after that as a reference. When false, less time is
+	 * spent tracking objects but shared objects are duplicated and cycles cause a stack overflow. Default is true. */
+	public void setReferences (boolean references) {
+		this.references = references;
+	}
+
+	public boolean getReferences () {
+		return references;
+	}
+
+	/** Sets the pool used to obtain instances of the specified type when reading.
+	 * @param pool May be null to create instances using {@link Json#newInstance(Class)}. */
+	public <T> void setPool (Class<T> type, @Null Pool<T> pool) {
+		if (pool == null)
+			classToPool.remove(type);
+		else
+			classToPool.put(type, pool);
+	}
+
+	public byte[] toBytes (@Null Object object) {
+		ByteOutput bytes = this.bytes;
+		bytes.reset();
+		write(object, new DataOutput(bytes));
+		return bytes.toByteArray();
+	}
+
+	public void write (@Null Object object, FileHandle file) {
+		OutputStream output = null;
+		try {
+			output = file.write(false, 8192);
+			write(object, output);
+		} catch (Exception ex) {
+			throw new SerializationException("Error writing file: " + file, ex);
+		} finally {
+			StreamUtils.closeQuietly(output);
+		}
+	}
+
+	public void write (@Null Object object, OutputStream output) {
+		write(object, output instanceof DataOutput ? (DataOutput)output : new DataOutput(output));
+	}
+
+	public void write (@Null Object object, DataOutput output) {
+		this.output = output;
+		try {
+			output.writeByte(references ? 1 : 0);
+			writeValue(object);
+			output.flush();
+		} catch (IOException ex) {
+			throw new SerializationException(ex);
+		} finally {
+			this.output = null;
+			classToId.clear(32);
+			objectToId.clear(512);
+		}
+	}
+
+	private void writeValue (@Null Object value) throws IOException {
+		DataOutput output = this.output;
+		if (value == null) {
+			output.writeByte(nullValue);
+			return;
+		}
+
+		Class type = value.getClass();
+		if (type == String.class) {
+			output.writeByte(stringValue);
+			output.writeString((String)value);
+			return;
+		}
+		if (type == Integer.class || type == Short.class || type == Byte.class) {
+			output.writeByte(intValue);
+			output.writeInt(((Number)value).intValue(), false);
+			return;
+		}
+		if (type == Float.class) {
+			output.writeByte(floatValue);
+			output.writeFloat((Float)value);
+			return;
+		}
+		if (type == Boolean.class) {
+			output.writeByte((Boolean)value ? trueValue : falseValue);
+			return;
+		}
+		if (type == Long.class) {
+			output.writeByte(longValue);
+			output.writeLong((Long)value, false);
+			return;
+		}
+		if (type == Double.class) {
+			output.writeByte(doubleValue);
+			output.writeDouble((Double)value);
+			return;
+		}
+		if (type == Character.class) {
+			output.writeByte(intValue);
+			output.writeInt((Character)value, false);
+			return;
+		}
+		if (value instanceof Enum) {
+			output.writeByte(enumValue);
+			writeClass(((Enum)value).getDeclaringClass(), false);
+			output.writeString(((Enum)value).name());
+			return;
+		}
+
+		if (references) {
+			int id = objectToId.get(value, -1);
+			if (id != -1) {
+				output.writeByte(reference);
+				output.writeInt(id, true);
+				return;
+			}
+			objectToId.put(value, objectToId.size);
+		}
+
+		if (value instanceof Json.Serializable || json.getSerializer(type) != null) {
+			output.writeByte(jsonValue);
+			writeClass(type, false);
+			writeJson(jsonReader.parse(json.toJson(value, type)));
+			return;
+		}
+
+		if (value instanceof Array) {
+			output.writeByte(arrayValue);
+			writeClass(type, false);
+			Array array = (Array)value;
+			output.writeInt(array.size, true);
+			for (int i = 0, n = array.size; i < n; i++)
+				writeValue(array.get(i));
+			return;
+		}
+		if (value instanceof Queue) {
+			output.writeByte(arrayValue);
+			writeClass(type, false);
+			Queue queue = (Queue)value;
+			output.writeInt(queue.size, true);
+			for (int i = 0, n = queue.size; i < n; i++)
+				writeValue(queue.get(i));
+			return;
+		}
+		if (value instanceof ObjectSet) {
+			output.writeByte(arrayValue);
+			writeClass(type, false);
+			ObjectSet set = (ObjectSet)value;
+			output.writeInt(set.size, true);
+			for (Object item : new ObjectSet.ObjectSetIterator(set))
+				writeValue(item);
+			return;
+		}
+		if (value instanceof Collection) {
+			output.writeByte(arrayValue);
+			writeClass(type, false);
+			Collection collection = (Collection)value;
+			output.writeInt(collection.size(), true);
+			for (Object item : collection)
+				writeValue(item);
+			return;
+		}
+		if (type.isArray()) {
+			output.writeByte(arrayValue);
+			writeClass(type, false);
+			writeArray(value, type.getComponentType());
+			return;
+		}
+
+		if (value instanceof ObjectMap) {
+			output.writeByte(mapValue);
+			writeClass(type, false);
+			ObjectMap<?, ?> map = (ObjectMap)value;
+			output.writeInt(map.size, true);
+			for (ObjectMap.Entry entry : new ObjectMap.Entries<>(map)) {
+				writeValue(entry.key);
+				writeValue(entry.value);
+			}
+			return;
+		}
+		if (value instanceof ObjectIntMap) {
+			output.writeByte(mapValue);
+			writeClass(type, false);
+			ObjectIntMap<?> map = (ObjectIntMap)value;
+			output.writeInt(map.size, true);
+			for (ObjectIntMap.Entry entry : new ObjectIntMap.Entries<>(map)) {
+				writeValue(entry.key);
+				output.writeByte(intValue);
+				output.writeInt(entry.value, false);
+			}
+			return;
+		}
+		if (value instanceof ObjectFloatMap) {
+			output.writeByte(mapValue);
+			writeClass(type, false);
+			ObjectFloatMap<?> map = (ObjectFloatMap)value;
+			output.writeInt(map.size, true);
+			for (ObjectFloatMap.Entry entry : new ObjectFloatMap.Entries<>(map)) {
+				writeValue(entry.key);
+				output.writeByte(floatValue);
+				output.writeFloat(entry.value);
+			}
+			return;
+		}
+		if (value instanceof Map) {
+			output.writeByte(mapValue);
+			writeClass(type, false);
+			Map<?, ?> map = (Map)value;
+			output.writeInt(map.size(), true);
+			for (Map.Entry entry : map.entrySet()) {
+				writeValue(entry.getKey());
+				writeValue(entry.getValue());
+			}
+			return;
+		}
+
+		output.writeByte(objectValue);
+		FieldMetadata[] fields = writeClass(type, true);
+		boolean ignoreDeprecated = json.getIgnoreDeprecated();
+		for (int i = 0, n = fields.length; i < n; i++) {
+			FieldMetadata metadata = fields[i];
+			if (ignoreDeprecated && metadata.deprecated) continue;
+			try {
+				writeField(value, metadata);
+			} catch (ReflectionException ex) {
+				throw new SerializationException("Error accessing field: " + metadata.field.getName() + " (" + type.getName() + ")",
+					ex);
+			} catch (SerializationException ex) {
+				ex.addTrace(metadata.field.getName() + " (" + type.getName() + ")");
+				throw ex;
+			} catch (RuntimeException runtimeEx) {
+				SerializationException ex = new SerializationException(runtimeEx);
+				ex.addTrace(metadata.field.getName() + " (" + type.getName() + ")");
+				throw ex;
+			}
+		}
+	}
+
+	private void writeField (Object object, FieldMetadata metadata) throws IOException, ReflectionException {
+		DataOutput output = this.output;
+		FieldAccessor accessor = metadata.accessor;
+		switch (metadata.primitive) {
+		case FieldMetadata.booleanType:
+			output.writeByte(accessor.getBoolean(object) ? trueValue : falseValue);
+			break;
+		case FieldMetadata.intType:
+			output.writeByte(intValue);
+			output.writeInt(accessor.getInt(object), false);
+			break;
+		case FieldMetadata.longType:
+			output.writeByte(longValue);
+			output.writeLong(accessor.getLong(object), false);
+			break;
+		case FieldMetadata.floatType:
+			output.writeByte(floatValue);
+			output.writeFloat(accessor.getFloat(object));
+			break;
+		case FieldMetadata.doubleType:
+			output.writeByte(doubleValue);
+			output.writeDouble(accessor.getDouble(object));
+			break;
+		default:
+			writeValue(accessor.get(object));
+		}
+	}
+
+	private void writeArray (Object array, Class componentType) throws IOException {
+		DataOutput output = this.output;
+		if (!componentType.isPrimitive()) {
+			Object[] objects = (Object[])array;
+			output.writeInt(objects.length, true);
+			for (int i = 0, n = objects.length; i < n; i++)
+				writeValue(objects[i]);
+		} else if (componentType == float.class) {
+			float[] values = (float[])array;
+			output.writeInt(values.length, true);
+			for (int i = 0, n = values.length; i < n; i++)
+				output.writeFloat(values[i]);
+		} else if (componentType == int.class) {
+			int[] values = (int[])array;
+			output.writeInt(values.length, true);
+			for (int i = 0, n = values.length; i < n; i++)
+				output.writeInt(values[i], false);
+		} else if (componentType == byte.class) {
+			byte[] values = (byte[])array;
+			output.writeInt(values.length, true);
+			output.write(values);
+		} else if (componentType == boolean.class) {
+			boolean[] values = (boolean[])array;
+			output.writeInt(values.length, true);
+			for (int i = 0, n = values.length; i < n; i++)
+				output.writeBoolean(values[i]);
+		} else if (componentType == long.class) {
+			long[] values = (long[])array;
+			output.writeInt(values.length, true);
+			for (int i = 0, n = values.length; i < n; i++)
+				output.writeLong(values[i], false);
+		} else if (componentType == double.class) {
+			double[] values = (double[])array;
+			output.writeInt(values.length, true);
+			for (int i = 0, n = values.length; i < n; i++)
+				output.writeDouble(values[i]);
+		} else if (componentType == short.class) {
+			short[] values = (short[])array;
+			output.writeInt(values.length, true);
+			for (int i = 0, n = values.length; i < n; i++)
+				output.writeInt(values[i], false);
+		} else {
+			char[] values = (char[])array;
+			output.writeInt(values.length, true);
+			for (int i = 0, n = values.length; i < n; i++)
+				output.writeInt(values[i], true);
+		}
+	}
+
+	private void writeJson (JsonValue value) throws IOException {
+		DataOutput output = this.output;
+		switch (value.type()) {
+		case object:
+			output.writeByte(mapValue);
+			output.writeInt(value.size, true);
+			for (JsonValue child = value.child; child != null; child = child.next) {
+				output.writeString(child.name);
+				writeJson(child);
+			}
+			break;
+		case array:
+			output.writeByte(arrayValue);
+			output.writeInt(value.size, true);
+			for (JsonValue child = value.child; child != null; child = child.next)
+				writeJson(child);
+			break;
+		case stringValue:
+			output.writeByte(stringValue);
+			output.writeString(value.asString());
+			break;
+		case doubleValue:
+			output.writeByte(doubleValue);
+			output.writeDouble(value.asDouble());
+			break;
+		case longValue:
+			output.writeByte(longValue);
+			output.writeLong(value.asLong(), false);
+			break;
+		case booleanValue:
+			output.writeByte(value.asBoolean() ? trueValue : falseValue);
+			break;
+		default:
+			output.writeByte(nullValue);
+		}
+	}
+
+	/** Writes the id of the class, and the first time the class is written, its tag or name and, for objects, its field names.
+	 * @return The fields to write, or null if fields is false. */
+	private @Null FieldMetadata[] writeClass (Class type, boolean fields) throws IOException {
+		DataOutput output = this.output;
+		int id = classToId.get(type, -1);
+		if (id != -1) {
+			output.writeInt(id, true);
+			return fields ? getFields(type) : null;
+		}
+		id = classToId.size;
+		classToId.put(type, id);
+		output.writeInt(id, true);
+		String tag = json.getTag(type);
+		output.writeString(tag != null ? tag : type.getName());
+		if (!fields) return null;
+
+		FieldMetadata[] metadata = getFields(type);
+		boolean ignoreDeprecated = json.getIgnoreDeprecated();
+		int count = 0;
+		for (int i = 0, n = metadata.length; i < n; i++)
+			if (!ignoreDeprecated || !metadata[i].deprecated) count++;
+		output.writeInt(count, true);
+		for (int i = 0, n = metadata.length; i < n; i++)
+			if (!ignoreDeprecated || !metadata[i].deprecated) output.writeString(metadata[i].field.getName());
+		return metadata;
+	}
+
+	private FieldMetadata[] getFields (Class type) {
+		FieldMetadata[] fields = classToFields.get(type);
+		if (fields == null) {
+			OrderedMap<String, FieldMetadata> nameToField = json.getFields(type);
+			Array<String> names = nameToField.orderedKeys();
+			fields = new FieldMetadata[names.size];
+			for (int i = 0, n = names.size; i < n; i++)
+				fields[i] = nameToField.get(names.get(i));
+			classToFields.put(type, fields);
+		}
+		return fields;
+	}
+
+	public @Null <T> T fromBytes (Class<T> type, byte[] bytes) {
+		return read(type, new DataInput(new ByteInput(bytes)));
+	}
+
+	public @Null <T> T read (Class<T> type, FileHandle file) {
+		InputStream input = null;
+		try {
+			input = file.read(8192);
+			return read(type, input);
+		} catch (Exception ex) {
+			throw new SerializationException("Error reading file: " + file, ex);
+		} finally {
+			StreamUtils.closeQuietly(input);
+		}
+	}
+
+	public @Null <T> T read (Class<T> type, InputStream input) {
+		return read(type, input instanceof DataInput ? (DataInput)input : new DataInput(input));
+	}
+
+	/** @param type May be null if the type is unknown, in which case ints and longs are read as {@link Integer} and {@link Long}
+	 *           and floats and doubles as {@link Float} and {@link Double}. */
+	public @Null <T> T read (@Null Class<T> type, DataInput input) {
+		this.input = input;
+		try {
+			readHeader();
+			return (T)readValue(input.readByte(), type);
+		} catch (IOException ex) {
+			throw new SerializationException(ex);
+		} finally {
+			this.input = null;
+			readClassCount = 0;
+			objects.clear();
+		}
+	}
+
+	/** Reads the fields of an object written by {@link #write(Object, DataOutput)} into the specified object, which must be of the
+	 * same type as the object that was written. */
+	public void readFields (Object object, DataInput input) {
+		this.input = input;
+		try {
+			readHeader();
+			int tag = input.readByte();
+			if (tag != objectValue) throw new SerializationException("Expected object: " + tag);
+			readObject(readClass(true), object);
+		} catch (IOException ex) {
+			throw new SerializationException(ex);
+		} finally {
+			this.input = null;
+			readClassCount = 0;
+			objects.clear();
+		}
+	}
+
+	private void readHeader () throws IOException {
+		int header = input.readByte();
+		if (header != 0 && header != 1) throw new SerializationException("Invalid header: " + header);
+		if ((header == 1) != references) throw new SerializationException("References must be " + (header == 1) + ".");
+	}
+
+	/** @param type May be null. Numbers are converted to this type. */
+	private @Null Object readValue (int tag, @Null Class type) throws IOException {
+		DataInput input = this.input;
+		switch (tag) {
+		case nullValue:
+			return null;
+		case trueValue:
+			return Boolean.TRUE;
+		case falseValue:
+			return Boolean.FALSE;
+		case intValue:
+			return toNumber(input.readInt(false), false, type);
+		case longValue:
+			return toNumber(input.readLong(false), true, type);
+		case floatValue:
+			return toNumber(input.readFloat(), false, type);
+		case doubleValue:
+			return toNumber(input.readDouble(), true, type);
+		case stringValue:
+			return input.readString();
+		case reference: {
+			int id = input.readInt(true);
+			if (id >= objects.size) throw new SerializationException("Invalid reference: " + id);
+			return objects.get(id);
+		}
+		case enumValue: {
+			Class enumType = readClass(false).type;
+			String name = input.readString();
+			for (Object constant : ClassReflection.getEnumConstants(enumType))
+				if (((Enum)constant).name().equals(name)) return constant;
+			throw new SerializationException("Enum value not found: " + name + " (" + enumType.getName() + ")");
+		}
+		case objectValue:
+			return readObject(readClass(true), null);
+		case arrayValue:
+			return readArray(readClass(false).type);
+		case mapValue:
+			return readMap(readClass(false).type);
+		case jsonValue:
+			return readJson(readClass(false).type);
+		}
+		throw new SerializationException("Invalid tag: " + tag);
+	}
+
+	private Object readObject (ReadClass readClass, @Null Object object) throws IOException {
+		Class type = readClass.type;
+		if (object == null) object = newInstance(type);
+		if (references) objects.add(object);
+		FieldMetadata[] fields = readClass.fields;
+		for (int i = 0, n = fields.length; i < n; i++) {
+			FieldMetadata metadata = fields[i];
+			if (metadata == null) { // Unknown or ignored field.
+				readValue(input.readByte(), null);
+				continue;
+			}
+			try {
+				readField(object, metadata);
+			} catch (ReflectionException ex) {
+				throw new SerializationException("Error accessing field: " + metadata.field.getName() + " (" + type.getName() + ")",
+					ex);
+			} catch (SerializationException ex) {
+				ex.addTrace(metadata.field.getName() + " (" + type.getName() + ")");
+				throw ex;
+			} catch (RuntimeException runtimeEx) {
+				SerializationException ex = new SerializationException(runtimeEx);
+				ex.addTrace(metadata.field.getName() + " (" + type.getName() + ")");
+				throw ex;
+			}
+		}
+		return object;
+	}
+
+	private void readField (Object object, FieldMetadata metadata) throws IOException, ReflectionException {
+		DataInput input = this.input;
+		FieldAccessor accessor = metadata.accessor;
+		int tag = input.readByte();
+		switch (metadata.primitive) {
+		case FieldMetadata.booleanType:
+			if (tag == trueValue || tag == falseValue) {
+				accessor.setBoolean(object, tag == trueValue);
+				return;
+			}
+			break;
+		case FieldMetadata.intType:
+			if (tag == intValue) {
+				accessor.setInt(object, input.readInt(false));
+				return;
+			}
+			break;
+		case FieldMetadata.longType:
+			if (tag == longValue) {
+				accessor.setLong(object, input.readLong(false));
+				return;
+			}
+			break;
+		case FieldMetadata.floatType:
+			if (tag == floatValue) {
+				accessor.setFloat(object, input.readFloat());
+				return;
+			}
+			break;
+		case FieldMetadata.doubleType:
+			if (tag == doubleValue) {
+				accessor.setDouble(object, input.readDouble());
+				return;
+			}
+			break;
+		}
+		accessor.set(object, readValue(tag, metadata.field.getType()));
+	}
+
+	private Object readArray (Class type) throws IOException {
+		DataInput input = this.input;
+		int size = input.readInt(true);
+		if (type.isArray()) {
+			Class componentType = type.getComponentType();
+			Object array = ArrayReflection.newInstance(componentType, size);
+			if (references) objects.add(array);
+			if (!componentType.isPrimitive()) {
+				Object[] values = (Object[])array;
+				for (int i = 0; i < size; i++)
+					values[i] = readValue(input.readByte(), componentType);
+			} else if (componentType == float.class) {
+				float[] values = (float[])array;
+				for (int i = 0; i < size; i++)
+					values[i] = input.readFloat();
+			} else if (componentType == int.class) {
+				int[] values = (int[])array;
+				for (int i = 0; i < size; i++)
+					values[i] = input.readInt(false);
+			} else if (componentType == byte.class) {
+				input.readFully((byte[])array);
+			} else if (componentType == boolean.class) {
+				boolean[] values = (boolean[])array;
+				for (int i = 0; i < size; i++)
+					values[i] = input.readBoolean();
+			} else if (componentType == long.class) {
+				long[] values = (long[])array;
+				for (int i = 0; i < size; i++)
+					values[i] = input.readLong(false);
+			} else if (componentType == double.class) {
+				double[] values = (double[])array;
+				for (int i = 0; i < size; i++)
+					values[i] = input.readDouble();
+			} else if (componentType == short.class) {
+				short[] values = (short[])array;
+				for (int i = 0; i < size; i++)
+					values[i] = (short)input.readInt(false);
+			} else {
+				char[] values = (char[])array;
+				for (int i = 0; i < size; i++)
+					values[i] = (char)input.readInt(true);
+			}
+			return array;
+		}
+
+		Object object = newInstance(type);
+		if (references) objects.add(object);
+		if (object instanceof Array) {
+			Array array = (Array)object;
+			array.clear();
+			array.ensureCapacity(size);
+			for (int i = 0; i < size; i++)
+				array.add(readValue(input.readByte(), null));
+		} else if (object instanceof Queue) {
+			Queue queue = (Queue)object;
+			queue.clear();
+			for (int i = 0; i < size; i++)
+				queue.addLast(readValue(input.readByte(), null));
+		} else if (object instanceof ObjectSet) {
+			ObjectSet set = (ObjectSet)object;
+			set.clear();
+			set.ensureCapacity(size);
+			for (int i = 0; i < size; i++)
+				set.add(readValue(input.readByte(), null));
+		} else if (object instanceof Collection) {
+			Collection collection = (Collection)object;
+			collection.clear();
+			for (int i = 0; i < size; i++)
+				collection.add(readValue(input.readByte(), null));
+		} else
+			throw new SerializationException("Unable to read array: " + type.getName());
+		return object;
+	}
+
+	private Object readMap (Class type) throws IOException {
+		DataInput input = this.input;
+		int size = input.readInt(true);
+		Object object = newInstance(type);
+		if (references) objects.add(object);
+		if (object instanceof ObjectMap) {
+			ObjectMap map = (ObjectMap)object;
+			map.clear();
+			map.ensureCapacity(size);
+			for (int i = 0; i < size; i++)
+				map.put(readValue(input.readByte(), null), readValue(input.readByte(), null));
+		} else if (object instanceof ObjectIntMap) {
+			ObjectIntMap map = (ObjectIntMap)object;
+			map.clear();
+			map.ensureCapacity(size);
+			for (int i = 0; i < size; i++)
+				map.put(readValue(input.readByte(), null), (Integer)readValue(input.readByte(), int.class));
+		} else if (object instanceof ObjectFloatMap) {
+			ObjectFloatMap map = (ObjectFloatMap)object;
+			map.clear();
+			map.ensureCapacity(size);
+			for (int i = 0; i < size; i++)
+				map.put(readValue(input.readByte(), null), (Float)readValue(input.readByte(), float.class));
+		} else if (object instanceof Map) {
+			Map map = (Map)object;
+			map.clear();
+			for (int i = 0; i < size; i++)
+				map.put(readValue(input.readByte(), null), readValue(input.readByte(), null));
+		} else
+			throw new SerializationException("Unable to read map: " + type.getName());
+		return object;
+	}
+
+	private Object readJson (Class type) throws IOException {
+		int id = objects.size;
+		if (references) objects.add(null);
+		JsonValue jsonData = readJsonValue(input.readByte());
+		Object object;
+		Serializer serializer = json.getSerializer(type);
+		if (serializer != null)
+			object = serializer.read(json, jsonData, type);
+		else {
+			object = newInstance(type);
+			((Json.Serializable)object).read(json, jsonData);
+		}
+		if (references) objects.set(id, object);
+		return object;
+	}
+
+	private JsonValue readJsonValue (int tag) throws IOException {
+		DataInput input = this.input;
+		switch (tag) {
+		case mapValue: {
+			JsonValue value = new JsonValue(ValueType.object);
+			for (int i = 0, n = input.readInt(true); i < n; i++) {
+				String name = input.readString();
+				value.addChild(name, readJsonValue(input.readByte()));
+			}
+			return value;
+		}
+		case arrayValue: {
+			JsonValue value = new JsonValue(ValueType.array);
+			for (int i = 0, n = input.readInt(true); i < n; i++)
+				value.addChild(readJsonValue(input.readByte()));
+			return value;
+		}
+		case stringValue:
+			return new JsonValue(input.readString());
+		case doubleValue:
+			return new JsonValue(input.readDouble());
+		case longValue:
+			return new JsonValue(input.readLong(false));
+		case trueValue:
+			return new JsonValue(true);
+		case falseValue:
+			return new JsonValue(false);
+		case nullValue:
+			return new JsonValue(ValueType.nullValue);
+		}
+		throw new SerializationException("Invalid tag: " + tag);
+	}
+
+	/** Reads the id of a class, and the first time the class is read, its tag or name and, for objects, its field names. */
+	private ReadClass readClass (boolean fields) throws IOException {
+		DataInput input = this.input;
+		int id = input.readInt(true);
+		if (id < readClassCount) return readClasses.get(id);
+		if (id != readClassCount) throw new SerializationException("Invalid class id: " + id);
+
+		String name = input.readString();
+		Class type = json.getClass(name);
+		if (type == null) {
+			try {
+				type = ClassReflection.forName(name);
+			} catch (ReflectionException ex) {
+				throw new SerializationException(ex);
+			}
+		}
+
+		ReadClass readClass;
+		if (id < readClasses.size)
+			readClass = readClasses.get(id);
+		else {
+			readClass = new ReadClass();
+			readClasses.add(readClass);
+		}
+		readClassCount++;
+		readClass.type = type;
+		if (fields) {
+			int count = input.readInt(true);
+			if (readClass.fields == null || readClass.fields.length != count) readClass.fields = new FieldMetadata[count];
+			OrderedMap<String, FieldMetadata> nameToField = json.getFields(type);
+			boolean ignoreDeprecated = json.getIgnoreDeprecated() && !json.getReadDeprecated();
+			for (int i = 0; i < count; i++) {
+				String fieldName = input.readString();
+				FieldMetadata metadata = nameToField.get(fieldName);
+				if (metadata == null) {
+					if (!json.getIgnoreUnknownFields() && !json.ignoreUnknownField(type, fieldName))
+						throw new SerializationException("Field not found: " + fieldName + " (" + type.getName() + ")");
+				} else if (ignoreDeprecated && metadata.deprecated) //
+					metadata = null;
+				readClass.fields[i] = metadata;
+			}
+		}
+		return readClass;
+	}
+
+	private Object newInstance (Class type) {
+		Pool pool = classToPool.get(type);
+		if (pool != null) return pool.obtain();
+		return json.newInstance(type);
+	}
+
+	/** Converts an int or long to the type, or if the type is unknown, to an Integer or Long. */
+	private Object toNumber (long value, boolean isLong, @Null Class type) {
+		if (type == int.class || type == Integer.class) return (int)value;
+		if (type == float.class || type == Float.class) return (float)value;
+		if (type == long.class || type == Long.class) return value;
+		if (type == double.class || type == Double.class) return (double)value;
+		if (type == short.class || type == Short.class) return (short)value;
+		if (type == byte.class || type == Byte.class) return (byte)value;
+		if (type == char.class || type == Character.class) return (char)value;
+		return isLong ? (Object)value : (Object)(int)value;
+	}
+
+	/** Converts a float or double to the type, or if the type is unknown, to a Float or Double. */
+	private Object toNumber (double value, boolean isDouble, @Null Class type) {
+		if (type == float.class || type == Float.class) return (float)value;
+		if (type == double.class || type == Double.class) return value;
+		if (type == int.class || type == Integer.class) return (int)value;
+		if (type == long.class || type == Long.class) return (long)value;
+		if (type == short.class || type == Short.class) return (short)value;
+		if (type == byte.class || type == Byte.class) return (byte)value;
+		if (type == char.class || type == Character.class) return (char)value;
+		return isDouble ? (Object)value : (Object)(float)value;
+	}
+
+	static private class ReadClass {
+		Class type;
+		/** The local field for each field in the stream, or null to skip the value. */
+		@Null FieldMetadata[] fields;
+	}
+
+	/** Writes single bytes without synchronization, which is significant because {@link DataOutput} writes most values a byte at
+	 * a time. */
+	static private class ByteOutput extends ByteArrayOutputStream {
+		ByteOutput () {
+			super(256);
+		}
+
+		public void write (int b) {
+			if (count == buf.length) buf = Arrays.copyOf(buf, count << 1);
+			buf[count++] = (byte)b;
+		}
+	}
+
+	/** Reads single bytes without synchronization. */
+	static private class ByteInput extends ByteArrayInputStream {
+		ByteInput (byte[] bytes) {
+			super(bytes);
+		}
+
+		public int read () {
+			return pos < count ? buf[pos++] & 0xff : -1;
+		}
+	}
+
+	/** An {@link ObjectIntMap} that uses identity comparison for the keys. */
+	static private class IdentityIntMap extends ObjectIntMap<Object> {
+		protected int place (Object item) {
+			return (int)(System.identityHashCode(item) * 0x9E3779B97F4A7C15L >>> shift);
+		}
+
+		int locateKey (Object key) {
+			if (key == null) throw new IllegalArgumentException("key cannot be null.");
+			Object[] keyTable = this.keyTable;
+			for (int i = place(key);; i = i + 1 & mask) {
+				Object other = keyTable[i];
+				if (other == null) return -(i + 1); // Empty space is available.
+				if (other == key) return i; // Same key was found.
+			}
+		}
+	}
+}
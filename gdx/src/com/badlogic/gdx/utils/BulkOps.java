@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+/** Bulk operations on primitive arrays used by {@link FloatArrays} and {@link IntArrays}. This class is the scalar
+ * implementation used on all platforms. {@link BulkOpsProvider} may return a subclass that uses SIMD instructions. Sizes are not
+ * checked, callers must ensure the arrays are large enough. */
+class BulkOps {
+	// float
+
+	void mul (float[] items, int size, float scalar) {
+		for (int i = 0; i < size; i++)
+			items[i] *= scalar;
+	}
+
+	void add (float[] items, int size, float scalar) {
+		for (int i = 0; i < size; i++)
+			items[i] += scalar;
+	}
+
+	void add (float[] a, float[] b, float[] out, int size) {
+		for (int i = 0; i < size; i++)
+			out[i] = a[i] + b[i];
+	}
+
+	void sub (float[] a, float[] b, float[] out, int size) {
+		for (int i = 0; i < size; i++)
+			out[i] = a[i] - b[i];
+	}
+
+	void mul (float[] a, float[] b, float[] out, int size) {
+		for (int i = 0; i < size; i++)
+			out[i] = a[i] * b[i];
+	}
+
+	void clamp (float[] items, int size, float min, float max) {
+		for (int i = 0; i < size; i++) {
+			float value = items[i];
+			items[i] = value < min ? min : (value > max ? max : value);
+		}
+	}
+
+	float sum (float[] items, int size) {
+		float sum = 0;
+		for (int i = 0; i < size; i++)
+			sum += items[i];
+		return sum;
+	}
+
+	float dot (float[] a, float[] b, int size) {
+		float sum = 0;
+		for (int i = 0; i < size; i++)
+			sum += a[i] * b[i];
+		return sum;
+	}
+
+	float min (float[] items, int size) {
+		float min = items[0];
+		for (int i = 1; i < size; i++)
+			if (items[i] < min) min = items[i];
+		return min;
+	}
+
+	float max (float[] items, int size) {
+		float max = items[0];
+		for (int i = 1; i < size; i++)
+			if (items[i] > max) max = items[i];
+		return max;
+	}
+
+	int indexOfMin (float[] items, int size) {
+		int index = 0;
+		float min = items[0];
+		for (int i = 1; i < size; i++) {
+			if (items[i] < min) {
+				min = items[i];
+				index = i;
+			}
+		}
+		return index;
+	}
+
+	int indexOfMax (float[] items, int size) {
+		int index = 0;
+		float max = items[0];
+		for (int i = 1; i < size; i++) {
+			if (items[i] > max) {
+				max = items[i];
+				index = i;
+			}
+		}
+		return index;
+	}
+
+	void prefixSum (float[] items, int size) {
+		float sum = 0;
+		for (int i = 0; i < size; i++)
+			items[i] = sum += items[i];
+	}
+
+	int selectGreater (float[] items, int size, float threshold, int[] indices, int offset) {
+		int count = offset;
+		for (int i = 0; i < size; i++)
+			if (items[i] > threshold) indices[count++] = i;
+		return count - offset;
+	}
+
+	// int
+
+	void mul (int[] items, int size, int scalar) {
+		for (int i = 0; i < size; i++)
+			items[i] *= scalar;
+	}
+
+	void add (int[] items, int size, int scalar) {
+		for (int i = 0; i < size; i++)
+			items[i] += scalar;
+	}
+
+	void add (int[] a, int[] b, int[] out, int size) {
+		for (int i = 0; i < size; i++)
+			out[i] = a[i] + b[i];
+	}
+
+	void sub (int[] a, int[] b, int[] out, int size) {
+		for (int i = 0; i < size; i++)
+			out[i] = a[i] - b[i];
+	}
+
+	void mul (int[] a, int[] b, int[] out, int size) {
+		for (int i = 0; i < size; i++)
+			out[i] = a[i] * b[i];
+	}
+
+	void clamp (int[] items, int size, int min, int max) {
+		for (int i = 0; i < size; i++) {
+			int value = items[i];
+			items[i] = value < min ? min : (value > max ? max : value);
+		}
+	}
+
+	long sum (int[] items, int size) {
+		long sum = 0;
+		for (int i = 0; i < size; i++)
+			sum += items[i];
+		return sum;
+	}
+
+	long dot (int[] a, int[] b, int size) {
+		long sum = 0;
+		for (int i = 0; i < size; i++)
+			sum += (long)a[i] * b[i];
+		return sum;
+	}
+
+	int min (int[] items, int size) {
+		int min = items[0];
+		for (int i = 1; i < size; i++)
+			if (items[i] < min) min = items[i];
+		return min;
+	}
+
+	int max (int[] items, int size) {
+		int max = items[0];
+		for (int i = 1; i < size; i++)
+			if (items[i] > max) max = items[i];
+		return max;
+	}
+
+	int indexOfMin (int[] items, int size) {
+		int index = 0, min = items[0];
+		for (int i = 1; i < size; i++) {
+			if (items[i] < min) {
+				min = items[i];
+				index = i;
+			}
+		}
+		return index;
+	}
+
+	int indexOfMax (int[] items, int size) {
+		int index = 0, max = items[0];
+		for (int i = 1; i < size; i++) {
+			if (items[i] > max) {
+				max = items[i];
+				index = i;
+			}
+		}
+		return index;
+	}
+
+	void prefixSum (int[] items, int size) {
+		int sum = 0;
+		for (int i = 0; i < size; i++)
+			items[i] = sum += items[i];
+	}
+
+	int selectGreater (int[] items, int size, int threshold, int[] indices, int offset) {
+		int count = offset;
+		for (int i = 0; i < size; i++)
+			if (items[i] > threshold) indices[count++] = i;
+		return count - offset;
+	}
+}
@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+/** Chooses the {@link BulkOps} implementation. This is the Java 8 version, which always uses the scalar implementation. The gdx
+ * jar is a multi-release jar that contains a Java 17 version of this class in {@code src17}, which uses the Vector API when the
+ * {@code jdk.incubator.vector} module is available. */
+class BulkOpsProvider {
+	static BulkOps create () {
+		return new BulkOps();
+	}
+}
@@ -0,0 +1,422 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.badlogic.gdx.math.MathUtils;
+
+import static com.badlogic.gdx.utils.ObjectSet.tableSize;
+
+/** An unordered map with int keys that can be used by multiple threads. Null values are not allowed.
+ * <p>
+ * Reads are lock-free. Writes lock one of several segments, chosen by the key's hashcode, so writes to different segments don't
+ * contend. Each segment is an open addressing table using linear probing and Fibonacci hashing, like {@link IntMap}. A key's
+ * slot never changes once written, so readers can never miss a key due to a concurrent write. Removal clears the value and
+ * leaves the key in place until the segment is rehashed, which happens when its keys reach the load factor and copies only the
+ * keys with values.
+ * <p>
+ * Iteration is done with {@link Entries}, which copies a consistent snapshot of the whole map. An Entries instance can be kept
+ * and {@link Entries#reset() reset} to iterate again without allocation.
+ * @see ConcurrentObjectMap */
+public class ConcurrentIntMap<V> implements Iterable<ConcurrentIntMap.Entry<V>> {
+	final Segment<V>[] segments;
+	final int segmentBits;
+	final float loadFactor;
+
+	/** The value for key 0, which marks empty slots. Written with segment 0 locked. */
+	volatile @Null V zeroValue;
+
+	/** Creates a new map with an initial capacity of 51, a load factor of 0.8 and 16 segments. */
+	public ConcurrentIntMap () {
+		this(51, 0.8f, 16);
+	}
+
+	/** Creates a new map with a load factor of 0.8 and 16 segments. */
+	public ConcurrentIntMap (int initialCapacity) {
+		this(initialCapacity, 0.8f, 16);
+	}
+
+	/** @param initialCapacity The number of items the map can hold before any segment grows, if keys are distributed evenly.
+	 * @param concurrencyLevel The number of segments, increased to the next power of two. This limits how many threads can write
+	 *           at the same time without contention. */
+	public ConcurrentIntMap (int initialCapacity, float loadFactor, int concurrencyLevel) {
+		if (loadFactor <= 0f || loadFactor >= 1f)
+			throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+		if (concurrencyLevel <= 0) throw new IllegalArgumentException("concurrencyLevel must be > 0: " + concurrencyLevel);
+		if (initialCapacity < 0) throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+		this.loadFactor = loadFactor;
+		int segmentCount = MathUtils.nextPowerOfTwo(concurrencyLevel);
+		segmentBits = Integer.numberOfTrailingZeros(segmentCount);
+		int segmentCapacity = (initialCapacity + segmentCount - 1) / segmentCount;
+		segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++)
+			segments[i] = new Segment(tableSize(segmentCapacity, loadFactor), loadFactor);
+	}
+
+	/** Returns a hash used to choose both the segment, with the upper bits, and the slot, with the bits below those. Uses
+	 * Fibonacci hashing, see {@link IntMap#place(int)}. This method can be overridden to customize hashing. */
+	protected long hash (int key) {
+		return key * 0x9E3779B97F4A7C15L;
+	}
+
+	Segment<V> segment (long hash) {
+		// Shifting twice handles segmentBits of 0.
+		return segments[(int)(hash >>> 1 >>> 63 - segmentBits)];
+	}
+
+	/** Returns the value for the specified key, or null if the key is not in the map. */
+	public @Null V get (int key) {
+		return get(key, null);
+	}
+
+	/** Returns the value for the specified key, or the default value if the key is not in the map. This method never locks. */
+	public V get (int key, @Null V defaultValue) {
+		if (key == 0) {
+			V value = zeroValue;
+			return value != null ? value : defaultValue;
+		}
+		long hash = hash(key);
+		Table<V> table = segment(hash).table;
+		AtomicIntegerArray keys = table.keys;
+		for (int i = table.place(hash, segmentBits), mask = table.mask;; i = i + 1 & mask) {
+			int other = keys.get(i);
+			if (other == 0) return defaultValue;
+			if (other == key) {
+				V value = table.values.get(i);
+				return value != null ? value : defaultValue;
+			}
+		}
+	}
+
+	public boolean containsKey (int key) {
+		return get(key, null) != null;
+	}
+
+	/** Returns the old value associated with the specified key, or null. */
+	public @Null V put (int key, V value) {
+		return put(key, value, false);
+	}
+
+	/** Puts the value only if the key is not in the map. Returns the existing value, or null if the value was put. */
+	public @Null V putIfAbsent (int key, V value) {
+		return put(key, value, true);
+	}
+
+	private @Null V put (int key, V value, boolean onlyIfAbsent) {
+		if (value == null) throw new IllegalArgumentException("value cannot be null.");
+		if (key == 0) {
+			Segment<V> segment = segments[0];
+			segment.lock();
+			try {
+				V oldValue = zeroValue;
+				if (oldValue == null || !onlyIfAbsent) zeroValue = value;
+				return oldValue;
+			} finally {
+				segment.unlock();
+			}
+		}
+		long hash = hash(key);
+		Segment<V> segment = segment(hash);
+		segment.lock();
+		try {
+			Table<V> table = segment.table;
+			AtomicIntegerArray keys = table.keys;
+			for (int i = table.place(hash, segmentBits), mask = table.mask;; i = i + 1 & mask) {
+				int other = keys.get(i);
+				if (other == 0) { // Empty space was found.
+					keys.set(i, key);
+					table.values.set(i, value);
+					segment.size++;
+					if (++table.used >= table.threshold) segment.rehash(this);
+					return null;
+				}
+				if (other == key) { // Existing key was found.
+					V oldValue = table.values.get(i);
+					if (oldValue == null)
+						segment.size++;
+					else if (onlyIfAbsent) //
+						return oldValue;
+					table.values.set(i, value);
+					return oldValue;
+				}
+			}
+		} finally {
+			segment.unlock();
+		}
+	}
+
+	/** Returns the value for the removed key, or null if the key is not in the map. */
+	public @Null V remove (int key) {
+		if (key == 0) {
+			Segment<V> segment = segments[0];
+			segment.lock();
+			try {
+				V oldValue = zeroValue;
+				zeroValue = null;
+				return oldValue;
+			} finally {
+				segment.unlock();
+			}
+		}
+		long hash = hash(key);
+		Segment<V> segment = segment(hash);
+		segment.lock();
+		try {
+			Table<V> table = segment.table;
+			AtomicIntegerArray keys = table.keys;
+			for (int i = table.place(hash, segmentBits), mask = table.mask;; i = i + 1 & mask) {
+				int other = keys.get(i);
+				if (other == 0) return null;
+				if (other == key) {
+					V oldValue = table.values.get(i);
+					if (oldValue != null) {
+						table.values.set(i, null);
+						segment.size--;
+					}
+					return oldValue;
+				}
+			}
+		} finally {
+			segment.unlock();
+		}
+	}
+
+	/** Returns the number of entries. This may be stale if other threads are writing. */
+	public int size () {
+		int size = zeroValue != null ? 1 : 0;
+		for (Segment<V> segment : segments)
+			size += segment.size;
+		return size;
+	}
+
+	/** Returns true if the map has one or more items. */
+	public boolean notEmpty () {
+		return size() > 0;
+	}
+
+	/** Returns true if the map is empty. */
+	public boolean isEmpty () {
+		return size() == 0;
+	}
+
+	/** Removes all entries. Each segment keeps its current table size. */
+	public void clear () {
+		for (Segment<V> segment : segments) {
+			segment.lock();
+			try {
+				if (segment == segments[0]) zeroValue = null;
+				segment.table = new Table(segment.table.keys.length(), loadFactor);
+				segment.size = 0;
+			} finally {
+				segment.unlock();
+			}
+		}
+	}
+
+	/** Locks all segments, so no other thread can write until {@link #unlockAll()}. */
+	void lockAll () {
+		for (Segment<V> segment : segments)
+			segment.lock();
+	}
+
+	void unlockAll () {
+		for (int i = segments.length - 1; i >= 0; i--)
+			segments[i].unlock();
+	}
+
+	public String toString () {
+		Entries<V> entries = new Entries(this);
+		if (!entries.hasNext) return "{}";
+		java.lang.StringBuilder buffer = new java.lang.StringBuilder(32);
+		buffer.append('{');
+		for (Entry<V> entry : entries) {
+			if (buffer.length() > 1) buffer.append(", ");
+			buffer.append(entry.key);
+			buffer.append('=');
+			buffer.append(entry.value);
+		}
+		buffer.append('}');
+		return buffer.toString();
+	}
+
+	/** Returns a new iterator over a snapshot of the entries. Keep and {@link Entries#reset() reset} the iterator to avoid
+	 * allocation. */
+	public Entries<V> iterator () {
+		return entries();
+	}
+
+	/** Returns a new iterator over a snapshot of the entries. Keep and {@link Entries#reset() reset} the iterator to avoid
+	 * allocation. */
+	public Entries<V> entries () {
+		return new Entries(this);
+	}
+
+	static final class Table<V> {
+		final AtomicIntegerArray keys;
+		final AtomicReferenceArray<V> values;
+		final int mask, shift, threshold;
+		/** Number of slots with a key, including removed keys. Only accessed with the segment locked. */
+		int used;
+
+		Table (int tableSize, float loadFactor) {
+			keys = new AtomicIntegerArray(tableSize);
+			values = new AtomicReferenceArray(tableSize);
+			mask = tableSize - 1;
+			shift = Long.numberOfLeadingZeros(mask);
+			threshold = Math.min((int)(tableSize * loadFactor), mask);
+		}
+
+		/** Returns the slot for a hash, using the bits below the segment bits. */
+		int place (long hash, int segmentBits) {
+			return (int)(hash << segmentBits >>> shift);
+		}
+	}
+
+	static final class Segment<V> extends ReentrantLock {
+		private static final long serialVersionUID = -3993363144325744041L;
+
+		volatile Table<V> table;
+		volatile int size;
+
+		Segment (int tableSize, float loadFactor) {
+			table = new Table(tableSize, loadFactor);
+		}
+
+		/** Copies the keys with values to a new table with room to grow. Readers see either the old or the new table, both of which
+		 * are complete. */
+		void rehash (ConcurrentIntMap<V> map) {
+			Table<V> oldTable = table;
+			Table<V> newTable = new Table(tableSize(size << 1, map.loadFactor), map.loadFactor);
+			AtomicIntegerArray oldKeys = oldTable.keys, keys = newTable.keys;
+			AtomicReferenceArray<V> oldValues = oldTable.values, values = newTable.values;
+			int mask = newTable.mask, segmentBits = map.segmentBits;
+			for (int i = 0, n = oldKeys.length(); i < n; i++) {
+				V value = oldValues.get(i);
+				if (value == null) continue;
+				int key = oldKeys.get(i);
+				int slot = newTable.place(map.hash(key), segmentBits);
+				while (keys.get(slot) != 0)
+					slot = slot + 1 & mask;
+				keys.set(slot, key);
+				values.set(slot, value);
+				newTable.used++;
+			}
+			table = newTable;
+		}
+	}
+
+	static public class Entry<V> {
+		public int key;
+		public V value;
+
+		public String toString () {
+			return key + "=" + value;
+		}
+	}
+
+	/** Iterates a snapshot of the map's entries. The snapshot is taken by the constructor and {@link #reset()}, which briefly lock
+	 * every segment. Reset reuses the snapshot's storage, so iterating again doesn't allocate unless the map has grown. */
+	static public class Entries<V> implements Iterable<Entry<V>>, Iterator<Entry<V>> {
+		public boolean hasNext;
+
+		private final ConcurrentIntMap<V> map;
+		private final Entry<V> entry = new Entry();
+		private int[] keys;
+		private V[] values;
+		private int count, index;
+
+		public Entries (ConcurrentIntMap<V> map) {
+			this.map = map;
+			keys = new int[16];
+			values = (V[])new Object[16];
+			reset();
+		}
+
+		/** Takes a new snapshot of the map's entries and restarts iteration. */
+		public void reset () {
+			int oldCount = count;
+			count = 0;
+			map.lockAll();
+			try {
+				int size = map.size();
+				if (keys.length < size) {
+					int capacity = Math.max(8, (int)(size * 1.75f));
+					keys = new int[capacity];
+					values = (V[])new Object[capacity];
+				}
+				int[] keys = this.keys;
+				V[] values = this.values;
+				int count = 0;
+				V zeroValue = map.zeroValue;
+				if (zeroValue != null) {
+					keys[0] = 0;
+					values[count++] = zeroValue;
+				}
+				for (Segment<V> segment : map.segments) {
+					Table<V> table = segment.table;
+					for (int i = 0, n = table.keys.length(); i < n; i++) {
+						V value = table.values.get(i);
+						if (value == null) continue;
+						keys[count] = table.keys.get(i);
+						values[count++] = value;
+					}
+				}
+				this.count = count;
+			} finally {
+				map.unlockAll();
+			}
+			if (oldCount > count) Arrays.fill(values, count, Math.min(oldCount, values.length), null);
+			index = 0;
+			hasNext = count > 0;
+		}
+
+		/** Returns the number of entries in the snapshot. */
+		public int size () {
+			return count;
+		}
+
+		/** Note the same entry instance is returned each time this method is called. */
+		public Entry<V> next () {
+			if (!hasNext) throw new NoSuchElementException();
+			int i = index++;
+			entry.key = keys[i];
+			entry.value = values[i];
+			hasNext = index < count;
+			return entry;
+		}
+
+		public boolean hasNext () {
+			return hasNext;
+		}
+
+		/** Removes the current entry's key from the map. The snapshot is not changed. */
+		public void remove () {
+			if (index == 0) throw new IllegalStateException("next must be called before remove.");
+			map.remove(keys[index - 1]);
+		}
+
+		public Entries<V> iterator () {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,390 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.badlogic.gdx.math.MathUtils;
+
+import static com.badlogic.gdx.utils.ObjectSet.tableSize;
+
+/** An unordered map that can be used by multiple threads. Null keys and null values are not allowed.
+ * <p>
+ * Reads are lock-free. Writes lock one of several segments, chosen by the key's hashcode, so writes to different segments don't
+ * contend. Each segment is an open addressing table using linear probing and Fibonacci hashing, like {@link ObjectMap}. A key's
+ * slot never changes once written, so readers can never miss a key due to a concurrent write. Removal clears the value and
+ * leaves the key in place until the segment is rehashed, which happens when its keys reach the load factor and copies only the
+ * keys with values.
+ * <p>
+ * Iteration is done with {@link Entries}, which copies a consistent snapshot of the whole map. An Entries instance can be kept
+ * and {@link Entries#reset() reset} to iterate again without allocation.
+ * @see ConcurrentIntMap */
+public class ConcurrentObjectMap<K, V> implements Iterable<ConcurrentObjectMap.Entry<K, V>> {
+	final Segment<K, V>[] segments;
+	final int segmentBits;
+	final float loadFactor;
+
+	/** Creates a new map with an initial capacity of 51, a load factor of 0.8 and 16 segments. */
+	public ConcurrentObjectMap () {
+		this(51, 0.8f, 16);
+	}
+
+	/** Creates a new map with a load factor of 0.8 and 16 segments. */
+	public ConcurrentObjectMap (int initialCapacity) {
+		this(initialCapacity, 0.8f, 16);
+	}
+
+	/** @param initialCapacity The number of items the map can hold before any segment grows, if keys are distributed evenly.
+	 * @param concurrencyLevel The number of segments, increased to the next power of two. This limits how many threads can write
+	 *           at the same time without contention. */
+	public ConcurrentObjectMap (int initialCapacity, float loadFactor, int concurrencyLevel) {
+		if (loadFactor <= 0f || loadFactor >= 1f)
+			throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+		if (concurrencyLevel <= 0) throw new IllegalArgumentException("concurrencyLevel must be > 0: " + concurrencyLevel);
+		if (initialCapacity < 0) throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+		this.loadFactor = loadFactor;
+		int segmentCount = MathUtils.nextPowerOfTwo(concurrencyLevel);
+		segmentBits = Integer.numberOfTrailingZeros(segmentCount);
+		int segmentCapacity = (initialCapacity + segmentCount - 1) / segmentCount;
+		segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++)
+			segments[i] = new Segment(tableSize(segmentCapacity, loadFactor), loadFactor);
+	}
+
+	/** Returns a hash used to choose both the segment, with the upper bits, and the slot, with the bits below those. Uses
+	 * Fibonacci hashing, see {@link ObjectMap#place(Object)}. This method can be overridden to customize hashing. */
+	protected long hash (K key) {
+		return key.hashCode() * 0x9E3779B97F4A7C15L;
+	}
+
+	Segment<K, V> segment (long hash) {
+		// Shifting twice handles segmentBits of 0.
+		return segments[(int)(hash >>> 1 >>> 63 - segmentBits)];
+	}
+
+	/** Returns the value for the specified key, or null if the key is not in the map. */
+	public @Null V get (K key) {
+		return get(key, null);
+	}
+
+	/** Returns the value for the specified key, or the default value if the key is not in the map. This method never locks. */
+	public V get (K key, @Null V defaultValue) {
+		long hash = hash(key);
+		Table<K, V> table = segment(hash).table;
+		AtomicReferenceArray<K> keys = table.keys;
+		for (int i = table.place(hash, segmentBits), mask = table.mask;; i = i + 1 & mask) {
+			K other = keys.get(i);
+			if (other == null) return defaultValue;
+			if (other.equals(key)) {
+				V value = table.values.get(i);
+				return value != null ? value : defaultValue;
+			}
+		}
+	}
+
+	public boolean containsKey (K key) {
+		return get(key, null) != null;
+	}
+
+	/** Returns the old value associated with the specified key, or null. */
+	public @Null V put (K key, V value) {
+		return put(key, value, false);
+	}
+
+	/** Puts the value only if the key is not in the map. Returns the existing value, or null if the value was put. */
+	public @Null V putIfAbsent (K key, V value) {
+		return put(key, value, true);
+	}
+
+	private @Null V put (K key, V value, boolean onlyIfAbsent) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		if (value == null) throw new IllegalArgumentException("value cannot be null.");
+		long hash = hash(key);
+		Segment<K, V> segment = segment(hash);
+		segment.lock();
+		try {
+			Table<K, V> table = segment.table;
+			AtomicReferenceArray<K> keys = table.keys;
+			for (int i = table.place(hash, segmentBits), mask = table.mask;; i = i + 1 & mask) {
+				K other = keys.get(i);
+				if (other == null) { // Empty space was found.
+					keys.set(i, key);
+					table.values.set(i, value);
+					segment.size++;
+					if (++table.used >= table.threshold) segment.rehash(this);
+					return null;
+				}
+				if (other.equals(key)) { // Existing key was found.
+					V oldValue = table.values.get(i);
+					if (oldValue == null)
+						segment.size++;
+					else if (onlyIfAbsent) //
+						return oldValue;
+					table.values.set(i, value);
+					return oldValue;
+				}
+			}
+		} finally {
+			segment.unlock();
+		}
+	}
+
+	/** Returns the value for the removed key, or null if the key is not in the map. */
+	public @Null V remove (K key) {
+		long hash = hash(key);
+		Segment<K, V> segment = segment(hash);
+		segment.lock();
+		try {
+			Table<K, V> table = segment.table;
+			AtomicReferenceArray<K> keys = table.keys;
+			for (int i = table.place(hash, segmentBits), mask = table.mask;; i = i + 1 & mask) {
+				K other = keys.get(i);
+				if (other == null) return null;
+				if (other.equals(key)) {
+					V oldValue = table.values.get(i);
+					if (oldValue != null) {
+						table.values.set(i, null);
+						segment.size--;
+					}
+					return oldValue;
+				}
+			}
+		} finally {
+			segment.unlock();
+		}
+	}
+
+	/** Returns the number of entries. This may be stale if other threads are writing. */
+	public int size () {
+		int size = 0;
+		for (Segment<K, V> segment : segments)
+			size += segment.size;
+		return size;
+	}
+
+	/** Returns true if the map has one or more items. */
+	public boolean notEmpty () {
+		return size() > 0;
+	}
+
+	/** Returns true if the map is empty. */
+	public boolean isEmpty () {
+		return size() == 0;
+	}
+
+	/** Removes all entries. Each segment keeps its current table size. */
+	public void clear () {
+		for (Segment<K, V> segment : segments) {
+			segment.lock();
+			try {
+				segment.table = new Table(segment.table.keys.length(), loadFactor);
+				segment.size = 0;
+			} finally {
+				segment.unlock();
+			}
+		}
+	}
+
+	/** Locks all segments, so no other thread can write until {@link #unlockAll()}. */
+	void lockAll () {
+		for (Segment<K, V> segment : segments)
+			segment.lock();
+	}
+
+	void unlockAll () {
+		for (int i = segments.length - 1; i >= 0; i--)
+			segments[i].unlock();
+	}
+
+	public String toString () {
+		Entries<K, V> entries = new Entries(this);
+		if (!entries.hasNext) return "{}";
+		java.lang.StringBuilder buffer = new java.lang.StringBuilder(32);
+		buffer.append('{');
+		for (Entry<K, V> entry : entries) {
+			if (buffer.length() > 1) buffer.append(", ");
+			buffer.append(entry.key);
+			buffer.append('=');
+			buffer.append(entry.value);
+		}
+		buffer.append('}');
+		return buffer.toString();
+	}
+
+	/** Returns a new iterator over a snapshot of the entries. Keep and {@link Entries#reset() reset} the iterator to avoid
+	 * allocation. */
+	public Entries<K, V> iterator () {
+		return entries();
+	}
+
+	/** Returns a new iterator over a snapshot of the entries. Keep and {@link Entries#reset() reset} the iterator to avoid
+	 * allocation. */
+	public Entries<K, V> entries () {
+		return new Entries(this);
+	}
+
+	static final class Table<K, V> {
+		final AtomicReferenceArray<K> keys;
+		final AtomicReferenceArray<V> values;
+		final int mask, shift, threshold;
+		/** Number of slots with a key, including removed keys. Only accessed with the segment locked. */
+		int used;
+
+		Table (int tableSize, float loadFactor) {
+			keys = new AtomicReferenceArray(tableSize);
+			values = new AtomicReferenceArray(tableSize);
+			mask = tableSize - 1;
+			shift = Long.numberOfLeadingZeros(mask);
+			threshold = Math.min((int)(tableSize * loadFactor), mask);
+		}
+
+		/** Returns the slot for a hash, using the bits below the segment bits. */
+		int place (long hash, int segmentBits) {
+			return (int)(hash << segmentBits >>> shift);
+		}
+	}
+
+	static final class Segment<K, V> extends ReentrantLock {
+		private static final long serialVersionUID = 5626649535271388419L;
+
+		volatile Table<K, V> table;
+		volatile int size;
+
+		Segment (int tableSize, float loadFactor) {
+			table = new Table(tableSize, loadFactor);
+		}
+
+		/** Copies the keys with values to a new table with room to grow. Readers see either the old or the new table, both of which
+		 * are complete. */
+		void rehash (ConcurrentObjectMap<K, V> map) {
+			Table<K, V> oldTable = table;
+			Table<K, V> newTable = new Table(tableSize(size << 1, map.loadFactor), map.loadFactor);
+			AtomicReferenceArray<K> oldKeys = oldTable.keys, keys = newTable.keys;
+			AtomicReferenceArray<V> oldValues = oldTable.values, values = newTable.values;
+			int mask = newTable.mask, segmentBits = map.segmentBits;
+			for (int i = 0, n = oldKeys.length(); i < n; i++) {
+				V value = oldValues.get(i);
+				if (value == null) continue;
+				K key = oldKeys.get(i);
+				int slot = newTable.place(map.hash(key), segmentBits);
+				while (keys.get(slot) != null)
+					slot = slot + 1 & mask;
+				keys.set(slot, key);
+				values.set(slot, value);
+				newTable.used++;
+			}
+			table = newTable;
+		}
+	}
+
+	static public class Entry<K, V> {
+		public K key;
+		public V value;
+
+		public String toString () {
+			return key + "=" + value;
+		}
+	}
+
+	/** Iterates a snapshot of the map's entries. The snapshot is taken by the constructor and {@link #reset()}, which briefly lock
+	 * every segment. Reset reuses the snapshot's storage, so iterating again doesn't allocate unless the map has grown. */
+	static public class Entries<K, V> implements Iterable<Entry<K, V>>, Iterator<Entry<K, V>> {
+		public boolean hasNext;
+
+		private final ConcurrentObjectMap<K, V> map;
+		private final Entry<K, V> entry = new Entry();
+		private K[] keys;
+		private V[] values;
+		private int count, index;
+
+		public Entries (ConcurrentObjectMap<K, V> map) {
+			this.map = map;
+			keys = (K[])new Object[16];
+			values = (V[])new Object[16];
+			reset();
+		}
+
+		/** Takes a new snapshot of the map's entries and restarts iteration. */
+		public void reset () {
+			int oldCount = count;
+			count = 0;
+			map.lockAll();
+			try {
+				int size = map.size();
+				if (keys.length < size) {
+					int capacity = Math.max(8, (int)(size * 1.75f));
+					keys = (K[])new Object[capacity];
+					values = (V[])new Object[capacity];
+				}
+				K[] keys = this.keys;
+				V[] values = this.values;
+				int count = 0;
+				for (Segment<K, V> segment : map.segments) {
+					Table<K, V> table = segment.table;
+					for (int i = 0, n = table.keys.length(); i < n; i++) {
+						V value = table.values.get(i);
+						if (value == null) continue;
+						keys[count] = table.keys.get(i);
+						values[count++] = value;
+					}
+				}
+				this.count = count;
+			} finally {
+				map.unlockAll();
+			}
+			if (oldCount > count) {
+				Arrays.fill(keys, count, Math.min(oldCount, keys.length), null);
+				Arrays.fill(values, count, Math.min(oldCount, values.length), null);
+			}
+			index = 0;
+			hasNext = count > 0;
+		}
+
+		/** Returns the number of entries in the snapshot. */
+		public int size () {
+			return count;
+		}
+
+		/** Note the same entry instance is returned each time this method is called. */
+		public Entry<K, V> next () {
+			if (!hasNext) throw new NoSuchElementException();
+			int i = index++;
+			entry.key = keys[i];
+			entry.value = values[i];
+			hasNext = index < count;
+			return entry;
+		}
+
+		public boolean hasNext () {
+			return hasNext;
+		}
+
+		/** Removes the current entry's key from the map. The snapshot is not changed. */
+		public void remove () {
+			if (index == 0) throw new IllegalStateException("next must be called before remove.");
+			map.remove(keys[index - 1]);
+		}
+
+		public Entries<K, V> iterator () {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.utils.DefaultPool.PoolSupplier;
+
+/** A pool that can be used by multiple threads at the same time. Each thread caches free objects in two magazines, small arrays
+ * of objects, so most calls to {@link #obtain()} and {@link #free(Object)} don't touch shared state. When both of a thread's
+ * magazines are empty or full, a whole magazine is exchanged with a shared depot, which is a lock-free
+ * {@link AtomicRingBuffer}.
+ * <p>
+ * The depot holds at most {@link #max} free objects. Each thread's cache holds up to two magazines on top of that. Objects cached
+ * by a thread can only be obtained by that thread. Objects cached by a thread that has terminated are garbage collected with the
+ * thread.
+ * <p>
+ * {@link #getFree()} and {@link #peak} count the objects in the depot and the calling thread's cache, so they are approximate
+ * when other threads use the pool. {@link #clear()} only discards objects in the depot and the calling thread's cache. */
+public class ConcurrentPool<T> extends Pool<T> {
+	private final @Null PoolSupplier<T> supplier;
+	private final int magazineSize;
+	private final AtomicRingBuffer<Magazine> fullMagazines, emptyMagazines;
+	private final ThreadLocal<Cache> caches = new ThreadLocal<Cache>() {
+		protected Cache initialValue () {
+			return new Cache(magazineSize);
+		}
+	};
+
+	/** Creates a pool with magazines of 32 objects and no maximum. {@link #newObject()} must be overridden. */
+	public ConcurrentPool () {
+		this(null, 32, Integer.MAX_VALUE);
+	}
+
+	/** Creates a pool with magazines of 32 objects and no maximum. */
+	public ConcurrentPool (PoolSupplier<T> supplier) {
+		this(supplier, 32, Integer.MAX_VALUE);
+	}
+
+	/** @param supplier May be null if {@link #newObject()} is overridden.
+	 * @param magazineSize The number of objects a thread caches in each of its two magazines and moves to or from the depot at
+	 *           once.
+	 * @param max The maximum number of free objects to store in the depot. Rounded up to a multiple of the magazine size. */
+	public ConcurrentPool (@Null PoolSupplier<T> supplier, int magazineSize, int max) {
+		super(0, max);
+		if (magazineSize < 1) throw new IllegalArgumentException("magazineSize must be > 0: " + magazineSize);
+		if (max < 0) throw new IllegalArgumentException("max must be >= 0: " + max);
+		this.supplier = supplier;
+		this.magazineSize = magazineSize;
+		// The depot's capacity bounds the free objects, but the ring buffer allocates its capacity up front.
+		int magazines = (int)Math.min(1 << 16, ((long)max + magazineSize - 1) / magazineSize);
+		fullMagazines = new AtomicRingBuffer<Magazine>(Math.max(1, magazines));
+		emptyMagazines = new AtomicRingBuffer<Magazine>(Math.max(1, Math.min(magazines, 64)));
+	}
+
+	/** Returns a new object from the supplier. Can be overridden if no supplier is given. */
+	protected T newObject () {
+		if (supplier == null) throw new GdxRuntimeException("newObject must be overridden when no supplier is set.");
+		return supplier.get();
+	}
+
+	public T obtain () {
+		Cache cache = caches.get();
+		Magazine loaded = cache.loaded;
+		if (loaded.size > 0) return (T)loaded.pop();
+		if (cache.previous.size > 0) {
+			cache.loaded = cache.previous;
+			cache.previous = loaded;
+			return (T)cache.loaded.pop();
+		}
+		Magazine full = fullMagazines.poll();
+		if (full == null) return newObject();
+		// Both magazines are empty, keep one and return the other to the depot.
+		emptyMagazines.offer(cache.previous);
+		cache.previous = loaded;
+		cache.loaded = full;
+		return (T)full.pop();
+	}
+
+	/** Puts the specified object in the pool, making it eligible to be returned by {@link #obtain()}. If the calling thread's
+	 * cache is full and the depot is full, the object is {@link #discard(Object) discarded}.
+	 * <p>
+	 * The pool does not check if an object is already freed, so the same object must not be freed multiple times. */
+	public void free (T object) {
+		if (object == null) throw new IllegalArgumentException("object cannot be null.");
+		Cache cache = caches.get();
+		if (!add(cache, object)) {
+			discard(object);
+			return;
+		}
+		reset(object);
+	}
+
+	/** Adds the object to the cache, moving a full magazine to the depot if needed.
+	 * @return false if the cache and depot are full. */
+	private boolean add (Cache cache, Object object) {
+		Magazine loaded = cache.loaded;
+		if (loaded.size < magazineSize) {
+			loaded.add(object);
+			return true;
+		}
+		Magazine previous = cache.previous;
+		if (previous.size == 0) {
+			cache.loaded = previous;
+			cache.previous = loaded;
+			previous.add(object);
+			return true;
+		}
+		// Both magazines are full, move one to the depot.
+		if (!fullMagazines.offer(previous)) return false;
+		int depotFree = fullMagazines.size() * magazineSize;
+		if (depotFree > peak) peak = depotFree;
+		Magazine empty = emptyMagazines.poll();
+		if (empty == null) empty = new Magazine(magazineSize);
+		cache.previous = loaded;
+		cache.loaded = empty;
+		empty.add(object);
+		return true;
+	}
+
+	/** Adds the specified number of new free objects to the calling thread's cache and the depot. */
+	public void fill (int size) {
+		Cache cache = caches.get();
+		for (int i = 0; i < size; i++)
+			if (!add(cache, newObject())) break;
+	}
+
+	/** Puts the specified objects in the pool. Null objects within the array are silently ignored.
+	 * <p>
+	 * The pool does not check if an object is already freed, so the same object must not be freed multiple times.
+	 * @see #free(Object) */
+	public void freeAll (Array<T> objects) {
+		if (objects == null) throw new IllegalArgumentException("objects cannot be null.");
+		Cache cache = caches.get();
+		for (int i = 0, n = objects.size; i < n; i++) {
+			T object = objects.get(i);
+			if (object == null) continue;
+			if (add(cache, object))
+				reset(object);
+			else
+				discard(object);
+		}
+	}
+
+	/** Removes and discards all free objects in the depot and the calling thread's cache. Objects cached by other threads are not
+	 * discarded. */
+	public void clear () {
+		Cache cache = caches.get();
+		discardAll(cache.loaded);
+		discardAll(cache.previous);
+		Magazine magazine;
+		while ((magazine = fullMagazines.poll()) != null) {
+			discardAll(magazine);
+			emptyMagazines.offer(magazine);
+		}
+	}
+
+	private void discardAll (Magazine magazine) {
+		while (magazine.size > 0)
+			discard((T)magazine.pop());
+	}
+
+	/** The number of objects in the depot and the calling thread's cache. Approximate when other threads use the pool. */
+	public int getFree () {
+		Cache cache = caches.get();
+		return fullMagazines.size() * magazineSize + cache.loaded.size + cache.previous.size;
+	}
+
+	public int getMagazineSize () {
+		return magazineSize;
+	}
+
+	/** A thread's cache, with a loaded magazine that objects are obtained from and freed to, and the previous magazine. Keeping
+	 * two magazines prevents exchanging a magazine with the depot on every call when obtain and free alternate at the boundary. */
+	static private class Cache {
+		Magazine loaded, previous;
+
+		Cache (int magazineSize) {
+			loaded = new Magazine(magazineSize);
+			previous = new Magazine(magazineSize);
+		}
+	}
+
+	static private class Magazine {
+		final Object[] items;
+		int size;
+
+		Magazine (int capacity) {
+			items = new Object[capacity];
+		}
+
+		void add (Object object) {
+			items[size++] = object;
+		}
+
+		Object pop () {
+			Object object = items[--size];
+			items[size] = null;
+			return object;
+		}
+	}
+}
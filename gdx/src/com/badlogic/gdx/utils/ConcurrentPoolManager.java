@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.utils.DefaultPool.PoolSupplier;
+
+/** A {@link PoolManager} that creates a {@link ConcurrentPool} for each supplier, so objects can be obtained and freed by multiple
+ * threads at the same time. Pools must be registered before the manager is used by multiple threads.
+ * <p>
+ * Example: {@code new ConcurrentPoolManager(Vector3::new, MyEvent::new);} */
+public class ConcurrentPoolManager extends PoolManager {
+	public ConcurrentPoolManager () {
+	}
+
+	public ConcurrentPoolManager (PoolSupplier<?>... poolSuppliers) {
+		for (PoolSupplier<?> poolSupplier : poolSuppliers)
+			addPool(poolSupplier);
+	}
+
+	protected <T> Pool<T> newPool (PoolSupplier<T> poolSupplier) {
+		return new ConcurrentPool<>(poolSupplier);
+	}
+}
@@ -52,6 +52,17 @@ public class DataInput extends DataInputStream {
 		return optimizePositive ? result : ((result >>> 1) ^ -(result & 1));
 	}
 
+	/** Reads a 1-10 byte long. */
+	public long readLong (boolean optimizePositive) throws IOException {
+		long result = 0;
+		for (int shift = 0;; shift += 7) {
+			int b = readByte();
+			result |= (long)(b & 0x7F) << shift;
+			if ((b & 0x80) == 0) break;
+		}
+		return optimizePositive ? result : ((result >>> 1) ^ -(result & 1));
+	}
+
 	/** Reads the length and string of UTF8 characters, or null.
 	 * @return May be null. */
 	public @Null String readString () throws IOException {
@@ -27,6 +27,12 @@ public class DataOutput extends DataOutputStream {
 		super(out);
 	}
 
+	/** Writes a byte without synchronization, which is significant because the varint and string methods write a byte at a time. */
+	public void write (int b) throws IOException {
+		out.write(b);
+		if (written < Integer.MAX_VALUE) written++;
+	}
+
 	/** Writes a 1-5 byte int.
 	 * @param optimizePositive If true, small positive numbers will be more efficient (1 byte) and small negative numbers will be
 	 *           inefficient (5 bytes). */
@@ -56,6 +62,21 @@ public class DataOutput extends DataOutputStream {
 		return 5;
 	}
 
+	/** Writes a 1-10 byte long.
+	 * @param optimizePositive If true, small positive numbers will be more efficient (1 byte) and small negative numbers will be
+	 *           inefficient (10 bytes). */
+	public int writeLong (long value, boolean optimizePositive) throws IOException {
+		if (!optimizePositive) value = (value << 1) ^ (value >> 63);
+		int count = 1;
+		while (value >>> 7 != 0) {
+			write((byte)((value & 0x7F) | 0x80));
+			value >>>= 7;
+			count++;
+		}
+		write((byte)value);
+		return count;
+	}
+
 	/** Writes a length and then the string as UTF8.
 	 * @param value May be null. */
 	public void writeString (@Null String value) throws IOException {
@@ -0,0 +1,632 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.badlogic.gdx.utils.ObjectMap.Entry;
+
+import static com.badlogic.gdx.utils.ObjectSet.tableSize;
+
+/** An unordered map where the keys and values are objects, with the same API as {@link ObjectMap}. Null keys are not allowed. No
+ * allocation is done except when growing the table size.
+ * <p>
+ * This map is faster than ObjectMap when keys have expensive {@link Object#hashCode()} or {@link Object#equals(Object)} methods,
+ * such as strings or composite keys. Each key's hash is stored, so hashCode is called once per operation and never when the
+ * table grows. For each slot, a control byte holds 7 bits of the hash. The control bytes of 8 slots are stored in a long, so a
+ * probe checks a group of 8 slots at once and calls equals only for slots whose control byte and stored hash match. This uses 5
+ * more bytes per slot than ObjectMap.
+ * <p>
+ * This implementation is based on Google's SwissTable (see <a href="https://abseil.io/about/design/swisstables">the design
+ * notes</a>), using groups of 8 slots. Groups are probed quadratically. Removal leaves a tombstone unless the group has an empty
+ * slot, and the table is rebuilt when tombstones fill it. Hashcodes are rehashed using Fibonacci hashing.
+ * @see HashedObjectSet */
+public class HashedObjectMap<K, V> implements Iterable<Entry<K, V>> {
+	static final long empty = 0x80, deleted = 0xfe;
+	static final long emptyGroup = 0x8080808080808080L, lsb = 0x0101010101010101L, msb = 0x8080808080808080L;
+
+	public int size;
+
+	K[] keyTable;
+	V[] valueTable;
+	int[] hashTable;
+	/** The control bytes of 8 slots per long: {@link #empty}, {@link #deleted} or the low 7 bits of the hash. */
+	long[] controlTable;
+
+	float loadFactor;
+	int threshold;
+	/** The number of slots that are not empty, including tombstones. */
+	int used;
+	int groupMask;
+
+	transient Entries entries1, entries2;
+	transient Values values1, values2;
+	transient Keys keys1, keys2;
+
+	/** Creates a new map with an initial capacity of 51 and a load factor of 0.8. */
+	public HashedObjectMap () {
+		this(51, 0.8f);
+	}
+
+	/** Creates a new map with a load factor of 0.8.
+	 * @param initialCapacity The backing array size is initialCapacity / loadFactor, increased to the next power of two. */
+	public HashedObjectMap (int initialCapacity) {
+		this(initialCapacity, 0.8f);
+	}
+
+	/** Creates a new map with the specified initial capacity and load factor. This map will hold initialCapacity items before
+	 * growing the backing table.
+	 * @param initialCapacity The backing array size is initialCapacity / loadFactor, increased to the next power of two. */
+	public HashedObjectMap (int initialCapacity, float loadFactor) {
+		if (loadFactor <= 0f || loadFactor >= 1f)
+			throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+		this.loadFactor = loadFactor;
+		allocate(Math.max(8, tableSize(initialCapacity, loadFactor)));
+	}
+
+	/** Creates a new map identical to the specified map. */
+	public HashedObjectMap (HashedObjectMap<? extends K, ? extends V> map) {
+		this.loadFactor = map.loadFactor;
+		allocate(map.keyTable.length);
+		System.arraycopy(map.keyTable, 0, keyTable, 0, map.keyTable.length);
+		System.arraycopy(map.valueTable, 0, valueTable, 0, map.valueTable.length);
+		System.arraycopy(map.hashTable, 0, hashTable, 0, map.hashTable.length);
+		System.arraycopy(map.controlTable, 0, controlTable, 0, map.controlTable.length);
+		size = map.size;
+		used = map.used;
+	}
+
+	private void allocate (int tableSize) {
+		threshold = Math.min((int)(tableSize * loadFactor), tableSize - 1);
+		groupMask = (tableSize >>> 3) - 1;
+		keyTable = (K[])new Object[tableSize];
+		valueTable = (V[])new Object[tableSize];
+		hashTable = new int[tableSize];
+		controlTable = new long[tableSize >>> 3];
+		Arrays.fill(controlTable, emptyGroup);
+		used = 0;
+	}
+
+	/** Returns the hash for the specified key. The upper 25 bits choose the first group to probe and the lower 7 bits are stored
+	 * in the control byte, so both should be well distributed.
+	 * <p>
+	 * The default implementation uses Fibonacci hashing on the key's {@link Object#hashCode()}, see {@link ObjectMap#place(Object)}.
+	 * This method can be overridden to customize hashing. */
+	protected int hash (K key) {
+		return (int)(key.hashCode() * 0x9E3779B97F4A7C15L >>> 32);
+	}
+
+	/** Returns the index of the key, or -1 if it is not in the map. */
+	int locateKey (K key, int hash) {
+		K[] keyTable = this.keyTable;
+		int[] hashTable = this.hashTable;
+		long[] controlTable = this.controlTable;
+		long pattern = lsb * (hash & 0x7f);
+		int groupMask = this.groupMask;
+		for (int group = hash >>> 7 & groupMask, step = 0;; group = group + ++step & groupMask) {
+			long control = controlTable[group];
+			// Find bytes equal to the pattern. This can find a false match, but only for a slot with a key.
+			long x = control ^ pattern;
+			for (long match = x - lsb & ~x & msb; match != 0; match &= match - 1) {
+				int i = group << 3 | Long.numberOfTrailingZeros(match) >>> 3;
+				if (hashTable[i] == hash) {
+					K other = keyTable[i];
+					if (other == key || other.equals(key)) return i;
+				}
+			}
+			if ((control & ~(control << 6) & msb) != 0) return -1; // The group has an empty slot.
+		}
+	}
+
+	/** Returns the index of the first empty or deleted slot for the hash. */
+	static int locateSlot (long[] controlTable, int groupMask, int hash) {
+		for (int group = hash >>> 7 & groupMask, step = 0;; group = group + ++step & groupMask) {
+			long control = controlTable[group];
+			long free = control & ~(control << 7) & msb;
+			if (free != 0) return group << 3 | Long.numberOfTrailingZeros(free) >>> 3;
+		}
+	}
+
+	static long control (long[] controlTable, int index) {
+		return controlTable[index >>> 3] >>> ((index & 7) << 3) & 0xff;
+	}
+
+	static void setControl (long[] controlTable, int index, long value) {
+		int shift = (index & 7) << 3;
+		controlTable[index >>> 3] = controlTable[index >>> 3] & ~(0xffL << shift) | value << shift;
+	}
+
+	/** Returns the old value associated with the specified key, or null. */
+	public @Null V put (K key, @Null V value) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		int hash = hash(key);
+		int i = locateKey(key, hash);
+		if (i >= 0) { // Existing key was found.
+			V oldValue = valueTable[i];
+			valueTable[i] = value;
+			return oldValue;
+		}
+		i = locateSlot(controlTable, groupMask, hash);
+		if (control(controlTable, i) == empty) {
+			if (used >= threshold) {
+				// Rebuilding at the same size removes the tombstones, unless the table is mostly full.
+				resize(size >= threshold >>> 1 ? keyTable.length << 1 : keyTable.length);
+				i = locateSlot(controlTable, groupMask, hash);
+			}
+			used++;
+		}
+		setControl(controlTable, i, hash & 0x7f);
+		keyTable[i] = key;
+		valueTable[i] = value;
+		hashTable[i] = hash;
+		size++;
+		return null;
+	}
+
+	public void putAll (HashedObjectMap<? extends K, ? extends V> map) {
+		ensureCapacity(map.size);
+		K[] keyTable = map.keyTable;
+		V[] valueTable = map.valueTable;
+		K key;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			key = keyTable[i];
+			if (key != null) put(key, valueTable[i]);
+		}
+	}
+
+	public void putAll (ObjectMap<? extends K, ? extends V> map) {
+		ensureCapacity(map.size);
+		K[] keyTable = map.keyTable;
+		V[] valueTable = map.valueTable;
+		K key;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			key = keyTable[i];
+			if (key != null) put(key, valueTable[i]);
+		}
+	}
+
+	/** Returns the value for the specified key, or null if the key is not in the map. */
+	public @Null <T extends K> V get (T key) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		int i = locateKey(key, hash(key));
+		return i < 0 ? null : valueTable[i];
+	}
+
+	/** Returns the value for the specified key, or the default value if the key is not in the map. */
+	public V get (K key, @Null V defaultValue) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		int i = locateKey(key, hash(key));
+		return i < 0 ? defaultValue : valueTable[i];
+	}
+
+	/** Returns the value for the removed key, or null if the key is not in the map. */
+	public @Null V remove (K key) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		int i = locateKey(key, hash(key));
+		if (i < 0) return null;
+		V oldValue = valueTable[i];
+		removeIndex(i);
+		return oldValue;
+	}
+
+	void removeIndex (int i) {
+		keyTable[i] = null;
+		valueTable[i] = null;
+		size--;
+		// If the group has an empty slot, no probe continues past it, so the slot can be empty instead of a tombstone.
+		long control = controlTable[i >>> 3];
+		if ((control & ~(control << 6) & msb) != 0) {
+			setControl(controlTable, i, empty);
+			used--;
+		} else
+			setControl(controlTable, i, deleted);
+	}
+
+	/** Returns true if the map has one or more items. */
+	public boolean notEmpty () {
+		return size > 0;
+	}
+
+	/** Returns true if the map is empty. */
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/** Reduces the size of the backing arrays to be the specified capacity / loadFactor, or less. If the capacity is already less,
+	 * nothing is done. If the map contains more items than the specified capacity, the next highest power of two capacity is used
+	 * instead. */
+	public void shrink (int maximumCapacity) {
+		if (maximumCapacity < 0) throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);
+		int tableSize = Math.max(8, tableSize(Math.max(maximumCapacity, size), loadFactor));
+		if (keyTable.length > tableSize) resize(tableSize);
+	}
+
+	/** Clears the map and reduces the size of the backing arrays to be the specified capacity / loadFactor, if they are larger. */
+	public void clear (int maximumCapacity) {
+		int tableSize = Math.max(8, tableSize(maximumCapacity, loadFactor));
+		if (keyTable.length <= tableSize) {
+			clear();
+			return;
+		}
+		size = 0;
+		allocate(tableSize);
+	}
+
+	public void clear () {
+		if (used == 0) return;
+		size = 0;
+		used = 0;
+		Arrays.fill(keyTable, null);
+		Arrays.fill(valueTable, null);
+		Arrays.fill(controlTable, emptyGroup);
+	}
+
+	/** Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may
+	 * be an expensive operation.
+	 * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+	 *           {@link #equals(Object)}. */
+	public boolean containsValue (@Null Object value, boolean identity) {
+		return findIndex(value, identity) != -1;
+	}
+
+	public boolean containsKey (K key) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		return locateKey(key, hash(key)) >= 0;
+	}
+
+	/** Returns the key for the specified value, or null if it is not in the map. Note this traverses the entire map and compares
+	 * every value, which may be an expensive operation.
+	 * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+	 *           {@link #equals(Object)}. */
+	public @Null K findKey (@Null Object value, boolean identity) {
+		int i = findIndex(value, identity);
+		return i == -1 ? null : keyTable[i];
+	}
+
+	private int findIndex (@Null Object value, boolean identity) {
+		K[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		if (value == null) {
+			for (int i = valueTable.length - 1; i >= 0; i--)
+				if (keyTable[i] != null && valueTable[i] == null) return i;
+		} else if (identity) {
+			for (int i = valueTable.length - 1; i >= 0; i--)
+				if (valueTable[i] == value) return i;
+		} else {
+			for (int i = valueTable.length - 1; i >= 0; i--)
+				if (value.equals(valueTable[i])) return i;
+		}
+		return -1;
+	}
+
+	/** Increases the size of the backing array to accommodate the specified number of additional items / loadFactor. Useful before
+	 * adding many items to avoid multiple backing array resizes. */
+	public void ensureCapacity (int additionalCapacity) {
+		int tableSize = tableSize(size + additionalCapacity, loadFactor);
+		if (keyTable.length < tableSize) resize(tableSize);
+	}
+
+	final void resize (int newSize) {
+		K[] oldKeyTable = keyTable;
+		V[] oldValueTable = valueTable;
+		int[] oldHashTable = hashTable;
+		allocate(newSize);
+		if (size == 0) return;
+		K[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		int[] hashTable = this.hashTable;
+		for (int i = 0, n = oldKeyTable.length; i < n; i++) {
+			K key = oldKeyTable[i];
+			if (key == null) continue;
+			int hash = oldHashTable[i], index = locateSlot(controlTable, groupMask, hash);
+			setControl(controlTable, index, hash & 0x7f);
+			keyTable[index] = key;
+			valueTable[index] = oldValueTable[i];
+			hashTable[index] = hash;
+		}
+		used = size;
+	}
+
+	public int hashCode () {
+		int h = size;
+		K[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			K key = keyTable[i];
+			if (key != null) {
+				h += key.hashCode();
+				V value = valueTable[i];
+				if (value != null) h += value.hashCode();
+			}
+		}
+		return h;
+	}
+
+	public boolean equals (Object obj) {
+		if (obj == this) return true;
+		if (!(obj instanceof HashedObjectMap)) return false;
+		HashedObjectMap other = (HashedObjectMap)obj;
+		if (other.size != size) return false;
+		K[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			K key = keyTable[i];
+			if (key != null) {
+				V value = valueTable[i];
+				if (value == null) {
+					if (other.get(key, ObjectMap.dummy) != null) return false;
+				} else {
+					if (!value.equals(other.get(key))) return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/** Uses == for comparison of each value. */
+	public boolean equalsIdentity (@Null Object obj) {
+		if (obj == this) return true;
+		if (!(obj instanceof HashedObjectMap)) return false;
+		HashedObjectMap other = (HashedObjectMap)obj;
+		if (other.size != size) return false;
+		K[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			K key = keyTable[i];
+			if (key != null && valueTable[i] != other.get(key, ObjectMap.dummy)) return false;
+		}
+		return true;
+	}
+
+	public String toString (String separator) {
+		return toString(separator, false);
+	}
+
+	public String toString () {
+		return toString(", ", true);
+	}
+
+	protected String toString (String separator, boolean braces) {
+		if (size == 0) return braces ? "{}" : "";
+		java.lang.StringBuilder buffer = new java.lang.StringBuilder(32);
+		if (braces) buffer.append('{');
+		K[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		boolean first = true;
+		for (int i = keyTable.length - 1; i >= 0; i--) {
+			K key = keyTable[i];
+			if (key == null) continue;
+			if (!first) buffer.append(separator);
+			first = false;
+			buffer.append(key == this ? "(this)" : key);
+			buffer.append('=');
+			V value = valueTable[i];
+			buffer.append(value == this ? "(this)" : value);
+		}
+		if (braces) buffer.append('}');
+		return buffer.toString();
+	}
+
+	public Entries<K, V> iterator () {
+		return entries();
+	}
+
+	/** Returns an iterator for the entries in the map. Remove is supported.
+	 * <p>
+	 * If {@link Collections#allocateIterators} is false, the same iterator instance is returned each time this method is called.
+	 * Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Entries<K, V> entries () {
+		if (Collections.allocateIterators) return new Entries(this);
+		if (entries1 == null) {
+			entries1 = new Entries(this);
+			entries2 = new Entries(this);
+		}
+		if (!entries1.valid) {
+			entries1.reset();
+			entries1.valid = true;
+			entries2.valid = false;
+			return entries1;
+		}
+		entries2.reset();
+		entries2.valid = true;
+		entries1.valid = false;
+		return entries2;
+	}
+
+	/** Returns an iterator for the values in the map. Remove is supported.
+	 * <p>
+	 * If {@link Collections#allocateIterators} is false, the same iterator instance is returned each time this method is called.
+	 * Use the {@link Values} constructor for nested or multithreaded iteration. */
+	public Values<V> values () {
+		if (Collections.allocateIterators) return new Values(this);
+		if (values1 == null) {
+			values1 = new Values(this);
+			values2 = new Values(this);
+		}
+		if (!values1.valid) {
+			values1.reset();
+			values1.valid = true;
+			values2.valid = false;
+			return values1;
+		}
+		values2.reset();
+		values2.valid = true;
+		values1.valid = false;
+		return values2;
+	}
+
+	/** Returns an iterator for the keys in the map. Remove is supported.
+	 * <p>
+	 * If {@link Collections#allocateIterators} is false, the same iterator instance is returned each time this method is called.
+	 * Use the {@link Keys} constructor for nested or multithreaded iteration. */
+	public Keys<K> keys () {
+		if (Collections.allocateIterators) return new Keys(this);
+		if (keys1 == null) {
+			keys1 = new Keys(this);
+			keys2 = new Keys(this);
+		}
+		if (!keys1.valid) {
+			keys1.reset();
+			keys1.valid = true;
+			keys2.valid = false;
+			return keys1;
+		}
+		keys2.reset();
+		keys2.valid = true;
+		keys1.valid = false;
+		return keys2;
+	}
+
+	static private abstract class MapIterator<K, V, I> implements Iterable<I>, Iterator<I> {
+		public boolean hasNext;
+
+		final HashedObjectMap<K, V> map;
+		int nextIndex, currentIndex;
+		boolean valid = true;
+
+		public MapIterator (HashedObjectMap<K, V> map) {
+			this.map = map;
+			reset();
+		}
+
+		public void reset () {
+			currentIndex = -1;
+			nextIndex = -1;
+			findNextIndex();
+		}
+
+		void findNextIndex () {
+			K[] keyTable = map.keyTable;
+			for (int n = keyTable.length; ++nextIndex < n;) {
+				if (keyTable[nextIndex] != null) {
+					hasNext = true;
+					return;
+				}
+			}
+			hasNext = false;
+		}
+
+		public void remove () {
+			if (currentIndex < 0) throw new IllegalStateException("next must be called before remove.");
+			// Removal doesn't move other entries, so the next index is unchanged.
+			map.removeIndex(currentIndex);
+			currentIndex = -1;
+		}
+	}
+
+	static public class Entries<K, V> extends MapIterator<K, V, Entry<K, V>> {
+		Entry<K, V> entry = new Entry<K, V>();
+
+		public Entries (HashedObjectMap<K, V> map) {
+			super(map);
+		}
+
+		/** Note the same entry instance is returned each time this method is called. */
+		public Entry<K, V> next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			entry.key = map.keyTable[nextIndex];
+			entry.value = map.valueTable[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return entry;
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public Entries<K, V> iterator () {
+			return this;
+		}
+	}
+
+	static public class Values<V> extends MapIterator<Object, V, V> {
+		public Values (HashedObjectMap<?, V> map) {
+			super((HashedObjectMap<Object, V>)map);
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public @Null V next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			V value = map.valueTable[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return value;
+		}
+
+		public Values<V> iterator () {
+			return this;
+		}
+
+		/** Returns a new array containing the remaining values. */
+		public Array<V> toArray () {
+			return toArray(new Array(true, map.size));
+		}
+
+		/** Adds the remaining values to the specified array. */
+		public Array<V> toArray (Array<V> array) {
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+	}
+
+	static public class Keys<K> extends MapIterator<K, Object, K> {
+		public Keys (HashedObjectMap<K, ?> map) {
+			super((HashedObjectMap<K, Object>)map);
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public K next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			K key = map.keyTable[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return key;
+		}
+
+		public Keys<K> iterator () {
+			return this;
+		}
+
+		/** Returns a new array containing the remaining keys. */
+		public Array<K> toArray () {
+			return toArray(new Array<K>(true, map.size));
+		}
+
+		/** Adds the remaining keys to the array. */
+		public Array<K> toArray (Array<K> array) {
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+	}
+}
@@ -0,0 +1,411 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.badlogic.gdx.utils.HashedObjectMap.*;
+import static com.badlogic.gdx.utils.ObjectSet.tableSize;
+
+/** An unordered set where the keys are objects, with the same API as {@link ObjectSet}. Null keys are not allowed. No allocation
+ * is done except when growing the table size.
+ * <p>
+ * Each key's hash is stored along with a control byte, so this set is faster than ObjectSet when keys have expensive
+ * {@link Object#hashCode()} or {@link Object#equals(Object)} methods. See {@link HashedObjectMap} for details. */
+public class HashedObjectSet<T> implements Iterable<T> {
+	public int size;
+
+	T[] keyTable;
+	int[] hashTable;
+	long[] controlTable;
+
+	float loadFactor;
+	int threshold;
+	int used;
+	int groupMask;
+
+	private transient HashedObjectSetIterator iterator1, iterator2;
+
+	/** Creates a new set with an initial capacity of 51 and a load factor of 0.8. */
+	public HashedObjectSet () {
+		this(51, 0.8f);
+	}
+
+	/** Creates a new set with a load factor of 0.8.
+	 * @param initialCapacity The backing array size is initialCapacity / loadFactor, increased to the next power of two. */
+	public HashedObjectSet (int initialCapacity) {
+		this(initialCapacity, 0.8f);
+	}
+
+	/** Creates a new set with the specified initial capacity and load factor. This set will hold initialCapacity items before
+	 * growing the backing table.
+	 * @param initialCapacity The backing array size is initialCapacity / loadFactor, increased to the next power of two. */
+	public HashedObjectSet (int initialCapacity, float loadFactor) {
+		if (loadFactor <= 0f || loadFactor >= 1f)
+			throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+		this.loadFactor = loadFactor;
+		allocate(Math.max(8, tableSize(initialCapacity, loadFactor)));
+	}
+
+	/** Creates a new set identical to the specified set. */
+	public HashedObjectSet (HashedObjectSet<? extends T> set) {
+		this.loadFactor = set.loadFactor;
+		allocate(set.keyTable.length);
+		System.arraycopy(set.keyTable, 0, keyTable, 0, set.keyTable.length);
+		System.arraycopy(set.hashTable, 0, hashTable, 0, set.hashTable.length);
+		System.arraycopy(set.controlTable, 0, controlTable, 0, set.controlTable.length);
+		size = set.size;
+		used = set.used;
+	}
+
+	private void allocate (int tableSize) {
+		threshold = Math.min((int)(tableSize * loadFactor), tableSize - 1);
+		groupMask = (tableSize >>> 3) - 1;
+		keyTable = (T[])new Object[tableSize];
+		hashTable = new int[tableSize];
+		controlTable = new long[tableSize >>> 3];
+		Arrays.fill(controlTable, emptyGroup);
+		used = 0;
+	}
+
+	/** Returns the hash for the specified key. See {@link HashedObjectMap#hash(Object)}. */
+	protected int hash (T key) {
+		return (int)(key.hashCode() * 0x9E3779B97F4A7C15L >>> 32);
+	}
+
+	/** Returns the index of the key, or -1 if it is not in the set. */
+	int locateKey (T key, int hash) {
+		T[] keyTable = this.keyTable;
+		int[] hashTable = this.hashTable;
+		long[] controlTable = this.controlTable;
+		long pattern = lsb * (hash & 0x7f);
+		int groupMask = this.groupMask;
+		for (int group = hash >>> 7 & groupMask, step = 0;; group = group + ++step & groupMask) {
+			long control = controlTable[group];
+			long x = control ^ pattern;
+			for (long match = x - lsb & ~x & msb; match != 0; match &= match - 1) {
+				int i = group << 3 | Long.numberOfTrailingZeros(match) >>> 3;
+				if (hashTable[i] == hash) {
+					T other = keyTable[i];
+					if (other == key || other.equals(key)) return i;
+				}
+			}
+			if ((control & ~(control << 6) & msb) != 0) return -1;
+		}
+	}
+
+	/** Returns true if the key was added to the set or false if it was already in the set. If this set already contains the key,
+	 * the call leaves the set unchanged and returns false. */
+	public boolean add (T key) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		int hash = hash(key);
+		if (locateKey(key, hash) >= 0) return false; // Existing key was found.
+		int i = locateSlot(controlTable, groupMask, hash);
+		if (control(controlTable, i) == empty) {
+			if (used >= threshold) {
+				resize(size >= threshold >>> 1 ? keyTable.length << 1 : keyTable.length);
+				i = locateSlot(controlTable, groupMask, hash);
+			}
+			used++;
+		}
+		setControl(controlTable, i, hash & 0x7f);
+		keyTable[i] = key;
+		hashTable[i] = hash;
+		size++;
+		return true;
+	}
+
+	public void addAll (Array<? extends T> array) {
+		addAll(array.items, 0, array.size);
+	}
+
+	public void addAll (Array<? extends T> array, int offset, int length) {
+		if (offset + length > array.size)
+			throw new IllegalArgumentException("offset + length must be <= size: " + offset + " + " + length + " <= " + array.size);
+		addAll(array.items, offset, length);
+	}
+
+	public boolean addAll (T... array) {
+		return addAll(array, 0, array.length);
+	}
+
+	public boolean addAll (T[] array, int offset, int length) {
+		ensureCapacity(length);
+		int oldSize = size;
+		for (int i = offset, n = i + length; i < n; i++)
+			add(array[i]);
+		return oldSize != size;
+	}
+
+	public void addAll (HashedObjectSet<T> set) {
+		ensureCapacity(set.size);
+		T[] keyTable = set.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			T key = keyTable[i];
+			if (key != null) add(key);
+		}
+	}
+
+	public void addAll (ObjectSet<T> set) {
+		ensureCapacity(set.size);
+		T[] keyTable = set.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			T key = keyTable[i];
+			if (key != null) add(key);
+		}
+	}
+
+	/** Returns true if the key was removed. */
+	public boolean remove (T key) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		int i = locateKey(key, hash(key));
+		if (i < 0) return false;
+		removeIndex(i);
+		return true;
+	}
+
+	void removeIndex (int i) {
+		keyTable[i] = null;
+		size--;
+		long control = controlTable[i >>> 3];
+		if ((control & ~(control << 6) & msb) != 0) {
+			setControl(controlTable, i, empty);
+			used--;
+		} else
+			setControl(controlTable, i, deleted);
+	}
+
+	/** Returns true if the set has one or more items. */
+	public boolean notEmpty () {
+		return size > 0;
+	}
+
+	/** Returns true if the set is empty. */
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/** Reduces the size of the backing arrays to be the specified capacity / loadFactor, or less. If the capacity is already less,
+	 * nothing is done. If the set contains more items than the specified capacity, the next highest power of two capacity is used
+	 * instead. */
+	public void shrink (int maximumCapacity) {
+		if (maximumCapacity < 0) throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);
+		int tableSize = Math.max(8, tableSize(Math.max(maximumCapacity, size), loadFactor));
+		if (keyTable.length > tableSize) resize(tableSize);
+	}
+
+	/** Clears the set and reduces the size of the backing arrays to be the specified capacity / loadFactor, if they are larger.
+	 * The reduction is done by allocating new arrays, though for large arrays this can be faster than clearing the existing
+	 * arrays. */
+	public void clear (int maximumCapacity) {
+		int tableSize = Math.max(8, tableSize(maximumCapacity, loadFactor));
+		if (keyTable.length <= tableSize) {
+			clear();
+			return;
+		}
+		size = 0;
+		allocate(tableSize);
+	}
+
+	/** Clears the set, leaving the backing arrays at the current capacity. When the capacity is high and the population is low,
+	 * iteration can be unnecessarily slow. {@link #clear(int)} can be used to reduce the capacity. */
+	public void clear () {
+		if (used == 0) return;
+		size = 0;
+		used = 0;
+		Arrays.fill(keyTable, null);
+		Arrays.fill(controlTable, emptyGroup);
+	}
+
+	public boolean contains (T key) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		return locateKey(key, hash(key)) >= 0;
+	}
+
+	public @Null T get (T key) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		int i = locateKey(key, hash(key));
+		return i < 0 ? null : keyTable[i];
+	}
+
+	public T first () {
+		T[] keyTable = this.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++)
+			if (keyTable[i] != null) return keyTable[i];
+		throw new IllegalStateException("HashedObjectSet is empty.");
+	}
+
+	/** Increases the size of the backing array to accommodate the specified number of additional items / loadFactor. Useful before
+	 * adding many items to avoid multiple backing array resizes. */
+	public void ensureCapacity (int additionalCapacity) {
+		int tableSize = tableSize(size + additionalCapacity, loadFactor);
+		if (keyTable.length < tableSize) resize(tableSize);
+	}
+
+	private void resize (int newSize) {
+		T[] oldKeyTable = keyTable;
+		int[] oldHashTable = hashTable;
+		allocate(newSize);
+		if (size == 0) return;
+		T[] keyTable = this.keyTable;
+		int[] hashTable = this.hashTable;
+		for (int i = 0, n = oldKeyTable.length; i < n; i++) {
+			T key = oldKeyTable[i];
+			if (key == null) continue;
+			int hash = oldHashTable[i], index = locateSlot(controlTable, groupMask, hash);
+			setControl(controlTable, index, hash & 0x7f);
+			keyTable[index] = key;
+			hashTable[index] = hash;
+		}
+		used = size;
+	}
+
+	public int hashCode () {
+		int h = size;
+		T[] keyTable = this.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			T key = keyTable[i];
+			if (key != null) h += key.hashCode();
+		}
+		return h;
+	}
+
+	public boolean equals (Object obj) {
+		if (!(obj instanceof HashedObjectSet)) return false;
+		HashedObjectSet other = (HashedObjectSet)obj;
+		if (other.size != size) return false;
+		T[] keyTable = this.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++)
+			if (keyTable[i] != null && !other.contains(keyTable[i])) return false;
+		return true;
+	}
+
+	public String toString () {
+		return '{' + toString(", ") + '}';
+	}
+
+	public String toString (String separator) {
+		if (size == 0) return "";
+		java.lang.StringBuilder buffer = new java.lang.StringBuilder(32);
+		T[] keyTable = this.keyTable;
+		boolean first = true;
+		for (int i = keyTable.length - 1; i >= 0; i--) {
+			T key = keyTable[i];
+			if (key == null) continue;
+			if (!first) buffer.append(separator);
+			first = false;
+			buffer.append(key == this ? "(this)" : key);
+		}
+		return buffer.toString();
+	}
+
+	/** Returns an iterator for the keys in the set. Remove is supported.
+	 * <p>
+	 * If {@link Collections#allocateIterators} is false, the same iterator instance is returned each time this method is called.
+	 * Use the {@link HashedObjectSetIterator} constructor for nested or multithreaded iteration. */
+	public HashedObjectSetIterator<T> iterator () {
+		if (Collections.allocateIterators) return new HashedObjectSetIterator(this);
+		if (iterator1 == null) {
+			iterator1 = new HashedObjectSetIterator(this);
+			iterator2 = new HashedObjectSetIterator(this);
+		}
+		if (!iterator1.valid) {
+			iterator1.reset();
+			iterator1.valid = true;
+			iterator2.valid = false;
+			return iterator1;
+		}
+		iterator2.reset();
+		iterator2.valid = true;
+		iterator1.valid = false;
+		return iterator2;
+	}
+
+	static public <T> HashedObjectSet<T> with (T... array) {
+		HashedObjectSet<T> set = new HashedObjectSet<T>();
+		set.addAll(array);
+		return set;
+	}
+
+	static public class HashedObjectSetIterator<K> implements Iterable<K>, Iterator<K> {
+		public boolean hasNext;
+
+		final HashedObjectSet<K> set;
+		int nextIndex, currentIndex;
+		boolean valid = true;
+
+		public HashedObjectSetIterator (HashedObjectSet<K> set) {
+			this.set = set;
+			reset();
+		}
+
+		public void reset () {
+			currentIndex = -1;
+			nextIndex = -1;
+			findNextIndex();
+		}
+
+		private void findNextIndex () {
+			K[] keyTable = set.keyTable;
+			for (int n = keyTable.length; ++nextIndex < n;) {
+				if (keyTable[nextIndex] != null) {
+					hasNext = true;
+					return;
+				}
+			}
+			hasNext = false;
+		}
+
+		public void remove () {
+			if (currentIndex < 0) throw new IllegalStateException("next must be called before remove.");
+			set.removeIndex(currentIndex);
+			currentIndex = -1;
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public K next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			K key = set.keyTable[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return key;
+		}
+
+		public HashedObjectSetIterator<K> iterator () {
+			return this;
+		}
+
+		/** Adds the remaining values to the array. */
+		public Array<K> toArray (Array<K> array) {
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+
+		/** Returns a new array containing the remaining values. */
+		public Array<K> toArray () {
+			return toArray(new Array<K>(true, set.size));
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+/** Bulk operations on every item of an {@link IntArray}. Arithmetic wraps on overflow, except sums and dot products which are
+ * computed as longs.
+ * <p>
+ * A scalar implementation is used on all platforms. On desktop and headless with Java 17+, a SIMD implementation using the
+ * incubating Vector API is used when the JVM is started with {@code --add-modules jdk.incubator.vector}.
+ * @see FloatArrays */
+public final class IntArrays {
+	static final BulkOps ops = FloatArrays.ops;
+
+	private IntArrays () {
+	}
+
+	/** Returns true if a SIMD implementation is used. */
+	static public boolean isAccelerated () {
+		return FloatArrays.isAccelerated();
+	}
+
+	/** Multiplies every item by the scalar. */
+	static public void mul (IntArray array, int scalar) {
+		ops.mul(array.items, array.size, scalar);
+	}
+
+	/** Adds the scalar to every item. */
+	static public void add (IntArray array, int scalar) {
+		ops.add(array.items, array.size, scalar);
+	}
+
+	/** Sets each item of out to the sum of the items in a and b at the same index. Out can be a or b.
+	 * @throws IllegalArgumentException if a and b have different sizes. */
+	static public void add (IntArray a, IntArray b, IntArray out) {
+		int size = checkSize(a, b);
+		ops.add(a.items, b.items, out.setSize(size), size);
+	}
+
+	/** Sets each item of out to the item in a minus the item in b at the same index. Out can be a or b.
+	 * @throws IllegalArgumentException if a and b have different sizes. */
+	static public void sub (IntArray a, IntArray b, IntArray out) {
+		int size = checkSize(a, b);
+		ops.sub(a.items, b.items, out.setSize(size), size);
+	}
+
+	/** Sets each item of out to the product of the items in a and b at the same index. Out can be a or b.
+	 * @throws IllegalArgumentException if a and b have different sizes. */
+	static public void mul (IntArray a, IntArray b, IntArray out) {
+		int size = checkSize(a, b);
+		ops.mul(a.items, b.items, out.setSize(size), size);
+	}
+
+	/** Limits every item to be >= min and <= max. */
+	static public void clamp (IntArray array, int min, int max) {
+		ops.clamp(array.items, array.size, min, max);
+	}
+
+	/** Returns the sum of all items, or 0 if the array is empty. */
+	static public long sum (IntArray array) {
+		return ops.sum(array.items, array.size);
+	}
+
+	/** Returns the sum of the products of the items in a and b at the same index.
+	 * @throws IllegalArgumentException if a and b have different sizes. */
+	static public long dot (IntArray a, IntArray b) {
+		return ops.dot(a.items, b.items, checkSize(a, b));
+	}
+
+	/** @throws IllegalStateException if the array is empty. */
+	static public int min (IntArray array) {
+		if (array.size == 0) throw new IllegalStateException("Array is empty.");
+		return ops.min(array.items, array.size);
+	}
+
+	/** @throws IllegalStateException if the array is empty. */
+	static public int max (IntArray array) {
+		if (array.size == 0) throw new IllegalStateException("Array is empty.");
+		return ops.max(array.items, array.size);
+	}
+
+	/** Returns the first index of the smallest item, or -1 if the array is empty. */
+	static public int indexOfMin (IntArray array) {
+		if (array.size == 0) return -1;
+		return ops.indexOfMin(array.items, array.size);
+	}
+
+	/** Returns the first index of the largest item, or -1 if the array is empty. */
+	static public int indexOfMax (IntArray array) {
+		if (array.size == 0) return -1;
+		return ops.indexOfMax(array.items, array.size);
+	}
+
+	/** Replaces each item with the sum of it and all the items before it. */
+	static public void prefixSum (IntArray array) {
+		ops.prefixSum(array.items, array.size);
+	}
+
+	/** Adds the index of each item that is greater than the threshold to the indices array, in ascending order.
+	 * @return The number of indices added. */
+	static public int selectGreater (IntArray array, int threshold, IntArray indices) {
+		int offset = indices.size;
+		int[] items = indices.ensureCapacity(array.size);
+		int count = ops.selectGreater(array.items, array.size, threshold, items, offset);
+		indices.size = offset + count;
+		return count;
+	}
+
+	static private int checkSize (IntArray a, IntArray b) {
+		if (a.size != b.size) throw new IllegalArgumentException("Arrays must have the same size: " + a.size + " != " + b.size);
+		return a.size;
+	}
+}
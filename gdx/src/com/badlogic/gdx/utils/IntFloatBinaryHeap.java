@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** A heap of int ids, each with a float value, sorted either lowest first or highest first. Unlike {@link BinaryHeap}, no node
+ * objects are needed: ids and values are stored in parallel arrays and a table maps each id to its position in the heap, so a
+ * value can be changed (eg decrease-key for A* or Dijkstra) by id. No allocation is done except when growing the arrays.
+ * <p>
+ * Ids must be >= 0 and should be dense, such as node or cell indices, since the id table is as large as the largest id.
+ * <p>
+ * Each parent has {@link #getArity() arity} children. A binary heap has 2. A 4-ary heap is shallower and its children are
+ * adjacent in memory, which is usually faster for large heaps that are changed often.
+ * @see BinaryHeap */
+public class IntFloatBinaryHeap {
+	public int size;
+
+	private int[] ids;
+	private float[] values;
+	/** The heap index for each id, or -1. */
+	private int[] indices;
+	private final boolean isMaxHeap;
+	private final int shift;
+
+	/** Creates a binary min heap. */
+	public IntFloatBinaryHeap () {
+		this(16, false, 2);
+	}
+
+	/** Creates a binary heap. */
+	public IntFloatBinaryHeap (int capacity, boolean isMaxHeap) {
+		this(capacity, isMaxHeap, 2);
+	}
+
+	/** @param capacity The initial number of items and the initial id table size.
+	 * @param arity The number of children of each parent, a power of two such as 2 or 4. */
+	public IntFloatBinaryHeap (int capacity, boolean isMaxHeap, int arity) {
+		if (arity < 2 || !MathUtils.isPowerOfTwo(arity))
+			throw new IllegalArgumentException("arity must be a power of two >= 2: " + arity);
+		this.isMaxHeap = isMaxHeap;
+		shift = Integer.numberOfTrailingZeros(arity);
+		capacity = Math.max(1, capacity);
+		ids = new int[capacity];
+		values = new float[capacity];
+		indices = new int[capacity];
+		Arrays.fill(indices, -1);
+	}
+
+	/** Adds the id to the heap with the specified value.
+	 * @throws IllegalArgumentException if the id is < 0 or already in the heap. */
+	public void add (int id, float value) {
+		if (id < 0) throw new IllegalArgumentException("id must be >= 0: " + id);
+		if (contains(id)) throw new IllegalArgumentException("id is already in the heap: " + id);
+		if (id >= indices.length) {
+			int[] newIndices = new int[Math.max(id + 1, indices.length << 1)];
+			System.arraycopy(indices, 0, newIndices, 0, indices.length);
+			Arrays.fill(newIndices, indices.length, newIndices.length, -1);
+			indices = newIndices;
+		}
+		// Expand if necessary.
+		if (size == ids.length) {
+			ids = Arrays.copyOf(ids, size << 1);
+			values = Arrays.copyOf(values, size << 1);
+		}
+		// Insert at end and bubble up.
+		up(size++, id, value);
+	}
+
+	/** Adds the id if it is not in the heap, else changes its value. */
+	public void addOrSetValue (int id, float value) {
+		if (contains(id))
+			setValue(id, value);
+		else
+			add(id, value);
+	}
+
+	/** Returns true if the heap contains the specified id. */
+	public boolean contains (int id) {
+		return id >= 0 && id < indices.length && indices[id] != -1;
+	}
+
+	/** Returns the value of the id, which must be in the heap. */
+	public float getValue (int id) {
+		return values[index(id)];
+	}
+
+	/** Changes the value of the id, which must be in the heap. */
+	public void setValue (int id, float value) {
+		int index = index(id);
+		if (value < values[index] ^ isMaxHeap)
+			up(index, id, value);
+		else
+			down(index, id, value);
+	}
+
+	/** Returns the first id in the heap. This is the id with the lowest value (or highest value if this heap is configured as a
+	 * max heap). */
+	public int peek () {
+		if (size == 0) throw new IllegalStateException("The heap is empty.");
+		return ids[0];
+	}
+
+	/** Returns the value of the first id in the heap. */
+	public float peekValue () {
+		if (size == 0) throw new IllegalStateException("The heap is empty.");
+		return values[0];
+	}
+
+	/** Removes the first id in the heap and returns it. This is the id with the lowest value (or highest value if this heap is
+	 * configured as a max heap). */
+	public int pop () {
+		if (size == 0) throw new IllegalStateException("The heap is empty.");
+		int removed = ids[0];
+		indices[removed] = -1;
+		if (--size > 0) down(0, ids[size], values[size]);
+		return removed;
+	}
+
+	/** Removes the id from the heap.
+	 * @return True if the id was in the heap. */
+	public boolean remove (int id) {
+		if (!contains(id)) return false;
+		int index = indices[id];
+		indices[id] = -1;
+		if (--size > index) {
+			int movedId = ids[size];
+			float movedValue = values[size];
+			if (movedValue < values[index] ^ isMaxHeap)
+				up(index, movedId, movedValue);
+			else
+				down(index, movedId, movedValue);
+		}
+		return true;
+	}
+
+	/** Returns true if the heap has one or more items. */
+	public boolean notEmpty () {
+		return size > 0;
+	}
+
+	/** Returns true if the heap is empty. */
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	public void clear () {
+		int[] ids = this.ids, indices = this.indices;
+		for (int i = 0, n = size; i < n; i++)
+			indices[ids[i]] = -1;
+		size = 0;
+	}
+
+	/** Returns the number of children of each parent. */
+	public int getArity () {
+		return 1 << shift;
+	}
+
+	private int index (int id) {
+		if (!contains(id)) throw new IllegalArgumentException("id is not in the heap: " + id);
+		return indices[id];
+	}
+
+	/** Moves the id toward the root from the index, then stores it with its value. */
+	private void up (int index, int id, float value) {
+		int[] ids = this.ids, indices = this.indices;
+		float[] values = this.values;
+		int shift = this.shift;
+		while (index > 0) {
+			int parentIndex = (index - 1) >> shift;
+			float parentValue = values[parentIndex];
+			if (value < parentValue ^ isMaxHeap) {
+				int parentId = ids[parentIndex];
+				ids[index] = parentId;
+				values[index] = parentValue;
+				indices[parentId] = index;
+				index = parentIndex;
+			} else
+				break;
+		}
+		ids[index] = id;
+		values[index] = value;
+		indices[id] = index;
+	}
+
+	/** Moves the id toward the leaves from the index, then stores it with its value. */
+	private void down (int index, int id, float value) {
+		int[] ids = this.ids, indices = this.indices;
+		float[] values = this.values;
+		int size = this.size, shift = this.shift, arity = 1 << shift;
+		boolean isMaxHeap = this.isMaxHeap;
+		while (true) {
+			int childIndex = (index << shift) + 1;
+			if (childIndex >= size) break;
+			// Find the smallest child.
+			float childValue = values[childIndex];
+			for (int i = childIndex + 1, n = Math.min(childIndex + arity, size); i < n; i++) {
+				float other = values[i];
+				if (other < childValue ^ isMaxHeap) {
+					childValue = other;
+					childIndex = i;
+				}
+			}
+			if (childValue == value || (childValue > value ^ isMaxHeap)) break;
+			int childId = ids[childIndex];
+			ids[index] = childId;
+			values[index] = childValue;
+			indices[childId] = index;
+			index = childIndex;
+		}
+		ids[index] = id;
+		values[index] = value;
+		indices[id] = index;
+	}
+
+	public boolean equals (Object obj) {
+		if (!(obj instanceof IntFloatBinaryHeap)) return false;
+		IntFloatBinaryHeap other = (IntFloatBinaryHeap)obj;
+		if (other.size != size) return false;
+		int[] ids1 = this.ids, ids2 = other.ids;
+		float[] values1 = this.values, values2 = other.values;
+		for (int i = 0, n = size; i < n; i++)
+			if (ids1[i] != ids2[i] || values1[i] != values2[i]) return false;
+		return true;
+	}
+
+	public int hashCode () {
+		int h = 1;
+		int[] ids = this.ids;
+		float[] values = this.values;
+		for (int i = 0, n = size; i < n; i++)
+			h = h * 31 + ids[i] * 31 + Float.floatToIntBits(values[i]);
+		return h;
+	}
+
+	public String toString () {
+		if (size == 0) return "[]";
+		int[] ids = this.ids;
+		float[] values = this.values;
+		StringBuilder buffer = new StringBuilder(32);
+		buffer.append('[');
+		buffer.append(ids[0]);
+		buffer.append('=');
+		buffer.append(values[0]);
+		for (int i = 1; i < size; i++) {
+			buffer.append(", ");
+			buffer.append(ids[i]);
+			buffer.append('=');
+			buffer.append(values[i]);
+		}
+		buffer.append(']');
+		return buffer.toString();
+	}
+}
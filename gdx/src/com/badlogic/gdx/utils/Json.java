@@ -44,6 +44,7 @@ import com.badlogic.gdx.utils.reflect.ReflectionException;
  * @author Nathan Sweet */
 public class Json {
 	static private final boolean debug = false;
+	static private final FieldAccessorFactory defaultFieldAccessorFactory = newDefaultFieldAccessorFactory();
 
 	private JsonWriter writer;
 	private JsonReader reader = new JsonReader();
@@ -57,6 +58,7 @@ public class Json {
 	private boolean enumNames = true;
 	private boolean sortFields;
 	private Serializer defaultSerializer;
+	private FieldAccessorFactory fieldAccessorFactory = defaultFieldAccessorFactory;
 	private final ObjectMap<Class, OrderedMap<String, FieldMetadata>> typeToFields = new ObjectMap();
 	private final ObjectMap<String, Class> tagToClass = new ObjectMap();
 	private final ObjectMap<Class, String> classToTag = new ObjectMap();
@@ -89,6 +91,10 @@ public class Json {
 		this.ignoreDeprecated = ignoreDeprecated;
 	}
 
+	public boolean getIgnoreDeprecated () {
+		return ignoreDeprecated;
+	}
+
 	/** When true, fields with the {@link Deprecated} annotation will be read (but not written) when
 	 * {@link #setIgnoreDeprecated(boolean)} is true. Default is false.
 	 * @see #setDeprecated(Class, String, boolean) */
@@ -96,6 +102,10 @@ public class Json {
 		this.readDeprecated = readDeprecated;
 	}
 
+	public boolean getReadDeprecated () {
+		return readDeprecated;
+	}
+
 	/** Default is {@link OutputType#minimal}.
 	 * @see JsonWriter#setOutputType(OutputType) */
 	public void setOutputType (OutputType outputType) {
@@ -174,6 +184,19 @@ public class Json {
 		metadata.deprecated = deprecated;
 	}
 
+	/** Sets the factory which creates the {@link FieldAccessor} used to get and set each field. The default uses
+	 * {@link MethodHandleFieldAccessorFactory} when it is available, which avoids boxing primitive fields, and reflection
+	 * otherwise. */
+	public void setFieldAccessorFactory (FieldAccessorFactory fieldAccessorFactory) {
+		if (fieldAccessorFactory == null) throw new IllegalArgumentException("fieldAccessorFactory cannot be null.");
+		this.fieldAccessorFactory = fieldAccessorFactory;
+		typeToFields.clear();
+	}
+
+	public FieldAccessorFactory getFieldAccessorFactory () {
+		return fieldAccessorFactory;
+	}
+
 	/** When true, fields are sorted alphabetically when written, otherwise the source code order is used. Default is false.
 	 * @see #sortFields(Class, Array) */
 	public void setSortFields (boolean sortFields) {
@@ -186,7 +209,7 @@ public class Json {
 		if (sortFields) fieldNames.sort();
 	}
 
-	private OrderedMap<String, FieldMetadata> getFields (Class type) {
+	OrderedMap<String, FieldMetadata> getFields (Class type) {
 		OrderedMap<String, FieldMetadata> fields = typeToFields.get(type);
 		if (fields != null) return fields;
 
@@ -216,7 +239,7 @@ public class Json {
 				}
 			}
 
-			nameToField.put(field.getName(), new FieldMetadata(field));
+			nameToField.put(field.getName(), new FieldMetadata(field, fieldAccessorFactory.newAccessor(field)));
 		}
 		sortFields(type, nameToField.keys);
 		typeToFields.put(type, nameToField);
@@ -283,6 +306,31 @@ public class Json {
 		}
 	}
 
+	public JsonValue toJsonValue (@Null Object object) {
+		return toJsonValue(object, object == null ? null : object.getClass(), null);
+	}
+
+	/** @param knownType May be null if the type is unknown. */
+	public JsonValue toJsonValue (@Null Object object, @Null Class knownType) {
+		return toJsonValue(object, knownType, null);
+	}
+
+	/** Writes the object to a {@link JsonValue} tree without creating JSON text, using a {@link JsonValueWriter}. The tree can be
+	 * compared to a previous tree with {@link JsonPatch#diff(JsonValue, JsonValue)}.
+	 * @param knownType May be null if the type is unknown.
+	 * @param elementType May be null if the type is unknown. */
+	public JsonValue toJsonValue (@Null Object object, @Null Class knownType, @Null Class elementType) {
+		JsonValueWriter writer = new JsonValueWriter();
+		setWriter(writer);
+		try {
+			writeValue(object, knownType, elementType);
+		} finally {
+			writer.close();
+			this.writer = null;
+		}
+		return writer.getRoot();
+	}
+
 	/** Sets the writer where JSON output will be written. This is only necessary when not using the toJson methods. */
 	public void setWriter (Writer writer) {
 		if (!(writer instanceof JsonWriter)) writer = new JsonWriter(writer);
@@ -318,7 +366,11 @@ public class Json {
 			if (ignoreDeprecated && metadata.deprecated) continue;
 			Field field = metadata.field;
 			try {
-				Object value = field.get(object);
+				if (metadata.primitive != FieldMetadata.object) {
+					writePrimitive(object, metadata, defaultValues != null ? defaultValues[defaultIndex++] : null);
+					continue;
+				}
+				Object value = metadata.accessor.get(object);
 				if (defaultValues != null) {
 					Object defaultValue = defaultValues[defaultIndex++];
 					if (value == null && defaultValue == null) continue;
@@ -348,6 +400,64 @@ public class Json {
 		}
 	}
 
+	/** Writes a primitive field without boxing, unless it has the default value. The output is the same as
+	 * {@link JsonWriter#value(Object)} writes for the boxed value. */
+	private void writePrimitive (Object object, FieldMetadata metadata, @Null Object defaultValue)
+		throws ReflectionException, IOException {
+		FieldAccessor accessor = metadata.accessor;
+		String name = metadata.field.getName();
+		switch (metadata.primitive) {
+		case FieldMetadata.booleanType: {
+			boolean value = accessor.getBoolean(object);
+			if (defaultValue != null && (Boolean)defaultValue == value) return;
+			if (debug) System.out.println("Writing field: " + name + " (" + object.getClass().getName() + ")");
+			writer.name(name);
+			writer.value(value);
+			break;
+		}
+		case FieldMetadata.intType: {
+			int value = accessor.getInt(object);
+			if (defaultValue != null && (Integer)defaultValue == value) return;
+			if (debug) System.out.println("Writing field: " + name + " (" + object.getClass().getName() + ")");
+			writer.name(name);
+			writer.value(value);
+			break;
+		}
+		case FieldMetadata.longType: {
+			long value = accessor.getLong(object);
+			if (defaultValue != null && (Long)defaultValue == value) return;
+			if (debug) System.out.println("Writing field: " + name + " (" + object.getClass().getName() + ")");
+			writer.name(name);
+			writer.value(value);
+			break;
+		}
+		case FieldMetadata.floatType: {
+			float value = accessor.getFloat(object);
+			if (defaultValue != null && NumberUtils.floatToIntBits((Float)defaultValue) == NumberUtils.floatToIntBits(value)) return;
+			if (debug) System.out.println("Writing field: " + name + " (" + object.getClass().getName() + ")");
+			writer.name(name);
+			long longValue = (long)value;
+			if (value == longValue) // Whole numbers are written without a decimal point.
+				writer.json(Long.toString(longValue));
+			else
+				writer.value(value);
+			break;
+		}
+		case FieldMetadata.doubleType: {
+			double value = accessor.getDouble(object);
+			if (defaultValue != null && NumberUtils.doubleToLongBits((Double)defaultValue) == NumberUtils.doubleToLongBits(value))
+				return;
+			if (debug) System.out.println("Writing field: " + name + " (" + object.getClass().getName() + ")");
+			writer.name(name);
+			if (value == (long)value) // Whole numbers may be quoted, see JsonWriter#setQuoteLongValues(boolean).
+				writer.value((Object)value);
+			else
+				writer.value(value);
+			break;
+		}
+		}
+	}
+
 	private @Null Object[] getDefaultValues (Class type) {
 		if (!usePrototypes) return null;
 		if (classToDefaultValues.containsKey(type)) return classToDefaultValues.get(type);
@@ -370,7 +480,7 @@ public class Json {
 			if (ignoreDeprecated && metadata.deprecated) continue;
 			Field field = metadata.field;
 			try {
-				values[defaultIndex++] = field.get(object);
+				values[defaultIndex++] = metadata.accessor.get(object);
 			} catch (ReflectionException ex) {
 				throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
 			} catch (SerializationException ex) {
@@ -913,7 +1023,8 @@ public class Json {
 			}
 			Field field = metadata.field;
 			try {
-				field.set(object, readValue(field.getType(), metadata.elementType, child));
+				if (metadata.primitive == FieldMetadata.object || !readPrimitive(object, metadata, child))
+					metadata.accessor.set(object, readValue(field.getType(), metadata.elementType, child));
 			} catch (ReflectionException ex) {
 				throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
 			} catch (SerializationException ex) {
@@ -928,6 +1039,36 @@ public class Json {
 		}
 	}
 
+	/** Sets a primitive field without boxing when the JSON value has the matching type, the same as
+	 * {@link #readValue(Class, Class, JsonValue)} would convert it.
+	 * @return false if the value must be converted by readValue. */
+	private boolean readPrimitive (Object object, FieldMetadata metadata, JsonValue jsonValue) throws ReflectionException {
+		FieldAccessor accessor = metadata.accessor;
+		switch (metadata.primitive) {
+		case FieldMetadata.booleanType:
+			if (!jsonValue.isBoolean()) return false;
+			accessor.setBoolean(object, jsonValue.asBoolean());
+			return true;
+		case FieldMetadata.intType:
+			if (!jsonValue.isNumber()) return false;
+			accessor.setInt(object, jsonValue.asInt());
+			return true;
+		case FieldMetadata.longType:
+			if (!jsonValue.isNumber()) return false;
+			accessor.setLong(object, jsonValue.asLong());
+			return true;
+		case FieldMetadata.floatType:
+			if (!jsonValue.isNumber()) return false;
+			accessor.setFloat(object, jsonValue.asFloat());
+			return true;
+		case FieldMetadata.doubleType:
+			if (!jsonValue.isNumber()) return false;
+			accessor.setDouble(object, jsonValue.asDouble());
+			return true;
+		}
+		return false;
+	}
+
 	/** Called for each unknown field name encountered by {@link #readFields(Object, JsonValue)} when {@link #ignoreUnknownFields}
 	 * is false to determine whether the unknown field name should be ignored.
 	 * @param type The object type being read.
@@ -1107,28 +1248,36 @@ public class Json {
 			if (type == null || type == Object.class) type = (Class<T>)Array.class;
 			if (ClassReflection.isAssignableFrom(Array.class, type)) {
 				Array result = type == Array.class ? new Array() : (Array)newInstance(type);
-				for (JsonValue child = jsonData.child; child != null; child = child.next)
+				for (JsonValue child = jsonData.child(); child != null; child = child.next)
 					result.add(readValue(elementType, null, child));
 				return (T)result;
 			}
 			if (ClassReflection.isAssignableFrom(Queue.class, type)) {
 				Queue result = type == Queue.class ? new Queue() : (Queue)newInstance(type);
-				for (JsonValue child = jsonData.child; child != null; child = child.next)
+				for (JsonValue child = jsonData.child(); child != null; child = child.next)
 					result.addLast(readValue(elementType, null, child));
 				return (T)result;
 			}
 			if (ClassReflection.isAssignableFrom(Collection.class, type)) {
 				Collection result = type.isInterface() ? new ArrayList() : (Collection)newInstance(type);
-				for (JsonValue child = jsonData.child; child != null; child = child.next)
+				for (JsonValue child = jsonData.child(); child != null; child = child.next)
 					result.add(readValue(elementType, null, child));
 				return (T)result;
 			}
 			if (type.isArray()) {
 				Class componentType = type.getComponentType();
+				if (jsonData.packed() != null) { // Converted without creating the children.
+					if (componentType == float.class) return (T)jsonData.asFloatArray();
+					if (componentType == int.class) return (T)jsonData.asIntArray();
+					if (componentType == short.class) return (T)jsonData.asShortArray();
+					if (componentType == double.class) return (T)jsonData.asDoubleArray();
+					if (componentType == long.class) return (T)jsonData.asLongArray();
+					if (componentType == byte.class) return (T)jsonData.asByteArray();
+				}
 				if (elementType == null) elementType = componentType;
 				Object result = ArrayReflection.newInstance(componentType, jsonData.size);
 				int i = 0;
-				for (JsonValue child = jsonData.child; child != null; child = child.next)
+				for (JsonValue child = jsonData.child(); child != null; child = child.next)
 					ArrayReflection.set(result, i++, readValue(elementType, null, child));
 				return (T)result;
 			}
@@ -1265,18 +1414,120 @@ public class Json {
 		return this.reader.parse(json).prettyPrint(settings);
 	}
 
-	static private class FieldMetadata {
+	static private FieldAccessorFactory newDefaultFieldAccessorFactory () {
+		try {
+			// Created by name because method handles are not available on all platforms.
+			return (FieldAccessorFactory)ClassReflection
+				.newInstance(ClassReflection.forName("com.badlogic.gdx.utils.MethodHandleFieldAccessorFactory"));
+		} catch (Throwable ignored) {
+		}
+		return new FieldAccessorFactory() {
+			public FieldAccessor newAccessor (Field field) {
+				return new FieldAccessor(field);
+			}
+		};
+	}
+
+	static class FieldMetadata {
+		static final int object = 0, booleanType = 1, intType = 2, longType = 3, floatType = 4, doubleType = 5;
+
 		final Field field;
+		final FieldAccessor accessor;
+		final int primitive;
 		Class elementType;
 		boolean deprecated;
 
-		public FieldMetadata (Field field) {
+		public FieldMetadata (Field field, FieldAccessor accessor) {
 			this.field = field;
+			this.accessor = accessor;
 			int index = (ClassReflection.isAssignableFrom(ObjectMap.class, field.getType())
 				|| ClassReflection.isAssignableFrom(Map.class, field.getType())) ? 1 : 0;
 			this.elementType = field.getElementType(index);
 			deprecated = field.isAnnotationPresent(Deprecated.class);
+
+			Class type = field.getType();
+			if (type == boolean.class)
+				primitive = booleanType;
+			else if (type == int.class)
+				primitive = intType;
+			else if (type == long.class)
+				primitive = longType;
+			else if (type == float.class)
+				primitive = floatType;
+			else if (type == double.class)
+				primitive = doubleType;
+			else
+				primitive = object;
+		}
+	}
+
+	/** Gets and sets the value of a field for {@link Json}. This implementation uses {@link Field}, which boxes primitive values.
+	 * The primitive methods are only called for fields of that type, so subclasses can override them to avoid boxing.
+	 * @see FieldAccessorFactory */
+	static public class FieldAccessor {
+		protected final Field field;
+
+		public FieldAccessor (Field field) {
+			this.field = field;
+		}
+
+		public Field getField () {
+			return field;
 		}
+
+		public @Null Object get (Object object) throws ReflectionException {
+			return field.get(object);
+		}
+
+		public void set (Object object, @Null Object value) throws ReflectionException {
+			field.set(object, value);
+		}
+
+		public boolean getBoolean (Object object) throws ReflectionException {
+			return (Boolean)get(object);
+		}
+
+		public void setBoolean (Object object, boolean value) throws ReflectionException {
+			set(object, value);
+		}
+
+		public int getInt (Object object) throws ReflectionException {
+			return (Integer)get(object);
+		}
+
+		public void setInt (Object object, int value) throws ReflectionException {
+			set(object, value);
+		}
+
+		public long getLong (Object object) throws ReflectionException {
+			return (Long)get(object);
+		}
+
+		public void setLong (Object object, long value) throws ReflectionException {
+			set(object, value);
+		}
+
+		public float getFloat (Object object) throws ReflectionException {
+			return (Float)get(object);
+		}
+
+		public void setFloat (Object object, float value) throws ReflectionException {
+			set(object, value);
+		}
+
+		public double getDouble (Object object) throws ReflectionException {
+			return (Double)get(object);
+		}
+
+		public void setDouble (Object object, double value) throws ReflectionException {
+			set(object, value);
+		}
+	}
+
+	/** Creates a {@link FieldAccessor} for each field the first time a class is serialized.
+	 * @see Json#setFieldAccessorFactory(FieldAccessorFactory) */
+	static public interface FieldAccessorFactory {
+		public FieldAccessor newAccessor (Field field);
 	}
 
 	static public interface Serializer<T> {
@@ -0,0 +1,346 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import java.io.Closeable;
+
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+
+/** Pull parser which reads JSON one token at a time, without building a {@link JsonValue} DOM. Numbers are parsed without
+ * allocating strings and names can be compared against precomputed {@link String#hashCode() hash codes}, so large arrays can
+ * be read into primitive collections without garbage.
+ * <p>
+ * {@link #peek()} returns the next token and the {@code next...} and {@code begin/end...} methods consume it. Values are
+ * converted the same way {@link JsonValue} converts them, eg {@link #nextFloat()} accepts a string containing a number.
+ * @see JsonTextCursor
+ * @see UBJsonCursor */
+abstract public class JsonCursor implements Closeable {
+	private @Null Token token;
+
+	/** Reads the next token. Data for the token must remain available until the next call. */
+	abstract protected Token read ();
+
+	/** Returns the current name, string, number or boolean token as a string. */
+	abstract protected String stringValue ();
+
+	/** Returns the current number token as a long. */
+	abstract protected long longValue ();
+
+	/** Returns the current number token as a double. */
+	abstract protected double doubleValue ();
+
+	/** Returns the current number token as a float. The default implementation narrows {@link #doubleValue()}. */
+	protected float floatValue () {
+		return (float)doubleValue();
+	}
+
+	/** Returns the original text of the current number token, or null if it has none. The text is kept by
+	 * {@link #nextValue()} so numbers are written back the same way. */
+	protected @Null String numberText () {
+		return null;
+	}
+
+	/** Returns the current boolean token. */
+	abstract protected boolean booleanValue ();
+
+	/** Returns the {@link String#hashCode()} of the current name token. */
+	abstract protected int nameHash ();
+
+	/** Returns the next token without consuming it. */
+	public Token peek () {
+		Token token = this.token;
+		if (token == null) this.token = token = read();
+		return token;
+	}
+
+	/** Consumes the next token. Names and values are consumed without being converted.
+	 * @return the token which was consumed. */
+	public Token next () {
+		Token token = peek();
+		if (token != Token.end) this.token = null;
+		return token;
+	}
+
+	/** Returns true if the current object or array has another name or value. */
+	public boolean hasNext () {
+		Token token = peek();
+		return token != Token.endObject && token != Token.endArray && token != Token.end;
+	}
+
+	public void beginObject () {
+		expect(Token.beginObject);
+	}
+
+	public void endObject () {
+		expect(Token.endObject);
+	}
+
+	public void beginArray () {
+		expect(Token.beginArray);
+	}
+
+	public void endArray () {
+		expect(Token.endArray);
+	}
+
+	/** Consumes a null value. */
+	public void nextNull () {
+		expect(Token.nullValue);
+	}
+
+	public String nextName () {
+		expect(Token.name);
+		return stringValue();
+	}
+
+	/** Consumes a name without allocating and returns its {@link String#hashCode()}. {@link #nameEquals(String)} can be used to
+	 * rule out a hash collision. */
+	public int nextNameHash () {
+		expect(Token.name);
+		return nameHash();
+	}
+
+	/** Returns true if the name most recently consumed by {@link #nextName()} or {@link #nextNameHash()} is equal to the specified
+	 * string, without allocating. Must be called before the next token is peeked. */
+	abstract public boolean nameEquals (String name);
+
+	/** Consumes a value and returns it as a string.
+	 * @return May be null if the value is null. */
+	public @Null String nextString () {
+		switch (peek()) {
+		case stringValue:
+		case doubleValue:
+		case longValue:
+		case booleanValue:
+			token = null;
+			return stringValue();
+		case nullValue:
+			token = null;
+			return null;
+		}
+		throw unexpected("value");
+	}
+
+	public boolean nextBoolean () {
+		boolean value;
+		switch (peek()) {
+		case booleanValue:
+			value = booleanValue();
+			break;
+		case stringValue:
+			value = stringValue().equalsIgnoreCase("true");
+			break;
+		case doubleValue:
+			value = doubleValue() != 0;
+			break;
+		case longValue:
+			value = longValue() != 0;
+			break;
+		default:
+			throw unexpected("boolean");
+		}
+		token = null;
+		return value;
+	}
+
+	public long nextLong () {
+		long value;
+		switch (peek()) {
+		case longValue:
+		case doubleValue:
+			value = longValue();
+			break;
+		case stringValue:
+			value = Long.parseLong(stringValue());
+			break;
+		case booleanValue:
+			value = booleanValue() ? 1 : 0;
+			break;
+		default:
+			throw unexpected("long");
+		}
+		token = null;
+		return value;
+	}
+
+	public int nextInt () {
+		return (int)nextLong();
+	}
+
+	public short nextShort () {
+		return (short)nextLong();
+	}
+
+	public double nextDouble () {
+		double value;
+		switch (peek()) {
+		case longValue:
+		case doubleValue:
+			value = doubleValue();
+			break;
+		case stringValue:
+			value = Double.parseDouble(stringValue());
+			break;
+		case booleanValue:
+			value = booleanValue() ? 1 : 0;
+			break;
+		default:
+			throw unexpected("double");
+		}
+		token = null;
+		return value;
+	}
+
+	public float nextFloat () {
+		float value;
+		switch (peek()) {
+		case longValue:
+		case doubleValue:
+			value = floatValue();
+			break;
+		case stringValue:
+			value = Float.parseFloat(stringValue());
+			break;
+		case booleanValue:
+			value = booleanValue() ? 1 : 0;
+			break;
+		default:
+			throw unexpected("float");
+		}
+		token = null;
+		return value;
+	}
+
+	/** Consumes an array of numbers and adds them to the specified array.
+	 * @return the specified array. */
+	public FloatArray nextFloats (FloatArray values) {
+		beginArray();
+		while (hasNext())
+			values.add(nextFloat());
+		endArray();
+		return values;
+	}
+
+	/** Consumes an array of numbers and adds them to the specified array.
+	 * @return the specified array. */
+	public ShortArray nextShorts (ShortArray values) {
+		beginArray();
+		while (hasNext())
+			values.add(nextShort());
+		endArray();
+		return values;
+	}
+
+	/** Consumes an array of numbers and adds them to the specified array.
+	 * @return the specified array. */
+	public IntArray nextInts (IntArray values) {
+		beginArray();
+		while (hasNext())
+			values.add(nextInt());
+		endArray();
+		return values;
+	}
+
+	/** Consumes the next value, including all the values in an object or array. */
+	public void skipValue () {
+		int depth = 0;
+		do {
+			switch (next()) {
+			case beginObject:
+			case beginArray:
+				depth++;
+				break;
+			case endObject:
+			case endArray:
+				depth--;
+				break;
+			case name:
+				if (depth == 0) throw unexpected("value");
+				break;
+			case end:
+				throw unexpected("value");
+			}
+		} while (depth > 0);
+	}
+
+	/** Consumes the next value and returns it as a {@link JsonValue}, including all the values in an object or array. This can be
+	 * used to build a DOM for the parts of a document which don't need to be streamed. */
+	public JsonValue nextValue () {
+		switch (peek()) {
+		case beginObject: {
+			token = null;
+			JsonValue object = new JsonValue(ValueType.object);
+			while (hasNext()) {
+				String name = nextName();
+				object.addChild(name, nextValue());
+			}
+			endObject();
+			return object;
+		}
+		case beginArray: {
+			token = null;
+			JsonValue array = new JsonValue(ValueType.array);
+			while (hasNext())
+				array.addChild(nextValue());
+			endArray();
+			return array;
+		}
+		case stringValue:
+			return new JsonValue(nextString());
+		case doubleValue: {
+			token = null;
+			JsonValue value = new JsonValue(ValueType.doubleValue);
+			value.set(doubleValue(), numberText());
+			return value;
+		}
+		case longValue: {
+			token = null;
+			JsonValue value = new JsonValue(ValueType.longValue);
+			value.set(longValue(), numberText());
+			return value;
+		}
+		case booleanValue:
+			return new JsonValue(nextBoolean());
+		case nullValue:
+			token = null;
+			return new JsonValue(ValueType.nullValue);
+		}
+		throw unexpected("value");
+	}
+
+	private void expect (Token expected) {
+		if (peek() != expected) throw unexpected(expected.name());
+		token = null;
+	}
+
+	private SerializationException unexpected (String expected) {
+		return new SerializationException("Expected " + expected + " but found: " + token + position());
+	}
+
+	/** Closes the input. */
+	abstract public void close ();
+
+	/** Returns a description of the current position for error messages, or "". */
+	protected String position () {
+		return "";
+	}
+
+	static public enum Token {
+		beginObject, endObject, beginArray, endArray, name, stringValue, doubleValue, longValue, booleanValue, nullValue, end
+	}
+}
@@ -0,0 +1,773 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonSkimmer.JsonToken;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+
+/** A parsed JSON document stored in parallel primitive arrays, instead of a {@link JsonValue} object per value. Names and string
+ * values are stored once in a shared string table, so a name that occurs many times is a single string. Parsing allocates
+ * little more than the arrays, which are reused when the document is parsed again.
+ * <p>
+ * Values are identified by an int node index, with the root at 0. Children are a linked list, like JsonValue:
+ * 
+ * <pre>
+ * JsonDocument document = new JsonDocument();
+ * document.parse(file);
+ * for (int entity = document.child(document.get(0, "entities")); entity != -1; entity = document.next(entity))
+ * 	System.out.println(document.getString(entity, "name", null));
+ * </pre>
+ * 
+ * Values can also be read using a {@link #cursor(int) cursor}, or converted to a JsonValue with {@link #toJsonValue(int)}, eg to
+ * read a part of the document using {@link Json#readValue(Class, JsonValue)}.
+ * <p>
+ * Numbers are stored as longs or doubles, without their original text. Quoted strings are always strings, unquoted values are
+ * converted the same as {@link JsonReader}. */
+public class JsonDocument {
+	static private final byte object = 0, array = 1, stringValue = 2, doubleValue = 3, longValue = 4, booleanValue = 5,
+		nullValue = 6;
+	static private final ValueType[] valueTypes = ValueType.values();
+	static private final double[] pow10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+		1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+	private byte[] types = new byte[64];
+	private int[] names = new int[64], parents = new int[64], children = new int[64], nexts = new int[64], sizes = new int[64];
+	/** Long values, double values as bits, string indices or 1 for true. */
+	private long[] values = new long[64];
+	private int count;
+
+	private String[] strings = new String[32];
+	private int stringCount;
+	/** String indices + 1 by hash code, 0 for an empty slot. */
+	private int[] table = new int[64];
+
+	private final Parser parser = new Parser();
+
+	public void parse (String json) {
+		parser.parse(json);
+	}
+
+	public void parse (char[] data, int offset, int length) {
+		parser.parse(data, offset, length);
+	}
+
+	public void parse (byte[] data, int offset, int length) {
+		parser.parse(data, offset, length);
+	}
+
+	/** Parses UTF-8 JSON from the buffer's position to its limit, without changing the position. The buffer can be a memory
+	 * mapped file, see {@link FileHandle#map()}. */
+	public void parse (ByteBuffer data) {
+		parser.parse(data);
+	}
+
+	public void parse (Reader reader) {
+		parser.parse(reader);
+	}
+
+	public void parse (InputStream input) {
+		byte[] data;
+		try {
+			data = StreamUtils.copyStreamToByteArray(input);
+		} catch (IOException ex) {
+			throw new SerializationException("Error reading stream.", ex);
+		} finally {
+			StreamUtils.closeQuietly(input);
+		}
+		parser.parse(data, 0, data.length);
+	}
+
+	public void parse (FileHandle file) {
+		try {
+			byte[] data = file.readBytes();
+			parser.parse(data, 0, data.length);
+		} catch (Exception ex) {
+			throw new SerializationException("Error parsing file: " + file, ex);
+		}
+	}
+
+	/** Removes all values. */
+	public void clear () {
+		count = 0;
+		Arrays.fill(strings, 0, stringCount, null);
+		stringCount = 0;
+		Arrays.fill(table, 0);
+	}
+
+	/** Returns the number of values in the document, including values in objects and arrays. The node indices are 0 to count - 1,
+	 * in document order. */
+	public int getCount () {
+		return count;
+	}
+
+	/** Returns the number of strings in the string table. */
+	public int getStringCount () {
+		return stringCount;
+	}
+
+	/** @return The root node, or -1 if the document is empty. */
+	public int root () {
+		return count == 0 ? -1 : 0;
+	}
+
+	public ValueType type (int node) {
+		return valueTypes[types[node]];
+	}
+
+	public boolean isObject (int node) {
+		return types[node] == object;
+	}
+
+	public boolean isArray (int node) {
+		return types[node] == array;
+	}
+
+	public boolean isString (int node) {
+		return types[node] == stringValue;
+	}
+
+	public boolean isNumber (int node) {
+		return types[node] == doubleValue || types[node] == longValue;
+	}
+
+	public boolean isNull (int node) {
+		return types[node] == nullValue;
+	}
+
+	/** @return May be null if the value is not in an object. */
+	public @Null String name (int node) {
+		int name = names[node];
+		return name == -1 ? null : strings[name];
+	}
+
+	/** Returns the number of children of an object or array. */
+	public int size (int node) {
+		return sizes[node];
+	}
+
+	/** @return The first child of an object or array, or -1. */
+	public int child (int node) {
+		return children[node];
+	}
+
+	/** @return The next sibling, or -1. */
+	public int next (int node) {
+		return nexts[node];
+	}
+
+	/** @return The object or array containing the value, or -1 for the root. */
+	public int parent (int node) {
+		return parents[node];
+	}
+
+	/** Returns the child with the specified name, or -1. */
+	public int get (int node, String name) {
+		String[] strings = this.strings;
+		int[] names = this.names, nexts = this.nexts;
+		for (int child = children[node]; child != -1; child = nexts[child]) {
+			int index = names[child];
+			if (index != -1 && strings[index].equals(name)) return child;
+		}
+		return -1;
+	}
+
+	/** Returns the child at the specified index, or -1. This requires walking the linked list to the index. */
+	public int get (int node, int index) {
+		int child = children[node];
+		while (child != -1 && index-- > 0)
+			child = nexts[child];
+		return child;
+	}
+
+	/** Returns the value as a string.
+	 * @return May be null if the value is null.
+	 * @throws IllegalStateException if the value is an object or array. */
+	public @Null String asString (int node) {
+		switch (types[node]) {
+		case stringValue:
+			return strings[(int)values[node]];
+		case doubleValue:
+			return Double.toString(NumberUtils.longBitsToDouble(values[node]));
+		case longValue:
+			return Long.toString(values[node]);
+		case booleanValue:
+			return values[node] != 0 ? "true" : "false";
+		case nullValue:
+			return null;
+		}
+		throw new IllegalStateException("Value cannot be converted to string: " + type(node));
+	}
+
+	/** @throws IllegalStateException if the value is an object, array or null. */
+	public long asLong (int node) {
+		switch (types[node]) {
+		case stringValue:
+			return Long.parseLong(strings[(int)values[node]]);
+		case doubleValue:
+			return (long)NumberUtils.longBitsToDouble(values[node]);
+		case longValue:
+		case booleanValue:
+			return values[node];
+		}
+		throw new IllegalStateException("Value cannot be converted to long: " + type(node));
+	}
+
+	/** @throws IllegalStateException if the value is an object, array or null. */
+	public int asInt (int node) {
+		switch (types[node]) {
+		case stringValue:
+			return Integer.parseInt(strings[(int)values[node]]);
+		case doubleValue:
+			return (int)NumberUtils.longBitsToDouble(values[node]);
+		case longValue:
+		case booleanValue:
+			return (int)values[node];
+		}
+		throw new IllegalStateException("Value cannot be converted to int: " + type(node));
+	}
+
+	/** @throws IllegalStateException if the value is an object, array or null. */
+	public double asDouble (int node) {
+		switch (types[node]) {
+		case stringValue:
+			return Double.parseDouble(strings[(int)values[node]]);
+		case doubleValue:
+			return NumberUtils.longBitsToDouble(values[node]);
+		case longValue:
+		case booleanValue:
+			return values[node];
+		}
+		throw new IllegalStateException("Value cannot be converted to double: " + type(node));
+	}
+
+	/** @throws IllegalStateException if the value is an object, array or null. */
+	public float asFloat (int node) {
+		switch (types[node]) {
+		case stringValue:
+			return Float.parseFloat(strings[(int)values[node]]);
+		case doubleValue:
+			return (float)NumberUtils.longBitsToDouble(values[node]);
+		case longValue:
+		case booleanValue:
+			return values[node];
+		}
+		throw new IllegalStateException("Value cannot be converted to float: " + type(node));
+	}
+
+	/** @throws IllegalStateException if the value is an object, array or null. */
+	public boolean asBoolean (int node) {
+		switch (types[node]) {
+		case stringValue:
+			return strings[(int)values[node]].equalsIgnoreCase("true");
+		case doubleValue:
+			return NumberUtils.longBitsToDouble(values[node]) != 0;
+		case longValue:
+		case booleanValue:
+			return values[node] != 0;
+		}
+		throw new IllegalStateException("Value cannot be converted to boolean: " + type(node));
+	}
+
+	/** Returns the child with the specified name as a string, or the default value if the child is not found or is null. */
+	public @Null String getString (int node, String name, @Null String defaultValue) {
+		int child = get(node, name);
+		return child == -1 || types[child] == nullValue ? defaultValue : asString(child);
+	}
+
+	/** Returns the child with the specified name as a long, or the default value if the child is not found or is null. */
+	public long getLong (int node, String name, long defaultValue) {
+		int child = get(node, name);
+		return child == -1 || types[child] == nullValue ? defaultValue : asLong(child);
+	}
+
+	/** Returns the child with the specified name as an int, or the default value if the child is not found or is null. */
+	public int getInt (int node, String name, int defaultValue) {
+		int child = get(node, name);
+		return child == -1 || types[child] == nullValue ? defaultValue : asInt(child);
+	}
+
+	/** Returns the child with the specified name as a double, or the default value if the child is not found or is null. */
+	public double getDouble (int node, String name, double defaultValue) {
+		int child = get(node, name);
+		return child == -1 || types[child] == nullValue ? defaultValue : asDouble(child);
+	}
+
+	/** Returns the child with the specified name as a float, or the default value if the child is not found or is null. */
+	public float getFloat (int node, String name, float defaultValue) {
+		int child = get(node, name);
+		return child == -1 || types[child] == nullValue ? defaultValue : asFloat(child);
+	}
+
+	/** Returns the child with the specified name as a boolean, or the default value if the child is not found or is null. */
+	public boolean getBoolean (int node, String name, boolean defaultValue) {
+		int child = get(node, name);
+		return child == -1 || types[child] == nullValue ? defaultValue : asBoolean(child);
+	}
+
+	/** Returns a new {@link JsonValue} for the root and all its children.
+	 * @throws IllegalStateException if the document is empty. */
+	public JsonValue toJsonValue () {
+		if (count == 0) throw new IllegalStateException("The document is empty.");
+		return toJsonValue(0);
+	}
+
+	/** Returns a new {@link JsonValue} for the node and all its children. The JsonValue has the node's name but no parent. */
+	public JsonValue toJsonValue (int node) {
+		JsonValue value;
+		switch (types[node]) {
+		case object:
+		case array:
+			value = new JsonValue(valueTypes[types[node]]);
+			for (int child = children[node]; child != -1; child = nexts[child])
+				value.addChild(toJsonValue(child));
+			break;
+		case stringValue:
+			value = new JsonValue(strings[(int)values[node]]);
+			break;
+		case doubleValue:
+			value = new JsonValue(NumberUtils.longBitsToDouble(values[node]));
+			break;
+		case longValue:
+			value = new JsonValue(values[node]);
+			break;
+		case booleanValue:
+			value = new JsonValue(values[node] != 0);
+			break;
+		default:
+			value = new JsonValue(ValueType.nullValue);
+		}
+		value.name = name(node);
+		return value;
+	}
+
+	/** Returns a cursor that reads the node and all its children. The cursor must not be used after the document is parsed
+	 * again. */
+	public JsonCursor cursor (int node) {
+		return new DocumentCursor(node);
+	}
+
+	private int add (byte type, @Null JsonToken name, int parent, int previous) {
+		int node = count;
+		if (node == types.length) resize(node << 1);
+		count = node + 1;
+		types[node] = type;
+		names[node] = name == null ? -1 : string(name);
+		parents[node] = parent;
+		children[node] = -1;
+		nexts[node] = -1;
+		sizes[node] = 0;
+		if (parent != -1) {
+			if (previous == -1)
+				children[parent] = node;
+			else
+				nexts[previous] = node;
+			sizes[parent]++;
+		}
+		return node;
+	}
+
+	private void resize (int capacity) {
+		types = Arrays.copyOf(types, capacity);
+		names = Arrays.copyOf(names, capacity);
+		parents = Arrays.copyOf(parents, capacity);
+		children = Arrays.copyOf(children, capacity);
+		nexts = Arrays.copyOf(nexts, capacity);
+		sizes = Arrays.copyOf(sizes, capacity);
+		values = Arrays.copyOf(values, capacity);
+	}
+
+	/** Returns the string table index for the token, adding it if necessary. Strings are only allocated the first time they are
+	 * seen, unless they have escapes or non-ASCII characters. */
+	private int string (JsonToken token) {
+		if (!token.unescape) {
+			int start = token.start, end = start + token.length, hash = 0;
+			char[] chars = token.chars;
+			if (chars != null) {
+				for (int i = start; i < end; i++)
+					hash = 31 * hash + chars[i];
+				int[] table = this.table;
+				for (int mask = table.length - 1, slot = hash & mask;; slot = (slot + 1) & mask) {
+					int index = table[slot] - 1;
+					if (index == -1) return addString(new String(chars, start, end - start), slot);
+					String string = strings[index];
+					if (string.hashCode() == hash && equals(string, chars, start, end)) return index;
+				}
+			}
+			ByteBuffer bytes = token.bytes;
+			int i = start;
+			for (; i < end; i++) {
+				byte b = bytes.get(i);
+				if (b < 0) break; // Non-ASCII.
+				hash = 31 * hash + b;
+			}
+			if (i == end) {
+				int[] table = this.table;
+				for (int mask = table.length - 1, slot = hash & mask;; slot = (slot + 1) & mask) {
+					int index = table[slot] - 1;
+					if (index == -1) return addString(token.toString(), slot);
+					String string = strings[index];
+					if (string.hashCode() == hash && equals(string, bytes, start, end)) return index;
+				}
+			}
+		}
+		String string = token.toString();
+		int[] table = this.table;
+		for (int mask = table.length - 1, slot = string.hashCode() & mask;; slot = (slot + 1) & mask) {
+			int index = table[slot] - 1;
+			if (index == -1) return addString(string, slot);
+			if (strings[index].equals(string)) return index;
+		}
+	}
+
+	private int addString (String string, int slot) {
+		int index = stringCount++;
+		if (index == strings.length) strings = Arrays.copyOf(strings, index << 1);
+		strings[index] = string;
+		table[slot] = index + 1;
+		if (stringCount << 1 > table.length) { // Keep the load factor at most 0.5.
+			int[] table = new int[this.table.length << 1];
+			for (int i = 0, mask = table.length - 1; i < stringCount; i++) {
+				int newSlot = strings[i].hashCode() & mask;
+				while (table[newSlot] != 0)
+					newSlot = (newSlot + 1) & mask;
+				table[newSlot] = i + 1;
+			}
+			this.table = table;
+		}
+		return index;
+	}
+
+	static private boolean equals (String string, char[] chars, int start, int end) {
+		if (string.length() != end - start) return false;
+		for (int i = start, s = 0; i < end; i++, s++)
+			if (chars[i] != string.charAt(s)) return false;
+		return true;
+	}
+
+	static private boolean equals (String string, ByteBuffer bytes, int start, int end) {
+		if (string.length() != end - start) return false;
+		for (int i = start, s = 0; i < end; i++, s++)
+			if (bytes.get(i) != string.charAt(s)) return false;
+		return true;
+	}
+
+	/** Sets the value of a leaf node from an unquoted token, using the same rules as {@link JsonReader}. */
+	private void unquoted (int node, JsonToken token) {
+		char[] chars = token.chars;
+		ByteBuffer bytes = token.bytes;
+		int i = token.start, end = i + token.length;
+		if (!token.unescape) {
+			// Parse the mantissa and decimal exponent, falling back to the JDK for numbers which can't be converted exactly.
+			boolean negative = false;
+			if (i < end) {
+				int c = chars != null ? chars[i] : bytes.get(i);
+				if (c == '-' || c == '+') {
+					negative = c == '-';
+					i++;
+				}
+			}
+			long mantissa = 0;
+			int digits = 0, exponent = 0;
+			boolean isLong = true, valid = false;
+			for (; i < end; i++) {
+				int digit = (chars != null ? chars[i] : bytes.get(i)) - '0';
+				if (digit < 0 || digit > 9) break;
+				valid = true;
+				if (mantissa != 0 || digit != 0) digits++;
+				mantissa = mantissa * 10 + digit;
+				if (digits > 18) break;
+			}
+			if (i < end && (chars != null ? chars[i] : bytes.get(i)) == '.') {
+				isLong = false;
+				for (i++; i < end; i++) {
+					int digit = (chars != null ? chars[i] : bytes.get(i)) - '0';
+					if (digit < 0 || digit > 9) break;
+					valid = true;
+					if (mantissa != 0 || digit != 0) digits++;
+					mantissa = mantissa * 10 + digit;
+					exponent--;
+					if (digits > 18) break;
+				}
+			}
+			if (valid && i < end) {
+				int c = chars != null ? chars[i] : bytes.get(i);
+				if (c == 'e' || c == 'E') {
+					isLong = false;
+					i++;
+					boolean negativeExponent = false;
+					if (i < end) {
+						c = chars != null ? chars[i] : bytes.get(i);
+						if (c == '-' || c == '+') {
+							negativeExponent = c == '-';
+							i++;
+						}
+					}
+					int value = 0;
+					valid = false;
+					for (; i < end; i++) {
+						int digit = (chars != null ? chars[i] : bytes.get(i)) - '0';
+						if (digit < 0 || digit > 9) break;
+						valid = true;
+						if (value < 10000) value = value * 10 + digit;
+					}
+					exponent += negativeExponent ? -value : value;
+				}
+			}
+			if (valid && i == end && digits <= 18) {
+				if (isLong) {
+					types[node] = longValue;
+					values[node] = negative ? -mantissa : mantissa;
+					return;
+				}
+				if (mantissa < 1L << 53 && exponent >= -22 && exponent <= 22) {
+					double value = exponent < 0 ? mantissa / pow10[-exponent] : mantissa * pow10[exponent];
+					types[node] = doubleValue;
+					values[node] = NumberUtils.doubleToLongBits(negative ? -value : value);
+					return;
+				}
+			}
+		}
+
+		// Numbers with many digits or large exponents, or strings which only look like numbers.
+		boolean couldBeDouble = false, couldBeLong = true;
+		outer:
+		for (i = token.start; i < end; i++) {
+			switch (chars != null ? chars[i] : bytes.get(i)) {
+			case '0':
+			case '1':
+			case '2':
+			case '3':
+			case '4':
+			case '5':
+			case '6':
+			case '7':
+			case '8':
+			case '9':
+			case '-':
+			case '+':
+				break;
+			case '.':
+			case 'e':
+			case 'E':
+				couldBeDouble = true;
+				couldBeLong = false;
+				break;
+			default:
+				couldBeDouble = false;
+				couldBeLong = false;
+				break outer;
+			}
+		}
+		if (couldBeDouble) {
+			try {
+				double value = Double.parseDouble(token.toString());
+				types[node] = doubleValue;
+				values[node] = NumberUtils.doubleToLongBits(value);
+				return;
+			} catch (NumberFormatException ignored) {
+			}
+		} else if (couldBeLong) {
+			try {
+				long value = Long.parseLong(token.toString());
+				types[node] = longValue;
+				values[node] = value;
+				return;
+			} catch (NumberFormatException ignored) {
+			}
+		}
+		types[node] = stringValue;
+		values[node] = string(token);
+	}
+
+	/** Builds the document from the tokens of a {@link JsonSkimmer}. */
+	private class Parser extends JsonSkimmer {
+		/** The object or array at each depth and the last child added to it. */
+		private final IntArray stack = new IntArray(), lasts = new IntArray();
+
+		public void parse (char[] data, int offset, int length) {
+			begin();
+			super.parse(data, offset, length);
+		}
+
+		public void parse (ByteBuffer data) {
+			begin();
+			super.parse(data);
+		}
+
+		private void begin () {
+			clear();
+			stack.clear();
+			lasts.clear();
+		}
+
+		protected void push (@Null JsonToken name, boolean object) {
+			int node = add(object ? JsonDocument.object : array, name);
+			stack.add(node);
+			lasts.add(-1);
+		}
+
+		protected void pop () {
+			stack.pop();
+			lasts.pop();
+		}
+
+		protected void value (@Null JsonToken name, JsonToken value) {
+			int node = add(nullValue, name);
+			switch (value.type) {
+			case nullValue:
+				break;
+			case trueValue:
+				types[node] = booleanValue;
+				values[node] = 1;
+				break;
+			case falseValue:
+				types[node] = booleanValue;
+				values[node] = 0;
+				break;
+			default:
+				if (value.isQuoted()) {
+					types[node] = stringValue;
+					values[node] = string(value);
+				} else
+					unquoted(node, value);
+			}
+		}
+
+		private int add (byte type, @Null JsonToken name) {
+			int depth = stack.size;
+			if (depth == 0) {
+				if (count > 0) throw new SerializationException("Only a single root value is allowed.");
+				return JsonDocument.this.add(type, name, -1, -1);
+			}
+			int node = JsonDocument.this.add(type, name, stack.items[depth - 1], lasts.items[depth - 1]);
+			lasts.items[depth - 1] = node;
+			return node;
+		}
+	}
+
+	/** Reads the values of a document as tokens. */
+	private class DocumentCursor extends JsonCursor {
+		static private final int visit = 0, close = 1, done = 2;
+
+		private final int root;
+		private int node, current, state;
+		private boolean named, nameToken;
+
+		DocumentCursor (int root) {
+			this.root = root;
+			node = root;
+		}
+
+		protected Token read () {
+			switch (state) {
+			case visit: {
+				int node = this.node;
+				current = node;
+				if (!named && node != root && types[parents[node]] == object) {
+					named = true;
+					nameToken = true;
+					return Token.name;
+				}
+				named = false;
+				nameToken = false;
+				byte type = types[node];
+				switch (type) {
+				case object:
+				case array:
+					if (children[node] != -1)
+						this.node = children[node];
+					else
+						state = close;
+					return type == object ? Token.beginObject : Token.beginArray;
+				case stringValue:
+					advance(node);
+					return Token.stringValue;
+				case doubleValue:
+					advance(node);
+					return Token.doubleValue;
+				case longValue:
+					advance(node);
+					return Token.longValue;
+				case booleanValue:
+					advance(node);
+					return Token.booleanValue;
+				default:
+					advance(node);
+					return Token.nullValue;
+				}
+			}
+			case close: {
+				int node = this.node;
+				advance(node);
+				return types[node] == object ? Token.endObject : Token.endArray;
+			}
+			default:
+				return Token.end;
+			}
+		}
+
+		private void advance (int node) {
+			if (node == root)
+				state = done;
+			else if (nexts[node] != -1) {
+				this.node = nexts[node];
+				state = visit;
+			} else {
+				this.node = parents[node];
+				state = close;
+			}
+		}
+
+		protected String stringValue () {
+			return nameToken ? strings[names[current]] : asString(current);
+		}
+
+		protected long longValue () {
+			return asLong(current);
+		}
+
+		protected double doubleValue () {
+			return asDouble(current);
+		}
+
+		protected boolean booleanValue () {
+			return values[current] != 0;
+		}
+
+		protected int nameHash () {
+			return strings[names[current]].hashCode();
+		}
+
+		public boolean nameEquals (String name) {
+			return strings[names[current]].equals(name);
+		}
+
+		public void close () {
+		}
+
+		protected String position () {
+			return ", node: " + current;
+		}
+	}
+}
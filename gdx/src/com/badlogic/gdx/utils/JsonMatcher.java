@@ -18,6 +18,7 @@ package com.badlogic.gdx.utils;
 
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.JsonValue.ValueType;
@@ -168,7 +169,8 @@ public class JsonMatcher extends JsonSkimmer {
 	boolean stoppable = true;
 
 	int depth, captured;
-	char[] chars;
+	@Null char[] chars;
+	@Null ByteBuffer bytes;
 	final IntArray path = new IntArray();
 	Pattern processPattern;
 
@@ -195,7 +197,7 @@ public class JsonMatcher extends JsonSkimmer {
 	/** Adds a pattern for value extraction. The processor is invoked only for this pattern's matches.
 	 * @return The new pattern's index. */
 	public int addPattern (String pattern, @Null Processor processor) {
-		if (chars != null) throw new IllegalStateException();
+		if (chars != null || bytes != null) throw new IllegalStateException();
 		Pattern[] newPatterns = new Pattern[patterns.length + 1];
 		System.arraycopy(patterns, 0, newPatterns, 0, patterns.length);
 		Pattern newPattern;
@@ -214,26 +216,49 @@ public class JsonMatcher extends JsonSkimmer {
 
 	@Override
 	public void parse (char[] data, int offset, int length) {
-		if (chars != null) throw new IllegalStateException();
+		if (chars != null || bytes != null) throw new IllegalStateException();
 		parseStart();
 		captureRoot();
 		chars = data;
 		try {
 			super.parse(data, offset, length);
-			for (Pattern pattern : patterns)
-				process(pattern, false);
-			parseEnd();
+			processEnd();
 		} finally {
-			for (Pattern pattern : patterns)
-				pattern.reset();
-			patterns = original;
-			depth = 0;
-			captured = 0;
-			chars = null;
-			path.clear();
+			reset();
+		}
+	}
+
+	@Override
+	public void parse (ByteBuffer data) {
+		if (chars != null || bytes != null) throw new IllegalStateException();
+		parseStart();
+		captureRoot();
+		bytes = data;
+		try {
+			super.parse(data);
+			processEnd();
+		} finally {
+			reset();
 		}
 	}
 
+	private void processEnd () {
+		for (Pattern pattern : patterns)
+			process(pattern, false);
+		parseEnd();
+	}
+
+	private void reset () {
+		for (Pattern pattern : patterns)
+			pattern.reset();
+		patterns = original;
+		depth = 0;
+		captured = 0;
+		chars = null;
+		bytes = null;
+		path.clear();
+	}
+
 	/** If there are no patterns, set a temporary pattern to capture the root. */
 	private void captureRoot () {
 		original = patterns;
@@ -579,6 +604,8 @@ public class JsonMatcher extends JsonSkimmer {
 			int start = path.get(i), length = path.get(i + 1);
 			if (length == 0)
 				buffer.append(start == 0 ? "{}" : "[]");
+			else if (bytes != null)
+				JsonReader.decodeUtf8(bytes, start, start + length, buffer);
 			else
 				buffer.append(chars, start, length);
 		}
@@ -592,7 +619,7 @@ public class JsonMatcher extends JsonSkimmer {
 		if (n == 0) return "";
 		int start = path.get(n - 2), length = path.get(n - 1);
 		if (length == 0) return start == 0 ? "{}" : "[]";
-		return new String(chars, start, length);
+		return bytes != null ? utf8(bytes, start, start + length) : new String(chars, start, length);
 	}
 
 	/** Returns the segment of the JSON path up the specified segments from the end, starting at 0, or "" if there aren't enough
@@ -603,7 +630,7 @@ public class JsonMatcher extends JsonSkimmer {
 		if (i < 2) return "";
 		int start = path.get(i - 2), length = path.get(i - 1);
 		if (length == 0) return start == 0 ? "{}" : "[]";
-		return new String(chars, start, length);
+		return bytes != null ? utf8(bytes, start, start + length) : new String(chars, start, length);
 	}
 
 	/** @see PatternParser */
@@ -703,6 +730,20 @@ public class JsonMatcher extends JsonSkimmer {
 		return value;
 	}
 
+	/** Parses and returns captures for patterns without {@code @}. Returns an array for multiple patterns without {@code @}. */
+	public JsonValue parseValue (byte[] data, int offset, int length) {
+		JsonValue value = valueStart();
+		parse(data, offset, length);
+		return value;
+	}
+
+	/** Parses and returns captures for patterns without {@code @}. Returns an array for multiple patterns without {@code @}. */
+	public JsonValue parseValue (ByteBuffer data) {
+		JsonValue value = valueStart();
+		parse(data);
+		return value;
+	}
+
 	/** Parses and returns captures for patterns without {@code @}. Returns an array for multiple patterns without {@code @}. */
 	public JsonValue parseValue (String json) {
 		JsonValue value = valueStart();
@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+
+/** Creates and applies JSON patches (RFC 6902), so a document that changes a little at a time can be saved or sent as the
+ * differences from a previous version instead of in full.
+ * <p>
+ * A patch is a JSON array of operations, each an object with an "op" ("add", "remove", "replace", "move", "copy" or "test"), a
+ * "path" which is a JSON pointer (RFC 6901) such as "/entities/3/health", and a "value" or "from" depending on the operation.
+ * <p>
+ * For example, state can be saved by keeping the {@link JsonValue} that was last saved, then writing only the changes:
+ * 
+ * <pre>
+ * JsonValue current = json.toJsonValue(world);
+ * JsonValue patch = JsonPatch.diff(saved, current);
+ * if (patch.notEmpty()) file.writeString(patch.toJson(OutputType.json), false);
+ * saved = current;
+ * </pre>
+ * 
+ * The saved document is rebuilt by applying each patch in order to the last full document. */
+public final class JsonPatch {
+	static private final int lookahead = 8;
+
+	private JsonPatch () {
+	}
+
+	/** Returns a patch that changes the first value to be equal to the second value. The patch is empty if the values are
+	 * {@link #equal(JsonValue, JsonValue) equal}.
+	 * <p>
+	 * Objects are compared by name and only changed, added or removed children are in the patch. Array elements are compared in
+	 * order. When elements differ, the next few elements are searched for a match, so inserting or removing a few elements creates
+	 * only add or remove operations for them instead of changes to every element after them. Values in the patch are copies, the
+	 * specified values are not modified. */
+	static public JsonValue diff (JsonValue from, JsonValue to) {
+		JsonValue patch = new JsonValue(ValueType.array);
+		diff(from, to, new StringBuilder(64), patch);
+		return patch;
+	}
+
+	static private void diff (JsonValue from, JsonValue to, StringBuilder path, JsonValue patch) {
+		if (from.isObject() && to.isObject())
+			diffObject(from, to, path, patch);
+		else if (from.isArray() && to.isArray())
+			diffArray(from, to, path, patch);
+		else if (!equal(from, to)) //
+			operation(patch, "replace", path, to);
+	}
+
+	static private void diffObject (JsonValue from, JsonValue to, StringBuilder path, JsonValue patch) {
+		int length = path.length();
+		// Children are usually in the same order, so the next child is checked before searching.
+		JsonValue next = from.child;
+		for (JsonValue value = to.child; value != null; value = value.next) {
+			JsonValue old = next != null && value.name.equals(next.name) ? next : from.get(value.name);
+			appendName(path, value.name);
+			if (old == null)
+				operation(patch, "add", path, value);
+			else {
+				diff(old, value, path, patch);
+				next = old.next;
+			}
+			path.setLength(length);
+		}
+		next = to.child;
+		for (JsonValue old = from.child; old != null; old = old.next) {
+			JsonValue value = next != null && old.name.equals(next.name) ? next : to.get(old.name);
+			if (value == null) {
+				appendName(path, old.name);
+				operation(patch, "remove", path, null);
+				path.setLength(length);
+			} else
+				next = value.next;
+		}
+	}
+
+	static private void diffArray (JsonValue from, JsonValue to, StringBuilder path, JsonValue patch) {
+		// Skip equal values at the end, so values removed or added at the end are not seen as changes to every value after them.
+		int fromCount = from.size, toCount = to.size;
+		JsonValue old = from.child(), value = to.child(), oldLast = from.last, valueLast = to.last;
+		while (fromCount > 0 && toCount > 0 && equal(oldLast, valueLast)) {
+			oldLast = oldLast.prev;
+			valueLast = valueLast.prev;
+			fromCount--;
+			toCount--;
+		}
+		int length = path.length(), index = 0;
+		while (fromCount > 0 && toCount > 0) {
+			if (equal(old, value)) {
+				old = old.next;
+				value = value.next;
+				fromCount--;
+				toCount--;
+				index++;
+				continue;
+			}
+			// Look ahead for the value in the other array, to find values that were removed or added.
+			int removed = indexOf(old.next, value, Math.min(fromCount - 1, lookahead));
+			int added = indexOf(value.next, old, Math.min(toCount - 1, lookahead));
+			path.append('/').append(index);
+			if (removed != -1 && (added == -1 || removed <= added)) {
+				for (; removed > 0; removed--, fromCount--, old = old.next)
+					operation(patch, "remove", path, null);
+			} else if (added != -1) {
+				for (; added > 0; added--, toCount--, value = value.next) {
+					operation(patch, "add", path, value);
+					path.setLength(length);
+					path.append('/').append(++index);
+				}
+			} else {
+				diff(old, value, path, patch);
+				old = old.next;
+				value = value.next;
+				fromCount--;
+				toCount--;
+				index++;
+			}
+			path.setLength(length);
+		}
+		path.append('/').append(index);
+		for (; fromCount > 0; fromCount--)
+			operation(patch, "remove", path, null);
+		path.setLength(length);
+		for (; toCount > 0; toCount--, value = value.next) {
+			path.append('/').append(index++);
+			operation(patch, "add", path, value);
+			path.setLength(length);
+		}
+	}
+
+	/** Returns the number of values after the start value to the value equal to the specified value, or -1. */
+	static private int indexOf (@Null JsonValue start, JsonValue value, int max) {
+		for (int i = 1; i <= max; i++, start = start.next)
+			if (equal(start, value)) return i;
+		return -1;
+	}
+
+	static private void operation (JsonValue patch, String op, StringBuilder path, @Null JsonValue value) {
+		JsonValue operation = new JsonValue(ValueType.object);
+		operation.addChild("op", new JsonValue(op));
+		operation.addChild("path", new JsonValue(path.toString()));
+		if (value != null) operation.addChild("value", new JsonValue(value));
+		patch.addChild(operation);
+	}
+
+	static private void appendName (StringBuilder path, String name) {
+		path.append('/');
+		for (int i = 0, n = name.length(); i < n; i++) {
+			char c = name.charAt(i);
+			if (c == '~')
+				path.append("~0");
+			else if (c == '/')
+				path.append("~1");
+			else
+				path.append(c);
+		}
+	}
+
+	/** Applies the operations of a patch to the specified value. The value is modified in place, except when an operation
+	 * replaces the whole document (its path is ""). Values from the patch are copied, the patch is not modified.
+	 * @return The patched document, which is the specified value unless it was replaced.
+	 * @throws SerializationException if an operation is invalid, refers to a value that does not exist, or a test operation
+	 *            fails. Operations before the failed operation have already been applied. */
+	static public JsonValue apply (JsonValue value, JsonValue patch) {
+		if (!patch.isArray()) throw new SerializationException("A patch must be an array: " + patch);
+		for (JsonValue operation = patch.child(); operation != null; operation = operation.next) {
+			if (!operation.isObject()) throw new SerializationException("A patch operation must be an object: " + operation);
+			String op = operation.getString("op", null), path = operation.getString("path", null);
+			if (op == null || path == null) throw new SerializationException("A patch operation requires op and path: " + operation);
+			switch (op) {
+			case "add":
+				value = add(value, path, new JsonValue(requireValue(operation)));
+				break;
+			case "remove":
+				if (path.isEmpty()) throw new SerializationException("The document cannot be removed: " + operation);
+				find(value, path).remove();
+				break;
+			case "replace":
+				value = replace(value, path, new JsonValue(requireValue(operation)));
+				break;
+			case "move": {
+				String from = requireFrom(operation);
+				if (from.equals(path)) break;
+				if (from.isEmpty() || path.startsWith(from + '/'))
+					throw new SerializationException("A value cannot be moved into itself: " + operation);
+				JsonValue moved = find(value, from);
+				moved.remove();
+				value = add(value, path, moved);
+				break;
+			}
+			case "copy":
+				value = add(value, path, new JsonValue(find(value, requireFrom(operation))));
+				break;
+			case "test":
+				if (!equal(find(value, path), requireValue(operation))) throw new SerializationException("Test failed: " + operation);
+				break;
+			default:
+				throw new SerializationException("Unknown patch operation: " + operation);
+			}
+		}
+		return value;
+	}
+
+	static private JsonValue requireValue (JsonValue operation) {
+		JsonValue value = operation.get("value");
+		if (value == null) throw new SerializationException("A patch operation requires a value: " + operation);
+		return value;
+	}
+
+	static private String requireFrom (JsonValue operation) {
+		String from = operation.getString("from", null);
+		if (from == null) throw new SerializationException("A patch operation requires from: " + operation);
+		return from;
+	}
+
+	static private JsonValue add (JsonValue root, String path, JsonValue value) {
+		if (path.isEmpty()) return detach(value);
+		if (path.charAt(0) != '/') throw new SerializationException("Invalid JSON pointer: " + path);
+		int index = path.lastIndexOf('/');
+		JsonValue parent = find(root, path.substring(0, index));
+		String name = unescape(path, index + 1);
+		if (parent.isObject()) {
+			value.name = name;
+			JsonValue existing = parent.get(name);
+			if (existing != null)
+				existing.replace(value);
+			else
+				parent.addChild(value);
+		} else if (parent.isArray()) {
+			value.name = null;
+			if (name.equals("-"))
+				parent.addChild(value);
+			else {
+				int childIndex = index(parent, name, parent.size);
+				if (childIndex == parent.size)
+					parent.addChild(value);
+				else {
+					JsonValue next = parent.get(childIndex);
+					value.parent = parent;
+					value.next = next;
+					value.prev = next.prev;
+					if (next.prev != null)
+						next.prev.next = value;
+					else
+						parent.child = value;
+					next.prev = value;
+					parent.size++;
+				}
+			}
+		} else
+			throw new SerializationException("Path parent is not an object or array: " + path);
+		return root;
+	}
+
+	static private JsonValue replace (JsonValue root, String path, JsonValue value) {
+		if (path.isEmpty()) return detach(value);
+		JsonValue existing = find(root, path);
+		value.name = existing.name;
+		existing.replace(value);
+		return root;
+	}
+
+	static private JsonValue detach (JsonValue value) {
+		value.name = null;
+		value.parent = null;
+		value.next = null;
+		value.prev = null;
+		return value;
+	}
+
+	/** Returns the value at the specified JSON pointer (RFC 6901), such as "/entities/3/name".
+	 * @throws SerializationException if the value does not exist. */
+	static public JsonValue find (JsonValue root, String pointer) {
+		if (pointer.isEmpty()) return root;
+		if (pointer.charAt(0) != '/') throw new SerializationException("Invalid JSON pointer: " + pointer);
+		JsonValue current = root;
+		for (int start = 1, n = pointer.length(); start <= n;) {
+			int end = pointer.indexOf('/', start);
+			if (end == -1) end = n;
+			String name = unescape(pointer.substring(start, end), 0);
+			JsonValue child;
+			if (current.isObject())
+				child = current.get(name);
+			else if (current.isArray())
+				child = current.get(index(current, name, current.size - 1));
+			else
+				child = null;
+			if (child == null) throw new SerializationException("Path not found: " + pointer);
+			current = child;
+			start = end + 1;
+		}
+		return current;
+	}
+
+	static private int index (JsonValue array, String name, int max) {
+		int index;
+		try {
+			index = Integer.parseInt(name);
+		} catch (NumberFormatException ex) {
+			throw new SerializationException("Invalid array index: " + name);
+		}
+		if (index < 0 || index > max || (name.length() > 1 && name.charAt(0) == '0') || name.charAt(0) == '+')
+			throw new SerializationException("Invalid array index: " + name);
+		return index;
+	}
+
+	static private String unescape (String pointer, int start) {
+		if (pointer.indexOf('~', start) == -1) return start == 0 ? pointer : pointer.substring(start);
+		StringBuilder buffer = new StringBuilder(pointer.length() - start);
+		for (int i = start, n = pointer.length(); i < n; i++) {
+			char c = pointer.charAt(i);
+			if (c == '~' && i + 1 < n) {
+				char next = pointer.charAt(i + 1);
+				if (next == '0' || next == '1') {
+					buffer.append(next == '0' ? '~' : '/');
+					i++;
+					continue;
+				}
+			}
+			if (c == '~') throw new SerializationException("Invalid JSON pointer escape: " + pointer);
+			buffer.append(c);
+		}
+		return buffer.toString();
+	}
+
+	/** Returns true if the values have the same type and value, ignoring names. Objects are equal if they have equal children
+	 * with the same names in any order. Numbers are equal if they have the same value, whether they are longs or doubles. */
+	static public boolean equal (JsonValue a, JsonValue b) {
+		switch (a.type()) {
+		case object: {
+			if (!b.isObject() || a.size != b.size) return false;
+			JsonValue next = b.child;
+			for (JsonValue child = a.child; child != null; child = child.next) {
+				JsonValue other = next != null && child.name.equals(next.name) ? next : b.get(child.name);
+				if (other == null || !equal(child, other)) return false;
+				next = other.next;
+			}
+			return true;
+		}
+		case array: {
+			if (!b.isArray() || a.size != b.size) return false;
+			for (JsonValue child = a.child(), other = b.child(); child != null; child = child.next, other = other.next)
+				if (!equal(child, other)) return false;
+			return true;
+		}
+		case stringValue:
+			return b.isString() && a.asString().equals(b.asString());
+		case longValue:
+			if (b.isLong()) return a.asLong() == b.asLong();
+			return b.isNumber() && a.asDouble() == b.asDouble();
+		case doubleValue:
+			return b.isNumber() && a.asDouble() == b.asDouble();
+		case booleanValue:
+			return b.isBoolean() && a.asBoolean() == b.asBoolean();
+		default:
+			return b.isNull();
+		}
+	}
+}
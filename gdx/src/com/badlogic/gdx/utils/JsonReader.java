@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import com.badlogic.gdx.files.FileHandle;
@@ -101,13 +102,13 @@ public class JsonReader implements BaseJsonReader {
 
 		try {
 
-			// line 103 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
+			// line 104 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
 			{
 				cs = json_start;
 				top = 0;
 			}
 
-			// line 108 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
+			// line 110 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
 			{
 				int _klen;
 				int _trans = 0;
@@ -186,15 +187,15 @@ public class JsonReader implements BaseJsonReader {
 							while (_nacts-- > 0) {
 								switch (_json_actions[_acts++]) {
 								case 0:
-								// line 108 "JsonReader.rl"
+								// line 109 "JsonReader.rl"
 								{
 									stringIsName = true;
 								}
 									break;
 								case 1:
-								// line 111 "JsonReader.rl"
+								// line 112 "JsonReader.rl"
 								{
-									String value = new String(data, s, p - s);
+									String value = stringIsName ? name(data, s, p - s) : new String(data, s, p - s);
 									if (needsUnescape) value = unescape(value);
 									outer:
 									if (stringIsName) {
@@ -271,7 +272,7 @@ public class JsonReader implements BaseJsonReader {
 								}
 									break;
 								case 2:
-								// line 187 "JsonReader.rl"
+								// line 188 "JsonReader.rl"
 								{
 									if (debug) System.out.println("startObject: " + name);
 									startObject(name);
@@ -289,7 +290,7 @@ public class JsonReader implements BaseJsonReader {
 								}
 									break;
 								case 3:
-								// line 194 "JsonReader.rl"
+								// line 195 "JsonReader.rl"
 								{
 									if (debug) System.out.println("endObject");
 									pop();
@@ -302,7 +303,7 @@ public class JsonReader implements BaseJsonReader {
 								}
 									break;
 								case 4:
-								// line 200 "JsonReader.rl"
+								// line 201 "JsonReader.rl"
 								{
 									if (debug) System.out.println("startArray: " + name);
 									startArray(name);
@@ -320,7 +321,7 @@ public class JsonReader implements BaseJsonReader {
 								}
 									break;
 								case 5:
-								// line 207 "JsonReader.rl"
+								// line 208 "JsonReader.rl"
 								{
 									if (debug) System.out.println("endArray");
 									pop();
@@ -333,7 +334,7 @@ public class JsonReader implements BaseJsonReader {
 								}
 									break;
 								case 6:
-								// line 213 "JsonReader.rl"
+								// line 214 "JsonReader.rl"
 								{
 									int start = p - 1;
 									if (data[p++] == '/') {
@@ -349,7 +350,7 @@ public class JsonReader implements BaseJsonReader {
 								}
 									break;
 								case 7:
-								// line 226 "JsonReader.rl"
+								// line 227 "JsonReader.rl"
 								{
 									if (debug) System.out.println("unquotedChars");
 									s = p;
@@ -406,7 +407,7 @@ public class JsonReader implements BaseJsonReader {
 								}
 									break;
 								case 8:
-								// line 280 "JsonReader.rl"
+								// line 281 "JsonReader.rl"
 								{
 									if (debug) System.out.println("quotedChars");
 									s = ++p;
@@ -428,7 +429,7 @@ public class JsonReader implements BaseJsonReader {
 									p--;
 								}
 									break;
-								// line 411 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
+								// line 431 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
 								}
 							}
 						}
@@ -449,9 +450,9 @@ public class JsonReader implements BaseJsonReader {
 							while (__nacts-- > 0) {
 								switch (_json_actions[__acts++]) {
 								case 1:
-								// line 111 "JsonReader.rl"
+								// line 112 "JsonReader.rl"
 								{
-									String value = new String(data, s, p - s);
+									String value = stringIsName ? name(data, s, p - s) : new String(data, s, p - s);
 									if (needsUnescape) value = unescape(value);
 									outer:
 									if (stringIsName) {
@@ -527,7 +528,7 @@ public class JsonReader implements BaseJsonReader {
 									s = p;
 								}
 									break;
-								// line 511 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
+								// line 530 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
 								}
 							}
 						}
@@ -538,7 +539,7 @@ public class JsonReader implements BaseJsonReader {
 				}
 			}
 
-			// line 316 "JsonReader.rl"
+			// line 317 "JsonReader.rl"
 
 		} catch (RuntimeException ex) {
 			parseRuntimeEx = ex;
@@ -570,7 +571,7 @@ public class JsonReader implements BaseJsonReader {
 		return root;
 	}
 
-	// line 552 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
+	// line 573 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
 	private static byte[] init__json_actions_0 () {
 		return new byte[] {0, 1, 1, 1, 2, 1, 3, 1, 4, 1, 5, 1, 6, 1, 7, 1, 8, 2, 0, 7, 2, 0, 8, 2, 1, 3, 2, 1, 5};
 	}
@@ -660,11 +661,601 @@ public class JsonReader implements BaseJsonReader {
 	static final int json_en_array = 23;
 	static final int json_en_main = 1;
 
-	// line 348 "JsonReader.rl"
+	// line 349 "JsonReader.rl"
+
+	/** Parses UTF-8 JSON from the bytes, see {@link #parse(ByteBuffer)}. */
+	public JsonValue parse (byte[] data, int offset, int length) {
+		return parse(ByteBuffer.wrap(data, offset, length));
+	}
+
+	/** Parses UTF-8 JSON from the buffer's position to its limit, without changing the position. The bytes are scanned without
+	 * first decoding them to chars, so only names and values are decoded. A byte order mark is skipped. The buffer can be a
+	 * memory mapped file, see {@link FileHandle#map()}. */
+	@SuppressWarnings("fallthrough")
+	public JsonValue parse (ByteBuffer data) {
+		stop = false;
+		int cs, p = data.position(), pe = data.limit(), eof = pe, top = 0;
+		if (pe - p >= 3 && data.get(p) == (byte)0xef && data.get(p + 1) == (byte)0xbb && data.get(p + 2) == (byte)0xbf)
+			p += 3; // Skip the byte order mark.
+		int[] stack = new int[4];
+
+		int s = 0;
+		String name = null;
+		boolean needsUnescape = false, stringIsName = false, stringIsUnquoted = false;
+		RuntimeException parseRuntimeEx = null;
+
+		boolean debug = false;
+		if (debug) System.out.println();
+
+		try {
+
+			// line 691 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
+			{
+				cs = json_bytes_start;
+				top = 0;
+			}
+
+			// line 697 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
+			{
+				int _klen;
+				int _trans = 0;
+				int _acts;
+				int _nacts;
+				int _keys;
+				int _goto_targ = 0;
+
+				_goto:
+				while (true) {
+					switch (_goto_targ) {
+					case 0:
+						if (p == pe) {
+							_goto_targ = 4;
+							continue _goto;
+						}
+						if (cs == 0) {
+							_goto_targ = 5;
+							continue _goto;
+						}
+					case 1:
+						_match:
+						do {
+							_keys = _json_bytes_key_offsets[cs];
+							_trans = _json_bytes_index_offsets[cs];
+							_klen = _json_bytes_single_lengths[cs];
+							if (_klen > 0) {
+								int _lower = _keys;
+								int _mid;
+								int _upper = _keys + _klen - 1;
+								while (true) {
+									if (_upper < _lower) break;
+
+									_mid = _lower + ((_upper - _lower) >> 1);
+									if ((data.get(p) & 0xff) < _json_bytes_trans_keys[_mid])
+										_upper = _mid - 1;
+									else if ((data.get(p) & 0xff) > _json_bytes_trans_keys[_mid])
+										_lower = _mid + 1;
+									else {
+										_trans += (_mid - _keys);
+										break _match;
+									}
+								}
+								_keys += _klen;
+								_trans += _klen;
+							}
+
+							_klen = _json_bytes_range_lengths[cs];
+							if (_klen > 0) {
+								int _lower = _keys;
+								int _mid;
+								int _upper = _keys + (_klen << 1) - 2;
+								while (true) {
+									if (_upper < _lower) break;
+
+									_mid = _lower + (((_upper - _lower) >> 1) & ~1);
+									if ((data.get(p) & 0xff) < _json_bytes_trans_keys[_mid])
+										_upper = _mid - 2;
+									else if ((data.get(p) & 0xff) > _json_bytes_trans_keys[_mid + 1])
+										_lower = _mid + 2;
+									else {
+										_trans += ((_mid - _keys) >> 1);
+										break _match;
+									}
+								}
+								_trans += _klen;
+							}
+						} while (false);
+
+						_trans = _json_bytes_indicies[_trans];
+						cs = _json_bytes_trans_targs[_trans];
+
+						if (_json_bytes_trans_actions[_trans] != 0) {
+							_acts = _json_bytes_trans_actions[_trans];
+							_nacts = (int)_json_bytes_actions[_acts++];
+							while (_nacts-- > 0) {
+								switch (_json_bytes_actions[_acts++]) {
+								case 0:
+								// line 383 "JsonReader.rl"
+								{
+									stringIsName = true;
+								}
+									break;
+								case 1:
+								// line 386 "JsonReader.rl"
+								{
+									String value = stringIsName ? name(data, s, p) : utf8(data, s, p);
+									if (needsUnescape) value = unescape(value);
+									outer:
+									if (stringIsName) {
+										stringIsName = false;
+										if (debug) System.out.println("name: " + value);
+										name = value;
+									} else {
+										String valueName = name;
+										name = null;
+										if (stringIsUnquoted) {
+											if (value.equals("true")) {
+												if (debug) System.out.println("boolean: " + valueName + "=true");
+												bool(valueName, true);
+												break outer;
+											} else if (value.equals("false")) {
+												if (debug) System.out.println("boolean: " + valueName + "=false");
+												bool(valueName, false);
+												break outer;
+											} else if (value.equals("null")) {
+												string(valueName, null);
+												break outer;
+											}
+											boolean couldBeDouble = false, couldBeLong = true;
+											outer2:
+											for (int i = s; i < p; i++) {
+												switch (data.get(i)) {
+												case '0':
+												case '1':
+												case '2':
+												case '3':
+												case '4':
+												case '5':
+												case '6':
+												case '7':
+												case '8':
+												case '9':
+												case '-':
+												case '+':
+													break;
+												case '.':
+												case 'e':
+												case 'E':
+													couldBeDouble = true;
+													couldBeLong = false;
+													break;
+												default:
+													couldBeDouble = false;
+													couldBeLong = false;
+													break outer2;
+												}
+											}
+											if (couldBeDouble) {
+												try {
+													if (debug) System.out.println("double: " + valueName + "=" + Double.parseDouble(value));
+													number(valueName, Double.parseDouble(value), value);
+													break outer;
+												} catch (NumberFormatException ignored) {
+												}
+											} else if (couldBeLong) {
+												if (debug) System.out.println("double: " + valueName + "=" + Double.parseDouble(value));
+												try {
+													number(valueName, Long.parseLong(value), value);
+													break outer;
+												} catch (NumberFormatException ignored) {
+												}
+											}
+										}
+										if (debug) System.out.println("string: " + valueName + "=" + value);
+										string(valueName, value);
+									}
+									if (stop) break _goto;
+									stringIsUnquoted = false;
+									s = p;
+								}
+									break;
+								case 2:
+								// line 462 "JsonReader.rl"
+								{
+									if (debug) System.out.println("startObject: " + name);
+									startObject(name);
+									if (stop) break _goto;
+									name = null;
+									{
+										if (top == stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+										{
+											stack[top++] = cs;
+											cs = 5;
+											_goto_targ = 2;
+											if (true) continue _goto;
+										}
+									}
+								}
+									break;
+								case 3:
+								// line 469 "JsonReader.rl"
+								{
+									if (debug) System.out.println("endObject");
+									pop();
+									if (stop) break _goto;
+									{
+										cs = stack[--top];
+										_goto_targ = 2;
+										if (true) continue _goto;
+									}
+								}
+									break;
+								case 4:
+								// line 475 "JsonReader.rl"
+								{
+									if (debug) System.out.println("startArray: " + name);
+									startArray(name);
+									if (stop) break _goto;
+									name = null;
+									{
+										if (top == stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+										{
+											stack[top++] = cs;
+											cs = 23;
+											_goto_targ = 2;
+											if (true) continue _goto;
+										}
+									}
+								}
+									break;
+								case 5:
+								// line 482 "JsonReader.rl"
+								{
+									if (debug) System.out.println("endArray");
+									pop();
+									if (stop) break _goto;
+									{
+										cs = stack[--top];
+										_goto_targ = 2;
+										if (true) continue _goto;
+									}
+								}
+									break;
+								case 6:
+								// line 488 "JsonReader.rl"
+								{
+									int start = p - 1;
+									if (data.get(p++) == '/') {
+										while (p != eof && data.get(p) != '\n')
+											p++;
+										p--;
+									} else {
+										while (p + 1 < eof && (data.get(p) != '*' || data.get(p + 1) != '/'))
+											p++;
+										p++;
+									}
+									if (debug) System.out.println("comment " + utf8(data, start, p));
+								}
+									break;
+								case 7:
+								// line 501 "JsonReader.rl"
+								{
+									if (debug) System.out.println("unquotedChars");
+									s = p;
+									needsUnescape = false;
+									stringIsUnquoted = true;
+									if (stringIsName) {
+										outer:
+										while (true) {
+											switch (data.get(p)) {
+											case '\\':
+												needsUnescape = true;
+												break;
+											case '/':
+												if (p + 1 == eof) break;
+												byte c = data.get(p + 1);
+												if (c == '/' || c == '*') break outer;
+												break;
+											case ':':
+											case '\r':
+											case '\n':
+												break outer;
+											}
+											if (debug) System.out.println("unquotedChar (name): '" + (char)data.get(p) + "'");
+											p++;
+											if (p == eof) break;
+										}
+									} else {
+										outer:
+										while (true) {
+											switch (data.get(p)) {
+											case '\\':
+												needsUnescape = true;
+												break;
+											case '/':
+												if (p + 1 == eof) break;
+												byte c = data.get(p + 1);
+												if (c == '/' || c == '*') break outer;
+												break;
+											case '}':
+											case ']':
+											case ',':
+											case '\r':
+											case '\n':
+												break outer;
+											}
+											if (debug) System.out.println("unquotedChar (value): '" + (char)data.get(p) + "'");
+											p++;
+											if (p == eof) break;
+										}
+									}
+									p--;
+									while (isSpace(data.get(p)))
+										p--;
+								}
+									break;
+								case 8:
+								// line 555 "JsonReader.rl"
+								{
+									if (debug) System.out.println("quotedChars");
+									s = ++p;
+									needsUnescape = false;
+									outer:
+									while (true) {
+										switch (data.get(p)) {
+										case '\\':
+											needsUnescape = true;
+											p++;
+											break;
+										case '"':
+											break outer;
+										}
+										if (debug) System.out.println("quotedChar: '" + (char)data.get(p) + "'");
+										p++;
+										if (p == eof) break;
+									}
+									p--;
+								}
+									break;
+								// line 1018 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
+								}
+							}
+						}
+
+					case 2:
+						if (cs == 0) {
+							_goto_targ = 5;
+							continue _goto;
+						}
+						if (++p != pe) {
+							_goto_targ = 1;
+							continue _goto;
+						}
+					case 4:
+						if (p == eof) {
+							int __acts = _json_bytes_eof_actions[cs];
+							int __nacts = (int)_json_bytes_actions[__acts++];
+							while (__nacts-- > 0) {
+								switch (_json_bytes_actions[__acts++]) {
+								case 1:
+								// line 386 "JsonReader.rl"
+								{
+									String value = stringIsName ? name(data, s, p) : utf8(data, s, p);
+									if (needsUnescape) value = unescape(value);
+									outer:
+									if (stringIsName) {
+										stringIsName = false;
+										if (debug) System.out.println("name: " + value);
+										name = value;
+									} else {
+										String valueName = name;
+										name = null;
+										if (stringIsUnquoted) {
+											if (value.equals("true")) {
+												if (debug) System.out.println("boolean: " + valueName + "=true");
+												bool(valueName, true);
+												break outer;
+											} else if (value.equals("false")) {
+												if (debug) System.out.println("boolean: " + valueName + "=false");
+												bool(valueName, false);
+												break outer;
+											} else if (value.equals("null")) {
+												string(valueName, null);
+												break outer;
+											}
+											boolean couldBeDouble = false, couldBeLong = true;
+											outer2:
+											for (int i = s; i < p; i++) {
+												switch (data.get(i)) {
+												case '0':
+												case '1':
+												case '2':
+												case '3':
+												case '4':
+												case '5':
+												case '6':
+												case '7':
+												case '8':
+												case '9':
+												case '-':
+												case '+':
+													break;
+												case '.':
+												case 'e':
+												case 'E':
+													couldBeDouble = true;
+													couldBeLong = false;
+													break;
+												default:
+													couldBeDouble = false;
+													couldBeLong = false;
+													break outer2;
+												}
+											}
+											if (couldBeDouble) {
+												try {
+													if (debug) System.out.println("double: " + valueName + "=" + Double.parseDouble(value));
+													number(valueName, Double.parseDouble(value), value);
+													break outer;
+												} catch (NumberFormatException ignored) {
+												}
+											} else if (couldBeLong) {
+												if (debug) System.out.println("double: " + valueName + "=" + Double.parseDouble(value));
+												try {
+													number(valueName, Long.parseLong(value), value);
+													break outer;
+												} catch (NumberFormatException ignored) {
+												}
+											}
+										}
+										if (debug) System.out.println("string: " + valueName + "=" + value);
+										string(valueName, value);
+									}
+									if (stop) break _goto;
+									stringIsUnquoted = false;
+									s = p;
+								}
+									break;
+								// line 1117 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
+								}
+							}
+						}
+
+					case 5:
+					}
+					break;
+				}
+			}
+
+			// line 591 "JsonReader.rl"
+
+		} catch (RuntimeException ex) {
+			parseRuntimeEx = ex;
+		}
+
+		JsonValue root = this.root;
+		this.root = null;
+		current = null;
+
+		if (!stop) {
+			if (p < pe) {
+				int lineNumber = 1;
+				for (int i = data.position(); i < p; i++)
+					if (data.get(i) == '\n') lineNumber++;
+				int start = Math.max(data.position(), p - 32);
+				throw new SerializationException("Error parsing JSON on line " + lineNumber + " near: "
+					+ utf8(data, start, p) + "*ERROR*" + utf8(data, p, Math.min(p + 64, pe)), parseRuntimeEx);
+			}
+			if (elements.size != 0) {
+				JsonValue element = elements.peek();
+				elements.clear();
+				if (element != null && element.isObject())
+					throw new SerializationException("Error parsing JSON, unmatched brace.");
+				else
+					throw new SerializationException("Error parsing JSON, unmatched bracket.");
+			}
+			if (parseRuntimeEx != null)
+				throw new SerializationException("Error parsing JSON: " + utf8(data, data.position(), pe), parseRuntimeEx);
+		}
+		return root;
+	}
+
+	// line 1160 "../../../../../src/com/badlogic/gdx/utils/JsonReader.java"
+	private static byte[] init__json_bytes_actions_0 () {
+		return new byte[] {0, 1, 1, 1, 2, 1, 3, 1, 4, 1, 5, 1, 6, 1, 7, 1, 8, 2, 0, 7, 2, 0, 8, 2, 1, 3, 2, 1, 5};
+	}
+
+	private static final byte _json_bytes_actions[] = init__json_bytes_actions_0();
+
+	private static short[] init__json_bytes_key_offsets_0 () {
+		return new short[] {0, 0, 11, 13, 14, 16, 25, 31, 37, 39, 50, 57, 64, 73, 74, 83, 85, 87, 96, 98, 100, 101, 103, 105, 116,
+			123, 130, 141, 142, 153, 155, 157, 168, 170, 172, 174, 179, 184, 184};
+	}
+
+	private static final short _json_bytes_key_offsets[] = init__json_bytes_key_offsets_0();
+
+	private static char[] init__json_bytes_trans_keys_0 () {
+		return new char[] {13, 32, 34, 44, 47, 58, 91, 93, 123, 9, 10, 42, 47, 34, 42, 47, 13, 32, 34, 44, 47, 58, 125, 9, 10, 13,
+			32, 47, 58, 9, 10, 13, 32, 47, 58, 9, 10, 42, 47, 13, 32, 34, 44, 47, 58, 91, 93, 123, 9, 10, 9, 10, 13, 32, 44, 47, 125,
+			9, 10, 13, 32, 44, 47, 125, 13, 32, 34, 44, 47, 58, 125, 9, 10, 34, 13, 32, 34, 44, 47, 58, 125, 9, 10, 42, 47, 42, 47,
+			13, 32, 34, 44, 47, 58, 125, 9, 10, 42, 47, 42, 47, 34, 42, 47, 42, 47, 13, 32, 34, 44, 47, 58, 91, 93, 123, 9, 10, 9,
+			10, 13, 32, 44, 47, 93, 9, 10, 13, 32, 44, 47, 93, 13, 32, 34, 44, 47, 58, 91, 93, 123, 9, 10, 34, 13, 32, 34, 44, 47,
+			58, 91, 93, 123, 9, 10, 42, 47, 42, 47, 13, 32, 34, 44, 47, 58, 91, 93, 123, 9, 10, 42, 47, 42, 47, 42, 47, 13, 32, 47,
+			9, 10, 13, 32, 47, 9, 10, 0};
+	}
+
+	private static final char _json_bytes_trans_keys[] = init__json_bytes_trans_keys_0();
+
+	private static byte[] init__json_bytes_single_lengths_0 () {
+		return new byte[] {0, 9, 2, 1, 2, 7, 4, 4, 2, 9, 7, 7, 7, 1, 7, 2, 2, 7, 2, 2, 1, 2, 2, 9, 7, 7, 9, 1, 9, 2, 2, 9, 2, 2, 2,
+			3, 3, 0, 0};
+	}
+
+	private static final byte _json_bytes_single_lengths[] = init__json_bytes_single_lengths_0();
+
+	private static byte[] init__json_bytes_range_lengths_0 () {
+		return new byte[] {0, 1, 0, 0, 0, 1, 1, 1, 0, 1, 0, 0, 1, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 1, 0, 0, 1, 0, 0, 0,
+			1, 1, 0, 0};
+	}
+
+	private static final byte _json_bytes_range_lengths[] = init__json_bytes_range_lengths_0();
+
+	private static short[] init__json_bytes_index_offsets_0 () {
+		return new short[] {0, 0, 11, 14, 16, 19, 28, 34, 40, 43, 54, 62, 70, 79, 81, 90, 93, 96, 105, 108, 111, 113, 116, 119, 130,
+			138, 146, 157, 159, 170, 173, 176, 187, 190, 193, 196, 201, 206, 207};
+	}
+
+	private static final short _json_bytes_index_offsets[] = init__json_bytes_index_offsets_0();
+
+	private static byte[] init__json_bytes_indicies_0 () {
+		return new byte[] {1, 1, 2, 3, 4, 3, 5, 3, 6, 1, 0, 7, 7, 3, 8, 3, 9, 9, 3, 11, 11, 12, 13, 14, 3, 15, 11, 10, 16, 16, 17,
+			18, 16, 3, 19, 19, 20, 21, 19, 3, 22, 22, 3, 21, 21, 24, 3, 25, 3, 26, 3, 27, 21, 23, 28, 29, 29, 28, 30, 31, 32, 3, 33,
+			34, 34, 33, 13, 35, 15, 3, 34, 34, 12, 36, 37, 3, 15, 34, 10, 16, 3, 36, 36, 12, 3, 38, 3, 3, 36, 10, 39, 39, 3, 40, 40,
+			3, 13, 13, 12, 3, 41, 3, 15, 13, 10, 42, 42, 3, 43, 43, 3, 28, 3, 44, 44, 3, 45, 45, 3, 47, 47, 48, 49, 50, 3, 51, 52,
+			53, 47, 46, 54, 55, 55, 54, 56, 57, 58, 3, 59, 60, 60, 59, 49, 61, 52, 3, 60, 60, 48, 62, 63, 3, 51, 52, 53, 60, 46, 54,
+			3, 62, 62, 48, 3, 64, 3, 51, 3, 53, 62, 46, 65, 65, 3, 66, 66, 3, 49, 49, 48, 3, 67, 3, 51, 52, 53, 49, 46, 68, 68, 3,
+			69, 69, 3, 70, 70, 3, 8, 8, 71, 8, 3, 72, 72, 73, 72, 3, 3, 3, 0};
+	}
+
+	private static final byte _json_bytes_indicies[] = init__json_bytes_indicies_0();
+
+	private static byte[] init__json_bytes_trans_targs_0 () {
+		return new byte[] {35, 1, 3, 0, 4, 36, 36, 36, 36, 1, 6, 5, 13, 17, 22, 37, 7, 8, 9, 7, 8, 9, 7, 10, 20, 21, 11, 11, 11, 12,
+			17, 19, 37, 11, 12, 19, 14, 16, 15, 14, 12, 18, 17, 11, 9, 5, 24, 23, 27, 31, 34, 25, 38, 25, 25, 26, 31, 33, 38, 25, 26,
+			33, 28, 30, 29, 28, 26, 32, 31, 25, 23, 2, 36, 2};
+	}
+
+	private static final byte _json_bytes_trans_targs[] = init__json_bytes_trans_targs_0();
+
+	private static byte[] init__json_bytes_trans_actions_0 () {
+		return new byte[] {13, 0, 15, 0, 0, 7, 3, 11, 1, 11, 17, 0, 20, 0, 0, 5, 1, 1, 1, 0, 0, 0, 11, 13, 15, 0, 7, 3, 1, 1, 1, 1,
+			23, 0, 0, 0, 0, 0, 0, 11, 11, 0, 11, 11, 11, 11, 13, 0, 15, 0, 0, 7, 9, 3, 1, 1, 1, 1, 26, 0, 0, 0, 0, 0, 0, 11, 11, 0,
+			11, 11, 11, 1, 0, 0};
+	}
+
+	private static final byte _json_bytes_trans_actions[] = init__json_bytes_trans_actions_0();
+
+	private static byte[] init__json_bytes_eof_actions_0 () {
+		return new byte[] {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			1, 0, 0, 0};
+	}
+
+	private static final byte _json_bytes_eof_actions[] = init__json_bytes_eof_actions_0();
+
+	static final int json_bytes_start = 1;
+	static final int json_bytes_first_final = 35;
+	static final int json_bytes_error = 0;
+
+	static final int json_bytes_en_object = 5;
+	static final int json_bytes_en_array = 23;
+	static final int json_bytes_en_main = 1;
+
+	// line 624 "JsonReader.rl"
 
 	private final Array<JsonValue> elements = new Array(8);
 	private JsonValue root, current;
 	private boolean stop;
+	private final CharArray buffer = new CharArray(32);
+	private @Null NameCache nameCache;
 
 	/** Causes parsing to stop after the current or next object, array, or value. */
 	public void stop () {
@@ -675,6 +1266,16 @@ public class JsonReader implements BaseJsonReader {
 		return stop;
 	}
 
+	static private boolean isSpace (byte b) {
+		return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f';
+	}
+
+	/** Sets a cache that is used to return the same string instance for equal names, or null to create a new string for every
+	 * name (the default). */
+	public void setNameCache (@Null NameCache nameCache) {
+		this.nameCache = nameCache;
+	}
+
 	private void addChild (@Null String name, JsonValue child) {
 		child.setName(name);
 		if (current == null) {
@@ -728,6 +1329,55 @@ public class JsonReader implements BaseJsonReader {
 		addChild(name, new JsonValue(value));
 	}
 
+	private String name (char[] data, int offset, int length) {
+		return nameCache != null ? nameCache.get(data, offset, length) : new String(data, offset, length);
+	}
+
+	private String name (ByteBuffer data, int start, int end) {
+		return nameCache != null ? nameCache.get(data, start, end) : utf8(data, start, end, buffer);
+	}
+
+	private String utf8 (ByteBuffer data, int start, int end) {
+		return utf8(data, start, end, buffer);
+	}
+
+	/** Returns the UTF-8 bytes from start to end as a string, using the buffer as scratch space when the data is not backed by an
+	 * array. */
+	static String utf8 (ByteBuffer data, int start, int end, CharArray buffer) {
+		if (data.hasArray()) {
+			try {
+				return new String(data.array(), data.arrayOffset() + start, end - start, "UTF-8");
+			} catch (IOException ignored) { // UTF-8 is always supported.
+			}
+		}
+		buffer.size = 0;
+		decodeUtf8(data, start, end, buffer);
+		return buffer.toString();
+	}
+
+	/** Appends the UTF-8 bytes from start to end to the buffer as chars. Malformed bytes are decoded as U+FFFD. */
+	static void decodeUtf8 (ByteBuffer data, int start, int end, CharArray buffer) {
+		char[] chars = buffer.ensureCapacity(end - start); // UTF-8 never has fewer bytes than UTF-16 has chars.
+		int n = buffer.size;
+		for (int i = start; i < end;) {
+			int b = data.get(i++), c;
+			if (b >= 0)
+				c = b;
+			else if ((b & 0xe0) == 0xc0 && i < end)
+				c = (b & 0x1f) << 6 | data.get(i++) & 0x3f;
+			else if ((b & 0xf0) == 0xe0 && i + 1 < end)
+				c = (b & 0x0f) << 12 | (data.get(i++) & 0x3f) << 6 | data.get(i++) & 0x3f;
+			else if ((b & 0xf8) == 0xf0 && i + 2 < end) {
+				c = ((b & 0x07) << 18 | (data.get(i++) & 0x3f) << 12 | (data.get(i++) & 0x3f) << 6 | data.get(i++) & 0x3f) - 0x10000;
+				chars[n++] = (char)(0xd800 | c >>> 10); // Surrogate pair.
+				c = 0xdc00 | c & 0x3ff;
+			} else
+				c = 0xfffd;
+			chars[n++] = (char)c;
+		}
+		buffer.size = n;
+	}
+
 	/** Called to unescape string values. The default implementation does standard JSON unescaping. */
 	protected String unescape (String value) {
 		int length = value.length();
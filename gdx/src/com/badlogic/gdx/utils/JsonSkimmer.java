@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import com.badlogic.gdx.files.FileHandle;
@@ -100,7 +101,9 @@ public class JsonSkimmer {
 
 		JsonToken nameString = this.nameString, value = this.value, string = value, name = null;
 		nameString.chars = data;
+		nameString.bytes = null;
 		value.chars = data;
+		value.bytes = null;
 		RuntimeException parseRuntimeEx = null;
 
 		boolean debug = false;
@@ -108,13 +111,13 @@ public class JsonSkimmer {
 
 		try {
 
-			// line 110 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+			// line 113 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
 			{
 				cs = json_start;
 				top = 0;
 			}
 
-			// line 115 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+			// line 119 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
 			{
 				int _klen;
 				int _trans = 0;
@@ -193,7 +196,7 @@ public class JsonSkimmer {
 							while (_nacts-- > 0) {
 								switch (_json_actions[_acts++]) {
 								case 0:
-								// line 115 "JsonSkimmer.rl"
+								// line 118 "JsonSkimmer.rl"
 								{
 									if (debug) System.out.println("startObject: " + name);
 									push(name, true);
@@ -211,7 +214,7 @@ public class JsonSkimmer {
 								}
 									break;
 								case 1:
-								// line 122 "JsonSkimmer.rl"
+								// line 125 "JsonSkimmer.rl"
 								{
 									if (debug) System.out.println("endObject");
 									pop();
@@ -224,7 +227,7 @@ public class JsonSkimmer {
 								}
 									break;
 								case 2:
-								// line 128 "JsonSkimmer.rl"
+								// line 131 "JsonSkimmer.rl"
 								{
 									if (debug) System.out.println("startArray: " + name);
 									push(name, false);
@@ -242,7 +245,7 @@ public class JsonSkimmer {
 								}
 									break;
 								case 3:
-								// line 135 "JsonSkimmer.rl"
+								// line 138 "JsonSkimmer.rl"
 								{
 									if (debug) System.out.println("endArray");
 									pop();
@@ -255,7 +258,7 @@ public class JsonSkimmer {
 								}
 									break;
 								case 4:
-								// line 141 "JsonSkimmer.rl"
+								// line 144 "JsonSkimmer.rl"
 								{
 									int start = p;
 									if (data[p++] == '/') {
@@ -271,7 +274,7 @@ public class JsonSkimmer {
 								}
 									break;
 								case 5:
-								// line 154 "JsonSkimmer.rl"
+								// line 157 "JsonSkimmer.rl"
 								{
 									if (debug) System.out.println("unquotedName");
 									int start = p;
@@ -317,7 +320,7 @@ public class JsonSkimmer {
 								}
 									break;
 								case 6:
-								// line 197 "JsonSkimmer.rl"
+								// line 200 "JsonSkimmer.rl"
 								{
 									if (debug) System.out.println("unquotedValue");
 									int start = p;
@@ -376,7 +379,7 @@ public class JsonSkimmer {
 								}
 									break;
 								case 7:
-								// line 252 "JsonSkimmer.rl"
+								// line 255 "JsonSkimmer.rl"
 								{
 									if (debug) System.out.println("quotedString");
 									string.start = ++p;
@@ -398,7 +401,7 @@ public class JsonSkimmer {
 								}
 									break;
 								case 8:
-								// line 271 "JsonSkimmer.rl"
+								// line 274 "JsonSkimmer.rl"
 								{
 									name = nameString; // Next element has a name.
 									string = nameString; // Parse next string to nameString.
@@ -406,7 +409,7 @@ public class JsonSkimmer {
 								}
 									break;
 								case 9:
-								// line 276 "JsonSkimmer.rl"
+								// line 279 "JsonSkimmer.rl"
 								{
 									if (debug) System.out.println("name: " + p + ", " + name);
 									nameString.unescape = false;
@@ -414,7 +417,7 @@ public class JsonSkimmer {
 								}
 									break;
 								case 10:
-								// line 281 "JsonSkimmer.rl"
+								// line 284 "JsonSkimmer.rl"
 								{
 									if (debug) System.out.println("value: " + name + "=" + value);
 									value(name, value);
@@ -425,7 +428,7 @@ public class JsonSkimmer {
 									string = value;
 								}
 									break;
-								// line 407 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+								// line 430 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
 								}
 							}
 						}
@@ -446,7 +449,7 @@ public class JsonSkimmer {
 							while (__nacts-- > 0) {
 								switch (_json_actions[__acts++]) {
 								case 10:
-								// line 281 "JsonSkimmer.rl"
+								// line 284 "JsonSkimmer.rl"
 								{
 									if (debug) System.out.println("value: " + name + "=" + value);
 									value(name, value);
@@ -457,7 +460,7 @@ public class JsonSkimmer {
 									string = value;
 								}
 									break;
-								// line 440 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+								// line 462 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
 								}
 							}
 						}
@@ -468,7 +471,7 @@ public class JsonSkimmer {
 				}
 			}
 
-			// line 306 "JsonSkimmer.rl"
+			// line 309 "JsonSkimmer.rl"
 
 		} catch (RuntimeException ex) {
 			parseRuntimeEx = ex;
@@ -485,7 +488,7 @@ public class JsonSkimmer {
 		if (parseRuntimeEx != null) throw new SerializationException("Error parsing JSON: " + new String(data), parseRuntimeEx);
 	}
 
-	// line 466 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+	// line 490 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
 	private static byte[] init__json_actions_0 () {
 		return new byte[] {0, 1, 0, 1, 1, 1, 2, 1, 3, 1, 4, 1, 6, 1, 7, 1, 9, 1, 10, 2, 8, 5, 2, 8, 7, 2, 10, 1, 2, 10, 3};
 	}
@@ -573,7 +576,504 @@ public class JsonSkimmer {
 	static final int json_en_array = 20;
 	static final int json_en_main = 1;
 
-	// line 323 "JsonSkimmer.rl"
+	// line 326 "JsonSkimmer.rl"
+
+	/** Parses UTF-8 JSON from the bytes, see {@link #parse(ByteBuffer)}. */
+	public void parse (byte[] data, int offset, int length) {
+		parse(ByteBuffer.wrap(data, offset, length));
+	}
+
+	/** Parses UTF-8 JSON from the buffer's position to its limit, without changing the position. The bytes are scanned without
+	 * first decoding them to chars. {@link JsonToken#bytes} is set instead of {@link JsonToken#chars} and tokens are only decoded
+	 * when they are converted to strings or compared to strings with non-ASCII characters. A byte order mark is skipped. The
+	 * buffer can be a memory mapped file, see {@link FileHandle#map()}. */
+	@SuppressWarnings("fallthrough")
+	public void parse (ByteBuffer data) {
+		stop = false;
+		int cs, p = data.position(), pe = data.limit(), eof = pe, top = 0;
+		if (pe - p >= 3 && data.get(p) == (byte)0xef && data.get(p + 1) == (byte)0xbb && data.get(p + 2) == (byte)0xbf)
+			p += 3; // Skip the byte order mark.
+		int[] stack = this.stack;
+
+		JsonToken nameString = this.nameString, value = this.value, string = value, name = null;
+		nameString.chars = null;
+		nameString.bytes = data;
+		value.chars = null;
+		value.bytes = data;
+		RuntimeException parseRuntimeEx = null;
+
+		boolean debug = false;
+		if (debug) System.out.println();
+
+		try {
+
+			// line 609 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+			{
+				cs = json_bytes_start;
+				top = 0;
+			}
+
+			// line 615 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+			{
+				int _klen;
+				int _trans = 0;
+				int _acts;
+				int _nacts;
+				int _keys;
+				int _goto_targ = 0;
+
+				_goto:
+				while (true) {
+					switch (_goto_targ) {
+					case 0:
+						if (p == pe) {
+							_goto_targ = 4;
+							continue _goto;
+						}
+						if (cs == 0) {
+							_goto_targ = 5;
+							continue _goto;
+						}
+					case 1:
+						_match:
+						do {
+							_keys = _json_bytes_key_offsets[cs];
+							_trans = _json_bytes_index_offsets[cs];
+							_klen = _json_bytes_single_lengths[cs];
+							if (_klen > 0) {
+								int _lower = _keys;
+								int _mid;
+								int _upper = _keys + _klen - 1;
+								while (true) {
+									if (_upper < _lower) break;
+
+									_mid = _lower + ((_upper - _lower) >> 1);
+									if ((data.get(p) & 0xff) < _json_bytes_trans_keys[_mid])
+										_upper = _mid - 1;
+									else if ((data.get(p) & 0xff) > _json_bytes_trans_keys[_mid])
+										_lower = _mid + 1;
+									else {
+										_trans += (_mid - _keys);
+										break _match;
+									}
+								}
+								_keys += _klen;
+								_trans += _klen;
+							}
+
+							_klen = _json_bytes_range_lengths[cs];
+							if (_klen > 0) {
+								int _lower = _keys;
+								int _mid;
+								int _upper = _keys + (_klen << 1) - 2;
+								while (true) {
+									if (_upper < _lower) break;
+
+									_mid = _lower + (((_upper - _lower) >> 1) & ~1);
+									if ((data.get(p) & 0xff) < _json_bytes_trans_keys[_mid])
+										_upper = _mid - 2;
+									else if ((data.get(p) & 0xff) > _json_bytes_trans_keys[_mid + 1])
+										_lower = _mid + 2;
+									else {
+										_trans += ((_mid - _keys) >> 1);
+										break _match;
+									}
+								}
+								_trans += _klen;
+							}
+						} while (false);
+
+						_trans = _json_bytes_indicies[_trans];
+						cs = _json_bytes_trans_targs[_trans];
+
+						if (_json_bytes_trans_actions[_trans] != 0) {
+							_acts = _json_bytes_trans_actions[_trans];
+							_nacts = (int)_json_bytes_actions[_acts++];
+							while (_nacts-- > 0) {
+								switch (_json_bytes_actions[_acts++]) {
+								case 0:
+								// line 363 "JsonSkimmer.rl"
+								{
+									if (debug) System.out.println("startObject: " + name);
+									push(name, true);
+									if (stop) return;
+									name = null;
+									{
+										if (top == stack.length) stack = this.stack = Arrays.copyOf(stack, stack.length << 1);
+										{
+											stack[top++] = cs;
+											cs = 4;
+											_goto_targ = 2;
+											if (true) continue _goto;
+										}
+									}
+								}
+									break;
+								case 1:
+								// line 370 "JsonSkimmer.rl"
+								{
+									if (debug) System.out.println("endObject");
+									pop();
+									if (stop) return;
+									{
+										cs = stack[--top];
+										_goto_targ = 2;
+										if (true) continue _goto;
+									}
+								}
+									break;
+								case 2:
+								// line 376 "JsonSkimmer.rl"
+								{
+									if (debug) System.out.println("startArray: " + name);
+									push(name, false);
+									if (stop) return;
+									name = null;
+									{
+										if (top == stack.length) stack = this.stack = Arrays.copyOf(stack, stack.length << 1);
+										{
+											stack[top++] = cs;
+											cs = 20;
+											_goto_targ = 2;
+											if (true) continue _goto;
+										}
+									}
+								}
+									break;
+								case 3:
+								// line 383 "JsonSkimmer.rl"
+								{
+									if (debug) System.out.println("endArray");
+									pop();
+									if (stop) return;
+									{
+										cs = stack[--top];
+										_goto_targ = 2;
+										if (true) continue _goto;
+									}
+								}
+									break;
+								case 4:
+								// line 389 "JsonSkimmer.rl"
+								{
+									int start = p;
+									if (data.get(p++) == '/') {
+										while (p != eof && data.get(p) != '\n')
+											p++;
+										p--;
+									} else {
+										while (p + 1 < eof && (data.get(p) != '*' || data.get(p + 1) != '/'))
+											p++;
+										p++;
+									}
+									if (debug) System.out.println("comment " + utf8(data, start - 1, p + 1));
+								}
+									break;
+								case 5:
+								// line 402 "JsonSkimmer.rl"
+								{
+									if (debug) System.out.println("unquotedName");
+									int start = p;
+									string.start = start;
+									boolean ws = false;
+									outer:
+									while (true) {
+										switch (data.get(p)) {
+										case '\\':
+											string.unescape = true;
+											break;
+										case '/':
+											if (p + 1 == eof) break;
+											byte c = data.get(p + 1);
+											if (c == '/' || c == '*') break outer;
+											break;
+										case ' ':
+										case '\t':
+											ws = true;
+											break;
+										case ':':
+										case '\r':
+										case '\n':
+											break outer;
+										}
+										if (debug) System.out.println("name char: '" + (char)data.get(p) + "'");
+										p++;
+										if (p == eof) break;
+									}
+									p--;
+									if (ws) {
+										while (true) {
+											switch (data.get(p)) {
+											case ' ':
+											case '\t':
+												p--;
+												continue;
+											}
+											break;
+										}
+									}
+									string.length = p - start + 1;
+								}
+									break;
+								case 6:
+								// line 445 "JsonSkimmer.rl"
+								{
+									if (debug) System.out.println("unquotedValue");
+									int start = p;
+									string.start = start;
+									boolean ws = false;
+									outer:
+									while (true) {
+										switch (data.get(p)) {
+										case '\\':
+											string.unescape = true;
+											break;
+										case '/':
+											if (p + 1 == eof) break;
+											byte c = data.get(p + 1);
+											if (c == '/' || c == '*') break outer;
+											break;
+										case ' ':
+										case '\t':
+											ws = true;
+											break;
+										case '\r':
+										case '\n':
+										case '}':
+										case ']':
+										case ',':
+											break outer;
+										}
+										if (debug) System.out.println("value char: '" + (char)data.get(p) + "'");
+										p++;
+										if (p == eof) break;
+									}
+									p--;
+									if (ws) {
+										while (true) {
+											switch (data.get(p)) {
+											case ' ':
+											case '\t':
+												p--;
+												continue;
+											}
+											break;
+										}
+									}
+									string.length = p - start + 1;
+									string.type = TokenType.other;
+									if (string.length == 4) {
+										if (data.get(start) == 't' && data.get(start + 1) == 'r' && data.get(start + 2) == 'u'
+											&& data.get(start + 3) == 'e')
+											string.type = TokenType.trueValue;
+										else if (data.get(start) == 'n' && data.get(start + 1) == 'u' && data.get(start + 2) == 'l'
+											&& data.get(start + 3) == 'l') string.type = TokenType.nullValue;
+									} else if (string.length == 5) {
+										if (data.get(start) == 'f' && data.get(start + 1) == 'a' && data.get(start + 2) == 'l' && data.get(start + 3) == 's'
+											&& data.get(start + 4) == 'e') string.type = TokenType.falseValue;
+									}
+								}
+									break;
+								case 7:
+								// line 500 "JsonSkimmer.rl"
+								{
+									if (debug) System.out.println("quotedString");
+									string.start = ++p;
+									outer:
+									while (true) {
+										switch (data.get(p)) {
+										case '\\':
+											string.unescape = true;
+											p++;
+											break;
+										case '"':
+											break outer;
+										}
+										if (debug) System.out.println("quoted char: '" + (char)data.get(p) + "'");
+										p++;
+										if (p == eof) break;
+									}
+									string.length = p - string.start;
+								}
+									break;
+								case 8:
+								// line 519 "JsonSkimmer.rl"
+								{
+									name = nameString; // Next element has a name.
+									string = nameString; // Parse next string to nameString.
+									if (debug) System.out.println("name start " + p);
+								}
+									break;
+								case 9:
+								// line 524 "JsonSkimmer.rl"
+								{
+									if (debug) System.out.println("name: " + p + ", " + name);
+									nameString.unescape = false;
+									string = value;
+								}
+									break;
+								case 10:
+								// line 529 "JsonSkimmer.rl"
+								{
+									if (debug) System.out.println("value: " + name + "=" + value);
+									value(name, value);
+									if (stop) return;
+									value.unescape = false;
+									value.type = TokenType.other;
+									name = null;
+									string = value;
+								}
+									break;
+								// line 926 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+								}
+							}
+						}
+
+					case 2:
+						if (cs == 0) {
+							_goto_targ = 5;
+							continue _goto;
+						}
+						if (++p != pe) {
+							_goto_targ = 1;
+							continue _goto;
+						}
+					case 4:
+						if (p == eof) {
+							int __acts = _json_bytes_eof_actions[cs];
+							int __nacts = (int)_json_bytes_actions[__acts++];
+							while (__nacts-- > 0) {
+								switch (_json_bytes_actions[__acts++]) {
+								case 10:
+								// line 529 "JsonSkimmer.rl"
+								{
+									if (debug) System.out.println("value: " + name + "=" + value);
+									value(name, value);
+									if (stop) return;
+									value.unescape = false;
+									value.type = TokenType.other;
+									name = null;
+									string = value;
+								}
+									break;
+								// line 958 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+								}
+							}
+						}
+
+					case 5:
+					}
+					break;
+				}
+			}
+
+			// line 554 "JsonSkimmer.rl"
+
+		} catch (RuntimeException ex) {
+			parseRuntimeEx = ex;
+		}
+
+		if (p < pe) {
+			int lineNumber = 1;
+			for (int i = data.position(); i < p; i++)
+				if (data.get(i) == '\n') lineNumber++;
+			int start = Math.max(data.position(), p - 32);
+			throw new SerializationException("Error parsing JSON on line " + lineNumber + " near: "
+				+ utf8(data, start, p) + "*ERROR*" + utf8(data, p, Math.min(p + 64, pe)), parseRuntimeEx);
+		}
+		if (parseRuntimeEx != null)
+			throw new SerializationException("Error parsing JSON: " + utf8(data, data.position(), pe), parseRuntimeEx);
+	}
+
+	// line 987 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+	private static byte[] init__json_bytes_actions_0 () {
+		return new byte[] {0, 1, 0, 1, 1, 1, 2, 1, 3, 1, 4, 1, 6, 1, 7, 1, 9, 1, 10, 2, 8, 5, 2, 8, 7, 2, 10, 1, 2, 10, 3};
+	}
+
+	private static final byte _json_bytes_actions[] = init__json_bytes_actions_0();
+
+	private static short[] init__json_bytes_key_offsets_0 () {
+		return new short[] {0, 0, 11, 13, 15, 24, 30, 36, 38, 49, 56, 63, 72, 81, 83, 85, 94, 96, 98, 100, 102, 113, 120, 127, 138,
+			149, 151, 153, 164, 166, 168, 170, 175, 180, 180};
+	}
+
+	private static final short _json_bytes_key_offsets[] = init__json_bytes_key_offsets_0();
+
+	private static char[] init__json_bytes_trans_keys_0 () {
+		return new char[] {13, 32, 34, 44, 47, 58, 91, 93, 123, 9, 10, 42, 47, 42, 47, 13, 32, 34, 44, 47, 58, 125, 9, 10, 13, 32,
+			47, 58, 9, 10, 13, 32, 47, 58, 9, 10, 42, 47, 13, 32, 34, 44, 47, 58, 91, 93, 123, 9, 10, 9, 10, 13, 32, 44, 47, 125, 9,
+			10, 13, 32, 44, 47, 125, 13, 32, 34, 44, 47, 58, 125, 9, 10, 13, 32, 34, 44, 47, 58, 125, 9, 10, 42, 47, 42, 47, 13, 32,
+			34, 44, 47, 58, 125, 9, 10, 42, 47, 42, 47, 42, 47, 42, 47, 13, 32, 34, 44, 47, 58, 91, 93, 123, 9, 10, 9, 10, 13, 32,
+			44, 47, 93, 9, 10, 13, 32, 44, 47, 93, 13, 32, 34, 44, 47, 58, 91, 93, 123, 9, 10, 13, 32, 34, 44, 47, 58, 91, 93, 123,
+			9, 10, 42, 47, 42, 47, 13, 32, 34, 44, 47, 58, 91, 93, 123, 9, 10, 42, 47, 42, 47, 42, 47, 13, 32, 47, 9, 10, 13, 32, 47,
+			9, 10, 0};
+	}
+
+	private static final char _json_bytes_trans_keys[] = init__json_bytes_trans_keys_0();
+
+	private static byte[] init__json_bytes_single_lengths_0 () {
+		return new byte[] {0, 9, 2, 2, 7, 4, 4, 2, 9, 7, 7, 7, 7, 2, 2, 7, 2, 2, 2, 2, 9, 7, 7, 9, 9, 2, 2, 9, 2, 2, 2, 3, 3, 0, 0};
+	}
+
+	private static final byte _json_bytes_single_lengths[] = init__json_bytes_single_lengths_0();
+
+	private static byte[] init__json_bytes_range_lengths_0 () {
+		return new byte[] {0, 1, 0, 0, 1, 1, 1, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0, 0, 0, 1, 1, 0, 0};
+	}
+
+	private static final byte _json_bytes_range_lengths[] = init__json_bytes_range_lengths_0();
+
+	private static short[] init__json_bytes_index_offsets_0 () {
+		return new short[] {0, 0, 11, 14, 17, 26, 32, 38, 41, 52, 60, 68, 77, 86, 89, 92, 101, 104, 107, 110, 113, 124, 132, 140,
+			151, 162, 165, 168, 179, 182, 185, 188, 193, 198, 199};
+	}
+
+	private static final short _json_bytes_index_offsets[] = init__json_bytes_index_offsets_0();
+
+	private static byte[] init__json_bytes_indicies_0 () {
+		return new byte[] {1, 1, 2, 3, 4, 3, 5, 3, 6, 1, 0, 7, 7, 3, 8, 8, 3, 10, 10, 11, 12, 13, 3, 14, 10, 9, 15, 15, 16, 17, 15,
+			3, 18, 18, 19, 20, 18, 3, 21, 21, 3, 20, 20, 23, 3, 24, 3, 25, 3, 26, 20, 22, 27, 28, 28, 27, 29, 30, 31, 3, 32, 33, 33,
+			32, 12, 34, 14, 3, 33, 33, 11, 35, 36, 3, 14, 33, 9, 35, 35, 11, 3, 37, 3, 3, 35, 9, 38, 38, 3, 39, 39, 3, 12, 12, 11, 3,
+			40, 3, 14, 12, 9, 41, 41, 3, 42, 42, 3, 43, 43, 3, 44, 44, 3, 46, 46, 47, 48, 49, 3, 50, 51, 52, 46, 45, 53, 54, 54, 53,
+			55, 56, 57, 3, 58, 59, 59, 58, 48, 60, 51, 3, 59, 59, 47, 61, 62, 3, 50, 51, 52, 59, 45, 61, 61, 47, 3, 63, 3, 50, 3, 52,
+			61, 45, 64, 64, 3, 65, 65, 3, 48, 48, 47, 3, 66, 3, 50, 51, 52, 48, 45, 67, 67, 3, 68, 68, 3, 69, 69, 3, 70, 70, 71, 70,
+			3, 72, 72, 73, 72, 3, 3, 3, 0};
+	}
+
+	private static final byte _json_bytes_indicies[] = init__json_bytes_indicies_0();
+
+	private static byte[] init__json_bytes_trans_targs_0 () {
+		return new byte[] {31, 1, 31, 0, 3, 32, 32, 32, 1, 5, 4, 5, 15, 19, 33, 6, 7, 8, 6, 7, 8, 6, 9, 9, 18, 10, 10, 10, 11, 15,
+			17, 33, 10, 11, 17, 12, 14, 13, 12, 11, 16, 15, 10, 8, 4, 21, 20, 21, 27, 30, 22, 34, 22, 22, 23, 27, 29, 34, 22, 23, 29,
+			24, 26, 25, 24, 23, 28, 27, 22, 20, 32, 2, 32, 2};
+	}
+
+	private static final byte _json_bytes_trans_targs[] = init__json_bytes_trans_targs_0();
+
+	private static byte[] init__json_bytes_trans_actions_0 () {
+		return new byte[] {11, 0, 13, 0, 0, 5, 1, 9, 9, 19, 0, 22, 0, 0, 3, 15, 15, 15, 0, 0, 0, 9, 11, 13, 0, 5, 1, 17, 17, 17, 17,
+			25, 0, 0, 0, 0, 0, 0, 9, 9, 0, 9, 9, 9, 9, 11, 0, 13, 0, 0, 5, 7, 1, 17, 17, 17, 17, 28, 0, 0, 0, 0, 0, 0, 9, 9, 0, 9, 9,
+			9, 17, 17, 0, 0};
+	}
+
+	private static final byte _json_bytes_trans_actions[] = init__json_bytes_trans_actions_0();
+
+	private static byte[] init__json_bytes_eof_actions_0 () {
+		return new byte[] {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 17, 0, 0,
+			0};
+	}
+
+	private static final byte _json_bytes_eof_actions[] = init__json_bytes_eof_actions_0();
+
+	static final int json_bytes_start = 1;
+	static final int json_bytes_first_final = 31;
+	static final int json_bytes_error = 0;
+
+	static final int json_bytes_en_object = 4;
+	static final int json_bytes_en_array = 20;
+	static final int json_bytes_en_main = 1;
+
+	// line 572 "JsonSkimmer.rl"
 
 	protected boolean stop;
 
@@ -586,6 +1086,16 @@ public class JsonSkimmer {
 		return stop;
 	}
 
+	/** Sets a cache that is used when a name token is converted to a string, to return the same string instance for equal names,
+	 * or null to create a new string each time (the default). */
+	public void setNameCache (@Null NameCache nameCache) {
+		nameString.nameCache = nameCache;
+	}
+
+	String utf8 (ByteBuffer data, int start, int end) {
+		return JsonReader.utf8(data, start, end, buffer);
+	}
+
 	/** Called when an object or array is encountered in the JSON.
 	 * @param name Reused after this method returns.
 	 * @param object True when an object was encountered, else it was an array. */
@@ -604,7 +1114,12 @@ public class JsonSkimmer {
 
 	static public class JsonToken {
 		final CharArray buffer;
-		public char[] chars;
+		/** The JSON when parsing chars, else null. */
+		public @Null char[] chars;
+		/** The UTF-8 JSON when parsing bytes, else null. */
+		public @Null ByteBuffer bytes;
+		@Null CharArray decoded;
+		@Null NameCache nameCache;
 
 		public int start, length;
 		public boolean unescape;
@@ -618,6 +1133,7 @@ public class JsonSkimmer {
 		public boolean equalsString (String string) {
 			if (string == null) return false;
 			if (unescape) return toString().equals(string);
+			if (bytes != null) return equalsBytes(string);
 			int n = length;
 			if (string.length() != n) return false;
 			char[] chars = this.chars;
@@ -630,7 +1146,24 @@ public class JsonSkimmer {
 		 * @return "null" if this token represents null. */
 		public String toString () {
 			if (type == TokenType.nullValue) return "null";
-			return unescape ? unescape() : new String(chars, start, length);
+			if (nameCache != null && !unescape)
+				return bytes != null ? nameCache.get(bytes, start, start + length) : nameCache.get(chars, start, length);
+			if (bytes != null) {
+				CharArray decoded = this.decoded;
+				if (decoded == null) this.decoded = decoded = new CharArray(32);
+				if (!unescape) return JsonReader.utf8(bytes, start, start + length, decoded);
+				decoded.size = 0;
+				JsonReader.decodeUtf8(bytes, start, start + length, decoded);
+				return unescape(decoded.items, 0, decoded.size);
+			}
+			return unescape ? unescape(chars, start, length) : new String(chars, start, length);
+		}
+
+		/** Returns true if the token was a quoted string, else it was unquoted and may be a number, boolean, null or string. */
+		public boolean isQuoted () {
+			int before = start - 1;
+			if (chars != null) return before >= 0 && chars[before] == '"';
+			return before >= bytes.position() && bytes.get(before) == '"';
 		}
 
 		/** Returns a new JsonValue with {@link ValueType} of null, boolean, or string. */
@@ -655,8 +1188,19 @@ public class JsonSkimmer {
 			return true;
 		}
 
-		private String unescape () {
-			char[] chars = this.chars;
+		/** Compares the bytes to the string. Only strings with non-ASCII characters are decoded. */
+		private boolean equalsBytes (String string) {
+			ByteBuffer bytes = this.bytes;
+			int n = length, sn = string.length();
+			for (int b = start, s = 0; s < sn; b++, s++) {
+				char c = string.charAt(s);
+				if (c >= 0x80) return toString().equals(string);
+				if (s == n || bytes.get(b) != c) return false;
+			}
+			return sn == n;
+		}
+
+		private String unescape (char[] chars, int start, int length) {
 			buffer.size = 0;
 			buffer.ensureCapacity(length + 16);
 			outer:
@@ -0,0 +1,512 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/** A {@link JsonCursor} for UTF-8 JSON text. It accepts the same relaxed JSON as {@link JsonReader}: comments, unquoted names
+ * and values, and optional commas. Input is read from a stream into a small buffer which only grows to fit the largest single
+ * token, so documents of any size can be read. */
+public class JsonTextCursor extends JsonCursor {
+	static private final byte name = 0, value = 1, array = 2;
+	static private final double[] pow10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+		1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+	private @Null InputStream input;
+	private byte[] data;
+	private int pos, limit;
+	private long discarded;
+	private @Null ByteBuffer wrapped;
+	private final CharArray buffer = new CharArray(32);
+
+	private byte[] stack = new byte[16];
+	private int depth;
+	private boolean started, done;
+
+	private int start, end;
+	private boolean escaped, booleanValue, exact;
+	private long longValue;
+	private double doubleValue;
+
+	/** @param input Closed by {@link #close()}. */
+	public JsonTextCursor (InputStream input) {
+		this(input, 8192);
+	}
+
+	/** @param input Closed by {@link #close()}.
+	 * @param bufferSize The initial size of the buffer, which grows if a single token does not fit. */
+	public JsonTextCursor (InputStream input, int bufferSize) {
+		this.input = input;
+		data = new byte[Math.max(bufferSize, 16)];
+	}
+
+	public JsonTextCursor (FileHandle file) {
+		this(file.read());
+	}
+
+	/** The array is read directly and is not modified. */
+	public JsonTextCursor (byte[] data, int offset, int length) {
+		this.data = data;
+		pos = offset;
+		limit = offset + length;
+	}
+
+	public JsonTextCursor (String json) {
+		try {
+			data = json.getBytes("UTF-8");
+		} catch (IOException ex) {
+			throw new SerializationException(ex);
+		}
+		limit = data.length;
+	}
+
+	protected Token read () {
+		if (done) return Token.end;
+		if (!started) {
+			started = true;
+			while (limit - pos < 3 && fill(pos)) {
+			}
+			if (limit - pos >= 3 && data[pos] == (byte)0xef && data[pos + 1] == (byte)0xbb && data[pos + 2] == (byte)0xbf) pos += 3;
+		}
+
+		int b = skip(false);
+		if (b == -1) {
+			if (depth > 0) throw new SerializationException("Unexpected end of JSON" + position());
+			done = true;
+			return Token.end;
+		}
+		int state = depth == 0 ? value : stack[depth - 1];
+		if (state == name) {
+			if (b == '}') {
+				pos++;
+				depth--;
+				return complete(Token.endObject);
+			}
+			if (b == '"')
+				quoted();
+			else
+				unquoted(true);
+			if (skip(true) != ':') throw new SerializationException("Expected ':' after name" + position());
+			pos++;
+			stack[depth - 1] = value;
+			return Token.name;
+		}
+		if (state == array) {
+			if (b == ']') {
+				pos++;
+				depth--;
+				return complete(Token.endArray);
+			}
+		} else if (depth > 0) //
+			stack[depth - 1] = name;
+
+		switch (b) {
+		case '{':
+			pos++;
+			push(name);
+			return Token.beginObject;
+		case '[':
+			pos++;
+			push(array);
+			return Token.beginArray;
+		case '"':
+			quoted();
+			return complete(Token.stringValue);
+		case '}':
+		case ']':
+		case ':':
+			throw new SerializationException("Unexpected character: " + (char)b + position());
+		}
+		unquoted(false);
+		return complete(classify());
+	}
+
+	private Token complete (Token token) {
+		if (depth == 0) done = true;
+		return token;
+	}
+
+	private void push (byte state) {
+		if (depth == stack.length) {
+			byte[] newStack = new byte[depth << 1];
+			System.arraycopy(stack, 0, newStack, 0, depth);
+			stack = newStack;
+		}
+		stack[depth++] = state;
+	}
+
+	/** Skips whitespace, commas and comments.
+	 * @param keepToken If true, the bytes of the current token are kept when more input is read.
+	 * @return The next byte, or -1 at the end of the input. */
+	private int skip (boolean keepToken) {
+		while (true) {
+			if (pos == limit && !fill(keepToken ? start : pos)) return -1;
+			int b = data[pos];
+			switch (b) {
+			case ' ':
+			case '\t':
+			case '\r':
+			case '\n':
+			case ',':
+				pos++;
+				continue;
+			case '/':
+				if (pos + 1 == limit && !fill(keepToken ? start : pos)) return b;
+				b = data[pos + 1];
+				if (b == '/') {
+					pos += 2;
+					while ((pos < limit || fill(keepToken ? start : pos)) && data[pos] != '\n')
+						pos++;
+					continue;
+				}
+				if (b == '*') {
+					pos += 2;
+					while (true) {
+						if (limit - pos < 2 && !fill(keepToken ? start : pos)) throw new SerializationException("Unclosed comment" + position());
+						if (data[pos] == '*' && data[pos + 1] == '/') break;
+						pos++;
+					}
+					pos += 2;
+					continue;
+				}
+				return '/';
+			}
+			return b;
+		}
+	}
+
+	private void quoted () {
+		int pos = this.pos + 1;
+		start = pos;
+		escaped = false;
+		while (true) {
+			if (pos == limit) {
+				this.pos = pos;
+				if (!fill(start)) throw new SerializationException("Unclosed string" + position());
+				pos = this.pos;
+			}
+			byte b = data[pos++];
+			if (b == '"') break;
+			if (b == '\\') {
+				escaped = true;
+				if (pos == limit) {
+					this.pos = pos;
+					if (!fill(start)) throw new SerializationException("Unclosed string" + position());
+					pos = this.pos;
+				}
+				pos++;
+			}
+		}
+		end = pos - 1;
+		this.pos = pos;
+	}
+
+	private void unquoted (boolean isName) {
+		start = pos;
+		escaped = false;
+		outer:
+		while (pos < limit || fill(start)) {
+			switch (data[pos]) {
+			case '\\':
+				escaped = true;
+				break;
+			case '/':
+				if (pos + 1 == limit && !fill(start)) break;
+				byte c = data[pos + 1];
+				if (c == '/' || c == '*') break outer;
+				break;
+			case '\r':
+			case '\n':
+				break outer;
+			case ':':
+				if (isName) break outer;
+				break;
+			case '}':
+			case ']':
+			case ',':
+				if (!isName) break outer;
+				break;
+			}
+			pos++;
+		}
+		int end = pos;
+		while (end > start && (data[end - 1] == ' ' || data[end - 1] == '\t'))
+			end--;
+		this.end = end;
+	}
+
+	/** Determines the type of an unquoted value and parses numbers. */
+	private Token classify () {
+		byte[] data = this.data;
+		int start = this.start, end = this.end;
+		if (escaped) return Token.stringValue;
+		switch (end - start) {
+		case 4:
+			if (data[start] == 't' && data[start + 1] == 'r' && data[start + 2] == 'u' && data[start + 3] == 'e') {
+				booleanValue = true;
+				return Token.booleanValue;
+			}
+			if (data[start] == 'n' && data[start + 1] == 'u' && data[start + 2] == 'l' && data[start + 3] == 'l')
+				return Token.nullValue;
+			break;
+		case 5:
+			if (data[start] == 'f' && data[start + 1] == 'a' && data[start + 2] == 'l' && data[start + 3] == 's'
+				&& data[start + 4] == 'e') {
+				booleanValue = false;
+				return Token.booleanValue;
+			}
+			break;
+		}
+
+		// Parse the mantissa and decimal exponent, falling back to the JDK for numbers which can't be converted exactly.
+		int i = start;
+		boolean negative = false;
+		if (i < end && (data[i] == '-' || data[i] == '+')) negative = data[i++] == '-';
+		long mantissa = 0;
+		int digits = 0, exponent = 0;
+		boolean isLong = true, valid = false;
+		for (; i < end; i++) {
+			int digit = data[i] - '0';
+			if (digit < 0 || digit > 9) break;
+			valid = true;
+			if (mantissa != 0 || digit != 0) digits++;
+			mantissa = mantissa * 10 + digit;
+			if (digits > 18) break;
+		}
+		if (i < end && data[i] == '.') {
+			isLong = false;
+			for (i++; i < end; i++) {
+				int digit = data[i] - '0';
+				if (digit < 0 || digit > 9) break;
+				valid = true;
+				if (mantissa != 0 || digit != 0) digits++;
+				mantissa = mantissa * 10 + digit;
+				exponent--;
+				if (digits > 18) break;
+			}
+		}
+		if (valid && i < end && (data[i] == 'e' || data[i] == 'E')) {
+			isLong = false;
+			i++;
+			boolean negativeExponent = false;
+			if (i < end && (data[i] == '-' || data[i] == '+')) negativeExponent = data[i++] == '-';
+			int value = 0;
+			valid = false;
+			for (; i < end; i++) {
+				int digit = data[i] - '0';
+				if (digit < 0 || digit > 9) break;
+				valid = true;
+				if (value < 10000) value = value * 10 + digit;
+			}
+			exponent += negativeExponent ? -value : value;
+		}
+		if (valid && i == end && digits <= 18) {
+			if (isLong) {
+				longValue = negative ? -mantissa : mantissa;
+				doubleValue = longValue;
+				exact = mantissa < 1L << 53;
+				return Token.longValue;
+			}
+			if (mantissa < 1L << 53 && exponent >= -22 && exponent <= 22) {
+				double value = exponent < 0 ? mantissa / pow10[-exponent] : mantissa * pow10[exponent];
+				doubleValue = negative ? -value : value;
+				longValue = (long)doubleValue;
+				exact = true;
+				return Token.doubleValue;
+			}
+		}
+
+		// Numbers with many digits or large exponents, or strings which only look like numbers.
+		exact = false;
+		String value = stringValue();
+		try {
+			if (isLong) {
+				longValue = Long.parseLong(value);
+				doubleValue = longValue;
+				return Token.longValue;
+			}
+		} catch (NumberFormatException ignored) {
+		}
+		try {
+			doubleValue = Double.parseDouble(value);
+			longValue = (long)doubleValue;
+			return Token.doubleValue;
+		} catch (NumberFormatException ignored) {
+		}
+		return Token.stringValue;
+	}
+
+	/** Reads more bytes, discarding those before the specified index.
+	 * @return false if there are no more bytes. */
+	private boolean fill (int keep) {
+		if (input == null) return false;
+		byte[] data = this.data;
+		if (keep > 0) {
+			System.arraycopy(data, keep, data, 0, limit - keep);
+			discarded += keep;
+			pos -= keep;
+			start -= keep;
+			end -= keep;
+			limit -= keep;
+		}
+		if (limit == data.length) {
+			byte[] newData = new byte[data.length << 1];
+			System.arraycopy(data, 0, newData, 0, limit);
+			this.data = data = newData;
+			wrapped = null;
+		}
+		try {
+			int count = input.read(data, limit, data.length - limit);
+			if (count == -1) return false;
+			limit += count;
+			return true;
+		} catch (IOException ex) {
+			throw new SerializationException("Error reading JSON" + position(), ex);
+		}
+	}
+
+	/** Decodes the current token into the buffer, replacing escape sequences. */
+	private void decode () {
+		ByteBuffer wrapped = this.wrapped;
+		if (wrapped == null) this.wrapped = wrapped = ByteBuffer.wrap(data);
+		CharArray buffer = this.buffer;
+		buffer.size = 0;
+		JsonReader.decodeUtf8(wrapped, start, end, buffer);
+		if (!escaped) return;
+		char[] chars = buffer.items;
+		int n = 0;
+		for (int i = 0, size = buffer.size; i < size;) {
+			char c = chars[i++];
+			if (c == '\\' && i < size) {
+				c = chars[i++];
+				switch (c) {
+				case 'u':
+					if (i + 4 > size) throw new SerializationException("Illegal escape sequence: \\u" + position());
+					c = (char)((Character.digit(chars[i], 16) << 12) | (Character.digit(chars[i + 1], 16) << 8)
+						| (Character.digit(chars[i + 2], 16) << 4) | Character.digit(chars[i + 3], 16));
+					i += 4;
+					break;
+				case 'b':
+					c = '\b';
+					break;
+				case 'f':
+					c = '\f';
+					break;
+				case 'n':
+					c = '\n';
+					break;
+				case 'r':
+					c = '\r';
+					break;
+				case 't':
+					c = '\t';
+					break;
+				}
+			}
+			chars[n++] = c;
+		}
+		buffer.size = n;
+	}
+
+	protected String stringValue () {
+		if (!escaped) {
+			try {
+				return new String(data, start, end - start, "UTF-8");
+			} catch (IOException ignored) { // UTF-8 is always supported.
+			}
+		}
+		decode();
+		return buffer.toString();
+	}
+
+	protected long longValue () {
+		return longValue;
+	}
+
+	protected double doubleValue () {
+		return doubleValue;
+	}
+
+	protected float floatValue () {
+		if (exact) {
+			// Rounding the exact double to float is correct unless it is halfway between two floats.
+			float value = (float)doubleValue;
+			if ((Double.doubleToLongBits(doubleValue) & 0x1fffffffL) != 0x10000000L) return value;
+		}
+		return Float.parseFloat(stringValue());
+	}
+
+	protected String numberText () {
+		return stringValue();
+	}
+
+	protected boolean booleanValue () {
+		return booleanValue;
+	}
+
+	protected int nameHash () {
+		if (!escaped) {
+			byte[] data = this.data;
+			int hash = 0, i = start, n = end;
+			for (; i < n; i++) {
+				byte b = data[i];
+				if (b < 0) break;
+				hash = 31 * hash + b;
+			}
+			if (i == n) return hash;
+		}
+		decode();
+		int hash = 0;
+		char[] chars = buffer.items;
+		for (int i = 0, n = buffer.size; i < n; i++)
+			hash = 31 * hash + chars[i];
+		return hash;
+	}
+
+	public boolean nameEquals (String name) {
+		int length = name.length();
+		if (!escaped) {
+			byte[] data = this.data;
+			int start = this.start, n = end - start, i = 0;
+			for (; i < n; i++) {
+				byte b = data[start + i];
+				if (b < 0) break;
+				if (i == length || b != name.charAt(i)) return false;
+			}
+			if (i == n) return n == length;
+		}
+		decode();
+		char[] chars = buffer.items;
+		if (buffer.size != length) return false;
+		for (int i = 0; i < length; i++)
+			if (chars[i] != name.charAt(i)) return false;
+		return true;
+	}
+
+	protected String position () {
+		return " (byte " + (discarded + pos) + ")";
+	}
+
+	public void close () {
+		StreamUtils.closeQuietly(input);
+	}
+}
@@ -50,11 +50,13 @@ public class JsonValue implements Iterable<JsonValue> {
 	private long longValue;
 
 	public String name;
-	/** May be null. */
+	/** May be null. The child and last of a packed array are null until its children are created, see {@link #packed()}. */
 	public JsonValue child, last, parent;
 	/** May be null. When changing this field the parent {@link #size()} may need to be changed. */
 	public JsonValue next, prev;
 	public int size;
+	/** May be null. The values of an array whose children have not been created, see {@link #packed()}. */
+	private Object packed;
 
 	public JsonValue (ValueType type) {
 		this.type = type;
@@ -97,6 +99,7 @@ public class JsonValue implements Iterable<JsonValue> {
 		longValue = other.longValue;
 		name = other.name;
 		this.parent = parent;
+		if (other.packed != null) packed = copyPacked(other.packed);
 		if (other.child != null) child = new JsonValue(other.child, other.last, this);
 		if (other == otherLast) parent.last = this;
 		if (parent != null && other.next != null) {
@@ -110,6 +113,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	 * {@link JsonValue} for how to iterate efficiently.
 	 * @return May be null. */
 	public @Null JsonValue get (int index) {
+		if (packed != null) unpack();
 		if (index == size - 1) return last;
 		JsonValue current = child;
 		while (current != null && index > 0) {
@@ -386,6 +390,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	 * @throws IllegalStateException if this is not an array. */
 	public String[] asStringArray () {
 		if (type != ValueType.array) throw new IllegalStateException("Value is not an array: " + type);
+		if (packed != null) unpack();
 		String[] array = new String[size];
 		int i = 0;
 		for (JsonValue value = child; value != null; value = value.next, i++) {
@@ -418,6 +423,13 @@ public class JsonValue implements Iterable<JsonValue> {
 	 * @throws IllegalStateException if this is not an array. */
 	public float[] asFloatArray () {
 		if (type != ValueType.array) throw new IllegalStateException("Value is not an array: " + type);
+		if (packed instanceof float[]) return ((float[])packed).clone();
+		if (packed != null) {
+			float[] array = new float[size];
+			for (int i = 0; i < size; i++)
+				array[i] = (float)packedDouble(i);
+			return array;
+		}
 		float[] array = new float[size];
 		int i = 0;
 		for (JsonValue value = child; value != null; value = value.next, i++) {
@@ -447,6 +459,13 @@ public class JsonValue implements Iterable<JsonValue> {
 	 * @throws IllegalStateException if this is not an array. */
 	public double[] asDoubleArray () {
 		if (type != ValueType.array) throw new IllegalStateException("Value is not an array: " + type);
+		if (packed instanceof double[]) return ((double[])packed).clone();
+		if (packed != null) {
+			double[] array = new double[size];
+			for (int i = 0; i < size; i++)
+				array[i] = packedDouble(i);
+			return array;
+		}
 		double[] array = new double[size];
 		int i = 0;
 		for (JsonValue value = child; value != null; value = value.next, i++) {
@@ -476,6 +495,13 @@ public class JsonValue implements Iterable<JsonValue> {
 	 * @throws IllegalStateException if this is not an array. */
 	public long[] asLongArray () {
 		if (type != ValueType.array) throw new IllegalStateException("Value is not an array: " + type);
+		if (packed instanceof long[]) return ((long[])packed).clone();
+		if (packed != null) {
+			long[] array = new long[size];
+			for (int i = 0; i < size; i++)
+				array[i] = packedLong(i);
+			return array;
+		}
 		long[] array = new long[size];
 		int i = 0;
 		for (JsonValue value = child; value != null; value = value.next, i++) {
@@ -505,6 +531,13 @@ public class JsonValue implements Iterable<JsonValue> {
 	 * @throws IllegalStateException if this is not an array. */
 	public int[] asIntArray () {
 		if (type != ValueType.array) throw new IllegalStateException("Value is not an array: " + type);
+		if (packed instanceof int[]) return ((int[])packed).clone();
+		if (packed != null) {
+			int[] array = new int[size];
+			for (int i = 0; i < size; i++)
+				array[i] = (int)packedLong(i);
+			return array;
+		}
 		int[] array = new int[size];
 		int i = 0;
 		for (JsonValue value = child; value != null; value = value.next, i++) {
@@ -534,6 +567,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	 * @throws IllegalStateException if this is not an array. */
 	public boolean[] asBooleanArray () {
 		if (type != ValueType.array) throw new IllegalStateException("Value is not an array: " + type);
+		if (packed != null) unpack();
 		boolean[] array = new boolean[size];
 		int i = 0;
 		for (JsonValue value = child; value != null; value = value.next, i++) {
@@ -563,6 +597,13 @@ public class JsonValue implements Iterable<JsonValue> {
 	 * @throws IllegalStateException if this is not an array. */
 	public byte[] asByteArray () {
 		if (type != ValueType.array) throw new IllegalStateException("Value is not an array: " + type);
+		if (packed instanceof byte[]) return ((byte[])packed).clone();
+		if (packed != null) {
+			byte[] array = new byte[size];
+			for (int i = 0; i < size; i++)
+				array[i] = (byte)packedLong(i);
+			return array;
+		}
 		byte[] array = new byte[size];
 		int i = 0;
 		for (JsonValue value = child; value != null; value = value.next, i++) {
@@ -592,6 +633,13 @@ public class JsonValue implements Iterable<JsonValue> {
 	 * @throws IllegalStateException if this is not an array. */
 	public short[] asShortArray () {
 		if (type != ValueType.array) throw new IllegalStateException("Value is not an array: " + type);
+		if (packed instanceof short[]) return ((short[])packed).clone();
+		if (packed != null) {
+			short[] array = new short[size];
+			for (int i = 0; i < size; i++)
+				array[i] = (short)packedLong(i);
+			return array;
+		}
 		short[] array = new short[size];
 		int i = 0;
 		for (JsonValue value = child; value != null; value = value.next, i++) {
@@ -621,6 +669,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	 * @throws IllegalStateException if this is not an array. */
 	public char[] asCharArray () {
 		if (type != ValueType.array) throw new IllegalStateException("Value is not an array: " + type);
+		if (packed != null) unpack();
 		char[] array = new char[size];
 		int i = 0;
 		for (JsonValue value = child; value != null; value = value.next, i++) {
@@ -863,6 +912,7 @@ public class JsonValue implements Iterable<JsonValue> {
 
 	public void setType (ValueType type) {
 		if (type == null) throw new IllegalArgumentException("type cannot be null.");
+		if (type != ValueType.array) clearPacked();
 		this.type = type;
 	}
 
@@ -929,15 +979,118 @@ public class JsonValue implements Iterable<JsonValue> {
 		return parent;
 	}
 
+	/** Returns the values of an array read from a strongly typed container by {@link UBJsonReader} or set by
+	 * {@link #setPacked(Object)}, without creating a child for each value. The children are created when they are first needed, eg
+	 * by {@link #child()}, {@link #get(int)} or {@link #iterator()}. {@link #asFloatArray()} and the other numeric array methods
+	 * don't create the children.
+	 * <p>
+	 * Code that uses the {@link #child} field directly must first call {@link #child()} to create the children.
+	 * @return A float[], double[], byte[], short[], int[], long[] or char[] that must not be modified, or null if this is not a
+	 *         packed array or the children have been created. */
+	public @Null Object packed () {
+		return packed;
+	}
+
+	/** Sets this value to an array containing the specified values, without creating a child for each value.
+	 * @param values A float[], double[], byte[], short[], int[], long[] or char[], which is not copied.
+	 * @see #packed() */
+	public void setPacked (Object values) {
+		int size;
+		if (values instanceof float[])
+			size = ((float[])values).length;
+		else if (values instanceof double[])
+			size = ((double[])values).length;
+		else if (values instanceof byte[])
+			size = ((byte[])values).length;
+		else if (values instanceof short[])
+			size = ((short[])values).length;
+		else if (values instanceof int[])
+			size = ((int[])values).length;
+		else if (values instanceof long[])
+			size = ((long[])values).length;
+		else if (values instanceof char[])
+			size = ((char[])values).length;
+		else
+			throw new IllegalArgumentException("values must be a numeric primitive array: " + values);
+		type = ValueType.array;
+		child = null;
+		last = null;
+		this.size = size;
+		packed = size > 0 ? values : null;
+	}
+
+	/** Discards the packed values, if any, when this value is no longer an array. */
+	private void clearPacked () {
+		if (packed == null) return;
+		packed = null;
+		size = 0;
+	}
+
+	/** Creates the children for the packed values. */
+	private void unpack () {
+		Object packed = this.packed;
+		this.packed = null;
+		boolean isDouble = packed instanceof float[] || packed instanceof double[];
+		JsonValue prev = null;
+		for (int i = 0, n = size; i < n; i++) {
+			JsonValue value = isDouble ? new JsonValue(packedDouble(packed, i)) : new JsonValue(packedLong(packed, i));
+			value.parent = this;
+			if (prev == null)
+				child = value;
+			else {
+				prev.next = value;
+				value.prev = prev;
+			}
+			prev = value;
+		}
+		last = prev;
+	}
+
+	private double packedDouble (int index) {
+		return packedDouble(packed, index);
+	}
+
+	private long packedLong (int index) {
+		return packedLong(packed, index);
+	}
+
+	static private double packedDouble (Object packed, int index) {
+		if (packed instanceof float[]) return ((float[])packed)[index];
+		if (packed instanceof double[]) return ((double[])packed)[index];
+		return packedLong(packed, index);
+	}
+
+	static private long packedLong (Object packed, int index) {
+		if (packed instanceof float[]) return (long)((float[])packed)[index];
+		if (packed instanceof double[]) return (long)((double[])packed)[index];
+		if (packed instanceof byte[]) return ((byte[])packed)[index];
+		if (packed instanceof short[]) return ((short[])packed)[index];
+		if (packed instanceof int[]) return ((int[])packed)[index];
+		if (packed instanceof long[]) return ((long[])packed)[index];
+		return ((char[])packed)[index];
+	}
+
+	static private Object copyPacked (Object packed) {
+		if (packed instanceof float[]) return ((float[])packed).clone();
+		if (packed instanceof double[]) return ((double[])packed).clone();
+		if (packed instanceof byte[]) return ((byte[])packed).clone();
+		if (packed instanceof short[]) return ((short[])packed).clone();
+		if (packed instanceof int[]) return ((int[])packed).clone();
+		if (packed instanceof long[]) return ((long[])packed).clone();
+		return ((char[])packed).clone();
+	}
+
 	/** Returns the first child for this object or array.
 	 * @return May be null. */
 	public @Null JsonValue child () {
+		if (packed != null) unpack();
 		return child;
 	}
 
 	/** Returns the last child for this object or array.
 	 * @return May be null. */
 	public @Null JsonValue last () {
+		if (packed != null) unpack();
 		return last;
 	}
 
@@ -953,6 +1106,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	public void setChild (JsonValue value) {
 		String name = value.name;
 		if (name == null) throw new IllegalStateException("An object child requires a name: " + value);
+		if (packed != null) unpack();
 		JsonValue current = child;
 		while (current != null) {
 			if (current.name.equals(name)) {
@@ -992,6 +1146,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	public void addChild (JsonValue value) {
 		if (type == ValueType.object && value.name == null)
 			throw new IllegalStateException("An object child requires a name: " + value);
+		if (packed != null) unpack();
 		value.parent = this;
 		value.next = null;
 		if (child == null) {
@@ -1010,6 +1165,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	public void addChildFirst (JsonValue value) {
 		if (type == ValueType.object && value.name == null)
 			throw new IllegalStateException("An object child requires a name: " + value);
+		if (packed != null) unpack();
 		value.parent = this;
 		value.next = child;
 		value.prev = null;
@@ -1049,6 +1205,7 @@ public class JsonValue implements Iterable<JsonValue> {
 
 	/** Sets the type and value to the specified JsonValue. */
 	public void set (JsonValue value) {
+		clearPacked();
 		type = value.type;
 		stringValue = value.stringValue;
 		doubleValue = value.doubleValue;
@@ -1057,17 +1214,20 @@ public class JsonValue implements Iterable<JsonValue> {
 
 	/** @param value May be null. */
 	public void set (@Null String value) {
+		clearPacked();
 		stringValue = value;
 		type = value == null ? ValueType.nullValue : ValueType.stringValue;
 	}
 
 	public void setNull () {
+		clearPacked();
 		stringValue = null;
 		type = ValueType.nullValue;
 	}
 
 	/** @param stringValue May be null if the string representation is the string value of the double (eg, no leading zeros). */
 	public void set (double value, @Null String stringValue) {
+		clearPacked();
 		doubleValue = value;
 		longValue = (long)value;
 		this.stringValue = stringValue;
@@ -1076,6 +1236,7 @@ public class JsonValue implements Iterable<JsonValue> {
 
 	/** @param stringValue May be null if the string representation is the string value of the long (eg, no leading zeros). */
 	public void set (long value, @Null String stringValue) {
+		clearPacked();
 		longValue = value;
 		doubleValue = value;
 		this.stringValue = stringValue;
@@ -1083,6 +1244,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	}
 
 	public void set (boolean value) {
+		clearPacked();
 		longValue = value ? 1 : 0;
 		type = ValueType.booleanValue;
 	}
@@ -1107,6 +1269,7 @@ public class JsonValue implements Iterable<JsonValue> {
 	}
 
 	public void toJson (OutputType outputType, Writer writer) throws IOException {
+		if (packed != null) unpack();
 		if (isObject()) {
 			writer.write('{');
 			for (JsonValue child = this.child; child != null; child = child.next) {
@@ -1141,6 +1304,7 @@ public class JsonValue implements Iterable<JsonValue> {
 
 	/** Iterates the children of this array or object. */
 	public JsonIterator iterator () {
+		if (packed != null) unpack();
 		return new JsonIterator();
 	}
 
@@ -1188,6 +1352,7 @@ public class JsonValue implements Iterable<JsonValue> {
 
 	private void prettyPrint (JsonValue object, StringBuilder buffer, int indent, PrettyPrintSettings settings) {
 		OutputType outputType = settings.outputType;
+		if (object.packed != null) object.unpack();
 		if (object.isObject()) {
 			if (object.child == null)
 				buffer.append("{}");
@@ -1267,6 +1432,7 @@ public class JsonValue implements Iterable<JsonValue> {
 
 	private void prettyPrint (JsonValue object, Writer writer, int indent, PrettyPrintSettings settings) throws IOException {
 		OutputType outputType = settings.outputType;
+		if (object.packed != null) object.unpack();
 		if (object.isObject()) {
 			if (object.child == null)
 				writer.write("{}");
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+
+/** A {@link JsonWriter} that builds a {@link JsonValue} tree instead of writing JSON text. {@link Json#toJsonValue(Object)} uses
+ * this to serialize objects without creating and parsing text.
+ * <p>
+ * The output type and {@link #setQuoteLongValues(boolean)} are ignored, they apply when the tree is written as text. Float values
+ * are stored as the double nearest to their shortest decimal representation, so they are written as text the same as by
+ * {@link JsonWriter}. */
+public class JsonValueWriter extends JsonWriter {
+	private @Null JsonValue root, current;
+	private @Null String name;
+	private @Null JsonReader reader;
+
+	/** Returns the value that was written.
+	 * @return May be null if nothing has been written. */
+	public @Null JsonValue getRoot () {
+		return root;
+	}
+
+	/** Discards the value that was written so this writer can be reused. */
+	public void reset () {
+		root = null;
+		current = null;
+		name = null;
+	}
+
+	public JsonValueWriter object () {
+		push(new JsonValue(ValueType.object));
+		return this;
+	}
+
+	public JsonValueWriter array () {
+		push(new JsonValue(ValueType.array));
+		return this;
+	}
+
+	public JsonValueWriter value (@Null Object value) {
+		if (value == null)
+			add(new JsonValue(ValueType.nullValue));
+		else if (value instanceof Float)
+			value((float)(Float)value);
+		else if (value instanceof Number) {
+			Number number = (Number)value;
+			long longValue = number.longValue();
+			double doubleValue = number.doubleValue();
+			if (doubleValue == longValue)
+				add(new JsonValue(longValue));
+			else
+				add(new JsonValue(doubleValue));
+		} else if (value instanceof Boolean)
+			add(new JsonValue((boolean)(Boolean)value));
+		else
+			add(new JsonValue(value.toString()));
+		return this;
+	}
+
+	public JsonValueWriter value (String value) {
+		add(new JsonValue(value));
+		return this;
+	}
+
+	public JsonValueWriter value (boolean value) {
+		add(new JsonValue(value));
+		return this;
+	}
+
+	public JsonValueWriter value (int value) {
+		add(new JsonValue(value));
+		return this;
+	}
+
+	public JsonValueWriter value (long value) {
+		add(new JsonValue(value));
+		return this;
+	}
+
+	public JsonValueWriter value (float value) {
+		String text = Float.toString(value);
+		add(new JsonValue(Double.parseDouble(text), text));
+		return this;
+	}
+
+	public JsonValueWriter value (double value) {
+		add(new JsonValue(value));
+		return this;
+	}
+
+	/** Parses the specified JSON string and adds the resulting value. */
+	public JsonValueWriter json (String json) {
+		if (reader == null) reader = new JsonReader();
+		JsonValue value = reader.parse(json);
+		if (value == null) throw new SerializationException("Invalid JSON: " + json);
+		value.name = null;
+		add(value);
+		return this;
+	}
+
+	public JsonValueWriter name (String name) {
+		if (current == null || !current.isObject()) throw new IllegalStateException("Current item must be an object.");
+		if (this.name != null) throw new IllegalStateException("Expected an object, array, or value since a name was set.");
+		this.name = name;
+		return this;
+	}
+
+	public JsonValueWriter object (String name) {
+		name(name);
+		return object();
+	}
+
+	public JsonValueWriter array (String name) {
+		name(name);
+		return array();
+	}
+
+	public JsonValueWriter set (String name, Object value) {
+		name(name);
+		return value(value);
+	}
+
+	public JsonValueWriter set (String name, String value) {
+		name(name);
+		return value(value);
+	}
+
+	public JsonValueWriter set (String name, boolean value) {
+		name(name);
+		return value(value);
+	}
+
+	public JsonValueWriter set (String name, int value) {
+		name(name);
+		return value(value);
+	}
+
+	public JsonValueWriter set (String name, long value) {
+		name(name);
+		return value(value);
+	}
+
+	public JsonValueWriter set (String name, float value) {
+		name(name);
+		return value(value);
+	}
+
+	public JsonValueWriter set (String name, double value) {
+		name(name);
+		return value(value);
+	}
+
+	public JsonValueWriter json (String name, String json) {
+		name(name);
+		return json(json);
+	}
+
+	public JsonValueWriter pop () {
+		if (name != null) throw new IllegalStateException("Expected an object, array, or value since a name was set.");
+		if (current == null) throw new IllegalStateException("No object or array to pop.");
+		current = current.parent;
+		return this;
+	}
+
+	private void push (JsonValue value) {
+		add(value);
+		current = value;
+	}
+
+	private void add (JsonValue value) {
+		if (current == null) {
+			if (root != null) throw new IllegalStateException("Only a single root value can be written.");
+			root = value;
+		} else if (current.isObject()) {
+			if (name == null) throw new IllegalStateException("Name must be set.");
+			current.addChild(name, value);
+			name = null;
+		} else
+			current.addChild(value);
+	}
+
+	/** Not supported, JSON text cannot be written to a {@link JsonValue}.
+	 * @throws UnsupportedOperationException */
+	public void write (char[] cbuf, int off, int len) {
+		throw new UnsupportedOperationException();
+	}
+
+	public void flush () {
+	}
+
+	/** Pops any objects or arrays that were not ended. The value that was written remains available. */
+	public void close () {
+		name = null;
+		current = null;
+	}
+}
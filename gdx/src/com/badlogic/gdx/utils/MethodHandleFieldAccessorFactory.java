@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+
+import com.badlogic.gdx.utils.Json.FieldAccessor;
+import com.badlogic.gdx.utils.Json.FieldAccessorFactory;
+import com.badlogic.gdx.utils.reflect.Field;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+
+/** Creates field accessors using method handles, which get and set primitive fields without boxing. This is the default for
+ * {@link Json} on desktop. The constructor throws an exception on Android, where method handles are slower than reflection, and
+ * fields that can't be accessed with a method handle fall back to reflection. */
+public class MethodHandleFieldAccessorFactory implements FieldAccessorFactory {
+	private final Lookup lookup = MethodHandles.lookup();
+
+	public MethodHandleFieldAccessorFactory () {
+		if (SharedLibraryLoader.os == Os.Android) throw new GdxRuntimeException("Method handles are not used on Android.");
+	}
+
+	public FieldAccessor newAccessor (Field field) {
+		try {
+			java.lang.reflect.Field javaField = field.getDeclaringClass().getDeclaredField(field.getName());
+			javaField.setAccessible(true);
+			return new MethodHandleFieldAccessor(field, lookup.unreflectGetter(javaField), lookup.unreflectSetter(javaField));
+		} catch (Throwable ex) { // Eg, a module which is not open to reflection.
+			return new FieldAccessor(field);
+		}
+	}
+
+	static class MethodHandleFieldAccessor extends FieldAccessor {
+		/** Typed (Object)Object and (Object,Object)void. */
+		private final MethodHandle getter, setter;
+		/** Typed with the field's primitive type, eg (Object)float and (Object,float)void, or null. */
+		private final @Null MethodHandle primitiveGetter, primitiveSetter;
+
+		MethodHandleFieldAccessor (Field field, MethodHandle getter, MethodHandle setter) {
+			super(field);
+			this.getter = getter.asType(MethodType.methodType(Object.class, Object.class));
+			this.setter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+			Class type = field.getType();
+			if (type.isPrimitive()) {
+				primitiveGetter = getter.asType(MethodType.methodType(type, Object.class));
+				primitiveSetter = setter.asType(MethodType.methodType(void.class, Object.class, type));
+			} else {
+				primitiveGetter = null;
+				primitiveSetter = null;
+			}
+		}
+
+		public Object get (Object object) throws ReflectionException {
+			try {
+				return (Object)getter.invokeExact(object);
+			} catch (Throwable ex) {
+				throw error(ex);
+			}
+		}
+
+		public void set (Object object, Object value) throws ReflectionException {
+			try {
+				setter.invokeExact(object, value);
+			} catch (Throwable ex) {
+				throw error(ex);
+			}
+		}
+
+		public boolean getBoolean (Object object) throws ReflectionException {
+			try {
+				return (boolean)primitiveGetter.invokeExact(object);
+			} catch (Throwable ex) {
+				throw error(ex);
+			}
+		}
+
+		public void setBoolean (Object object, boolean value) throws ReflectionException {
+			try {
+				primitiveSetter.invokeExact(object, value);
+			} catch (Throwable ex) {
+				throw error(ex);
+			}
+		}
+
+		public int getInt (Object object) throws ReflectionException {
+			try {
+				return (int)primitiveGetter.invokeExact(object);
+			} catch (Throwable ex) {
+				throw error(ex);
+			}
+		}
+
+		public void setInt (Object object, int value) throws ReflectionException {
+			try {
+				primitiveSetter.invokeExact(object, value);
+			} catch (Throwable ex) {
+				throw error(ex);
+			}
+		}
+
+		public long getLong (Object object) throws ReflectionException {
+			try {
+				return (long)primitiveGetter.invokeExact(object);
+			} catch (Throwable ex) {
+				throw error(ex);
+			}
+		}
+
+		public void setLong (Object object, long value) throws ReflectionException {
+			try {
+				primitiveSetter.invokeExact(object, value);
+			} catch (Throwable ex) {
+				throw error(ex);
+			}
+		}
+
+		public float getFloat (Object object) throws ReflectionException {
+			try {
+				return (float)primitiveGetter.invokeExact(object);
+			} catch (Throwable ex) {
+				throw error(ex);
+			}
+		}
+
+		public void setFloat (Object object, float value) throws ReflectionException {
+			try {
+				primitiveSetter.invokeExact(object, value);
+			} catch (Throwable ex) {
+				throw error(ex);
+			}
+		}
+
+		public double getDouble (Object object) throws ReflectionException {
+			try {
+				return (double)primitiveGetter.invokeExact(object);
+			} catch (Throwable ex) {
+				throw error(ex);
+			}
+		}
+
+		public void setDouble (Object object, double value) throws ReflectionException {
+			try {
+				primitiveSetter.invokeExact(object, value);
+			} catch (Throwable ex) {
+				throw error(ex);
+			}
+		}
+
+		private ReflectionException error (Throwable ex) {
+			return new ReflectionException("Error accessing field: " + field.getName(), ex);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** A bounded cache of short strings, used by parsers to return the same string instance for names that occur many times, such
+ * as JSON object field names and XML element and attribute names. A lookup hashes and compares the chars or UTF-8 bytes
+ * directly, so no string is created when the name is already in the cache. Returning the same instance also makes later map
+ * lookups faster, since the string's hash code is computed once and equals can succeed by identity.
+ * <p>
+ * The cache has a fixed number of entries. A name replaces whatever name was in its entry, so the memory used is bounded no
+ * matter how many distinct names are seen. Names longer than the maximum length are not cached.
+ * <p>
+ * A cache can be shared by multiple parsers, but is not thread safe.
+ * @see JsonReader#setNameCache(NameCache)
+ * @see JsonSkimmer#setNameCache(NameCache)
+ * @see XmlReader#setNameCache(NameCache) */
+public class NameCache {
+	private final String[] strings;
+	private final int[] hashes;
+	private final int mask, maxLength;
+	private final CharArray buffer = new CharArray(32);
+
+	/** Creates a cache with 1024 entries for names up to 64 characters. */
+	public NameCache () {
+		this(1024, 64);
+	}
+
+	/** @param capacity The number of entries, rounded up to the next power of two.
+	 * @param maxLength The longest name that is cached. */
+	public NameCache (int capacity, int maxLength) {
+		if (capacity < 1) throw new IllegalArgumentException("capacity must be > 0: " + capacity);
+		capacity = MathUtils.nextPowerOfTwo(capacity);
+		strings = new String[capacity];
+		hashes = new int[capacity];
+		mask = capacity - 1;
+		this.maxLength = maxLength;
+	}
+
+	/** Returns a string for the chars, which is the same instance as previously returned for equal chars if it is still in the
+	 * cache. */
+	public String get (char[] chars, int start, int length) {
+		if (length > maxLength) return new String(chars, start, length);
+		int hash = 0;
+		for (int i = start, end = start + length; i < end; i++)
+			hash = 31 * hash + chars[i];
+		int index = (hash ^ hash >>> 16) & mask;
+		String string = strings[index];
+		if (string != null && hashes[index] == hash && string.length() == length) {
+			for (int i = start, s = 0;; i++, s++) {
+				if (s == length) return string;
+				if (chars[i] != string.charAt(s)) break;
+			}
+		}
+		string = new String(chars, start, length);
+		strings[index] = string;
+		hashes[index] = hash;
+		return string;
+	}
+
+	/** Returns a string for the UTF-8 bytes from start to end, which is the same instance as previously returned for equal bytes
+	 * if it is still in the cache. Non-ASCII names are first decoded to a scratch buffer. */
+	public String get (ByteBuffer bytes, int start, int end) {
+		int length = end - start;
+		if (length > maxLength) return JsonReader.utf8(bytes, start, end, buffer);
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			byte b = bytes.get(i);
+			if (b < 0) { // Non-ASCII.
+				buffer.size = 0;
+				JsonReader.decodeUtf8(bytes, start, end, buffer);
+				return get(buffer.items, 0, buffer.size);
+			}
+			hash = 31 * hash + b;
+		}
+		int index = (hash ^ hash >>> 16) & mask;
+		String string = strings[index];
+		if (string != null && hashes[index] == hash && string.length() == length) {
+			for (int i = start, s = 0;; i++, s++) {
+				if (s == length) return string;
+				if (bytes.get(i) != string.charAt(s)) break;
+			}
+		}
+		string = JsonReader.utf8(bytes, start, end, buffer);
+		strings[index] = string;
+		hashes[index] = hash;
+		return string;
+	}
+
+	/** Removes all names from the cache. */
+	public void clear () {
+		Arrays.fill(strings, null);
+	}
+}
@@ -0,0 +1,521 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import static com.badlogic.gdx.utils.ObjectSet.tableSize;
+
+/** An unordered map where the keys and values are unboxed longs, stored outside the Java heap. This is useful for tables with
+ * tens of millions of entries, which would otherwise put pressure on the garbage collector and the heap size. No allocation is
+ * done except when growing the table size.
+ * <p>
+ * The table is a direct buffer allocated with {@link BufferUtils#newByteBuffer(int)}, so it counts toward the JVM's direct
+ * memory limit (-XX:MaxDirectMemorySize) and is released when the buffer is garbage collected after {@link #dispose()}. A map
+ * can be written to a file with {@link #save(FileHandle)} and loaded with {@link #load(FileHandle, boolean)}, which memory maps
+ * the file so even a very large table is ready without reading it. The file uses the native byte order.
+ * <p>
+ * Keys and values are interleaved so a probe reads both from the same cache line. The table can hold at most 2^26 slots (1GB).
+ * Otherwise this class behaves like {@link LongMap}: it uses linear probing with the backward shift algorithm for removal and
+ * Fibonacci hashing. */
+public class OffHeapLongLongMap implements Iterable<OffHeapLongLongMap.Entry>, Disposable {
+	static private final int MAGIC = 0x4744584C, VERSION = 1, HEADER_BYTES = 32, SLOT_BYTES = 16, MAX_TABLE_SIZE = 1 << 26;
+
+	public int size;
+
+	/** Interleaved keys and values, the key for slot i is at i * 2. */
+	LongBuffer table;
+	int tableSize;
+	/** The table's bytes. */
+	private ByteBuffer buffer;
+
+	long zeroValue;
+	boolean hasZeroValue;
+
+	private final float loadFactor;
+	private int threshold;
+
+	/** See {@link LongMap#shift}. */
+	protected int shift;
+
+	/** See {@link LongMap#mask}. */
+	protected int mask;
+
+	private transient Entries entries1, entries2;
+
+	/** Creates a new map with an initial capacity of 51 and a load factor of 0.8. */
+	public OffHeapLongLongMap () {
+		this(51, 0.8f);
+	}
+
+	/** Creates a new map with a load factor of 0.8.
+	 * @param initialCapacity The backing table size is initialCapacity / loadFactor, increased to the next power of two. */
+	public OffHeapLongLongMap (int initialCapacity) {
+		this(initialCapacity, 0.8f);
+	}
+
+	/** Creates a new map with the specified initial capacity and load factor. This map will hold initialCapacity items before
+	 * growing the backing table.
+	 * @param initialCapacity The backing table size is initialCapacity / loadFactor, increased to the next power of two. */
+	public OffHeapLongLongMap (int initialCapacity, float loadFactor) {
+		if (loadFactor <= 0f || loadFactor >= 1f)
+			throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+		this.loadFactor = loadFactor;
+		allocate(checkTableSize(tableSize(initialCapacity, loadFactor), initialCapacity));
+	}
+
+	private OffHeapLongLongMap (ByteBuffer mapped, float loadFactor, int tableSize) {
+		this.loadFactor = loadFactor;
+		mapped.position(HEADER_BYTES);
+		setTable(mapped.slice().order(ByteOrder.nativeOrder()), tableSize);
+	}
+
+	/** Loads a map written by {@link #save(FileHandle)} by memory mapping the file. Pages of the table are read lazily by the
+	 * operating system as they are accessed.
+	 * @param writable If false, the map is read only and modifying it throws {@link java.nio.ReadOnlyBufferException}. If true,
+	 *           the mapping is copy-on-write: the map can be modified but changes are never written back to the file. Growing
+	 *           the map copies the table into a new direct buffer.
+	 * @throws GdxRuntimeException if the file could not be mapped or was not written by this class. */
+	static public OffHeapLongLongMap load (FileHandle file, boolean writable) {
+		ByteBuffer buffer = file.map(writable ? MapMode.PRIVATE : MapMode.READ_ONLY);
+		if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC)
+			throw new GdxRuntimeException("Not an OffHeapLongLongMap file or the byte order differs: " + file);
+		if (buffer.getInt(4) != VERSION) throw new GdxRuntimeException("Unsupported OffHeapLongLongMap version: " + buffer.getInt(4));
+		int tableSize = buffer.getInt(12);
+		if (tableSize <= 0 || tableSize > MAX_TABLE_SIZE || (tableSize & tableSize - 1) != 0
+			|| buffer.capacity() < HEADER_BYTES + (long)tableSize * SLOT_BYTES)
+			throw new GdxRuntimeException("OffHeapLongLongMap file is truncated or corrupt: " + file);
+		float loadFactor = Float.intBitsToFloat(buffer.getInt(16));
+		if (!(loadFactor > 0f && loadFactor < 1f)) throw new GdxRuntimeException("OffHeapLongLongMap file is corrupt: " + file);
+		OffHeapLongLongMap map = new OffHeapLongLongMap(buffer, loadFactor, tableSize);
+		map.size = buffer.getInt(8);
+		map.hasZeroValue = buffer.getInt(20) != 0;
+		map.zeroValue = buffer.getLong(24);
+		return map;
+	}
+
+	/** Writes this map to the specified file so it can be loaded with {@link #load(FileHandle, boolean)}.
+	 * @throws GdxRuntimeException if the file could not be written. */
+	public void save (FileHandle file) {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.nativeOrder());
+		header.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(tableSize);
+		header.putInt(Float.floatToIntBits(loadFactor)).putInt(hasZeroValue ? 1 : 0).putLong(zeroValue);
+		header.clear();
+		OutputStream output = file.write(false);
+		try {
+			WritableByteChannel channel = Channels.newChannel(output);
+			while (header.hasRemaining())
+				channel.write(header);
+			ByteBuffer bytes = buffer.duplicate();
+			bytes.clear();
+			bytes.limit(tableSize * SLOT_BYTES);
+			while (bytes.hasRemaining())
+				channel.write(bytes);
+		} catch (Exception ex) {
+			throw new GdxRuntimeException("Error saving map: " + file, ex);
+		} finally {
+			StreamUtils.closeQuietly(output);
+		}
+	}
+
+	static private int checkTableSize (int tableSize, int capacity) {
+		if (tableSize > MAX_TABLE_SIZE) throw new IllegalArgumentException("The required capacity is too large: " + capacity);
+		return tableSize;
+	}
+
+	private void allocate (int newSize) {
+		setTable(BufferUtils.newByteBuffer(newSize * SLOT_BYTES), newSize);
+	}
+
+	private void setTable (ByteBuffer buffer, int newSize) {
+		this.buffer = buffer;
+		table = buffer.asLongBuffer();
+		tableSize = newSize;
+		threshold = (int)(newSize * loadFactor);
+		mask = newSize - 1;
+		shift = Long.numberOfLeadingZeros(mask);
+	}
+
+	static private void zero (ByteBuffer buffer, int bytes) {
+		for (int i = 0; i < bytes; i += 8)
+			buffer.putLong(i, 0);
+	}
+
+	/** Returns an index >= 0 and <= {@link #mask} for the specified {@code item}. See {@link LongMap#place(long)}. */
+	protected int place (long item) {
+		return (int)((item ^ item >>> 32) * 0x9E3779B97F4A7C15L >>> shift);
+	}
+
+	/** Returns the index of the key if already present, else -(index + 1) for the next empty index. */
+	private int locateKey (long key) {
+		LongBuffer table = this.table;
+		for (int i = place(key);; i = i + 1 & mask) {
+			long other = table.get(i << 1);
+			if (other == 0) return -(i + 1); // Empty space is available.
+			if (other == key) return i; // Same key was found.
+		}
+	}
+
+	public void put (long key, long value) {
+		if (key == 0) {
+			zeroValue = value;
+			if (!hasZeroValue) {
+				hasZeroValue = true;
+				size++;
+			}
+			return;
+		}
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			table.put((i << 1) + 1, value);
+			return;
+		}
+		i = -(i + 1) << 1; // Empty space was found.
+		table.put(i, key);
+		table.put(i + 1, value);
+		if (++size >= threshold) resize(tableSize << 1);
+	}
+
+	/** Returns the old value associated with the specified key, or the specified default value. */
+	public long put (long key, long value, long defaultValue) {
+		if (key == 0) {
+			long oldValue = zeroValue;
+			zeroValue = value;
+			if (!hasZeroValue) {
+				hasZeroValue = true;
+				size++;
+				return defaultValue;
+			}
+			return oldValue;
+		}
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			i = (i << 1) + 1;
+			long oldValue = table.get(i);
+			table.put(i, value);
+			return oldValue;
+		}
+		i = -(i + 1) << 1; // Empty space was found.
+		table.put(i, key);
+		table.put(i + 1, value);
+		if (++size >= threshold) resize(tableSize << 1);
+		return defaultValue;
+	}
+
+	/** Skips checks for existing keys, doesn't increment size, doesn't need to handle key 0. */
+	private void putResize (long key, long value) {
+		LongBuffer table = this.table;
+		for (int i = place(key);; i = (i + 1) & mask) {
+			int index = i << 1;
+			if (table.get(index) == 0) {
+				table.put(index, key);
+				table.put(index + 1, value);
+				return;
+			}
+		}
+	}
+
+	public long get (long key, long defaultValue) {
+		if (key == 0) return hasZeroValue ? zeroValue : defaultValue;
+		int i = locateKey(key);
+		return i >= 0 ? table.get((i << 1) + 1) : defaultValue;
+	}
+
+	/** Returns the key's current value and increments the stored value. If the key is not in the map, defaultValue + increment is
+	 * put into the map and defaultValue is returned. */
+	public long getAndIncrement (long key, long defaultValue, long increment) {
+		if (key == 0) {
+			if (!hasZeroValue) {
+				hasZeroValue = true;
+				zeroValue = defaultValue + increment;
+				size++;
+				return defaultValue;
+			}
+			long oldValue = zeroValue;
+			zeroValue += increment;
+			return oldValue;
+		}
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			i = (i << 1) + 1;
+			long oldValue = table.get(i);
+			table.put(i, oldValue + increment);
+			return oldValue;
+		}
+		i = -(i + 1) << 1; // Empty space was found.
+		table.put(i, key);
+		table.put(i + 1, defaultValue + increment);
+		if (++size >= threshold) resize(tableSize << 1);
+		return defaultValue;
+	}
+
+	/** Returns the value for the removed key, or the default value if the key is not in the map. */
+	public long remove (long key, long defaultValue) {
+		if (key == 0) {
+			if (!hasZeroValue) return defaultValue;
+			hasZeroValue = false;
+			size--;
+			return zeroValue;
+		}
+
+		int i = locateKey(key);
+		if (i < 0) return defaultValue;
+		long oldValue = table.get((i << 1) + 1);
+		removeIndex(i);
+		size--;
+		return oldValue;
+	}
+
+	/** Removes the entry at the specified slot using the backward shift algorithm. Returns the slot that was emptied. */
+	int removeIndex (int i) {
+		LongBuffer table = this.table;
+		int mask = this.mask, next = i + 1 & mask;
+		long key;
+		while ((key = table.get(next << 1)) != 0) {
+			int placement = place(key);
+			if ((next - placement & mask) > (i - placement & mask)) {
+				table.put(i << 1, key);
+				table.put((i << 1) + 1, table.get((next << 1) + 1));
+				i = next;
+			}
+			next = next + 1 & mask;
+		}
+		table.put(i << 1, 0);
+		return i;
+	}
+
+	/** Returns true if the map has one or more items. */
+	public boolean notEmpty () {
+		return size > 0;
+	}
+
+	/** Returns true if the map is empty. */
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/** Reduces the size of the backing table to be the specified capacity / loadFactor, or less. If the capacity is already less,
+	 * nothing is done. If the map contains more items than the specified capacity, the next highest power of two capacity is used
+	 * instead. */
+	public void shrink (int maximumCapacity) {
+		if (maximumCapacity < 0) throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);
+		int tableSize = tableSize(Math.max(maximumCapacity, size), loadFactor);
+		if (this.tableSize > tableSize) resize(tableSize);
+	}
+
+	public void clear () {
+		if (size == 0) return;
+		zero(buffer, tableSize * SLOT_BYTES);
+		size = 0;
+		hasZeroValue = false;
+	}
+
+	/** Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may
+	 * be an expensive operation. */
+	public boolean containsValue (long value) {
+		if (hasZeroValue && zeroValue == value) return true;
+		LongBuffer table = this.table;
+		for (int i = (tableSize << 1) - 2; i >= 0; i -= 2)
+			if (table.get(i) != 0 && table.get(i + 1) == value) return true;
+		return false;
+	}
+
+	public boolean containsKey (long key) {
+		if (key == 0) return hasZeroValue;
+		return locateKey(key) >= 0;
+	}
+
+	/** Returns the key for the specified value, or notFound if it is not in the map. Note this traverses the entire map and
+	 * compares every value, which may be an expensive operation. */
+	public long findKey (long value, long notFound) {
+		if (hasZeroValue && zeroValue == value) return 0;
+		LongBuffer table = this.table;
+		for (int i = (tableSize << 1) - 2; i >= 0; i -= 2) {
+			long key = table.get(i);
+			if (key != 0 && table.get(i + 1) == value) return key;
+		}
+		return notFound;
+	}
+
+	/** Increases the size of the backing table to accommodate the specified number of additional items / loadFactor. Useful
+	 * before adding many items to avoid multiple backing table resizes. */
+	public void ensureCapacity (int additionalCapacity) {
+		int tableSize = tableSize(size + additionalCapacity, loadFactor);
+		if (this.tableSize < tableSize) resize(checkTableSize(tableSize, size + additionalCapacity));
+	}
+
+	private void resize (int newSize) {
+		checkTableSize(newSize, size);
+		int oldSize = tableSize;
+		LongBuffer oldTable = table;
+
+		allocate(newSize);
+
+		if (size > 0) {
+			for (int i = 0, n = oldSize << 1; i < n; i += 2) {
+				long key = oldTable.get(i);
+				if (key != 0) putResize(key, oldTable.get(i + 1));
+			}
+		}
+	}
+
+	/** Releases this map's reference to the table so its memory can be reclaimed once the map is no longer reachable. For a
+	 * map from {@link #load(FileHandle, boolean)}, the file stays mapped until the buffer is garbage collected, as Java has no
+	 * way to unmap it explicitly. The map must not be used afterward. */
+	public void dispose () {
+		if (buffer == null) return;
+		buffer = null;
+		table = null;
+		size = 0;
+		hasZeroValue = false;
+	}
+
+	public String toString () {
+		if (size == 0) return "[]";
+		java.lang.StringBuilder buffer = new java.lang.StringBuilder(32);
+		buffer.append('[');
+		boolean first = true;
+		for (Entry entry : new Entries(this)) {
+			if (!first) buffer.append(", ");
+			first = false;
+			buffer.append(entry.key);
+			buffer.append('=');
+			buffer.append(entry.value);
+		}
+		buffer.append(']');
+		return buffer.toString();
+	}
+
+	public Iterator<Entry> iterator () {
+		return entries();
+	}
+
+	/** Returns an iterator for the entries in the map. Remove is supported.
+	 * <p>
+	 * If {@link Collections#allocateIterators} is false, the same iterator instance is returned each time this method is called.
+	 * Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Entries entries () {
+		if (Collections.allocateIterators) return new Entries(this);
+		if (entries1 == null) {
+			entries1 = new Entries(this);
+			entries2 = new Entries(this);
+		}
+		if (!entries1.valid) {
+			entries1.reset();
+			entries1.valid = true;
+			entries2.valid = false;
+			return entries1;
+		}
+		entries2.reset();
+		entries2.valid = true;
+		entries1.valid = false;
+		return entries2;
+	}
+
+	static public class Entry {
+		public long key;
+		public long value;
+
+		public String toString () {
+			return key + "=" + value;
+		}
+	}
+
+	static public class Entries implements Iterable<Entry>, Iterator<Entry> {
+		static private final int INDEX_ILLEGAL = -2, INDEX_ZERO = -1;
+
+		public boolean hasNext;
+
+		private final OffHeapLongLongMap map;
+		private final Entry entry = new Entry();
+		int nextIndex, currentIndex;
+		boolean valid = true;
+
+		public Entries (OffHeapLongLongMap map) {
+			this.map = map;
+			reset();
+		}
+
+		public void reset () {
+			currentIndex = INDEX_ILLEGAL;
+			nextIndex = INDEX_ZERO;
+			if (map.hasZeroValue)
+				hasNext = true;
+			else
+				findNextIndex();
+		}
+
+		void findNextIndex () {
+			LongBuffer table = map.table;
+			for (int n = map.tableSize; ++nextIndex < n;) {
+				if (table.get(nextIndex << 1) != 0) {
+					hasNext = true;
+					return;
+				}
+			}
+			hasNext = false;
+		}
+
+		/** Note the same entry instance is returned each time this method is called. */
+		public Entry next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			if (nextIndex == INDEX_ZERO) {
+				entry.key = 0;
+				entry.value = map.zeroValue;
+			} else {
+				entry.key = map.table.get(nextIndex << 1);
+				entry.value = map.table.get((nextIndex << 1) + 1);
+			}
+			currentIndex = nextIndex;
+			findNextIndex();
+			return entry;
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public void remove () {
+			int i = currentIndex;
+			if (i == INDEX_ZERO && map.hasZeroValue) {
+				map.hasZeroValue = false;
+			} else if (i < 0) {
+				throw new IllegalStateException("next must be called before remove.");
+			} else {
+				if (map.removeIndex(i) != currentIndex) --nextIndex;
+			}
+			currentIndex = INDEX_ILLEGAL;
+			map.size--;
+		}
+
+		public Iterator<Entry> iterator () {
+			return this;
+		}
+	}
+}
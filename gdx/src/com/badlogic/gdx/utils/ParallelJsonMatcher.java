@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonMatcher.Processor;
+
+/** Matches {@link JsonMatcher} patterns using multiple threads, for large UTF-8 JSON that has an array at the root, such as logs
+ * with an entry per element. The calling thread scans the JSON for the boundaries between the array elements, which is much
+ * faster than parsing, and splits the array into chunks of about {@link #chunkSize} bytes. Each chunk is parsed by its own
+ * matcher on a fork-join pool thread while the next chunks are scanned.
+ * <p>
+ * Each chunk is parsed as an array containing some of the elements, so patterns match the same as for the whole array. For
+ * example, <code>*@/(id,name)</code> processes the id and name of each element. Captures processed at the end of parsing (without
+ * {@code @}) are processed at the end of each chunk and captures collected with {@code []} are collected per chunk.
+ * <p>
+ * When {@link #ordered} is true, captured values are copied and the processors are called on the calling thread in the order of
+ * the JSON. Otherwise processors are called on the pool threads as soon as values are captured, so they must be thread safe and
+ * must not keep references to the values, which are reused (see {@link JsonMatcher}).
+ * <p>
+ * If the root is not an array, the JSON is smaller than the chunk size, or the pool has a parallelism of 1, the JSON is parsed by
+ * a single matcher on the calling thread. The scan expects standard JSON: comments must not contain quotes or brackets. Multiple
+ * threads must not use the same instance at the same time. */
+public class ParallelJsonMatcher {
+	static private final int block = 64 * 1024;
+
+	private final ForkJoinPool pool;
+	private final Array<String> patterns = new Array<>();
+	private final Array<Processor> processors = new Array<>();
+	private @Null Processor processor;
+	private final Array<Chunk> freeChunks = new Array<>();
+	private final Queue<Chunk> pending = new Queue<>();
+
+	/** The approximate number of bytes of JSON parsed by each task. Default is 1MB. */
+	public int chunkSize = 1024 * 1024;
+	/** When true, processors are called on the calling thread in the order of the JSON, else they are called on the pool threads
+	 * as soon as values are captured. Default is true. */
+	public boolean ordered = true;
+
+	/** Creates a matcher that uses the common fork-join pool. */
+	public ParallelJsonMatcher (String... patterns) {
+		this(ForkJoinPool.commonPool(), patterns);
+	}
+
+	/** Adds all of the specified patterns. */
+	public ParallelJsonMatcher (ForkJoinPool pool, String... patterns) {
+		this.pool = pool;
+		for (String pattern : patterns)
+			addPattern(pattern);
+	}
+
+	/** This processor is invoked for all pattern matches, after per pattern processors. */
+	public void setProcessor (@Null Processor processor) {
+		this.processor = processor;
+	}
+
+	/** Adds a pattern for value extraction, see {@link JsonMatcher}.
+	 * @return The new pattern's index. */
+	public int addPattern (String pattern) {
+		return addPattern(pattern, null);
+	}
+
+	/** Adds a pattern for value extraction, see {@link JsonMatcher}. The processor is invoked only for this pattern's matches.
+	 * @return The new pattern's index. */
+	public int addPattern (String pattern, @Null Processor processor) {
+		if (pending.notEmpty()) throw new IllegalStateException();
+		new JsonMatcher().addPattern(pattern); // Validate.
+		patterns.add(pattern);
+		processors.add(processor);
+		freeChunks.clear();
+		return patterns.size - 1;
+	}
+
+	/** Parses UTF-8 JSON from the bytes, see {@link #parse(ByteBuffer)}. */
+	public void parse (byte[] data, int offset, int length) {
+		parse(ByteBuffer.wrap(data, offset, length));
+	}
+
+	/** Parses the file as UTF-8 JSON from a memory mapped buffer, see {@link FileHandle#map()}. */
+	public void parse (FileHandle file) {
+		parse(file.map());
+	}
+
+	/** Parses UTF-8 JSON from the buffer's position to its limit, without changing the position.
+	 * @throws SerializationException if the JSON is invalid. */
+	public void parse (ByteBuffer data) {
+		if (patterns.size == 0) throw new IllegalStateException("At least one pattern is required.");
+		if (pending.notEmpty()) throw new IllegalStateException();
+		int start = arrayStart(data);
+		if (start == -1 || data.limit() - start <= chunkSize || pool.getParallelism() < 2) {
+			Chunk chunk = obtain();
+			chunk.matcher.values = null;
+			try {
+				chunk.matcher.parse(data);
+			} finally {
+				freeChunks.add(chunk);
+			}
+			return;
+		}
+		ByteBuffer source = data.duplicate();
+		int maxPending = pool.getParallelism() * 2;
+		try {
+			for (int position = start; position != -1;) {
+				Chunk chunk = obtain();
+				position = scan(source, position, chunk);
+				chunk.matcher.values = ordered ? chunk.values : null;
+				chunk.reinitialize();
+				pool.execute(chunk);
+				pending.addLast(chunk);
+				while (pending.notEmpty() && (pending.size >= maxPending || pending.first().isDone()))
+					complete(pending.removeFirst());
+			}
+			while (pending.notEmpty())
+				complete(pending.removeFirst());
+		} finally {
+			// After a failure, wait for the remaining tasks so processors are not called after this method returns.
+			while (pending.notEmpty())
+				pending.removeFirst().quietlyJoin();
+		}
+	}
+
+	/** Returns the position after the opening bracket of the root array, or -1 if the root is not an array. */
+	private int arrayStart (ByteBuffer data) {
+		int p = data.position(), limit = data.limit();
+		if (limit - p >= 3 && data.get(p) == (byte)0xef && data.get(p + 1) == (byte)0xbb && data.get(p + 2) == (byte)0xbf)
+			p += 3; // Skip the byte order mark.
+		for (; p < limit; p++) {
+			switch (data.get(p)) {
+			case ' ':
+			case '\t':
+			case '\r':
+			case '\n':
+				continue;
+			case '[':
+				return p + 1;
+			default:
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	/** Copies array elements from the position to the chunk, until the chunk size is reached and then to the end of the element.
+	 * The chunk is enclosed in brackets so it can be parsed as an array.
+	 * @return The position of the next element, or -1 if the end of the root array was reached. */
+	private int scan (ByteBuffer source, int position, Chunk chunk) {
+		byte[] bytes = chunk.bytes;
+		bytes[0] = '[';
+		source.position(position);
+		int i = 1, n = 1, depth = 1, min = chunkSize;
+		boolean string = false, escape = false;
+		while (true) {
+			int count = Math.min(block, source.remaining());
+			if (count == 0) throw new SerializationException("Unexpected end of JSON, the root array is not closed.");
+			if (n + count > bytes.length) {
+				byte[] newBytes = new byte[Math.max(bytes.length << 1, n + count)];
+				System.arraycopy(bytes, 0, newBytes, 0, n);
+				chunk.bytes = bytes = newBytes;
+			}
+			source.get(bytes, n, count);
+			n += count;
+			for (; i < n; i++) {
+				byte b = bytes[i];
+				if (string) {
+					if (escape)
+						escape = false;
+					else if (b == '\\')
+						escape = true;
+					else if (b == '"') //
+						string = false;
+					continue;
+				}
+				switch (b) {
+				case '"':
+					string = true;
+					break;
+				case '{':
+				case '[':
+					depth++;
+					break;
+				case '}':
+				case ']':
+					if (--depth == 0) {
+						chunk.length = i + 1;
+						return -1;
+					}
+					break;
+				case ',':
+					if (depth == 1 && i > min) {
+						bytes[i] = ']';
+						chunk.length = i + 1;
+						return position + i;
+					}
+				}
+			}
+		}
+	}
+
+	private void complete (Chunk chunk) {
+		chunk.join();
+		Array<JsonValue> values = chunk.values;
+		if (values.notEmpty()) {
+			int[] indices = chunk.indices.items;
+			for (int i = 0, n = values.size; i < n; i++)
+				process(indices[i], values.get(i));
+			values.clear();
+			chunk.indices.clear();
+		}
+		freeChunks.add(chunk);
+	}
+
+	void process (int patternIndex, JsonValue value) {
+		Processor processor = processors.get(patternIndex);
+		if (processor != null) processor.process(value);
+		if (this.processor != null) this.processor.process(value);
+	}
+
+	private Chunk obtain () {
+		if (freeChunks.notEmpty()) return freeChunks.pop();
+		Chunk chunk = new Chunk(new Worker(), new byte[chunkSize + block]);
+		chunk.matcher.indices = chunk.indices;
+		for (String pattern : patterns)
+			chunk.matcher.addPattern(pattern);
+		return chunk;
+	}
+
+	/** Parses a chunk of the array on a pool thread. */
+	static private class Chunk extends RecursiveAction {
+		private static final long serialVersionUID = -7984060494143693888L;
+
+		final Worker matcher;
+		final Array<JsonValue> values = new Array<>();
+		final IntArray indices = new IntArray();
+		byte[] bytes;
+		int length;
+
+		Chunk (Worker matcher, byte[] bytes) {
+			this.matcher = matcher;
+			this.bytes = bytes;
+		}
+
+		protected void compute () {
+			matcher.parse(bytes, 0, length);
+		}
+	}
+
+	/** Copies captured values so they can be processed in order, or processes them as they are captured. */
+	private class Worker extends JsonMatcher {
+		/** Null when values are processed as they are captured. */
+		@Null Array<JsonValue> values;
+		IntArray indices;
+
+		protected void process (JsonValue value) {
+			if (values != null) {
+				values.add(new JsonValue(value));
+				indices.add(pattern());
+			} else
+				ParallelJsonMatcher.this.process(pattern(), value);
+		}
+	}
+}
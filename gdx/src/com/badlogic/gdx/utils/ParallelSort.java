@@ -0,0 +1,348 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.badlogic.gdx.utils.Sort.FloatKey;
+import com.badlogic.gdx.utils.Sort.IntKey;
+
+/** Sorts large arrays using multiple threads. The array is split into ranges that are radix sorted in parallel, then the ranges
+ * are merged in parallel. Arrays smaller than {@link #threshold} are sorted on the calling thread using {@link Sort}, so this
+ * class can be used for arrays of any size. Arrays are also sorted on the calling thread when the pool has a parallelism of 1.
+ * <p>
+ * Sorting requires working memory and this class allows that memory to be reused to avoid allocation. Multiple threads must not
+ * use the same instance at the same time. */
+public class ParallelSort {
+	static private final int mergeGrain = 8192;
+	/** Counts for the radix sorts, reused by each thread that sorts a range. */
+	static private final ThreadLocal<int[]> counts = new ThreadLocal<int[]>() {
+		protected int[] initialValue () {
+			return new int[2048];
+		}
+	};
+
+	private final ForkJoinPool pool;
+	private final Sort sort = new Sort();
+	private int[] intBuffer, intBuffer2;
+	private long[] longBuffer, longBuffer2;
+	private Object[] objectBuffer;
+
+	/** Arrays with fewer items than this are sorted on the calling thread. Default is 65536. */
+	public int threshold = 65536;
+
+	/** Creates a parallel sort that uses the common fork-join pool. */
+	public ParallelSort () {
+		this(ForkJoinPool.commonPool());
+	}
+
+	public ParallelSort (ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/** Sorts the items in ascending order.
+	 * @see Sort#radixSort(IntArray) */
+	public void sort (IntArray a) {
+		int n = a.size;
+		if (sequential(n)) {
+			sort.radixSort(a);
+			return;
+		}
+		pool.invoke(new IntSortTask(a.items, intBuffer(n), 0, n, grain(n), false));
+	}
+
+	/** Sorts the items in ascending order.
+	 * @see Sort#radixSort(FloatArray) */
+	public void sort (FloatArray a) {
+		int n = a.size;
+		if (sequential(n)) {
+			sort.radixSort(a);
+			return;
+		}
+		float[] items = a.items;
+		int[] keys = intBuffer(n);
+		for (int i = 0; i < n; i++)
+			keys[i] = Sort.floatKey(items[i]);
+		pool.invoke(new IntSortTask(keys, intBuffer2(n), 0, n, grain(n), false));
+		for (int i = 0; i < n; i++)
+			items[i] = Sort.floatValue(keys[i]);
+	}
+
+	/** Sorts the items in ascending order.
+	 * @see Sort#radixSort(LongArray) */
+	public void sort (LongArray a) {
+		int n = a.size;
+		if (sequential(n)) {
+			sort.radixSort(a);
+			return;
+		}
+		pool.invoke(new LongSortTask(a.items, longBuffer(n), 0, n, 0, grain(n), false));
+	}
+
+	/** Sorts the items in ascending order of the float key returned for each item. The key is retrieved once per item, on the
+	 * calling thread. The sort is stable.
+	 * @see Sort#sortByFloatKey(Array, FloatKey) */
+	public <T> void sortByFloatKey (Array<T> a, FloatKey<? super T> key) {
+		int n = a.size;
+		if (sequential(n)) {
+			sort.sortByFloatKey(a, key);
+			return;
+		}
+		T[] items = a.items;
+		long[] keys = longBuffer(n);
+		for (int i = 0; i < n; i++)
+			keys[i] = (long)Sort.floatKey(key.get(items[i])) << 32 | i;
+		sortByKey(items, keys, n);
+	}
+
+	/** Sorts the items in ascending order of the int key returned for each item. The key is retrieved once per item, on the
+	 * calling thread. The sort is stable.
+	 * @see Sort#sortByIntKey(Array, IntKey) */
+	public <T> void sortByIntKey (Array<T> a, IntKey<? super T> key) {
+		int n = a.size;
+		if (sequential(n)) {
+			sort.sortByIntKey(a, key);
+			return;
+		}
+		T[] items = a.items;
+		long[] keys = longBuffer(n);
+		for (int i = 0; i < n; i++)
+			keys[i] = (long)key.get(items[i]) << 32 | i;
+		sortByKey(items, keys, n);
+	}
+
+	private void sortByKey (Object[] items, long[] keys, int n) {
+		// The indices make the keys unique, so the merge is stable.
+		pool.invoke(new LongSortTask(keys, longBuffer2(n), 0, n, 4, grain(n), false));
+		if (objectBuffer == null || objectBuffer.length < n) objectBuffer = new Object[n];
+		Sort.permute(items, keys, 0, n, objectBuffer);
+	}
+
+	/** Returns true if the items should be sorted on the calling thread, which is faster for small arrays or a pool that has
+	 * only one thread. */
+	private boolean sequential (int n) {
+		return n < threshold || pool.getParallelism() < 2;
+	}
+
+	/** Returns the number of items each task sorts without splitting, so there are a few tasks per thread. */
+	private int grain (int n) {
+		return Math.max(n / (pool.getParallelism() << 2), mergeGrain);
+	}
+
+	private int[] intBuffer (int size) {
+		if (intBuffer == null || intBuffer.length < size) intBuffer = new int[size];
+		return intBuffer;
+	}
+
+	private int[] intBuffer2 (int size) {
+		if (intBuffer2 == null || intBuffer2.length < size) intBuffer2 = new int[size];
+		return intBuffer2;
+	}
+
+	private long[] longBuffer (int size) {
+		if (longBuffer == null || longBuffer.length < size) longBuffer = new long[size];
+		return longBuffer;
+	}
+
+	private long[] longBuffer2 (int size) {
+		if (longBuffer2 == null || longBuffer2.length < size) longBuffer2 = new long[size];
+		return longBuffer2;
+	}
+
+	/** Sorts a range of a, leaving the result in a or b. Both arrays use the same indices. */
+	static private class IntSortTask extends RecursiveAction {
+		private static final long serialVersionUID = -8235332711843855211L;
+
+		final int[] a, b;
+		final int lo, hi, grain;
+		final boolean toB;
+
+		IntSortTask (int[] a, int[] b, int lo, int hi, int grain, boolean toB) {
+			this.a = a;
+			this.b = b;
+			this.lo = lo;
+			this.hi = hi;
+			this.grain = grain;
+			this.toB = toB;
+		}
+
+		protected void compute () {
+			if (hi - lo <= grain) {
+				Sort.radixSort(a, b, lo, hi, lo, counts.get());
+				if (toB) System.arraycopy(a, lo, b, lo, hi - lo);
+				return;
+			}
+			// Sort the halves into the other array, then merge them into the target array.
+			int mid = (lo + hi) >>> 1;
+			invokeAll(new IntSortTask(a, b, lo, mid, grain, !toB), new IntSortTask(a, b, mid, hi, grain, !toB));
+			if (toB)
+				new IntMergeTask(a, b, lo, mid, mid, hi, lo).compute();
+			else
+				new IntMergeTask(b, a, lo, mid, mid, hi, lo).compute();
+		}
+	}
+
+	/** Merges two sorted ranges of src into dst, splitting large merges at the median of the larger range. */
+	static private class IntMergeTask extends RecursiveAction {
+		private static final long serialVersionUID = 5537599440312067811L;
+
+		final int[] src, dst;
+		final int lo1, hi1, lo2, hi2, dstLo;
+
+		IntMergeTask (int[] src, int[] dst, int lo1, int hi1, int lo2, int hi2, int dstLo) {
+			this.src = src;
+			this.dst = dst;
+			this.lo1 = lo1;
+			this.hi1 = hi1;
+			this.lo2 = lo2;
+			this.hi2 = hi2;
+			this.dstLo = dstLo;
+		}
+
+		protected void compute () {
+			int[] src = this.src, dst = this.dst;
+			int lo1 = this.lo1, hi1 = this.hi1, lo2 = this.lo2, hi2 = this.hi2;
+			if (hi1 - lo1 + hi2 - lo2 > mergeGrain) {
+				int mid1, mid2;
+				if (hi1 - lo1 >= hi2 - lo2) {
+					mid1 = (lo1 + hi1) >>> 1;
+					int value = src[mid1];
+					mid2 = lo2;
+					for (int high = hi2; mid2 < high;) { // First index >= value.
+						int mid = (mid2 + high) >>> 1;
+						if (src[mid] < value)
+							mid2 = mid + 1;
+						else
+							high = mid;
+					}
+				} else {
+					mid2 = (lo2 + hi2) >>> 1;
+					int value = src[mid2];
+					mid1 = lo1;
+					for (int high = hi1; mid1 < high;) { // First index > value.
+						int mid = (mid1 + high) >>> 1;
+						if (src[mid] <= value)
+							mid1 = mid + 1;
+						else
+							high = mid;
+					}
+				}
+				int dstMid = dstLo + mid1 - lo1 + mid2 - lo2;
+				invokeAll(new IntMergeTask(src, dst, lo1, mid1, lo2, mid2, dstLo),
+					new IntMergeTask(src, dst, mid1, hi1, mid2, hi2, dstMid));
+				return;
+			}
+			int i = lo1, j = lo2, d = dstLo;
+			while (i < hi1 && j < hi2)
+				dst[d++] = src[j] < src[i] ? src[j++] : src[i++];
+			if (i < hi1) System.arraycopy(src, i, dst, d, hi1 - i);
+			if (j < hi2) System.arraycopy(src, j, dst, d, hi2 - j);
+		}
+	}
+
+	/** Sorts a range of a, leaving the result in a or b. Both arrays use the same indices. */
+	static private class LongSortTask extends RecursiveAction {
+		private static final long serialVersionUID = 1147204306594836038L;
+
+		final long[] a, b;
+		final int lo, hi, firstByte, grain;
+		final boolean toB;
+
+		LongSortTask (long[] a, long[] b, int lo, int hi, int firstByte, int grain, boolean toB) {
+			this.a = a;
+			this.b = b;
+			this.lo = lo;
+			this.hi = hi;
+			this.firstByte = firstByte;
+			this.grain = grain;
+			this.toB = toB;
+		}
+
+		protected void compute () {
+			if (hi - lo <= grain) {
+				Sort.radixSort(a, b, lo, hi, lo, firstByte, counts.get());
+				if (toB) System.arraycopy(a, lo, b, lo, hi - lo);
+				return;
+			}
+			int mid = (lo + hi) >>> 1;
+			invokeAll(new LongSortTask(a, b, lo, mid, firstByte, grain, !toB),
+				new LongSortTask(a, b, mid, hi, firstByte, grain, !toB));
+			if (toB)
+				new LongMergeTask(a, b, lo, mid, mid, hi, lo).compute();
+			else
+				new LongMergeTask(b, a, lo, mid, mid, hi, lo).compute();
+		}
+	}
+
+	static private class LongMergeTask extends RecursiveAction {
+		private static final long serialVersionUID = 8950500844217526602L;
+
+		final long[] src, dst;
+		final int lo1, hi1, lo2, hi2, dstLo;
+
+		LongMergeTask (long[] src, long[] dst, int lo1, int hi1, int lo2, int hi2, int dstLo) {
+			this.src = src;
+			this.dst = dst;
+			this.lo1 = lo1;
+			this.hi1 = hi1;
+			this.lo2 = lo2;
+			this.hi2 = hi2;
+			this.dstLo = dstLo;
+		}
+
+		protected void compute () {
+			long[] src = this.src, dst = this.dst;
+			int lo1 = this.lo1, hi1 = this.hi1, lo2 = this.lo2, hi2 = this.hi2;
+			if (hi1 - lo1 + hi2 - lo2 > mergeGrain) {
+				int mid1, mid2;
+				if (hi1 - lo1 >= hi2 - lo2) {
+					mid1 = (lo1 + hi1) >>> 1;
+					long value = src[mid1];
+					mid2 = lo2;
+					for (int high = hi2; mid2 < high;) {
+						int mid = (mid2 + high) >>> 1;
+						if (src[mid] < value)
+							mid2 = mid + 1;
+						else
+							high = mid;
+					}
+				} else {
+					mid2 = (lo2 + hi2) >>> 1;
+					long value = src[mid2];
+					mid1 = lo1;
+					for (int high = hi1; mid1 < high;) {
+						int mid = (mid1 + high) >>> 1;
+						if (src[mid] <= value)
+							mid1 = mid + 1;
+						else
+							high = mid;
+					}
+				}
+				int dstMid = dstLo + mid1 - lo1 + mid2 - lo2;
+				invokeAll(new LongMergeTask(src, dst, lo1, mid1, lo2, mid2, dstLo),
+					new LongMergeTask(src, dst, mid1, hi1, mid2, hi2, dstMid));
+				return;
+			}
+			int i = lo1, j = lo2, d = dstLo;
+			while (i < hi1 && j < hi2)
+				dst[d++] = src[j] < src[i] ? src[j++] : src[i++];
+			if (i < hi1) System.arraycopy(src, i, dst, d, hi1 - i);
+			if (j < hi2) System.arraycopy(src, j, dst, d, hi2 - j);
+		}
+	}
+}
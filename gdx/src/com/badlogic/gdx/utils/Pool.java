@@ -16,7 +16,13 @@
 
 package com.badlogic.gdx.utils;
 
+import com.badlogic.gdx.Gdx;
+
 /** A pool of objects that can be reused to avoid allocation.
+ * <p>
+ * For debugging, a pool can count how it is used (see {@link #setStatsEnabled(boolean)}) and detect objects that are never freed
+ * or are freed twice (see {@link #setLeakDetection(boolean)}). Subclasses that override {@link #obtain()} and
+ * {@link #free(Object)} without calling super, such as {@link ConcurrentPool}, are not tracked.
  * @see PoolManager
  * @author Nathan Sweet */
 abstract public class Pool<T> {
@@ -26,6 +32,8 @@ abstract public class Pool<T> {
 	public int peak;
 
 	private final Array<T> freeObjects;
+	private @Null PoolStats stats;
+	private @Null IdentityMap<T, Throwable> obtained;
 
 	/** Creates a pool with an initial capacity of 16 and no maximum. */
 	public Pool () {
@@ -50,7 +58,19 @@ abstract public class Pool<T> {
 	/** Returns an object from this pool. The object may be new (from {@link #newObject()}) or reused (previously
 	 * {@link #free(Object) freed}). */
 	public T obtain () {
-		return freeObjects.size == 0 ? newObject() : freeObjects.pop();
+		if (stats == null && obtained == null) return freeObjects.size == 0 ? newObject() : freeObjects.pop();
+		T object;
+		if (freeObjects.size == 0) {
+			object = newObject();
+			if (stats != null) stats.created++;
+		} else
+			object = freeObjects.pop();
+		if (stats != null) {
+			stats.obtained++;
+			stats.peakInUse = Math.max(stats.peakInUse, ++stats.inUse);
+		}
+		if (obtained != null) obtained.put(object, new Throwable("Obtained from pool."));
+		return object;
 	}
 
 	/** Puts the specified object in the pool, making it eligible to be returned by {@link #obtain()}. If the pool already contains
@@ -60,12 +80,32 @@ abstract public class Pool<T> {
 	 * The pool does not check if an object is already freed, so the same object must not be freed multiple times. */
 	public void free (T object) {
 		if (object == null) throw new IllegalArgumentException("object cannot be null.");
+		if (stats != null || obtained != null) {
+			if (!track(object)) return;
+		}
 		if (freeObjects.size < max) {
 			freeObjects.add(object);
 			peak = Math.max(peak, freeObjects.size);
+			if (stats != null) stats.peakFree = Math.max(stats.peakFree, freeObjects.size);
 			reset(object);
-		} else
+		} else {
+			if (stats != null) stats.discarded++;
 			discard(object);
+		}
+	}
+
+	/** Updates the stats and leak detection for an object being freed.
+	 * @return false if the object was freed twice and must not be added to the pool. */
+	private boolean track (T object) {
+		if (obtained != null && obtained.remove(object) == null && freeObjects.contains(object, true)) {
+			freedTwice(object, new Throwable("Freed twice."));
+			return false;
+		}
+		if (stats != null) {
+			stats.freed++;
+			if (stats.inUse > 0) stats.inUse--; // The object may have been obtained before stats were enabled.
+		}
+		return true;
 	}
 
 	/** Adds the specified number of new free objects to the pool. Usually called early on as a pre-allocation mechanism but can be
@@ -73,9 +113,14 @@ abstract public class Pool<T> {
 	 *
 	 * @param size the number of objects to be added */
 	public void fill (int size) {
-		for (int i = 0; i < size; i++)
-			if (freeObjects.size < max) freeObjects.add(newObject());
+		for (int i = 0; i < size; i++) {
+			if (freeObjects.size < max) {
+				freeObjects.add(newObject());
+				if (stats != null) stats.created++;
+			}
+		}
 		peak = Math.max(peak, freeObjects.size);
+		if (stats != null) stats.peakFree = Math.max(stats.peakFree, freeObjects.size);
 	}
 
 	/** Called when an object is freed to clear the state of the object for possible later reuse. The default implementation calls
@@ -101,19 +146,25 @@ abstract public class Pool<T> {
 		for (int i = 0, n = objects.size; i < n; i++) {
 			T object = objects.get(i);
 			if (object == null) continue;
+			if (stats != null || obtained != null) {
+				if (!track(object)) continue;
+			}
 			if (freeObjects.size < max) {
 				freeObjects.add(object);
 				reset(object);
 			} else {
+				if (stats != null) stats.discarded++;
 				discard(object);
 			}
 		}
 		peak = Math.max(peak, freeObjects.size);
+		if (stats != null) stats.peakFree = Math.max(stats.peakFree, freeObjects.size);
 	}
 
 	/** Removes and discards all free objects from this pool. */
 	public void clear () {
 		Array<T> freeObjects = this.freeObjects;
+		if (stats != null) stats.discarded += freeObjects.size;
 		for (int i = 0, n = freeObjects.size; i < n; i++)
 			discard(freeObjects.get(i));
 		freeObjects.clear();
@@ -124,6 +175,60 @@ abstract public class Pool<T> {
 		return freeObjects.size;
 	}
 
+	/** Enables or disables counting how this pool is used. Counting starts at zero each time it is enabled.
+	 * @see #getStats() */
+	public void setStatsEnabled (boolean enabled) {
+		if (enabled) {
+			if (stats == null) stats = new PoolStats();
+		} else
+			stats = null;
+	}
+
+	/** Returns a snapshot of how this pool has been used since stats were enabled, or null if stats are not enabled. */
+	public @Null PoolStats getStats () {
+		if (stats == null) return null;
+		PoolStats snapshot = new PoolStats(stats);
+		snapshot.free = freeObjects.size;
+		snapshot.peakFree = Math.max(stats.peakFree, snapshot.free);
+		return snapshot;
+	}
+
+	/** Enables or disables leak detection. When enabled, a stack trace is recorded for each object obtained, which is slow.
+	 * {@link #freedTwice(Object, Throwable)} is called when an object is freed that is already free in the pool, and the object is
+	 * not added again. {@link #checkLeaks()} reports objects that have been obtained but not freed. */
+	public void setLeakDetection (boolean enabled) {
+		if (enabled) {
+			if (obtained == null) obtained = new IdentityMap<T, Throwable>();
+		} else
+			obtained = null;
+	}
+
+	/** Reports each object obtained since the last call that has not been freed, using {@link #leaked(Object, Throwable)}, then
+	 * forgets them so they are only reported once. Call this when a frame or other scope ends, after all objects obtained during it
+	 * should have been freed. Does nothing if leak detection is not enabled.
+	 * @return The number of objects reported. */
+	public int checkLeaks () {
+		if (obtained == null || obtained.size == 0) return 0;
+		int count = obtained.size;
+		for (ObjectMap.Entry<T, Throwable> entry : obtained.entries())
+			leaked(entry.key, entry.value);
+		obtained.clear();
+		return count;
+	}
+
+	/** Called by {@link #checkLeaks()} for an object that was obtained but not freed. The default implementation logs an error.
+	 * @param obtainedAt Holds the stack trace of the call to {@link #obtain()}. */
+	protected void leaked (T object, Throwable obtainedAt) {
+		if (Gdx.app != null) Gdx.app.error("Pool", "Object obtained but never freed: " + object, obtainedAt);
+	}
+
+	/** Called when leak detection is enabled and an object is freed that is already free in the pool. The default implementation
+	 * logs an error.
+	 * @param freedAt Holds the stack trace of the second call to {@link #free(Object)}. */
+	protected void freedTwice (T object, Throwable freedAt) {
+		if (Gdx.app != null) Gdx.app.error("Pool", "Object freed twice: " + object, freedAt);
+	}
+
 	/** Objects implementing this interface will have {@link #reset()} called when passed to {@link Pool#free(Object)}. */
 	static public interface Poolable {
 		/** Resets the object for reuse. Object references should be nulled and fields may be set to default values. */
@@ -30,7 +30,12 @@ public class PoolManager {
 	/** Registers a new pool with the given supplier. Will throw an exception, if a pool for the same class is already registered.
 	 * This can be used like `PoolManager#addPoll(MyClass::new);` */
 	public <T> void addPool (PoolSupplier<T> poolSupplier) {
-		addPool(new DefaultPool<>(poolSupplier));
+		addPool(newPool(poolSupplier));
+	}
+
+	/** Called by {@link #addPool(PoolSupplier)} to create a pool. The default implementation returns a {@link DefaultPool}. */
+	protected <T> Pool<T> newPool (PoolSupplier<T> poolSupplier) {
+		return new DefaultPool<>(poolSupplier);
 	}
 
 	/** Registers the new pool. Will throw an exception, if a pool for the same class is already registered */
@@ -93,6 +98,39 @@ public class PoolManager {
 		pool.free(object);
 	}
 
+	/** Enables or disables {@link Pool#setStatsEnabled(boolean) stats} for all registered pools. Pools registered later are not
+	 * affected. */
+	public void setStatsEnabled (boolean enabled) {
+		for (Pool<?> pool : typePools.values())
+			pool.setStatsEnabled(enabled);
+	}
+
+	/** Returns a snapshot of the stats for each registered pool that has stats enabled. */
+	public ObjectMap<Class<?>, PoolStats> getStats () {
+		ObjectMap<Class<?>, PoolStats> stats = new ObjectMap<>();
+		for (ObjectMap.Entry<Class<?>, Pool<?>> entry : typePools.entries()) {
+			PoolStats poolStats = entry.value.getStats();
+			if (poolStats != null) stats.put(entry.key, poolStats);
+		}
+		return stats;
+	}
+
+	/** Enables or disables {@link Pool#setLeakDetection(boolean) leak detection} for all registered pools. Pools registered later
+	 * are not affected. */
+	public void setLeakDetection (boolean enabled) {
+		for (Pool<?> pool : typePools.values())
+			pool.setLeakDetection(enabled);
+	}
+
+	/** Calls {@link Pool#checkLeaks()} for all registered pools. Call this when a frame or other scope ends.
+	 * @return The number of objects reported. */
+	public int checkLeaks () {
+		int count = 0;
+		for (Pool<?> pool : typePools.values())
+			count += pool.checkLeaks();
+		return count;
+	}
+
 	/** Clears all contents of the managed pools */
 	public void clear () {
 		for (Pool<?> pool : typePools.values()) {
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+/** Counts how a {@link Pool} is used, to find pools that allocate too often or retain too many objects. Enable with
+ * {@link Pool#setStatsEnabled(boolean)}, {@link PoolManager#setStatsEnabled(boolean)} or {@link Pools#setStatsEnabled(boolean)}.
+ * The pool updates its stats as it is used, copy them with {@link #PoolStats(PoolStats)} for a snapshot. */
+public class PoolStats {
+	/** The number of objects returned by {@link Pool#obtain()}. */
+	public long obtained;
+	/** The number of objects returned by {@link Pool#obtain()} or added by {@link Pool#fill(int)} that were newly created. A high
+	 * ratio of created to obtained means the pool is rarely reused or its max is too small. */
+	public long created;
+	/** The number of objects passed to {@link Pool#free(Object)} or {@link Pool#freeAll(Array)}. */
+	public long freed;
+	/** The number of objects discarded because the pool already had max free objects when they were freed, or because the pool
+	 * was cleared. */
+	public long discarded;
+	/** The number of objects obtained but not yet freed. Freeing objects that were obtained before stats were enabled, or not
+	 * obtained from the pool, makes this smaller but not less than zero. */
+	public int inUse;
+	/** The highest {@link #inUse}. Can be reset any time. */
+	public int peakInUse;
+	/** The number of free objects in the pool when the snapshot was made, and the highest number of free objects. */
+	public int free, peakFree;
+
+	public PoolStats () {
+	}
+
+	/** Creates a snapshot of the specified stats. */
+	public PoolStats (PoolStats stats) {
+		set(stats);
+	}
+
+	public void set (PoolStats stats) {
+		obtained = stats.obtained;
+		created = stats.created;
+		freed = stats.freed;
+		discarded = stats.discarded;
+		inUse = stats.inUse;
+		peakInUse = stats.peakInUse;
+		free = stats.free;
+		peakFree = stats.peakFree;
+	}
+
+	/** Sets all counts to zero. */
+	public void reset () {
+		obtained = 0;
+		created = 0;
+		freed = 0;
+		discarded = 0;
+		inUse = 0;
+		peakInUse = 0;
+		free = 0;
+		peakFree = 0;
+	}
+
+	public String toString () {
+		return "obtained=" + obtained + ", created=" + created + ", freed=" + freed + ", discarded=" + discarded + ", inUse=" + inUse
+			+ ", peakInUse=" + peakInUse + ", free=" + free + ", peakFree=" + peakFree;
+	}
+}
@@ -154,6 +154,38 @@ public class Pools {
 		}
 	}
 
+	/** Enables or disables {@link Pool#setStatsEnabled(boolean) stats} for all pools. Pools created later are not affected. */
+	static public void setStatsEnabled (boolean enabled) {
+		for (Pool<?> pool : typePools.values())
+			pool.setStatsEnabled(enabled);
+	}
+
+	/** Returns a snapshot of the stats for each pool that has stats enabled. */
+	static public ObjectMap<Class<?>, PoolStats> getStats () {
+		ObjectMap<Class<?>, PoolStats> stats = new ObjectMap<>();
+		for (ObjectMap.Entry<Class<?>, Pool<?>> entry : typePools.entries()) {
+			PoolStats poolStats = entry.value.getStats();
+			if (poolStats != null) stats.put(entry.key, poolStats);
+		}
+		return stats;
+	}
+
+	/** Enables or disables {@link Pool#setLeakDetection(boolean) leak detection} for all pools. Pools created later are not
+	 * affected. */
+	static public void setLeakDetection (boolean enabled) {
+		for (Pool<?> pool : typePools.values())
+			pool.setLeakDetection(enabled);
+	}
+
+	/** Calls {@link Pool#checkLeaks()} for all pools. Call this when a frame or other scope ends.
+	 * @return The number of objects reported. */
+	static public int checkLeaks () {
+		int count = 0;
+		for (Pool<?> pool : typePools.values())
+			count += pool.checkLeaks();
+		return count;
+	}
+
 	private Pools () {
 	}
 }
@@ -13,19 +13,31 @@
 
 package com.badlogic.gdx.utils;
 
+import java.util.Arrays;
 import java.util.Comparator;
 
 /** Provides methods to sort arrays of objects. Sorting requires working memory and this class allows that memory to be reused to
  * avoid allocation. The sorting is otherwise identical to the Arrays.sort methods (uses timsort).<br>
  * <br>
  * Note that sorting primitive arrays with the Arrays.sort methods does not allocate memory (unless sorting large arrays of char,
- * short, or byte).
+ * short, or byte).<br>
+ * <br>
+ * The radixSort methods sort primitive arrays using an LSD radix sort, which is faster than Arrays.sort for large arrays. The
+ * sortByFloatKey and sortByIntKey methods sort objects by a primitive key without calling a comparator, which is much faster
+ * than timsort when the key is expensive to compare, eg sorting sprites by depth. See {@link ParallelSort} to sort very large
+ * arrays using multiple threads.
  * @author Nathan Sweet */
 public class Sort {
 	static private Sort instance;
 
+	/** Arrays smaller than this are sorted with Arrays.sort, which is faster than a radix sort for few items. */
+	static final int radixThreshold = 256;
+
 	private TimSort timSort;
 	private ComparableTimSort comparableTimSort;
+	private int[] intBuffer, intBuffer2, counts;
+	private long[] longBuffer, longBuffer2;
+	private Object[] objectBuffer;
 
 	public <T extends Comparable> void sort (Array<T> a) {
 		if (comparableTimSort == null) comparableTimSort = new ComparableTimSort();
@@ -59,9 +71,228 @@ public class Sort {
 		timSort.doSort(a, c, fromIndex, toIndex);
 	}
 
+	/** Sorts the items in ascending order using a radix sort. */
+	public void radixSort (IntArray a) {
+		radixSort(a.items, 0, a.size);
+	}
+
+	/** Sorts the items in ascending order using a radix sort. */
+	public void radixSort (int[] a, int fromIndex, int toIndex) {
+		int n = toIndex - fromIndex;
+		if (n < radixThreshold) {
+			Arrays.sort(a, fromIndex, toIndex);
+			return;
+		}
+		radixSort(a, intBuffer(n), fromIndex, toIndex, 0, counts());
+	}
+
+	/** Sorts the items in ascending order using a radix sort. The order is the same as Arrays.sort: -0f is less than 0f and NaN
+	 * is greater than all other values. NaN values are replaced with {@link Float#NaN}. */
+	public void radixSort (FloatArray a) {
+		radixSort(a.items, 0, a.size);
+	}
+
+	/** Sorts the items in ascending order using a radix sort.
+	 * @see #radixSort(FloatArray) */
+	public void radixSort (float[] a, int fromIndex, int toIndex) {
+		int n = toIndex - fromIndex;
+		if (n < radixThreshold) {
+			Arrays.sort(a, fromIndex, toIndex);
+			return;
+		}
+		int[] keys = intBuffer(n), temp = intBuffer2(n);
+		for (int i = 0; i < n; i++)
+			keys[i] = floatKey(a[fromIndex + i]);
+		radixSort(keys, temp, 0, n, 0, counts());
+		for (int i = 0; i < n; i++)
+			a[fromIndex + i] = floatValue(keys[i]);
+	}
+
+	/** Sorts the items in ascending order using a radix sort. */
+	public void radixSort (LongArray a) {
+		radixSort(a.items, 0, a.size);
+	}
+
+	/** Sorts the items in ascending order using a radix sort. */
+	public void radixSort (long[] a, int fromIndex, int toIndex) {
+		int n = toIndex - fromIndex;
+		if (n < radixThreshold) {
+			Arrays.sort(a, fromIndex, toIndex);
+			return;
+		}
+		radixSort(a, longBuffer(n), fromIndex, toIndex, 0, 0, counts());
+	}
+
+	/** Sorts the items in ascending order of the float key returned for each item, without using a comparator. The key is
+	 * retrieved once per item. The sort is stable. Key order is the same as {@link #radixSort(FloatArray)}. */
+	public <T> void sortByFloatKey (Array<T> a, FloatKey<? super T> key) {
+		T[] items = a.items;
+		int n = a.size;
+		long[] keys = longBuffer(n);
+		for (int i = 0; i < n; i++)
+			keys[i] = (long)floatKey(key.get(items[i])) << 32 | i;
+		sortByKey(items, keys, n);
+	}
+
+	/** Sorts the items in ascending order of the int key returned for each item, without using a comparator. The key is
+	 * retrieved once per item. The sort is stable. */
+	public <T> void sortByIntKey (Array<T> a, IntKey<? super T> key) {
+		T[] items = a.items;
+		int n = a.size;
+		long[] keys = longBuffer(n);
+		for (int i = 0; i < n; i++)
+			keys[i] = (long)key.get(items[i]) << 32 | i;
+		sortByKey(items, keys, n);
+	}
+
+	/** @param keys Each key in the high 32 bits and its item's index in the low 32 bits. */
+	private void sortByKey (Object[] items, long[] keys, int n) {
+		if (n < radixThreshold)
+			Arrays.sort(keys, 0, n); // The indices make the keys unique, so the sort is stable.
+		else
+			radixSort(keys, longBuffer2(n), 0, n, 0, 4, counts()); // Only the key bytes, LSD radix sort is stable.
+		permute(items, keys, 0, n, objectBuffer(n));
+	}
+
+	/** Reorders the items so the item at each index is the item at the index in the low 32 bits of the key at that index. The
+	 * buffer is cleared afterward so it doesn't hold references. */
+	static void permute (Object[] items, long[] keys, int fromIndex, int toIndex, Object[] buffer) {
+		System.arraycopy(items, fromIndex, buffer, fromIndex, toIndex - fromIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			items[i] = buffer[(int)keys[i]];
+		Arrays.fill(buffer, fromIndex, toIndex, null);
+	}
+
+	private int[] counts () {
+		if (counts == null) counts = new int[256 * 8];
+		return counts;
+	}
+
+	private int[] intBuffer (int size) {
+		if (intBuffer == null || intBuffer.length < size) intBuffer = new int[size];
+		return intBuffer;
+	}
+
+	private int[] intBuffer2 (int size) {
+		if (intBuffer2 == null || intBuffer2.length < size) intBuffer2 = new int[size];
+		return intBuffer2;
+	}
+
+	private long[] longBuffer (int size) {
+		if (longBuffer == null || longBuffer.length < size) longBuffer = new long[size];
+		return longBuffer;
+	}
+
+	private long[] longBuffer2 (int size) {
+		if (longBuffer2 == null || longBuffer2.length < size) longBuffer2 = new long[size];
+		return longBuffer2;
+	}
+
+	private Object[] objectBuffer (int size) {
+		if (objectBuffer == null || objectBuffer.length < size) objectBuffer = new Object[size];
+		return objectBuffer;
+	}
+
+	/** Returns an int that has the same signed order as the float, with NaN greatest. The conversion is its own inverse. */
+	static int floatKey (float value) {
+		int bits = NumberUtils.floatToIntBits(value);
+		return bits ^ (bits >> 31 & 0x7fffffff);
+	}
+
+	static float floatValue (int key) {
+		return NumberUtils.intBitsToFloat(key ^ (key >> 31 & 0x7fffffff));
+	}
+
+	/** Sorts the items from fromIndex to toIndex using 8 bit digits. Passes where every item has the same digit are skipped.
+	 * @param temp Must have room for toIndex - fromIndex items starting at tempIndex.
+	 * @param counts Must have at least 1024 items. */
+	static void radixSort (int[] a, int[] temp, int fromIndex, int toIndex, int tempIndex, int[] counts) {
+		int n = toIndex - fromIndex;
+		Arrays.fill(counts, 0, 1024, 0);
+		for (int i = fromIndex; i < toIndex; i++) {
+			int value = a[i];
+			counts[value & 0xff]++;
+			counts[256 + (value >>> 8 & 0xff)]++;
+			counts[512 + (value >>> 16 & 0xff)]++;
+			counts[768 + (value >>> 24 ^ 0x80)]++; // Flip the sign bit so negative values are first.
+		}
+		int[] src = a, dst = temp;
+		int srcIndex = fromIndex, dstIndex = tempIndex;
+		for (int pass = 0; pass < 4; pass++) {
+			int shift = pass << 3, offset = pass << 8, flip = pass == 3 ? 0x80 : 0;
+			if (counts[offset + ((src[srcIndex] >>> shift & 0xff) ^ flip)] == n) continue;
+			for (int i = offset, end = offset + 256, start = dstIndex; i < end; i++) {
+				int count = counts[i];
+				counts[i] = start;
+				start += count;
+			}
+			for (int i = srcIndex, end = srcIndex + n; i < end; i++) {
+				int value = src[i];
+				dst[counts[offset + ((value >>> shift & 0xff) ^ flip)]++] = value;
+			}
+			int[] swap = src;
+			src = dst;
+			dst = swap;
+			int swapIndex = srcIndex;
+			srcIndex = dstIndex;
+			dstIndex = swapIndex;
+		}
+		if (src != a) System.arraycopy(src, srcIndex, a, fromIndex, n);
+	}
+
+	/** Sorts the items from fromIndex to toIndex using 8 bit digits, starting at the specified byte. Passes where every item has
+	 * the same digit are skipped.
+	 * @param firstByte The lowest byte to sort by, bytes below it are ignored.
+	 * @param temp Must have room for toIndex - fromIndex items starting at tempIndex.
+	 * @param counts Must have at least 2048 items. */
+	static void radixSort (long[] a, long[] temp, int fromIndex, int toIndex, int tempIndex, int firstByte, int[] counts) {
+		int n = toIndex - fromIndex;
+		Arrays.fill(counts, 0, 2048, 0);
+		for (int i = fromIndex; i < toIndex; i++) {
+			long value = a[i];
+			for (int b = firstByte; b < 7; b++)
+				counts[(b << 8) + (int)(value >>> (b << 3) & 0xff)]++;
+			counts[1792 + (int)(value >>> 56 ^ 0x80)]++; // Flip the sign bit so negative values are first.
+		}
+		long[] src = a, dst = temp;
+		int srcIndex = fromIndex, dstIndex = tempIndex;
+		for (int pass = firstByte; pass < 8; pass++) {
+			int shift = pass << 3, offset = pass << 8, flip = pass == 7 ? 0x80 : 0;
+			if (counts[offset + ((int)(src[srcIndex] >>> shift & 0xff) ^ flip)] == n) continue;
+			for (int i = offset, end = offset + 256, start = dstIndex; i < end; i++) {
+				int count = counts[i];
+				counts[i] = start;
+				start += count;
+			}
+			for (int i = srcIndex, end = srcIndex + n; i < end; i++) {
+				long value = src[i];
+				dst[counts[offset + ((int)(value >>> shift & 0xff) ^ flip)]++] = value;
+			}
+			long[] swap = src;
+			src = dst;
+			dst = swap;
+			int swapIndex = srcIndex;
+			srcIndex = dstIndex;
+			dstIndex = swapIndex;
+		}
+		if (src != a) System.arraycopy(src, srcIndex, a, fromIndex, n);
+	}
+
 	/** Returns a Sort instance for convenience. Multiple threads must not use this instance at the same time. */
 	static public Sort instance () {
 		if (instance == null) instance = new Sort();
 		return instance;
 	}
+
+	/** Returns a float key used to sort an item.
+	 * @see Sort#sortByFloatKey(Array, FloatKey) */
+	static public interface FloatKey<T> {
+		public float get (T item);
+	}
+
+	/** Returns an int key used to sort an item.
+	 * @see Sort#sortByIntKey(Array, IntKey) */
+	static public interface IntKey<T> {
+		public int get (T item);
+	}
 }
@@ -0,0 +1,427 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/** A {@link JsonCursor} for UBJSON, reading the same format as {@link UBJsonReader}. Arrays with a type and count, and the
+ * {@code a} and {@code A} data blocks, are read in bulk by {@link #nextFloats(FloatArray)}, {@link #nextShorts(ShortArray)}
+ * and {@link #nextInts(IntArray)}. */
+public class UBJsonCursor extends JsonCursor {
+	static private final byte name = 0, value = 1, array = 2;
+
+	/** See {@link UBJsonReader#oldFormat}. */
+	public boolean oldFormat = true;
+
+	private final DataInputStream input;
+	private int pending = -1;
+
+	private byte[] kinds = new byte[16], types = new byte[16];
+	private int[] counts = new int[16];
+	private int depth;
+	private boolean done;
+
+	private byte[] bytes = new byte[32];
+	private @Null byte[] bulk;
+	private int length;
+	private @Null ByteBuffer wrapped;
+	private final CharArray buffer = new CharArray(32);
+	private Token token;
+	private long longValue;
+	private double doubleValue;
+	private boolean booleanValue;
+
+	/** @param input Closed by {@link #close()}. For best performance the stream should be buffered. */
+	public UBJsonCursor (InputStream input) {
+		this.input = input instanceof DataInputStream ? (DataInputStream)input : new DataInputStream(input);
+	}
+
+	public UBJsonCursor (FileHandle file) {
+		this(file.read(8192));
+	}
+
+	protected Token read () {
+		return token = readToken();
+	}
+
+	private Token readToken () {
+		if (done) return Token.end;
+		try {
+			byte type;
+			if (depth == 0) {
+				int b = input.read();
+				if (b == -1) {
+					done = true;
+					return Token.end;
+				}
+				type = (byte)b;
+			} else {
+				int d = depth - 1;
+				byte kind = kinds[d];
+				if (kind != value && counts[d] == 0) {
+					depth--;
+					return complete(kind == name ? Token.endObject : Token.endArray);
+				}
+				if (kind == name) {
+					type = readType();
+					if (counts[d] == -1 && type == '}') {
+						depth--;
+						return complete(Token.endObject);
+					}
+					readString(type, true);
+					kinds[d] = value;
+					return Token.name;
+				}
+				type = types[d] != 0 ? types[d] : readType();
+				if (kind == value)
+					kinds[d] = name;
+				else if (counts[d] == -1 && type == ']') {
+					depth--;
+					return complete(Token.endArray);
+				}
+				if (counts[d] > 0) counts[d]--;
+			}
+			return complete(value(type));
+		} catch (IOException ex) {
+			throw new SerializationException("Error reading UBJSON.", ex);
+		}
+	}
+
+	private Token complete (Token token) {
+		if (depth == 0) done = true;
+		return token;
+	}
+
+	private Token value (byte type) throws IOException {
+		switch (type) {
+		case '{':
+			container(name);
+			return Token.beginObject;
+		case '[':
+			container(array);
+			return Token.beginArray;
+		case 'a':
+		case 'A': {
+			// Data blocks are arrays with a type and count, see UBJsonReader#parseData.
+			byte dataType = input.readByte();
+			push(array, type == 'A' ? input.readInt() : input.readUnsignedByte(), dataType);
+			return Token.beginArray;
+		}
+		case 'Z':
+			return Token.nullValue;
+		case 'T':
+			booleanValue = true;
+			return Token.booleanValue;
+		case 'F':
+			booleanValue = false;
+			return Token.booleanValue;
+		case 's':
+		case 'S':
+			readString(type, false);
+			return Token.stringValue;
+		case 'd':
+		case 'D':
+			doubleValue = readDouble(type);
+			longValue = (long)doubleValue;
+			return Token.doubleValue;
+		}
+		longValue = readLong(type);
+		doubleValue = longValue;
+		return Token.longValue;
+	}
+
+	private long readLong (byte type) throws IOException {
+		switch (type) {
+		case 'B':
+		case 'U':
+			return input.readUnsignedByte();
+		case 'i':
+			return oldFormat ? input.readShort() : input.readByte();
+		case 'I':
+			return oldFormat ? input.readInt() : input.readShort();
+		case 'l':
+			return input.readInt();
+		case 'L':
+			return input.readLong();
+		case 'C':
+			return input.readChar();
+		case 'd':
+		case 'D':
+			return (long)readDouble(type);
+		}
+		throw new SerializationException("Unrecognized data type: " + (char)type);
+	}
+
+	private double readDouble (byte type) throws IOException {
+		if (type == 'd') return input.readFloat();
+		if (type == 'D') return input.readDouble();
+		return readLong(type);
+	}
+
+	/** Reads the optional type and count of an array or object, see UBJsonReader#parseArray. */
+	private void container (byte kind) throws IOException {
+		byte type = input.readByte(), valueType = 0;
+		if (type == '$') {
+			valueType = input.readByte();
+			type = input.readByte();
+		}
+		int count = -1;
+		if (type == '#') {
+			count = (int)readSize(input.readByte(), false, -1); // long but more than int isn't supported
+			if (count < 0) throw new SerializationException("Unrecognized data type");
+		} else {
+			if (valueType != 0) throw new SerializationException("A container with a type requires a count.");
+			pending = type;
+		}
+		push(kind, count, valueType);
+	}
+
+	private void push (byte kind, int count, byte type) {
+		if (depth == kinds.length) {
+			kinds = Arrays.copyOf(kinds, depth << 1);
+			types = Arrays.copyOf(types, depth << 1);
+			counts = Arrays.copyOf(counts, depth << 1);
+		}
+		kinds[depth] = kind;
+		types[depth] = type;
+		counts[depth] = count;
+		depth++;
+	}
+
+	private byte readType () throws IOException {
+		int pending = this.pending;
+		if (pending == -1) return input.readByte();
+		this.pending = -1;
+		return (byte)pending;
+	}
+
+	/** See UBJsonReader#parseString. */
+	private void readString (byte type, boolean sizeOptional) throws IOException {
+		long size = -1;
+		if (type == 'S')
+			size = readSize(input.readByte(), true, -1);
+		else if (type == 's')
+			size = input.readUnsignedByte();
+		else if (sizeOptional) //
+			size = readSize(type, false, -1);
+		if (size < 0) throw new SerializationException("Unrecognized data type, string expected");
+		int length = (int)size;
+		if (length > bytes.length) {
+			bytes = new byte[Math.max(length, bytes.length << 1)];
+			wrapped = null;
+		}
+		input.readFully(bytes, 0, length);
+		this.length = length;
+	}
+
+	/** See UBJsonReader#parseSize. */
+	private long readSize (byte type, boolean useIntOnError, long defaultValue) throws IOException {
+		if (type == 'i') return input.readUnsignedByte();
+		if (type == 'I') return input.readUnsignedShort();
+		if (type == 'l') return input.readInt();
+		if (type == 'L') return input.readLong();
+		if (useIntOnError) {
+			long result = (long)(type & 0xff) << 24;
+			result |= (input.readByte() & 0xff) << 16;
+			result |= (input.readByte() & 0xff) << 8;
+			result |= input.readByte() & 0xff;
+			return result;
+		}
+		return defaultValue;
+	}
+
+	/** Returns the count of the array which was just begun if it has a type which can be read in bulk, else -1. */
+	private int bulkCount () {
+		if (depth == 0 || kinds[depth - 1] != array) return -1;
+		switch (types[depth - 1]) {
+		case 'B':
+		case 'U':
+		case 'i':
+		case 'I':
+		case 'l':
+		case 'L':
+		case 'd':
+		case 'D':
+			return counts[depth - 1];
+		}
+		return -1;
+	}
+
+	private byte[] bulk () {
+		if (bulk == null) bulk = new byte[8192];
+		return bulk;
+	}
+
+	public FloatArray nextFloats (FloatArray values) {
+		beginArray();
+		int count = bulkCount();
+		if (count == -1) {
+			while (hasNext())
+				values.add(nextFloat());
+		} else {
+			byte type = types[depth - 1];
+			float[] items = values.ensureCapacity(count);
+			try {
+				if (type == 'd')
+					UBJsonReader.readFloats(input, items, values.size, count, bulk());
+				else {
+					for (int i = values.size, n = i + count; i < n; i++)
+						items[i] = (float)readDouble(type);
+				}
+			} catch (IOException ex) {
+				throw new SerializationException("Error reading UBJSON.", ex);
+			}
+			values.size += count;
+			counts[depth - 1] = 0;
+		}
+		endArray();
+		return values;
+	}
+
+	public ShortArray nextShorts (ShortArray values) {
+		beginArray();
+		int count = bulkCount();
+		if (count == -1) {
+			while (hasNext())
+				values.add(nextShort());
+		} else {
+			byte type = types[depth - 1];
+			short[] items = values.ensureCapacity(count);
+			try {
+				if (type == (oldFormat ? 'i' : 'I'))
+					UBJsonReader.readShorts(input, items, values.size, count, bulk());
+				else {
+					for (int i = values.size, n = i + count; i < n; i++)
+						items[i] = (short)readLong(type);
+				}
+			} catch (IOException ex) {
+				throw new SerializationException("Error reading UBJSON.", ex);
+			}
+			values.size += count;
+			counts[depth - 1] = 0;
+		}
+		endArray();
+		return values;
+	}
+
+	public IntArray nextInts (IntArray values) {
+		beginArray();
+		int count = bulkCount();
+		if (count == -1) {
+			while (hasNext())
+				values.add(nextInt());
+		} else {
+			byte type = types[depth - 1];
+			int[] items = values.ensureCapacity(count);
+			try {
+				if (type == 'l' || (type == 'I' && oldFormat))
+					UBJsonReader.readInts(input, items, values.size, count, bulk());
+				else {
+					for (int i = values.size, n = i + count; i < n; i++)
+						items[i] = (int)readLong(type);
+				}
+			} catch (IOException ex) {
+				throw new SerializationException("Error reading UBJSON.", ex);
+			}
+			values.size += count;
+			counts[depth - 1] = 0;
+		}
+		endArray();
+		return values;
+	}
+
+	protected String stringValue () {
+		switch (token) {
+		case booleanValue:
+			return booleanValue ? "true" : "false";
+		case longValue:
+			return Long.toString(longValue);
+		case doubleValue:
+			return Double.toString(doubleValue);
+		}
+		try {
+			return new String(bytes, 0, length, "UTF-8");
+		} catch (IOException ex) { // UTF-8 is always supported.
+			throw new SerializationException(ex);
+		}
+	}
+
+	protected long longValue () {
+		return longValue;
+	}
+
+	protected double doubleValue () {
+		return doubleValue;
+	}
+
+	protected boolean booleanValue () {
+		return booleanValue;
+	}
+
+	/** Decodes the current string into the buffer. */
+	private void decode () {
+		ByteBuffer wrapped = this.wrapped;
+		if (wrapped == null) this.wrapped = wrapped = ByteBuffer.wrap(bytes);
+		buffer.size = 0;
+		JsonReader.decodeUtf8(wrapped, 0, length, buffer);
+	}
+
+	protected int nameHash () {
+		byte[] bytes = this.bytes;
+		int hash = 0, i = 0, n = length;
+		for (; i < n; i++) {
+			byte b = bytes[i];
+			if (b < 0) break;
+			hash = 31 * hash + b;
+		}
+		if (i == n) return hash;
+		decode();
+		hash = 0;
+		char[] chars = buffer.items;
+		for (i = 0, n = buffer.size; i < n; i++)
+			hash = 31 * hash + chars[i];
+		return hash;
+	}
+
+	public boolean nameEquals (String name) {
+		byte[] bytes = this.bytes;
+		int nameLength = name.length(), n = length, i = 0;
+		for (; i < n; i++) {
+			byte b = bytes[i];
+			if (b < 0) break;
+			if (i == nameLength || b != name.charAt(i)) return false;
+		}
+		if (i == n) return n == nameLength;
+		decode();
+		char[] chars = buffer.items;
+		if (buffer.size != nameLength) return false;
+		for (i = 0; i < nameLength; i++)
+			if (chars[i] != name.charAt(i)) return false;
+		return true;
+	}
+
+	public void close () {
+		StreamUtils.closeQuietly(input);
+	}
+}
@@ -19,6 +19,8 @@ package com.badlogic.gdx.utils;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+
 import com.badlogic.gdx.files.FileHandle;
 
 /** Lightweight UBJSON parser.<br>
@@ -29,6 +31,18 @@ import com.badlogic.gdx.files.FileHandle;
 public class UBJsonReader implements BaseJsonReader {
 	public boolean oldFormat = true;
 
+	/** When true, numeric arrays from strongly typed containers ({@code $} and {@code #}) and {@code a}/{@code A} data blocks are
+	 * read in bulk into a single {@link JsonValue} holding a primitive array, instead of a JsonValue for each value. Default is
+	 * false.
+	 * <p>
+	 * A packed array has no children until they are first needed, so code that walks the {@link JsonValue#child} and
+	 * {@link JsonValue#next} fields directly sees a packed array as empty, even though its {@link JsonValue#size} is not 0. Such
+	 * code must call {@link JsonValue#child()} instead of reading the field, which creates the children.
+	 * @see JsonValue#packed() */
+	public boolean packArrays;
+
+	private byte[] buffer;
+
 	/** Parses the UBJSON from the given stream. <br>
 	 * For best performance you should provide buffered streams to this method! */
 	@Override
@@ -111,6 +125,13 @@ public class UBJsonReader implements BaseJsonReader {
 			size = (int)parseSize(din, false, -1); // long but more than int isn't supported
 			if (size < 0) throw new GdxRuntimeException("Unrecognized data type");
 			if (size == 0) return result;
+			if (valueType != 0 && packArrays) {
+				Object values = parsePacked(din, valueType, size);
+				if (values != null) {
+					result.setPacked(values);
+					return result;
+				}
+			}
 			type = valueType == 0 ? din.readByte() : valueType;
 		}
 		JsonValue prev = null;
@@ -176,6 +197,13 @@ public class UBJsonReader implements BaseJsonReader {
 		final byte dataType = din.readByte();
 		final int size = (int)(blockType == 'A' ? readUInt(din) : readUChar(din)); // long but more than int isn't supported
 		final JsonValue result = new JsonValue(JsonValue.ValueType.array);
+		if (packArrays && size > 0) {
+			Object values = parsePacked(din, dataType, size);
+			if (values != null) {
+				result.setPacked(values);
+				return result;
+			}
+		}
 		JsonValue prev = null;
 		for (long i = 0; i < size; i++) {
 			final JsonValue val = parse(din, dataType);
@@ -191,6 +219,62 @@ public class UBJsonReader implements BaseJsonReader {
 		return result;
 	}
 
+	/** Reads the values of a strongly typed array in bulk.
+	 * @return A primitive array, or null if the type is not numeric. */
+	protected @Null Object parsePacked (final DataInputStream din, final byte type, final int size) throws IOException {
+		if (buffer == null) buffer = new byte[8192];
+		switch (type) {
+		case 'd': {
+			float[] values = new float[size];
+			readFloats(din, values, 0, size, buffer);
+			return values;
+		}
+		case 'D': {
+			double[] values = new double[size];
+			readDoubles(din, values, 0, size, buffer);
+			return values;
+		}
+		case 'i':
+			if (oldFormat) {
+				short[] values = new short[size];
+				readShorts(din, values, 0, size, buffer);
+				return values;
+			} else {
+				byte[] values = new byte[size];
+				din.readFully(values);
+				return values;
+			}
+		case 'I':
+			if (oldFormat) {
+				int[] values = new int[size];
+				readInts(din, values, 0, size, buffer);
+				return values;
+			} else {
+				short[] values = new short[size];
+				readShorts(din, values, 0, size, buffer);
+				return values;
+			}
+		case 'l': {
+			int[] values = new int[size];
+			readInts(din, values, 0, size, buffer);
+			return values;
+		}
+		case 'L': {
+			long[] values = new long[size];
+			readLongs(din, values, 0, size, buffer);
+			return values;
+		}
+		case 'B':
+		case 'U': {
+			short[] values = new short[size];
+			for (int i = 0; i < size; i++)
+				values[i] = readUChar(din);
+			return values;
+		}
+		}
+		return null;
+	}
+
 	protected String parseString (final DataInputStream din, final byte type) throws IOException {
 		return parseString(din, false, type);
 	}
@@ -214,7 +298,7 @@ public class UBJsonReader implements BaseJsonReader {
 		throws IOException {
 		if (type == 'i') return (long)readUChar(din);
 		if (type == 'I') return (long)readUShort(din);
-		if (type == 'l') return (long)readUInt(din);
+		if (type == 'l') return readUInt(din);
 		if (type == 'L') return din.readLong();
 		if (useIntOnError) {
 			long result = (long)((short)type & 0xFF) << 24;
@@ -243,4 +327,65 @@ public class UBJsonReader implements BaseJsonReader {
 		din.readFully(data);
 		return new String(data, "UTF-8");
 	}
+
+	/** Reads big endian values a buffer at a time, which is much faster than reading each value from the stream. */
+	static void readFloats (DataInputStream input, float[] values, int offset, int count, byte[] buffer) throws IOException {
+		ByteBuffer bytes = ByteBuffer.wrap(buffer);
+		for (int max = buffer.length >> 2; count > 0;) {
+			int n = Math.min(count, max);
+			input.readFully(buffer, 0, n << 2);
+			bytes.clear();
+			bytes.asFloatBuffer().get(values, offset, n);
+			offset += n;
+			count -= n;
+		}
+	}
+
+	static void readDoubles (DataInputStream input, double[] values, int offset, int count, byte[] buffer) throws IOException {
+		ByteBuffer bytes = ByteBuffer.wrap(buffer);
+		for (int max = buffer.length >> 3; count > 0;) {
+			int n = Math.min(count, max);
+			input.readFully(buffer, 0, n << 3);
+			bytes.clear();
+			bytes.asDoubleBuffer().get(values, offset, n);
+			offset += n;
+			count -= n;
+		}
+	}
+
+	static void readShorts (DataInputStream input, short[] values, int offset, int count, byte[] buffer) throws IOException {
+		ByteBuffer bytes = ByteBuffer.wrap(buffer);
+		for (int max = buffer.length >> 1; count > 0;) {
+			int n = Math.min(count, max);
+			input.readFully(buffer, 0, n << 1);
+			bytes.clear();
+			bytes.asShortBuffer().get(values, offset, n);
+			offset += n;
+			count -= n;
+		}
+	}
+
+	static void readInts (DataInputStream input, int[] values, int offset, int count, byte[] buffer) throws IOException {
+		ByteBuffer bytes = ByteBuffer.wrap(buffer);
+		for (int max = buffer.length >> 2; count > 0;) {
+			int n = Math.min(count, max);
+			input.readFully(buffer, 0, n << 2);
+			bytes.clear();
+			bytes.asIntBuffer().get(values, offset, n);
+			offset += n;
+			count -= n;
+		}
+	}
+
+	static void readLongs (DataInputStream input, long[] values, int offset, int count, byte[] buffer) throws IOException {
+		ByteBuffer bytes = ByteBuffer.wrap(buffer);
+		for (int max = buffer.length >> 3; count > 0;) {
+			int n = Math.min(count, max);
+			input.readFully(buffer, 0, n << 3);
+			bytes.clear();
+			bytes.asLongBuffer().get(values, offset, n);
+			offset += n;
+			count -= n;
+		}
+	}
 }
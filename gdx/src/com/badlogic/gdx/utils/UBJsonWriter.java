@@ -20,6 +20,7 @@ import java.io.Closeable;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 /** Builder style API for emitting UBJSON.
  * @author Justin Shapcott */
@@ -30,6 +31,7 @@ public class UBJsonWriter implements Closeable {
 	private JsonObject current;
 	private boolean named;
 	private final Array<JsonObject> stack = new Array();
+	private ByteBuffer buffer;
 
 	public UBJsonWriter (OutputStream out) {
 		if (!(out instanceof DataOutputStream)) out = new DataOutputStream(out);
@@ -201,9 +203,7 @@ public class UBJsonWriter implements Closeable {
 		out.writeByte('i');
 		out.writeByte('#');
 		value(values.length);
-		for (int i = 0, n = values.length; i < n; i++) {
-			out.writeByte(values[i]);
-		}
+		out.write(values);
 		pop(true);
 		return this;
 	}
@@ -217,8 +217,13 @@ public class UBJsonWriter implements Closeable {
 		out.writeByte('I');
 		out.writeByte('#');
 		value(values.length);
-		for (int i = 0, n = values.length; i < n; i++) {
-			out.writeShort(values[i]);
+		ByteBuffer buffer = buffer();
+		for (int i = 0, n = values.length, max = buffer.capacity() >> 1; i < n;) {
+			int count = Math.min(n - i, max);
+			buffer.clear();
+			buffer.asShortBuffer().put(values, i, count);
+			out.write(buffer.array(), 0, count << 1);
+			i += count;
 		}
 		pop(true);
 		return this;
@@ -233,8 +238,13 @@ public class UBJsonWriter implements Closeable {
 		out.writeByte('l');
 		out.writeByte('#');
 		value(values.length);
-		for (int i = 0, n = values.length; i < n; i++) {
-			out.writeInt(values[i]);
+		ByteBuffer buffer = buffer();
+		for (int i = 0, n = values.length, max = buffer.capacity() >> 2; i < n;) {
+			int count = Math.min(n - i, max);
+			buffer.clear();
+			buffer.asIntBuffer().put(values, i, count);
+			out.write(buffer.array(), 0, count << 2);
+			i += count;
 		}
 		pop(true);
 		return this;
@@ -249,8 +259,13 @@ public class UBJsonWriter implements Closeable {
 		out.writeByte('L');
 		out.writeByte('#');
 		value(values.length);
-		for (int i = 0, n = values.length; i < n; i++) {
-			out.writeLong(values[i]);
+		ByteBuffer buffer = buffer();
+		for (int i = 0, n = values.length, max = buffer.capacity() >> 3; i < n;) {
+			int count = Math.min(n - i, max);
+			buffer.clear();
+			buffer.asLongBuffer().put(values, i, count);
+			out.write(buffer.array(), 0, count << 3);
+			i += count;
 		}
 		pop(true);
 		return this;
@@ -265,8 +280,13 @@ public class UBJsonWriter implements Closeable {
 		out.writeByte('d');
 		out.writeByte('#');
 		value(values.length);
-		for (int i = 0, n = values.length; i < n; i++) {
-			out.writeFloat(values[i]);
+		ByteBuffer buffer = buffer();
+		for (int i = 0, n = values.length, max = buffer.capacity() >> 2; i < n;) {
+			int count = Math.min(n - i, max);
+			buffer.clear();
+			buffer.asFloatBuffer().put(values, i, count);
+			out.write(buffer.array(), 0, count << 2);
+			i += count;
 		}
 		pop(true);
 		return this;
@@ -282,8 +302,13 @@ public class UBJsonWriter implements Closeable {
 		out.writeByte('D');
 		out.writeByte('#');
 		value(values.length);
-		for (int i = 0, n = values.length; i < n; i++) {
-			out.writeDouble(values[i]);
+		ByteBuffer buffer = buffer();
+		for (int i = 0, n = values.length, max = buffer.capacity() >> 3; i < n;) {
+			int count = Math.min(n - i, max);
+			buffer.clear();
+			buffer.asDoubleBuffer().put(values, i, count);
+			out.write(buffer.array(), 0, count << 3);
+			i += count;
 		}
 		pop(true);
 		return this;
@@ -354,6 +379,23 @@ public class UBJsonWriter implements Closeable {
 			for (JsonValue child = value.child; child != null; child = child.next)
 				value(child);
 			pop();
+		} else if (value.packed() != null) {
+			if (value.name != null) name(value.name);
+			Object packed = value.packed();
+			if (packed instanceof float[])
+				value((float[])packed);
+			else if (packed instanceof short[])
+				value((short[])packed);
+			else if (packed instanceof int[])
+				value((int[])packed);
+			else if (packed instanceof byte[])
+				value((byte[])packed);
+			else if (packed instanceof double[])
+				value((double[])packed);
+			else if (packed instanceof long[])
+				value((long[])packed);
+			else
+				value((char[])packed);
 		} else if (value.isArray()) {
 			if (value.name != null)
 				array(value.name);
@@ -529,6 +571,11 @@ public class UBJsonWriter implements Closeable {
 		return name(name).value();
 	}
 
+	private ByteBuffer buffer () {
+		if (buffer == null) buffer = ByteBuffer.allocate(8192);
+		return buffer;
+	}
+
 	private void checkName () {
 		if (current != null) {
 			if (!current.array) {
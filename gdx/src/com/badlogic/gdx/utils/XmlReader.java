@@ -39,6 +39,7 @@ public class XmlReader {
 	private Element root, current;
 	private final StringBuilder textBuffer = new StringBuilder(64);
 	private String entitiesText;
+	private @Null NameCache nameCache;
 
 	public Element parse (String xml) {
 		char[] data = xml.toCharArray();
@@ -213,7 +214,7 @@ public class XmlReader {
 									}
 								}
 								hasBody = true;
-								open(new String(data, s, p - s));
+								open(name(data, s, p - s));
 							}
 								break;
 							case 2:
@@ -252,7 +253,7 @@ public class XmlReader {
 							case 5:
 							// line 139 "XmlReader.rl"
 							{
-								attributeName = new String(data, s, p - s);
+								attributeName = name(data, s, p - s);
 							}
 								break;
 							case 6:
@@ -425,6 +426,16 @@ public class XmlReader {
 
 	// line 215 "XmlReader.rl"
 
+	/** Sets a cache that is used to return the same string instance for equal element and attribute names, or null to create a
+	 * new string for every name (the default). */
+	public void setNameCache (@Null NameCache nameCache) {
+		this.nameCache = nameCache;
+	}
+
+	private String name (char[] data, int offset, int length) {
+		return nameCache != null ? nameCache.get(data, offset, length) : new String(data, offset, length);
+	}
+
 	protected void open (String name) {
 		Element child = new Element(name, current);
 		Element parent = current;
@@ -0,0 +1,490 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Arrays;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/** Lightweight event-based XML parser which reads the input in chunks and does not build a DOM, so a document never needs to be in
+ * memory at once. Supports the same subset of XML as {@link XmlReader}: elements, attributes, text, predefined entities, CDATA
+ * and mixed content. Prologs, doctypes and comments are skipped. Input is assumed to be well formed.
+ * <p>
+ * Names, attribute values and text are provided as {@link XmlToken}s which reference the parser's buffer, so strings are only
+ * created when needed. Text is trimmed like XmlReader, but text that does not fit in the buffer is provided by multiple calls to
+ * {@link #text(XmlToken)}, so large text can be processed as it is read. */
+public class XmlSkimmer {
+	private final char[] buffer;
+	private char[] data;
+	private int position, limit, mark = -1;
+	/** Positions which are adjusted when the buffer is compacted. */
+	private int nameStart, nameEnd, attributeStart, attributeEnd;
+	private @Null Reader reader;
+	private int depth;
+	private boolean stop;
+	private final XmlToken name = new XmlToken(), attributeName = new XmlToken(), value = new XmlToken();
+	private final CharArray decoded = new CharArray(64);
+
+	/** Creates a parser with an 8192 char buffer. */
+	public XmlSkimmer () {
+		this(8192);
+	}
+
+	/** @param bufferSize The initial buffer size. The buffer grows if a single tag does not fit. */
+	public XmlSkimmer (int bufferSize) {
+		buffer = new char[Math.max(bufferSize, 16)];
+	}
+
+	public void parse (String xml) {
+		data = xml.toCharArray();
+		position = 0;
+		limit = data.length;
+		parse();
+	}
+
+	public void parse (Reader reader) {
+		this.reader = reader;
+		data = buffer;
+		position = 0;
+		limit = 0;
+		parse();
+	}
+
+	public void parse (InputStream input) {
+		Reader reader;
+		try {
+			reader = new InputStreamReader(input, "UTF-8");
+		} catch (IOException ex) {
+			StreamUtils.closeQuietly(input);
+			throw new SerializationException("Error reading stream.", ex);
+		}
+		parse(reader);
+	}
+
+	public void parse (FileHandle file) {
+		Reader reader;
+		try {
+			reader = file.reader("UTF-8");
+		} catch (Exception ex) {
+			throw new SerializationException("Error reading file: " + file, ex);
+		}
+		try {
+			parse(reader);
+		} catch (Exception ex) {
+			throw new SerializationException("Error parsing file: " + file, ex);
+		}
+	}
+
+	private void parse () {
+		stop = false;
+		depth = 0;
+		mark = -1;
+		try {
+			while (!stop) {
+				if (depth == 0) {
+					int c = skipWhitespace();
+					if (c == -1) break;
+					if (c != '<') throw error("Error parsing XML, expected '<'");
+					position++;
+				} else if (!text()) //
+					break;
+				tag();
+			}
+			if (depth > 0 && !stop) throw new SerializationException("Error parsing XML, unclosed element.");
+		} finally {
+			StreamUtils.closeQuietly(reader);
+			reader = null;
+			data = buffer;
+			decoded.clear();
+		}
+	}
+
+	/** Reads a tag after its '<'. */
+	private void tag () {
+		int c = next();
+		while (isWhitespace(c))
+			c = next();
+		switch (c) {
+		case -1:
+			throw error("Error parsing XML, unexpected end of input");
+		case '?':
+			skipTo('>');
+			return;
+		case '!':
+			if (lookahead("[CDATA[")) {
+				position += 7;
+				cdata();
+			} else if (lookahead("--")) {
+				position += 2;
+				while (true) {
+					c = next();
+					if (c == -1) throw error("Error parsing XML, unclosed comment");
+					if (c == '-' && charAt(0) == '-' && charAt(1) == '>') {
+						position += 2;
+						return;
+					}
+				}
+			} else
+				skipTo('>');
+			return;
+		case '/': {
+			skipWhitespace();
+			mark = nameStart = position;
+			while (true) {
+				c = peek();
+				if (c == -1 || c == '>' || isWhitespace(c)) break;
+				position++;
+			}
+			nameEnd = position;
+			skipTo('>');
+			if (depth == 0) throw error("Error parsing XML, unexpected end tag");
+			depth--;
+			close(token(name, nameStart, nameEnd));
+			mark = -1;
+			return;
+		}
+		}
+
+		// Start tag. The mark keeps the whole tag in the buffer.
+		mark = nameStart = position - 1;
+		while (true) {
+			c = peek();
+			if (c == -1 || c == '>' || c == '/' || isWhitespace(c)) break;
+			position++;
+		}
+		nameEnd = position;
+		depth++;
+		open(token(name, nameStart, nameEnd));
+		while (true) {
+			c = skipWhitespace();
+			if (c == '>') {
+				position++;
+				break;
+			}
+			if (c == '/') {
+				position++;
+				if (skipWhitespace() != '>') throw error("Error parsing XML, expected '>'");
+				position++;
+				depth--;
+				if (!stop) close(token(name, nameStart, nameEnd));
+				break;
+			}
+			if (c == -1) throw error("Error parsing XML, unexpected end of input");
+
+			attributeStart = position;
+			while (true) {
+				c = peek();
+				if (c == -1 || c == '=' || c == '>' || c == '/' || isWhitespace(c)) break;
+				position++;
+			}
+			attributeEnd = position;
+			if (skipWhitespace() != '=') throw error("Error parsing XML, expected '='");
+			position++;
+			int quote = skipWhitespace();
+			if (quote != '"' && quote != '\'') throw error("Error parsing XML, expected quote");
+			int valueStart = ++position;
+			while (true) {
+				if (position == limit) {
+					int offset = position - valueStart;
+					if (!fill()) throw error("Error parsing XML, unexpected end of input");
+					valueStart = position - offset;
+				}
+				if (data[position] == quote) break;
+				position++;
+			}
+			int valueEnd = trimEnd(valueStart, position);
+			position++;
+			if (stop) continue;
+			attribute(token(attributeName, attributeStart, attributeEnd), entities(value, valueStart, valueEnd));
+		}
+		mark = -1;
+	}
+
+	/** Reads text up to and including the next '<'.
+	 * @return false if the end of the input is reached. */
+	private boolean text () {
+		int c;
+		while (true) {
+			c = next();
+			if (c == -1) return false;
+			if (c == '<') return true;
+			if (!isWhitespace(c)) break;
+		}
+		int start = position - 1;
+		mark = start;
+		while (true) {
+			char[] data = this.data;
+			int p = position, limit = this.limit;
+			while (p < limit && data[p] != '<')
+				p++;
+			if (p < limit) {
+				int end = trimEnd(start, p);
+				position = p + 1;
+				mark = -1;
+				if (end > start && !stop) text(entities(value, start, end));
+				return true;
+			}
+			// Provide the text so far, except trailing whitespace and an incomplete entity, which are kept for the next chunk.
+			int end = trimEnd(start, p);
+			for (int i = end - 1; i >= start; i--) {
+				char ch = data[i];
+				if (ch == ';') break;
+				if (ch == '&') {
+					end = i;
+					break;
+				}
+			}
+			if (end > start) {
+				if (!stop) text(entities(value, start, end));
+				start = end;
+			}
+			position = p;
+			mark = start;
+			if (!fill()) return false;
+			start = mark;
+		}
+	}
+
+	/** Reads CDATA text after its "<![CDATA[". */
+	private void cdata () {
+		int start = position;
+		mark = start;
+		while (true) {
+			char[] data = this.data;
+			int p = position, limit = this.limit - 2;
+			while (p < limit && (data[p] != ']' || data[p + 1] != ']' || data[p + 2] != '>'))
+				p++;
+			if (p < limit) {
+				position = p + 3;
+				mark = -1;
+				if (p > start && !stop) text(token(value, start, p));
+				return;
+			}
+			if (p > start) {
+				if (!stop) text(token(value, start, p));
+				start = p;
+			}
+			position = p;
+			mark = start;
+			if (!fill()) throw error("Error parsing XML, unclosed CDATA");
+			start = mark;
+		}
+	}
+
+	private XmlToken token (XmlToken token, int start, int end) {
+		token.chars = data;
+		token.start = start;
+		token.length = end - start;
+		return token;
+	}
+
+	/** Sets the token to the chars from start to end, replacing entities. */
+	private XmlToken entities (XmlToken token, int start, int end) {
+		char[] data = this.data;
+		int i = start;
+		while (i < end && data[i] != '&')
+			i++;
+		if (i == end) return token(token, start, end);
+		CharArray decoded = this.decoded;
+		decoded.clear();
+		while (true) {
+			decoded.append(data, start, i - start);
+			if (i == end) break;
+			int entityStart = ++i;
+			while (i < end && data[i] != ';')
+				i++;
+			if (i == end) { // No ';'.
+				decoded.append('&');
+				start = entityStart;
+				i = end;
+				continue;
+			}
+			String entityName = new String(data, entityStart, i - entityStart);
+			String value = entity(entityName);
+			decoded.append(value != null ? value : entityName);
+			start = ++i;
+			while (i < end && data[i] != '&')
+				i++;
+		}
+		token.chars = decoded.items;
+		token.start = 0;
+		token.length = decoded.size;
+		return token;
+	}
+
+	private int trimEnd (int start, int end) {
+		while (end > start && isWhitespace(data[end - 1]))
+			end--;
+		return end;
+	}
+
+	private void skipTo (char c) {
+		while (true) {
+			int next = next();
+			if (next == c) return;
+			if (next == -1) throw error("Error parsing XML, expected '" + c + "'");
+		}
+	}
+
+	/** Returns the next char which is not whitespace without consuming it, or -1 at the end of the input. */
+	private int skipWhitespace () {
+		while (true) {
+			int c = peek();
+			if (!isWhitespace(c)) return c;
+			position++;
+		}
+	}
+
+	private boolean lookahead (String text) {
+		for (int i = 0, n = text.length(); i < n; i++)
+			if (charAt(i) != text.charAt(i)) return false;
+		return true;
+	}
+
+	private int charAt (int offset) {
+		while (position + offset >= limit)
+			if (!fill()) return -1;
+		return data[position + offset];
+	}
+
+	private int peek () {
+		if (position == limit && !fill()) return -1;
+		return data[position];
+	}
+
+	private int next () {
+		if (position == limit && !fill()) return -1;
+		return data[position++];
+	}
+
+	/** Reads more input, keeping the chars from the mark or the position.
+	 * @return false if the end of the input was reached. */
+	private boolean fill () {
+		Reader reader = this.reader;
+		if (reader == null) return false;
+		int keep = mark != -1 ? mark : position;
+		if (keep > 0) {
+			System.arraycopy(data, keep, data, 0, limit - keep);
+			limit -= keep;
+			position -= keep;
+			if (mark != -1) mark -= keep;
+			nameStart -= keep;
+			nameEnd -= keep;
+			attributeStart -= keep;
+			attributeEnd -= keep;
+		}
+		if (limit == data.length) data = Arrays.copyOf(data, data.length << 1);
+		try {
+			int count;
+			do
+				count = reader.read(data, limit, data.length - limit);
+			while (count == 0);
+			if (count == -1) {
+				StreamUtils.closeQuietly(reader);
+				this.reader = null;
+				return false;
+			}
+			limit += count;
+			return true;
+		} catch (IOException ex) {
+			throw new SerializationException("Error reading XML.", ex);
+		}
+	}
+
+	private SerializationException error (String message) {
+		int p = Math.min(Math.max(position, 0), limit);
+		return new SerializationException(message + " near: " + new String(data, p, Math.min(32, limit - p)));
+	}
+
+	static private boolean isWhitespace (int c) {
+		return c == ' ' || (c >= '\t' && c <= '\r');
+	}
+
+	/** Sets a cache that is used when element and attribute names are converted to strings, or null to create a new string each
+	 * time (the default). */
+	public void setNameCache (@Null NameCache nameCache) {
+		name.nameCache = nameCache;
+		attributeName.nameCache = nameCache;
+	}
+
+	/** Causes parsing to stop after the current tag or text. */
+	public void stop () {
+		stop = true;
+	}
+
+	public boolean isStopped () {
+		return stop;
+	}
+
+	/** Called when an element is opened. Attributes follow.
+	 * @param name Reused after this method returns. */
+	protected void open (XmlToken name) {
+	}
+
+	/** Called for each attribute of the element that was opened.
+	 * @param name Reused after this method returns.
+	 * @param value Reused after this method returns. */
+	protected void attribute (XmlToken name, XmlToken value) {
+	}
+
+	/** Called with text in the current element. Text that does not fit in the buffer is provided in multiple chunks, and mixed
+	 * content is provided between the child elements. Leading and trailing whitespace is removed and entities are replaced.
+	 * @param text Reused after this method returns. */
+	protected void text (XmlToken text) {
+	}
+
+	/** Called when an element is closed.
+	 * @param name Reused after this method returns. */
+	protected void close (XmlToken name) {
+	}
+
+	protected @Null String entity (String name) {
+		if (name.equals("lt")) return "<";
+		if (name.equals("gt")) return ">";
+		if (name.equals("amp")) return "&";
+		if (name.equals("apos")) return "'";
+		if (name.equals("quot")) return "\"";
+		if (name.startsWith("#x")) return Character.toString((char)Integer.parseInt(name.substring(2), 16));
+		return null;
+	}
+
+	/** A name, attribute value or text, which references the parser's buffer. */
+	static public class XmlToken {
+		public char[] chars;
+		public int start, length;
+		@Null NameCache nameCache;
+
+		public boolean equalsString (String string) {
+			int n = length;
+			if (string.length() != n) return false;
+			char[] chars = this.chars;
+			for (int c = start, s = 0; s < n; c++, s++)
+				if (chars[c] != string.charAt(s)) return false;
+			return true;
+		}
+
+		/** Allocates a string, unless a {@link NameCache} is used and has the name. */
+		public String toString () {
+			if (nameCache != null) return nameCache.get(chars, start, length);
+			return new String(chars, start, length);
+		}
+	}
+}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+/** Chooses the {@link BulkOps} implementation. This is the Java 17 version, packaged in the multi-release gdx jar, which uses
+ * {@link VectorBulkOps} when the {@code jdk.incubator.vector} module has been added to the boot layer, eg with
+ * {@code --add-modules jdk.incubator.vector}. */
+class BulkOpsProvider {
+	static BulkOps create () {
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+			try {
+				return new VectorBulkOps();
+			} catch (Throwable ignored) {
+			}
+		}
+		return new BulkOps();
+	}
+}
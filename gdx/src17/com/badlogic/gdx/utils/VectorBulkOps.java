@@ -0,0 +1,326 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/** {@link BulkOps} using the incubating Vector API. Each method processes as many items as possible using the preferred vector
+ * size, then the remaining items using scalar code. Prefix sums stay scalar, they are not faster with lane shuffles. */
+class VectorBulkOps extends BulkOps {
+	static private final VectorSpecies<Float> FLOAT = FloatVector.SPECIES_PREFERRED;
+	static private final VectorSpecies<Integer> INT = IntVector.SPECIES_PREFERRED;
+	static private final VectorSpecies<Long> LONG = LongVector.SPECIES_PREFERRED;
+
+	// float
+
+	void mul (float[] items, int size, float scalar) {
+		int i = 0;
+		for (int n = FLOAT.loopBound(size); i < n; i += FLOAT.length())
+			FloatVector.fromArray(FLOAT, items, i).mul(scalar).intoArray(items, i);
+		for (; i < size; i++)
+			items[i] *= scalar;
+	}
+
+	void add (float[] items, int size, float scalar) {
+		int i = 0;
+		for (int n = FLOAT.loopBound(size); i < n; i += FLOAT.length())
+			FloatVector.fromArray(FLOAT, items, i).add(scalar).intoArray(items, i);
+		for (; i < size; i++)
+			items[i] += scalar;
+	}
+
+	void add (float[] a, float[] b, float[] out, int size) {
+		int i = 0;
+		for (int n = FLOAT.loopBound(size); i < n; i += FLOAT.length())
+			FloatVector.fromArray(FLOAT, a, i).add(FloatVector.fromArray(FLOAT, b, i)).intoArray(out, i);
+		for (; i < size; i++)
+			out[i] = a[i] + b[i];
+	}
+
+	void sub (float[] a, float[] b, float[] out, int size) {
+		int i = 0;
+		for (int n = FLOAT.loopBound(size); i < n; i += FLOAT.length())
+			FloatVector.fromArray(FLOAT, a, i).sub(FloatVector.fromArray(FLOAT, b, i)).intoArray(out, i);
+		for (; i < size; i++)
+			out[i] = a[i] - b[i];
+	}
+
+	void mul (float[] a, float[] b, float[] out, int size) {
+		int i = 0;
+		for (int n = FLOAT.loopBound(size); i < n; i += FLOAT.length())
+			FloatVector.fromArray(FLOAT, a, i).mul(FloatVector.fromArray(FLOAT, b, i)).intoArray(out, i);
+		for (; i < size; i++)
+			out[i] = a[i] * b[i];
+	}
+
+	void clamp (float[] items, int size, float min, float max) {
+		int i = 0;
+		for (int n = FLOAT.loopBound(size); i < n; i += FLOAT.length())
+			FloatVector.fromArray(FLOAT, items, i).max(min).min(max).intoArray(items, i);
+		for (; i < size; i++) {
+			float value = items[i];
+			items[i] = value < min ? min : (value > max ? max : value);
+		}
+	}
+
+	float sum (float[] items, int size) {
+		int i = 0;
+		FloatVector sums = FloatVector.zero(FLOAT);
+		for (int n = FLOAT.loopBound(size); i < n; i += FLOAT.length())
+			sums = sums.add(FloatVector.fromArray(FLOAT, items, i));
+		float sum = sums.reduceLanes(VectorOperators.ADD);
+		for (; i < size; i++)
+			sum += items[i];
+		return sum;
+	}
+
+	float dot (float[] a, float[] b, int size) {
+		int i = 0;
+		FloatVector sums = FloatVector.zero(FLOAT);
+		for (int n = FLOAT.loopBound(size); i < n; i += FLOAT.length())
+			sums = FloatVector.fromArray(FLOAT, a, i).fma(FloatVector.fromArray(FLOAT, b, i), sums);
+		float sum = sums.reduceLanes(VectorOperators.ADD);
+		for (; i < size; i++)
+			sum += a[i] * b[i];
+		return sum;
+	}
+
+	float min (float[] items, int size) {
+		float min = items[0];
+		if (min != min) return min; // The scalar loop never replaces NaN.
+		// Lanes only take smaller values, so NaN is skipped as in the scalar loop, which Math.min semantics would not do.
+		int i = 0, n = FLOAT.loopBound(size);
+		if (n > 0) {
+			FloatVector mins = FloatVector.broadcast(FLOAT, min);
+			for (; i < n; i += FLOAT.length()) {
+				FloatVector vector = FloatVector.fromArray(FLOAT, items, i);
+				mins = mins.blend(vector, vector.lt(mins));
+			}
+			for (int lane = 0, lanes = FLOAT.length(); lane < lanes; lane++) {
+				float value = mins.lane(lane);
+				if (value < min) min = value;
+			}
+		}
+		for (; i < size; i++)
+			if (items[i] < min) min = items[i];
+		return min;
+	}
+
+	float max (float[] items, int size) {
+		float max = items[0];
+		if (max != max) return max;
+		int i = 0, n = FLOAT.loopBound(size);
+		if (n > 0) {
+			FloatVector maxs = FloatVector.broadcast(FLOAT, max);
+			for (; i < n; i += FLOAT.length()) {
+				FloatVector vector = FloatVector.fromArray(FLOAT, items, i);
+				maxs = maxs.blend(vector, vector.compare(VectorOperators.GT, maxs));
+			}
+			for (int lane = 0, lanes = FLOAT.length(); lane < lanes; lane++) {
+				float value = maxs.lane(lane);
+				if (value > max) max = value;
+			}
+		}
+		for (; i < size; i++)
+			if (items[i] > max) max = items[i];
+		return max;
+	}
+
+	// Like the scalar loop, the first index equal to the min is found, with -0 equal to 0, and the min is only NaN if items[0] is.
+	int indexOfMin (float[] items, int size) {
+		float min = min(items, size);
+		return min != min ? 0 : indexOf(items, size, min);
+	}
+
+	int indexOfMax (float[] items, int size) {
+		float max = max(items, size);
+		return max != max ? 0 : indexOf(items, size, max);
+	}
+
+	private int indexOf (float[] items, int size, float value) {
+		int i = 0;
+		for (int n = FLOAT.loopBound(size); i < n; i += FLOAT.length()) {
+			VectorMask<Float> mask = FloatVector.fromArray(FLOAT, items, i).eq(value);
+			if (mask.anyTrue()) return i + mask.firstTrue();
+		}
+		for (; i < size; i++)
+			if (items[i] == value) return i;
+		return -1;
+	}
+
+	int selectGreater (float[] items, int size, float threshold, int[] indices, int offset) {
+		int i = 0, count = offset;
+		for (int n = FLOAT.loopBound(size); i < n; i += FLOAT.length()) {
+			long bits = FloatVector.fromArray(FLOAT, items, i).compare(VectorOperators.GT, threshold).toLong();
+			while (bits != 0) {
+				indices[count++] = i + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+			}
+		}
+		for (; i < size; i++)
+			if (items[i] > threshold) indices[count++] = i;
+		return count - offset;
+	}
+
+	// int
+
+	void mul (int[] items, int size, int scalar) {
+		int i = 0;
+		for (int n = INT.loopBound(size); i < n; i += INT.length())
+			IntVector.fromArray(INT, items, i).mul(scalar).intoArray(items, i);
+		for (; i < size; i++)
+			items[i] *= scalar;
+	}
+
+	void add (int[] items, int size, int scalar) {
+		int i = 0;
+		for (int n = INT.loopBound(size); i < n; i += INT.length())
+			IntVector.fromArray(INT, items, i).add(scalar).intoArray(items, i);
+		for (; i < size; i++)
+			items[i] += scalar;
+	}
+
+	void add (int[] a, int[] b, int[] out, int size) {
+		int i = 0;
+		for (int n = INT.loopBound(size); i < n; i += INT.length())
+			IntVector.fromArray(INT, a, i).add(IntVector.fromArray(INT, b, i)).intoArray(out, i);
+		for (; i < size; i++)
+			out[i] = a[i] + b[i];
+	}
+
+	void sub (int[] a, int[] b, int[] out, int size) {
+		int i = 0;
+		for (int n = INT.loopBound(size); i < n; i += INT.length())
+			IntVector.fromArray(INT, a, i).sub(IntVector.fromArray(INT, b, i)).intoArray(out, i);
+		for (; i < size; i++)
+			out[i] = a[i] - b[i];
+	}
+
+	void mul (int[] a, int[] b, int[] out, int size) {
+		int i = 0;
+		for (int n = INT.loopBound(size); i < n; i += INT.length())
+			IntVector.fromArray(INT, a, i).mul(IntVector.fromArray(INT, b, i)).intoArray(out, i);
+		for (; i < size; i++)
+			out[i] = a[i] * b[i];
+	}
+
+	void clamp (int[] items, int size, int min, int max) {
+		int i = 0;
+		for (int n = INT.loopBound(size); i < n; i += INT.length())
+			IntVector.fromArray(INT, items, i).max(min).min(max).intoArray(items, i);
+		for (; i < size; i++) {
+			int value = items[i];
+			items[i] = value < min ? min : (value > max ? max : value);
+		}
+	}
+
+	long sum (int[] items, int size) {
+		// Each int vector is widened to two long vectors so the sum can't overflow.
+		int i = 0;
+		LongVector sums = LongVector.zero(LONG);
+		for (int n = INT.loopBound(size); i < n; i += INT.length()) {
+			IntVector v = IntVector.fromArray(INT, items, i);
+			sums = sums.add(v.convert(VectorOperators.I2L, 0)).add(v.convert(VectorOperators.I2L, 1));
+		}
+		long sum = sums.reduceLanes(VectorOperators.ADD);
+		for (; i < size; i++)
+			sum += items[i];
+		return sum;
+	}
+
+	long dot (int[] a, int[] b, int size) {
+		int i = 0;
+		LongVector sums = LongVector.zero(LONG);
+		for (int n = INT.loopBound(size); i < n; i += INT.length()) {
+			IntVector va = IntVector.fromArray(INT, a, i), vb = IntVector.fromArray(INT, b, i);
+			sums = sums.add(((LongVector)va.convert(VectorOperators.I2L, 0)).mul((LongVector)vb.convert(VectorOperators.I2L, 0)));
+			sums = sums.add(((LongVector)va.convert(VectorOperators.I2L, 1)).mul((LongVector)vb.convert(VectorOperators.I2L, 1)));
+		}
+		long sum = sums.reduceLanes(VectorOperators.ADD);
+		for (; i < size; i++)
+			sum += (long)a[i] * b[i];
+		return sum;
+	}
+
+	int min (int[] items, int size) {
+		int i = 0;
+		int min = items[0];
+		int n = INT.loopBound(size);
+		if (n > 0) {
+			IntVector mins = IntVector.fromArray(INT, items, 0);
+			for (i = INT.length(); i < n; i += INT.length())
+				mins = mins.min(IntVector.fromArray(INT, items, i));
+			min = mins.reduceLanes(VectorOperators.MIN);
+		}
+		for (; i < size; i++)
+			if (items[i] < min) min = items[i];
+		return min;
+	}
+
+	int max (int[] items, int size) {
+		int i = 0;
+		int max = items[0];
+		int n = INT.loopBound(size);
+		if (n > 0) {
+			IntVector maxs = IntVector.fromArray(INT, items, 0);
+			for (i = INT.length(); i < n; i += INT.length())
+				maxs = maxs.max(IntVector.fromArray(INT, items, i));
+			max = maxs.reduceLanes(VectorOperators.MAX);
+		}
+		for (; i < size; i++)
+			if (items[i] > max) max = items[i];
+		return max;
+	}
+
+	int indexOfMin (int[] items, int size) {
+		return indexOf(items, size, min(items, size));
+	}
+
+	int indexOfMax (int[] items, int size) {
+		return indexOf(items, size, max(items, size));
+	}
+
+	private int indexOf (int[] items, int size, int value) {
+		int i = 0;
+		for (int n = INT.loopBound(size); i < n; i += INT.length()) {
+			VectorMask<Integer> mask = IntVector.fromArray(INT, items, i).eq(value);
+			if (mask.anyTrue()) return i + mask.firstTrue();
+		}
+		for (; i < size; i++)
+			if (items[i] == value) return i;
+		return -1;
+	}
+
+	int selectGreater (int[] items, int size, int threshold, int[] indices, int offset) {
+		int i = 0, count = offset;
+		for (int n = INT.loopBound(size); i < n; i += INT.length()) {
+			long bits = IntVector.fromArray(INT, items, i).compare(VectorOperators.GT, threshold).toLong();
+			while (bits != 0) {
+				indices[count++] = i + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+			}
+		}
+		for (; i < size; i++)
+			if (items[i] > threshold) indices[count++] = i;
+		return count - offset;
+	}
+}
@@ -0,0 +1,106 @@
+package com.badlogic.gdx.graphics.g2d;
+
+import static com.badlogic.gdx.graphics.g2d.Batch.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class InstancedSpriteBatchTest {
+	@Test
+	public void testTransform () {
+		float[][] cases = { //
+			{10, 20, 0, 0, 32, 16, 1, 1, 0}, //
+			{10, 20, 16, 8, 32, 16, 1, 1, 45}, //
+			{-5, 7, 3, 4, 10, 20, 2, 0.5f, 30}, //
+			{100, 50, 5, 5, 10, 10, -1, 1, 270}, //
+			{0, 0, 8, 2, 16, 4, 1.5f, -2, -123.5f}};
+		float[] instance = new float[InstancedSpriteBatch.INSTANCE_SIZE];
+		float[] vertices = new float[20];
+		for (float[] c : cases) {
+			Sprite sprite = new Sprite();
+			sprite.setBounds(c[0], c[1], c[4], c[5]);
+			sprite.setOrigin(c[2], c[3]);
+			sprite.setScale(c[6], c[7]);
+			sprite.setRotation(c[8]);
+			float[] expected = sprite.getVertices();
+			setRegion(expected, 0.25f, 0.5f, 0.75f, 1);
+
+			InstancedSpriteBatch.setTransform(instance, 0, c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7], c[8]);
+			instance[6] = 0.25f;
+			instance[7] = 1;
+			instance[8] = 0.75f;
+			instance[9] = 0.5f;
+			instance[10] = expected[C1];
+			InstancedSpriteBatch.toVertices(instance, 0, vertices, 0);
+			assertVertices(expected, vertices);
+		}
+	}
+
+	@Test
+	public void testSpriteVertices () {
+		float[] instance = new float[InstancedSpriteBatch.INSTANCE_SIZE];
+		float[] vertices = new float[20];
+		for (int i = 0; i < 8; i++) {
+			Sprite sprite = new Sprite();
+			sprite.setBounds(5, 6, 30, 20);
+			sprite.setOrigin(10, 5);
+			sprite.setRotation(i * 37);
+			sprite.setColor(1, 0.5f, 0.25f, 1);
+			setRegion(sprite.getVertices(), 0.1f, 0.2f, 0.3f, 0.4f);
+			if ((i & 1) != 0) sprite.flip(true, false);
+			if ((i & 2) != 0) sprite.flip(false, true);
+			if ((i & 4) != 0) sprite.rotate90(i < 6);
+			float[] expected = sprite.getVertices();
+
+			InstancedSpriteBatch.toInstance(expected, 0, instance, 0);
+			InstancedSpriteBatch.toVertices(instance, 0, vertices, 0);
+			assertVertices(expected, vertices);
+		}
+	}
+
+	@Test
+	public void testParallelogram () {
+		// A sheared quad, as drawn with an Affine2.
+		float[] expected = {0, 0, 1, 0, 1, 5, 10, 1, 0, 0, 25, 10, 1, 1, 0, 20, 0, 1, 1, 1};
+		float[] instance = new float[InstancedSpriteBatch.INSTANCE_SIZE];
+		float[] vertices = new float[20];
+		InstancedSpriteBatch.toInstance(expected, 0, instance, 0);
+		assertEquals(20, instance[2], 0);
+		assertEquals(5, instance[4], 0);
+		assertEquals(10, instance[5], 0);
+		InstancedSpriteBatch.toVertices(instance, 0, vertices, 0);
+		assertVertices(expected, vertices);
+	}
+
+	/** Sets the texture coordinates the same as {@link Sprite#setRegion(float, float, float, float)}. */
+	private void setRegion (float[] vertices, float u, float v, float u2, float v2) {
+		vertices[U1] = u;
+		vertices[V1] = v2;
+		vertices[U2] = u;
+		vertices[V2] = v;
+		vertices[U3] = u2;
+		vertices[V3] = v;
+		vertices[U4] = u2;
+		vertices[V4] = v2;
+	}
+
+	/** Rotated regions result in the same corners with the second and fourth swapped, which are the same triangles. */
+	private void assertVertices (float[] expected, float[] actual) {
+		assertVertex(expected, 0, actual, 0);
+		assertVertex(expected, 10, actual, 10);
+		if (Math.abs(expected[5] - actual[5]) < 0.001f && Math.abs(expected[6] - actual[6]) < 0.001f) {
+			assertVertex(expected, 5, actual, 5);
+			assertVertex(expected, 15, actual, 15);
+		} else {
+			assertVertex(expected, 5, actual, 15);
+			assertVertex(expected, 15, actual, 5);
+		}
+	}
+
+	private void assertVertex (float[] expected, int expectedOffset, float[] actual, int actualOffset) {
+		assertEquals(expected[expectedOffset], actual[actualOffset], 0.001f);
+		assertEquals(expected[expectedOffset + 1], actual[actualOffset + 1], 0.001f);
+		for (int i = 2; i < 5; i++)
+			assertEquals(expected[expectedOffset + i], actual[actualOffset + i], 0);
+	}
+}
@@ -0,0 +1,125 @@
+package com.badlogic.gdx.graphics.g2d;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class SpriteArraysTest {
+	@Test
+	public void testVertices () {
+		TextureRegion region = region(0.25f, 0.5f, 0.75f, 1);
+		SpriteArrays sprites = new SpriteArrays();
+		sprites.add(region, 10, 20, 32, 16, 1);
+		sprites.add(region, 10, 20, 16, 8, 32, 16, 1, 1, 45, 2);
+		sprites.add(region, -5, 7, 3, 4, 10, 20, 2, 0.5f, 30, 3);
+		sprites.add(region, 0, 0, 8, 2, 16, 4, 1.5f, -2, -123.5f, 4);
+		float[] vertices = new float[sprites.size * 20];
+		sprites.getVertices(0, sprites.size, vertices, 0, true);
+
+		for (int i = 0; i < sprites.size; i++) {
+			Sprite sprite = new Sprite();
+			sprite.setBounds(sprites.x[i], sprites.y[i], sprites.width[i], sprites.height[i]);
+			sprite.setOrigin(sprites.originX[i], sprites.originY[i]);
+			sprite.setScale(sprites.scaleX[i], sprites.scaleY[i]);
+			sprite.setRotation(sprites.rotation[i]);
+			float[] expected = sprite.getVertices();
+			for (int j = 0; j < 20; j += 5) {
+				assertEquals(expected[j], vertices[i * 20 + j], 0.001f);
+				assertEquals(expected[j + 1], vertices[i * 20 + j + 1], 0.001f);
+				assertEquals(i + 1, vertices[i * 20 + j + 2], 0);
+			}
+			// Bottom left and top right texture coordinates.
+			assertEquals(0.25f, vertices[i * 20 + 3], 0);
+			assertEquals(1, vertices[i * 20 + 4], 0);
+			assertEquals(0.75f, vertices[i * 20 + 13], 0);
+			assertEquals(0.5f, vertices[i * 20 + 14], 0);
+		}
+	}
+
+	@Test
+	public void testTriangles () {
+		SpriteArrays sprites = random(10);
+		float[] indexed = new float[10 * 20];
+		float[] triangles = new float[10 * 30];
+		sprites.getVertices(0, 10, indexed, 0, true);
+		sprites.getVertices(0, 10, triangles, 0, false);
+		int[] corners = {0, 1, 2, 2, 3, 0};
+		for (int i = 0; i < 10; i++)
+			for (int j = 0; j < 6; j++)
+				for (int k = 0; k < 5; k++)
+					assertEquals(indexed[i * 20 + corners[j] * 5 + k], triangles[i * 30 + j * 5 + k], 0);
+	}
+
+	@Test
+	public void testRange () {
+		SpriteArrays sprites = random(20);
+		float[] all = new float[20 * 20];
+		float[] range = new float[5 * 20 + 3];
+		sprites.getVertices(0, 20, all, 0, true);
+		sprites.getVertices(7, 5, range, 3, true);
+		for (int i = 0; i < 5 * 20; i++)
+			assertEquals(all[7 * 20 + i], range[3 + i], 0);
+		try {
+			sprites.getVertices(18, 5, all, 0, true);
+			fail();
+		} catch (IndexOutOfBoundsException expected) {
+		}
+	}
+
+	@Test
+	public void testParallel () {
+		SpriteArrays sprites = random(10000);
+		ParallelSpriteVertices parallel = new ParallelSpriteVertices(new ForkJoinPool(4));
+		parallel.threshold = 100;
+		for (boolean indexed : new boolean[] {true, false}) {
+			int floats = SpriteArrays.getVertexFloats(indexed);
+			float[] expected = new float[9000 * floats];
+			float[] actual = new float[9000 * floats];
+			sprites.getVertices(500, 9000, expected, 0, indexed);
+			parallel.getVertices(sprites, 500, 9000, actual, 0, indexed);
+			assertArrayEquals(expected, actual, 0);
+		}
+	}
+
+	@Test
+	public void testGrow () {
+		SpriteArrays sprites = new SpriteArrays(1);
+		TextureRegion region = region(0, 0, 1, 1);
+		for (int i = 0; i < 100; i++)
+			assertEquals(i, sprites.add(region, i, -i, 1, 1, i));
+		sprites.ensureCapacity(1000);
+		assertTrue(sprites.color.length >= 1100);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i, sprites.x[i], 0);
+			assertEquals(-i, sprites.y[i], 0);
+			assertEquals(i, sprites.color[i], 0);
+		}
+		sprites.clear();
+		assertEquals(0, sprites.size);
+	}
+
+	private TextureRegion region (float u, float v, float u2, float v2) {
+		TextureRegion region = new TextureRegion();
+		region.u = u;
+		region.v = v;
+		region.u2 = u2;
+		region.v2 = v2;
+		return region;
+	}
+
+	private SpriteArrays random (int count) {
+		Random random = new Random(1);
+		SpriteArrays sprites = new SpriteArrays(count);
+		for (int i = 0; i < count; i++) {
+			TextureRegion region = region(random.nextFloat(), random.nextFloat(), random.nextFloat(), random.nextFloat());
+			float rotation = random.nextBoolean() ? 0 : random.nextFloat() * 360;
+			sprites.add(region, random.nextFloat() * 1000, random.nextFloat() * 1000, random.nextFloat() * 16,
+				random.nextFloat() * 16, 32, 32, 0.5f + random.nextFloat(), 0.5f + random.nextFloat(), rotation,
+				random.nextFloat());
+		}
+		return sprites;
+	}
+}
@@ -0,0 +1,50 @@
+package com.badlogic.gdx.graphics.g3d.loader;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+public class G3dModelLoaderTest {
+	static private final String model = "{\"version\":[0,1],\"id\":\"test\",\"meshes\":[{\"attributes\":[\"POSITION\"],"
+		+ "\"vertices\":[0,0,0,1,0,0,0,1,0],\"parts\":[{\"id\":\"part\",\"type\":\"TRIANGLES\",\"indices\":[0,1,2]}]}]}";
+
+	@Test
+	public void testStreamedMeshes () throws IOException {
+		ModelData data = new G3dModelLoader(new JsonReader()).parseModel(modelFile());
+		Assert.assertEquals("test", data.id);
+		Assert.assertEquals(1, data.meshes.size);
+		Assert.assertArrayEquals(new float[] {0, 0, 0, 1, 0, 0, 0, 1, 0}, data.meshes.get(0).vertices, 0);
+		Assert.assertArrayEquals(new short[] {0, 1, 2}, data.meshes.get(0).parts[0].indices);
+	}
+
+	@Test
+	public void testOverriddenParseMeshes () throws IOException {
+		final int[] calls = new int[1];
+		G3dModelLoader loader = new G3dModelLoader(new JsonReader()) {
+			protected void parseMeshes (ModelData model, JsonValue json) {
+				calls[0]++;
+				Assert.assertNotNull(json.get("meshes"));
+				super.parseMeshes(model, json);
+			}
+		};
+		ModelData data = loader.parseModel(modelFile());
+		Assert.assertEquals(1, calls[0]);
+		Assert.assertEquals(1, data.meshes.size);
+		Assert.assertArrayEquals(new short[] {0, 1, 2}, data.meshes.get(0).parts[0].indices);
+	}
+
+	static private FileHandle modelFile () throws IOException {
+		File file = File.createTempFile("G3dModelLoaderTest", ".g3dj");
+		file.deleteOnExit();
+		FileHandle handle = new FileHandle(file);
+		handle.writeString(model, false, "UTF-8");
+		return handle;
+	}
+}
@@ -0,0 +1,156 @@
+package com.badlogic.gdx.maps.tiled;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.TmxMapReader.LayerData;
+import com.badlogic.gdx.utils.Base64Coder;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+
+import static org.junit.Assert.*;
+
+public class TmxMapReaderTest {
+	@Test
+	public void testLayerData () throws IOException {
+		int width = 150, height = 120;
+		int[] ids = new int[width * height];
+		Random random = new Random(123);
+		for (int i = 0; i < ids.length; i++)
+			ids[i] = random.nextInt(10) == 0 ? 0x80000000 | random.nextInt(100) : random.nextInt(1000);
+
+		StringBuilder csv = new StringBuilder("\n");
+		for (int i = 0; i < ids.length; i++) {
+			csv.append(ids[i] & 0xffffffffL);
+			if (i < ids.length - 1) csv.append(',');
+			if (i % width == width - 1) csv.append('\n');
+		}
+		StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		xml.append("<map width=\"" + width + "\" height=\"" + height + "\" tilewidth=\"16\" tileheight=\"16\">\n");
+		xml.append("<tileset firstgid=\"1\" name=\"tiles\"><image source=\"tiles.png\"/></tileset>\n");
+		xml.append(layer("csv", width, height, "encoding=\"csv\"", csv.toString()));
+		xml.append("<group name=\"group\">");
+		xml.append(layer("base64", width, height, "encoding=\"base64\"", base64(ids, null)));
+		xml.append(layer("gzip", width, height, "encoding=\"base64\" compression=\"gzip\"", base64(ids, "gzip")));
+		xml.append("</group>");
+		xml.append(layer("zlib", width, height, "encoding=\"base64\" compression=\"zlib\"", base64(ids, "zlib")));
+		xml.append("<layer name=\"infinite\" width=\"0\" height=\"0\"><data encoding=\"csv\"><chunk x=\"0\" y=\"0\" width=\"2\" height=\"1\">"
+			+ "1,2</chunk></data></layer>");
+		xml.append("<objectgroup name=\"objects\"><object id=\"1\" x=\"1\" y=\"2\"><properties>"
+			+ "<property name=\"a\" value=\"&lt;b&gt;\"/></properties></object></objectgroup>\n");
+		xml.append("</map>");
+
+		Element expected = new XmlReader().parse(xml.toString());
+		Element root = new TmxMapReader().read(xml.toString());
+		assertEquals(expected.getAttributes(), root.getAttributes());
+		assertEquals(expected.getChildCount(), root.getChildCount());
+
+		for (Element layer : root.getChildrenByNameRecursively("layer")) {
+			if (layer.getIntAttribute("width") == 0) continue;
+			assertTrue(layer.getChildByName("data") instanceof LayerData);
+			assertNull(layer.getChildByName("data").getText());
+			assertArrayEquals(layer.getAttribute("name"), ids, BaseTmxMapLoader.getTileIds(layer, width, height));
+		}
+		for (Element layer : expected.getChildrenByNameRecursively("layer")) {
+			if (layer.getIntAttribute("width") == 0) continue;
+			assertArrayEquals(layer.getAttribute("name"), ids, BaseTmxMapLoader.getTileIds(layer, width, height));
+		}
+
+		// Data which can't be decoded while reading is kept as text.
+		Element infinite = root.getChild(root.getChildCount() - 2);
+		assertEquals("1,2", infinite.getChildByName("data").getChildByName("chunk").getText());
+
+		Element property = root.getChildByNameRecursive("property");
+		assertEquals("<b>", property.getAttribute("value"));
+		assertSame(root.getChildByName("layer").getName(), root.getChildByName("group").getChildByName("layer").getName());
+	}
+
+	@Test
+	public void testReadMap () throws IOException {
+		File file = File.createTempFile("map", ".tmx");
+		file.deleteOnExit();
+		FileHandle tmxFile = new FileHandle(file);
+		tmxFile.writeString("<map><layer width=\"2\" height=\"1\"><data encoding=\"csv\">1,2</data></layer></map>", false);
+
+		// The map reader is opt-in, by default the layer text is kept.
+		TmxMapLoader loader = new TmxMapLoader();
+		assertEquals("1,2", loader.readMap(tmxFile).getChildByName("layer").getChildByName("data").getText());
+		loader.mapReader = new TmxMapReader();
+		assertTrue(loader.readMap(tmxFile).getChildByName("layer").getChildByName("data") instanceof LayerData);
+
+		// A subclass of XmlReader set by a subclass of the loader still reads the map, keeping the layer text.
+		loader.xml = new XmlReader() {};
+		Element layer = loader.readMap(tmxFile).getChildByName("layer");
+		assertEquals("1,2", layer.getChildByName("data").getText());
+		assertArrayEquals(new int[] {1, 2}, BaseTmxMapLoader.getTileIds(layer, 2, 1));
+
+		loader.xml = new XmlReader();
+		loader.mapReader = null;
+		assertEquals("1,2", loader.readMap(tmxFile).getChildByName("layer").getChildByName("data").getText());
+	}
+
+	@Test
+	public void testTileIdsSize () {
+		// Ids for a size other than the layer's are laid out as the text would have been decoded.
+		String xml = "<map><layer width=\"2\" height=\"2\"><data encoding=\"csv\">1,2,3,4</data></layer></map>";
+		Element layer = new TmxMapReader().read(xml).getChildByName("layer");
+		assertArrayEquals(new int[] {1, 2, 3, 4, 0, 0}, BaseTmxMapLoader.getTileIds(layer, 3, 2));
+		try {
+			BaseTmxMapLoader.getTileIds(layer, 3, 1);
+			fail();
+		} catch (GdxRuntimeException ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().endsWith("Too many tiles"));
+		}
+
+		xml = "<map><layer width=\"1\" height=\"2\"><data encoding=\"base64\">AQAAAAIAAAA=</data></layer></map>";
+		layer = new TmxMapReader().read(xml).getChildByName("layer");
+		assertArrayEquals(new int[] {1}, BaseTmxMapLoader.getTileIds(layer, 1, 1));
+		try {
+			BaseTmxMapLoader.getTileIds(layer, 3, 1);
+			fail();
+		} catch (GdxRuntimeException ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().endsWith("Premature end of tile data"));
+		}
+	}
+
+	@Test(expected = GdxRuntimeException.class)
+	public void testPrematureEnd () {
+		new TmxMapReader().read("<map><layer width=\"2\" height=\"2\"><data encoding=\"base64\">AQAAAA==</data></layer></map>");
+	}
+
+	@Test(expected = GdxRuntimeException.class)
+	public void testTooManyTiles () {
+		new TmxMapReader().read("<map><layer width=\"1\" height=\"2\"><data encoding=\"csv\">1,2,3</data></layer></map>");
+	}
+
+	private String layer (String name, int width, int height, String encoding, String text) {
+		return "<layer id=\"1\" name=\"" + name + "\" width=\"" + width + "\" height=\"" + height + "\">\n<data " + encoding + ">"
+			+ text + "</data>\n</layer>\n";
+	}
+
+	private String base64 (int[] ids, String compression) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		OutputStream output = bytes;
+		if ("gzip".equals(compression))
+			output = new GZIPOutputStream(bytes);
+		else if ("zlib".equals(compression)) //
+			output = new DeflaterOutputStream(bytes);
+		for (int id : ids) {
+			output.write(id);
+			output.write(id >> 8);
+			output.write(id >> 16);
+			output.write(id >> 24);
+		}
+		output.close();
+		return "\n   " + new String(Base64Coder.encode(bytes.toByteArray())) + "\n  ";
+	}
+}
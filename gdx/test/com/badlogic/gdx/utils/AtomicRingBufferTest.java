@@ -0,0 +1,93 @@
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class AtomicRingBufferTest {
+
+	@Test
+	public void offerPollTest () {
+		AtomicRingBuffer<Integer> buffer = new AtomicRingBuffer<>(3);
+		// Capacity is rounded up to a power of two.
+		assertEquals(4, buffer.capacity());
+		for (int i = 0; i < 4; i++)
+			assertTrue(buffer.offer(i));
+		assertFalse(buffer.offer(4));
+		assertEquals(4, buffer.size());
+
+		assertEquals(0, (int)buffer.poll());
+		assertTrue(buffer.offer(4));
+		for (int i = 1; i <= 4; i++)
+			assertEquals(i, (int)buffer.poll());
+		assertNull(buffer.poll());
+		assertTrue(buffer.isEmpty());
+	}
+
+	@Test
+	public void drainToTest () {
+		AtomicRingBuffer<Integer> buffer = new AtomicRingBuffer<>(8);
+		// Wrap around the end of the buffer.
+		for (int i = 0; i < 6; i++)
+			buffer.offer(i);
+		for (int i = 0; i < 6; i++)
+			buffer.poll();
+		for (int i = 0; i < 7; i++)
+			buffer.offer(i);
+
+		Array<Integer> array = new Array<>();
+		assertEquals(3, buffer.drainTo(array, 3));
+		assertEquals(4, buffer.drainTo(array));
+		assertEquals(0, buffer.drainTo(array));
+		assertEquals(7, array.size);
+		for (int i = 0; i < 7; i++)
+			assertEquals(i, (int)array.get(i));
+	}
+
+	@Test
+	public void concurrentTest () throws InterruptedException {
+		final AtomicRingBuffer<Integer> buffer = new AtomicRingBuffer<>(64, AtomicRingBuffer.WaitStrategy.yielding);
+		final int producers = 4, consumers = 3, count = 20000;
+		final AtomicLong sum = new AtomicLong(), received = new AtomicLong();
+		Thread[] threads = new Thread[producers + consumers];
+		for (int i = 0; i < producers; i++) {
+			threads[i] = new Thread() {
+				public void run () {
+					for (int ii = 1; ii <= count; ii++)
+						buffer.put(ii);
+				}
+			};
+		}
+		for (int i = producers; i < threads.length; i++) {
+			final boolean drain = (i & 1) == 0;
+			threads[i] = new Thread() {
+				public void run () {
+					Array<Integer> array = new Array<>();
+					while (received.get() < producers * count) {
+						if (drain) {
+							array.clear();
+							if (buffer.drainTo(array, 16) == 0) continue;
+							for (Integer value : array)
+								sum.addAndGet(value);
+							received.addAndGet(array.size);
+						} else {
+							Integer value = buffer.poll();
+							if (value == null) continue;
+							sum.addAndGet(value);
+							received.incrementAndGet();
+						}
+					}
+				}
+			};
+		}
+		for (Thread thread : threads)
+			thread.start();
+		for (Thread thread : threads)
+			thread.join();
+		assertEquals(producers * count, received.get());
+		assertEquals((long)producers * count * (count + 1) / 2, sum.get());
+		assertTrue(buffer.isEmpty());
+	}
+}
@@ -0,0 +1,244 @@
+
+package com.badlogic.gdx.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BinarySerializerTest {
+	@Test
+	public void testVarLong () throws IOException {
+		long[] values = {0, 1, -1, 63, -64, 64, 127, 128, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE,
+			1L << 49, -(1L << 56)};
+		for (boolean optimizePositive : new boolean[] {true, false}) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutput output = new DataOutput(bytes);
+			int total = 0;
+			for (long value : values)
+				total += output.writeLong(value, optimizePositive);
+			assertEquals(total, bytes.size());
+			DataInput input = new DataInput(new ByteArrayInputStream(bytes.toByteArray()));
+			for (long value : values)
+				assertEquals(value, input.readLong(optimizePositive));
+		}
+	}
+
+	@Test
+	public void testRoundTrip () {
+		Json json = new Json();
+		json.addClassTag("entity", Entity.class);
+		BinarySerializer serializer = new BinarySerializer(json);
+
+		Entity entity = newEntity(1);
+		Entity other = newEntity(2);
+		entity.target = other;
+		other.target = entity; // Cycle.
+		entity.children.add(other);
+		entity.children.add(other); // Shared.
+
+		byte[] bytes = serializer.toBytes(entity);
+		Entity read = serializer.fromBytes(Entity.class, bytes);
+		assertEntity(entity, read);
+		assertEntity(other, read.target);
+		assertSame(read, read.target.target);
+		assertSame(read.target, read.children.get(0));
+		assertSame(read.target, read.children.get(1));
+
+		// Class and field names are written once, so many objects are smaller than JSON.
+		Array<Entity> entities = new Array();
+		for (int i = 0; i < 100; i++)
+			entities.add(newEntity(i));
+		assertTrue(serializer.toBytes(entities).length < json.toJson(entities).length());
+
+		// Without references, a shared object is written twice.
+		other.target = null;
+		serializer.setReferences(false);
+		read = serializer.fromBytes(Entity.class, serializer.toBytes(entity));
+		assertEntity(other, read.children.get(0));
+		assertNotSame(read.children.get(0), read.children.get(1));
+	}
+
+	@Test
+	public void testValues () {
+		BinarySerializer serializer = new BinarySerializer();
+		assertNull(serializer.fromBytes(Object.class, serializer.toBytes(null)));
+		assertEquals("text é", serializer.fromBytes(String.class, serializer.toBytes("text é")));
+		assertEquals(-5, (int)serializer.fromBytes(Integer.class, serializer.toBytes(-5)));
+		assertEquals(3f, serializer.fromBytes(float.class, serializer.toBytes(3)), 0);
+		assertEquals(Long.MIN_VALUE, (long)serializer.fromBytes(Long.class, serializer.toBytes(Long.MIN_VALUE)));
+		assertEquals(Kind.b, serializer.fromBytes(Kind.class, serializer.toBytes(Kind.b)));
+		assertArrayEquals(new int[] {1, -2, 300}, serializer.fromBytes(int[].class, serializer.toBytes(new int[] {1, -2, 300})));
+		assertArrayEquals(new String[] {"a", null}, serializer.fromBytes(String[].class, serializer.toBytes(new String[] {"a", null})));
+
+		ArrayList<Object> list = new ArrayList();
+		list.add("a");
+		list.add(1L);
+		list.add(Kind.a);
+		assertEquals(list, serializer.fromBytes(ArrayList.class, serializer.toBytes(list)));
+
+		HashMap<String, Object> map = new HashMap();
+		map.put("x", 2.5);
+		map.put("y", list);
+		assertEquals(map, serializer.fromBytes(HashMap.class, serializer.toBytes(map)));
+
+		ObjectIntMap<String> intMap = new ObjectIntMap();
+		intMap.put("a", 1);
+		intMap.put("b", -7);
+		assertEquals(intMap, serializer.fromBytes(ObjectIntMap.class, serializer.toBytes(intMap)));
+	}
+
+	@Test
+	public void testSerializers () {
+		Json json = new Json();
+		json.setSerializer(Point.class, new Json.Serializer<Point>() {
+			public void write (Json json, Point object, Class knownType) {
+				json.writeValue(object.x + "," + object.y);
+			}
+
+			public Point read (Json json, JsonValue jsonData, Class type) {
+				String[] values = jsonData.asString().split(",");
+				Point point = new Point();
+				point.x = Integer.parseInt(values[0]);
+				point.y = Integer.parseInt(values[1]);
+				return point;
+			}
+		});
+		BinarySerializer serializer = new BinarySerializer(json);
+
+		Shape shape = new Shape();
+		shape.name = "square";
+		shape.points.add(new Point(1, 2));
+		shape.points.add(new Point(-3, 4));
+		Shape read = serializer.fromBytes(Shape.class, serializer.toBytes(shape));
+		assertEquals(json.toJson(shape), json.toJson(read));
+	}
+
+	@Test
+	public void testChangedFields () {
+		Json json = new Json();
+		json.addClassTag("entity", Entity.class);
+		byte[] bytes = new BinarySerializer(json).toBytes(newEntity(1));
+
+		// Fields not on the class are an error unless ignored.
+		Json other = new Json();
+		other.addClassTag("entity", NewEntity.class);
+		try {
+			new BinarySerializer(other).fromBytes(NewEntity.class, bytes);
+			fail();
+		} catch (SerializationException ignored) {
+		}
+		other.setIgnoreUnknownFields(true);
+		NewEntity read = new BinarySerializer(other).fromBytes(NewEntity.class, bytes);
+		assertEquals(1, read.id);
+		assertEquals("entity 1", read.name);
+		assertEquals(7, read.added);
+	}
+
+	@Test
+	public void testPoolsAndReadFields () {
+		final Array<Entity> created = new Array();
+		Pool<Entity> pool = new Pool<Entity>() {
+			protected Entity newObject () {
+				Entity entity = new Entity();
+				created.add(entity);
+				return entity;
+			}
+		};
+		BinarySerializer serializer = new BinarySerializer();
+		serializer.setPool(Entity.class, pool);
+
+		Entity entity = newEntity(1);
+		entity.target = newEntity(2);
+		byte[] bytes = serializer.toBytes(entity);
+		Entity read = serializer.fromBytes(Entity.class, bytes);
+		assertEquals(2, created.size);
+		assertSame(created.get(0), read);
+		assertSame(created.get(1), read.target);
+		assertEntity(entity.target, read.target);
+
+		// Reads into an existing object.
+		Entity existing = new Entity();
+		serializer.readFields(existing, new DataInput(new ByteArrayInputStream(bytes)));
+		assertEntity(entity, existing);
+		assertSame(created.get(2), existing.target);
+	}
+
+	private Entity newEntity (int id) {
+		Entity entity = new Entity();
+		entity.id = id;
+		entity.name = "entity " + id;
+		entity.health = 0.5f * id;
+		entity.seed = -123456789012L * id;
+		entity.speed = Math.PI * id;
+		entity.visible = id % 2 == 0;
+		entity.kind = Kind.b;
+		entity.small = (short)-id;
+		entity.position = new float[] {id, -id, 0.25f};
+		entity.tags.add("tag" + id);
+		entity.values.put("v" + id, id);
+		return entity;
+	}
+
+	private void assertEntity (Entity expected, Entity actual) {
+		assertEquals(expected.id, actual.id);
+		assertEquals(expected.name, actual.name);
+		assertEquals(expected.health, actual.health, 0);
+		assertEquals(expected.seed, actual.seed);
+		assertEquals(expected.speed, actual.speed, 0);
+		assertEquals(expected.visible, actual.visible);
+		assertEquals(expected.kind, actual.kind);
+		assertEquals(expected.small, actual.small);
+		assertArrayEquals(expected.position, actual.position, 0);
+		assertEquals(expected.tags, actual.tags);
+		assertEquals(expected.values, actual.values);
+	}
+
+	static public enum Kind {
+		a, b
+	}
+
+	static public class Entity {
+		public int id;
+		public String name;
+		public float health;
+		public long seed;
+		public double speed;
+		public boolean visible;
+		public Kind kind;
+		short small;
+		float[] position;
+		Array<String> tags = new Array();
+		ObjectMap<String, Integer> values = new ObjectMap();
+		Entity target;
+		Array<Entity> children = new Array();
+	}
+
+	static public class NewEntity {
+		public long id;
+		public String name;
+		public int added = 7;
+	}
+
+	static public class Point {
+		int x, y;
+
+		public Point () {
+		}
+
+		public Point (int x, int y) {
+			this.x = x;
+			this.y = y;
+		}
+	}
+
+	static public class Shape {
+		String name;
+		Array<Point> points = new Array();
+	}
+}
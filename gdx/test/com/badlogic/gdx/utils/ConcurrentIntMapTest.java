@@ -0,0 +1,169 @@
+package com.badlogic.gdx.utils;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentIntMapTest {
+	@Test
+	public void putGetRemoveTest () {
+		ConcurrentIntMap<String> map = new ConcurrentIntMap<>();
+		assertNull(map.put(1, "a"));
+		assertNull(map.put(-7, "b"));
+		assertEquals("a", map.put(1, "c"));
+		assertEquals("c", map.get(1));
+		assertEquals("b", map.get(-7));
+		assertNull(map.get(2));
+		assertEquals("d", map.get(2, "d"));
+		assertEquals(2, map.size());
+
+		assertEquals("c", map.putIfAbsent(1, "e"));
+		assertNull(map.putIfAbsent(2, "f"));
+		assertEquals("f", map.get(2));
+
+		assertEquals("c", map.remove(1));
+		assertNull(map.remove(1));
+		assertFalse(map.containsKey(1));
+		assertNull(map.put(1, "g"));
+		assertEquals("g", map.get(1));
+		assertEquals(3, map.size());
+
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertNull(map.get(-7));
+	}
+
+	@Test
+	public void zeroKeyTest () {
+		ConcurrentIntMap<String> map = new ConcurrentIntMap<>();
+		assertNull(map.get(0));
+		assertNull(map.put(0, "a"));
+		assertEquals("a", map.get(0));
+		assertTrue(map.containsKey(0));
+		assertEquals(1, map.size());
+		assertEquals("a", map.putIfAbsent(0, "b"));
+		assertEquals("a", map.put(0, "c"));
+
+		ConcurrentIntMap.Entries<String> entries = map.entries();
+		assertEquals(1, entries.size());
+		ConcurrentIntMap.Entry<String> entry = entries.next();
+		assertEquals(0, entry.key);
+		assertEquals("c", entry.value);
+
+		assertEquals("c", map.remove(0));
+		assertNull(map.get(0));
+		assertEquals(0, map.size());
+		map.put(0, "d");
+		map.clear();
+		assertNull(map.get(0));
+	}
+
+	@Test
+	public void resizeTest () {
+		ConcurrentIntMap<Integer> map = new ConcurrentIntMap<>(4, 0.8f, 2);
+		for (int i = 0; i < 10000; i++)
+			map.put(i * 31, i);
+		assertEquals(10000, map.size());
+		for (int i = 0; i < 10000; i++)
+			assertEquals(i, (int)map.get(i * 31));
+
+		// Removed keys stay in place until a rehash, which drops them.
+		for (int n = 0; n < 10; n++) {
+			for (int i = 1; i < 10000; i += 2)
+				map.remove(i * 31);
+			for (int i = 1; i < 10000; i += 2)
+				map.put(i * 31, -i);
+		}
+		assertEquals(10000, map.size());
+		for (int i = 0; i < 10000; i++)
+			assertEquals(i % 2 == 0 ? i : -i, (int)map.get(i * 31));
+		for (ConcurrentIntMap.Segment segment : map.segments)
+			assertTrue(segment.table.keys.length() < 32768);
+	}
+
+	@Test
+	public void entriesTest () {
+		ConcurrentIntMap<Integer> map = new ConcurrentIntMap<>();
+		for (int i = 0; i < 100; i++)
+			map.put(i, i * 2);
+		ConcurrentIntMap.Entries<Integer> entries = map.entries();
+		assertEquals(100, entries.size());
+
+		// The snapshot doesn't change while the map is changed, including by Entries#remove.
+		IntSet seen = new IntSet();
+		map.put(100, 200);
+		for (ConcurrentIntMap.Entry<Integer> entry : entries) {
+			assertEquals(entry.key * 2, (int)entry.value);
+			assertTrue(seen.add(entry.key));
+			if (entry.key % 2 == 0) entries.remove();
+		}
+		assertEquals(100, seen.size);
+		assertEquals(51, map.size());
+
+		entries.reset();
+		assertEquals(51, entries.size());
+		while (entries.hasNext()) {
+			ConcurrentIntMap.Entry<Integer> entry = entries.next();
+			assertTrue(entry.key % 2 == 1 || entry.key == 100);
+		}
+
+		map.clear();
+		entries.reset();
+		assertFalse(entries.hasNext);
+		assertEquals("{}", map.toString());
+	}
+
+	@Test
+	public void threadsTest () throws InterruptedException {
+		final ConcurrentIntMap<Integer> map = new ConcurrentIntMap<>(4);
+		final int threadCount = 4, keys = 2000, iterations = 20;
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread[] threads = new Thread[threadCount];
+		for (int t = 0; t < threadCount; t++) {
+			final int thread = t;
+			threads[t] = new Thread() {
+				public void run () {
+					try {
+						// Each thread owns the keys congruent to its index, so it knows what they must map to. Thread 0 owns key 0.
+						for (int n = 0; n < iterations; n++) {
+							for (int i = thread; i < keys; i += threadCount)
+								assertNull(map.put(i, i + n));
+							for (int i = thread; i < keys; i += threadCount)
+								assertEquals(i + n, (int)map.get(i));
+							for (int i = thread; i < keys; i += threadCount * 2)
+								assertEquals(i + n, (int)map.remove(i));
+							for (int i = thread; i < keys; i += threadCount) {
+								if ((i - thread) % (threadCount * 2) == 0)
+									assertNull(map.get(i));
+								else
+									assertEquals(i + n, (int)map.remove(i));
+							}
+						}
+						for (int i = thread; i < keys; i += threadCount)
+							map.put(i, i);
+					} catch (Throwable ex) {
+						failure.compareAndSet(null, ex);
+					}
+				}
+			};
+		}
+		for (Thread thread : threads)
+			thread.start();
+		// Snapshots taken while the threads write are each consistent.
+		ConcurrentIntMap.Entries<Integer> entries = map.entries();
+		for (int i = 0; i < 50; i++) {
+			entries.reset();
+			for (ConcurrentIntMap.Entry<Integer> entry : entries)
+				assertTrue(entry.value >= entry.key);
+		}
+		for (Thread thread : threads)
+			thread.join();
+		if (failure.get() != null) throw new AssertionError(failure.get());
+
+		assertEquals(keys, map.size());
+		for (int i = 0; i < keys; i++)
+			assertEquals(i, (int)map.get(i));
+	}
+}
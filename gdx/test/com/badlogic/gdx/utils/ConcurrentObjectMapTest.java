@@ -0,0 +1,157 @@
+package com.badlogic.gdx.utils;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentObjectMapTest {
+	@Test
+	public void putGetRemoveTest () {
+		ConcurrentObjectMap<String, Integer> map = new ConcurrentObjectMap<>();
+		assertTrue(map.isEmpty());
+		assertNull(map.put("a", 1));
+		assertNull(map.put("b", 2));
+		assertEquals(1, (int)map.put("a", 3));
+		assertEquals(3, (int)map.get("a"));
+		assertEquals(2, (int)map.get("b"));
+		assertNull(map.get("c"));
+		assertEquals(-1, (int)map.get("c", -1));
+		assertEquals(2, map.size());
+
+		assertEquals(3, (int)map.putIfAbsent("a", 4));
+		assertEquals(3, (int)map.get("a"));
+		assertNull(map.putIfAbsent("c", 5));
+		assertEquals(5, (int)map.get("c"));
+
+		assertEquals(3, (int)map.remove("a"));
+		assertNull(map.remove("a"));
+		assertFalse(map.containsKey("a"));
+		assertEquals(2, map.size());
+
+		// A removed key can be put again.
+		assertNull(map.put("a", 6));
+		assertEquals(6, (int)map.get("a"));
+		assertEquals(3, map.size());
+
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertNull(map.get("b"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nullValueTest () {
+		new ConcurrentObjectMap<String, Integer>().put("a", null);
+	}
+
+	@Test
+	public void resizeTest () {
+		ConcurrentObjectMap<Integer, Integer> map = new ConcurrentObjectMap<>(4, 0.8f, 2);
+		for (int i = 0; i < 10000; i++)
+			map.put(i, i * 2);
+		assertEquals(10000, map.size());
+		for (int i = 0; i < 10000; i++)
+			assertEquals(i * 2, (int)map.get(i));
+
+		// Removed keys stay in place until a rehash, which drops them.
+		for (int n = 0; n < 10; n++) {
+			for (int i = 0; i < 10000; i += 2)
+				map.remove(i);
+			for (int i = 0; i < 10000; i += 2)
+				map.put(i, -i);
+		}
+		assertEquals(10000, map.size());
+		for (int i = 0; i < 10000; i++)
+			assertEquals(i % 2 == 0 ? -i : i * 2, (int)map.get(i));
+		for (ConcurrentObjectMap.Segment segment : map.segments)
+			assertTrue(segment.table.keys.length() < 32768);
+	}
+
+	@Test
+	public void entriesTest () {
+		ConcurrentObjectMap<Integer, String> map = new ConcurrentObjectMap<>();
+		for (int i = 0; i < 100; i++)
+			map.put(i, "v" + i);
+		ConcurrentObjectMap.Entries<Integer, String> entries = map.entries();
+		assertEquals(100, entries.size());
+
+		// The snapshot doesn't change while the map is changed, including by Entries#remove.
+		IntSet seen = new IntSet();
+		map.put(100, "v100");
+		for (ConcurrentObjectMap.Entry<Integer, String> entry : entries) {
+			assertEquals("v" + entry.key, entry.value);
+			assertTrue(seen.add(entry.key));
+			if (entry.key % 2 == 0) entries.remove();
+		}
+		assertEquals(100, seen.size);
+		assertEquals(51, map.size());
+
+		entries.reset();
+		assertEquals(51, entries.size());
+		seen.clear();
+		while (entries.hasNext()) {
+			ConcurrentObjectMap.Entry<Integer, String> entry = entries.next();
+			assertTrue(entry.key % 2 == 1 || entry.key == 100);
+			seen.add(entry.key);
+		}
+		assertEquals(51, seen.size);
+
+		map.clear();
+		entries.reset();
+		assertFalse(entries.hasNext);
+		assertEquals("{}", map.toString());
+	}
+
+	@Test
+	public void threadsTest () throws InterruptedException {
+		final ConcurrentObjectMap<Integer, Integer> map = new ConcurrentObjectMap<>(4);
+		final int threadCount = 4, keys = 2000, iterations = 20;
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread[] threads = new Thread[threadCount];
+		for (int t = 0; t < threadCount; t++) {
+			final int thread = t;
+			threads[t] = new Thread() {
+				public void run () {
+					try {
+						// Each thread owns the keys congruent to its index, so it knows what they must map to.
+						for (int n = 0; n < iterations; n++) {
+							for (int i = thread; i < keys; i += threadCount)
+								assertNull(map.put(i, i + n));
+							for (int i = thread; i < keys; i += threadCount)
+								assertEquals(i + n, (int)map.get(i));
+							for (int i = thread; i < keys; i += threadCount * 2)
+								assertEquals(i + n, (int)map.remove(i));
+							for (int i = thread; i < keys; i += threadCount) {
+								if ((i - thread) % (threadCount * 2) == 0)
+									assertNull(map.get(i));
+								else
+									assertEquals(i + n, (int)map.remove(i));
+							}
+						}
+						for (int i = thread; i < keys; i += threadCount)
+							map.put(i, i);
+					} catch (Throwable ex) {
+						failure.compareAndSet(null, ex);
+					}
+				}
+			};
+		}
+		for (Thread thread : threads)
+			thread.start();
+		// Snapshots taken while the threads write are each consistent.
+		ConcurrentObjectMap.Entries<Integer, Integer> entries = map.entries();
+		for (int i = 0; i < 50; i++) {
+			entries.reset();
+			for (ConcurrentObjectMap.Entry<Integer, Integer> entry : entries)
+				assertTrue(entry.value >= entry.key);
+		}
+		for (Thread thread : threads)
+			thread.join();
+		if (failure.get() != null) throw new AssertionError(failure.get());
+
+		assertEquals(keys, map.size());
+		for (int i = 0; i < keys; i++)
+			assertEquals(i, (int)map.get(i));
+	}
+}
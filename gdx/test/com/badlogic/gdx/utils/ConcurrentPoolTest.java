@@ -0,0 +1,101 @@
+package com.badlogic.gdx.utils;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentPoolTest {
+	@Test
+	public void reuseTest () {
+		ConcurrentPool<Item> pool = new ConcurrentPool<>(Item::new, 4, 8);
+		Item item = pool.obtain();
+		item.value = 5;
+		pool.free(item);
+		assertEquals(0, item.value); // Reset when freed.
+		assertEquals(1, pool.getFree());
+		assertSame(item, pool.obtain());
+		assertEquals(0, pool.getFree());
+	}
+
+	@Test
+	public void maxTest () {
+		AtomicInteger discarded = new AtomicInteger();
+		ConcurrentPool<Item> pool = new ConcurrentPool<Item>(Item::new, 4, 8) {
+			protected void discard (Item object) {
+				discarded.incrementAndGet();
+			}
+		};
+		Array<Item> items = new Array<>();
+		for (int i = 0; i < 30; i++)
+			items.add(pool.obtain());
+		pool.freeAll(items);
+		// Two magazines in the thread's cache and two in the depot.
+		assertEquals(16, pool.getFree());
+		assertEquals(14, discarded.get());
+		assertEquals(8, pool.peak);
+
+		pool.clear();
+		assertEquals(0, pool.getFree());
+		assertEquals(30, discarded.get());
+	}
+
+	@Test
+	public void fillTest () {
+		ConcurrentPool<Item> pool = new ConcurrentPool<>(Item::new, 4, 100);
+		pool.fill(10);
+		assertEquals(10, pool.getFree());
+	}
+
+	@Test
+	public void concurrentTest () throws InterruptedException {
+		final ConcurrentPool<Item> pool = new ConcurrentPool<>(Item::new, 8, 64);
+		final AtomicBoolean failed = new AtomicBoolean();
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread() {
+				public void run () {
+					Array<Item> items = new Array<>();
+					for (int ii = 0; ii < 2000; ii++) {
+						for (int iii = 0; iii < 20; iii++) {
+							Item item = pool.obtain();
+							// An item obtained by two threads at once would be seen as in use.
+							if (item.inUse.getAndSet(true)) failed.set(true);
+							items.add(item);
+						}
+						for (Item item : items)
+							item.inUse.set(false);
+						pool.freeAll(items);
+						items.clear();
+					}
+				}
+			};
+		}
+		for (Thread thread : threads)
+			thread.start();
+		for (Thread thread : threads)
+			thread.join();
+		assertFalse(failed.get());
+	}
+
+	@Test
+	public void poolManagerTest () {
+		PoolManager poolManager = new ConcurrentPoolManager(Item::new);
+		assertTrue(poolManager.getPool(Item.class) instanceof ConcurrentPool);
+		Item item = poolManager.obtain(Item.class);
+		poolManager.free(item);
+		assertSame(item, poolManager.obtain(Item.class));
+	}
+
+	static class Item implements Pool.Poolable {
+		int value;
+		final AtomicBoolean inUse = new AtomicBoolean();
+
+		@Override
+		public void reset () {
+			value = 0;
+		}
+	}
+}
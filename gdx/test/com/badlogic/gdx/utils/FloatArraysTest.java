@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.badlogic.gdx.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FloatArraysTest {
+	@Test
+	public void arithmeticTest () {
+		FloatArray a = FloatArray.with(1, 2, 3, 4, 5);
+		FloatArray b = FloatArray.with(5, 4, 3, 2, 1);
+		FloatArray out = new FloatArray();
+		FloatArrays.add(a, b, out);
+		Assert.assertArrayEquals(new float[] {6, 6, 6, 6, 6}, out.toArray(), 0);
+		FloatArrays.sub(a, b, out);
+		Assert.assertArrayEquals(new float[] {-4, -2, 0, 2, 4}, out.toArray(), 0);
+		FloatArrays.mul(a, b, a);
+		Assert.assertArrayEquals(new float[] {5, 8, 9, 8, 5}, a.toArray(), 0);
+		FloatArrays.mul(a, 2);
+		FloatArrays.add(a, -1);
+		Assert.assertArrayEquals(new float[] {9, 15, 17, 15, 9}, a.toArray(), 0);
+		FloatArrays.clamp(a, 10, 16);
+		Assert.assertArrayEquals(new float[] {10, 15, 16, 15, 10}, a.toArray(), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void sizeMismatchTest () {
+		FloatArrays.add(FloatArray.with(1, 2), FloatArray.with(1), new FloatArray());
+	}
+
+	@Test
+	public void reductionTest () {
+		FloatArray a = new FloatArray();
+		Assert.assertEquals(0, FloatArrays.sum(a), 0);
+		Assert.assertEquals(-1, FloatArrays.indexOfMax(a));
+		// Larger than any vector so both the vector loop and the tail are used.
+		for (int i = 0; i < 37; i++)
+			a.add(i % 7 - 3);
+		a.set(20, 9);
+		a.set(30, 9);
+		a.set(11, -8);
+		Assert.assertEquals(9, FloatArrays.max(a), 0);
+		Assert.assertEquals(-8, FloatArrays.min(a), 0);
+		Assert.assertEquals(20, FloatArrays.indexOfMax(a));
+		Assert.assertEquals(11, FloatArrays.indexOfMin(a));
+		float sum = 0, dot = 0;
+		for (int i = 0; i < a.size; i++) {
+			sum += a.get(i);
+			dot += a.get(i) * a.get(i);
+		}
+		Assert.assertEquals(sum, FloatArrays.sum(a), 0.0001f);
+		Assert.assertEquals(dot, FloatArrays.dot(a, a), 0.0001f);
+	}
+
+	@Test
+	public void reductionSpecialValuesTest () {
+		// Whichever implementation is in use must match the scalar loops for NaN and zeros of either sign.
+		BulkOps scalar = new BulkOps();
+		float[][] cases = {{0, -0f, 1, -0f, 0}, {-0f, 0, -1, 0, -0f}, {Float.NaN, 1, -1}, {1, Float.NaN, -1, 2, Float.NaN}};
+		for (float[] values : cases) {
+			FloatArray a = new FloatArray();
+			for (int i = 0; i < 37; i++)
+				a.add(values[i % values.length]);
+			for (int start = 0; start < 3; start++) {
+				a.set(0, values[start]);
+				Assert.assertEquals(scalar.indexOfMin(a.items, a.size), FloatArrays.indexOfMin(a));
+				Assert.assertEquals(scalar.indexOfMax(a.items, a.size), FloatArrays.indexOfMax(a));
+				Assert.assertEquals(scalar.min(a.items, a.size), FloatArrays.min(a), 0);
+				Assert.assertEquals(scalar.max(a.items, a.size), FloatArrays.max(a), 0);
+			}
+		}
+	}
+
+	@Test
+	public void prefixSumTest () {
+		FloatArray a = FloatArray.with(1, 2, 3, 4);
+		FloatArrays.prefixSum(a);
+		Assert.assertArrayEquals(new float[] {1, 3, 6, 10}, a.toArray(), 0);
+	}
+
+	@Test
+	public void selectGreaterTest () {
+		FloatArray a = new FloatArray();
+		for (int i = 0; i < 37; i++)
+			a.add(i % 5);
+		IntArray indices = IntArray.with(-1);
+		int count = FloatArrays.selectGreater(a, 3, indices);
+		Assert.assertEquals(7, count);
+		Assert.assertArrayEquals(new int[] {-1, 4, 9, 14, 19, 24, 29, 34}, indices.toArray());
+	}
+}
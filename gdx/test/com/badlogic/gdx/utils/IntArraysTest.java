@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.badlogic.gdx.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntArraysTest {
+	@Test
+	public void arithmeticTest () {
+		IntArray a = IntArray.with(1, 2, 3, 4, 5);
+		IntArray b = IntArray.with(5, 4, 3, 2, 1);
+		IntArray out = new IntArray();
+		IntArrays.add(a, b, out);
+		Assert.assertArrayEquals(new int[] {6, 6, 6, 6, 6}, out.toArray());
+		IntArrays.sub(a, b, out);
+		Assert.assertArrayEquals(new int[] {-4, -2, 0, 2, 4}, out.toArray());
+		IntArrays.mul(a, b, a);
+		Assert.assertArrayEquals(new int[] {5, 8, 9, 8, 5}, a.toArray());
+		IntArrays.mul(a, 2);
+		IntArrays.add(a, -1);
+		Assert.assertArrayEquals(new int[] {9, 15, 17, 15, 9}, a.toArray());
+		IntArrays.clamp(a, 10, 16);
+		Assert.assertArrayEquals(new int[] {10, 15, 16, 15, 10}, a.toArray());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void sizeMismatchTest () {
+		IntArrays.add(IntArray.with(1, 2), IntArray.with(1), new IntArray());
+	}
+
+	@Test
+	public void reductionTest () {
+		IntArray a = new IntArray();
+		Assert.assertEquals(0, IntArrays.sum(a));
+		Assert.assertEquals(-1, IntArrays.indexOfMax(a));
+		// Larger than any vector so both the vector loop and the tail are used.
+		for (int i = 0; i < 37; i++)
+			a.add(i % 7 - 3);
+		a.set(20, 9);
+		a.set(30, 9);
+		a.set(11, -8);
+		Assert.assertEquals(9, IntArrays.max(a));
+		Assert.assertEquals(-8, IntArrays.min(a));
+		Assert.assertEquals(20, IntArrays.indexOfMax(a));
+		Assert.assertEquals(11, IntArrays.indexOfMin(a));
+		long sum = 0, dot = 0;
+		for (int i = 0; i < a.size; i++) {
+			sum += a.get(i);
+			dot += (long)a.get(i) * a.get(i);
+		}
+		Assert.assertEquals(sum, IntArrays.sum(a));
+		Assert.assertEquals(dot, IntArrays.dot(a, a));
+	}
+
+	@Test
+	public void overflowTest () {
+		IntArray a = IntArray.with(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+		Assert.assertEquals(3L * Integer.MAX_VALUE, IntArrays.sum(a));
+		a.pop();
+		Assert.assertEquals(2L * Integer.MAX_VALUE * Integer.MAX_VALUE, IntArrays.dot(a, a));
+	}
+
+	@Test
+	public void prefixSumTest () {
+		IntArray a = IntArray.with(1, 2, 3, 4);
+		IntArrays.prefixSum(a);
+		Assert.assertArrayEquals(new int[] {1, 3, 6, 10}, a.toArray());
+	}
+
+	@Test
+	public void selectGreaterTest () {
+		IntArray a = new IntArray();
+		for (int i = 0; i < 37; i++)
+			a.add(i % 5);
+		IntArray indices = IntArray.with(-1);
+		int count = IntArrays.selectGreater(a, 3, indices);
+		Assert.assertEquals(7, count);
+		Assert.assertArrayEquals(new int[] {-1, 4, 9, 14, 19, 24, 29, 34}, indices.toArray());
+	}
+}
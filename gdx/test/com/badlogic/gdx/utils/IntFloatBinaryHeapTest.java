@@ -0,0 +1,84 @@
+package com.badlogic.gdx.utils;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IntFloatBinaryHeapTest {
+	@Test
+	public void popOrderTest () {
+		for (int arity : new int[] {2, 4, 8}) {
+			for (boolean isMaxHeap : new boolean[] {false, true}) {
+				Random random = new Random(arity);
+				IntFloatBinaryHeap heap = new IntFloatBinaryHeap(4, isMaxHeap, arity);
+				float[] values = new float[1000];
+				for (int id = 0; id < values.length; id++) {
+					values[id] = random.nextInt(200); // Duplicate values.
+					heap.add(id, values[id]);
+				}
+				// Change values, both up and down, and remove some ids.
+				for (int id = 0; id < values.length; id += 3) {
+					values[id] = random.nextInt(200);
+					heap.setValue(id, values[id]);
+				}
+				for (int id = 1; id < values.length; id += 7) {
+					assertTrue(heap.remove(id));
+					assertFalse(heap.contains(id));
+					values[id] = Float.NaN;
+				}
+				assertFalse(heap.remove(1));
+
+				float previous = heap.peekValue();
+				int count = 0;
+				while (heap.notEmpty()) {
+					int id = heap.peek();
+					assertEquals(values[id], heap.getValue(id), 0);
+					assertEquals(id, heap.pop());
+					assertFalse(heap.contains(id));
+					assertTrue(isMaxHeap ? values[id] <= previous : values[id] >= previous);
+					previous = values[id];
+					count++;
+				}
+				int expected = 0;
+				for (float value : values)
+					if (value == value) expected++;
+				assertEquals(expected, count);
+			}
+		}
+	}
+
+	@Test
+	public void decreaseKeyTest () {
+		IntFloatBinaryHeap heap = new IntFloatBinaryHeap(2, false, 4);
+		heap.add(100, 5);
+		heap.add(7, 3);
+		heap.add(42, 4);
+		assertEquals(7, heap.peek());
+		heap.setValue(100, 1);
+		assertEquals(100, heap.peek());
+		heap.addOrSetValue(42, 0);
+		heap.addOrSetValue(5, 2);
+		assertEquals(4, heap.size);
+		assertEquals(42, heap.pop());
+		assertEquals(100, heap.pop());
+		assertEquals(5, heap.pop());
+		assertEquals(7, heap.pop());
+		assertTrue(heap.isEmpty());
+
+		heap.add(1, 1);
+		heap.add(2, 2);
+		heap.clear();
+		assertFalse(heap.contains(1));
+		heap.add(1, 3);
+		assertEquals(3, heap.getValue(1), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void duplicateIdTest () {
+		IntFloatBinaryHeap heap = new IntFloatBinaryHeap();
+		heap.add(3, 1);
+		heap.add(3, 2);
+	}
+}
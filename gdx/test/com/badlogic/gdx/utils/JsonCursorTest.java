@@ -0,0 +1,196 @@
+package com.badlogic.gdx.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.JsonCursor.Token;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+
+import static org.junit.Assert.*;
+
+public class JsonCursorTest {
+	@Test
+	public void testDom () {
+		dom("{}");
+		dom("[]");
+		dom("{a:1,b:[1,2.5,-3e2,true,false,null],c:{d:\"e\\n\\u0041\"}}");
+		dom("[\"one\",\"two\"\n\"three\" , 4,]");
+		dom("{name:some unquoted value, other:\"quoted\" // comment\n, /* block */ last:[{},[]]}");
+		dom("{\"\u00e9t\u00e9\":\"\u65e5\u672c\u8a9e \ud83d\ude00\"}");
+		dom("{first_name : 1, second_name\t:[1,2], \"third name\" /* comment */ : {a_long_name_here:true}}");
+		dom("\ufeff{bom:true}");
+		dom("12345678901234567890");
+		dom("-0.000001234");
+	}
+
+	private void dom (String json) {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		JsonValue expected = new JsonReader().parse(bytes, 0, bytes.length);
+		JsonValue actual = new JsonTextCursor(bytes, 0, bytes.length).nextValue();
+		assertEquals(expected.toJson(OutputType.json), actual.toJson(OutputType.json));
+		// Small buffers make tokens cross buffer boundaries.
+		for (int size = 16; size < 48; size++) {
+			actual = new JsonTextCursor(new ByteArrayInputStream(bytes), size).nextValue();
+			assertEquals(expected.toJson(OutputType.json), actual.toJson(OutputType.json));
+		}
+	}
+
+	@Test
+	public void testTokens () {
+		JsonCursor cursor = new JsonTextCursor("{a:[1,2,3],b:\"x\",c:{d:[true]},e:4.5}");
+		assertEquals(Token.beginObject, cursor.next());
+		assertEquals("a", cursor.nextName());
+		assertEquals(Token.beginArray, cursor.peek());
+		assertEquals(new IntArray(new int[] {1, 2, 3}), cursor.nextInts(new IntArray()));
+		assertEquals("b".hashCode(), cursor.nextNameHash());
+		assertTrue(cursor.nameEquals("b"));
+		assertFalse(cursor.nameEquals("bb"));
+		assertEquals("x", cursor.nextString());
+		assertEquals("c", cursor.nextName());
+		cursor.skipValue();
+		assertEquals("e", cursor.nextName());
+		assertEquals(4.5f, cursor.nextFloat(), 0);
+		assertFalse(cursor.hasNext());
+		cursor.endObject();
+		assertEquals(Token.end, cursor.next());
+	}
+
+	@Test
+	public void testNonAsciiNames () {
+		JsonCursor cursor = new JsonTextCursor("{\"\u00e9t\u00e9\":1,\"a\\u0062c\":2}");
+		cursor.beginObject();
+		assertEquals("\u00e9t\u00e9".hashCode(), cursor.nextNameHash());
+		assertTrue(cursor.nameEquals("\u00e9t\u00e9"));
+		assertEquals(1, cursor.nextInt());
+		assertEquals("abc".hashCode(), cursor.nextNameHash());
+		assertTrue(cursor.nameEquals("abc"));
+		assertEquals(2, cursor.nextInt());
+		cursor.endObject();
+	}
+
+	@Test
+	public void testNumbers () {
+		Random random = new Random(1234);
+		StringBuilder buffer = new StringBuilder("[");
+		float[] floats = new float[2000];
+		for (int i = 0; i < floats.length; i++) {
+			switch (i % 4) {
+			case 0:
+				floats[i] = random.nextFloat();
+				break;
+			case 1:
+				floats[i] = (random.nextFloat() - 0.5f) * 100000;
+				break;
+			case 2:
+				floats[i] = Float.intBitsToFloat(random.nextInt()) % 1e30f;
+				break;
+			case 3:
+				floats[i] = Math.round(random.nextFloat() * 1000) / 1000f;
+				break;
+			}
+			buffer.append(floats[i]).append(',');
+		}
+		buffer.append("1.00000005,16777217,3.4028235e38,1e-45,]");
+		String json = buffer.toString();
+		FloatArray values = new JsonTextCursor(json).nextFloats(new FloatArray());
+		for (int i = 0; i < floats.length; i++)
+			assertEquals(floats[i], values.get(i), 0);
+		assertEquals(1.00000005f, values.get(floats.length), 0);
+		assertEquals(16777217f, values.get(floats.length + 1), 0);
+		assertEquals(Float.MAX_VALUE, values.get(floats.length + 2), 0);
+		assertEquals(Float.MIN_VALUE, values.get(floats.length + 3), 0);
+
+		JsonCursor cursor = new JsonTextCursor("[9223372036854775807,-42,\"17\",1.5e3,0.1]");
+		cursor.beginArray();
+		assertEquals(Long.MAX_VALUE, cursor.nextLong());
+		assertEquals(-42, cursor.nextInt());
+		assertEquals(17, cursor.nextInt());
+		assertEquals(1500, cursor.nextLong());
+		assertEquals(0.1, cursor.nextDouble(), 0);
+		cursor.endArray();
+	}
+
+	@Test
+	public void testErrors () {
+		try {
+			new JsonTextCursor("{a:[1,2}").nextValue();
+			fail();
+		} catch (SerializationException ignored) {
+		}
+		try {
+			new JsonTextCursor("{a:\"unclosed").nextValue();
+			fail();
+		} catch (SerializationException ignored) {
+		}
+		try {
+			JsonCursor cursor = new JsonTextCursor("[1]");
+			cursor.beginObject();
+			fail();
+		} catch (SerializationException ignored) {
+		}
+	}
+
+	@Test
+	public void testUBJson () throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		UBJsonWriter writer = new UBJsonWriter(bytes);
+		writer.object();
+		writer.set("name", "\u00e9t\u00e9");
+		writer.set("int", 42);
+		writer.set("long", Long.MIN_VALUE);
+		writer.set("double", 0.25);
+		writer.set("bool", true);
+		writer.name("floats").value(new float[] {1, 2.5f, -3});
+		writer.name("shorts").value(new short[] {1, -2, 300});
+		writer.name("ints").value(new int[] {7, 8});
+		writer.array("mixed").value(1).value("two").value(3.5f).value(false).pop();
+		writer.object("nested").set("a", 1).pop();
+		writer.pop();
+		writer.close();
+
+		UBJsonReader reader = new UBJsonReader();
+		reader.oldFormat = false;
+		JsonValue expected = reader.parse(new ByteArrayInputStream(bytes.toByteArray()));
+		UBJsonCursor cursor = new UBJsonCursor(new ByteArrayInputStream(bytes.toByteArray()));
+		cursor.oldFormat = false;
+		assertEquals(expected.toJson(OutputType.json), cursor.nextValue().toJson(OutputType.json));
+
+		cursor = new UBJsonCursor(new ByteArrayInputStream(bytes.toByteArray()));
+		cursor.oldFormat = false;
+		cursor.beginObject();
+		assertEquals("name".hashCode(), cursor.nextNameHash());
+		assertTrue(cursor.nameEquals("name"));
+		assertEquals("\u00e9t\u00e9", cursor.nextString());
+		assertEquals("int", cursor.nextName());
+		assertEquals(42, cursor.nextInt());
+		assertEquals("long", cursor.nextName());
+		assertEquals(Long.MIN_VALUE, cursor.nextLong());
+		assertEquals("double", cursor.nextName());
+		assertEquals(0.25, cursor.nextDouble(), 0);
+		assertEquals("bool", cursor.nextName());
+		assertTrue(cursor.nextBoolean());
+		assertEquals("floats", cursor.nextName());
+		assertArrayEquals(new float[] {1, 2.5f, -3}, cursor.nextFloats(new FloatArray()).toArray(), 0);
+		assertEquals("shorts", cursor.nextName());
+		assertArrayEquals(new short[] {1, -2, 300}, cursor.nextShorts(new ShortArray()).toArray());
+		assertEquals("ints", cursor.nextName());
+		assertArrayEquals(new int[] {7, 8}, cursor.nextInts(new IntArray()).toArray());
+		assertEquals("mixed", cursor.nextName());
+		cursor.beginArray();
+		assertEquals(1, cursor.nextFloat(), 0);
+		assertEquals("two", cursor.nextString());
+		assertEquals(3.5f, cursor.nextFloat(), 0);
+		assertFalse(cursor.nextBoolean());
+		cursor.endArray();
+		assertEquals("nested", cursor.nextName());
+		cursor.skipValue();
+		assertFalse(cursor.hasNext());
+		cursor.endObject();
+		assertEquals(Token.end, cursor.peek());
+	}
+}
@@ -0,0 +1,162 @@
+package com.badlogic.gdx.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.JsonCursor.Token;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+
+import static org.junit.Assert.*;
+
+public class JsonDocumentTest {
+	@Test
+	public void testParse () {
+		parse("{}");
+		parse("[]");
+		parse("{a:1,b:[1,2.5,-3e2,true,false,null],c:{d:\"e\\n\\u0041\"}}");
+		parse("[\"one\",\"two\"\n\"three\" , 4,]");
+		parse("{name:some unquoted value, other:\"quoted\" // comment\n, /* block */ last:[{},[]]}");
+		parse("{\"\u00e9t\u00e9\":\"\u65e5\u672c\u8a9e \ud83d\ude00\",\"\u00e9t\u00e9\":\u00e9t\u00e9}");
+		parse("\ufeff{bom:true}");
+		parse("[12345678901234567890,123456789012345678,-0.000001234,1e300,1.,.5,+5,-0,1e,1-2,NaN,Infinity,0x10,1d]");
+		parse("[0.1,0.2,0.30000000000000004,4.35,1e22,1e23,9007199254740993,123.456e-7]");
+		parse("[\"1\",\"true\",\"null\",\"\"]");
+		parse("unquoted");
+		parse("123");
+	}
+
+	private void parse (String json) {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		String expected = new JsonReader().parse(bytes, 0, bytes.length).toJson(OutputType.json);
+		JsonDocument document = new JsonDocument();
+		document.parse(bytes, 0, bytes.length);
+		assertEquals(expected, document.toJsonValue().toJson(OutputType.json));
+		assertEquals(expected, document.cursor(0).nextValue().toJson(OutputType.json));
+		if (json.charAt(0) != '\ufeff') { // A byte order mark is only skipped for bytes.
+			document.parse(json);
+			assertEquals(expected, document.toJsonValue().toJson(OutputType.json));
+		}
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 2);
+		direct.position(2);
+		direct.put(bytes).position(2);
+		document.parse(direct);
+		assertEquals(expected, document.toJsonValue().toJson(OutputType.json));
+	}
+
+	@Test
+	public void testAccess () {
+		JsonDocument document = new JsonDocument();
+		document.parse("{a:1,b:[1,2.5,\"3\"],c:{d:\"e\"},f:null,g:true,h:unquoted}");
+		int root = document.root();
+		assertEquals(0, root);
+		assertEquals(ValueType.object, document.type(root));
+		assertEquals(6, document.size(root));
+		assertNull(document.name(root));
+		assertEquals(-1, document.parent(root));
+
+		int b = document.get(root, "b");
+		assertTrue(document.isArray(b));
+		assertEquals("b", document.name(b));
+		assertEquals(root, document.parent(b));
+		assertEquals(3, document.size(b));
+		assertEquals(1, document.asInt(document.child(b)));
+		assertEquals(2.5f, document.asFloat(document.get(b, 1)), 0);
+		assertEquals(3, document.asLong(document.get(b, 2)));
+		assertTrue(document.isString(document.get(b, 2)));
+		assertEquals(-1, document.get(b, 3));
+		assertEquals(-1, document.next(document.get(b, 2)));
+
+		assertEquals(1, document.getInt(root, "a", 0));
+		assertEquals(7, document.getInt(root, "missing", 7));
+		assertEquals(7, document.getInt(root, "f", 7));
+		assertEquals("e", document.getString(document.get(root, "c"), "d", null));
+		assertTrue(document.getBoolean(root, "g", false));
+		assertEquals("unquoted", document.getString(root, "h", null));
+		assertEquals("2.5", document.asString(document.get(b, 1)));
+		try {
+			document.asString(b);
+			fail();
+		} catch (IllegalStateException expected) {
+		}
+	}
+
+	@Test
+	public void testStrings () {
+		JsonDocument document = new JsonDocument();
+		StringBuilder buffer = new StringBuilder("[");
+		for (int i = 0; i < 1000; i++)
+			buffer.append("{id:").append(i).append(",name:\"n").append(i % 100).append("\",type:\"t\\u0041\"},");
+		buffer.append(']');
+		String json = buffer.toString();
+		document.parse(json);
+		// Names id, name and type, 100 names, and one unescaped type.
+		assertEquals(104, document.getStringCount());
+		assertEquals(1 + 4000, document.getCount());
+		int last = document.get(0, 999);
+		assertEquals("n99", document.getString(last, "name", null));
+		assertEquals("tA", document.getString(last, "type", null));
+		assertSame(document.name(document.child(document.child(0))), document.name(document.child(last)));
+
+		// Reuse.
+		document.parse("{x:[1]}");
+		assertEquals(3, document.getCount());
+		assertEquals(1, document.getStringCount());
+		assertEquals("{\"x\":[1]}", document.toJsonValue().toJson(OutputType.json));
+		document.clear();
+		assertEquals(-1, document.root());
+	}
+
+	@Test
+	public void testCursor () {
+		JsonDocument document = new JsonDocument();
+		document.parse("{a:[1,2,3],b:\"x\",c:{d:[true]},e:4.5,f:{}}");
+		JsonCursor cursor = document.cursor(0);
+		assertEquals(Token.beginObject, cursor.next());
+		assertEquals("a", cursor.nextName());
+		assertEquals(new IntArray(new int[] {1, 2, 3}), cursor.nextInts(new IntArray()));
+		assertEquals("b".hashCode(), cursor.nextNameHash());
+		assertTrue(cursor.nameEquals("b"));
+		assertEquals("x", cursor.nextString());
+		assertEquals("c", cursor.nextName());
+		cursor.skipValue();
+		assertEquals("e", cursor.nextName());
+		assertEquals(4.5f, cursor.nextFloat(), 0);
+		assertEquals("f", cursor.nextName());
+		cursor.beginObject();
+		cursor.endObject();
+		assertFalse(cursor.hasNext());
+		cursor.endObject();
+		assertEquals(Token.end, cursor.next());
+
+		// A cursor for a child stops at the end of the child.
+		cursor = document.cursor(document.get(0, "c"));
+		assertEquals("{\"d\":[true]}", cursor.nextValue().toJson(OutputType.json));
+		assertEquals(Token.end, cursor.next());
+		cursor = document.cursor(document.get(0, "b"));
+		assertEquals("x", cursor.nextString());
+		assertEquals(Token.end, cursor.next());
+	}
+
+	@Test
+	public void testReadValue () {
+		JsonDocument document = new JsonDocument();
+		document.parse("{entities:[{name:a,x:1.5},{name:b,x:2}]}");
+		Json json = new Json();
+		Entity entity = json.readValue(Entity.class, document.toJsonValue(document.get(document.get(0, "entities"), 1)));
+		assertEquals("b", entity.name);
+		assertEquals(2, entity.x, 0);
+	}
+
+	@Test(expected = SerializationException.class)
+	public void testMultipleRoots () {
+		new JsonDocument().parse("{} {}");
+	}
+
+	static public class Entity {
+		public String name;
+		public float x;
+	}
+}
@@ -5,6 +5,7 @@ import static org.junit.Assert.*;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.stream.Collectors;
 
@@ -771,6 +772,19 @@ public class JsonMatcherTests {
 			"{a:[1,3,5,7],b:[2,4,6,8]}");
 	}
 
+	@Test
+	public void nonAscii () {
+		test( //
+			"{\"gr\u00fc\u00dfe\":{\"caf\u00e9\":\"cr\u00e8me \ud83d\ude00\",cafe:1},other:\"\u00e9\"}", //
+			"gr\u00fc\u00dfe/(caf\u00e9)", //
+			"cr\u00e8me \ud83d\ude00");
+
+		test( //
+			"{\"gr\u00fc\u00dfe\":{\"caf\u00e9\":1,cafe:2},\"grusse\":{cafe:3}}", //
+			"*/(cafe)", //
+			"2");
+	}
+
 	@Test
 	public void wholeDocument () {
 		test( // Object
@@ -1441,6 +1455,11 @@ public class JsonMatcherTests {
 	}
 
 	static void test (@Null String notParsedValue, String json, String[] patterns, String... expected) {
+		test(notParsedValue, json, patterns, false, expected);
+		test(notParsedValue, json, patterns, true, expected);
+	}
+
+	static void test (@Null String notParsedValue, String json, String[] patterns, boolean bytes, String... expected) {
 		Array<JsonValue> values = new Array();
 		boolean[] ended = new boolean[1];
 		JsonMatcher matcher = new JsonMatcher() {
@@ -1460,7 +1479,11 @@ public class JsonMatcherTests {
 		matcher.setProcessor(value -> copy(value, values));
 		for (String pattern : patterns)
 			matcher.addPattern(pattern);
-		matcher.parse(json);
+		if (bytes) {
+			byte[] data = json.getBytes(StandardCharsets.UTF_8);
+			matcher.parse(data, 0, data.length);
+		} else
+			matcher.parse(json);
 		try {
 			assertValueCount(expected.length, values);
 			for (int i = 0, n = expected.length; i < n; i++) {
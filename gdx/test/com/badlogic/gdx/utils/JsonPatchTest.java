@@ -0,0 +1,208 @@
+
+package com.badlogic.gdx.utils;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+
+import static org.junit.Assert.*;
+
+public class JsonPatchTest {
+	private final JsonReader reader = new JsonReader();
+
+	@Test
+	public void testToJsonValue () {
+		Json json = new Json();
+		World world = world(20);
+		JsonValue value = json.toJsonValue(world);
+		JsonValue parsed = reader.parse(json.toJson(world));
+		assertTrue(JsonPatch.equal(parsed, value));
+		assertEquals(parsed.toJson(OutputType.json), value.toJson(OutputType.json));
+
+		World read = json.readValue(World.class, value);
+		assertEquals(world.entities.size, read.entities.size);
+		assertEquals(world.entities.get(3).x, read.entities.get(3).x, 0);
+		assertEquals(world.entities.get(3).name, read.entities.get(3).name);
+
+		assertTrue(json.toJsonValue(null).isNull());
+		assertEquals("[1,2.5]", json.toJsonValue(new float[] {1, 2.5f}).toJson(OutputType.json));
+	}
+
+	@Test
+	public void testDiff () {
+		assertDiff("{a:1,b:2}", "{a:1,b:2}", 0);
+		assertDiff("{a:1,b:2}", "{b:2,a:1}", 0);
+		assertDiff("{a:1,b:2}", "{a:1,b:3}", 1);
+		assertDiff("{a:1,b:2}", "{a:1}", 1);
+		assertDiff("{a:1}", "{a:1,b:{c:[1,2]}}", 1);
+		assertDiff("{a:1}", "{a:1.0}", 0);
+		assertDiff("{a:{b:{c:1,d:2}}}", "{a:{b:{c:1,d:3}}}", 1);
+		assertDiff("{a:1}", "[1]", 1);
+		assertDiff("1", "\"1\"", 1);
+		assertDiff("{\"a/b\":1,\"c~d\":2}", "{\"a/b\":2,\"c~d\":3}", 2);
+		assertDiff("[1,2,3,4,5]", "[1,2,9,4,5]", 1);
+		assertDiff("[1,2,3,4,5]", "[1,2,4,5]", 1);
+		assertDiff("[1,2,3,4,5]", "[1,2,3,7,8,4,5]", 2);
+		assertDiff("[1,2,3,4,5]", "[]", 5);
+		assertDiff("[]", "[1,2]", 2);
+		assertDiff("[{a:1},{a:2},{a:3}]", "[{a:1},{a:5},{a:3}]", 1);
+		assertDiff("[[1,2],[3,4]]", "[[1,2],[3,4,5]]", 1);
+		assertDiff("[1,1,1]", "[1,1]", 1);
+		assertDiff("{a:null}", "{a:false}", 1);
+
+		JsonValue patch = JsonPatch.diff(reader.parse("{a:{b:[1,2,3]}}"), reader.parse("{a:{b:[1,5,3]}}"));
+		assertEquals("[{op:replace,path:\"/a/b/1\",value:5}]", patch.toJson(OutputType.minimal));
+	}
+
+	@Test
+	public void testRandomDiff () {
+		Random random = new Random(123);
+		for (int i = 0; i < 200; i++) {
+			JsonValue from = new JsonValue(JsonValue.ValueType.array), to = new JsonValue(JsonValue.ValueType.array);
+			from.addChild(randomValue(random, 3));
+			to.addChild(randomValue(random, 3));
+			JsonValue patch = JsonPatch.diff(from, to);
+			String before = from.toJson(OutputType.json);
+			assertTrue(JsonPatch.equal(to, JsonPatch.apply(new JsonValue(from), patch)));
+			assertEquals(before, from.toJson(OutputType.json));
+			assertTrue(JsonPatch.equal(to, JsonPatch.apply(reader.parse(before), reader.parse(patch.toJson(OutputType.json)))));
+		}
+	}
+
+	@Test
+	public void testWorld () {
+		Json json = new Json();
+		World world = world(1000);
+		JsonValue saved = json.toJsonValue(world);
+		world.entities.get(10).x = 123.5f;
+		world.entities.get(500).name = "renamed";
+		world.entities.removeIndex(700);
+		world.entities.add(new Entity("new", 1, 2));
+		world.time = 99;
+		JsonValue current = json.toJsonValue(world);
+		JsonValue patch = JsonPatch.diff(saved, current);
+		assertEquals(5, patch.size);
+		String text = patch.toJson(OutputType.json);
+		assertTrue(text.length() < json.toJson(world).length() / 50);
+
+		JsonValue restored = JsonPatch.apply(reader.parse(saved.toJson(OutputType.json)), reader.parse(text));
+		assertTrue(JsonPatch.equal(current, restored));
+		World read = json.readValue(World.class, restored);
+		assertEquals(123.5f, read.entities.get(10).x, 0);
+		assertEquals("renamed", read.entities.get(500).name);
+		assertEquals("new", read.entities.peek().name);
+		assertEquals(99, read.time);
+	}
+
+	@Test
+	public void testApply () {
+		// Examples from RFC 6902, appendix A.
+		assertApply("{foo:bar}", "[{op:add,path:\"/baz\",value:qux}]", "{baz:qux,foo:bar}");
+		assertApply("{foo:[bar,baz]}", "[{op:add,path:\"/foo/1\",value:qux}]", "{foo:[bar,qux,baz]}");
+		assertApply("{baz:qux,foo:bar}", "[{op:remove,path:\"/baz\"}]", "{foo:bar}");
+		assertApply("{foo:[bar,qux,baz]}", "[{op:remove,path:\"/foo/1\"}]", "{foo:[bar,baz]}");
+		assertApply("{baz:qux,foo:bar}", "[{op:replace,path:\"/baz\",value:boo}]", "{baz:boo,foo:bar}");
+		assertApply("{foo:{bar:baz,waldo:fred},qux:{corge:grault}}", "[{op:move,from:\"/foo/waldo\",path:\"/qux/thud\"}]",
+			"{foo:{bar:baz},qux:{corge:grault,thud:fred}}");
+		assertApply("{foo:[all,grass,cows,eat]}", "[{op:move,from:\"/foo/1\",path:\"/foo/3\"}]", "{foo:[all,cows,eat,grass]}");
+		assertApply("{baz:qux,foo:[a,2,c]}", "[{op:test,path:\"/baz\",value:qux},{op:test,path:\"/foo/1\",value:2}]",
+			"{baz:qux,foo:[a,2,c]}");
+		assertApply("{foo:bar}", "[{op:add,path:\"/child\",value:{grandchild:{}}}]", "{foo:bar,child:{grandchild:{}}}");
+		assertApply("{foo:[bar]}", "[{op:add,path:\"/foo/-\",value:[abc,def]}]", "{foo:[bar,[abc,def]]}");
+		assertApply("{\"/\":1,\"~\":2}", "[{op:replace,path:\"/~1\",value:3},{op:remove,path:\"/~0\"}]", "{\"/\":3}");
+		assertApply("{a:[1,2]}", "[{op:copy,from:\"/a\",path:\"/b\"},{op:add,path:\"/b/0\",value:0}]", "{a:[1,2],b:[0,1,2]}");
+		assertApply("{a:1}", "[{op:replace,path:\"\",value:[1]}]", "[1]");
+		assertApply("{a:[1,2],b:{}}", "[{op:move,from:\"/a/0\",path:\"/b/x\"}]", "{a:[2],b:{x:1}}");
+		assertApply("{a:[1,2],b:{}}", "[{op:copy,from:\"/a/1\",path:\"/b/x\"}]", "{a:[1,2],b:{x:2}}");
+		assertApply("{a:[1,2],b:{x:0}}", "[{op:move,from:\"/a/1\",path:\"/b/x\"}]", "{a:[1],b:{x:2}}");
+
+		assertApplyFails("{foo:bar}", "[{op:test,path:\"/foo\",value:baz}]");
+		assertApplyFails("{foo:bar}", "[{op:remove,path:\"/missing\"}]");
+		assertApplyFails("{foo:bar}", "[{op:add,path:\"/a/b\",value:1}]");
+		assertApplyFails("{foo:[1]}", "[{op:add,path:\"/foo/2\",value:1}]");
+		assertApplyFails("{foo:[1]}", "[{op:add,path:\"/foo/01\",value:1}]");
+		assertApplyFails("{foo:{bar:1}}", "[{op:move,from:\"/foo\",path:\"/foo/bar/baz\"}]");
+		assertApplyFails("{foo:bar}", "[{op:bad,path:\"/foo\"}]");
+		assertApplyFails("{foo:bar}", "[{op:add,path:\"/baz\"}]");
+		assertApplyFails("{foo:bar}", "[{op:add,path:baz,value:1}]");
+	}
+
+	private void assertDiff (String from, String to, int operations) {
+		JsonValue fromValue = reader.parse(from), toValue = reader.parse(to);
+		JsonValue patch = JsonPatch.diff(fromValue, toValue);
+		assertEquals(patch.toJson(OutputType.minimal), operations, patch.size);
+		assertEquals(from, fromValue.toJson(OutputType.minimal), reader.parse(from).toJson(OutputType.minimal));
+		JsonValue result = JsonPatch.apply(reader.parse(from), patch);
+		assertTrue(result.toJson(OutputType.minimal), JsonPatch.equal(toValue, result));
+	}
+
+	private void assertApply (String document, String patch, String expected) {
+		JsonValue result = JsonPatch.apply(reader.parse(document), reader.parse(patch));
+		assertTrue(result.toJson(OutputType.minimal), JsonPatch.equal(reader.parse(expected), result));
+	}
+
+	private void assertApplyFails (String document, String patch) {
+		try {
+			JsonPatch.apply(reader.parse(document), reader.parse(patch));
+			fail(patch);
+		} catch (SerializationException expected) {
+		}
+	}
+
+	private JsonValue randomValue (Random random, int depth) {
+		switch (random.nextInt(depth > 0 ? 7 : 4)) {
+		case 0:
+			return new JsonValue(random.nextInt(3));
+		case 1:
+			return new JsonValue(random.nextInt(3) + 0.5);
+		case 2:
+			return new JsonValue(random.nextBoolean() ? "a" : "b/~");
+		case 3:
+			return new JsonValue(JsonValue.ValueType.nullValue);
+		case 4:
+		case 5: {
+			JsonValue array = new JsonValue(JsonValue.ValueType.array);
+			for (int i = 0, n = random.nextInt(6); i < n; i++)
+				array.addChild(randomValue(random, depth - 1));
+			return array;
+		}
+		default: {
+			JsonValue object = new JsonValue(JsonValue.ValueType.object);
+			for (int i = 0, n = random.nextInt(6); i < n; i++) {
+				String name = "k" + random.nextInt(8);
+				if (!object.has(name)) object.addChild(name, randomValue(random, depth - 1));
+			}
+			return object;
+		}
+		}
+	}
+
+	private World world (int size) {
+		World world = new World();
+		for (int i = 0; i < size; i++)
+			world.entities.add(new Entity("entity " + i, i * 0.1f, -i));
+		return world;
+	}
+
+	static public class World {
+		public int time;
+		public Array<Entity> entities = new Array();
+	}
+
+	static public class Entity {
+		public String name;
+		public float x, y;
+		public boolean visible = true;
+
+		public Entity () {
+		}
+
+		public Entity (String name, float x, float y) {
+			this.name = name;
+			this.x = x;
+			this.y = y;
+		}
+	}
+}
@@ -1,8 +1,13 @@
 
 package com.badlogic.gdx.utils;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import org.junit.Test;
 
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+
 import static org.junit.Assert.*;
 
 public class JsonTest {
@@ -37,4 +42,99 @@ public class JsonTest {
 		value = json.fromJson(null, JsonValue.class, "{\"key2\":\"value2\"}");
 		assertEquals("value2", value.getString("key2"));
 	}
+
+	@Test
+	public void testParseBytes () {
+		String json = "{name:\"caf\u00e9 \ud83d\ude00\",\"k\\u00e9y\":[1,2.5,-3e2,true,false,null,unquoted value],// comment\n"
+			+ "\u00fcml:\u00e4\u00f6\n/* comment */}";
+		JsonReader reader = new JsonReader();
+		String expected = reader.parse(json).toJson(OutputType.json);
+		assertEquals("caf\u00e9 \ud83d\ude00", reader.parse(json).getString("name"));
+
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		assertEquals(expected, reader.parse(bytes, 0, bytes.length).toJson(OutputType.json));
+
+		// Offset and byte order mark.
+		byte[] padded = new byte[bytes.length + 6];
+		padded[0] = '[';
+		padded[1] = (byte)0xef;
+		padded[2] = (byte)0xbb;
+		padded[3] = (byte)0xbf;
+		System.arraycopy(bytes, 0, padded, 4, bytes.length);
+		padded[padded.length - 2] = ']';
+		assertEquals(expected, reader.parse(padded, 1, bytes.length + 3).toJson(OutputType.json));
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+		direct.put(bytes).flip();
+		assertEquals(expected, reader.parse(direct).toJson(OutputType.json));
+		assertEquals(0, direct.position());
+	}
+
+	@Test
+	public void testParseBytesError () {
+		byte[] bytes = "{a:1,\nb:[}".getBytes(StandardCharsets.UTF_8);
+		try {
+			new JsonReader().parse(bytes, 0, bytes.length);
+			fail();
+		} catch (SerializationException ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().startsWith("Error parsing JSON on line 2 near: {a:1,\nb:[*ERROR*}"));
+		}
+	}
+
+	@Test
+	public void testFieldAccessors () {
+		Json methodHandles = new Json();
+		assertTrue(methodHandles.getFieldAccessorFactory() instanceof MethodHandleFieldAccessorFactory);
+		Json reflection = new Json();
+		reflection.setFieldAccessorFactory(new Json.FieldAccessorFactory() {
+			public Json.FieldAccessor newAccessor (com.badlogic.gdx.utils.reflect.Field field) {
+				return new Json.FieldAccessor(field);
+			}
+		});
+
+		Primitives object = new Primitives();
+		object.i = -7;
+		object.l = Long.MAX_VALUE;
+		object.f = 3;
+		object.d = 0.25;
+		object.s = "text";
+		object.b = 9;
+		object.values = new float[] {1, 1.5f};
+		object.boxed = 4f;
+		for (boolean quoteLongValues : new boolean[] {false, true}) {
+			for (OutputType outputType : OutputType.values()) {
+				methodHandles.setQuoteLongValues(quoteLongValues);
+				reflection.setQuoteLongValues(quoteLongValues);
+				methodHandles.setOutputType(outputType);
+				reflection.setOutputType(outputType);
+				String text = reflection.toJson(object);
+				assertEquals(text, methodHandles.toJson(object));
+				assertEquals(text, methodHandles.toJson(methodHandles.fromJson(Primitives.class, text)));
+				assertEquals(text, reflection.toJson(methodHandles.fromJson(Primitives.class, text)));
+			}
+		}
+
+		// Default values are not written.
+		methodHandles.setQuoteLongValues(false);
+		methodHandles.setOutputType(OutputType.minimal);
+		assertEquals("{}", methodHandles.toJson(new Primitives()));
+		Primitives read = methodHandles.fromJson(Primitives.class, "{z:false,i:\"12\",f:2,d:-0.5,l:\"-3\"}");
+		assertFalse(read.z);
+		assertEquals(12, read.i);
+		assertEquals(2, read.f, 0);
+		assertEquals(-0.5, read.d, 0);
+		assertEquals(-3, read.l);
+	}
+
+	static public class Primitives {
+		public boolean z = true;
+		public int i;
+		public long l = 5;
+		public float f = Float.NaN;
+		public double d = -0.0;
+		public String s;
+		private byte b;
+		float[] values;
+		Float boxed;
+	}
 }
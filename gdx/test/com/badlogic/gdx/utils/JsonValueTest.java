@@ -97,4 +97,25 @@ public class JsonValueTest {
 		Assert.assertEquals(bCopy.get("d").asString(), "D");
 		Assert.assertEquals(bCopy.get("d").parent(), bCopy);
 	}
+
+	@Test
+	public void testSetClearsPacked () {
+		JsonValue value = new JsonValue(JsonValue.ValueType.array);
+		value.setPacked(new int[] {1, 2, 3});
+		value.set(5, null);
+		Assert.assertNull(value.packed());
+		Assert.assertEquals(0, value.size);
+		Assert.assertNull(value.child());
+		Assert.assertEquals(5, value.asInt());
+
+		value.setPacked(new float[] {1, 2});
+		value.setType(JsonValue.ValueType.object);
+		Assert.assertNull(value.packed());
+		Assert.assertNull(value.child());
+
+		value.setPacked(new long[] {1, 2});
+		value.setType(JsonValue.ValueType.array);
+		Assert.assertEquals(2, value.size);
+		Assert.assertEquals(2, value.get(1).asLong());
+	}
 }
@@ -5,6 +5,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 
 public class MixedPutRemoveTest {
@@ -212,4 +213,121 @@ public class MixedPutRemoveTest {
 		}
 		Assert.assertEquals(gdxRemovals, jdkRemovals);
 	}
+
+	@Test
+	public void testHashedObjectMapPut () {
+		HashedObjectMap<Integer, Integer> gdxMap = new HashedObjectMap<Integer, Integer>();
+		HashMap<Integer, Integer> jdkMap = new HashMap<Integer, Integer>();
+		long stateA = 0L, stateB = 1L, temp;
+		int gdxRepeats = 0, jdkRepeats = 0;
+		int item;
+		for (int i = 0; i < 0x100000; i++) { // 1 million should do
+			// simple-ish RNG that repeats more than RandomXS128; we want repeats to test behavior
+			stateA += 0xC6BC279692B5C323L;
+			temp = (stateA ^ stateA >>> 31) * (stateB += 0x9E3779B97F4A7C16L);
+			item = (int)(temp & temp >>> 24); // causes 64-bit state to get crammed into 32 bits, with item biased toward low bit
+															// counts
+			if (gdxMap.put(item, i) != null) gdxRepeats++;
+			if (jdkMap.put(item, i) != null) jdkRepeats++;
+			Assert.assertEquals(gdxMap.size, jdkMap.size());
+		}
+		Assert.assertEquals(gdxRepeats, jdkRepeats);
+	}
+
+	@Test
+	public void testHashedObjectMapMix () {
+		HashedObjectMap<Integer, Integer> gdxMap = new HashedObjectMap<Integer, Integer>();
+		HashMap<Integer, Integer> jdkMap = new HashMap<Integer, Integer>();
+		long stateA = 0L, stateB = 1L, temp;
+		int gdxRemovals = 0, jdkRemovals = 0;
+		int item;
+		for (int i = 0; i < 0x100000; i++) { // 1 million should do
+			// simple-ish RNG that repeats more than RandomXS128; we want repeats to test behavior
+			stateA += 0xC6BC279692B5C323L;
+			temp = (stateA ^ stateA >>> 31) * (stateB += 0x9E3779B97F4A7C16L);
+			item = (int)(temp & temp >>> 24) & 0xFFFF; // a small range, so removals leave many tombstones
+			if (gdxMap.remove(item) == null)
+				gdxMap.put(item, i);
+			else
+				gdxRemovals++;
+			if (jdkMap.remove(item) == null)
+				jdkMap.put(item, i);
+			else
+				jdkRemovals++;
+			Assert.assertEquals(gdxMap.size, jdkMap.size());
+		}
+		Assert.assertEquals(gdxRemovals, jdkRemovals);
+		for (java.util.Map.Entry<Integer, Integer> ent : jdkMap.entrySet()) {
+			Assert.assertEquals(ent.getValue(), gdxMap.get(ent.getKey()));
+		}
+	}
+
+	@Test
+	public void testHashedObjectMapIterator () {
+		HashedObjectMap<String, Integer> gdxMap = new HashedObjectMap<String, Integer>();
+		long stateA = 0L, stateB = 1L, temp;
+		int actualSize = 0;
+		int item;
+		for (int i = 0; i < 0x10000; i++) { // 64K should do
+			// simple-ish RNG that repeats more than RandomXS128; we want repeats to test behavior
+			stateA += 0xC6BC279692B5C323L;
+			temp = (stateA ^ stateA >>> 31) * (stateB += 0x9E3779B97F4A7C16L);
+			item = (int)(temp & temp >>> 24);
+			if (gdxMap.put(String.valueOf(item), item) == null) actualSize++;
+			if (actualSize % 6 == 5) {
+				Iterator<Integer> it = gdxMap.values().iterator();
+				for (int n = (int)(temp & 3) + 1; n > 0; n--) {
+					it.next();
+				}
+				it.remove();
+				actualSize--;
+				// repeat above RNG
+				for (int j = 0; j < 2; j++) {
+					stateA += 0xC6BC279692B5C323L;
+					temp = (stateA ^ stateA >>> 31) * (stateB += 0x9E3779B97F4A7C16L);
+					item = (int)(temp & temp >>> 24);
+					if (gdxMap.put(String.valueOf(item), item) == null) actualSize++;
+				}
+			}
+			Assert.assertEquals(gdxMap.size, actualSize);
+		}
+		int count = 0;
+		for (ObjectMap.Entry<String, Integer> ent : gdxMap) {
+			Assert.assertEquals(ent.key, String.valueOf(ent.value));
+			Assert.assertEquals(ent.value, gdxMap.get(ent.key));
+			count++;
+		}
+		Assert.assertEquals(actualSize, count);
+	}
+
+	@Test
+	public void testHashedObjectSetMix () {
+		HashedObjectSet<String> gdxSet = new HashedObjectSet<String>();
+		HashSet<String> jdkSet = new HashSet<String>();
+		long stateA = 0L, stateB = 1L, temp;
+		int gdxRemovals = 0, jdkRemovals = 0;
+		String item;
+		for (int i = 0; i < 0x100000; i++) { // 1 million should do
+			// simple-ish RNG that repeats more than RandomXS128; we want repeats to test behavior
+			stateA += 0xC6BC279692B5C323L;
+			temp = (stateA ^ stateA >>> 31) * (stateB += 0x9E3779B97F4A7C16L);
+			item = Integer.toString((int)(temp & temp >>> 24) & 0xFFFF, 36);
+			if (!gdxSet.remove(item))
+				gdxSet.add(item);
+			else
+				gdxRemovals++;
+			if (!jdkSet.remove(item))
+				jdkSet.add(item);
+			else
+				jdkRemovals++;
+			Assert.assertEquals(gdxSet.size, jdkSet.size());
+		}
+		Assert.assertEquals(gdxRemovals, jdkRemovals);
+		for (String key : jdkSet) {
+			Assert.assertTrue(gdxSet.contains(key));
+		}
+		for (String key : gdxSet) {
+			Assert.assertTrue(jdkSet.contains(key));
+		}
+	}
 }
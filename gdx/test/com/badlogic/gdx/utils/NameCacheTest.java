@@ -0,0 +1,105 @@
+package com.badlogic.gdx.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.JsonSkimmer.JsonToken;
+import com.badlogic.gdx.utils.XmlReader.Element;
+
+import static org.junit.Assert.*;
+
+public class NameCacheTest {
+	@Test
+	public void testGet () {
+		NameCache cache = new NameCache();
+		char[] chars = "xxnamexxname".toCharArray();
+		String name = cache.get(chars, 2, 4);
+		assertEquals("name", name);
+		assertSame(name, cache.get(chars, 8, 4));
+		assertSame(name, cache.get(ByteBuffer.wrap("name".getBytes(StandardCharsets.UTF_8)), 0, 4));
+		assertEquals("nam", cache.get(chars, 2, 3));
+		assertEquals("", cache.get(chars, 0, 0));
+
+		ByteBuffer bytes = ByteBuffer.wrap("été été".getBytes(StandardCharsets.UTF_8));
+		String ete = cache.get(bytes, 0, 5);
+		assertEquals("été", ete);
+		assertSame(ete, cache.get(bytes, 6, 11));
+		assertSame(ete, cache.get("été".toCharArray(), 0, 3));
+
+		cache.clear();
+		assertNotSame(name, cache.get(chars, 2, 4));
+	}
+
+	@Test
+	public void testBounded () {
+		NameCache cache = new NameCache(16, 8);
+		char[] longName = "longer than eight".toCharArray();
+		assertNotSame(cache.get(longName, 0, longName.length), cache.get(longName, 0, longName.length));
+
+		// Many more names than entries, each still returns the right string.
+		for (int i = 0; i < 1000; i++) {
+			char[] chars = ("n" + i).toCharArray();
+			assertEquals("n" + i, cache.get(chars, 0, chars.length));
+		}
+	}
+
+	@Test
+	public void testJsonReader () {
+		String json = "[{id:1,\"name\":a},{id:2,\"name\":b},{\"na\\u006de\":c}]";
+		JsonReader reader = new JsonReader();
+		reader.setNameCache(new NameCache());
+		JsonValue root = reader.parse(json);
+		assertSame(root.get(0).child.name, root.get(1).child.name);
+		assertSame(root.get(0).get("name").name, root.get(1).get("name").name);
+		assertEquals("name", root.get(2).child.name);
+		assertEquals("a", root.get(0).getString("name"));
+
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		root = reader.parse(bytes, 0, bytes.length);
+		assertSame(root.get(0).child.name, root.get(1).child.name);
+		assertEquals(2, root.get(1).getInt("id"));
+		assertEquals("name", root.get(2).child.name);
+
+		reader.setNameCache(null);
+		root = reader.parse(json);
+		assertNotSame(root.get(0).child.name, root.get(1).child.name);
+	}
+
+	@Test
+	public void testJsonSkimmer () {
+		final Array<String> names = new Array();
+		JsonSkimmer skimmer = new JsonSkimmer() {
+			protected void value (JsonToken name, JsonToken value) {
+				names.add(name.toString());
+			}
+		};
+		skimmer.setNameCache(new NameCache());
+		String json = "{a:{name:1},b:{\"name\":2},c:{\"nam\":3}}";
+		skimmer.parse(json);
+		assertEquals(3, names.size);
+		assertSame(names.get(0), names.get(1));
+		assertEquals("nam", names.get(2));
+		names.clear();
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		skimmer.parse(bytes, 0, bytes.length);
+		assertSame(names.get(0), names.get(1));
+		assertEquals("nam", names.get(2));
+	}
+
+	@Test
+	public void testXmlReader () {
+		XmlReader reader = new XmlReader();
+		reader.setNameCache(new NameCache());
+		Element root = reader.parse("<map><tile id=\"1\"/><tile id=\"2\">text</tile></map>");
+		assertSame(root.getChild(0).getName(), root.getChild(1).getName());
+		assertEquals("2", root.getChild(1).getAttribute("id"));
+		assertEquals("text", root.getChild(1).getText());
+		String id = null;
+		for (String name : root.getChild(0).getAttributes().keys())
+			id = name;
+		for (String name : root.getChild(1).getAttributes().keys())
+			assertSame(id, name);
+	}
+}
@@ -0,0 +1,198 @@
+package com.badlogic.gdx.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import static org.junit.Assert.*;
+
+public class OffHeapLongLongMapTest {
+	@Test
+	public void putGetRemoveTest () {
+		OffHeapLongLongMap map = new OffHeapLongLongMap();
+		assertTrue(map.isEmpty());
+		map.put(1, 10);
+		map.put(-7L << 40, 20);
+		assertEquals(10, map.put(1, 30, -1));
+		assertEquals(-1, map.put(2, 40, -1));
+		assertEquals(30, map.get(1, -1));
+		assertEquals(20, map.get(-7L << 40, -1));
+		assertEquals(-1, map.get(3, -1));
+		assertEquals(3, map.size);
+		assertTrue(map.containsKey(2));
+		assertTrue(map.containsValue(40));
+		assertEquals(-7L << 40, map.findKey(20, 0));
+		assertEquals(5, map.getAndIncrement(3, 5, 2));
+		assertEquals(7, map.get(3, -1));
+
+		assertEquals(30, map.remove(1, -1));
+		assertEquals(-1, map.remove(1, -1));
+		assertFalse(map.containsKey(1));
+		assertEquals(3, map.size);
+
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertEquals(-1, map.get(-7L << 40, -1));
+		map.dispose();
+	}
+
+	@Test
+	public void backwardShiftTest () {
+		// Keys are placed in the first 4 slots, so they collide and form one run.
+		OffHeapLongLongMap map = new OffHeapLongLongMap(100) {
+			protected int place (long item) {
+				return (int)item & 3;
+			}
+		};
+		for (int i = 1; i <= 20; i++)
+			map.put(i, i);
+		for (int i = 1; i <= 20; i += 3)
+			assertEquals(i, map.remove(i, -1));
+		for (int i = 1; i <= 20; i++)
+			assertEquals(i % 3 == 1 ? -1 : i, map.get(i, -1));
+
+		// Removal shifts entries back, so no key is left in a slot other than where probing from its placement finds it.
+		for (int i = 0, n = map.tableSize; i < n; i++) {
+			long key = map.table.get(i << 1);
+			if (key == 0) continue;
+			for (int slot = map.place(key); slot != i; slot = slot + 1 & n - 1)
+				assertNotEquals(0, map.table.get(slot << 1));
+		}
+		assertEquals(13, map.size);
+		map.dispose();
+	}
+
+	@Test
+	public void zeroKeyTest () {
+		OffHeapLongLongMap map = new OffHeapLongLongMap();
+		assertEquals(-1, map.get(0, -1));
+		assertFalse(map.containsKey(0));
+		map.put(0, Long.MIN_VALUE);
+		assertEquals(Long.MIN_VALUE, map.get(0, -1));
+		assertTrue(map.containsKey(0));
+		assertEquals(1, map.size);
+		assertEquals(Long.MIN_VALUE, map.put(0, 6, -1));
+		assertEquals(0, map.findKey(6, -1));
+
+		OffHeapLongLongMap.Entries entries = map.entries();
+		assertTrue(entries.hasNext());
+		OffHeapLongLongMap.Entry entry = entries.next();
+		assertEquals(0, entry.key);
+		assertEquals(6, entry.value);
+		assertFalse(entries.hasNext());
+
+		assertEquals(6, map.remove(0, -1));
+		assertEquals(-1, map.get(0, -1));
+		assertEquals(0, map.size);
+		map.dispose();
+	}
+
+	@Test
+	public void resizeTest () {
+		OffHeapLongLongMap map = new OffHeapLongLongMap(4);
+		int initialTableSize = map.tableSize;
+		for (int i = 0; i < 10000; i++)
+			map.put(i * 31, i);
+		assertEquals(10000, map.size);
+		assertTrue(map.tableSize > initialTableSize);
+		for (int i = 0; i < 10000; i++)
+			assertEquals(i, map.get(i * 31, -1));
+
+		for (int i = 0; i < 10000; i += 2)
+			map.remove(i * 31, -1);
+		map.shrink(5000);
+		assertEquals(5000, map.size);
+		for (int i = 0; i < 10000; i++)
+			assertEquals(i % 2 == 0 ? -1 : i, map.get(i * 31, -1));
+		map.dispose();
+	}
+
+	@Test
+	public void saveLoadTest () throws IOException {
+		OffHeapLongLongMap map = new OffHeapLongLongMap();
+		for (int i = -500; i < 500; i++)
+			map.put(i, i * 3L << 32);
+		FileHandle file = tempFile();
+		map.save(file);
+
+		OffHeapLongLongMap loaded = OffHeapLongLongMap.load(file, false);
+		assertEquals(map.size, loaded.size);
+		assertEquals(map.tableSize, loaded.tableSize);
+		for (int i = -500; i < 500; i++)
+			assertEquals(i * 3L << 32, loaded.get(i, -1));
+		ObjectSet<Long> keys = new ObjectSet<>();
+		for (OffHeapLongLongMap.Entry entry : loaded)
+			assertTrue(keys.add(entry.key));
+		assertEquals(1000, keys.size);
+		loaded.dispose();
+
+		// A writable map is copy-on-write, so the file is unchanged.
+		OffHeapLongLongMap writable = OffHeapLongLongMap.load(file, true);
+		assertEquals(0, writable.remove(0, -1));
+		writable.put(1000, 1);
+		for (int i = 1001; i < 3000; i++)
+			writable.put(i, i);
+		assertEquals(2999, writable.get(2999, -1));
+		writable.dispose();
+		loaded = OffHeapLongLongMap.load(file, false);
+		assertEquals(0, loaded.get(0, -1));
+		assertEquals(-1, loaded.get(1000, -1));
+		assertEquals(1000, loaded.size);
+		loaded.dispose();
+		map.dispose();
+	}
+
+	@Test
+	public void loadRejectsHeaderTest () throws IOException {
+		OffHeapLongLongMap map = new OffHeapLongLongMap();
+		map.put(1, 2);
+		FileHandle file = tempFile();
+		map.save(file);
+		map.dispose();
+
+		writeInt(file, 0, 0x12345678);
+		try {
+			OffHeapLongLongMap.load(file, false);
+			fail();
+		} catch (GdxRuntimeException ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().startsWith("Not an OffHeapLongLongMap file"));
+		}
+
+		writeInt(file, 0, 0x4744584C);
+		writeInt(file, 4, 2);
+		try {
+			OffHeapLongLongMap.load(file, false);
+			fail();
+		} catch (GdxRuntimeException ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().startsWith("Unsupported OffHeapLongLongMap version"));
+		}
+
+		writeInt(file, 4, 1);
+		OffHeapLongLongMap loaded = OffHeapLongLongMap.load(file, false);
+		assertEquals(2, loaded.get(1, -1));
+		loaded.dispose();
+	}
+
+	static FileHandle tempFile () throws IOException {
+		File file = File.createTempFile("OffHeapLongLongMapTest", ".bin");
+		file.deleteOnExit();
+		return new FileHandle(file);
+	}
+
+	/** Writes an int in native byte order, as the header is written by save. */
+	static void writeInt (FileHandle file, long position, int value) throws IOException {
+		if (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN) value = Integer.reverseBytes(value);
+		RandomAccessFile output = new RandomAccessFile(file.file(), "rw");
+		try {
+			output.seek(position);
+			output.writeInt(value);
+		} finally {
+			output.close();
+		}
+	}
+}
@@ -0,0 +1,146 @@
+
+package com.badlogic.gdx.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.JsonMatcher.Processor;
+
+import static org.junit.Assert.*;
+
+public class ParallelJsonMatcherTest {
+	static private final ForkJoinPool pool = new ForkJoinPool(4);
+
+	@AfterClass
+	static public void shutdown () {
+		pool.shutdown();
+	}
+
+	@Test
+	public void testOrdered () {
+		byte[] json = json(2000);
+		Array<String> expected = new Array();
+		JsonMatcher matcher = new JsonMatcher("*@/(id,name)");
+		matcher.setProcessor(value -> expected.add(value.getString("id") + " " + value.getString("name")));
+		matcher.parse(json, 0, json.length);
+		assertEquals(2000, expected.size);
+
+		Array<String> actual = new Array();
+		ParallelJsonMatcher parallel = new ParallelJsonMatcher(pool, "*@/(id,name)");
+		parallel.chunkSize = 512;
+		parallel.setProcessor(value -> actual.add(value.getString("id") + " " + value.getString("name")));
+		parallel.parse(json, 0, json.length);
+		assertEquals(expected, actual);
+
+		// Instances are reusable.
+		actual.clear();
+		parallel.parse(json, 0, json.length);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testUnordered () {
+		byte[] json = json(2000);
+		IntArray ids = new IntArray();
+		Array<String> tags = new Array();
+		ParallelJsonMatcher parallel = new ParallelJsonMatcher(pool);
+		parallel.addPattern("*@/(id)", value -> {
+			synchronized (ids) {
+				ids.add(value.asInt());
+			}
+		});
+		parallel.addPattern("*@/tags/(*[])", value -> {
+			synchronized (tags) {
+				tags.add(value.toString());
+			}
+		});
+		parallel.ordered = false;
+		parallel.chunkSize = 1000;
+		parallel.parse(json, 0, json.length);
+		ids.sort();
+		assertEquals(2000, ids.size);
+		for (int i = 0; i < ids.size; i++)
+			assertEquals(i, ids.get(i));
+		assertEquals(2000, tags.size);
+	}
+
+	@Test
+	public void testSequential () {
+		Array<String> names = new Array();
+		Processor processor = value -> names.add(value.asString());
+		ParallelJsonMatcher parallel = new ParallelJsonMatcher(pool, "items/*@/(name)");
+		parallel.setProcessor(processor);
+		parallel.chunkSize = 8;
+		byte[] json = "{items:[{name:a},{name:b}]}".getBytes(StandardCharsets.UTF_8);
+		parallel.parse(json, 0, json.length);
+		assertEquals(new Array(new String[] {"a", "b"}), names);
+
+		names.clear();
+		parallel = new ParallelJsonMatcher(pool, "*@/(name)");
+		parallel.setProcessor(processor);
+		json = " [{name:a},{name:b}] ".getBytes(StandardCharsets.UTF_8);
+		parallel.parse(json, 0, json.length);
+		assertEquals(new Array(new String[] {"a", "b"}), names);
+
+		names.clear();
+		parallel.chunkSize = 1;
+		json = "[]".getBytes(StandardCharsets.UTF_8);
+		parallel.parse(json, 0, json.length);
+		assertEquals(0, names.size);
+	}
+
+	@Test
+	public void testErrors () {
+		ParallelJsonMatcher parallel = new ParallelJsonMatcher(pool, "*@/(id)");
+		parallel.chunkSize = 64;
+		byte[] json = json(100);
+		try {
+			parallel.parse(json, 0, json.length - 3);
+			fail();
+		} catch (SerializationException expected) {
+		}
+		byte[] invalid = new String(json, StandardCharsets.UTF_8).replace("{\"id\":50,", "{\"id\":50,,").getBytes(StandardCharsets.UTF_8);
+		try {
+			parallel.parse(invalid, 0, invalid.length);
+			fail();
+		} catch (SerializationException expected) {
+		}
+		// Usable after an error.
+		IntArray ids = new IntArray();
+		parallel.setProcessor(value -> ids.add(value.asInt()));
+		parallel.parse(json, 0, json.length);
+		assertEquals(100, ids.size);
+	}
+
+	/** Creates an array of objects with strings containing brackets, commas, quotes and escapes. */
+	private byte[] json (int size) {
+		Random random = new Random(123);
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("[\n");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) buffer.append(",\n");
+			buffer.append("{\"id\":").append(i);
+			switch (random.nextInt(4)) {
+			case 0:
+				buffer.append(",\"name\":\"plain ").append(i).append('"');
+				break;
+			case 1:
+				buffer.append(",\"name\":\"brackets ],}[{, ").append(i).append('"');
+				break;
+			case 2:
+				buffer.append(",\"name\":\"escaped \\\" \\\\\\\" ] \\\\").append(i).append('"');
+				break;
+			default:
+				buffer.append(",\"name\":\"élève ").append(i).append('"');
+			}
+			buffer.append(",\"nested\":{\"a\":[1,[2,{\"b\":\"]\"}]],\"c\":{}}");
+			buffer.append(",\"tags\":[\"t").append(random.nextInt(10)).append("\"]}");
+		}
+		buffer.append("\n]\n");
+		return buffer.toString().getBytes(StandardCharsets.UTF_8);
+	}
+}
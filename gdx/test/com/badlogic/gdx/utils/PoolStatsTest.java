@@ -0,0 +1,118 @@
+package com.badlogic.gdx.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PoolStatsTest {
+	@Test
+	public void statsTest () {
+		DefaultPool<Object> pool = new DefaultPool<>(Object::new, 4, 2);
+		assertNull(pool.getStats());
+		pool.setStatsEnabled(true);
+
+		pool.fill(1);
+		Object a = pool.obtain(), b = pool.obtain(), c = pool.obtain();
+		PoolStats stats = pool.getStats();
+		assertEquals(3, stats.obtained);
+		assertEquals(3, stats.created);
+		assertEquals(3, stats.inUse);
+
+		pool.free(a);
+		pool.freeAll(Array.with(b, c));
+		pool.obtain();
+		stats = pool.getStats();
+		assertEquals(4, stats.obtained);
+		assertEquals(3, stats.freed);
+		assertEquals(1, stats.discarded); // Max is 2.
+		assertEquals(1, stats.inUse);
+		assertEquals(3, stats.peakInUse);
+		assertEquals(1, stats.free);
+		assertEquals(2, stats.peakFree);
+
+		pool.clear();
+		assertEquals(2, pool.getStats().discarded);
+
+		pool.setStatsEnabled(false);
+		assertNull(pool.getStats());
+	}
+
+	@Test
+	public void peakFreeStartsAtZeroTest () {
+		DefaultPool<Object> pool = new DefaultPool<>(Object::new, 4, 8);
+		pool.fill(5);
+		pool.obtain();
+		pool.obtain();
+		pool.obtain();
+		pool.setStatsEnabled(true);
+		assertEquals(2, pool.getStats().peakFree);
+
+		pool.free(new Object());
+		assertEquals(3, pool.getStats().peakFree);
+		pool.obtain();
+		pool.obtain();
+		assertEquals(3, pool.getStats().peakFree);
+
+		pool.setStatsEnabled(false);
+		pool.setStatsEnabled(true);
+		assertEquals(1, pool.getStats().peakFree);
+	}
+
+	@Test
+	public void inUseNotNegativeTest () {
+		DefaultPool<Object> pool = new DefaultPool<>(Object::new);
+		Object a = pool.obtain(), b = pool.obtain();
+		pool.setStatsEnabled(true);
+		Object c = pool.obtain();
+		pool.free(a);
+		pool.free(b);
+		assertEquals(0, pool.getStats().inUse);
+		assertEquals(1, pool.getStats().peakInUse);
+		pool.free(c);
+		assertEquals(0, pool.getStats().inUse);
+		assertEquals(3, pool.getStats().freed);
+	}
+
+	@Test
+	public void leakDetectionTest () {
+		final Array<Object> leaked = new Array<>(), freedTwice = new Array<>();
+		Pool<Object> pool = new Pool<Object>() {
+			protected Object newObject () {
+				return new Object();
+			}
+
+			protected void leaked (Object object, Throwable obtainedAt) {
+				leaked.add(object);
+			}
+
+			protected void freedTwice (Object object, Throwable freedAt) {
+				freedTwice.add(object);
+			}
+		};
+		pool.setLeakDetection(true);
+
+		Object a = pool.obtain(), b = pool.obtain();
+		pool.free(a);
+		pool.free(a);
+		assertEquals(1, freedTwice.size);
+		assertSame(a, freedTwice.first());
+		assertEquals(1, pool.getFree()); // Not added twice.
+
+		assertEquals(1, pool.checkLeaks());
+		assertSame(b, leaked.first());
+		// Reported objects are forgotten.
+		assertEquals(0, pool.checkLeaks());
+		pool.free(b);
+		assertEquals(1, freedTwice.size);
+	}
+
+	@Test
+	public void poolManagerTest () {
+		PoolManager poolManager = new PoolManager(Array::new);
+		poolManager.setStatsEnabled(true);
+		poolManager.free(poolManager.obtain(Array.class));
+		PoolStats stats = poolManager.getStats().get(Array.class);
+		assertEquals(1, stats.obtained);
+		assertEquals(1, stats.freed);
+	}
+}
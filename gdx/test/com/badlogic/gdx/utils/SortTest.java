@@ -23,7 +23,10 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.lang.reflect.Field;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /*
  * This test class verifies the correctness of the sort functions in the Sort class.
@@ -249,4 +252,137 @@ public class SortTest {
 		sortInstance.sort(emptyArray);
 		assertArrayEquals(new Integer[] {}, emptyArray.items);
 	}
+
+	@Test
+	public void testRadixSortIntArray () {
+		Random random = new Random(1);
+		for (int size : new int[] {0, 10, 1000, 20000}) {
+			IntArray array = new IntArray();
+			for (int i = 0; i < size; i++)
+				array.add(random.nextInt() >> random.nextInt(32));
+			int[] expected = array.toArray();
+			Arrays.sort(expected);
+			sortInstance.radixSort(array);
+			assertArrayEquals(expected, array.toArray());
+		}
+	}
+
+	@Test
+	public void testRadixSortFloatArray () {
+		Random random = new Random(1);
+		FloatArray array = new FloatArray();
+		for (int i = 0; i < 5000; i++)
+			array.add((random.nextFloat() - 0.5f) * (1 << random.nextInt(20)));
+		array.addAll(Float.NaN, -0f, 0f, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, Float.MIN_VALUE, -Float.MIN_VALUE);
+		float[] expected = array.toArray();
+		Arrays.sort(expected);
+		sortInstance.radixSort(array);
+		for (int i = 0; i < expected.length; i++) // Compare bits so -0f and 0f are different.
+			assertEquals(Float.floatToIntBits(expected[i]), Float.floatToIntBits(array.get(i)));
+	}
+
+	@Test
+	public void testRadixSortLongArray () {
+		Random random = new Random(1);
+		LongArray array = new LongArray();
+		for (int i = 0; i < 5000; i++)
+			array.add(random.nextLong() >> random.nextInt(64));
+		long[] expected = array.toArray();
+		Arrays.sort(expected);
+		sortInstance.radixSort(array);
+		assertArrayEquals(expected, array.toArray());
+	}
+
+	@Test
+	public void testRadixSortIntRange () {
+		Random random = new Random(1);
+		for (int[] range : new int[][] {{0, 500}, {371, 871}, {100, 110}, {1, 999}}) {
+			int[] array = new int[1000];
+			for (int i = 0; i < array.length; i++)
+				array[i] = random.nextInt();
+			int[] expected = array.clone();
+			Arrays.sort(expected, range[0], range[1]);
+			// A new instance, so the buffers are only as large as the range.
+			new Sort().radixSort(array, range[0], range[1]);
+			assertArrayEquals(expected, array);
+		}
+	}
+
+	@Test
+	public void testRadixSortFloatRange () {
+		Random random = new Random(1);
+		float[] array = new float[1000];
+		for (int i = 0; i < array.length; i++)
+			array[i] = (random.nextFloat() - 0.5f) * 1000;
+		float[] expected = array.clone();
+		Arrays.sort(expected, 325, 925);
+		new Sort().radixSort(array, 325, 925);
+		assertArrayEquals(expected, array, 0);
+	}
+
+	@Test
+	public void testRadixSortLongRange () {
+		Random random = new Random(1);
+		for (int[] range : new int[][] {{0, 600}, {325, 925}, {100, 110}, {1, 999}}) {
+			long[] array = new long[1000];
+			for (int i = 0; i < array.length; i++)
+				array[i] = random.nextLong();
+			long[] expected = array.clone();
+			Arrays.sort(expected, range[0], range[1]);
+			new Sort().radixSort(array, range[0], range[1]);
+			assertArrayEquals(expected, array);
+		}
+	}
+
+	@Test
+	public void testSortByKeyIsStable () {
+		Array<int[]> array = new Array<>();
+		Random random = new Random(1);
+		for (int i = 0; i < 3000; i++)
+			array.add(new int[] {random.nextInt(50) - 25, i});
+		sortInstance.sortByFloatKey(array, new Sort.FloatKey<int[]>() {
+			public float get (int[] item) {
+				return item[0] * 0.5f;
+			}
+		});
+		for (int i = 1; i < array.size; i++) {
+			int[] previous = array.get(i - 1), item = array.get(i);
+			assertTrue(previous[0] < item[0] || (previous[0] == item[0] && previous[1] < item[1]));
+		}
+	}
+
+	@Test
+	public void testParallelSort () {
+		ParallelSort parallelSort = new ParallelSort(new ForkJoinPool(4));
+		parallelSort.threshold = 1000;
+		Random random = new Random(1);
+
+		IntArray ints = new IntArray();
+		FloatArray floats = new FloatArray();
+		Array<int[]> objects = new Array<>();
+		for (int i = 0; i < 100000; i++) {
+			ints.add(random.nextInt());
+			floats.add(random.nextFloat() - 0.5f);
+			objects.add(new int[] {random.nextInt(1000), i});
+		}
+		int[] expectedInts = ints.toArray();
+		Arrays.sort(expectedInts);
+		parallelSort.sort(ints);
+		assertArrayEquals(expectedInts, ints.toArray());
+
+		float[] expectedFloats = floats.toArray();
+		Arrays.sort(expectedFloats);
+		parallelSort.sort(floats);
+		assertArrayEquals(expectedFloats, floats.toArray(), 0);
+
+		parallelSort.sortByIntKey(objects, new Sort.IntKey<int[]>() {
+			public int get (int[] item) {
+				return item[0];
+			}
+		});
+		for (int i = 1; i < objects.size; i++) {
+			int[] previous = objects.get(i - 1), item = objects.get(i);
+			assertTrue(previous[0] < item[0] || (previous[0] == item[0] && previous[1] < item[1]));
+		}
+	}
 }
@@ -0,0 +1,123 @@
+
+package com.badlogic.gdx.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+
+import static org.junit.Assert.*;
+
+public class UBJsonReaderTest {
+	@Test
+	public void testPackedArrays () throws IOException {
+		float[] floats = new float[5000];
+		short[] shorts = new short[5000];
+		int[] ints = new int[3000];
+		for (int i = 0; i < floats.length; i++)
+			floats[i] = i * 0.5f - 100;
+		for (int i = 0; i < shorts.length; i++)
+			shorts[i] = (short)(i * 13 - 30000);
+		for (int i = 0; i < ints.length; i++)
+			ints[i] = i * 100003;
+		byte[] bytes = write(floats, shorts, ints);
+
+		UBJsonReader reader = new UBJsonReader();
+		reader.oldFormat = false;
+		JsonValue expected = reader.parse(new ByteArrayInputStream(bytes));
+		assertNull(expected.get("floats").packed());
+
+		reader.packArrays = true;
+		JsonValue root = reader.parse(new ByteArrayInputStream(bytes));
+		JsonValue packed = root.get("floats");
+		assertTrue(packed.packed() instanceof float[]);
+		assertTrue(packed.isArray());
+		assertEquals(floats.length, packed.size);
+		assertArrayEquals(floats, packed.asFloatArray(), 0);
+		assertArrayEquals(shorts, root.get("shorts").asShortArray());
+		assertArrayEquals(ints, root.get("ints").asIntArray());
+		assertEquals(expected.toJson(OutputType.json), root.toJson(OutputType.json));
+
+		// Children are created on first access.
+		JsonValue shortValue = root.get("shorts");
+		assertEquals(shorts[10], shortValue.getShort(10));
+		assertNull(shortValue.packed());
+		int count = 0;
+		for (JsonValue child : shortValue)
+			assertEquals(shorts[count++], child.asShort());
+		assertEquals(shorts.length, count);
+
+		assertArrayEquals(floats, new Json().readValue(float[].class, root.get("floats")), 0);
+		assertArrayEquals(ints, new Json().readValue(int[].class, root.get("ints")));
+
+		// Packed values are written back as typed containers.
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		UBJsonWriter writer = new UBJsonWriter(output);
+		writer.value(reader.parse(new ByteArrayInputStream(bytes)));
+		writer.close();
+		assertArrayEquals(bytes, output.toByteArray());
+	}
+
+	@Test
+	public void testPackedEmpty () throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		new UBJsonWriter(bytes).value(new float[0]).close();
+		UBJsonReader reader = new UBJsonReader();
+		reader.oldFormat = false;
+		reader.packArrays = true;
+		JsonValue value = reader.parse(new ByteArrayInputStream(bytes.toByteArray()));
+		assertTrue(value.isArray());
+		assertEquals(0, value.size);
+		assertNull(value.child());
+	}
+
+	@Test
+	public void testSetPacked () {
+		JsonValue value = new JsonValue(JsonValue.ValueType.object);
+		value.setPacked(new int[] {1, 2, 3});
+		assertTrue(value.isArray());
+		assertEquals(3, value.size);
+		assertArrayEquals(new float[] {1, 2, 3}, value.asFloatArray(), 0);
+		assertEquals("[1,2,3]", value.toJson(OutputType.json));
+		value.addChild(new JsonValue(4));
+		assertNull(value.packed());
+		assertArrayEquals(new long[] {1, 2, 3, 4}, value.asLongArray());
+	}
+
+	@Test
+	public void testCursorBulk () throws IOException {
+		float[] floats = new float[5000];
+		short[] shorts = new short[5000];
+		int[] ints = new int[3000];
+		for (int i = 0; i < floats.length; i++)
+			floats[i] = i * 0.25f;
+		for (int i = 0; i < shorts.length; i++)
+			shorts[i] = (short)-i;
+		for (int i = 0; i < ints.length; i++)
+			ints[i] = -i * 7919;
+		UBJsonCursor cursor = new UBJsonCursor(new ByteArrayInputStream(write(floats, shorts, ints)));
+		cursor.oldFormat = false;
+		cursor.beginObject();
+		assertEquals("floats", cursor.nextName());
+		assertArrayEquals(floats, cursor.nextFloats(new FloatArray()).toArray(), 0);
+		assertEquals("shorts", cursor.nextName());
+		assertArrayEquals(shorts, cursor.nextShorts(new ShortArray()).toArray());
+		assertEquals("ints", cursor.nextName());
+		assertArrayEquals(ints, cursor.nextInts(new IntArray()).toArray());
+	}
+
+	private byte[] write (float[] floats, short[] shorts, int[] ints) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		UBJsonWriter writer = new UBJsonWriter(bytes);
+		writer.object();
+		writer.name("floats").value(floats);
+		writer.name("shorts").value(shorts);
+		writer.name("ints").value(ints);
+		writer.pop();
+		writer.close();
+		return bytes.toByteArray();
+	}
+}
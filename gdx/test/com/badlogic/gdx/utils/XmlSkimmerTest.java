@@ -0,0 +1,148 @@
+package com.badlogic.gdx.utils;
+
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.XmlReader.Element;
+
+import static org.junit.Assert.*;
+
+public class XmlSkimmerTest {
+	@Test
+	public void testDom () {
+		dom("<a/>");
+		dom("<a></a>");
+		dom("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<!DOCTYPE a>\n<!-- comment -->\n<a b=\"1\" c='two' d = \"3\" >text</a>");
+		dom("<map><layer name=\"ground\" width=\"4\"><data encoding=\"csv\">\n1,2,3,4,\n5,6,7,8\n</data></layer></map>");
+		dom("<a>  leading and trailing  <b/>mixed <c>content</c> here\n</a>");
+		dom("<a x=\"&lt;&amp;&gt;&quot;&apos;&#x41;\">&lt;tag&gt; &unknown; a &amp;&amp; b</a>");
+		dom("<a><![CDATA[<not> &amp; parsed]]><!-- c --><b /></a>");
+		dom("<a attr=\"trailing  \">été 日本</a>");
+		dom("< a ><b></ b ></a>");
+		StringBuilder buffer = new StringBuilder("<root>");
+		for (int i = 0; i < 100; i++)
+			buffer.append("<item id=\"").append(i).append("\" name=\"item &amp; ").append(i).append("\">text ").append(i)
+				.append(" &lt; ").append(i + 1).append("</item>");
+		buffer.append("<long>");
+		for (int i = 0; i < 1000; i++)
+			buffer.append(i).append(i % 10 == 0 ? "&amp;\n " : ",");
+		buffer.append("</long></root>");
+		dom(buffer.toString());
+	}
+
+	private void dom (String xml) {
+		String expected = new XmlReader().parse(xml).toString();
+		assertEquals(expected, new DomSkimmer(16).read(xml).toString());
+		// Small buffers make tokens and text cross buffer boundaries.
+		for (int size = 16; size < 64; size++)
+			assertEquals(expected, new DomSkimmer(size).read(new StringReader(xml)).toString());
+	}
+
+	@Test
+	public void testChunks () {
+		StringBuilder buffer = new StringBuilder("<a>");
+		for (int i = 0; i < 10000; i++)
+			buffer.append(i).append(',');
+		buffer.append("</a>");
+		final IntArray chunks = new IntArray();
+		final StringBuilder text = new StringBuilder();
+		XmlSkimmer skimmer = new XmlSkimmer(64) {
+			protected void text (XmlToken token) {
+				chunks.add(token.length);
+				text.append(token.chars, token.start, token.length);
+			}
+		};
+		skimmer.parse(new StringReader(buffer.toString()));
+		assertTrue(chunks.size > 100);
+		assertEquals(buffer.substring(3, buffer.length() - 4), text.toString());
+	}
+
+	@Test
+	public void testStop () {
+		final Array<String> names = new Array();
+		XmlSkimmer skimmer = new XmlSkimmer() {
+			protected void open (XmlToken name) {
+				names.add(name.toString());
+				if (name.equalsString("b")) stop();
+			}
+		};
+		skimmer.parse("<a><b><c/></b></a>");
+		assertTrue(skimmer.isStopped());
+		assertEquals(2, names.size);
+	}
+
+	@Test
+	public void testErrors () {
+		error("<a>");
+		error("<a b=\"1></a>");
+		error("<a b></a>");
+		error("<a><![CDATA[x</a>");
+		error("text");
+		error("</a>");
+	}
+
+	private void error (String xml) {
+		try {
+			new XmlSkimmer(16).parse(new StringReader(xml));
+			fail(xml);
+		} catch (SerializationException expected) {
+		}
+	}
+
+	/** Builds the same DOM as XmlReader. */
+	static class DomSkimmer extends XmlSkimmer {
+		final Array<Element> elements = new Array();
+		Element root;
+		Element textElement;
+		final StringBuilder textBuffer = new StringBuilder();
+
+		DomSkimmer (int bufferSize) {
+			super(bufferSize);
+		}
+
+		Element read (String xml) {
+			parse(xml);
+			return root;
+		}
+
+		Element read (StringReader reader) {
+			parse(reader);
+			return root;
+		}
+
+		protected void open (XmlToken name) {
+			flush();
+			Element parent = elements.size > 0 ? elements.peek() : null;
+			Element child = new Element(name.toString(), parent);
+			if (parent != null)
+				parent.addChild(child);
+			else
+				root = child;
+			elements.add(child);
+		}
+
+		protected void attribute (XmlToken name, XmlToken value) {
+			elements.peek().setAttribute(name.toString(), value.toString());
+		}
+
+		protected void text (XmlToken text) {
+			if (textElement != elements.peek()) flush();
+			textElement = elements.peek();
+			textBuffer.append(text.chars, text.start, text.length);
+		}
+
+		protected void close (XmlToken name) {
+			flush();
+			elements.pop();
+		}
+
+		void flush () {
+			if (textElement == null) return;
+			String existing = textElement.getText();
+			textElement.setText(existing != null ? existing + textBuffer : textBuffer.toString());
+			textBuffer.setLength(0);
+			textElement = null;
+		}
+	}
+}
@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/** Benchmarks {@link Array}, {@link IntArray} and {@link FloatArray} against {@link ArrayList} and fastutil.
+ * <p>
+ * The get and removeAndAdd benchmarks are single operations at a random index of an ordered array holding {@code size} items.
+ * removeAndAdd adds the removed item back at the end, so it measures shifting the items after the index. The addAll and iterate
+ * benchmarks visit every item, so their time grows with {@code size}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ArrayBenchmark {
+	@State(Scope.Thread)
+	static public abstract class Indices {
+		@Param({"16", "1024", "65536", "1048576", "10000000"}) public int size;
+
+		public int[] indices;
+		private int cursor;
+
+		protected void createIndices () {
+			indices = KeyDistribution.shuffledIndices(size, 123);
+			cursor = 0;
+		}
+
+		/** Returns the next index to access, cycling through all indices in a shuffled order. */
+		public int nextIndex () {
+			int i = cursor;
+			if (++cursor == size) cursor = 0;
+			return indices[i];
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class ArrayState extends Indices {
+		public Array<Object> array;
+		public Object[] items;
+
+		@Setup
+		public void setup () {
+			createIndices();
+			items = new Object[size];
+			array = new Array(true, size);
+			for (int i = 0; i < size; i++) {
+				items[i] = i;
+				array.add(items[i]);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class ArrayListState extends Indices {
+		public ArrayList<Object> array;
+		public Object[] items;
+
+		@Setup
+		public void setup () {
+			createIndices();
+			items = new Object[size];
+			array = new ArrayList(size);
+			for (int i = 0; i < size; i++) {
+				items[i] = i;
+				array.add(items[i]);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class IntArrayState extends Indices {
+		public IntArray array;
+
+		@Setup
+		public void setup () {
+			createIndices();
+			array = new IntArray(true, size);
+			for (int i = 0; i < size; i++)
+				array.add(i);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class IntArrayListState extends Indices {
+		public IntArrayList array;
+
+		@Setup
+		public void setup () {
+			createIndices();
+			array = new IntArrayList(size);
+			for (int i = 0; i < size; i++)
+				array.add(i);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class FloatArrayState extends Indices {
+		public FloatArray array;
+
+		@Setup
+		public void setup () {
+			createIndices();
+			array = new FloatArray(true, size);
+			for (int i = 0; i < size; i++)
+				array.add(i);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class FloatArrayListState extends Indices {
+		public FloatArrayList array;
+
+		@Setup
+		public void setup () {
+			createIndices();
+			array = new FloatArrayList(size);
+			for (int i = 0; i < size; i++)
+				array.add(i);
+		}
+	}
+
+	// Array
+
+	@Benchmark
+	public Object arrayGet (ArrayState state) {
+		return state.array.get(state.nextIndex());
+	}
+
+	@Benchmark
+	public Object arrayRemoveAndAdd (ArrayState state) {
+		Object item = state.array.removeIndex(state.nextIndex());
+		state.array.add(item);
+		return item;
+	}
+
+	@Benchmark
+	public int arrayAddAll (ArrayState state) {
+		Array<Object> array = state.array;
+		array.clear();
+		for (Object item : state.items)
+			array.add(item);
+		return array.size;
+	}
+
+	@Benchmark
+	public int arrayIterate (ArrayState state) {
+		int count = 0;
+		Object[] items = state.array.items;
+		for (int i = 0, n = state.array.size; i < n; i++)
+			if (items[i] != null) count++;
+		return count;
+	}
+
+	// ArrayList
+
+	@Benchmark
+	public Object arrayListGet (ArrayListState state) {
+		return state.array.get(state.nextIndex());
+	}
+
+	@Benchmark
+	public Object arrayListRemoveAndAdd (ArrayListState state) {
+		Object item = state.array.remove(state.nextIndex());
+		state.array.add(item);
+		return item;
+	}
+
+	@Benchmark
+	public int arrayListAddAll (ArrayListState state) {
+		ArrayList<Object> array = state.array;
+		array.clear();
+		for (Object item : state.items)
+			array.add(item);
+		return array.size();
+	}
+
+	@Benchmark
+	public int arrayListIterate (ArrayListState state) {
+		int count = 0;
+		ArrayList<Object> array = state.array;
+		for (int i = 0, n = array.size(); i < n; i++)
+			if (array.get(i) != null) count++;
+		return count;
+	}
+
+	// IntArray
+
+	@Benchmark
+	public int intArrayGet (IntArrayState state) {
+		return state.array.get(state.nextIndex());
+	}
+
+	@Benchmark
+	public int intArrayRemoveAndAdd (IntArrayState state) {
+		int item = state.array.removeIndex(state.nextIndex());
+		state.array.add(item);
+		return item;
+	}
+
+	@Benchmark
+	public int intArrayAddAll (IntArrayState state) {
+		IntArray array = state.array;
+		array.clear();
+		for (int i = 0, n = state.size; i < n; i++)
+			array.add(i);
+		return array.size;
+	}
+
+	@Benchmark
+	public long intArrayIterate (IntArrayState state) {
+		long sum = 0;
+		int[] items = state.array.items;
+		for (int i = 0, n = state.array.size; i < n; i++)
+			sum += items[i];
+		return sum;
+	}
+
+	// IntArrayList
+
+	@Benchmark
+	public int intArrayListGet (IntArrayListState state) {
+		return state.array.getInt(state.nextIndex());
+	}
+
+	@Benchmark
+	public int intArrayListRemoveAndAdd (IntArrayListState state) {
+		int item = state.array.removeInt(state.nextIndex());
+		state.array.add(item);
+		return item;
+	}
+
+	@Benchmark
+	public int intArrayListAddAll (IntArrayListState state) {
+		IntArrayList array = state.array;
+		array.clear();
+		for (int i = 0, n = state.size; i < n; i++)
+			array.add(i);
+		return array.size();
+	}
+
+	@Benchmark
+	public long intArrayListIterate (IntArrayListState state) {
+		long sum = 0;
+		int[] items = state.array.elements();
+		for (int i = 0, n = state.array.size(); i < n; i++)
+			sum += items[i];
+		return sum;
+	}
+
+	// FloatArray
+
+	@Benchmark
+	public float floatArrayGet (FloatArrayState state) {
+		return state.array.get(state.nextIndex());
+	}
+
+	@Benchmark
+	public float floatArrayRemoveAndAdd (FloatArrayState state) {
+		float item = state.array.removeIndex(state.nextIndex());
+		state.array.add(item);
+		return item;
+	}
+
+	@Benchmark
+	public int floatArrayAddAll (FloatArrayState state) {
+		FloatArray array = state.array;
+		array.clear();
+		for (int i = 0, n = state.size; i < n; i++)
+			array.add(i);
+		return array.size;
+	}
+
+	@Benchmark
+	public double floatArrayIterate (FloatArrayState state) {
+		double sum = 0;
+		float[] items = state.array.items;
+		for (int i = 0, n = state.array.size; i < n; i++)
+			sum += items[i];
+		return sum;
+	}
+
+	// FloatArrayList
+
+	@Benchmark
+	public float floatArrayListGet (FloatArrayListState state) {
+		return state.array.getFloat(state.nextIndex());
+	}
+
+	@Benchmark
+	public float floatArrayListRemoveAndAdd (FloatArrayListState state) {
+		float item = state.array.removeFloat(state.nextIndex());
+		state.array.add(item);
+		return item;
+	}
+
+	@Benchmark
+	public int floatArrayListAddAll (FloatArrayListState state) {
+		FloatArrayList array = state.array;
+		array.clear();
+		for (int i = 0, n = state.size; i < n; i++)
+			array.add(i);
+		return array.size();
+	}
+
+	@Benchmark
+	public double floatArrayListIterate (FloatArrayListState state) {
+		double sum = 0;
+		float[] items = state.array.elements();
+		for (int i = 0, n = state.array.size(); i < n; i++)
+			sum += items[i];
+		return sum;
+	}
+}
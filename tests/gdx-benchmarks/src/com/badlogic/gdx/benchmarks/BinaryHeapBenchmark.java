@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.BinaryHeap;
+import com.badlogic.gdx.utils.BinaryHeap.Node;
+import com.badlogic.gdx.utils.IntFloatBinaryHeap;
+
+import it.unimi.dsi.fastutil.objects.ObjectHeapPriorityQueue;
+
+/** Benchmarks {@link BinaryHeap} and {@link IntFloatBinaryHeap} against {@link PriorityQueue} and fastutil.
+ * <p>
+ * The cycle benchmarks pop the smallest node of a heap holding {@code size} nodes and add it back with a new random value, which
+ * is the steady state of a scheduler or search open list. The setValue benchmarks change the value of a node in the heap, the
+ * decrease-key step of A* and Dijkstra. The addAll benchmarks clear the heap and add every node, so their time grows with
+ * {@code size}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BinaryHeapBenchmark {
+	static final Comparator<Node> comparator = new Comparator<Node>() {
+		public int compare (Node a, Node b) {
+			return Float.compare(a.getValue(), b.getValue());
+		}
+	};
+
+	@State(Scope.Thread)
+	static public abstract class Nodes {
+		@Param({"16", "1024", "65536", "1048576", "10000000"}) public int size;
+
+		public Node[] nodes;
+		public float[] values;
+		int cursor;
+
+		protected void createNodes () {
+			Random random = new Random(123);
+			nodes = new Node[size];
+			values = new float[size];
+			for (int i = 0; i < size; i++) {
+				values[i] = random.nextFloat();
+				nodes[i] = new Node(values[i]);
+			}
+			cursor = 0;
+		}
+
+		/** Returns the next value to add, cycling through precomputed random values. */
+		public float nextValue () {
+			int i = cursor;
+			if (++cursor == size) cursor = 0;
+			return values[i];
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class BinaryHeapState extends Nodes {
+		public BinaryHeap<Node> heap;
+
+		@Setup
+		public void setup () {
+			createNodes();
+			heap = new BinaryHeap(size, false);
+			for (Node node : nodes)
+				heap.add(node, node.getValue());
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class IntFloatBinaryHeapState extends Nodes {
+		@Param({"2", "4"}) public int arity;
+
+		public IntFloatBinaryHeap heap;
+
+		@Setup
+		public void setup () {
+			createNodes();
+			heap = new IntFloatBinaryHeap(size, false, arity);
+			for (int i = 0; i < size; i++)
+				heap.add(i, values[i]);
+		}
+	}
+
+	/** {@link PriorityQueue} does not support changing a node's value, so new nodes are allocated in the cycle benchmark. */
+	@State(Scope.Thread)
+	static public class PriorityQueueState extends Nodes {
+		public PriorityQueue<Node> heap;
+
+		@Setup
+		public void setup () {
+			createNodes();
+			heap = new PriorityQueue(size, comparator);
+			for (Node node : nodes)
+				heap.add(node);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class FastutilHeapState extends Nodes {
+		public ObjectHeapPriorityQueue<Node> heap;
+
+		@Setup
+		public void setup () {
+			createNodes();
+			heap = new ObjectHeapPriorityQueue(size, comparator);
+			for (Node node : nodes)
+				heap.enqueue(node);
+		}
+	}
+
+	@Benchmark
+	public Node binaryHeapCycle (BinaryHeapState state) {
+		Node node = state.heap.pop();
+		return state.heap.add(node, state.nextValue());
+	}
+
+	@Benchmark
+	public int binaryHeapAddAll (BinaryHeapState state) {
+		BinaryHeap<Node> heap = state.heap;
+		heap.clear();
+		Node[] nodes = state.nodes;
+		float[] values = state.values;
+		for (int i = 0, n = nodes.length; i < n; i++)
+			heap.add(nodes[i], values[i]);
+		return heap.size;
+	}
+
+	@Benchmark
+	public Node binaryHeapSetValue (BinaryHeapState state) {
+		int i = state.cursor;
+		Node node = state.nodes[i];
+		state.heap.setValue(node, state.nextValue());
+		return node;
+	}
+
+	@Benchmark
+	public int intFloatBinaryHeapCycle (IntFloatBinaryHeapState state) {
+		int id = state.heap.pop();
+		state.heap.add(id, state.nextValue());
+		return id;
+	}
+
+	@Benchmark
+	public int intFloatBinaryHeapSetValue (IntFloatBinaryHeapState state) {
+		int id = state.cursor;
+		state.heap.setValue(id, state.nextValue());
+		return id;
+	}
+
+	@Benchmark
+	public int intFloatBinaryHeapAddAll (IntFloatBinaryHeapState state) {
+		IntFloatBinaryHeap heap = state.heap;
+		heap.clear();
+		float[] values = state.values;
+		for (int i = 0, n = values.length; i < n; i++)
+			heap.add(i, values[i]);
+		return heap.size;
+	}
+
+	@Benchmark
+	public Node priorityQueueCycle (PriorityQueueState state) {
+		state.heap.poll();
+		Node node = new Node(state.nextValue());
+		state.heap.add(node);
+		return node;
+	}
+
+	@Benchmark
+	public int priorityQueueAddAll (PriorityQueueState state) {
+		PriorityQueue<Node> heap = state.heap;
+		heap.clear();
+		for (Node node : state.nodes)
+			heap.add(node);
+		return heap.size();
+	}
+
+	@Benchmark
+	public Node fastutilHeapCycle (FastutilHeapState state) {
+		state.heap.dequeue();
+		Node node = new Node(state.nextValue());
+		state.heap.enqueue(node);
+		return node;
+	}
+
+	@Benchmark
+	public int fastutilHeapAddAll (FastutilHeapState state) {
+		ObjectHeapPriorityQueue<Node> heap = state.heap;
+		heap.clear();
+		for (Node node : state.nodes)
+			heap.enqueue(node);
+		return heap.size();
+	}
+}
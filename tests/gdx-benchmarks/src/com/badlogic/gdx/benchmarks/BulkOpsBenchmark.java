@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.FloatArrays;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntArrays;
+
+/** Benchmarks {@link FloatArrays} and {@link IntArrays} against plain loops over the backing arrays. The loop benchmarks show
+ * what the JIT auto-vectorizes on its own.
+ * <p>
+ * The facades use the scalar implementation unless the JVM is started with {@code --add-modules jdk.incubator.vector} and gdx is
+ * on the classpath as the multi-release jar, which the {@code jmh} task does. {@link Vector} runs the same benchmarks with the
+ * module added and requires Java 17+. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BulkOpsBenchmark {
+	@State(Scope.Thread)
+	static public class Arrays {
+		@Param({"16", "1024", "65536", "1048576"}) public int size;
+
+		public FloatArray floatsA, floatsB;
+		public IntArray intsA, intsB;
+		public IntArray indices;
+
+		@Setup
+		public void setup () {
+			Random random = new Random(123);
+			floatsA = new FloatArray(size);
+			floatsB = new FloatArray(size);
+			intsA = new IntArray(size);
+			intsB = new IntArray(size);
+			for (int i = 0; i < size; i++) {
+				floatsA.add(random.nextFloat());
+				floatsB.add(random.nextFloat());
+				intsA.add(random.nextInt(1 << 20));
+				intsB.add(random.nextInt(1 << 20));
+			}
+			indices = new IntArray(size);
+		}
+	}
+
+	@Benchmark
+	public float floatSumLoop (Arrays state) {
+		float[] items = state.floatsA.items;
+		float sum = 0;
+		for (int i = 0, n = state.size; i < n; i++)
+			sum += items[i];
+		return sum;
+	}
+
+	@Benchmark
+	public float floatSum (Arrays state) {
+		return FloatArrays.sum(state.floatsA);
+	}
+
+	@Benchmark
+	public float floatDotLoop (Arrays state) {
+		float[] a = state.floatsA.items, b = state.floatsB.items;
+		float sum = 0;
+		for (int i = 0, n = state.size; i < n; i++)
+			sum += a[i] * b[i];
+		return sum;
+	}
+
+	@Benchmark
+	public float floatDot (Arrays state) {
+		return FloatArrays.dot(state.floatsA, state.floatsB);
+	}
+
+	@Benchmark
+	public float[] floatMulLoop (Arrays state) {
+		float[] items = state.floatsA.items;
+		for (int i = 0, n = state.size; i < n; i++)
+			items[i] *= -1f;
+		return items;
+	}
+
+	@Benchmark
+	public FloatArray floatMul (Arrays state) {
+		FloatArrays.mul(state.floatsA, -1f);
+		return state.floatsA;
+	}
+
+	@Benchmark
+	public int floatIndexOfMaxLoop (Arrays state) {
+		float[] items = state.floatsA.items;
+		int index = 0;
+		float max = items[0];
+		for (int i = 1, n = state.size; i < n; i++) {
+			if (items[i] > max) {
+				max = items[i];
+				index = i;
+			}
+		}
+		return index;
+	}
+
+	@Benchmark
+	public int floatIndexOfMax (Arrays state) {
+		return FloatArrays.indexOfMax(state.floatsA);
+	}
+
+	@Benchmark
+	public int floatSelectGreaterLoop (Arrays state) {
+		float[] items = state.floatsA.items;
+		int[] indices = state.indices.items;
+		int count = 0;
+		for (int i = 0, n = state.size; i < n; i++)
+			if (items[i] > 0.5f) indices[count++] = i;
+		return count;
+	}
+
+	@Benchmark
+	public int floatSelectGreater (Arrays state) {
+		state.indices.clear();
+		return FloatArrays.selectGreater(state.floatsA, 0.5f, state.indices);
+	}
+
+	@Benchmark
+	public long intSumLoop (Arrays state) {
+		int[] items = state.intsA.items;
+		long sum = 0;
+		for (int i = 0, n = state.size; i < n; i++)
+			sum += items[i];
+		return sum;
+	}
+
+	@Benchmark
+	public long intSum (Arrays state) {
+		return IntArrays.sum(state.intsA);
+	}
+
+	@Benchmark
+	public int[] intAddLoop (Arrays state) {
+		int[] a = state.intsA.items, b = state.intsB.items;
+		for (int i = 0, n = state.size; i < n; i++)
+			a[i] = a[i] + b[i];
+		return a;
+	}
+
+	@Benchmark
+	public IntArray intAdd (Arrays state) {
+		IntArrays.add(state.intsA, state.intsB, state.intsA);
+		return state.intsA;
+	}
+
+	@Benchmark
+	public int[] intClampLoop (Arrays state) {
+		int[] items = state.intsA.items;
+		for (int i = 0, n = state.size; i < n; i++) {
+			int value = items[i];
+			items[i] = value < 1000 ? 1000 : (value > 500000 ? 500000 : value);
+		}
+		return items;
+	}
+
+	@Benchmark
+	public IntArray intClamp (Arrays state) {
+		IntArrays.clamp(state.intsA, 1000, 500000);
+		return state.intsA;
+	}
+
+	@Benchmark
+	public int intMaxLoop (Arrays state) {
+		int[] items = state.intsA.items;
+		int max = items[0];
+		for (int i = 1, n = state.size; i < n; i++)
+			if (items[i] > max) max = items[i];
+		return max;
+	}
+
+	@Benchmark
+	public int intMax (Arrays state) {
+		return IntArrays.max(state.intsA);
+	}
+
+	/** Runs the benchmarks with the Vector API module added, so the facades use the SIMD implementation. */
+	@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "--add-modules=jdk.incubator.vector"})
+	static public class Vector extends BulkOpsBenchmark {
+	}
+}
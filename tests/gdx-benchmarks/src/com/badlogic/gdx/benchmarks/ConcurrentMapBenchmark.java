@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.badlogic.gdx.utils.ConcurrentIntMap;
+import com.badlogic.gdx.utils.ConcurrentObjectMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Measures throughput of maps shared by many threads doing a mix of reads and writes. {@link ConcurrentObjectMap} and
+ * {@link ConcurrentIntMap} are compared against {@link ConcurrentHashMap} and against {@link ObjectMap} and {@link IntMap}
+ * guarded by {@code synchronized}.
+ * <p>
+ * Run {@link #main(String[])}, or the {@code jmhContention} Gradle task, to measure with 1 to 64 threads. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentMapBenchmark {
+	static final Object value = new Object();
+
+	@State(Scope.Benchmark)
+	static public class Keys {
+		/** Must be a power of two. */
+		@Param({"1024", "1048576"}) public int size;
+		/** Percentage of operations that are reads, the rest are evenly split between put and remove. */
+		@Param({"50", "90", "99"}) public int readPercent;
+
+		public int[] keys;
+		public Integer[] boxedKeys;
+
+		protected void createKeys () {
+			keys = KeyDistribution.RANDOM.intKeys(size, 0x2545F4914F6CDD1DL);
+			boxedKeys = new Integer[size];
+			for (int i = 0; i < size; i++)
+				boxedKeys[i] = keys[i];
+		}
+	}
+
+	/** Each thread walks the keys and chooses operations with its own random number generator. */
+	@State(Scope.Thread)
+	static public class Operations {
+		private long seed = System.nanoTime() | 1;
+
+		/** Returns a random int using xorshift, cheaper than {@link java.util.Random} and not shared between threads. */
+		public int next () {
+			long x = seed;
+			x ^= x << 13;
+			x ^= x >>> 7;
+			x ^= x << 17;
+			seed = x;
+			return (int)(x >>> 33);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	static public class ConcurrentObjectMapState extends Keys {
+		public ConcurrentObjectMap<Integer, Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new ConcurrentObjectMap(size, 0.8f, 64);
+			for (int i = 0; i < size; i += 2)
+				map.put(boxedKeys[i], value);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	static public class ConcurrentIntMapState extends Keys {
+		public ConcurrentIntMap<Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new ConcurrentIntMap(size, 0.8f, 64);
+			for (int i = 0; i < size; i += 2)
+				map.put(keys[i], value);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	static public class ConcurrentHashMapState extends Keys {
+		public ConcurrentHashMap<Integer, Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new ConcurrentHashMap(size, 0.8f, 64);
+			for (int i = 0; i < size; i += 2)
+				map.put(boxedKeys[i], value);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	static public class SynchronizedObjectMapState extends Keys {
+		public ObjectMap<Integer, Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new ObjectMap(size, 0.8f);
+			for (int i = 0; i < size; i += 2)
+				map.put(boxedKeys[i], value);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	static public class SynchronizedIntMapState extends Keys {
+		public IntMap<Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new IntMap(size, 0.8f);
+			for (int i = 0; i < size; i += 2)
+				map.put(keys[i], value);
+		}
+	}
+
+	@Benchmark
+	public Object concurrentObjectMap (ConcurrentObjectMapState state, Operations operations) {
+		Integer key = state.boxedKeys[operations.next() & state.size - 1];
+		int operation = operations.next() % 100;
+		if (operation < state.readPercent) return state.map.get(key);
+		if ((operation & 1) == 0) return state.map.put(key, value);
+		return state.map.remove(key);
+	}
+
+	@Benchmark
+	public Object concurrentIntMap (ConcurrentIntMapState state, Operations operations) {
+		int key = state.keys[operations.next() & state.size - 1];
+		int operation = operations.next() % 100;
+		if (operation < state.readPercent) return state.map.get(key);
+		if ((operation & 1) == 0) return state.map.put(key, value);
+		return state.map.remove(key);
+	}
+
+	@Benchmark
+	public Object concurrentHashMap (ConcurrentHashMapState state, Operations operations) {
+		Integer key = state.boxedKeys[operations.next() & state.size - 1];
+		int operation = operations.next() % 100;
+		if (operation < state.readPercent) return state.map.get(key);
+		if ((operation & 1) == 0) return state.map.put(key, value);
+		return state.map.remove(key);
+	}
+
+	@Benchmark
+	public Object synchronizedObjectMap (SynchronizedObjectMapState state, Operations operations) {
+		Integer key = state.boxedKeys[operations.next() & state.size - 1];
+		int operation = operations.next() % 100;
+		ObjectMap<Integer, Object> map = state.map;
+		synchronized (map) {
+			if (operation < state.readPercent) return map.get(key);
+			if ((operation & 1) == 0) return map.put(key, value);
+			return map.remove(key);
+		}
+	}
+
+	@Benchmark
+	public Object synchronizedIntMap (SynchronizedIntMapState state, Operations operations) {
+		int key = state.keys[operations.next() & state.size - 1];
+		int operation = operations.next() % 100;
+		IntMap<Object> map = state.map;
+		synchronized (map) {
+			if (operation < state.readPercent) return map.get(key);
+			if ((operation & 1) == 0) return map.put(key, value);
+			return map.remove(key);
+		}
+	}
+
+	/** Runs the benchmarks with 1 to 64 threads, writing JSON results for each thread count to the specified directory.
+	 * @param args The output directory, optional. */
+	static public void main (String[] args) throws RunnerException {
+		File dir = new File(args.length > 0 ? args[0] : "build/reports/jmh");
+		dir.mkdirs();
+		for (int threads = 1; threads <= 64; threads <<= 1) {
+			Options options = new OptionsBuilder() //
+				.include(ConcurrentMapBenchmark.class.getName()) //
+				.threads(threads) //
+				.resultFormat(ResultFormatType.JSON) //
+				.result(new File(dir, "contention-" + threads + "-threads.json").getAbsolutePath()) //
+				.build();
+			new Runner(options).run();
+		}
+	}
+}
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.HashedObjectMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Benchmarks {@link HashedObjectMap} against {@link ObjectMap} and {@link HashMap} with {@link String} keys of several lengths.
+ * The keys share a prefix and lookups use equal copies of the keys rather than the same instances, so each key comparison calls
+ * {@link String#equals(Object)}, as it does for keys parsed from files. Misses use keys that are not in the map. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class HashedObjectMapBenchmark {
+	static final Object value = new Object();
+
+	@State(Scope.Thread)
+	static public abstract class StringKeys {
+		@Param({"1024", "65536", "1048576"}) public int size;
+		@Param({"0.8"}) public float loadFactor;
+		@Param({"8", "16", "64"}) public int stringLength;
+
+		public String[] keys, lookups, misses;
+		private int cursor;
+
+		protected void createKeys () {
+			String[] strings = KeyDistribution.RANDOM.stringKeys(size * 2, 0x2545F4914F6CDD1DL, stringLength);
+			keys = new String[size];
+			System.arraycopy(strings, 0, keys, 0, size);
+			int[] order = KeyDistribution.shuffledIndices(size, 123);
+			lookups = new String[size];
+			misses = new String[size];
+			for (int i = 0; i < size; i++) {
+				lookups[i] = new String(keys[order[i]].toCharArray());
+				misses[i] = strings[size + order[i]];
+			}
+			cursor = 0;
+		}
+
+		/** Returns the next index into {@link #lookups} or {@link #misses}, cycling through all keys. */
+		public int next () {
+			int i = cursor;
+			if (++cursor == size) cursor = 0;
+			return i;
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class HashedObjectMapState extends StringKeys {
+		public HashedObjectMap<String, Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new HashedObjectMap(size, loadFactor);
+			for (String key : keys)
+				map.put(key, value);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class ObjectMapState extends StringKeys {
+		public ObjectMap<String, Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new ObjectMap(size, loadFactor);
+			for (String key : keys)
+				map.put(key, value);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class HashMapState extends StringKeys {
+		public HashMap<String, Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new HashMap(size, loadFactor);
+			for (String key : keys)
+				map.put(key, value);
+		}
+	}
+
+	// HashedObjectMap
+
+	@Benchmark
+	public Object hashedObjectMapGet (HashedObjectMapState state) {
+		return state.map.get(state.lookups[state.next()]);
+	}
+
+	@Benchmark
+	public Object hashedObjectMapGetMiss (HashedObjectMapState state) {
+		return state.map.get(state.misses[state.next()]);
+	}
+
+	@Benchmark
+	public Object hashedObjectMapRemoveAndPut (HashedObjectMapState state) {
+		String key = state.lookups[state.next()];
+		Object value = state.map.remove(key);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int hashedObjectMapPutAll (HashedObjectMapState state) {
+		HashedObjectMap<String, Object> map = state.map;
+		map.clear();
+		for (String key : state.keys)
+			map.put(key, value);
+		return map.size;
+	}
+
+	// ObjectMap
+
+	@Benchmark
+	public Object objectMapGet (ObjectMapState state) {
+		return state.map.get(state.lookups[state.next()]);
+	}
+
+	@Benchmark
+	public Object objectMapGetMiss (ObjectMapState state) {
+		return state.map.get(state.misses[state.next()]);
+	}
+
+	@Benchmark
+	public Object objectMapRemoveAndPut (ObjectMapState state) {
+		String key = state.lookups[state.next()];
+		Object value = state.map.remove(key);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int objectMapPutAll (ObjectMapState state) {
+		ObjectMap<String, Object> map = state.map;
+		map.clear();
+		for (String key : state.keys)
+			map.put(key, value);
+		return map.size;
+	}
+
+	// HashMap
+
+	@Benchmark
+	public Object hashMapGet (HashMapState state) {
+		return state.map.get(state.lookups[state.next()]);
+	}
+
+	@Benchmark
+	public Object hashMapGetMiss (HashMapState state) {
+		return state.map.get(state.misses[state.next()]);
+	}
+
+	@Benchmark
+	public Object hashMapRemoveAndPut (HashMapState state) {
+		String key = state.lookups[state.next()];
+		Object value = state.map.remove(key);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int hashMapPutAll (HashMapState state) {
+		HashMap<String, Object> map = state.map;
+		map.clear();
+		for (String key : state.keys)
+			map.put(key, value);
+		return map.size();
+	}
+}
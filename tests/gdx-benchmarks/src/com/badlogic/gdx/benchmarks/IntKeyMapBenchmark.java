@@ -0,0 +1,386 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.IntFloatMap;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+
+/** Benchmarks {@link IntIntMap}, {@link IntFloatMap}, {@link IntMap} and {@link IntSet} against {@link HashMap} and fastutil.
+ * <p>
+ * The get and removeAndPut benchmarks are single operations on a map holding {@code size} entries. removeAndPut puts the removed
+ * key back so the map size stays constant. The putAll and iterate benchmarks visit every entry, so their time grows with
+ * {@code size}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class IntKeyMapBenchmark {
+	static final Object value = new Object();
+
+	@State(Scope.Thread)
+	static public class IntIntMapState extends IntKeys {
+		public IntIntMap map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new IntIntMap(size, loadFactor);
+			for (int key : keys)
+				map.put(key, key);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class IntFloatMapState extends IntKeys {
+		public IntFloatMap map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new IntFloatMap(size, loadFactor);
+			for (int key : keys)
+				map.put(key, key);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class IntMapState extends IntKeys {
+		public IntMap<Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new IntMap(size, loadFactor);
+			for (int key : keys)
+				map.put(key, value);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class IntSetState extends IntKeys {
+		public IntSet set;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			set = new IntSet(size, loadFactor);
+			for (int key : keys)
+				set.add(key);
+		}
+	}
+
+	/** Keys are boxed during setup so only the map is measured. */
+	@State(Scope.Thread)
+	static public class HashMapState extends IntKeys {
+		public HashMap<Integer, Integer> map;
+		public Integer[] boxedKeys, boxedLookups;
+		private int cursor;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			boxedKeys = new Integer[size];
+			boxedLookups = new Integer[size];
+			for (int i = 0; i < size; i++) {
+				boxedKeys[i] = keys[i];
+				boxedLookups[i] = lookups[i];
+			}
+			map = new HashMap(size, loadFactor);
+			for (Integer key : boxedKeys)
+				map.put(key, key);
+		}
+
+		public Integer nextBoxedLookup () {
+			int i = cursor;
+			if (++cursor == size) cursor = 0;
+			return boxedLookups[i];
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class FastutilMapState extends IntKeys {
+		public Int2IntOpenHashMap map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new Int2IntOpenHashMap(size, loadFactor);
+			for (int key : keys)
+				map.put(key, key);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class FastutilSetState extends IntKeys {
+		public IntOpenHashSet set;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			set = new IntOpenHashSet(size, loadFactor);
+			for (int key : keys)
+				set.add(key);
+		}
+	}
+
+	// IntIntMap
+
+	@Benchmark
+	public int intIntMapGet (IntIntMapState state) {
+		return state.map.get(state.nextLookup(), 0);
+	}
+
+	@Benchmark
+	public int intIntMapRemoveAndPut (IntIntMapState state) {
+		int key = state.nextLookup();
+		int value = state.map.remove(key, 0);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int intIntMapPutAll (IntIntMapState state) {
+		IntIntMap map = state.map;
+		map.clear();
+		for (int key : state.keys)
+			map.put(key, key);
+		return map.size;
+	}
+
+	@Benchmark
+	public long intIntMapIterate (IntIntMapState state) {
+		long sum = 0;
+		for (IntIntMap.Entry entry : state.map.entries())
+			sum += entry.value;
+		return sum;
+	}
+
+	// IntFloatMap
+
+	@Benchmark
+	public float intFloatMapGet (IntFloatMapState state) {
+		return state.map.get(state.nextLookup(), 0);
+	}
+
+	@Benchmark
+	public float intFloatMapRemoveAndPut (IntFloatMapState state) {
+		int key = state.nextLookup();
+		float value = state.map.remove(key, 0);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int intFloatMapPutAll (IntFloatMapState state) {
+		IntFloatMap map = state.map;
+		map.clear();
+		for (int key : state.keys)
+			map.put(key, key);
+		return map.size;
+	}
+
+	@Benchmark
+	public double intFloatMapIterate (IntFloatMapState state) {
+		double sum = 0;
+		for (IntFloatMap.Entry entry : state.map.entries())
+			sum += entry.value;
+		return sum;
+	}
+
+	// IntMap
+
+	@Benchmark
+	public Object intMapGet (IntMapState state) {
+		return state.map.get(state.nextLookup());
+	}
+
+	@Benchmark
+	public Object intMapRemoveAndPut (IntMapState state) {
+		int key = state.nextLookup();
+		Object value = state.map.remove(key);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int intMapPutAll (IntMapState state) {
+		IntMap<Object> map = state.map;
+		map.clear();
+		for (int key : state.keys)
+			map.put(key, value);
+		return map.size;
+	}
+
+	@Benchmark
+	public long intMapIterate (IntMapState state) {
+		long sum = 0;
+		for (IntMap.Entry<Object> entry : state.map.entries())
+			sum += entry.key;
+		return sum;
+	}
+
+	// IntSet
+
+	@Benchmark
+	public boolean intSetContains (IntSetState state) {
+		return state.set.contains(state.nextLookup());
+	}
+
+	@Benchmark
+	public boolean intSetRemoveAndAdd (IntSetState state) {
+		int key = state.nextLookup();
+		state.set.remove(key);
+		return state.set.add(key);
+	}
+
+	@Benchmark
+	public int intSetAddAll (IntSetState state) {
+		IntSet set = state.set;
+		set.clear();
+		for (int key : state.keys)
+			set.add(key);
+		return set.size;
+	}
+
+	@Benchmark
+	public long intSetIterate (IntSetState state) {
+		long sum = 0;
+		IntSet.IntSetIterator iterator = state.set.iterator();
+		while (iterator.hasNext)
+			sum += iterator.next();
+		return sum;
+	}
+
+	// HashMap
+
+	@Benchmark
+	public Integer hashMapGet (HashMapState state) {
+		return state.map.get(state.nextBoxedLookup());
+	}
+
+	@Benchmark
+	public Integer hashMapRemoveAndPut (HashMapState state) {
+		Integer key = state.nextBoxedLookup();
+		Integer value = state.map.remove(key);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int hashMapPutAll (HashMapState state) {
+		HashMap<Integer, Integer> map = state.map;
+		map.clear();
+		for (Integer key : state.boxedKeys)
+			map.put(key, key);
+		return map.size();
+	}
+
+	@Benchmark
+	public long hashMapIterate (HashMapState state) {
+		long sum = 0;
+		for (Map.Entry<Integer, Integer> entry : state.map.entrySet())
+			sum += entry.getValue();
+		return sum;
+	}
+
+	// fastutil
+
+	@Benchmark
+	public int fastutilMapGet (FastutilMapState state) {
+		return state.map.get(state.nextLookup());
+	}
+
+	@Benchmark
+	public int fastutilMapRemoveAndPut (FastutilMapState state) {
+		int key = state.nextLookup();
+		int value = state.map.remove(key);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int fastutilMapPutAll (FastutilMapState state) {
+		Int2IntOpenHashMap map = state.map;
+		map.clear();
+		for (int key : state.keys)
+			map.put(key, key);
+		return map.size();
+	}
+
+	@Benchmark
+	public long fastutilMapIterate (FastutilMapState state) {
+		long sum = 0;
+		ObjectIterator<Int2IntMap.Entry> iterator = state.map.int2IntEntrySet().fastIterator();
+		while (iterator.hasNext())
+			sum += iterator.next().getIntValue();
+		return sum;
+	}
+
+	@Benchmark
+	public boolean fastutilSetContains (FastutilSetState state) {
+		return state.set.contains(state.nextLookup());
+	}
+
+	@Benchmark
+	public boolean fastutilSetRemoveAndAdd (FastutilSetState state) {
+		int key = state.nextLookup();
+		state.set.remove(key);
+		return state.set.add(key);
+	}
+
+	@Benchmark
+	public int fastutilSetAddAll (FastutilSetState state) {
+		IntOpenHashSet set = state.set;
+		set.clear();
+		for (int key : state.keys)
+			set.add(key);
+		return set.size();
+	}
+
+	@Benchmark
+	public long fastutilSetIterate (FastutilSetState state) {
+		long sum = 0;
+		IntIterator iterator = state.set.iterator();
+		while (iterator.hasNext())
+			sum += iterator.nextInt();
+		return sum;
+	}
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BinarySerializer;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.Json.FieldAccessor;
+import com.badlogic.gdx.utils.Json.FieldAccessorFactory;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.MethodHandleFieldAccessorFactory;
+import com.badlogic.gdx.utils.reflect.Field;
+
+/** Benchmarks {@link Json} writing and reading objects with mostly primitive fields, using reflection or method handles to access
+ * the fields. The read benchmark reads from an already parsed {@link JsonValue}, so it measures only setting the fields. The
+ * binary benchmarks write and read the same objects with {@link BinarySerializer}. Run with <code>-prof gc</code> to compare the
+ * allocation from boxing. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class JsonBenchmark {
+	@State(Scope.Thread)
+	static public class Objects {
+		@Param({"1000"}) public int size;
+		@Param({"reflection", "methodHandles"}) public String accessor;
+
+		public Json json = new Json();
+		public Array<Entity> entities = new Array();
+		public String text;
+		public JsonValue value;
+		public BinarySerializer binary = new BinarySerializer(json);
+		public byte[] bytes;
+
+		@Setup
+		public void setup () {
+			if (accessor.equals("reflection")) {
+				json.setFieldAccessorFactory(new FieldAccessorFactory() {
+					public FieldAccessor newAccessor (Field field) {
+						return new FieldAccessor(field);
+					}
+				});
+			} else
+				json.setFieldAccessorFactory(new MethodHandleFieldAccessorFactory());
+			json.setUsePrototypes(false);
+
+			Random random = new Random(123);
+			for (int i = 0; i < size; i++) {
+				Entity entity = new Entity();
+				entity.id = i;
+				entity.seed = random.nextLong();
+				entity.x = random.nextFloat() * 1000;
+				entity.y = random.nextFloat() * 1000;
+				entity.rotation = random.nextFloat() * 360;
+				entity.speed = random.nextDouble();
+				entity.health = random.nextInt(100);
+				entity.visible = random.nextBoolean();
+				entity.name = "entity " + i;
+				entities.add(entity);
+			}
+			text = json.toJson(entities, Array.class, Entity.class);
+			value = new JsonReader().parse(text);
+			bytes = binary.toBytes(entities);
+		}
+	}
+
+	@Benchmark
+	public String write (Objects objects) {
+		return objects.json.toJson(objects.entities, Array.class, Entity.class);
+	}
+
+	@Benchmark
+	public Array read (Objects objects) {
+		return objects.json.readValue(Array.class, Entity.class, objects.value);
+	}
+
+	@Benchmark
+	public Array parseAndRead (Objects objects) {
+		return objects.json.fromJson(Array.class, Entity.class, objects.text);
+	}
+
+	@Benchmark
+	public byte[] binaryWrite (Objects objects) {
+		return objects.binary.toBytes(objects.entities);
+	}
+
+	@Benchmark
+	public Array binaryRead (Objects objects) {
+		return objects.binary.fromBytes(Array.class, objects.bytes);
+	}
+
+	static public class Entity {
+		public int id;
+		public long seed;
+		public float x, y, rotation;
+		public double speed;
+		public int health;
+		public boolean visible;
+		public String name;
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonPatch;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+
+/** Benchmarks saving a world where a few entities changed since the last save, as full JSON text or as a {@link JsonPatch} from
+ * the last saved {@link JsonValue}. The patch benchmark includes writing the world to a JsonValue, the diff and writing the patch
+ * as text. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class JsonPatchBenchmark {
+	@State(Scope.Thread)
+	static public class World {
+		@Param({"10000"}) public int size;
+		/** The number of entities changed since the last save. */
+		@Param({"10"}) public int changes;
+
+		public Json json = new Json();
+		public Array<Entity> entities = new Array();
+		public JsonValue saved;
+
+		@Setup
+		public void setup () {
+			Random random = new Random(123);
+			for (int i = 0; i < size; i++) {
+				Entity entity = new Entity();
+				entity.id = i;
+				entity.x = random.nextFloat() * 1000;
+				entity.y = random.nextFloat() * 1000;
+				entity.health = random.nextInt(100);
+				entity.name = "entity " + i;
+				entities.add(entity);
+			}
+			saved = json.toJsonValue(entities, Array.class, Entity.class);
+			for (int i = 0; i < changes; i++) {
+				Entity entity = entities.get(random.nextInt(size));
+				entity.x += 1;
+				entity.health--;
+			}
+		}
+	}
+
+	@Benchmark
+	public String full (World world) {
+		return world.json.toJson(world.entities, Array.class, Entity.class);
+	}
+
+	@Benchmark
+	public JsonValue toJsonValue (World world) {
+		return world.json.toJsonValue(world.entities, Array.class, Entity.class);
+	}
+
+	@Benchmark
+	public String patch (World world) {
+		JsonValue current = world.json.toJsonValue(world.entities, Array.class, Entity.class);
+		return JsonPatch.diff(world.saved, current).toJson(OutputType.json);
+	}
+
+	static public class Entity {
+		public int id;
+		public float x, y;
+		public int health;
+		public String name;
+	}
+}
@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.JsonCursor;
+import com.badlogic.gdx.utils.JsonDocument;
+import com.badlogic.gdx.utils.JsonMatcher;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonSkimmer;
+import com.badlogic.gdx.utils.JsonTextCursor;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.NameCache;
+
+/** Benchmarks parsing UTF-8 JSON with {@link JsonReader}, {@link JsonSkimmer}, {@link JsonMatcher}, {@link JsonCursor} and
+ * {@link JsonDocument} from chars and from bytes.
+ * <p>
+ * The chars benchmarks parse JSON already decoded to chars. The reader benchmark decodes the bytes with an
+ * {@link InputStreamReader} first, which is how streams and files are parsed. The bytes benchmarks parse a byte array and the
+ * direct benchmarks parse a direct buffer, like a memory mapped file. The name cache benchmark returns the same string for each
+ * repeated field name, see {@link NameCache}. The positions benchmarks collect every entity position into a
+ * {@link FloatArray}, from a DOM, from a document or by streaming. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class JsonReaderBenchmark {
+	@State(Scope.Thread)
+	static public class Document {
+		/** The approximate JSON size in kilobytes. */
+		@Param({"64", "4096"}) public int size;
+
+		public byte[] bytes;
+		public char[] chars;
+		public ByteBuffer direct;
+		public JsonReader reader = new JsonReader();
+		public JsonReader cachedReader = new JsonReader();
+		public JsonSkimmer skimmer = new JsonSkimmer();
+		public JsonMatcher matcher = new JsonMatcher("entities/*@/(name)");
+		public JsonDocument jsonDocument = new JsonDocument();
+		public FloatArray positions = new FloatArray();
+
+		@Setup
+		public void setup () {
+			cachedReader.setNameCache(new NameCache());
+			StringBuilder buffer = new StringBuilder(size * 1024 + 256);
+			Random random = new Random(123);
+			buffer.append("{\"version\":3,\"entities\":[");
+			for (int i = 0; buffer.length() < size * 1024; i++) {
+				if (i > 0) buffer.append(',');
+				buffer.append("{\"id\":").append(i);
+				buffer.append(",\"name\":\"entity ").append(i).append(i % 16 == 0 ? " élève\"" : "\"");
+				buffer.append(",\"position\":[").append(random.nextFloat() * 1000).append(',').append(random.nextFloat() * 1000)
+					.append(']');
+				buffer.append(",\"health\":").append(random.nextInt(100));
+				buffer.append(",\"visible\":").append(random.nextBoolean());
+				buffer.append(",\"tags\":[\"enemy\",\"level").append(random.nextInt(10)).append("\"]}");
+			}
+			buffer.append("]}");
+			String json = buffer.toString();
+			bytes = json.getBytes(StandardCharsets.UTF_8);
+			chars = json.toCharArray();
+			direct = ByteBuffer.allocateDirect(bytes.length);
+			direct.put(bytes).flip();
+		}
+	}
+
+	@Benchmark
+	public JsonValue readerChars (Document document) {
+		return document.reader.parse(document.chars, 0, document.chars.length);
+	}
+
+	@Benchmark
+	public JsonValue readerDecode (Document document) {
+		return document.reader
+			.parse(new InputStreamReader(new ByteArrayInputStream(document.bytes), StandardCharsets.UTF_8));
+	}
+
+	@Benchmark
+	public JsonValue readerBytes (Document document) {
+		return document.reader.parse(document.bytes, 0, document.bytes.length);
+	}
+
+	@Benchmark
+	public JsonValue readerBytesNameCache (Document document) {
+		return document.cachedReader.parse(document.bytes, 0, document.bytes.length);
+	}
+
+	@Benchmark
+	public JsonValue readerDirect (Document document) {
+		return document.reader.parse(document.direct);
+	}
+
+	@Benchmark
+	public void skimmerChars (Document document) {
+		document.skimmer.parse(document.chars, 0, document.chars.length);
+	}
+
+	@Benchmark
+	public void skimmerBytes (Document document) {
+		document.skimmer.parse(document.bytes, 0, document.bytes.length);
+	}
+
+	@Benchmark
+	public void skimmerDirect (Document document) {
+		document.skimmer.parse(document.direct);
+	}
+
+	@Benchmark
+	public void matcherChars (Document document) {
+		document.matcher.parse(document.chars, 0, document.chars.length);
+	}
+
+	@Benchmark
+	public void matcherBytes (Document document) {
+		document.matcher.parse(document.bytes, 0, document.bytes.length);
+	}
+
+	@Benchmark
+	public void matcherDirect (Document document) {
+		document.matcher.parse(document.direct);
+	}
+
+	@Benchmark
+	public JsonDocument documentBytes (Document document) {
+		document.jsonDocument.parse(document.bytes, 0, document.bytes.length);
+		return document.jsonDocument;
+	}
+
+	@Benchmark
+	public JsonDocument documentDirect (Document document) {
+		document.jsonDocument.parse(document.direct);
+		return document.jsonDocument;
+	}
+
+	@Benchmark
+	public void cursorSkip (Document document) {
+		new JsonTextCursor(document.bytes, 0, document.bytes.length).skipValue();
+	}
+
+	@Benchmark
+	public FloatArray readerPositions (Document document) {
+		FloatArray positions = document.positions;
+		positions.clear();
+		JsonValue root = document.reader.parse(document.bytes, 0, document.bytes.length);
+		for (JsonValue entity = root.get("entities").child; entity != null; entity = entity.next) {
+			JsonValue position = entity.get("position");
+			positions.add(position.getFloat(0), position.getFloat(1));
+		}
+		return positions;
+	}
+
+	@Benchmark
+	public FloatArray documentPositions (Document document) {
+		FloatArray positions = document.positions;
+		positions.clear();
+		JsonDocument json = document.jsonDocument;
+		json.parse(document.bytes, 0, document.bytes.length);
+		for (int entity = json.child(json.get(0, "entities")); entity != -1; entity = json.next(entity)) {
+			int position = json.get(entity, "position");
+			positions.add(json.asFloat(json.child(position)), json.asFloat(json.get(position, 1)));
+		}
+		return positions;
+	}
+
+	static private final int entitiesHash = "entities".hashCode(), positionHash = "position".hashCode();
+
+	@Benchmark
+	public FloatArray cursorPositions (Document document) {
+		FloatArray positions = document.positions;
+		positions.clear();
+		JsonCursor cursor = new JsonTextCursor(document.bytes, 0, document.bytes.length);
+		cursor.beginObject();
+		while (cursor.hasNext()) {
+			if (cursor.nextNameHash() != entitiesHash) {
+				cursor.skipValue();
+				continue;
+			}
+			cursor.beginArray();
+			while (cursor.hasNext()) {
+				cursor.beginObject();
+				while (cursor.hasNext()) {
+					if (cursor.nextNameHash() == positionHash)
+						cursor.nextFloats(positions);
+					else
+						cursor.skipValue();
+				}
+				cursor.endObject();
+			}
+			cursor.endArray();
+		}
+		cursor.endObject();
+		return positions;
+	}
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/** How benchmark keys are generated. All distributions produce distinct, non-zero keys so every collection stores exactly the
+ * requested number of entries. */
+public enum KeyDistribution {
+	/** 1, 2, 3, ... The best case for most hashing schemes. */
+	SEQUENTIAL,
+	/** Distinct keys scattered over the whole int or long range. */
+	RANDOM,
+	/** Keys that share their low bits and only differ in their upper bits. This is the classic worst case for power-of-two
+	 * masking and causes clustering with Fibonacci hashing. */
+	COLLIDING,
+	/** Multiples of a large Fibonacci number, the documented worst case for the Fibonacci hashing used by the libGDX maps.
+	 * Probing degrades to nearly linear time, so this is not in the default parameters and should only be used with small sizes,
+	 * eg: {@code -p distribution=FIBONACCI -p size=16,1024}. */
+	FIBONACCI;
+
+	static private final int fibonacci = 1346269;
+	static private final long fibonacciLong = 1836311903L;
+
+	public int[] intKeys (int size, long seed) {
+		int[] keys = new int[size];
+		switch (this) {
+		case SEQUENTIAL:
+			for (int i = 0; i < size; i++)
+				keys[i] = i + 1;
+			break;
+		case RANDOM:
+			// Multiplying by an odd number and mixing are both bijections, so the keys are distinct and never 0.
+			int multiplier = (int)seed | 1;
+			for (int i = 0; i < size; i++)
+				keys[i] = mix((i + 1) * multiplier);
+			break;
+		case COLLIDING:
+			for (int i = 0; i < size; i++)
+				keys[i] = (i + 1) << 8 | 0x5a; // Distinct for up to 2^24 keys.
+			break;
+		case FIBONACCI:
+			for (int i = 0; i < size; i++)
+				keys[i] = (i + 1) * fibonacci;
+			break;
+		}
+		return keys;
+	}
+
+	public long[] longKeys (int size, long seed) {
+		long[] keys = new long[size];
+		switch (this) {
+		case SEQUENTIAL:
+			for (int i = 0; i < size; i++)
+				keys[i] = i + 1;
+			break;
+		case RANDOM:
+			long multiplier = seed | 1;
+			for (int i = 0; i < size; i++)
+				keys[i] = mix((i + 1) * multiplier);
+			break;
+		case COLLIDING:
+			for (int i = 0; i < size; i++)
+				keys[i] = (long)(i + 1) << 32 | 0x5a5a5a5aL;
+			break;
+		case FIBONACCI:
+			for (int i = 0; i < size; i++)
+				keys[i] = (i + 1) * fibonacciLong;
+			break;
+		}
+		return keys;
+	}
+
+	/** Returns keys for object maps. Integer hashcodes are the int value, so these collide in the same way as
+	 * {@link #intKeys(int, long)}. */
+	public Integer[] objectKeys (int size, long seed) {
+		int[] ints = intKeys(size, seed);
+		Integer[] keys = new Integer[size];
+		for (int i = 0; i < size; i++)
+			keys[i] = ints[i];
+		return keys;
+	}
+
+	/** Returns string keys of the specified length, which exercise {@link Object#equals(Object)} more than {@link Integer}. The
+	 * keys only differ in their last 8 characters, which maximizes the work done by equals.
+	 * @param length Must be >= 8. */
+	public String[] stringKeys (int size, long seed, int length) {
+		if (length < 8) throw new IllegalArgumentException("length must be >= 8: " + length);
+		int[] ints = intKeys(size, seed);
+		String[] keys = new String[size];
+		char[] chars = new char[length];
+		Arrays.fill(chars, 'k');
+		for (int i = 0; i < size; i++) {
+			int value = ints[i];
+			for (int c = length - 1, n = length - 8; c >= n; c--, value >>>= 4)
+				chars[c] = Character.forDigit(value & 15, 16);
+			keys[i] = new String(chars);
+		}
+		return keys;
+	}
+
+	/** Returns the indices 0 to size - 1 shuffled, used to access keys in an order that defeats the prefetcher. */
+	static public int[] shuffledIndices (int size, long seed) {
+		int[] indices = new int[size];
+		for (int i = 0; i < size; i++)
+			indices[i] = i;
+		Random random = new Random(seed);
+		for (int i = size - 1; i > 0; i--) {
+			int ii = random.nextInt(i + 1);
+			int temp = indices[i];
+			indices[i] = indices[ii];
+			indices[ii] = temp;
+		}
+		return indices;
+	}
+
+	/** MurmurHash3 finalizer, a bijection on ints. */
+	static private int mix (int h) {
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		return h ^ h >>> 16;
+	}
+
+	/** MurmurHash3 64-bit finalizer, a bijection on longs. */
+	static private long mix (long h) {
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb93fe53dd5bL;
+		return h ^ h >>> 33;
+	}
+}
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.LongMap;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+
+/** Benchmarks {@link LongMap} against {@link HashMap} and fastutil. See {@link IntKeyMapBenchmark} for what each benchmark
+ * measures. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class LongKeyMapBenchmark {
+	static final Object value = new Object();
+
+	@State(Scope.Thread)
+	static public class LongMapState extends LongKeys {
+		public LongMap<Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new LongMap(size, loadFactor);
+			for (long key : keys)
+				map.put(key, value);
+		}
+	}
+
+	/** Keys are boxed during setup so only the map is measured. */
+	@State(Scope.Thread)
+	static public class HashMapState extends LongKeys {
+		public HashMap<Long, Object> map;
+		public Long[] boxedKeys, boxedLookups;
+		private int cursor;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			boxedKeys = new Long[size];
+			boxedLookups = new Long[size];
+			for (int i = 0; i < size; i++) {
+				boxedKeys[i] = keys[i];
+				boxedLookups[i] = lookups[i];
+			}
+			map = new HashMap(size, loadFactor);
+			for (Long key : boxedKeys)
+				map.put(key, value);
+		}
+
+		public Long nextBoxedLookup () {
+			int i = cursor;
+			if (++cursor == size) cursor = 0;
+			return boxedLookups[i];
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class FastutilMapState extends LongKeys {
+		public Long2ObjectOpenHashMap<Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new Long2ObjectOpenHashMap(size, loadFactor);
+			for (long key : keys)
+				map.put(key, value);
+		}
+	}
+
+	// LongMap
+
+	@Benchmark
+	public Object longMapGet (LongMapState state) {
+		return state.map.get(state.nextLookup());
+	}
+
+	@Benchmark
+	public Object longMapRemoveAndPut (LongMapState state) {
+		long key = state.nextLookup();
+		Object value = state.map.remove(key);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int longMapPutAll (LongMapState state) {
+		LongMap<Object> map = state.map;
+		map.clear();
+		for (long key : state.keys)
+			map.put(key, value);
+		return map.size;
+	}
+
+	@Benchmark
+	public long longMapIterate (LongMapState state) {
+		long sum = 0;
+		for (LongMap.Entry<Object> entry : state.map.entries())
+			sum += entry.key;
+		return sum;
+	}
+
+	// HashMap
+
+	@Benchmark
+	public Object hashMapGet (HashMapState state) {
+		return state.map.get(state.nextBoxedLookup());
+	}
+
+	@Benchmark
+	public Object hashMapRemoveAndPut (HashMapState state) {
+		Long key = state.nextBoxedLookup();
+		Object value = state.map.remove(key);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int hashMapPutAll (HashMapState state) {
+		HashMap<Long, Object> map = state.map;
+		map.clear();
+		for (Long key : state.boxedKeys)
+			map.put(key, value);
+		return map.size();
+	}
+
+	@Benchmark
+	public long hashMapIterate (HashMapState state) {
+		long sum = 0;
+		for (Map.Entry<Long, Object> entry : state.map.entrySet())
+			sum += entry.getKey();
+		return sum;
+	}
+
+	// fastutil
+
+	@Benchmark
+	public Object fastutilMapGet (FastutilMapState state) {
+		return state.map.get(state.nextLookup());
+	}
+
+	@Benchmark
+	public Object fastutilMapRemoveAndPut (FastutilMapState state) {
+		long key = state.nextLookup();
+		Object value = state.map.remove(key);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int fastutilMapPutAll (FastutilMapState state) {
+		Long2ObjectOpenHashMap<Object> map = state.map;
+		map.clear();
+		for (long key : state.keys)
+			map.put(key, value);
+		return map.size();
+	}
+
+	@Benchmark
+	public long fastutilMapIterate (FastutilMapState state) {
+		long sum = 0;
+		ObjectIterator<Long2ObjectMap.Entry<Object>> iterator = state.map.long2ObjectEntrySet().fastIterator();
+		while (iterator.hasNext())
+			sum += iterator.next().getLongKey();
+		return sum;
+	}
+}
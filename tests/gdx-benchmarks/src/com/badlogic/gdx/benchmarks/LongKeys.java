@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/** Parameters and keys shared by the benchmarks for collections with long keys. Subclasses are JMH states so each benchmark only
+ * builds the collection it measures, which matters at the largest sizes. */
+@State(Scope.Thread)
+public abstract class LongKeys {
+	@Param({"16", "1024", "65536", "1048576", "10000000"}) public int size;
+	@Param({"0.5", "0.8", "0.9"}) public float loadFactor;
+	@Param({"SEQUENTIAL", "RANDOM", "COLLIDING"}) public KeyDistribution distribution;
+
+	/** The keys in insertion order. */
+	public long[] keys;
+	/** The same keys in a shuffled order, used for lookups. */
+	public long[] lookups;
+	private int cursor;
+
+	protected void createKeys () {
+		keys = distribution.longKeys(size, 0x2545F4914F6CDD1DL);
+		int[] order = KeyDistribution.shuffledIndices(size, 123);
+		lookups = new long[size];
+		for (int i = 0; i < size; i++)
+			lookups[i] = keys[order[i]];
+		cursor = 0;
+	}
+
+	/** Returns the next key to look up, cycling through all keys in a shuffled order. */
+	public long nextLookup () {
+		int i = cursor;
+		if (++cursor == size) cursor = 0;
+		return lookups[i];
+	}
+}
@@ -0,0 +1,367 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+
+/** Benchmarks {@link ObjectMap}, {@link ObjectIntMap} and {@link ObjectSet} against {@link HashMap} and fastutil. See
+ * {@link IntKeyMapBenchmark} for what each benchmark measures. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ObjectKeyMapBenchmark {
+	static final Object value = new Object();
+
+	@State(Scope.Thread)
+	static public class ObjectMapState extends ObjectKeys {
+		public ObjectMap<Object, Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new ObjectMap(size, loadFactor);
+			for (Object key : keys)
+				map.put(key, value);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class ObjectIntMapState extends ObjectKeys {
+		public ObjectIntMap<Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new ObjectIntMap(size, loadFactor);
+			for (int i = 0; i < size; i++)
+				map.put(keys[i], i);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class ObjectSetState extends ObjectKeys {
+		public ObjectSet<Object> set;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			set = new ObjectSet(size, loadFactor);
+			for (Object key : keys)
+				set.add(key);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class HashMapState extends ObjectKeys {
+		public HashMap<Object, Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new HashMap(size, loadFactor);
+			for (Object key : keys)
+				map.put(key, value);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class FastutilMapState extends ObjectKeys {
+		public Object2ObjectOpenHashMap<Object, Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new Object2ObjectOpenHashMap(size, loadFactor);
+			for (Object key : keys)
+				map.put(key, value);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class FastutilIntMapState extends ObjectKeys {
+		public Object2IntOpenHashMap<Object> map;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			map = new Object2IntOpenHashMap(size, loadFactor);
+			for (int i = 0; i < size; i++)
+				map.put(keys[i], i);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class FastutilSetState extends ObjectKeys {
+		public ObjectOpenHashSet<Object> set;
+
+		@Setup
+		public void setup () {
+			createKeys();
+			set = new ObjectOpenHashSet(size, loadFactor);
+			for (Object key : keys)
+				set.add(key);
+		}
+	}
+
+	// ObjectMap
+
+	@Benchmark
+	public Object objectMapGet (ObjectMapState state) {
+		return state.map.get(state.nextLookup());
+	}
+
+	@Benchmark
+	public Object objectMapRemoveAndPut (ObjectMapState state) {
+		Object key = state.nextLookup();
+		Object value = state.map.remove(key);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int objectMapPutAll (ObjectMapState state) {
+		ObjectMap<Object, Object> map = state.map;
+		map.clear();
+		for (Object key : state.keys)
+			map.put(key, value);
+		return map.size;
+	}
+
+	@Benchmark
+	public int objectMapIterate (ObjectMapState state) {
+		int count = 0;
+		for (ObjectMap.Entry<Object, Object> entry : state.map.entries())
+			if (entry.value != null) count++;
+		return count;
+	}
+
+	// ObjectIntMap
+
+	@Benchmark
+	public int objectIntMapGet (ObjectIntMapState state) {
+		return state.map.get(state.nextLookup(), 0);
+	}
+
+	@Benchmark
+	public int objectIntMapRemoveAndPut (ObjectIntMapState state) {
+		Object key = state.nextLookup();
+		int value = state.map.remove(key, 0);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int objectIntMapPutAll (ObjectIntMapState state) {
+		ObjectIntMap<Object> map = state.map;
+		map.clear();
+		Object[] keys = state.keys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			map.put(keys[i], i);
+		return map.size;
+	}
+
+	@Benchmark
+	public long objectIntMapIterate (ObjectIntMapState state) {
+		long sum = 0;
+		for (ObjectIntMap.Entry<Object> entry : state.map.entries())
+			sum += entry.value;
+		return sum;
+	}
+
+	// ObjectSet
+
+	@Benchmark
+	public boolean objectSetContains (ObjectSetState state) {
+		return state.set.contains(state.nextLookup());
+	}
+
+	@Benchmark
+	public boolean objectSetRemoveAndAdd (ObjectSetState state) {
+		Object key = state.nextLookup();
+		state.set.remove(key);
+		return state.set.add(key);
+	}
+
+	@Benchmark
+	public int objectSetAddAll (ObjectSetState state) {
+		ObjectSet<Object> set = state.set;
+		set.clear();
+		for (Object key : state.keys)
+			set.add(key);
+		return set.size;
+	}
+
+	@Benchmark
+	public int objectSetIterate (ObjectSetState state) {
+		int count = 0;
+		for (Object key : state.set)
+			if (key != null) count++;
+		return count;
+	}
+
+	// HashMap
+
+	@Benchmark
+	public Object hashMapGet (HashMapState state) {
+		return state.map.get(state.nextLookup());
+	}
+
+	@Benchmark
+	public Object hashMapRemoveAndPut (HashMapState state) {
+		Object key = state.nextLookup();
+		Object value = state.map.remove(key);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int hashMapPutAll (HashMapState state) {
+		HashMap<Object, Object> map = state.map;
+		map.clear();
+		for (Object key : state.keys)
+			map.put(key, value);
+		return map.size();
+	}
+
+	@Benchmark
+	public int hashMapIterate (HashMapState state) {
+		int count = 0;
+		for (Map.Entry<Object, Object> entry : state.map.entrySet())
+			if (entry.getValue() != null) count++;
+		return count;
+	}
+
+	// fastutil
+
+	@Benchmark
+	public Object fastutilMapGet (FastutilMapState state) {
+		return state.map.get(state.nextLookup());
+	}
+
+	@Benchmark
+	public Object fastutilMapRemoveAndPut (FastutilMapState state) {
+		Object key = state.nextLookup();
+		Object value = state.map.remove(key);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int fastutilMapPutAll (FastutilMapState state) {
+		Object2ObjectOpenHashMap<Object, Object> map = state.map;
+		map.clear();
+		for (Object key : state.keys)
+			map.put(key, value);
+		return map.size();
+	}
+
+	@Benchmark
+	public int fastutilMapIterate (FastutilMapState state) {
+		int count = 0;
+		ObjectIterator<Object2ObjectMap.Entry<Object, Object>> iterator = state.map.object2ObjectEntrySet().fastIterator();
+		while (iterator.hasNext())
+			if (iterator.next().getValue() != null) count++;
+		return count;
+	}
+
+	@Benchmark
+	public int fastutilIntMapGet (FastutilIntMapState state) {
+		return state.map.getInt(state.nextLookup());
+	}
+
+	@Benchmark
+	public int fastutilIntMapRemoveAndPut (FastutilIntMapState state) {
+		Object key = state.nextLookup();
+		int value = state.map.removeInt(key);
+		state.map.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public int fastutilIntMapPutAll (FastutilIntMapState state) {
+		Object2IntOpenHashMap<Object> map = state.map;
+		map.clear();
+		Object[] keys = state.keys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			map.put(keys[i], i);
+		return map.size();
+	}
+
+	@Benchmark
+	public long fastutilIntMapIterate (FastutilIntMapState state) {
+		long sum = 0;
+		ObjectIterator<Object2IntMap.Entry<Object>> iterator = state.map.object2IntEntrySet().fastIterator();
+		while (iterator.hasNext())
+			sum += iterator.next().getIntValue();
+		return sum;
+	}
+
+	@Benchmark
+	public boolean fastutilSetContains (FastutilSetState state) {
+		return state.set.contains(state.nextLookup());
+	}
+
+	@Benchmark
+	public boolean fastutilSetRemoveAndAdd (FastutilSetState state) {
+		Object key = state.nextLookup();
+		state.set.remove(key);
+		return state.set.add(key);
+	}
+
+	@Benchmark
+	public int fastutilSetAddAll (FastutilSetState state) {
+		ObjectOpenHashSet<Object> set = state.set;
+		set.clear();
+		for (Object key : state.keys)
+			set.add(key);
+		return set.size();
+	}
+
+	@Benchmark
+	public int fastutilSetIterate (FastutilSetState state) {
+		int count = 0;
+		for (Object key : state.set)
+			if (key != null) count++;
+		return count;
+	}
+}
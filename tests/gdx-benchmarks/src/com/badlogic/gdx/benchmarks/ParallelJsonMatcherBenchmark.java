@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.JsonMatcher;
+import com.badlogic.gdx.utils.ParallelJsonMatcher;
+
+/** Benchmarks matching a pattern in every element of a large JSON array, like a log file, with {@link JsonMatcher} on one thread
+ * and with {@link ParallelJsonMatcher} using a pool with the specified number of threads. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ParallelJsonMatcherBenchmark {
+	@State(Scope.Benchmark)
+	static public class Log {
+		/** The approximate JSON size in megabytes. */
+		@Param({"32"}) public int size;
+		@Param({"1", "2", "4", "8"}) public int threads;
+
+		public byte[] bytes;
+		public ForkJoinPool pool;
+		public JsonMatcher matcher;
+		public ParallelJsonMatcher ordered, unordered;
+		public long sum;
+		public final AtomicLong atomicSum = new AtomicLong();
+
+		@Setup
+		public void setup () {
+			StringBuilder buffer = new StringBuilder(size * 1024 * 1024 + 256);
+			Random random = new Random(123);
+			buffer.append('[');
+			for (int i = 0; buffer.length() < size * 1024 * 1024; i++) {
+				if (i > 0) buffer.append(",\n");
+				buffer.append("{\"time\":").append(1700000000000L + i * 17);
+				buffer.append(",\"level\":\"").append(random.nextInt(10) == 0 ? "warn" : "info").append('"');
+				buffer.append(",\"message\":\"request ").append(i).append(" completed [ok]\"");
+				buffer.append(",\"latency\":").append(random.nextInt(500));
+				buffer.append(",\"tags\":[\"api\",\"v").append(random.nextInt(3)).append("\"]}");
+			}
+			buffer.append(']');
+			bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+
+			pool = new ForkJoinPool(threads);
+			matcher = new JsonMatcher("*@/(latency)");
+			matcher.setProcessor(value -> sum += value.asLong());
+			ordered = new ParallelJsonMatcher(pool, "*@/(latency)");
+			ordered.setProcessor(value -> sum += value.asLong());
+			unordered = new ParallelJsonMatcher(pool, "*@/(latency)");
+			unordered.ordered = false;
+			unordered.setProcessor(value -> atomicSum.addAndGet(value.asLong()));
+		}
+
+		@TearDown
+		public void tearDown () {
+			pool.shutdown();
+		}
+	}
+
+	@Benchmark
+	public long sequential (Log log) {
+		log.sum = 0;
+		log.matcher.parse(log.bytes, 0, log.bytes.length);
+		return log.sum;
+	}
+
+	@Benchmark
+	public long ordered (Log log) {
+		log.sum = 0;
+		log.ordered.parse(log.bytes, 0, log.bytes.length);
+		return log.sum;
+	}
+
+	@Benchmark
+	public long unordered (Log log) {
+		log.atomicSum.set(0);
+		log.unordered.parse(log.bytes, 0, log.bytes.length);
+		return log.atomicSum.get();
+	}
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.ConcurrentPool;
+import com.badlogic.gdx.utils.DefaultPool;
+
+/** Benchmarks {@link ConcurrentPool} against {@link DefaultPool} guarded by {@code synchronized}, and against allocating. Each
+ * operation obtains 8 {@link Vector3} temporaries and frees them, like a worker thread doing math. Run with more threads using
+ * {@code -t}, the default is 4. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Threads(4)
+public class PoolBenchmark {
+	static final int count = 8;
+
+	@State(Scope.Benchmark)
+	static public class Pools {
+		public final DefaultPool<Vector3> synchronizedPool = new DefaultPool<Vector3>(Vector3::new);
+		public final ConcurrentPool<Vector3> concurrentPool = new ConcurrentPool<Vector3>(Vector3::new);
+	}
+
+	@State(Scope.Thread)
+	static public class Temporaries {
+		public final Vector3[] vectors = new Vector3[count];
+	}
+
+	@Benchmark
+	public Vector3[] allocate (Temporaries temporaries) {
+		Vector3[] vectors = temporaries.vectors;
+		for (int i = 0; i < count; i++)
+			vectors[i] = new Vector3(i, i, i);
+		return vectors;
+	}
+
+	@Benchmark
+	public Vector3[] synchronizedPool (Pools pools, Temporaries temporaries) {
+		DefaultPool<Vector3> pool = pools.synchronizedPool;
+		Vector3[] vectors = temporaries.vectors;
+		for (int i = 0; i < count; i++) {
+			synchronized (pool) {
+				vectors[i] = pool.obtain().set(i, i, i);
+			}
+		}
+		for (int i = 0; i < count; i++) {
+			synchronized (pool) {
+				pool.free(vectors[i]);
+			}
+		}
+		return vectors;
+	}
+
+	@Benchmark
+	public Vector3[] concurrentPool (Pools pools, Temporaries temporaries) {
+		ConcurrentPool<Vector3> pool = pools.concurrentPool;
+		Vector3[] vectors = temporaries.vectors;
+		for (int i = 0; i < count; i++)
+			vectors[i] = pool.obtain().set(i, i, i);
+		for (int i = 0; i < count; i++)
+			pool.free(vectors[i]);
+		return vectors;
+	}
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.LongQueue;
+import com.badlogic.gdx.utils.Queue;
+
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+
+/** Benchmarks {@link Queue} and {@link LongQueue} against {@link ArrayDeque} and fastutil.
+ * <p>
+ * The cycle benchmarks remove the first item of a queue holding {@code size} items and add it to the end, which is the steady
+ * state of a FIFO. The iterate benchmarks visit every item, so their time grows with {@code size}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class QueueBenchmark {
+	@State(Scope.Thread)
+	static public class QueueState {
+		@Param({"16", "1024", "65536", "1048576", "10000000"}) public int size;
+
+		public Queue<Object> queue;
+
+		@Setup
+		public void setup () {
+			queue = new Queue(size);
+			for (int i = 0; i < size; i++)
+				queue.addLast(i);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class ArrayDequeState {
+		@Param({"16", "1024", "65536", "1048576", "10000000"}) public int size;
+
+		public ArrayDeque<Object> queue;
+
+		@Setup
+		public void setup () {
+			queue = new ArrayDeque(size);
+			for (int i = 0; i < size; i++)
+				queue.addLast(i);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class LongQueueState {
+		@Param({"16", "1024", "65536", "1048576", "10000000"}) public int size;
+
+		public LongQueue queue;
+
+		@Setup
+		public void setup () {
+			queue = new LongQueue(size);
+			for (int i = 0; i < size; i++)
+				queue.addLast(i);
+		}
+	}
+
+	@State(Scope.Thread)
+	static public class FastutilLongQueueState {
+		@Param({"16", "1024", "65536", "1048576", "10000000"}) public int size;
+
+		public LongArrayFIFOQueue queue;
+
+		@Setup
+		public void setup () {
+			queue = new LongArrayFIFOQueue(size);
+			for (int i = 0; i < size; i++)
+				queue.enqueue(i);
+		}
+	}
+
+	@Benchmark
+	public Object queueCycle (QueueState state) {
+		Object item = state.queue.removeFirst();
+		state.queue.addLast(item);
+		return item;
+	}
+
+	@Benchmark
+	public int queueIterate (QueueState state) {
+		int count = 0;
+		for (Object item : state.queue)
+			if (item != null) count++;
+		return count;
+	}
+
+	@Benchmark
+	public Object arrayDequeCycle (ArrayDequeState state) {
+		Object item = state.queue.removeFirst();
+		state.queue.addLast(item);
+		return item;
+	}
+
+	@Benchmark
+	public int arrayDequeIterate (ArrayDequeState state) {
+		int count = 0;
+		for (Iterator<Object> iterator = state.queue.iterator(); iterator.hasNext();)
+			if (iterator.next() != null) count++;
+		return count;
+	}
+
+	@Benchmark
+	public long longQueueCycle (LongQueueState state) {
+		long item = state.queue.removeFirst();
+		state.queue.addLast(item);
+		return item;
+	}
+
+	@Benchmark
+	public long longQueueIterate (LongQueueState state) {
+		long sum = 0;
+		LongQueue queue = state.queue;
+		for (int i = 0, n = queue.size; i < n; i++)
+			sum += queue.get(i);
+		return sum;
+	}
+
+	@Benchmark
+	public long fastutilLongQueueCycle (FastutilLongQueueState state) {
+		long item = state.queue.dequeueLong();
+		state.queue.enqueue(item);
+		return item;
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.AtomicRingBuffer;
+
+/** Benchmarks handing items from three producer threads to one consumer thread, like posting runnables to the render thread. The
+ * consumer drains all available items, like the backends do each frame. Compares {@link AtomicRingBuffer} with the synchronized
+ * {@link Array} the backends use by default. Scores are operations per microsecond for each thread. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RingBufferBenchmark {
+	static final Object item = new Object();
+
+	@State(Scope.Group)
+	static public class RingBufferState {
+		public final AtomicRingBuffer<Object> buffer = new AtomicRingBuffer<Object>(4096);
+	}
+
+	@State(Scope.Group)
+	static public class ArrayState {
+		public final Array<Object> array = new Array<Object>();
+	}
+
+	@State(Scope.Thread)
+	static public class Drained {
+		public final Array<Object> array = new Array<Object>(4096);
+	}
+
+	@Benchmark
+	@Group("ringBuffer")
+	@GroupThreads(3)
+	public boolean ringBufferOffer (RingBufferState state) {
+		return state.buffer.offer(item);
+	}
+
+	@Benchmark
+	@Group("ringBuffer")
+	@GroupThreads(1)
+	public int ringBufferDrain (RingBufferState state, Drained drained) {
+		drained.array.clear();
+		return state.buffer.drainTo(drained.array);
+	}
+
+	@Benchmark
+	@Group("synchronizedArray")
+	@GroupThreads(3)
+	public int synchronizedArrayAdd (ArrayState state) {
+		Array<Object> array = state.array;
+		synchronized (array) {
+			// Bounded like the ring buffer, so a slow consumer doesn't run out of memory.
+			if (array.size == 4096) return 0;
+			array.add(item);
+			return array.size;
+		}
+	}
+
+	@Benchmark
+	@Group("synchronizedArray")
+	@GroupThreads(1)
+	public int synchronizedArrayDrain (ArrayState state, Drained drained) {
+		Array<Object> array = state.array;
+		drained.array.clear();
+		synchronized (array) {
+			drained.array.addAll(array);
+			array.clear();
+		}
+		return drained.array.size;
+	}
+}
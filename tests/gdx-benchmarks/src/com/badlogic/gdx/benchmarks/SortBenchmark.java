@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ParallelSort;
+import com.badlogic.gdx.utils.Sort;
+
+/** Benchmarks the radix sorts and {@link Sort#sortByFloatKey(Array, Sort.FloatKey)} against
+ * {@link Sort#sort(Array, Comparator)} and Arrays.sort, and {@link ParallelSort} using the common fork-join pool.
+ * <p>
+ * The arrays are shuffled before each invocation, so the times include copying {@code size} items. The objects are sorted by a
+ * float depth field, like sprites or renderables sorted every frame. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SortBenchmark {
+	static public class Item {
+		public final float depth;
+
+		public Item (float depth) {
+			this.depth = depth;
+		}
+	}
+
+	static final Comparator<Item> comparator = new Comparator<Item>() {
+		public int compare (Item o1, Item o2) {
+			return Float.compare(o1.depth, o2.depth);
+		}
+	};
+
+	static final Sort.FloatKey<Item> key = new Sort.FloatKey<Item>() {
+		public float get (Item item) {
+			return item.depth;
+		}
+	};
+
+	@State(Scope.Thread)
+	static public class Arrays {
+		@Param({"1024", "65536", "1048576"}) public int size;
+
+		public int[] ints;
+		public float[] floats;
+		public Item[] items;
+
+		public IntArray intArray;
+		public FloatArray floatArray;
+		public Array<Item> itemArray;
+
+		public final Sort sort = new Sort();
+		public final ParallelSort parallelSort = new ParallelSort();
+
+		@Setup
+		public void setup () {
+			Random random = new Random(123);
+			ints = new int[size];
+			floats = new float[size];
+			items = new Item[size];
+			for (int i = 0; i < size; i++) {
+				ints[i] = random.nextInt();
+				floats[i] = random.nextFloat() * 1000;
+				items[i] = new Item(random.nextFloat() * 1000);
+			}
+			intArray = new IntArray(size);
+			floatArray = new FloatArray(size);
+			itemArray = new Array<Item>(size);
+		}
+
+		@Setup(Level.Invocation)
+		public void shuffle () {
+			intArray.clear();
+			intArray.addAll(ints);
+			floatArray.clear();
+			floatArray.addAll(floats);
+			itemArray.clear();
+			itemArray.addAll(items);
+		}
+	}
+
+	@Benchmark
+	public IntArray intArraysSort (Arrays state) {
+		state.intArray.sort();
+		return state.intArray;
+	}
+
+	@Benchmark
+	public IntArray intRadixSort (Arrays state) {
+		state.sort.radixSort(state.intArray);
+		return state.intArray;
+	}
+
+	@Benchmark
+	public IntArray intParallelSort (Arrays state) {
+		state.parallelSort.sort(state.intArray);
+		return state.intArray;
+	}
+
+	@Benchmark
+	public FloatArray floatArraysSort (Arrays state) {
+		state.floatArray.sort();
+		return state.floatArray;
+	}
+
+	@Benchmark
+	public FloatArray floatRadixSort (Arrays state) {
+		state.sort.radixSort(state.floatArray);
+		return state.floatArray;
+	}
+
+	@Benchmark
+	public FloatArray floatParallelSort (Arrays state) {
+		state.parallelSort.sort(state.floatArray);
+		return state.floatArray;
+	}
+
+	@Benchmark
+	public Array<Item> objectComparatorSort (Arrays state) {
+		state.sort.sort(state.itemArray, comparator);
+		return state.itemArray;
+	}
+
+	@Benchmark
+	public Array<Item> objectSortByKey (Arrays state) {
+		state.sort.sortByFloatKey(state.itemArray, key);
+		return state.itemArray;
+	}
+
+	@Benchmark
+	public Array<Item> objectParallelSortByKey (Arrays state) {
+		state.parallelSort.sortByFloatKey(state.itemArray, key);
+		return state.itemArray;
+	}
+}
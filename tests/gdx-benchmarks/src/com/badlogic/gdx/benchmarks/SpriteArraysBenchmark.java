@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.g2d.ParallelSpriteVertices;
+import com.badlogic.gdx.graphics.g2d.SpriteArrays;
+
+/** Benchmarks computing the vertices of rotated and scaled sprites with {@link SpriteArrays} on one thread and with
+ * {@link ParallelSpriteVertices} using the common fork-join pool, as when rebuilding a large SpriteCache. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SpriteArraysBenchmark {
+	@State(Scope.Thread)
+	static public class Sprites {
+		@Param({"10000", "200000"}) public int size;
+
+		public SpriteArrays sprites;
+		public float[] vertices;
+		public final ParallelSpriteVertices parallel = new ParallelSpriteVertices();
+
+		@Setup
+		public void setup () {
+			Random random = new Random(123);
+			sprites = new SpriteArrays(size);
+			sprites.size = size;
+			for (int i = 0; i < size; i++) {
+				float scale = 0.5f + random.nextFloat();
+				sprites.x[i] = random.nextFloat() * 4096;
+				sprites.y[i] = random.nextFloat() * 4096;
+				sprites.originX[i] = 16;
+				sprites.originY[i] = 16;
+				sprites.width[i] = 32;
+				sprites.height[i] = 32;
+				sprites.scaleX[i] = scale;
+				sprites.scaleY[i] = scale;
+				sprites.rotation[i] = random.nextFloat() * 360;
+				sprites.u2[i] = 1;
+				sprites.v2[i] = 1;
+				sprites.color[i] = random.nextFloat();
+			}
+			vertices = new float[size * SpriteArrays.getVertexFloats(true)];
+		}
+	}
+
+	@Benchmark
+	public float[] sequential (Sprites s) {
+		s.sprites.getVertices(0, s.size, s.vertices, 0, true);
+		return s.vertices;
+	}
+
+	@Benchmark
+	public float[] parallel (Sprites s) {
+		s.parallel.getVertices(s.sprites, 0, s.size, s.vertices, 0, true);
+		return s.vertices;
+	}
+}
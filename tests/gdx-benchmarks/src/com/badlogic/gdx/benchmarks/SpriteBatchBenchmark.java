@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.graphics.RecordingGL30;
+import com.badlogic.gdx.graphics.Mesh.VertexDataType;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.InstancedSpriteBatch;
+import com.badlogic.gdx.graphics.g2d.MultiTextureSpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+/** Benchmarks the CPU side of drawing sprites that alternate between textures with {@link SpriteBatch} and
+ * {@link MultiTextureSpriteBatch}, using a headless application with a {@link RecordingGL30}. The draw calls and GL calls per
+ * frame are reported as secondary results. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SpriteBatchBenchmark {
+	static final int SPRITES = 10000;
+
+	@State(Scope.Thread)
+	static public class Scene {
+		@Param({"sprite", "streaming", "multi", "instanced"}) public String batchType;
+		/** The number of textures the sprites alternate between. */
+		@Param({"1", "4"}) public int textureCount;
+
+		public HeadlessApplication application;
+		public RecordingGL30 gl;
+		public Texture[] textures;
+		public Batch batch;
+
+		@Setup
+		public void setup () {
+			HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+			config.updatesPerSecond = -1;
+			config.useRecordingGL = true;
+			application = new HeadlessApplication(new ApplicationAdapter() {}, config);
+			gl = (RecordingGL30)Gdx.gl30;
+
+			textures = new Texture[textureCount];
+			Pixmap pixmap = new Pixmap(64, 64, Format.RGBA8888);
+			for (int i = 0; i < textureCount; i++)
+				textures[i] = new Texture(pixmap);
+			pixmap.dispose();
+			if (batchType.equals("multi"))
+				batch = new MultiTextureSpriteBatch();
+			else if (batchType.equals("instanced"))
+				batch = new InstancedSpriteBatch();
+			else if (batchType.equals("streaming"))
+				batch = new SpriteBatch(1000, null, VertexDataType.VertexBufferObjectStreaming);
+			else
+				batch = new SpriteBatch();
+		}
+
+		@TearDown
+		public void tearDown () {
+			batch.dispose();
+			for (Texture texture : textures)
+				texture.dispose();
+			application.exit();
+		}
+	}
+
+	/** GL counts of the last frame, reported per benchmark operation. */
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	static public class Counters {
+		public int drawCalls, glCalls;
+
+		@Setup(Level.Iteration)
+		public void clean () {
+			drawCalls = 0;
+			glCalls = 0;
+		}
+	}
+
+	@Benchmark
+	public Batch draw (Scene scene, Counters counters) {
+		RecordingGL30 gl = scene.gl;
+		gl.reset();
+		Texture[] textures = scene.textures;
+		Batch batch = scene.batch;
+		batch.begin();
+		for (int i = 0, n = textures.length; i < SPRITES; i++)
+			batch.draw(textures[i % n], i % 800, i % 600, 16, 16);
+		batch.end();
+		counters.drawCalls += gl.getDrawCalls();
+		counters.glCalls += gl.getCalls();
+		return batch;
+	}
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.BaseTmxMapLoader;
+import com.badlogic.gdx.maps.tiled.TmxMapReader;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+
+/** Benchmarks reading the tile ids of a large TMX map file with two CSV layers, by parsing a DOM with {@link XmlReader} and then
+ * decoding the layer text, or with {@link TmxMapReader}, which decodes the layer text while streaming the file. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TmxMapReaderBenchmark {
+	@State(Scope.Thread)
+	static public class Map {
+		/** The map width and height in tiles. */
+		@Param({"512", "2048"}) public int size;
+
+		public FileHandle file;
+		public XmlReader xmlReader = new XmlReader();
+		public TmxMapReader mapReader = new TmxMapReader();
+
+		@Setup
+		public void setup () throws IOException {
+			file = new FileHandle(File.createTempFile("benchmark", ".tmx"));
+			Random random = new Random(123);
+			StringBuilder buffer = new StringBuilder(size * size * 10);
+			buffer.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<map version=\"1.10\" orientation=\"orthogonal\" width=\"")
+				.append(size).append("\" height=\"").append(size).append("\" tilewidth=\"16\" tileheight=\"16\">\n");
+			for (int layer = 0; layer < 2; layer++) {
+				buffer.append(" <layer id=\"").append(layer + 1).append("\" name=\"layer ").append(layer).append("\" width=\"")
+					.append(size).append("\" height=\"").append(size).append("\">\n  <data encoding=\"csv\">\n");
+				for (int y = 0; y < size; y++) {
+					for (int x = 0; x < size; x++) {
+						buffer.append(random.nextInt(4) == 0 ? 0 : random.nextInt(2000) + 1);
+						if (x < size - 1 || y < size - 1) buffer.append(',');
+					}
+					buffer.append('\n');
+				}
+				buffer.append("</data>\n </layer>\n");
+			}
+			buffer.append("</map>\n");
+			file.writeString(buffer.toString(), false, "UTF-8");
+		}
+
+		@TearDown
+		public void tearDown () {
+			file.delete();
+		}
+	}
+
+	@Benchmark
+	public int xmlReader (Map map) {
+		Element root = map.xmlReader.parse(map.file);
+		return tileIds(root, map.size);
+	}
+
+	@Benchmark
+	public int mapReader (Map map) {
+		Element root = map.mapReader.read(map.file);
+		return tileIds(root, map.size);
+	}
+
+	private int tileIds (Element root, int size) {
+		int total = 0;
+		for (Element layer : root.getChildrenByName("layer"))
+			total += BaseTmxMapLoader.getTileIds(layer, size, size)[size];
+		return total;
+	}
+}
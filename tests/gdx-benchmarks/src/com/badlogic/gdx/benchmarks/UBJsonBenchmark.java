@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ShortArray;
+import com.badlogic.gdx.utils.UBJsonCursor;
+import com.badlogic.gdx.utils.UBJsonReader;
+import com.badlogic.gdx.utils.UBJsonWriter;
+
+/** Benchmarks reading a mesh stored as UBJSON typed arrays of vertices and indices. The parse benchmark creates a
+ * {@link JsonValue} per number, the packed benchmark uses {@link UBJsonReader#packArrays} and the cursor benchmark streams the
+ * arrays with {@link UBJsonCursor}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class UBJsonBenchmark {
+	@State(Scope.Thread)
+	static public class Mesh {
+		/** The number of vertices, each with 8 floats. */
+		@Param({"1000", "100000"}) public int size;
+
+		public byte[] bytes;
+		public UBJsonReader reader = new UBJsonReader();
+		public UBJsonReader packedReader = new UBJsonReader();
+		public FloatArray vertices = new FloatArray();
+		public ShortArray indices = new ShortArray();
+
+		@Setup
+		public void setup () throws IOException {
+			Random random = new Random(123);
+			float[] vertices = new float[size * 8];
+			for (int i = 0; i < vertices.length; i++)
+				vertices[i] = random.nextFloat();
+			short[] indices = new short[size * 3];
+			for (int i = 0; i < indices.length; i++)
+				indices[i] = (short)random.nextInt(size);
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			UBJsonWriter writer = new UBJsonWriter(output);
+			writer.object();
+			writer.set("id", "mesh");
+			writer.name("vertices").value(vertices);
+			writer.name("indices").value(indices);
+			writer.pop();
+			writer.close();
+			bytes = output.toByteArray();
+			reader.oldFormat = false;
+			packedReader.oldFormat = false;
+			packedReader.packArrays = true;
+		}
+	}
+
+	@Benchmark
+	public float[] parse (Mesh mesh) {
+		return mesh.reader.parse(new ByteArrayInputStream(mesh.bytes)).get("vertices").asFloatArray();
+	}
+
+	@Benchmark
+	public float[] parsePacked (Mesh mesh) {
+		return mesh.packedReader.parse(new ByteArrayInputStream(mesh.bytes)).get("vertices").asFloatArray();
+	}
+
+	@Benchmark
+	public FloatArray cursor (Mesh mesh) {
+		UBJsonCursor cursor = new UBJsonCursor(new ByteArrayInputStream(mesh.bytes));
+		cursor.oldFormat = false;
+		cursor.beginObject();
+		while (cursor.hasNext()) {
+			String name = cursor.nextName();
+			if (name.equals("vertices")) {
+				mesh.vertices.clear();
+				cursor.nextFloats(mesh.vertices);
+			} else if (name.equals("indices")) {
+				mesh.indices.clear();
+				cursor.nextShorts(mesh.indices);
+			} else
+				cursor.skipValue();
+		}
+		cursor.close();
+		return mesh.vertices;
+	}
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.tests;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.MultiTextureSpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/** Draws sprites that alternate between several textures. Touch to switch between {@link SpriteBatch}, which flushes on every
+ * texture change, and {@link MultiTextureSpriteBatch}. */
+public class MultiTextureSpriteBatchTest extends GdxTest {
+	static final int SPRITES = 2000;
+
+	Texture[] textures;
+	float[] positions = new float[SPRITES * 2];
+	SpriteBatch spriteBatch;
+	MultiTextureSpriteBatch multiBatch;
+	BitmapFont font;
+	boolean useMulti = true;
+
+	@Override
+	public void create () {
+		textures = new Texture[] {new Texture(Gdx.files.internal("data/badlogic.jpg")),
+			new Texture(Gdx.files.internal("data/egg.png")), new Texture(Gdx.files.internal("data/particle-star.png")),
+			new Texture(Gdx.files.internal("data/bobargb8888-32x32.png"))};
+		for (int i = 0; i < positions.length; i += 2) {
+			positions[i] = MathUtils.random(Gdx.graphics.getWidth() - 32);
+			positions[i + 1] = MathUtils.random(Gdx.graphics.getHeight() - 32);
+		}
+		spriteBatch = new SpriteBatch();
+		multiBatch = new MultiTextureSpriteBatch();
+		font = new BitmapFont();
+	}
+
+	@Override
+	public void render () {
+		if (Gdx.input.justTouched()) useMulti = !useMulti;
+		ScreenUtils.clear(0.2f, 0.2f, 0.2f, 1);
+
+		Batch batch = useMulti ? multiBatch : spriteBatch;
+		batch.begin();
+		for (int i = 0, n = textures.length; i < SPRITES; i++)
+			batch.draw(textures[i % n], positions[i * 2], positions[i * 2 + 1], 32, 32);
+		batch.end();
+
+		spriteBatch.begin();
+		if (useMulti) {
+			font.draw(spriteBatch, "MultiTextureSpriteBatch, textures: " + multiBatch.getMaxTextures() + ", render calls: "
+				+ multiBatch.renderCalls + ", flushes avoided: " + multiBatch.flushesAvoided, 10, 30);
+		} else
+			font.draw(spriteBatch, "SpriteBatch, render calls: " + spriteBatch.renderCalls, 10, 30);
+		font.draw(spriteBatch, "fps: " + Gdx.graphics.getFramesPerSecond() + ", touch to switch", 10, 50);
+		spriteBatch.end();
+	}
+
+	@Override
+	public void dispose () {
+		for (Texture texture : textures)
+			texture.dispose();
+		spriteBatch.dispose();
+		multiBatch.dispose();
+		font.dispose();
+	}
+}
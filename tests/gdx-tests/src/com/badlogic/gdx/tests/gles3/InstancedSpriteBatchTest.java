@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.tests.gles3;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.InstancedSpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.tests.utils.GdxTestConfig;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/** Draws rotating and scaling sprites. Touch to switch between {@link SpriteBatch} and {@link InstancedSpriteBatch}, which
+ * should look the same. */
+@GdxTestConfig(requireGL30 = true)
+public class InstancedSpriteBatchTest extends GdxTest {
+	static final int SPRITES = 20000;
+
+	TextureRegion region;
+	float[] sprites = new float[SPRITES * 4];
+	SpriteBatch spriteBatch;
+	InstancedSpriteBatch instancedBatch;
+	BitmapFont font;
+	boolean useInstanced = true;
+	float time;
+
+	@Override
+	public void create () {
+		region = new TextureRegion(new Texture(Gdx.files.internal("data/particle-star.png")));
+		for (int i = 0; i < sprites.length; i += 4) {
+			sprites[i] = MathUtils.random(Gdx.graphics.getWidth() - 16);
+			sprites[i + 1] = MathUtils.random(Gdx.graphics.getHeight() - 16);
+			sprites[i + 2] = MathUtils.random(360);
+			sprites[i + 3] = MathUtils.random(0.5f, 2);
+		}
+		spriteBatch = new SpriteBatch();
+		instancedBatch = new InstancedSpriteBatch();
+		font = new BitmapFont();
+	}
+
+	@Override
+	public void render () {
+		if (Gdx.input.justTouched()) useInstanced = !useInstanced;
+		time += Gdx.graphics.getDeltaTime();
+		ScreenUtils.clear(0.2f, 0.2f, 0.2f, 1);
+
+		Batch batch = useInstanced ? instancedBatch : spriteBatch;
+		batch.begin();
+		for (int i = 0; i < sprites.length; i += 4) {
+			float scale = sprites[i + 3] * (1 + MathUtils.sin(time + i) * 0.25f);
+			batch.setColor(1, i % 3 / 2f, i % 5 / 4f, 1);
+			batch.draw(region, sprites[i], sprites[i + 1], 8, 8, 16, 16, scale, scale, sprites[i + 2] + time * 90);
+		}
+		batch.setColor(1, 1, 1, 1);
+		batch.end();
+
+		spriteBatch.begin();
+		font.draw(spriteBatch, (useInstanced ? "InstancedSpriteBatch" : "SpriteBatch") + ", fps: "
+			+ Gdx.graphics.getFramesPerSecond() + ", touch to switch", 10, 30);
+		spriteBatch.end();
+	}
+
+	@Override
+	public void dispose () {
+		region.getTexture().dispose();
+		spriteBatch.dispose();
+		instancedBatch.dispose();
+		font.dispose();
+	}
+}
@@ -85,6 +85,7 @@ import com.badlogic.gdx.tests.gles3.GL30FrameBufferMultisampleTest;
 import com.badlogic.gdx.tests.gles3.GL30Texture3DTest;
 import com.badlogic.gdx.tests.gles3.InstancedRenderingSpriteTest;
 import com.badlogic.gdx.tests.gles3.InstancedRenderingTest;
+import com.badlogic.gdx.tests.gles3.InstancedSpriteBatchTest;
 import com.badlogic.gdx.tests.gles3.ModelInstancedRenderingTest;
 import com.badlogic.gdx.tests.gles3.NonPowerOfTwoTest;
 import com.badlogic.gdx.tests.gles3.PixelBufferObjectTest;
@@ -202,6 +203,7 @@ public class GdxTests {
 		InputTest.class,
 		InstancedRenderingTest.class,
         InstancedRenderingSpriteTest.class,
+		InstancedSpriteBatchTest.class,
 		IntegerBitmapFontTest.class,
 		InterpolationTest.class,
 		IntersectorOverlapConvexPolygonsTest.class,
@@ -225,6 +227,7 @@ public class GdxTests {
 		ModelInstancedRenderingTest.class,
 		MoveSpriteExample.class,
 		MultipleRenderTargetTest.class,
+		MultiTextureSpriteBatchTest.class,
 		MultitouchTest.class,
 		MusicTest.class,
 		NetAPITest.class,